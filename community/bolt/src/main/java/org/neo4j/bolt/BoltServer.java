@@ -54,10 +54,14 @@ import org.neo4j.bolt.protocol.common.connector.accounting.traffic.NoopTrafficAc
 import org.neo4j.bolt.protocol.common.connector.accounting.traffic.TrafficAccountant;
 import org.neo4j.bolt.protocol.common.connector.connection.AtomicSchedulingConnection;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.connector.executor.BoltWorkerMetricsMonitor;
+import org.neo4j.bolt.protocol.common.connector.executor.BoltWorkerStats;
 import org.neo4j.bolt.protocol.common.connector.executor.ExecutorServiceFactory;
 import org.neo4j.bolt.protocol.common.connector.executor.NettyThreadFactory;
 import org.neo4j.bolt.protocol.common.connector.executor.ThreadPoolExecutorServiceFactory;
+import org.neo4j.bolt.protocol.common.connector.executor.VirtualThreadExecutorServiceFactory;
 import org.neo4j.bolt.protocol.common.connector.listener.AuthenticationTimeoutConnectorListener;
+import org.neo4j.bolt.protocol.common.connector.listener.CompressionConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.KeepAliveConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.MetricsConnectorListener;
 import org.neo4j.bolt.protocol.common.connector.listener.ReadLimitConnectorListener;
@@ -131,6 +135,7 @@ public class BoltServer extends LifecycleAdapter {
     private final InternalLog log;
 
     private final LifeSupport connectorLife = new LifeSupport();
+    private final BoltWorkerStats workerStats = new BoltWorkerStats();
     private BoltMemoryPool memoryPool;
     private EventLoopGroup eventLoopGroup;
     private ExecutorService executorService;
@@ -173,13 +178,24 @@ public class BoltServer extends LifecycleAdapter {
                 .withProvider(new TelemetryConnectionHintProvider(config))
                 .build();
 
-        this.executorServiceFactory = new ThreadPoolExecutorServiceFactory(
-                config.get(BoltConnector.thread_pool_min_size),
-                config.get(BoltConnector.thread_pool_max_size),
-                true,
-                config.get(BoltConnector.thread_pool_keep_alive),
-                config.get(BoltConnectorInternalSettings.unsupported_thread_pool_queue_size),
-                this.jobScheduler.threadFactory(Group.BOLT_WORKER));
+        if (config.get(BoltConnectorInternalSettings.thread_pool_virtual_threads)) {
+            this.executorServiceFactory = new VirtualThreadExecutorServiceFactory(
+                    config.get(BoltConnector.thread_pool_max_size),
+                    config.get(BoltConnectorInternalSettings.unsupported_thread_pool_queue_size),
+                    config.get(BoltConnector.thread_pool_keep_alive),
+                    "neo4j." + Group.BOLT_WORKER.groupName(),
+                    this.jobScheduler.threadFactory(Group.BOLT_WORKER),
+                    monitors.newMonitor(BoltWorkerMetricsMonitor.class),
+                    clock);
+        } else {
+            this.executorServiceFactory = new ThreadPoolExecutorServiceFactory(
+                    config.get(BoltConnector.thread_pool_min_size),
+                    config.get(BoltConnector.thread_pool_max_size),
+                    true,
+                    config.get(BoltConnector.thread_pool_keep_alive),
+                    config.get(BoltConnectorInternalSettings.unsupported_thread_pool_queue_size),
+                    this.jobScheduler.threadFactory(Group.BOLT_WORKER));
+        }
 
         this.routingService = routingService;
 
@@ -201,6 +217,10 @@ public class BoltServer extends LifecycleAdapter {
         return executorService;
     }
 
+    public BoltWorkerStats getWorkerStats() {
+        return workerStats;
+    }
+
     @Override
     public void init() {
         if (!isEnabled()) {
@@ -231,6 +251,7 @@ public class BoltServer extends LifecycleAdapter {
         log.info("Using connector transport %s", transport.getName());
 
         eventLoopGroup = transport.createEventLoopGroup(jobScheduler.threadFactory(Group.BOLT_NETWORK_IO));
+        monitors.addMonitorListener(workerStats);
         executorService = executorServiceFactory.create();
         connectionMetricsMonitor = monitors.newMonitor(BoltConnectionMetricsMonitor.class);
 
@@ -245,6 +266,7 @@ public class BoltServer extends LifecycleAdapter {
 
         var streamingBufferSize = config.get(BoltConnectorInternalSettings.streaming_buffer_size);
         var streamingFlushThreshold = config.get(BoltConnectorInternalSettings.streaming_flush_threshold);
+        var streamingPrefetchSize = config.get(BoltConnectorInternalSettings.streaming_prefetch_size);
 
         if (config.get(BoltConnectorInternalSettings.enable_loopback_auth)) {
             registerConnector(createDomainSocketConnector(
@@ -253,7 +275,8 @@ public class BoltServer extends LifecycleAdapter {
                     createAuthentication(loopbackAuthManager),
                     allocator,
                     streamingBufferSize,
-                    streamingFlushThreshold));
+                    streamingFlushThreshold,
+                    streamingPrefetchSize));
 
             log.info("Configured loopback (domain socket) Bolt connector");
         }
@@ -286,7 +309,8 @@ public class BoltServer extends LifecycleAdapter {
                 ConnectorType.BOLT,
                 allocator,
                 streamingBufferSize,
-                streamingFlushThreshold));
+                streamingFlushThreshold,
+                streamingPrefetchSize));
 
         log.info("Configured external Bolt connector with listener address %s", listenAddress);
 
@@ -326,7 +350,8 @@ public class BoltServer extends LifecycleAdapter {
                     ConnectorType.INTRA_BOLT,
                     allocator,
                     streamingBufferSize,
-                    streamingFlushThreshold));
+                    streamingFlushThreshold,
+                    streamingPrefetchSize));
 
             log.info("Configured internal Bolt connector with listener address %s", internalListenAddress);
         }
@@ -338,7 +363,8 @@ public class BoltServer extends LifecycleAdapter {
                     createAuthentication(externalAuthManager),
                     allocator,
                     streamingBufferSize,
-                    streamingFlushThreshold));
+                    streamingFlushThreshold,
+                    streamingPrefetchSize));
         }
 
         log.info("Bolt server loaded");
@@ -390,6 +416,7 @@ public class BoltServer extends LifecycleAdapter {
             if (!remainingJobs.isEmpty()) {
                 log.warn("Forcefully killed %d remaining Bolt jobs to fulfill shutdown request", remainingJobs.size());
             }
+            monitors.removeMonitorListener(workerStats);
 
             log.info("Bolt server has been shut down");
         }
@@ -442,6 +469,15 @@ public class BoltServer extends LifecycleAdapter {
             connector.registerListener(new ReadLimitConnectorListener(readLimit, logService.getInternalLogProvider()));
         }
 
+        // if compression has been enabled, we'll register a listener which appends the necessary handlers to the
+        // network pipelines upon connection negotiation - compression remains inactive until requested by the client
+        if (config.get(BoltConnectorInternalSettings.compression_enabled)) {
+            connector.registerListener(new CompressionConnectorListener(
+                    config.get(BoltConnectorInternalSettings.compression_threshold),
+                    config.get(BoltConnectorInternalSettings.compression_level),
+                    logService.getInternalLogProvider()));
+        }
+
         // Register the reset message connection listener
         connector.registerListener(new ResetMessageConnectorListener(logService.getInternalLogProvider()));
 
@@ -476,7 +512,8 @@ public class BoltServer extends LifecycleAdapter {
             ConnectorType connectorType,
             ByteBufAllocator allocator,
             int streamingBufferSize,
-            int streamingFlushThreshold) {
+            int streamingFlushThreshold,
+            long streamingPrefetchSize) {
         return new SocketNettyConnector(
                 BoltConnector.NAME,
                 bindAddress,
@@ -505,6 +542,7 @@ public class BoltServer extends LifecycleAdapter {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 logService.getUserLogProvider(),
                 logService.getInternalLogProvider());
     }
@@ -515,7 +553,8 @@ public class BoltServer extends LifecycleAdapter {
             Authentication authentication,
             ByteBufAllocator allocator,
             int streamingBufferSize,
-            int streamingFlushThreshold) {
+            int streamingFlushThreshold,
+            long streamingPrefetchSize) {
         if (config.get(BoltConnectorInternalSettings.unsupported_loopback_listen_file) == null) {
             throw new IllegalArgumentException(
                     "A file has not been specified for use with the loopback domain socket.");
@@ -543,6 +582,7 @@ public class BoltServer extends LifecycleAdapter {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 logService.getUserLogProvider(),
                 logService.getInternalLogProvider());
     }
@@ -553,7 +593,8 @@ public class BoltServer extends LifecycleAdapter {
             Authentication authentication,
             ByteBufAllocator allocator,
             int streamingBufferSize,
-            int streamingFlushThreshold) {
+            int streamingFlushThreshold,
+            long streamingPrefetchSize) {
         return new LocalNettyConnector(
                 BoltConnectorInternalSettings.LOCAL_NAME,
                 new LocalAddress(config.get(BoltConnectorInternalSettings.local_channel_address)),
@@ -572,6 +613,7 @@ public class BoltServer extends LifecycleAdapter {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 logService.getUserLogProvider(),
                 logService.getInternalLogProvider(),
                 transport,
@@ -66,6 +66,7 @@ public abstract class AbstractConnector implements Connector {
 
     private final int streamingBufferSize;
     private final int streamingFlushThreshold;
+    private final long streamingPrefetchSize;
 
     private final List<ConnectorListener> listeners = new ArrayList<>();
 
@@ -88,6 +89,7 @@ public abstract class AbstractConnector implements Connector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider logging) {
         this.id = id;
         this.clock = clock;
@@ -107,6 +109,7 @@ public abstract class AbstractConnector implements Connector {
 
         this.streamingBufferSize = streamingBufferSize;
         this.streamingFlushThreshold = streamingFlushThreshold;
+        this.streamingPrefetchSize = streamingPrefetchSize;
 
         this.connectionRegistry = new ConnectionRegistry(id, connectionTracker, logging);
     }
@@ -196,6 +199,11 @@ public abstract class AbstractConnector implements Connector {
         return this.streamingFlushThreshold;
     }
 
+    @Override
+    public long streamingPrefetchSize() {
+        return this.streamingPrefetchSize;
+    }
+
     @Override
     public void registerListener(ConnectorListener listener) {
         // TODO: Does this behavior need to be thread safe (similar to ConnectionListener)?
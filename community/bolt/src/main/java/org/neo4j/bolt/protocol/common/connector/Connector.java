@@ -190,6 +190,19 @@ public interface Connector extends Lifecycle {
      */
     int streamingFlushThreshold();
 
+    /**
+     * Identifies the total number of bytes worth of records which may be produced ahead of time for a statement
+     * while its previous batch of results is still being transmitted to the client.
+     * <p />
+     * Higher values permit result production to overlap with longer round trips between client and server at the
+     * cost of additional memory per connection.
+     * <p />
+     * A value of zero indicates that no records are produced ahead of time.
+     *
+     * @return a prefetch size (in bytes).
+     */
+    long streamingPrefetchSize();
+
     /**
      * Registers a new listener with this connector.
      *
@@ -254,6 +254,11 @@ public abstract class AbstractConnection implements ConnectionHandle {
             throw new IllegalStateException("Connection has yet to select a protocol version");
         }
 
+        // features which depend on server side configuration are silently ignored when unavailable
+        if (!feature.isAvailable(this)) {
+            return false;
+        }
+
         // Ensure that we are the first and only thread to enable the desired feature on this connection - if the
         // feature is already enabled, this atomic swap will fail (or the set will already contain the selected
         // feature) thus preventing us from progressing further.
@@ -312,6 +317,8 @@ public abstract class AbstractConnection implements ConnectionHandle {
         } while (pipeline == null);
         feature.configureWriterPipeline(pipeline);
 
+        feature.configureConnection(this);
+
         return true;
     }
 
@@ -275,10 +275,17 @@ public class AtomicSchedulingConnection extends AbstractConnection {
             } else {
                 // if there are no jobs, we'll terminate unless there are open transactions or statements remaining
                 // which require us to remain on this thread
-                if (this.transaction().isEmpty()) {
+                var transaction = this.transaction().orElse(null);
+                if (transaction == null) {
                     break;
                 }
 
+                // while the client is busy receiving the results of a prior request, we'll make use of
+                // the time by producing the next batch of results ahead of time (if enabled)
+                if (this.prefetch(transaction)) {
+                    continue;
+                }
+
                 // since we're unable to retrieve jobs at the moment, we'll switch to single-job polling for the next
                 // iteration as the queue will notify us as soon as a new job is queued (or the timeout is exceeded)
                 Job job = null;
@@ -322,6 +329,25 @@ public class AtomicSchedulingConnection extends AbstractConnection {
         }
     }
 
+    /**
+     * Produces results for the given transaction ahead of time unless new jobs have been submitted
+     * in the meantime.
+     * <p />
+     * Prefetching pauses while the channel is not writable as the client is evidently not keeping up
+     * with the results which have already been written to it.
+     *
+     * @param transaction the transaction currently owned by this connection.
+     * @return true if results have been produced and more may be prefetched, false otherwise.
+     */
+    private boolean prefetch(Transaction transaction) {
+        var maxHeapSize = this.connector().streamingPrefetchSize();
+        if (maxHeapSize <= 0 || this.hasPendingJobs()) {
+            return false;
+        }
+
+        return transaction.prefetch(maxHeapSize, !this.channel.isWritable());
+    }
+
     private void executeJob(StateMachine fsm, Job job) {
         this.channel.write(StateSignal.BEGIN_JOB_PROCESSING);
 
@@ -21,6 +21,7 @@ package org.neo4j.bolt.protocol.common.connector.connection;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.neo4j.bolt.protocol.common.handler.CompressionNegotiationHandler;
 import org.neo4j.bolt.protocol.io.StructType;
 import org.neo4j.bolt.protocol.io.pipeline.WriterPipeline;
 import org.neo4j.bolt.protocol.io.reader.DateTimeReader;
@@ -56,6 +57,28 @@ public enum Feature {
         public void configureWriterPipeline(WriterPipeline pipeline) {
             pipeline.addFirst(UtcStructWriter.getInstance());
         }
+    },
+
+    /**
+     * Enables the Zstandard compression of all data transmitted to the client after the response to the negotiating
+     * request.
+     * <p />
+     * This functionality is only available when compression has been enabled within the server configuration.
+     */
+    ZSTD_COMPRESSION("zstd") {
+        @Override
+        public boolean isAvailable(Connection connection) {
+            return connection.channel().pipeline().get(CompressionNegotiationHandler.class) != null;
+        }
+
+        @Override
+        public void configureConnection(Connection connection) {
+            connection
+                    .channel()
+                    .pipeline()
+                    .get(CompressionNegotiationHandler.class)
+                    .arm();
+        }
     };
 
     private static final Map<String, Feature> idToFeatureMap = new HashMap<>();
@@ -106,4 +129,23 @@ public enum Feature {
      * @param pipeline a pipeline.
      */
     public void configureWriterPipeline(WriterPipeline pipeline) {}
+
+    /**
+     * Evaluates whether this feature may be enabled on a given connection.
+     *
+     * @param connection a connection.
+     * @return true if available, false otherwise.
+     */
+    public boolean isAvailable(Connection connection) {
+        return true;
+    }
+
+    /**
+     * Applies connection specific changes (such as the network pipeline) once this feature has been negotiated.
+     * <p />
+     * If a feature does not alter the connection, this method should be left unimplemented.
+     *
+     * @param connection a connection.
+     */
+    public void configureConnection(Connection connection) {}
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.connection.listener;
+
+import org.neo4j.bolt.protocol.common.BoltProtocol;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.bolt.protocol.common.handler.CompressionFrameEncoder;
+import org.neo4j.bolt.protocol.common.handler.CompressionNegotiationHandler;
+import org.neo4j.bolt.protocol.common.handler.StateSignalFilterHandler;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
+import org.neo4j.memory.HeapEstimator;
+
+/**
+ * Introduces the compression handlers on newly established connections once a protocol has been selected.
+ * <p />
+ * Compression remains disabled until it is negotiated by the client.
+ */
+public class CompressionConnectionListener implements ConnectionListener {
+    public static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(CompressionConnectionListener.class);
+
+    private final Connection connection;
+    private final long threshold;
+    private final int level;
+    private final InternalLog log;
+
+    public CompressionConnectionListener(
+            Connection connection, long threshold, int level, InternalLogProvider logging) {
+        this.connection = connection;
+        this.threshold = threshold;
+        this.level = level;
+
+        this.log = logging.getLog(CompressionConnectionListener.class);
+    }
+
+    @Override
+    public void onListenerRemoved() {
+        this.connection.memoryTracker().releaseHeap(SHALLOW_SIZE);
+    }
+
+    @Override
+    public void onProtocolSelected(BoltProtocol protocol) {
+        this.log.debug("[%s] Installing compression handlers", this.connection.id());
+
+        this.connection
+                .memoryTracker()
+                .allocateHeap(CompressionFrameEncoder.SHALLOW_SIZE + CompressionNegotiationHandler.SHALLOW_SIZE);
+
+        var encoder = new CompressionFrameEncoder(this.threshold, this.level);
+        var pipeline = this.connection.channel().pipeline();
+
+        // the encoder is positioned below all handlers which produce frames (including keep-alive frames) while the
+        // negotiation handler needs to observe responses before they are encoded
+        pipeline.addBefore(
+                        pipeline.context(StateSignalFilterHandler.class).name(), CompressionFrameEncoder.NAME, encoder)
+                .addAfter(
+                        "structEncoder",
+                        CompressionNegotiationHandler.NAME,
+                        new CompressionNegotiationHandler(encoder));
+
+        this.connection.removeListener(this);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Limits the number of jobs which are executed concurrently by a delegate executor service which would otherwise start
+ * a thread for every job.
+ * <p />
+ * At most {@code maxActiveJobs} jobs are active at any given time. Further jobs are held within an internal queue of
+ * {@code queueSize} jobs (-1 for unbounded, 0 for direct handoff, > 0 for bounded - matching the queue sizes of
+ * {@link ThreadPoolExecutorServiceFactory}) until an active job completes, and are rejected with a
+ * {@link RejectedExecutionException} when the queue is full. Queued jobs do not occupy a thread.
+ */
+public class AdmissionControlledExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final int maxScheduledJobs;
+    private final Semaphore activePermits;
+    private final Queue<QueuedJob> queue = new ConcurrentLinkedQueue<>();
+    private final BoltWorkerMetricsMonitor monitor;
+    private final SystemNanoClock clock;
+
+    private final AtomicInteger scheduledJobs = new AtomicInteger();
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    public AdmissionControlledExecutorService(
+            ExecutorService delegate,
+            int maxActiveJobs,
+            int queueSize,
+            BoltWorkerMetricsMonitor monitor,
+            SystemNanoClock clock) {
+        if (maxActiveJobs < 1) {
+            throw new IllegalArgumentException("Expected at least one active job but got " + maxActiveJobs);
+        }
+        if (queueSize < ThreadPoolExecutorServiceFactory.UNBOUNDED_QUEUE) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported queue size %d for admission control.", queueSize));
+        }
+
+        this.delegate = delegate;
+        this.maxScheduledJobs = queueSize == ThreadPoolExecutorServiceFactory.UNBOUNDED_QUEUE
+                ? Integer.MAX_VALUE
+                : (int) Math.min(Integer.MAX_VALUE, (long) maxActiveJobs + queueSize);
+        this.activePermits = new Semaphore(maxActiveJobs);
+        this.monitor = monitor;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the number of jobs which have been accepted and have yet to complete.
+     */
+    public int scheduledJobs() {
+        return this.scheduledJobs.get();
+    }
+
+    /**
+     * @return the number of jobs which are waiting for admission.
+     */
+    public int queuedJobs() {
+        return this.queuedJobs.get();
+    }
+
+    /**
+     * @return the number of jobs which are currently executing.
+     */
+    public int activeJobs() {
+        return this.activeJobs.get();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (this.shutdown || !this.reserve()) {
+            this.monitor.jobRejected();
+            throw new RejectedExecutionException("Job " + command + " rejected: "
+                    + (this.shutdown ? "executor has been shut down" : "no capacity available"));
+        }
+
+        this.monitor.jobScheduled();
+        this.queuedJobs.incrementAndGet();
+        this.queue.add(new QueuedJob(command, this.clock.nanos()));
+        this.admit();
+    }
+
+    private boolean reserve() {
+        int scheduled;
+        do {
+            scheduled = this.scheduledJobs.get();
+            if (scheduled >= this.maxScheduledJobs) {
+                return false;
+            }
+        } while (!this.scheduledJobs.compareAndSet(scheduled, scheduled + 1));
+        return true;
+    }
+
+    /**
+     * Starts queued jobs for as long as there are permits available.
+     * <p />
+     * Jobs release their permit before invoking this method again, which guarantees that a job queued while all
+     * permits were taken is picked up by the next job to complete.
+     */
+    private void admit() {
+        while (!this.queue.isEmpty() && this.activePermits.tryAcquire()) {
+            var job = this.queue.poll();
+            if (job == null) {
+                this.activePermits.release();
+                continue;
+            }
+
+            this.queuedJobs.decrementAndGet();
+            try {
+                this.delegate.execute(() -> this.run(job));
+            } catch (RejectedExecutionException ex) {
+                // the delegate is only expected to reject jobs once it has been shut down
+                this.activePermits.release();
+                this.complete();
+                throw ex;
+            }
+        }
+    }
+
+    private void run(QueuedJob job) {
+        var startedAt = this.clock.nanos();
+        this.monitor.jobStarted(NANOSECONDS.toMillis(startedAt - job.queuedAt()));
+        this.activeJobs.incrementAndGet();
+        try {
+            job.command().run();
+        } finally {
+            this.activeJobs.decrementAndGet();
+            this.monitor.jobCompleted(NANOSECONDS.toMillis(this.clock.nanos() - startedAt));
+            this.activePermits.release();
+            this.complete();
+            this.admit();
+        }
+    }
+
+    private void complete() {
+        if (this.scheduledJobs.decrementAndGet() == 0 && this.shutdown) {
+            this.delegate.shutdown();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        if (this.scheduledJobs.get() == 0) {
+            this.delegate.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        this.shutdown = true;
+
+        var remaining = new ArrayList<Runnable>();
+        QueuedJob job;
+        while ((job = this.queue.poll()) != null) {
+            this.queuedJobs.decrementAndGet();
+            this.scheduledJobs.decrementAndGet();
+            remaining.add(job.command());
+        }
+
+        remaining.addAll(this.delegate.shutdownNow());
+        return remaining;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return this.delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.delegate.awaitTermination(timeout, unit);
+    }
+
+    private record QueuedJob(Runnable command, long queuedAt) {}
+}
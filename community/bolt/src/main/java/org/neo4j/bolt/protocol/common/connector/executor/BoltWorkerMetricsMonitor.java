@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+/**
+ * Receives events about the jobs passing through an {@link AdmissionControlledExecutorService}.
+ * <p />
+ * The number of scheduled, queued and active jobs at any point in time is derived from these events and is also
+ * available directly from the executor service.
+ */
+public interface BoltWorkerMetricsMonitor {
+
+    /**
+     * Invoked when a job has been accepted for execution.
+     */
+    void jobScheduled();
+
+    /**
+     * Invoked when a job has been refused as all permitted jobs are active and the queue is full.
+     */
+    void jobRejected();
+
+    /**
+     * Invoked when a job begins execution.
+     *
+     * @param queueTime the time in milliseconds the job spent waiting for admission.
+     */
+    void jobStarted(long queueTime);
+
+    /**
+     * Invoked when a job has finished execution, regardless of whether it succeeded.
+     *
+     * @param processingTime the time in milliseconds the job has been executing.
+     */
+    void jobCompleted(long processingTime);
+
+    static BoltWorkerMetricsMonitor noop() {
+        return new BoltWorkerMetricsMonitor() {
+            @Override
+            public void jobScheduled() {
+                /* noop */
+            }
+
+            @Override
+            public void jobRejected() {
+                /* noop */
+            }
+
+            @Override
+            public void jobStarted(long queueTime) {
+                /* noop */
+            }
+
+            @Override
+            public void jobCompleted(long processingTime) {
+                /* noop */
+            }
+        };
+    }
+}
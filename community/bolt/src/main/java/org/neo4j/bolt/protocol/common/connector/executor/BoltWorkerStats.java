@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the events reported through {@link BoltWorkerMetricsMonitor} into counters which may be exposed as
+ * metrics. These counters are in-memory only and are thus reset on restart.
+ */
+public class BoltWorkerStats implements BoltWorkerMetricsMonitor {
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalQueueTime = new LongAdder();
+    private final LongAdder totalProcessingTime = new LongAdder();
+
+    @Override
+    public void jobScheduled() {
+        scheduled.increment();
+    }
+
+    @Override
+    public void jobRejected() {
+        rejected.increment();
+    }
+
+    @Override
+    public void jobStarted(long queueTime) {
+        started.increment();
+        totalQueueTime.add(queueTime);
+    }
+
+    @Override
+    public void jobCompleted(long processingTime) {
+        completed.increment();
+        totalProcessingTime.add(processingTime);
+    }
+
+    /**
+     * @return the total number of jobs which have been accepted for execution.
+     */
+    public long jobsScheduled() {
+        return scheduled.sum();
+    }
+
+    /**
+     * @return the total number of jobs which have been refused.
+     */
+    public long jobsRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of accepted jobs which are currently waiting for admission.
+     */
+    public long jobsQueued() {
+        return Math.max(0, scheduled.sum() - started.sum());
+    }
+
+    /**
+     * @return the number of jobs which are currently executing.
+     */
+    public long jobsActive() {
+        return Math.max(0, started.sum() - completed.sum());
+    }
+
+    /**
+     * @return the total time in milliseconds jobs have spent waiting for admission.
+     */
+    public long totalQueueTime() {
+        return totalQueueTime.sum();
+    }
+
+    /**
+     * @return the total time in milliseconds jobs have spent executing.
+     */
+    public long totalProcessingTime() {
+        return totalProcessingTime.sum();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Creates an executor service which runs every job on its own virtual thread and relies on admission control, rather
+ * than the size of a thread pool, to limit the number of concurrently executing jobs.
+ * <p />
+ * Virtual threads unmount from their carrier whenever they park, so that jobs waiting for locks, I/O or transaction
+ * log syncs do not occupy a platform thread. When the runtime does not support virtual threads, jobs are executed on
+ * platform threads created by the given fallback thread factory instead.
+ */
+public class VirtualThreadExecutorServiceFactory implements ExecutorServiceFactory {
+
+    private final int maxActiveJobs;
+    private final int queueSize;
+    private final Duration keepAlive;
+    private final String threadNamePrefix;
+    private final ThreadFactory fallbackThreadFactory;
+    private final BoltWorkerMetricsMonitor monitor;
+    private final SystemNanoClock clock;
+
+    public VirtualThreadExecutorServiceFactory(
+            int maxActiveJobs,
+            int queueSize,
+            Duration keepAlive,
+            String threadNamePrefix,
+            ThreadFactory fallbackThreadFactory,
+            BoltWorkerMetricsMonitor monitor,
+            SystemNanoClock clock) {
+        this.maxActiveJobs = maxActiveJobs;
+        this.queueSize = queueSize;
+        this.keepAlive = keepAlive;
+        this.threadNamePrefix = threadNamePrefix;
+        this.fallbackThreadFactory = fallbackThreadFactory;
+        this.monitor = monitor;
+        this.clock = clock;
+    }
+
+    @Override
+    public AdmissionControlledExecutorService create() {
+        var virtualThreadFactory = createVirtualThreadFactory(this.threadNamePrefix);
+
+        ExecutorService delegate;
+        if (virtualThreadFactory != null) {
+            // virtual threads are cheap to create and must not be pooled
+            delegate = new ThreadPoolExecutor(
+                    0, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), virtualThreadFactory);
+        } else {
+            delegate = new ThreadPoolExecutor(
+                    0,
+                    Integer.MAX_VALUE,
+                    this.keepAlive.toMillis(),
+                    TimeUnit.MILLISECONDS,
+                    new SynchronousQueue<>(),
+                    this.fallbackThreadFactory);
+        }
+
+        return new AdmissionControlledExecutorService(
+                delegate, this.maxActiveJobs, this.queueSize, this.monitor, this.clock);
+    }
+
+    /**
+     * Retrieves a virtual thread factory through reflection as virtual threads are not available on all supported
+     * runtimes.
+     *
+     * @param namePrefix a prefix for the names of created threads.
+     * @return a virtual thread factory or null if virtual threads are unavailable.
+     */
+    static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+        try {
+            var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            var builderType = Class.forName("java.lang.Thread$Builder");
+
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix + "-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            // virtual threads are unavailable or disabled on this runtime
+            return null;
+        }
+    }
+}
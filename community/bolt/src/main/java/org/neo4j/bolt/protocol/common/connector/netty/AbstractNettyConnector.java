@@ -77,6 +77,7 @@ public abstract class AbstractNettyConnector extends AbstractConnector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider userLogProvider,
             InternalLogProvider internalLogProvider) {
         super(
@@ -98,6 +99,7 @@ public abstract class AbstractNettyConnector extends AbstractConnector {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 internalLogProvider);
         this.bindAddress = bindAddress;
         this.userLog = userLogProvider.getLog(getClass());
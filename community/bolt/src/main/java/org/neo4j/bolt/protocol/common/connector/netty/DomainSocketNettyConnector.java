@@ -92,6 +92,7 @@ public class DomainSocketNettyConnector extends AbstractNettyConnector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider userLogProvider,
             InternalLogProvider logging) {
         super(
@@ -114,6 +115,7 @@ public class DomainSocketNettyConnector extends AbstractNettyConnector {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 userLogProvider,
                 logging);
         checkArgument(
@@ -151,6 +153,7 @@ public class DomainSocketNettyConnector extends AbstractNettyConnector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider userLogProvider,
             InternalLogProvider logging) {
         this(
@@ -176,6 +179,7 @@ public class DomainSocketNettyConnector extends AbstractNettyConnector {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 userLogProvider,
                 logging);
     }
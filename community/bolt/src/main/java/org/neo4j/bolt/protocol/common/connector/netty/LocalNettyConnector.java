@@ -75,6 +75,7 @@ public class LocalNettyConnector extends AbstractNettyConnector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider userLogProvider,
             InternalLogProvider internalLogProvider,
             ConnectorTransport connectorTransport,
@@ -101,6 +102,7 @@ public class LocalNettyConnector extends AbstractNettyConnector {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 userLogProvider,
                 internalLogProvider);
         this.transport = connectorTransport;
@@ -91,6 +91,7 @@ public class SocketNettyConnector extends AbstractNettyConnector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider userLogProvider,
             InternalLogProvider logging) {
         super(
@@ -113,6 +114,7 @@ public class SocketNettyConnector extends AbstractNettyConnector {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 userLogProvider,
                 logging);
         if (encryptionRequired && sslContext == null) {
@@ -159,6 +161,7 @@ public class SocketNettyConnector extends AbstractNettyConnector {
             BoltDriverMetricsMonitor driverMetricsMonitor,
             int streamingBufferSize,
             int streamingFlushThreshold,
+            long streamingPrefetchSize,
             InternalLogProvider userLogProvider,
             InternalLogProvider logging) {
         this(
@@ -190,6 +193,7 @@ public class SocketNettyConnector extends AbstractNettyConnector {
                 driverMetricsMonitor,
                 streamingBufferSize,
                 streamingFlushThreshold,
+                streamingPrefetchSize,
                 userLogProvider,
                 logging);
     }
@@ -20,21 +20,35 @@
 package org.neo4j.bolt.protocol.common.fsm.response;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelException;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelOption;
 import io.netty.util.ReferenceCountUtil;
 import java.io.Closeable;
 import java.util.LinkedList;
 import java.util.List;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.io.pipeline.PipelineContext;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.packstream.io.PackstreamBuf;
 import org.neo4j.packstream.signal.FrameSignal;
 import org.neo4j.packstream.struct.StructHeader;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 
 public class NetworkRecordHandler implements RecordHandler, Closeable {
     public static final short RECORD_TAG = 0x71;
 
+    /**
+     * Indicates that records shall be flushed once they fill the send buffer of the underlying socket.
+     */
+    public static final int SOCKET_SIZED_FLUSH_THRESHOLD = -1;
+
+    private static final int DEFAULT_FLUSH_THRESHOLD = 8192;
+
     private final Connection connection;
     private final int numberOfFields;
     private final int bufferSize;
@@ -48,7 +62,26 @@ public class NetworkRecordHandler implements RecordHandler, Closeable {
         this.connection = connection;
         this.numberOfFields = numberOfFields;
         this.bufferSize = bufferSize;
-        this.flushThreshold = flushThreshold;
+        this.flushThreshold =
+                flushThreshold == SOCKET_SIZED_FLUSH_THRESHOLD ? socketFlushThreshold(connection) : flushThreshold;
+    }
+
+    /**
+     * Retrieves the size of the send buffer of the socket backing a given connection in order to flush records in
+     * batches which the socket is able to accept at once.
+     */
+    private static int socketFlushThreshold(Connection connection) {
+        Integer sendBufferSize = null;
+        try {
+            sendBufferSize = connection.channel().config().getOption(ChannelOption.SO_SNDBUF);
+        } catch (ChannelException ignore) {
+            // the channel is not backed by a socket or its options are not accessible
+        }
+
+        if (sendBufferSize == null || sendBufferSize <= 0) {
+            return DEFAULT_FLUSH_THRESHOLD;
+        }
+        return sendBufferSize;
     }
 
     @Override
@@ -68,6 +101,24 @@ public class NetworkRecordHandler implements RecordHandler, Closeable {
         this.writerContext.writeValue(value);
     }
 
+    @Override
+    public void onNodeField(
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        this.writerContext.writeNode(nodeCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
+    @Override
+    public void onRelationshipField(
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        this.writerContext.writeRelationship(relCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
     @Override
     public void onCompleted() {
         var buffer = this.buffer.getTarget();
@@ -19,7 +19,12 @@
  */
 package org.neo4j.bolt.protocol.common.fsm.response;
 
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 
 public final class NoopRecordHandler implements RecordHandler {
     private static final NoopRecordHandler INSTANCE = new NoopRecordHandler();
@@ -33,6 +38,20 @@ public final class NoopRecordHandler implements RecordHandler {
     @Override
     public void onField(AnyValue value) {}
 
+    @Override
+    public void onNodeField(
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {}
+
+    @Override
+    public void onRelationshipField(
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {}
+
     @Override
     public void onCompleted() {}
 
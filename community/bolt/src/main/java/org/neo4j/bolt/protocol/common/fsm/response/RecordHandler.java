@@ -19,7 +19,13 @@
  */
 package org.neo4j.bolt.protocol.common.fsm.response;
 
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.kernel.impl.query.EntityFieldValues;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 
 /**
  * Handles the conversion of records to their network representation.
@@ -38,6 +44,38 @@ public interface RecordHandler {
      */
     void onField(AnyValue value);
 
+    /**
+     * Consumes a field holding a node which is read straight from the store.
+     * <p />
+     * The default implementation materializes the node and passes it to {@link #onField(AnyValue)}.
+     *
+     * @param nodeCursor     a cursor positioned on an existing node.
+     * @param propertyCursor a cursor which may be used to read the properties of the node.
+     */
+    default void onNodeField(
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        this.onField(EntityFieldValues.nodeValue(nodeCursor, propertyCursor, tokens, elementIdMapper));
+    }
+
+    /**
+     * Consumes a field holding a relationship which is read straight from the store.
+     * <p />
+     * The default implementation materializes the relationship and passes it to {@link #onField(AnyValue)}.
+     *
+     * @param relCursor      a cursor positioned on an existing relationship.
+     * @param propertyCursor a cursor which may be used to read the properties of the relationship.
+     */
+    default void onRelationshipField(
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        this.onField(EntityFieldValues.relationshipValue(relCursor, propertyCursor, tokens, elementIdMapper));
+    }
+
     /**
      * Handles the successful completion of a given record.
      */
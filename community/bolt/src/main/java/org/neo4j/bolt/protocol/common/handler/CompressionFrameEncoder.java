@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.handler;
+
+import com.github.luben.zstd.Zstd;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.CoalescingBufferQueue;
+import io.netty.util.ReferenceCountUtil;
+import java.nio.channels.ClosedChannelException;
+import org.neo4j.memory.HeapEstimator;
+
+/**
+ * Compresses the outgoing byte stream of connections which have negotiated compression.
+ * <p />
+ * Until activated, this handler passes all writes through as-is. Once activated, writes are collected until the
+ * channel is flushed and transmitted within a single frame:
+ *
+ * <pre>
+ * +-------+------------------+------------------------+-------------+
+ * | flags | length (uint32)  | raw length (uint32) *  | payload     |
+ * +-------+------------------+------------------------+-------------+
+ * </pre>
+ *
+ * Where the raw length is only present when the payload has been compressed (as indicated by {@link #FLAG_ZSTD}).
+ * Frames which are smaller than the configured threshold, or which do not shrink when compressed, are transmitted
+ * uncompressed.
+ * <p />
+ * This handler is positioned below the chunk encoder so that compressed frames carry complete chunks and thus do not
+ * alter the encoding of messages themselves.
+ */
+public class CompressionFrameEncoder extends ChannelOutboundHandlerAdapter {
+    public static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(CompressionFrameEncoder.class);
+
+    public static final String NAME = "compressionFrameEncoder";
+
+    public static final byte FLAG_RAW = 0x00;
+    public static final byte FLAG_ZSTD = 0x01;
+
+    static final int RAW_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+    static final int ZSTD_HEADER_SIZE = RAW_HEADER_SIZE + Integer.BYTES;
+
+    private final long threshold;
+    private final int level;
+
+    private CoalescingBufferQueue pending;
+    private boolean active;
+
+    public CompressionFrameEncoder(long threshold, int level) {
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    /**
+     * Enables compression of all subsequent writes.
+     * <p />
+     * This method must be invoked from within the event loop of the channel.
+     */
+    public void activate() {
+        this.active = true;
+    }
+
+    public boolean isActive() {
+        return this.active;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.pending = new CoalescingBufferQueue(ctx.channel());
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        this.pending.releaseAndFailAll(new ClosedChannelException());
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (!this.active || !(msg instanceof ByteBuf buf)) {
+            ctx.write(msg, promise);
+            return;
+        }
+
+        this.pending.add(buf, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (this.active && !this.pending.isEmpty()) {
+            var promise = ctx.newPromise();
+            var length = this.pending.readableBytes();
+            var payload = this.pending.remove(ctx.alloc(), length, promise);
+
+            ByteBuf frame;
+            try {
+                frame = this.encode(ctx, payload);
+            } catch (Throwable ex) {
+                ReferenceCountUtil.safeRelease(payload);
+                promise.setFailure(ex);
+                throw ex;
+            }
+
+            ctx.write(frame, promise);
+        }
+
+        ctx.flush();
+    }
+
+    private ByteBuf encode(ChannelHandlerContext ctx, ByteBuf payload) {
+        var length = payload.readableBytes();
+
+        if (length >= this.threshold) {
+            var compressed = this.compress(ctx, payload);
+            if (compressed != null) {
+                payload.release();
+                return compressed;
+            }
+        }
+
+        var header = ctx.alloc().buffer(RAW_HEADER_SIZE).writeByte(FLAG_RAW).writeInt(length);
+
+        return ctx.alloc().compositeBuffer(2).addComponents(true, header, payload);
+    }
+
+    /**
+     * Compresses a given payload into a new frame.
+     *
+     * @return a frame or null if the payload does not benefit from compression.
+     */
+    private ByteBuf compress(ChannelHandlerContext ctx, ByteBuf payload) {
+        var length = payload.readableBytes();
+
+        // Zstd operates on direct memory only - coalesced payloads generally reside within a single direct buffer
+        // already so this copy is rarely necessary
+        var source = payload;
+        if (!payload.isDirect() || payload.nioBufferCount() != 1) {
+            source = ctx.alloc().directBuffer(length).writeBytes(payload, payload.readerIndex(), length);
+        }
+
+        var bound = (int) Zstd.compressBound(length);
+        var frame = ctx.alloc().directBuffer(ZSTD_HEADER_SIZE + bound);
+        try {
+            var compressedLength = (int) Zstd.compressDirectByteBuffer(
+                    frame.nioBuffer(0, frame.capacity()),
+                    ZSTD_HEADER_SIZE,
+                    bound,
+                    source.nioBuffer(source.readerIndex(), length),
+                    0,
+                    length,
+                    this.level);
+
+            if (compressedLength + ZSTD_HEADER_SIZE >= length + RAW_HEADER_SIZE) {
+                frame.release();
+                return null;
+            }
+
+            return frame.writeByte(FLAG_ZSTD)
+                    .writeInt(compressedLength)
+                    .writeInt(length)
+                    .writerIndex(ZSTD_HEADER_SIZE + compressedLength);
+        } catch (Throwable ex) {
+            frame.release();
+            throw ex;
+        } finally {
+            if (source != payload) {
+                source.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.handler;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import org.neo4j.bolt.protocol.common.message.response.FailureMessage;
+import org.neo4j.bolt.protocol.common.message.response.SuccessMessage;
+import org.neo4j.memory.HeapEstimator;
+
+/**
+ * Activates compression once the client has been notified about its successful negotiation.
+ * <p />
+ * Clients enable compression upon receiving the {@code SUCCESS} response to their {@code HELLO} message which will
+ * thus be transmitted uncompressed while any subsequent data is compressed. Since responses are written from worker
+ * threads while keep-alive messages originate from the event loop, the switch is carried out within the event loop as
+ * part of the write of the response in order to guarantee that no data is written in the wrong format.
+ */
+public class CompressionNegotiationHandler extends ChannelOutboundHandlerAdapter {
+    public static final long SHALLOW_SIZE = HeapEstimator.shallowSizeOfInstance(CompressionNegotiationHandler.class);
+
+    public static final String NAME = "compressionNegotiationHandler";
+
+    private final CompressionFrameEncoder encoder;
+
+    private volatile boolean armed;
+
+    public CompressionNegotiationHandler(CompressionFrameEncoder encoder) {
+        this.encoder = encoder;
+    }
+
+    /**
+     * Schedules compression to be enabled after the next successful response has been written.
+     * <p />
+     * This method is invoked while the negotiating request is being processed.
+     */
+    public void arm() {
+        this.armed = true;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (this.armed) {
+            if (msg instanceof SuccessMessage) {
+                this.armed = false;
+
+                // the response passes the encoder before it is activated and thus remains uncompressed
+                ctx.write(msg, promise);
+                this.encoder.activate();
+                return;
+            }
+
+            // negotiation failed - the client will not expect compressed data in this case
+            if (msg instanceof FailureMessage) {
+                this.armed = false;
+            }
+        }
+
+        ctx.write(msg, promise);
+    }
+}
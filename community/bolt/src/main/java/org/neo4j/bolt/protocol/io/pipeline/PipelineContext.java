@@ -26,8 +26,13 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZonedDateTime;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.packstream.io.PackstreamBuf;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
@@ -72,6 +77,30 @@ public interface PipelineContext {
             MapValue properties,
             boolean isDeleted);
 
+    /**
+     * Writes a node which is read straight from the store.
+     *
+     * @param nodeCursor     a cursor positioned on an existing node.
+     * @param propertyCursor a cursor used to read the properties of the node.
+     */
+    void writeNode(
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper);
+
+    /**
+     * Writes a relationship which is read straight from the store.
+     *
+     * @param relCursor      a cursor positioned on an existing relationship.
+     * @param propertyCursor a cursor used to read the properties of the relationship.
+     */
+    void writeRelationship(
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper);
+
     void writeUnboundRelationship(String elementId, long relId, String type, MapValue properties);
 
     void writePath(NodeValue[] nodes, RelationshipValue[] relationships);
@@ -25,6 +25,11 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZonedDateTime;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
@@ -63,6 +68,18 @@ public interface WriterContext extends PipelineContext {
             MapValue properties,
             boolean isDeleted);
 
+    void fireNode(
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper);
+
+    void fireRelationship(
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper);
+
     void fireUnboundRelationship(String elementId, long relId, String type, MapValue properties);
 
     void firePath(NodeValue[] nodes, RelationshipValue[] relationships);
@@ -29,8 +29,13 @@ import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.io.writer.StructWriter;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.packstream.io.PackstreamBuf;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
@@ -308,6 +313,24 @@ public class WriterPipeline {
                     isDeleted));
         }
 
+        @Override
+        public void writeNode(
+                NodeCursor nodeCursor,
+                PropertyCursor propertyCursor,
+                TokenNameLookup tokens,
+                ElementIdMapper elementIdMapper) {
+            this.write(writer -> writer.writeNode(this, nodeCursor, propertyCursor, tokens, elementIdMapper));
+        }
+
+        @Override
+        public void writeRelationship(
+                RelationshipScanCursor relCursor,
+                PropertyCursor propertyCursor,
+                TokenNameLookup tokens,
+                ElementIdMapper elementIdMapper) {
+            this.write(writer -> writer.writeRelationship(this, relCursor, propertyCursor, tokens, elementIdMapper));
+        }
+
         @Override
         public void writeUnboundRelationship(String elementId, long relId, String type, MapValue properties) {
             this.write(writer -> writer.writeUnboundRelationship(this, elementId, relId, type, properties));
@@ -389,6 +412,26 @@ public class WriterPipeline {
                             isDeleted));
         }
 
+        @Override
+        public void fireNode(
+                NodeCursor nodeCursor,
+                PropertyCursor propertyCursor,
+                TokenNameLookup tokens,
+                ElementIdMapper elementIdMapper) {
+            this.fire("node", writer -> writer.writeNode(this, nodeCursor, propertyCursor, tokens, elementIdMapper));
+        }
+
+        @Override
+        public void fireRelationship(
+                RelationshipScanCursor relCursor,
+                PropertyCursor propertyCursor,
+                TokenNameLookup tokens,
+                ElementIdMapper elementIdMapper) {
+            this.fire(
+                    "relationship",
+                    writer -> writer.writeRelationship(this, relCursor, propertyCursor, tokens, elementIdMapper));
+        }
+
         @Override
         public void fireUnboundRelationship(String elementId, long relId, String type, MapValue properties) {
             this.fire(
@@ -46,8 +46,13 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.neo4j.bolt.protocol.io.StructType;
 import org.neo4j.bolt.protocol.io.pipeline.WriterContext;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.packstream.io.PackstreamBuf;
 import org.neo4j.packstream.util.PrimitiveLongIntKeyValueArray;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
@@ -313,6 +318,48 @@ public final class DefaultStructWriter extends UtcStructWriter implements Struct
         ctx.buffer().writeString(elementId).writeString(startNodeElementId).writeString(endNodeElementId);
     }
 
+    @Override
+    public void writeNode(
+            WriterContext ctx,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        NODE.writeHeader(ctx);
+
+        var nodeId = nodeCursor.nodeReference();
+        ctx.buffer().writeInt(nodeId);
+        EntityCursorWriter.writeLabels(ctx, nodeCursor.labels(), tokens);
+
+        EntityCursorWriter.writeProperties(ctx, nodeCursor, propertyCursor, tokens);
+        ctx.buffer().writeString(elementIdMapper.nodeElementId(nodeId));
+    }
+
+    @Override
+    public void writeRelationship(
+            WriterContext ctx,
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        RELATIONSHIP.writeHeader(ctx);
+
+        var relId = relCursor.relationshipReference();
+        var startNodeId = relCursor.sourceNodeReference();
+        var endNodeId = relCursor.targetNodeReference();
+        ctx.buffer()
+                .writeInt(relId)
+                .writeInt(startNodeId)
+                .writeInt(endNodeId)
+                .writeString(tokens.relationshipTypeGetName(relCursor.type()));
+
+        EntityCursorWriter.writeProperties(ctx, relCursor, propertyCursor, tokens);
+        ctx.buffer()
+                .writeString(elementIdMapper.relationshipElementId(relId))
+                .writeString(elementIdMapper.nodeElementId(startNodeId))
+                .writeString(elementIdMapper.nodeElementId(endNodeId));
+    }
+
     @Override
     public void writeUnboundRelationship(
             WriterContext ctx, String elementId, long relId, String type, MapValue properties) {
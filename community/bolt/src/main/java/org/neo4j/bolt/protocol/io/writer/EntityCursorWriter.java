@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.io.writer;
+
+import org.neo4j.bolt.protocol.io.pipeline.WriterContext;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.EntityCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.TokenSet;
+
+/**
+ * Encodes the labels and properties of entities which are read straight from the store.
+ */
+final class EntityCursorWriter {
+    private EntityCursorWriter() {}
+
+    static void writeLabels(WriterContext ctx, TokenSet labels, TokenNameLookup tokens) {
+        var buffer = ctx.buffer();
+        var count = labels.numberOfTokens();
+
+        buffer.writeListHeader(count);
+        for (var i = 0; i < count; ++i) {
+            buffer.writeString(tokens.labelGetName(labels.token(i)));
+        }
+    }
+
+    /**
+     * Writes the properties of the given entity as a map.
+     * <p />
+     * As the number of properties is not known up front, the property cursor is traversed twice: once to count the
+     * property keys without reading their values and once more to write the entries behind a map header of the
+     * correct size.
+     */
+    static void writeProperties(
+            WriterContext ctx, EntityCursor entityCursor, PropertyCursor propertyCursor, TokenNameLookup tokens) {
+        var count = 0;
+        entityCursor.properties(propertyCursor);
+        while (propertyCursor.next()) {
+            ++count;
+        }
+
+        var buffer = ctx.buffer();
+        buffer.writeMapHeader(count);
+
+        entityCursor.properties(propertyCursor);
+        while (propertyCursor.next()) {
+            buffer.writeString(tokens.propertyKeyGetName(propertyCursor.propertyKey()));
+            ctx.writeValue(propertyCursor.propertyValue());
+        }
+    }
+}
@@ -32,7 +32,12 @@ import java.time.ZonedDateTime;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 import org.neo4j.bolt.protocol.io.pipeline.WriterContext;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.virtual.MapValue;
@@ -121,6 +126,43 @@ public final class LegacyStructWriter implements StructWriter {
      * @param type       a type string.
      * @param properties a set of properties.
      */
+    @Override
+    public void writeNode(
+            WriterContext ctx,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        NODE.writeLegacyHeader(ctx);
+
+        var nodeId = nodeCursor.nodeReference();
+        ctx.buffer().writeInt(nodeId);
+        EntityCursorWriter.writeLabels(ctx, nodeCursor.labels(), tokens);
+
+        EntityCursorWriter.writeProperties(ctx, nodeCursor, propertyCursor, tokens);
+    }
+
+    @Override
+    public void writeRelationship(
+            WriterContext ctx,
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        RELATIONSHIP.writeLegacyHeader(ctx);
+
+        var relId = relCursor.relationshipReference();
+        var startNodeId = relCursor.sourceNodeReference();
+        var endNodeId = relCursor.targetNodeReference();
+        ctx.buffer()
+                .writeInt(relId)
+                .writeInt(startNodeId)
+                .writeInt(endNodeId)
+                .writeString(tokens.relationshipTypeGetName(relCursor.type()));
+
+        EntityCursorWriter.writeProperties(ctx, relCursor, propertyCursor, tokens);
+    }
+
     @Override
     public void writeUnboundRelationship(
             WriterContext ctx, String elementId, long relId, String type, MapValue properties) {
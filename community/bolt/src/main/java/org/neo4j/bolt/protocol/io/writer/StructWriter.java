@@ -26,6 +26,11 @@ import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZonedDateTime;
 import org.neo4j.bolt.protocol.io.pipeline.WriterContext;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
 import org.neo4j.values.storable.TextArray;
 import org.neo4j.values.storable.TextValue;
@@ -100,6 +105,24 @@ public interface StructWriter {
                 isDeleted);
     }
 
+    default void writeNode(
+            WriterContext ctx,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        ctx.fireNode(nodeCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
+    default void writeRelationship(
+            WriterContext ctx,
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        ctx.fireRelationship(relCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
     default void writeUnboundRelationship(
             WriterContext ctx, String elementId, long relId, String type, MapValue properties) {
         ctx.fireUnboundRelationship(elementId, relId, type, properties);
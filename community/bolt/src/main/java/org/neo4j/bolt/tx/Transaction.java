@@ -101,6 +101,18 @@ public interface Transaction {
      */
     Optional<Statement> getStatement(long id);
 
+    /**
+     * Produces further results of the latest statement within this transaction ahead of time.
+     *
+     * @param maxHeapSize the maximum number of bytes which may be occupied by prefetched records.
+     * @param backpressure true if the client is currently not keeping up with the records written to it.
+     * @return true if records have been produced and more may be prefetched, false otherwise.
+     * @see Statement#prefetch(long, boolean)
+     */
+    default boolean prefetch(long maxHeapSize, boolean backpressure) {
+        return false;
+    }
+
     /**
      * Commits the transaction in its current state and returns a bookmark which refers to the applied
      * changes.
@@ -44,6 +44,8 @@ import org.neo4j.bolt.tx.statement.StatementQuerySubscriber;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.values.virtual.MapValue;
 
 public class TransactionImpl implements Transaction {
@@ -52,6 +54,7 @@ public class TransactionImpl implements Transaction {
     private final DatabaseReference database;
     private final Clock clock;
     private final BoltTransaction transaction;
+    private final MemoryTracker memoryTracker;
     private final AtomicReference<State> state = new AtomicReference<>(State.OPEN);
     private final AtomicBoolean interrupted = new AtomicBoolean();
     private final EventPublisher<Listener> eventPublisher = new CopyOnWriteEventPublisher<>();
@@ -79,11 +82,22 @@ public class TransactionImpl implements Transaction {
 
     public TransactionImpl(
             String id, TransactionType type, DatabaseReference database, Clock clock, BoltTransaction transaction) {
+        this(id, type, database, clock, transaction, EmptyMemoryTracker.INSTANCE);
+    }
+
+    public TransactionImpl(
+            String id,
+            TransactionType type,
+            DatabaseReference database,
+            Clock clock,
+            BoltTransaction transaction,
+            MemoryTracker memoryTracker) {
         this.id = id;
         this.type = type;
         this.database = database;
         this.clock = clock;
         this.transaction = transaction;
+        this.memoryTracker = memoryTracker;
     }
 
     @Override
@@ -142,7 +156,7 @@ public class TransactionImpl implements Transaction {
             this.markFailed();
             throw new StatementExecutionException(ex);
         }
-        var handle = new StatementImpl(statementId, this.database, this.clock, query, subscriber);
+        var handle = new StatementImpl(statementId, this.database, this.clock, query, subscriber, this.memoryTracker);
 
         // register a lifecycle listener with the new statement to ensure that we are notified once
         // the statement is closed by its owner
@@ -168,6 +182,15 @@ public class TransactionImpl implements Transaction {
         }
     }
 
+    @Override
+    public boolean prefetch(long maxHeapSize, boolean backpressure) {
+        // clients generally consume the statement they have most recently started, so this is the
+        // only statement for which results are produced ahead of time
+        return this.getStatement(this.latestStatementId)
+                .map(statement -> statement.prefetch(maxHeapSize, backpressure))
+                .orElse(false);
+    }
+
     @Override
     public String commit() throws TransactionException {
         var updatedValue = this.state.compareAndExchange(State.OPEN, State.COMMITTED);
@@ -89,9 +89,11 @@ public class TransactionManagerImpl implements TransactionManager {
                     case IMPLICIT -> Type.IMPLICIT;
                 };
 
+        var memoryTracker = owner.memoryTracker();
+
         BoltGraphDatabaseServiceSPI databaseService;
         try {
-            databaseService = this.graphDatabaseManagementService.database(db, owner.memoryTracker());
+            databaseService = this.graphDatabaseManagementService.database(db, memoryTracker);
         } catch (DatabaseNotFoundException ex) {
             throw new NoSuchDatabaseTransactionCreationException(db, ex);
         } catch (UnavailableException ex) {
@@ -120,7 +122,8 @@ public class TransactionManagerImpl implements TransactionManager {
             throw new TransactionCreationException(ex);
         }
 
-        var handle = new TransactionImpl(id, type, databaseService.getDatabaseReference(), this.clock, tx);
+        var handle =
+                new TransactionImpl(id, type, databaseService.getDatabaseReference(), this.clock, tx, memoryTracker);
         handle.registerListener(this.cleanupListener);
 
         this.transactionMap.put(id, handle);
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.tx.statement;
+
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray;
+
+import java.util.ArrayDeque;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.values.AnyValue;
+
+/**
+ * Buffers records which have been produced ahead of time until they are requested by the client.
+ * <p />
+ * The heap occupied by buffered records is accounted for within the memory tracker of the owning connection and
+ * released as soon as records are handed to the network or the buffer is cleared.
+ */
+final class PrefetchBuffer implements RecordHandler {
+    private static final long BUFFERED_RECORD_SIZE = shallowSizeOfInstance(BufferedRecord.class);
+
+    private final int fieldCount;
+    private final MemoryTracker memoryTracker;
+    private final ArrayDeque<BufferedRecord> records = new ArrayDeque<>();
+
+    private AnyValue[] current;
+    private int currentOffset;
+    private long heapSize;
+
+    PrefetchBuffer(int fieldCount, MemoryTracker memoryTracker) {
+        this.fieldCount = fieldCount;
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * Retrieves the number of records which are currently buffered.
+     *
+     * @return a number of records.
+     */
+    int size() {
+        return this.records.size();
+    }
+
+    /**
+     * Retrieves the estimated heap occupied by the records which are currently buffered.
+     *
+     * @return a size (in bytes).
+     */
+    long heapSize() {
+        return this.heapSize;
+    }
+
+    /**
+     * Passes up to {@code n} buffered records to a given handler in the order in which they were produced.
+     *
+     * @param handler a record handler.
+     * @param n a maximum number of records.
+     * @return the number of records which have been passed to the handler.
+     */
+    long drainTo(RecordHandler handler, long n) {
+        long drained = 0;
+        while (drained < n) {
+            var record = this.records.pollFirst();
+            if (record == null) {
+                break;
+            }
+
+            this.release(record);
+
+            handler.onBegin();
+            for (var value : record.fields) {
+                handler.onField(value);
+            }
+            handler.onCompleted();
+
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * Discards all buffered records.
+     */
+    void clear() {
+        BufferedRecord record;
+        while ((record = this.records.pollFirst()) != null) {
+            this.release(record);
+        }
+        this.current = null;
+    }
+
+    private void release(BufferedRecord record) {
+        this.heapSize -= record.heapSize;
+        this.memoryTracker.releaseHeap(record.heapSize);
+    }
+
+    @Override
+    public void onBegin() {
+        this.current = new AnyValue[this.fieldCount];
+        this.currentOffset = 0;
+    }
+
+    @Override
+    public void onField(AnyValue value) {
+        this.current[this.currentOffset++] = value;
+    }
+
+    @Override
+    public void onCompleted() {
+        var fields = this.current;
+        this.current = null;
+
+        long size = BUFFERED_RECORD_SIZE + shallowSizeOfObjectArray(fields.length);
+        for (var value : fields) {
+            size += value.estimatedHeapUsage();
+        }
+
+        // when the connection has exceeded its memory limit, this fails the query in the same way as any other
+        // allocation made while producing the record would
+        this.memoryTracker.allocateHeap(size);
+        this.heapSize += size;
+        this.records.addLast(new BufferedRecord(fields, size));
+    }
+
+    @Override
+    public void onFailure() {
+        // partially produced records are never handed to the client
+        this.current = null;
+    }
+
+    private static final class BufferedRecord {
+        private final AnyValue[] fields;
+        private final long heapSize;
+
+        private BufferedRecord(AnyValue[] fields, long heapSize) {
+            this.fields = fields;
+            this.heapSize = heapSize;
+        }
+    }
+}
@@ -81,6 +81,21 @@ public interface Statement {
      */
     void discard(ResponseHandler responseHandler, long n) throws StatementException;
 
+    /**
+     * Produces the next batch of results ahead of time while the client is still receiving the
+     * previously consumed batch.
+     * <p />
+     * Prefetched records are handed out by subsequent calls to {@link #consume(ResponseHandler, long)}
+     * before any further results are produced.
+     *
+     * @param maxHeapSize the maximum number of bytes which may be occupied by prefetched records.
+     * @param backpressure true if the client is currently not keeping up with the records written to it.
+     * @return true if records have been produced and more may be prefetched, false otherwise.
+     */
+    default boolean prefetch(long maxHeapSize, boolean backpressure) {
+        return false;
+    }
+
     /**
      * Terminates this statement.
      */
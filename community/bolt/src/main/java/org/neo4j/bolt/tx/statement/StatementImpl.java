@@ -43,6 +43,8 @@ import org.neo4j.graphdb.QueryExecutionType;
 import org.neo4j.graphdb.QueryExecutionType.QueryType;
 import org.neo4j.graphdb.QueryStatistics;
 import org.neo4j.kernel.database.DatabaseReference;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.values.AnyValue;
 import org.neo4j.values.virtual.MapValue;
 
@@ -50,12 +52,19 @@ public class StatementImpl implements Statement {
     // TODO: Is this really a good idea? Are we sure about that?
     private static final long DEFAULT_BATCH_SIZE = Long.MAX_VALUE;
 
+    /**
+     * Identifies the maximum number of batches (as requested by the client) which may be produced
+     * ahead of time.
+     */
+    private static final int MAX_PREFETCH_BATCHES = 16;
+
     private final long id;
     private final DatabaseReference database;
     private final Clock clock;
     private final StatementQuerySubscriber subscriber;
     private final BoltQueryExecution execution;
     private final EventPublisher<Statement.Listener> eventPublisher = new CopyOnWriteEventPublisher<>();
+    private final PrefetchBuffer prefetchBuffer;
 
     /**
      * Provides a lock which safeguards consumption of results on this statement.
@@ -78,12 +87,53 @@ public class StatementImpl implements Statement {
     private final List<String> fieldNames;
     private QueryStatistics statistics;
 
+    /**
+     * Stores the number of results most recently requested by the client or zero if no results
+     * have been requested in batches yet.
+     */
+    private long batchSize;
+
+    /**
+     * Identifies the number of batches which are produced ahead of time.
+     * <p />
+     * This value is doubled whenever the client drains all prefetched records and halved whenever
+     * the client fails to keep up with the records written to it.
+     */
+    private int prefetchBatches = 1;
+
+    /**
+     * Stores the number of records which have been prefetched since the client last requested
+     * results.
+     */
+    private long prefetchedSinceConsume;
+
+    /**
+     * Flags whether the underlying query has run out of results while prefetching.
+     */
+    private boolean prefetchExhausted;
+
+    /**
+     * Stores the error encountered while prefetching (if any). The error is surfaced to the client
+     * once it has consumed all records which were produced before the failure.
+     */
+    private Exception prefetchFailure;
+
     public StatementImpl(
             long id,
             DatabaseReference database,
             Clock clock,
             BoltQueryExecution execution,
             StatementQuerySubscriber subscriber) {
+        this(id, database, clock, execution, subscriber, EmptyMemoryTracker.INSTANCE);
+    }
+
+    public StatementImpl(
+            long id,
+            DatabaseReference database,
+            Clock clock,
+            BoltQueryExecution execution,
+            StatementQuerySubscriber subscriber,
+            MemoryTracker memoryTracker) {
         this.id = id;
         this.database = database;
         this.clock = clock;
@@ -91,6 +141,7 @@ public class StatementImpl implements Statement {
         this.subscriber = subscriber;
 
         this.fieldNames = Arrays.asList(execution.queryExecution().fieldNames());
+        this.prefetchBuffer = new PrefetchBuffer(this.fieldNames.size(), memoryTracker);
     }
 
     @Override
@@ -141,14 +192,18 @@ public class StatementImpl implements Statement {
             // we'll just loop until the query indicates that no more data is available
             // TODO: Is this also -1 in protocol? Why?!?
             if (n == -1) {
+                this.prefetchBuffer.drainTo(recordHandler, DEFAULT_BATCH_SIZE);
+
                 try {
-                    boolean remaining;
-                    do {
+                    this.assertPrefetchSuccess();
+
+                    boolean remaining = !this.prefetchExhausted;
+                    while (remaining) {
                         query.request(DEFAULT_BATCH_SIZE);
                         remaining = query.await();
 
                         this.subscriber.assertSuccess();
-                    } while (remaining);
+                    }
                 } catch (Exception ex) {
                     throw new StatementStreamingException("Failed to consume all statement results", ex);
                 }
@@ -160,13 +215,32 @@ public class StatementImpl implements Statement {
                 this.complete(responseHandler, this.subscriber.getStatistics());
                 responseHandler.onCompleteStreaming(false);
             } else {
-                // otherwise we'll request the specific amount of results requested
+                // otherwise we'll hand out any records which have been prefetched before requesting
+                // the remaining amount of results from the query
+                var prefetched = this.prefetchBuffer.drainTo(recordHandler, n);
+                this.adaptPrefetchBatches();
+                this.batchSize = n;
+
                 boolean remaining;
                 try {
-                    query.request(n);
-                    remaining = query.await();
+                    if (prefetched < n) {
+                        this.assertPrefetchSuccess();
+                    }
+
+                    if (this.prefetchBuffer.size() != 0) {
+                        remaining = true;
+                    } else if (this.prefetchExhausted) {
+                        remaining = false;
+                    } else if (prefetched < n) {
+                        query.request(n - prefetched);
+                        remaining = query.await();
 
-                    this.subscriber.assertSuccess();
+                        this.subscriber.assertSuccess();
+                    } else {
+                        // the client has received the requested amount of results from the buffer,
+                        // we cannot know whether more results remain without producing them
+                        remaining = true;
+                    }
                 } catch (Exception ex) {
                     throw new StatementStreamingException("Failed to consume statement results", ex);
                 }
@@ -212,6 +286,7 @@ public class StatementImpl implements Statement {
                     && query.executionMetadataAvailable()
                     && query.executionType().queryType() == QueryType.READ_ONLY) {
                 responseHandler.onBeginStreaming(this.fieldNames);
+                this.prefetchBuffer.clear();
 
                 try {
                     query.cancel();
@@ -235,6 +310,83 @@ public class StatementImpl implements Statement {
         }
     }
 
+    @Override
+    public boolean prefetch(long maxHeapSize, boolean backpressure) {
+        // prefetching only begins once the client has requested the first batch of results as we
+        // have no indication of the desired batch size before that
+        if (maxHeapSize <= 0
+                || this.batchSize <= 0
+                || this.prefetchExhausted
+                || this.prefetchFailure != null
+                || this.state.get() != State.RUNNING) {
+            return false;
+        }
+
+        // when the client is not keeping up with the records we have already written, producing
+        // more of them ahead of time will only waste memory
+        if (backpressure) {
+            this.prefetchBatches = Math.max(1, this.prefetchBatches / 2);
+            return false;
+        }
+
+        // consumption or closure of this statement always takes precedence
+        if (!this.executionLock.tryLock()) {
+            return false;
+        }
+        try {
+            var buffered = this.prefetchBuffer.size();
+            var target = this.batchSize * this.prefetchBatches;
+            if (buffered >= target || this.prefetchBuffer.heapSize() >= maxHeapSize) {
+                return false;
+            }
+
+            // produce at most one batch at a time in order to check for new requests in between
+            var n = Math.min(this.batchSize, target - buffered);
+
+            long start = this.clock.millis();
+            var query = this.execution.queryExecution();
+
+            this.subscriber.setHandler(this.prefetchBuffer);
+            try {
+                query.request(n);
+                this.prefetchExhausted = !query.await();
+
+                this.subscriber.assertSuccess();
+            } catch (Exception ex) {
+                this.prefetchFailure = ex;
+                return false;
+            } finally {
+                this.subscriber.setHandler(null);
+                this.timeSpentStreaming += this.clock.millis() - start;
+            }
+
+            this.prefetchedSinceConsume += this.prefetchBuffer.size() - buffered;
+            return !this.prefetchExhausted;
+        } finally {
+            this.executionLock.unlock();
+        }
+    }
+
+    /**
+     * Adapts the number of batches produced ahead of time to the rate at which the client consumes
+     * them.
+     * <p />
+     * If the client has drained all records which were produced since its previous request, it is
+     * at least as fast as we are, and we'll permit more results to be produced ahead of time.
+     */
+    private void adaptPrefetchBatches() {
+        if (this.prefetchedSinceConsume != 0 && this.prefetchBuffer.size() == 0) {
+            this.prefetchBatches = Math.min(MAX_PREFETCH_BATCHES, this.prefetchBatches * 2);
+        }
+        this.prefetchedSinceConsume = 0;
+    }
+
+    private void assertPrefetchSuccess() throws Exception {
+        if (this.prefetchFailure != null) {
+            throw this.prefetchFailure;
+        }
+    }
+
     private void complete(ResponseHandler handler, QueryStatistics statistics) {
         this.statistics = statistics;
 
@@ -323,6 +475,7 @@ public class StatementImpl implements Statement {
         // is still consuming results
         this.executionLock.lock();
         try {
+            this.prefetchBuffer.clear();
             this.execution.close();
         } finally {
             this.executionLock.unlock();
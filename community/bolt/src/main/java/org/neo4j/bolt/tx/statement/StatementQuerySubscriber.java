@@ -20,13 +20,18 @@
 package org.neo4j.bolt.tx.statement;
 
 import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.common.TokenNameLookup;
 import org.neo4j.exceptions.CypherExecutionException;
 import org.neo4j.exceptions.KernelException;
 import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.impl.query.QueryExecutionKernelException;
 import org.neo4j.kernel.impl.query.QuerySubscriber;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 
 public class StatementQuerySubscriber implements QuerySubscriber {
     private RecordHandler handler;
@@ -59,6 +64,26 @@ public class StatementQuerySubscriber implements QuerySubscriber {
         this.handler.onField(value);
     }
 
+    @Override
+    public void onNodeField(
+            int offset,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        this.handler.onNodeField(nodeCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
+    @Override
+    public void onRelationshipField(
+            int offset,
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        this.handler.onRelationshipField(relCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
     @Override
     public void onRecordCompleted() throws Exception {
         this.handler.onCompleted();
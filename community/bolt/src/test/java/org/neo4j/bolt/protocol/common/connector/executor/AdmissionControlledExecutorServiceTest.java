@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.neo4j.time.Clocks;
+
+class AdmissionControlledExecutorServiceTest {
+
+    private final ExecutorService delegate = Executors.newCachedThreadPool();
+    private final BoltWorkerMetricsMonitor monitor = Mockito.mock(BoltWorkerMetricsMonitor.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        this.release.countDown();
+        this.delegate.shutdownNow();
+    }
+
+    @Test
+    void shouldLimitActiveJobs() throws InterruptedException {
+        var executor = new AdmissionControlledExecutorService(
+                this.delegate, 2, ThreadPoolExecutorServiceFactory.UNBOUNDED_QUEUE, this.monitor, Clocks.nanoClock());
+        var started = new CountDownLatch(2);
+        var completed = new CountDownLatch(5);
+
+        for (var i = 0; i < 5; ++i) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitUninterruptibly(this.release);
+                completed.countDown();
+            });
+        }
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.scheduledJobs()).isEqualTo(5);
+        assertThat(executor.activeJobs()).isEqualTo(2);
+        assertThat(executor.queuedJobs()).isEqualTo(3);
+
+        this.release.countDown();
+
+        assertThat(completed.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(executor.scheduledJobs()).isZero();
+        assertThat(executor.activeJobs()).isZero();
+        assertThat(executor.queuedJobs()).isZero();
+
+        Mockito.verify(this.monitor, Mockito.times(5)).jobScheduled();
+        Mockito.verify(this.monitor, Mockito.times(5)).jobStarted(Mockito.anyLong());
+        Mockito.verify(this.monitor, Mockito.times(5)).jobCompleted(Mockito.anyLong());
+        Mockito.verify(this.monitor, Mockito.never()).jobRejected();
+    }
+
+    @Test
+    void shouldRejectJobsWhenQueueIsFull() throws InterruptedException {
+        var executor = new AdmissionControlledExecutorService(this.delegate, 1, 1, this.monitor, Clocks.nanoClock());
+        var started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitUninterruptibly(this.release);
+        });
+        executor.execute(() -> awaitUninterruptibly(this.release));
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.execute(() -> {}));
+
+        assertThat(executor.scheduledJobs()).isEqualTo(2);
+        assertThat(executor.queuedJobs()).isEqualTo(1);
+        Mockito.verify(this.monitor, Mockito.times(2)).jobScheduled();
+        Mockito.verify(this.monitor).jobRejected();
+    }
+
+    @Test
+    void shouldRejectJobsWithoutPermitOnDirectHandoff() throws InterruptedException {
+        var executor = new AdmissionControlledExecutorService(
+                this.delegate, 1, ThreadPoolExecutorServiceFactory.SYNCHRONOUS_QUEUE, this.monitor, Clocks.nanoClock());
+        var started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitUninterruptibly(this.release);
+        });
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.execute(() -> {}));
+        Mockito.verify(this.monitor).jobRejected();
+    }
+
+    @Test
+    void shouldReturnQueuedJobsOnShutdownNow() throws InterruptedException {
+        var executor = new AdmissionControlledExecutorService(
+                this.delegate, 1, ThreadPoolExecutorServiceFactory.UNBOUNDED_QUEUE, this.monitor, Clocks.nanoClock());
+        var started = new CountDownLatch(1);
+        Runnable queued = () -> {};
+
+        executor.execute(() -> {
+            started.countDown();
+            awaitUninterruptibly(this.release);
+        });
+        executor.execute(queued);
+
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(executor.shutdownNow()).containsExactly(queued);
+        assertThat(executor.isShutdown()).isTrue();
+        assertThat(executor.queuedJobs()).isZero();
+
+        assertThatExceptionOfType(RejectedExecutionException.class).isThrownBy(() -> executor.execute(() -> {}));
+    }
+
+    @Test
+    void shouldExecuteJobsThroughFactory() throws Exception {
+        var factory = new VirtualThreadExecutorServiceFactory(
+                4,
+                ThreadPoolExecutorServiceFactory.UNBOUNDED_QUEUE,
+                Duration.ofSeconds(1),
+                "bolt-worker-test",
+                Executors.defaultThreadFactory(),
+                this.monitor,
+                Clocks.nanoClock());
+        var executor = factory.create();
+
+        try {
+            assertThat(executor.submit(() -> 42).get(10, TimeUnit.SECONDS)).isEqualTo(42);
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
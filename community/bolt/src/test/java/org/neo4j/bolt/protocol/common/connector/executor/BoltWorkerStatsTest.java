@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.connector.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.monitoring.Monitors;
+
+class BoltWorkerStatsTest {
+
+    @Test
+    void shouldAggregateEventsReportedThroughMonitors() {
+        var monitors = new Monitors();
+        var stats = new BoltWorkerStats();
+        monitors.addMonitorListener(stats);
+        var monitor = monitors.newMonitor(BoltWorkerMetricsMonitor.class);
+
+        monitor.jobScheduled();
+        monitor.jobScheduled();
+        monitor.jobScheduled();
+        monitor.jobRejected();
+        monitor.jobStarted(5);
+        monitor.jobStarted(7);
+        monitor.jobCompleted(11);
+
+        assertThat(stats.jobsScheduled()).isEqualTo(3);
+        assertThat(stats.jobsRejected()).isEqualTo(1);
+        assertThat(stats.jobsQueued()).isEqualTo(1);
+        assertThat(stats.jobsActive()).isEqualTo(1);
+        assertThat(stats.totalQueueTime()).isEqualTo(12);
+        assertThat(stats.totalProcessingTime()).isEqualTo(11);
+    }
+
+    @Test
+    void shouldStopAggregatingOnceRemoved() {
+        var monitors = new Monitors();
+        var stats = new BoltWorkerStats();
+        monitors.addMonitorListener(stats);
+        var monitor = monitors.newMonitor(BoltWorkerMetricsMonitor.class);
+
+        monitor.jobScheduled();
+        monitors.removeMonitorListener(stats);
+        monitor.jobScheduled();
+
+        assertThat(stats.jobsScheduled()).isEqualTo(1);
+    }
+}
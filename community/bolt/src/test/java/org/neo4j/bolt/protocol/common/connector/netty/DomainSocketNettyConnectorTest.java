@@ -118,6 +118,7 @@ class DomainSocketNettyConnectorTest extends AbstractNettyConnectorTest<DomainSo
                 BoltDriverMetricsMonitor.noop(),
                 512,
                 0,
+                0,
                 logging,
                 logging);
     }
@@ -183,6 +184,7 @@ class DomainSocketNettyConnectorTest extends AbstractNettyConnectorTest<DomainSo
                         BoltDriverMetricsMonitor.noop(),
                         512,
                         0,
+                        0,
                         logging,
                         logging))
                 .withMessageContaining("Unsupported transport: NIO does not support domain sockets")
@@ -107,6 +107,7 @@ class SocketNettyConnectorTest extends AbstractNettyConnectorTest<SocketNettyCon
                 BoltDriverMetricsMonitor.noop(),
                 512,
                 0,
+                0,
                 logging,
                 logging);
     }
@@ -29,8 +29,13 @@ import org.mockito.Mockito;
 import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.io.pipeline.WriterContext;
 import org.neo4j.bolt.testing.mock.ConnectionMockFactory;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.packstream.signal.FrameSignal;
 import org.neo4j.packstream.testing.PackstreamBufAssertions;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.BooleanValue;
 
 class NetworkRecordHandlerTest {
@@ -96,6 +101,30 @@ class NetworkRecordHandlerTest {
         Mockito.verify(writer).writeValue(BooleanValue.TRUE);
     }
 
+    @Test
+    void shouldWriteEntityFields() {
+        var writer = Mockito.mock(WriterContext.class);
+        var nodeCursor = Mockito.mock(NodeCursor.class);
+        var relCursor = Mockito.mock(RelationshipScanCursor.class);
+        var propertyCursor = Mockito.mock(PropertyCursor.class);
+        var tokens = Mockito.mock(TokenNameLookup.class);
+        var elementIdMapper = Mockito.mock(ElementIdMapper.class);
+
+        Mockito.doReturn(writer).when(this.connection).writerContext(Mockito.any());
+
+        var handler = new NetworkRecordHandler(this.connection, 2, 512, 0);
+
+        handler.onBegin();
+        handler.onNodeField(nodeCursor, propertyCursor, tokens, elementIdMapper);
+        handler.onRelationshipField(relCursor, propertyCursor, tokens, elementIdMapper);
+
+        // entities are passed to the writer pipeline without being materialized
+        Mockito.verify(writer).writeNode(nodeCursor, propertyCursor, tokens, elementIdMapper);
+        Mockito.verify(writer).writeRelationship(relCursor, propertyCursor, tokens, elementIdMapper);
+        Mockito.verify(writer, Mockito.never()).writeValue(Mockito.any());
+        Mockito.verifyNoInteractions(nodeCursor, relCursor, propertyCursor);
+    }
+
     void verifyFlushesPendingMessages(Consumer<NetworkRecordHandler> closeFunction) {
         var handler = new NetworkRecordHandler(this.connection, 4, 512, 8192);
 
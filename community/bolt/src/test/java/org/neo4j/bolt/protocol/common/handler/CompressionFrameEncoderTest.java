@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.bolt.protocol.common.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.luben.zstd.Zstd;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.MessageToByteEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.neo4j.bolt.protocol.common.message.response.FailureMessage;
+import org.neo4j.bolt.protocol.common.message.response.ResponseMessage;
+import org.neo4j.bolt.protocol.common.message.response.SuccessMessage;
+import org.neo4j.kernel.api.exceptions.Status;
+import org.neo4j.values.virtual.MapValue;
+
+class CompressionFrameEncoderTest {
+
+    private static final byte[] COMPRESSIBLE = "Bolt ".repeat(1024).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void shouldPassWritesThroughUntilActivated() {
+        var channel = new EmbeddedChannel(new CompressionFrameEncoder(0, 3));
+
+        channel.writeAndFlush(Unpooled.wrappedBuffer(COMPRESSIBLE));
+
+        ByteBuf msg = channel.readOutbound();
+        assertThat(bytes(msg)).isEqualTo(COMPRESSIBLE);
+    }
+
+    @Test
+    void shouldTransmitSmallFramesUncompressed() {
+        var encoder = new CompressionFrameEncoder(1024, 3);
+        var channel = new EmbeddedChannel(encoder);
+        encoder.activate();
+
+        channel.write(Unpooled.wrappedBuffer(new byte[] {1, 2, 3}));
+        channel.write(Unpooled.wrappedBuffer(new byte[] {4, 5}));
+        assertThat((Object) channel.readOutbound()).isNull();
+
+        channel.flush();
+
+        ByteBuf frame = channel.readOutbound();
+        assertThat(frame.readByte()).isEqualTo(CompressionFrameEncoder.FLAG_RAW);
+        assertThat(frame.readInt()).isEqualTo(5);
+        assertThat(bytes(frame)).containsExactly(1, 2, 3, 4, 5);
+        assertThat((Object) channel.readOutbound()).isNull();
+    }
+
+    @Test
+    void shouldCompressFramesExceedingThreshold() {
+        var encoder = new CompressionFrameEncoder(1024, 3);
+        var channel = new EmbeddedChannel(encoder);
+        encoder.activate();
+
+        var half = COMPRESSIBLE.length / 2;
+        channel.write(Unpooled.wrappedBuffer(COMPRESSIBLE, 0, half));
+        channel.writeAndFlush(Unpooled.wrappedBuffer(COMPRESSIBLE, half, COMPRESSIBLE.length - half));
+
+        ByteBuf frame = channel.readOutbound();
+        assertThat(frame.readByte()).isEqualTo(CompressionFrameEncoder.FLAG_ZSTD);
+        var compressedLength = frame.readInt();
+        assertThat(frame.readInt()).isEqualTo(COMPRESSIBLE.length);
+        assertThat(frame.readableBytes()).isEqualTo(compressedLength).isLessThan(COMPRESSIBLE.length / 10);
+
+        assertThat(Zstd.decompress(bytes(frame), COMPRESSIBLE.length)).isEqualTo(COMPRESSIBLE);
+    }
+
+    @Test
+    void shouldTransmitIncompressibleFramesUncompressed() {
+        var encoder = new CompressionFrameEncoder(0, 3);
+        var channel = new EmbeddedChannel(encoder);
+        encoder.activate();
+
+        var random = new byte[2048];
+        new Random(42).nextBytes(random);
+        channel.writeAndFlush(Unpooled.wrappedBuffer(random));
+
+        ByteBuf frame = channel.readOutbound();
+        assertThat(frame.readByte()).isEqualTo(CompressionFrameEncoder.FLAG_RAW);
+        assertThat(frame.readInt()).isEqualTo(random.length);
+        assertThat(bytes(frame)).isEqualTo(random);
+    }
+
+    @Test
+    void shouldActivateAfterNegotiatingResponse() {
+        var encoder = new CompressionFrameEncoder(0, 3);
+        var negotiationHandler = new CompressionNegotiationHandler(encoder);
+        var channel = new EmbeddedChannel(encoder, new ResponseEncoder(), negotiationHandler);
+
+        negotiationHandler.arm();
+        channel.writeAndFlush(new SuccessMessage(MapValue.EMPTY));
+
+        ByteBuf response = channel.readOutbound();
+        assertThat(bytes(response)).containsExactly(0x70);
+        assertThat(encoder.isActive()).isTrue();
+
+        channel.writeAndFlush(new SuccessMessage(MapValue.EMPTY));
+
+        ByteBuf frame = channel.readOutbound();
+        assertThat(frame.readByte()).isEqualTo(CompressionFrameEncoder.FLAG_RAW);
+        assertThat(frame.readInt()).isEqualTo(1);
+        assertThat(bytes(frame)).containsExactly(0x70);
+    }
+
+    @Test
+    void shouldNotActivateWhenNegotiatingRequestFails() {
+        var encoder = new CompressionFrameEncoder(0, 3);
+        var negotiationHandler = new CompressionNegotiationHandler(encoder);
+        var channel = new EmbeddedChannel(encoder, new ResponseEncoder(), negotiationHandler);
+
+        negotiationHandler.arm();
+        channel.writeAndFlush(new FailureMessage(Status.Request.Invalid, "Invalid request", false));
+        channel.writeAndFlush(new SuccessMessage(MapValue.EMPTY));
+
+        assertThat(bytes(channel.readOutbound())).containsExactly(0x7F);
+        assertThat(bytes(channel.readOutbound())).containsExactly(0x70);
+        assertThat(encoder.isActive()).isFalse();
+    }
+
+    private static byte[] bytes(ByteBuf buf) {
+        var bytes = new byte[buf.readableBytes()];
+        buf.readBytes(bytes);
+        buf.release();
+        return bytes;
+    }
+
+    private static class ResponseEncoder extends MessageToByteEncoder<ResponseMessage> {
+
+        @Override
+        protected void encode(ChannelHandlerContext ctx, ResponseMessage msg, ByteBuf out) {
+            out.writeByte(msg instanceof SuccessMessage ? 0x70 : 0x7F);
+        }
+    }
+}
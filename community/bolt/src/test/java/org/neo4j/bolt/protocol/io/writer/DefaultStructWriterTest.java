@@ -22,6 +22,7 @@ package org.neo4j.bolt.protocol.io.writer;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
+import io.netty.buffer.ByteBuf;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -30,20 +31,76 @@ import java.time.OffsetTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 import org.mockito.Mockito;
+import org.neo4j.bolt.protocol.common.connector.connection.Connection;
 import org.neo4j.bolt.protocol.io.StructType;
+import org.neo4j.bolt.protocol.io.pipeline.PipelineContext;
 import org.neo4j.bolt.protocol.io.pipeline.WriterContext;
+import org.neo4j.bolt.protocol.io.pipeline.WriterPipeline;
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.EntityCursor;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.internal.kernel.api.TokenSet;
 import org.neo4j.packstream.error.reader.LimitExceededException;
 import org.neo4j.packstream.error.reader.UnexpectedTypeException;
 import org.neo4j.packstream.io.PackstreamBuf;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.storable.CoordinateReferenceSystem;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.VirtualValues;
 
 class DefaultStructWriterTest {
+    private static final TokenNameLookup TOKENS = new TokenNameLookup() {
+        @Override
+        public String labelGetName(int labelId) {
+            return "label-" + labelId;
+        }
+
+        @Override
+        public String relationshipTypeGetName(int relationshipTypeId) {
+            return "type-" + relationshipTypeId;
+        }
+
+        @Override
+        public String propertyKeyGetName(int propertyKeyId) {
+            return "key-" + propertyKeyId;
+        }
+    };
+
+    private static final ElementIdMapper ELEMENT_IDS = new ElementIdMapper() {
+        @Override
+        public String nodeElementId(long id) {
+            return "node-" + id;
+        }
+
+        @Override
+        public long nodeId(String id) {
+            return Long.parseLong(id.substring("node-".length()));
+        }
+
+        @Override
+        public String relationshipElementId(long id) {
+            return "relationship-" + id;
+        }
+
+        @Override
+        public long relationshipId(String id) {
+            return Long.parseLong(id.substring("relationship-".length()));
+        }
+    };
 
     @TestFactory
     Stream<DynamicTest> shouldWritePoint() {
@@ -334,4 +391,133 @@ class DefaultStructWriterTest {
                     assertThat(buf.getTarget().isReadable()).isFalse();
                 }));
     }
+
+    @Test
+    void shouldWriteNodeFromCursorsLikeNodeValue() {
+        var nodeCursor = Mockito.mock(NodeCursor.class);
+        var labels = Mockito.mock(TokenSet.class);
+        var propertyCursor = propertyCursor(nodeCursor, 1);
+
+        Mockito.doReturn(42L).when(nodeCursor).nodeReference();
+        Mockito.doReturn(labels).when(nodeCursor).labels();
+        Mockito.doReturn(2).when(labels).numberOfTokens();
+        Mockito.doReturn(1).when(labels).token(0);
+        Mockito.doReturn(2).when(labels).token(1);
+
+        var expected = write(ctx -> ctx.writeValue(
+                VirtualValues.nodeValue(42, "node-42", Values.stringArray("label-1", "label-2"), properties(1))));
+        var actual = write(ctx -> ctx.writeNode(nodeCursor, propertyCursor, TOKENS, ELEMENT_IDS));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldWriteRelationshipFromCursorsLikeRelationshipValue() {
+        var relCursor = Mockito.mock(RelationshipScanCursor.class);
+        var propertyCursor = propertyCursor(relCursor, 1);
+
+        Mockito.doReturn(21L).when(relCursor).relationshipReference();
+        Mockito.doReturn(1L).when(relCursor).sourceNodeReference();
+        Mockito.doReturn(2L).when(relCursor).targetNodeReference();
+        Mockito.doReturn(3).when(relCursor).type();
+
+        var expected = write(ctx -> ctx.writeValue(VirtualValues.relationshipValue(
+                21,
+                "relationship-21",
+                VirtualValues.node(1, ELEMENT_IDS),
+                VirtualValues.node(2, ELEMENT_IDS),
+                Values.stringValue("type-3"),
+                properties(1))));
+        var actual = write(ctx -> ctx.writeRelationship(relCursor, propertyCursor, TOKENS, ELEMENT_IDS));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldWriteEntitiesWithManyPropertiesFromCursors() {
+        return IntStream.of(0, 15, 16, 255, 256, 65_536)
+                .mapToObj(count -> dynamicTest(String.valueOf(count), () -> {
+                    var nodeCursor = Mockito.mock(NodeCursor.class);
+                    var labels = Mockito.mock(TokenSet.class);
+                    var nodePropertyCursor = propertyCursor(nodeCursor, count);
+
+                    Mockito.doReturn(42L).when(nodeCursor).nodeReference();
+                    Mockito.doReturn(labels).when(nodeCursor).labels();
+
+                    var expectedNode = write(ctx -> ctx.writeValue(
+                            VirtualValues.nodeValue(42, "node-42", Values.stringArray(), properties(count))));
+                    var actualNode = write(ctx -> ctx.writeNode(nodeCursor, nodePropertyCursor, TOKENS, ELEMENT_IDS));
+
+                    assertThat(actualNode).isEqualTo(expectedNode);
+
+                    var relCursor = Mockito.mock(RelationshipScanCursor.class);
+                    var relPropertyCursor = propertyCursor(relCursor, count);
+
+                    Mockito.doReturn(21L).when(relCursor).relationshipReference();
+                    Mockito.doReturn(1L).when(relCursor).sourceNodeReference();
+                    Mockito.doReturn(2L).when(relCursor).targetNodeReference();
+                    Mockito.doReturn(3).when(relCursor).type();
+
+                    var expectedRel = write(ctx -> ctx.writeValue(VirtualValues.relationshipValue(
+                            21,
+                            "relationship-21",
+                            VirtualValues.node(1, ELEMENT_IDS),
+                            VirtualValues.node(2, ELEMENT_IDS),
+                            Values.stringValue("type-3"),
+                            properties(count))));
+                    var actualRel =
+                            write(ctx -> ctx.writeRelationship(relCursor, relPropertyCursor, TOKENS, ELEMENT_IDS));
+
+                    assertThat(actualRel).isEqualTo(expectedRel);
+                }));
+    }
+
+    /**
+     * Creates a property cursor over {@code count} properties which is reset whenever the given entity cursor is
+     * asked to initialize it. Properties are returned in the iteration order of {@link #properties(int)} so that the
+     * written map matches the one written for the equivalent {@link MapValue}.
+     */
+    private static PropertyCursor propertyCursor(EntityCursor entityCursor, int count) {
+        var propertyCursor = Mockito.mock(PropertyCursor.class);
+        var keys = new ArrayList<Integer>(count);
+        properties(count).foreach((key, value) -> keys.add(Integer.parseInt(key.substring("key-".length()))));
+        var position = new MutableInt(-1);
+
+        Mockito.doAnswer(invocation -> {
+                    position.setValue(-1);
+                    return null;
+                })
+                .when(entityCursor)
+                .properties(propertyCursor);
+        Mockito.doAnswer(invocation -> position.incrementAndGet() < count)
+                .when(propertyCursor)
+                .next();
+        Mockito.doAnswer(invocation -> keys.get(position.intValue()))
+                .when(propertyCursor)
+                .propertyKey();
+        Mockito.doAnswer(invocation -> Values.stringValue("value-" + keys.get(position.intValue())))
+                .when(propertyCursor)
+                .propertyValue();
+
+        return propertyCursor;
+    }
+
+    private static MapValue properties(int count) {
+        var keys = new String[count];
+        var values = new AnyValue[count];
+        for (var i = 0; i < count; ++i) {
+            keys[i] = "key-" + i;
+            values[i] = Values.stringValue("value-" + i);
+        }
+        return VirtualValues.map(keys, values);
+    }
+
+    private static ByteBuf write(Consumer<PipelineContext> writer) {
+        var buf = PackstreamBuf.allocUnpooled();
+        var pipeline = new WriterPipeline(Mockito.mock(Connection.class)).addLast(DefaultStructWriter.getInstance());
+
+        writer.accept(pipeline.forBuffer(buf));
+
+        return buf.getTarget();
+    }
 }
@@ -22,15 +22,24 @@ package org.neo4j.bolt.tx.statement;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.neo4j.bolt.dbapi.BoltQueryExecution;
+import org.neo4j.bolt.protocol.common.fsm.response.RecordHandler;
+import org.neo4j.bolt.protocol.common.fsm.response.ResponseHandler;
 import org.neo4j.graphdb.QueryExecutionType;
+import org.neo4j.graphdb.QueryStatistics;
 import org.neo4j.kernel.database.DatabaseReference;
 import org.neo4j.kernel.impl.query.QueryExecution;
+import org.neo4j.memory.LocalMemoryTracker;
 import org.neo4j.time.FakeClock;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
 
 class StatementImplTest {
 
@@ -115,4 +124,122 @@ class StatementImplTest {
 
         Assertions.assertThat(statement.hasRemaining()).isFalse();
     }
+
+    @Test
+    void shouldHandOutPrefetchedRecordsBeforeProducingMore() throws Exception {
+        var memoryTracker = new LocalMemoryTracker();
+        var subscriber = new StatementQuerySubscriber();
+        this.produceRecords(subscriber, 10);
+        var statement =
+                new StatementImpl(42, this.databaseReference, this.clock, this.execution, subscriber, memoryTracker);
+
+        var records = new ArrayList<AnyValue>();
+        var responseHandler = this.collectingResponseHandler(records);
+
+        // nothing is prefetched until the client has requested its first batch
+        Assertions.assertThat(statement.prefetch(1024 * 1024, false)).isFalse();
+
+        statement.consume(responseHandler, 3);
+        Assertions.assertThat(records).containsExactly(Values.intValue(0), Values.intValue(1), Values.intValue(2));
+
+        Assertions.assertThat(statement.prefetch(1024 * 1024, false)).isTrue();
+        Assertions.assertThat(memoryTracker.estimatedHeapMemory()).isGreaterThan(0);
+
+        // the buffer holds a single batch until the client has proven to keep up with it
+        Assertions.assertThat(statement.prefetch(1024 * 1024, false)).isFalse();
+
+        records.clear();
+        statement.consume(responseHandler, 4);
+
+        Assertions.assertThat(records)
+                .containsExactly(Values.intValue(3), Values.intValue(4), Values.intValue(5), Values.intValue(6));
+        Assertions.assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+        Mockito.verify(responseHandler, Mockito.times(2)).onCompleteStreaming(true);
+    }
+
+    @Test
+    void shouldCompleteWhenQueryIsExhaustedWhilePrefetching() throws Exception {
+        var subscriber = new StatementQuerySubscriber();
+        this.produceRecords(subscriber, 5);
+        var statement = new StatementImpl(
+                42, this.databaseReference, this.clock, this.execution, subscriber, new LocalMemoryTracker());
+
+        var records = new ArrayList<AnyValue>();
+        var responseHandler = this.collectingResponseHandler(records);
+
+        statement.consume(responseHandler, 3);
+        Assertions.assertThat(statement.prefetch(1024 * 1024, false)).isFalse();
+        Mockito.verify(this.queryExecution, Mockito.times(2)).await();
+
+        statement.consume(responseHandler, 3);
+
+        Assertions.assertThat(records).hasSize(5);
+        Assertions.assertThat(statement.hasRemaining()).isFalse();
+        Mockito.verify(responseHandler).onCompleteStreaming(false);
+        Mockito.verify(this.queryExecution, Mockito.times(2)).await();
+    }
+
+    @Test
+    void shouldNotPrefetchUnderBackpressure() throws Exception {
+        var subscriber = new StatementQuerySubscriber();
+        this.produceRecords(subscriber, 10);
+        var statement = new StatementImpl(
+                42, this.databaseReference, this.clock, this.execution, subscriber, new LocalMemoryTracker());
+
+        statement.consume(this.collectingResponseHandler(new ArrayList<>()), 3);
+
+        Assertions.assertThat(statement.prefetch(1024 * 1024, true)).isFalse();
+        Assertions.assertThat(statement.prefetch(0, false)).isFalse();
+        Mockito.verify(this.queryExecution).request(ArgumentMatchers.anyLong());
+    }
+
+    private ResponseHandler collectingResponseHandler(List<AnyValue> records) {
+        var responseHandler = Mockito.mock(ResponseHandler.class);
+        Mockito.doReturn(new RecordHandler() {
+                    @Override
+                    public void onField(AnyValue value) {
+                        records.add(value);
+                    }
+
+                    @Override
+                    public void onCompleted() {}
+
+                    @Override
+                    public void onFailure() {}
+                })
+                .when(responseHandler)
+                .onBeginStreaming(ArgumentMatchers.anyList());
+        return responseHandler;
+    }
+
+    private void produceRecords(StatementQuerySubscriber subscriber, int total) throws Exception {
+        Mockito.doReturn(new String[] {"n"}).when(this.queryExecution).fieldNames();
+
+        var executionType = Mockito.mock(QueryExecutionType.class);
+        Mockito.doReturn(executionType).when(this.queryExecution).executionType();
+
+        var demand = new long[1];
+        var produced = new int[1];
+        Mockito.doAnswer(invocation -> {
+                    demand[0] += invocation.<Long>getArgument(0);
+                    return null;
+                })
+                .when(this.queryExecution)
+                .request(ArgumentMatchers.anyLong());
+        Mockito.doAnswer(invocation -> {
+                    while (demand[0] > 0 && produced[0] < total) {
+                        subscriber.onRecord();
+                        subscriber.onField(0, Values.intValue(produced[0]++));
+                        subscriber.onRecordCompleted();
+                        demand[0]--;
+                    }
+                    if (produced[0] == total) {
+                        subscriber.onResultCompleted(QueryStatistics.EMPTY);
+                        return false;
+                    }
+                    return true;
+                })
+                .when(this.queryExecution)
+                .await();
+    }
 }
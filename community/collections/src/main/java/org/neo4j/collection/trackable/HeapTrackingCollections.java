@@ -62,6 +62,10 @@ public final class HeapTrackingCollections {
         return HeapTrackingLongHashSet.createLongHashSet(memoryTracker, set);
     }
 
+    public static HeapTrackingLongBitmap newLongBitmap(MemoryTracker memoryTracker) {
+        return HeapTrackingLongBitmap.createLongBitmap(memoryTracker);
+    }
+
     public static <V> HeapTrackingLongObjectHashMap<V> newLongObjectMap(MemoryTracker memoryTracker) {
         return HeapTrackingLongObjectHashMap.createLongObjectHashMap(memoryTracker);
     }
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.collection.trackable;
+
+import static java.util.Objects.requireNonNull;
+import static org.neo4j.memory.HeapEstimator.ARRAY_HEADER_BYTES;
+import static org.neo4j.memory.HeapEstimator.alignObjectSize;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfInstance;
+import static org.neo4j.memory.HeapEstimator.shallowSizeOfObjectArray;
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
+
+import java.util.Arrays;
+import org.neo4j.graphdb.Resource;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * A compressed set of longs, for sets of entity ids that can grow large, like the nodes seen by a traversal.
+ * <p>
+ * Values are split into containers of 2^16 consecutive values, in the style of roaring bitmaps. Sparse containers
+ * keep their values in a sorted array of 16-bit offsets, dense containers in a bitmap, so a set uses about 16 bits
+ * per value of a sparse range, and at most 1 bit per value of a dense range. Containers of values below 2^32 are
+ * looked up by indexing an array, larger values fall back to a hash map.
+ * <p>
+ * The set can't be iterated, it only answers if it contains a value.
+ */
+public final class HeapTrackingLongBitmap implements Resource {
+    private static final long SHALLOW_SIZE = shallowSizeOfInstance(HeapTrackingLongBitmap.class);
+    private static final int CONTAINER_BITS = 16;
+    private static final int DIRECT_CONTAINERS = 1 << 16;
+    private static final int INITIAL_DIRECT_CONTAINERS = 16;
+
+    private final MemoryTracker memoryTracker;
+    private Container[] containers;
+    private HeapTrackingLongObjectHashMap<Container> overflowContainers;
+    private long size;
+
+    public static HeapTrackingLongBitmap createLongBitmap(MemoryTracker memoryTracker) {
+        memoryTracker.allocateHeap(SHALLOW_SIZE + shallowSizeOfObjectArray(INITIAL_DIRECT_CONTAINERS));
+        return new HeapTrackingLongBitmap(memoryTracker);
+    }
+
+    private HeapTrackingLongBitmap(MemoryTracker memoryTracker) {
+        this.memoryTracker = requireNonNull(memoryTracker);
+        this.containers = new Container[INITIAL_DIRECT_CONTAINERS];
+    }
+
+    /**
+     * @return {@code true} if the value was added, {@code false} if the set already contained it.
+     */
+    public boolean add(long value) {
+        long key = value >>> CONTAINER_BITS;
+        char offset = (char) value;
+        Container container = container(key);
+        if (container == null) {
+            container = ArrayContainer.create(memoryTracker);
+            setContainer(key, container);
+        } else if (container instanceof ArrayContainer array && array.isFull() && !array.contains(offset)) {
+            container = array.toBitmap(memoryTracker);
+            setContainer(key, container);
+        }
+
+        if (container.add(offset, memoryTracker)) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    public boolean contains(long value) {
+        Container container = container(value >>> CONTAINER_BITS);
+        return container != null && container.contains((char) value);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        releaseContainers();
+        Arrays.fill(containers, null);
+        size = 0;
+    }
+
+    @Override
+    public void close() {
+        if (containers != null) {
+            releaseContainers();
+            memoryTracker.releaseHeap(SHALLOW_SIZE + shallowSizeOfObjectArray(containers.length));
+            containers = null;
+        }
+    }
+
+    private Container container(long key) {
+        if (key < DIRECT_CONTAINERS) {
+            int index = (int) key;
+            return index < containers.length ? containers[index] : null;
+        }
+        return overflowContainers == null ? null : overflowContainers.get(key);
+    }
+
+    private void setContainer(long key, Container container) {
+        if (key < DIRECT_CONTAINERS) {
+            int index = (int) key;
+            if (index >= containers.length) {
+                int newLength = Math.min(DIRECT_CONTAINERS, Math.max(index + 1, containers.length << 1));
+                memoryTracker.allocateHeap(shallowSizeOfObjectArray(newLength));
+                memoryTracker.releaseHeap(shallowSizeOfObjectArray(containers.length));
+                containers = Arrays.copyOf(containers, newLength);
+            }
+            containers[index] = container;
+        } else {
+            if (overflowContainers == null) {
+                overflowContainers = HeapTrackingLongObjectHashMap.createLongObjectHashMap(memoryTracker);
+            }
+            overflowContainers.put(key, container);
+        }
+    }
+
+    private void releaseContainers() {
+        for (Container container : containers) {
+            if (container != null) {
+                memoryTracker.releaseHeap(container.heapSize());
+            }
+        }
+        if (overflowContainers != null) {
+            overflowContainers.forEachValue(container -> memoryTracker.releaseHeap(container.heapSize()));
+            overflowContainers.close();
+            overflowContainers = null;
+        }
+    }
+
+    private abstract static class Container {
+        abstract boolean add(char offset, MemoryTracker memoryTracker);
+
+        abstract boolean contains(char offset);
+
+        abstract long heapSize();
+    }
+
+    /**
+     * Sorted offsets of a sparse container, which are kept until a bitmap would take less space.
+     */
+    private static final class ArrayContainer extends Container {
+        private static final long SHALLOW_SIZE = shallowSizeOfInstance(ArrayContainer.class);
+        private static final int INITIAL_CAPACITY = 4;
+        // A bitmap of 2^16 bits is 8 KiB, the same as this many 16-bit offsets
+        private static final int MAX_SIZE = 4096;
+
+        private char[] offsets;
+        private int size;
+
+        static ArrayContainer create(MemoryTracker memoryTracker) {
+            memoryTracker.allocateHeap(SHALLOW_SIZE + sizeOfCharArray(INITIAL_CAPACITY));
+            return new ArrayContainer();
+        }
+
+        private ArrayContainer() {
+            this.offsets = new char[INITIAL_CAPACITY];
+        }
+
+        boolean isFull() {
+            return size == MAX_SIZE;
+        }
+
+        @Override
+        boolean add(char offset, MemoryTracker memoryTracker) {
+            int index = Arrays.binarySearch(offsets, 0, size, offset);
+            if (index >= 0) {
+                return false;
+            }
+            int insertionPoint = -index - 1;
+            if (size == offsets.length) {
+                int newCapacity = Math.min(MAX_SIZE, offsets.length << 1);
+                memoryTracker.allocateHeap(sizeOfCharArray(newCapacity));
+                memoryTracker.releaseHeap(sizeOfCharArray(offsets.length));
+                offsets = Arrays.copyOf(offsets, newCapacity);
+            }
+            System.arraycopy(offsets, insertionPoint, offsets, insertionPoint + 1, size - insertionPoint);
+            offsets[insertionPoint] = offset;
+            size++;
+            return true;
+        }
+
+        @Override
+        boolean contains(char offset) {
+            return Arrays.binarySearch(offsets, 0, size, offset) >= 0;
+        }
+
+        BitmapContainer toBitmap(MemoryTracker memoryTracker) {
+            BitmapContainer bitmap = BitmapContainer.create(memoryTracker);
+            for (int i = 0; i < size; i++) {
+                bitmap.add(offsets[i], memoryTracker);
+            }
+            memoryTracker.releaseHeap(heapSize());
+            return bitmap;
+        }
+
+        @Override
+        long heapSize() {
+            return SHALLOW_SIZE + sizeOfCharArray(offsets.length);
+        }
+
+        private static long sizeOfCharArray(int length) {
+            return alignObjectSize(ARRAY_HEADER_BYTES + (long) length * Character.BYTES);
+        }
+    }
+
+    /**
+     * One bit per value of a dense container.
+     */
+    private static final class BitmapContainer extends Container {
+        private static final long SHALLOW_SIZE = shallowSizeOfInstance(BitmapContainer.class);
+        private static final int WORDS = (1 << CONTAINER_BITS) / Long.SIZE;
+        private static final long HEAP_SIZE = SHALLOW_SIZE + sizeOfLongArray(WORDS);
+
+        private final long[] words = new long[WORDS];
+
+        static BitmapContainer create(MemoryTracker memoryTracker) {
+            memoryTracker.allocateHeap(HEAP_SIZE);
+            return new BitmapContainer();
+        }
+
+        @Override
+        boolean add(char offset, MemoryTracker memoryTracker) {
+            int word = offset >>> 6;
+            long bit = 1L << offset;
+            long before = words[word];
+            words[word] = before | bit;
+            return (before & bit) == 0;
+        }
+
+        @Override
+        boolean contains(char offset) {
+            return (words[offset >>> 6] & (1L << offset)) != 0;
+        }
+
+        @Override
+        long heapSize() {
+            return HEAP_SIZE;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.collection.trackable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+import org.junit.jupiter.api.Test;
+import org.neo4j.memory.LocalMemoryTracker;
+
+class HeapTrackingLongBitmapTest {
+
+    @Test
+    void shouldAddAndContainValues() {
+        var memoryTracker = new LocalMemoryTracker();
+        try (var bitmap = HeapTrackingLongBitmap.createLongBitmap(memoryTracker)) {
+            assertThat(bitmap.isEmpty()).isTrue();
+            assertThat(bitmap.add(0)).isTrue();
+            assertThat(bitmap.add(65_536)).isTrue();
+            assertThat(bitmap.add(42)).isTrue();
+            assertThat(bitmap.add(42)).isFalse();
+
+            assertThat(bitmap.contains(0)).isTrue();
+            assertThat(bitmap.contains(42)).isTrue();
+            assertThat(bitmap.contains(65_536)).isTrue();
+            assertThat(bitmap.contains(1)).isFalse();
+            assertThat(bitmap.contains(65_578)).isFalse();
+            assertThat(bitmap.size()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldHandleLargeValues() {
+        var memoryTracker = new LocalMemoryTracker();
+        try (var bitmap = HeapTrackingLongBitmap.createLongBitmap(memoryTracker)) {
+            long[] values = {1L << 32, (1L << 40) + 7, Long.MAX_VALUE, -1L};
+            for (long value : values) {
+                assertThat(bitmap.add(value)).isTrue();
+            }
+            for (long value : values) {
+                assertThat(bitmap.contains(value)).isTrue();
+                assertThat(bitmap.add(value)).isFalse();
+            }
+            assertThat(bitmap.contains((1L << 32) + 1)).isFalse();
+            assertThat(bitmap.contains(1)).isFalse();
+        }
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldBehaveLikeAHashSet() {
+        var random = new SplittableRandom(42);
+        var expected = new LongHashSet();
+        var memoryTracker = new LocalMemoryTracker();
+        try (var bitmap = HeapTrackingLongBitmap.createLongBitmap(memoryTracker)) {
+            for (int i = 0; i < 200_000; i++) {
+                // A mix of dense and sparse ranges
+                long value = random.nextBoolean() ? random.nextLong(100_000) : random.nextLong(100_000_000);
+                assertThat(bitmap.add(value)).isEqualTo(expected.add(value));
+            }
+            for (int i = 0; i < 200_000; i++) {
+                long value = random.nextLong(100_000_000);
+                assertThat(bitmap.contains(value)).isEqualTo(expected.contains(value));
+            }
+            assertThat(bitmap.size()).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    void shouldReleaseMemoryOnClearAndClose() {
+        var memoryTracker = new LocalMemoryTracker();
+        var bitmap = HeapTrackingLongBitmap.createLongBitmap(memoryTracker);
+        long initialMemory = memoryTracker.estimatedHeapMemory();
+        for (long i = 0; i < 1_000_000; i += 3) {
+            bitmap.add(i);
+        }
+        bitmap.add(1L << 50);
+        assertThat(memoryTracker.estimatedHeapMemory()).isGreaterThan(initialMemory);
+
+        bitmap.clear();
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.contains(0)).isFalse();
+        assertThat(bitmap.contains(1L << 50)).isFalse();
+        assertThat(bitmap.add(3)).isTrue();
+
+        bitmap.close();
+        assertThat(memoryTracker.estimatedHeapMemory()).isZero();
+    }
+
+    @Test
+    void shouldUseLessMemoryThanHashSetForNodesSeenByTraversal() {
+        // The nodes reached by a traversal of a large graph: a dense region of low node ids and a sparse tail
+        var random = new SplittableRandom(13);
+        long[] nodes = new long[2_000_000];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = i % 4 == 0 ? random.nextLong(50_000_000) : random.nextLong(2_000_000);
+        }
+
+        var bitmapMemory = new LocalMemoryTracker();
+        var hashSetMemory = new LocalMemoryTracker();
+        try (var bitmap = HeapTrackingLongBitmap.createLongBitmap(bitmapMemory);
+                var hashSet = HeapTrackingLongHashSet.createLongHashSet(hashSetMemory)) {
+            for (long node : nodes) {
+                assertThat(bitmap.add(node)).isEqualTo(hashSet.add(node));
+            }
+
+            assertThat(bitmap.size()).isEqualTo(hashSet.size());
+            assertThat(bitmapMemory.estimatedHeapMemory() * 8).isLessThan(hashSetMemory.estimatedHeapMemory());
+        }
+    }
+}
@@ -34,6 +34,8 @@ public enum Group {
     PAGE_CACHE_EVICTION("PageCacheEviction"),
     /* Page cache background eviction. */
     PAGE_CACHE_PRE_FETCHER("PageCachePreFetcher", ExecutorServiceFactory.cachedWithDiscard(), 4),
+    /* Page cache background flushing of dirty pages. */
+    PAGE_CACHE_FLUSHER("PageCacheFlusher"),
     /** Watch out for, and report, external manipulation of store files. */
     FILE_WATCHER("FileWatcher", ExecutorServiceFactory.unschedulable()),
     /** Monitor and report system-wide pauses, in case they lead to service interruption. */
@@ -48,6 +50,8 @@ public enum Group {
     INDEX_CLEANUP("IndexCleanup"),
     /** Index recovery cleanup work. */
     INDEX_CLEANUP_WORK("IndexCleanupWork"),
+    /** Reads and decodes transaction log command batches ahead of recovery applying them. */
+    RECOVERY_READ_AHEAD("RecoveryReadAhead"),
     /** Terminates kernel transactions that have timed out. */
     TRANSACTION_TIMEOUT_MONITOR("TransactionTimeoutMonitor"),
     /** Background index population. */
@@ -87,6 +91,10 @@ public enum Group {
     /** Thread pool for parallel Cypher query execution. */
     CYPHER_WORKER("CypherWorker", ExecutorServiceFactory.workStealing()),
     CYPHER_CACHE("CypherCache", ExecutorServiceFactory.workStealing()),
+    /** Executes the batches of 'CALL { ... } IN CONCURRENT TRANSACTIONS'. */
+    CYPHER_TRANSACTIONS("CypherTransactions"),
+    /** Reads and parses the input of 'LOAD CSV' ahead of the query. */
+    CYPHER_LOAD_CSV("CypherLoadCsv"),
 
     /** Removes queries that have timed out */
     CYPHER_QUERY_MONITOR("CypherQueryMonitor"),
@@ -25,6 +25,8 @@ import static org.neo4j.values.storable.Values.longValue;
 import static org.neo4j.values.storable.Values.stringValue;
 
 import java.io.IOException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.assertj.core.api.Assertions;
 import org.neo4j.bolt.test.annotation.BoltTestExtension;
 import org.neo4j.bolt.test.annotation.connection.initializer.Authenticated;
@@ -245,6 +247,64 @@ public class BasicOperationIT {
                 .receivesSuccess();
     }
 
+    @ProtocolTest
+    void shouldStreamEntitiesWithManyProperties(BoltWire wire, @Authenticated TransportConnection connection)
+            throws IOException {
+        // Given: more properties than fit in a tiny map
+        var properties = IntStream.range(0, 300).boxed().collect(Collectors.toMap(i -> "p" + i, i -> (long) i));
+        var literal = properties.entrySet().stream()
+                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .collect(Collectors.joining(", ", "{", "}"));
+
+        connection
+                .send(wire.run("CREATE (:Test " + literal + ")-[:T " + literal + "]->()"))
+                .send(wire.pull());
+
+        assertThat(connection).receivesSuccess(2);
+
+        // When
+        connection.send(wire.run("MATCH (n:Test)-[r:T]->() RETURN n, r")).send(wire.pull());
+
+        // Then
+        var major = wire.getProtocolVersion().major();
+        assertThat(connection)
+                .receivesSuccess()
+                .packstreamSatisfies(pack -> pack.receivesMessage()
+                        .containsStruct(0x71, 1)
+                        .containsLengthPrefixMarker(Type.LIST, 2)
+                        .containsStruct(0x4E, major >= 5 ? 4 : 3)
+                        .containsAInt()
+                        .containsList(labels -> Assertions.assertThat(labels).containsExactly("Test"))
+                        .containsMap(props -> Assertions.assertThat(props).isEqualTo(properties))
+                        .satisfies(buf -> {
+                            if (major >= 5) {
+                                PackstreamBufAssertions.assertThat(buf)
+                                        .containsString(elementId ->
+                                                Assertions.assertThat(elementId).matches(ELEMENT_ID_PATTERN));
+                            }
+                        })
+                        .containsStruct(0x52, major >= 5 ? 8 : 5)
+                        .containsAInt()
+                        .containsAInt()
+                        .containsAInt()
+                        .containsString("T")
+                        .containsMap(props -> Assertions.assertThat(props).isEqualTo(properties))
+                        .satisfies(buf -> {
+                            if (major >= 5) {
+                                PackstreamBufAssertions.assertThat(buf)
+                                        .containsString(elementId ->
+                                                Assertions.assertThat(elementId).matches(ELEMENT_ID_PATTERN))
+                                        .containsString(elementId ->
+                                                Assertions.assertThat(elementId).matches(ELEMENT_ID_PATTERN))
+                                        .containsString(elementId ->
+                                                Assertions.assertThat(elementId).matches(ELEMENT_ID_PATTERN));
+                            }
+                        })
+                        .asBuffer()
+                        .hasNoRemainingReadableBytes())
+                .receivesSuccess();
+    }
+
     @ProtocolTest
     void shouldNotLeakStatsToNextStatement(BoltWire wire, @Authenticated TransportConnection connection)
             throws IOException {
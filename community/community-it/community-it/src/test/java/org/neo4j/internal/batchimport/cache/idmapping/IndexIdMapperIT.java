@@ -73,6 +73,7 @@ import org.neo4j.kernel.impl.api.index.stats.IndexStatisticsStore;
 import org.neo4j.kernel.impl.index.schema.DefaultIndexProvidersAccess;
 import org.neo4j.kernel.impl.scheduler.JobSchedulerFactory;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.logging.NullLogProvider;
 import org.neo4j.logging.internal.NullLogService;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.IndexEntryUpdate;
@@ -159,6 +160,7 @@ class IndexIdMapperIT {
                 RecordDatabaseLayout.convert(layout),
                 immediate(),
                 false,
+                NullLogProvider.getInstance(),
                 NULL_CONTEXT_FACTORY,
                 NULL,
                 openOptions));
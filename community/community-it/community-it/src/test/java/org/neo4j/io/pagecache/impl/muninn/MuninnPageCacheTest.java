@@ -607,6 +607,40 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache> {
         }
     }
 
+    @Test
+    void trackNumberOfModifiedPages() throws Exception {
+        try (MuninnPageCache pageCache = createPageCache(fs, 10, PageCacheTracer.NULL);
+                PagedFile pagedFile = map(pageCache, file("a"), pageCache.pageSize())) {
+            assertThat(pageCache.pages.getModifiedPageCount()).isZero();
+
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                for (int i = 0; i < 3; i++) {
+                    assertTrue(cursor.next());
+                    cursor.putLong(i);
+                }
+            }
+            assertThat(pageCache.pages.getModifiedPageCount()).isEqualTo(3);
+
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                cursor.putLong(42);
+            }
+            assertThat(pageCache.pages.getModifiedPageCount()).isEqualTo(3);
+
+            pagedFile.flushAndForce(FileFlushEvent.NULL);
+            assertThat(pageCache.pages.getModifiedPageCount()).isZero();
+
+            try (PageCursor cursor = pagedFile.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                assertTrue(cursor.next());
+                cursor.putLong(43);
+            }
+            assertThat(pageCache.pages.getModifiedPageCount()).isEqualTo(1);
+
+            pageCache.evictPages(10, 0, EvictionRunEvent.NULL);
+            assertThat(pageCache.pages.getModifiedPageCount()).isZero();
+        }
+    }
+
     @Test
     void mustFlushDirtyPagesOnEvictingFirstPage() throws Exception {
         writeInitialDataTo(file("a"), reservedBytes);
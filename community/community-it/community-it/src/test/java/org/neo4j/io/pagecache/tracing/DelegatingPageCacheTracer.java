@@ -154,6 +154,16 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         return delegate.ioLimitedMillis();
     }
 
+    @Override
+    public double dirtyRatio() {
+        return delegate.dirtyRatio();
+    }
+
+    @Override
+    public long backgroundFlushes() {
+        return delegate.backgroundFlushes();
+    }
+
     @Override
     public long openedCursors() {
         return delegate.openedCursors();
@@ -269,6 +279,16 @@ public class DelegatingPageCacheTracer implements PageCacheTracer {
         delegate.maxPages(maxPages, pageSize);
     }
 
+    @Override
+    public void dirtyPages(long dirtyPages) {
+        delegate.dirtyPages(dirtyPages);
+    }
+
+    @Override
+    public void backgroundFlushes(long pagesFlushed) {
+        delegate.backgroundFlushes(pagesFlushed);
+    }
+
     @Override
     public void iopq(long iopq) {
         delegate.iopq(iopq);
@@ -233,6 +233,16 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
         return 0;
     }
 
+    @Override
+    public double dirtyRatio() {
+        return 0;
+    }
+
+    @Override
+    public long backgroundFlushes() {
+        return 0;
+    }
+
     @Override
     public long openedCursors() {
         return 0;
@@ -310,6 +320,12 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer {
     @Override
     public void maxPages(long maxPages, long pageSize) {}
 
+    @Override
+    public void dirtyPages(long dirtyPages) {}
+
+    @Override
+    public void backgroundFlushes(long pagesFlushed) {}
+
     @Override
     public void iopq(long iopq) {}
 
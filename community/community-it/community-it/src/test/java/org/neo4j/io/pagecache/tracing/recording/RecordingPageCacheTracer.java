@@ -244,6 +244,16 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public double dirtyRatio() {
+        return 0;
+    }
+
+    @Override
+    public long backgroundFlushes() {
+        return 0;
+    }
+
     @Override
     public long openedCursors() {
         return 0;
@@ -327,6 +337,12 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     @Override
     public void maxPages(long maxPages, long pageSize) {}
 
+    @Override
+    public void dirtyPages(long dirtyPages) {}
+
+    @Override
+    public void backgroundFlushes(long pagesFlushed) {}
+
     @Override
     public void iopq(long iopq) {}
 
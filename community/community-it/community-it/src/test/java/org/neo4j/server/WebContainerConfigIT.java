@@ -21,8 +21,12 @@ package org.neo4j.server;
 
 import static java.net.http.HttpClient.newHttpClient;
 import static java.net.http.HttpResponse.BodyHandlers.discarding;
+import static java.net.http.HttpResponse.BodyHandlers.ofByteArray;
 import static java.net.http.HttpResponse.BodyHandlers.ofString;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.HttpHeaders.ACCEPT;
+import static javax.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.WILDCARD;
@@ -33,8 +37,10 @@ import static org.neo4j.configuration.SettingValueParsers.FALSE;
 import static org.neo4j.configuration.SettingValueParsers.TRUE;
 import static org.neo4j.server.helpers.CommunityWebContainerBuilder.serverOnRandomPorts;
 
+import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.net.http.HttpRequest;
+import java.util.zip.GZIPInputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.neo4j.configuration.GraphDatabaseSettings;
@@ -150,6 +156,75 @@ class WebContainerConfigIT extends ExclusiveWebContainerTestBase {
         assertThat(discoveryResponse.body()).contains(dbUri);
     }
 
+    @Test
+    void shouldCompressResponsesWhenEnabledInConfig() throws Exception {
+        testWebContainer = serverOnRandomPorts()
+                .withProperty(ServerSettings.http_response_compression_enabled.name(), TRUE)
+                .usingDataDir(
+                        testDirectory.directory(methodName).toAbsolutePath().toString())
+                .build();
+
+        var response = newHttpClient().send(largeResultRequest(), ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertThat(response.headers().firstValue(CONTENT_ENCODING)).contains("gzip");
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new String(body.readAllBytes(), UTF_8)).contains("\"errors\":[]");
+        }
+    }
+
+    @Test
+    void shouldNotCompressResponsesWhenNotEnabledInConfig() throws Exception {
+        testWebContainer = serverOnRandomPorts()
+                .usingDataDir(
+                        testDirectory.directory(methodName).toAbsolutePath().toString())
+                .build();
+
+        var response = newHttpClient().send(largeResultRequest(), ofString());
+
+        assertEquals(200, response.statusCode());
+        assertThat(response.headers().firstValue(CONTENT_ENCODING)).isEmpty();
+        assertThat(response.body()).contains("\"errors\":[]");
+    }
+
+    @Test
+    void shouldStreamAllRecordsWhenBatchingFlushes() throws Exception {
+        testWebContainer = serverOnRandomPorts()
+                .withProperty(ServerSettings.http_record_flush_interval.name(), "1h")
+                .usingDataDir(
+                        testDirectory.directory(methodName).toAbsolutePath().toString())
+                .build();
+
+        var jsonResponse = newHttpClient().send(largeResultRequest(), ofString());
+
+        assertEquals(200, jsonResponse.statusCode());
+        assertThat(jsonResponse.body())
+                .contains("{\"row\":[1000],\"meta\":[null]}")
+                .contains("\"errors\":[]");
+
+        var joltResponse = newHttpClient()
+                .send(
+                        HttpRequest.newBuilder(largeResultRequest(), (name, value) -> !name.equalsIgnoreCase(ACCEPT))
+                                .header(ACCEPT, "application/vnd.neo4j.jolt")
+                                .build(),
+                        ofString());
+
+        assertEquals(200, joltResponse.statusCode());
+        assertThat(joltResponse.body().lines().filter(line -> line.startsWith("{\"data\":")))
+                .hasSize(1000);
+    }
+
+    private HttpRequest largeResultRequest() {
+        var uri = testWebContainer.getBaseUri() + "db/neo4j/tx/commit";
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header(ACCEPT, APPLICATION_JSON)
+                .header(ACCEPT_ENCODING, "gzip")
+                .header(CONTENT_TYPE, APPLICATION_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{ 'statements': [ { 'statement': 'UNWIND range(1, 1000) AS i RETURN i' } ] }"))
+                .build();
+    }
+
     @Test
     void shouldGenerateWADLWhenExplicitlyEnabledInConfig() throws Exception {
         testWebContainer = serverOnRandomPorts()
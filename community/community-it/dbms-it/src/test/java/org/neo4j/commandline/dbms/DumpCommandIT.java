@@ -44,6 +44,7 @@ import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_CHECKSUM;
 import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
@@ -63,8 +64,10 @@ import org.neo4j.configuration.Config;
 import org.neo4j.configuration.ConfigUtils;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.dbms.api.DatabaseManagementService;
+import org.neo4j.dbms.archive.DumpManifest;
 import org.neo4j.dbms.archive.Dumper;
 import org.neo4j.graphdb.config.Setting;
+import org.neo4j.internal.helpers.ArrayUtil;
 import org.neo4j.io.fs.DefaultFileSystemAbstraction;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.layout.DatabaseLayout;
@@ -425,6 +428,52 @@ class DumpCommandIT {
                         + "Specify a directory as destination or a single target database");
     }
 
+    @Test
+    void shouldNotAllowWriteManifestWithStdOut() {
+        var ctx = new ExecutionContext(
+                homeDir, configDir, mock(PrintStream.class), mock(PrintStream.class), testDirectory.getFileSystem());
+        var command = new DumpCommand(ctx) {
+            @Override
+            protected Dumper createDumper(FileSystemAbstraction fs, PrintStream out) {
+                return dumper;
+            }
+        };
+        CommandLine.populateCommand(command, "foo", "--to-stdout", "--write-manifest");
+        CommandFailedException commandFailed = assertThrows(CommandFailedException.class, command::execute);
+        assertThat(commandFailed.getMessage())
+                .isEqualTo("--write-manifest can not be used in combination with standard output. "
+                        + "Specify a directory as destination");
+    }
+
+    @Test
+    void shouldDumpDifferentiallyFromManifest() throws Exception {
+        Path manifestDir = testDirectory.directory("manifest-dir");
+        try (OutputStream out = Files.newOutputStream(manifestDir.resolve("foo" + Dumper.MANIFEST_EXTENSION))) {
+            DumpManifest.empty().write(out);
+        }
+
+        execute("foo", dumpDir, "--differential-from=" + manifestDir.toAbsolutePath());
+
+        verify(dumper)
+                .dumpDifferential(
+                        eq(homeDir.resolve("data/databases/foo")),
+                        eq(homeDir.resolve("data/transactions/foo")),
+                        any(),
+                        any(),
+                        any(),
+                        any());
+    }
+
+    @Test
+    void shouldGiveAClearMessageIfTheManifestDoesntExist() {
+        Path manifestDir = testDirectory.directory("manifest-dir");
+        CommandFailedException commandFailed = assertThrows(
+                CommandFailedException.class,
+                () -> execute("foo", dumpDir, "--differential-from=" + manifestDir.toAbsolutePath()));
+        assertThat(commandFailed.getCause().getMessage())
+                .startsWith("No manifest to base a differential dump of database 'foo' on");
+    }
+
     @Test
     void shouldNotAllowSpecifiedFile() throws IOException {
         Files.createFile(archive);
@@ -449,7 +498,7 @@ class DumpCommandIT {
         execute(database, dumpDir);
     }
 
-    private void execute(String database, Path to) {
+    private void execute(String database, Path to, String... args) {
         final ExecutionContext ctx = new ExecutionContext(
                 homeDir, configDir, mock(PrintStream.class), mock(PrintStream.class), testDirectory.getFileSystem());
         final var command = new DumpCommand(ctx) {
@@ -459,7 +508,8 @@ class DumpCommandIT {
             }
         };
 
-        CommandLine.populateCommand(command, database, "--to-path=" + to.toAbsolutePath());
+        CommandLine.populateCommand(
+                command, ArrayUtil.concat(new String[] {database, "--to-path=" + to.toAbsolutePath()}, args));
 
         command.execute();
     }
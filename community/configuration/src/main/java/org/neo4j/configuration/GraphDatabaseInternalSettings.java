@@ -250,6 +250,21 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.non_indexed_label_warning_threshold", LONG, 10000L)
             .build();
 
+    @Internal
+    @Description("Set this to read, decompress and parse the input of `LOAD CSV` in jobs on the job scheduler, while "
+            + "the query consumes the rows that have already been parsed. GZIP and ZSTD compressed input loaded from a "
+            + "URL is then also decompressed on the fly.")
+    public static final Setting<Boolean> load_csv_read_ahead =
+            newBuilder("internal.cypher.load_csv_read_ahead", BOOL, false).build();
+
+    @Internal
+    @Description("Set this to emit the rows of `CALL { ... } IN CONCURRENT TRANSACTIONS` in the order of the input "
+            + "batches. Otherwise the rows of each batch are emitted as soon as its transaction has finished, which "
+            + "keeps all concurrent transactions busy when batches take different amounts of time.")
+    public static final Setting<Boolean> cypher_concurrent_transactions_preserve_order = newBuilder(
+                    "internal.cypher.concurrent_transactions_preserve_order", BOOL, true)
+            .build();
+
     @Internal
     @Description("To improve IDP query planning time, we can restrict the internal planning table size, "
             + "triggering compaction of candidate plans. The smaller the threshold the faster the planning, "
@@ -311,6 +326,57 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.enable_query_cache_monitors", BOOL, false)
             .build();
 
+    @Internal
+    @Description("Set this to remember the queries of the executable query cache, together with the types of their "
+            + "parameters, when the database stops. When it starts again they are planned in the background against "
+            + "the current schema and statistics, before clients ask for them.")
+    public static final Setting<Boolean> cypher_persist_query_cache =
+            newBuilder("internal.cypher.persist_query_cache", BOOL, false).build();
+
+    @Internal
+    @Description("Location of the files the queries of the executable query cache are persisted to, one per database, "
+            + "when internal.cypher.persist_query_cache is set. They are kept outside the database directories, so "
+            + "that they are not part of the store.")
+    public static final Setting<Path> cypher_persist_query_cache_directory = newBuilder(
+                    "internal.cypher.persist_query_cache_directory", PATH, Path.of("query-cache"))
+            .immutable()
+            .setDependency(GraphDatabaseSettings.data_directory)
+            .build();
+
+    @Internal
+    @Description("How often the queries of the executable query cache are persisted, when "
+            + "internal.cypher.persist_query_cache is set, so that they survive a database that does not stop "
+            + "cleanly. They are always persisted when the database stops.")
+    public static final Setting<Duration> cypher_persist_query_cache_interval = newBuilder(
+                    "internal.cypher.persist_query_cache_interval", DURATION, ofMinutes(5))
+            .addConstraint(min(ofSeconds(1)))
+            .build();
+
+    @Internal
+    @Description("Set this to keep serving a cached query plan that has become stale while it is replanned in the "
+            + "background, instead of replanning it on the query path. Each stale plan is replanned by at most one "
+            + "background job at a time.")
+    public static final Setting<Boolean> cypher_replan_in_background =
+            newBuilder("internal.cypher.replan_in_background", BOOL, false).build();
+
+    @Internal
+    @Description("Set this to count the rows produced by executions of cached queries and compare them with the number "
+            + "of rows the planner estimated. A plan whose estimate is off by more than "
+            + "internal.cypher.cardinality_feedback_threshold is replanned once, and the query is listed by "
+            + "`db.listCardinalityMisestimates()`.")
+    public static final Setting<Boolean> cypher_cardinality_feedback_enabled = newBuilder(
+                    "internal.cypher.cardinality_feedback_enabled", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("The factor by which the number of rows produced by a cached query must differ from the estimated "
+            + "number of rows before the query is considered misestimated. "
+            + "Only used if internal.cypher.cardinality_feedback_enabled is set.")
+    public static final Setting<Double> cypher_cardinality_feedback_threshold = newBuilder(
+                    "internal.cypher.cardinality_feedback_threshold", DOUBLE, 100.0)
+            .addConstraint(min(1.0))
+            .build();
+
     @Internal
     @Description("Enable tracing of pipelined runtime scheduler.")
     public static final Setting<Boolean> enable_pipelined_runtime_trace = newBuilder(
@@ -527,6 +593,39 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.enable_extra_semantic_features", setOf(STRING), Set.of())
             .build();
 
+    @Internal
+    @Description("The number of partitions, and worker threads, that the slotted runtime may split a node scan into "
+            + "when it feeds a read-only, non-grouping count aggregation. A value of 1 disables partitioned scans.")
+    public static final Setting<Integer> cypher_slotted_partitioned_scan_parallelism = newBuilder(
+                    "internal.cypher.slotted.partitioned_scan_parallelism", INT, 1)
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("The number of worker threads that the slotted runtime may expand a large level of a read-only "
+            + "shortestPath or allShortestPaths search on, when the search has no node or relationship predicates. "
+            + "A value of 1 disables parallel expansion.")
+    public static final Setting<Integer> cypher_slotted_shortest_path_parallelism = newBuilder(
+                    "internal.cypher.slotted.shortest_path_parallelism", INT, 1)
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("The number of rows that the slotted runtime moves at a time between the operators of a read-only "
+            + "pipeline that starts with a node scan and continues with expands, filters and projections. "
+            + "A value of 0 disables batched execution, and rows are then passed one at a time.")
+    public static final Setting<Integer> cypher_slotted_batch_size = newBuilder(
+                    "internal.cypher.slotted.batch_size", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
+    @Internal
+    @Description("Enables compilation of the predicates of the community slotted runtime to bytecode, whenever "
+            + "the expression engine asks for compiled expressions.")
+    public static final Setting<Boolean> cypher_slotted_compiled_predicates_enabled = newBuilder(
+                    "internal.cypher.slotted.compiled_predicates_enabled", BOOL, false)
+            .build();
+
     @Internal
     @Description("Enable freeing memory of unused columns during Cypher query execution")
     public static final Setting<Boolean> cypher_free_memory_of_unused_columns = newBuilder(
@@ -850,6 +949,22 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(range(2, 100))
             .build();
 
+    @Internal
+    @Description("Pace the IO of checkpoints in community edition. The rate of checkpoint IO is lowered when the "
+            + "latency of checkpoint IO grows while other page cache IO is going on, and raised again otherwise.")
+    public static final Setting<Boolean> checkpoint_adaptive_io_enabled = newBuilder(
+                    "internal.db.checkpoint.adaptive_io.enabled", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Target duration of checkpoints paced by the adaptive checkpoint IO controller. The rate of "
+            + "checkpoint IO is never lowered below what is needed to flush as many pages as the previous "
+            + "checkpoint did within this duration.")
+    public static final Setting<Duration> checkpoint_adaptive_io_target_duration = newBuilder(
+                    "internal.db.checkpoint.adaptive_io.target_duration", DURATION, ofMinutes(5))
+            .addConstraint(min(ofSeconds(1)))
+            .build();
+
     @Internal
     @Description(
             "Whether or not to dump system and database diagnostics. This takes a non-negligible amount of time to do and therefore "
@@ -1044,6 +1159,15 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
     public static final Setting<Boolean> do_parallel_recovery =
             newBuilder("internal.dbms.recovery.enable_parallelism", BOOL, false).build();
 
+    @Internal
+    @Description("Number of transaction log command batches that a reader thread decodes ahead of the recovery "
+            + "appliers. The reader also loads the store pages that those batches will touch into the page cache. "
+            + "0 disables read-ahead.")
+    public static final Setting<Integer> recovery_read_ahead_batches = newBuilder(
+                    "internal.dbms.recovery.read_ahead_batches", INT, 0)
+            .addConstraint(min(0))
+            .build();
+
     @Internal
     @Description("Whether or not to log contents of data that is inconsistent when deleting it.")
     public static final Setting<Boolean> log_inconsistent_data_deletion = newBuilder(
@@ -1064,6 +1188,15 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.cypher.planning_intersection_scans_enabled", BOOL, true)
             .build();
 
+    @Internal
+    @Description("Feature flag to enable/disable estimating selectivities from the sampled distribution of the values "
+            + "in indexes, using the values of literals and parameters of the query that is planned. Plans are cached "
+            + "by the types of the parameters, not their values, so a cached plan that was estimated for the "
+            + "parameter values of the first execution is reused for all other values.")
+    public static final Setting<Boolean> planning_value_histograms_enabled = newBuilder(
+                    "internal.cypher.planning_value_histograms_enabled", BOOL, false)
+            .build();
+
     @Internal
     @Description(
             "Limits the maximum amount of off-heap memory the consistency checker will allocate. The value is given as a factor between 0.1 .. 1 "
@@ -1246,6 +1379,29 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
             .addConstraint(min(1L))
             .build();
 
+    @Internal
+    @Description("Continuously write back dirty pages of the page cache in the background, so that checkpoints find "
+            + "most pages already clean.")
+    public static final Setting<Boolean> page_cache_background_flush_enabled = newBuilder(
+                    "internal.dbms.page_cache_background_flush.enabled", BOOL, false)
+            .build();
+
+    @Internal
+    @Description("Ratio of dirty pages to all pages in the page cache above which the background flusher writes back "
+            + "dirty pages.")
+    public static final Setting<Double> page_cache_background_flush_dirty_ratio = newBuilder(
+                    "internal.dbms.page_cache_background_flush.dirty_ratio", DOUBLE, 0.05)
+            .addConstraint(range(0.0, 1.0))
+            .build();
+
+    @Internal
+    @Description("Time in which the background flusher aims to write back the dirty pages it observes. Shorter "
+            + "durations leave fewer dirty pages for checkpoints and recovery, at the cost of more write IO.")
+    public static final Setting<Duration> page_cache_background_flush_target_duration = newBuilder(
+                    "internal.dbms.page_cache_background_flush.target_duration", DURATION, ofMinutes(1))
+            .addConstraint(min(ofSeconds(1)))
+            .build();
+
     @Internal
     @Description(
             "Whether to allow a system graph upgrade to happen automatically (and the procedures becomes no-ops), or should "
@@ -1283,6 +1439,23 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration {
                     "internal.dbms.composite.call_in_transactions", BOOL, true)
             .build();
 
+    @Internal
+    @Description("The maximum number of independent fragments of a composite query that are executed concurrently, "
+            + "like the branches of a UNION that read from different constituents. "
+            + "With a value of 1, fragments are executed one after another.")
+    public static final Setting<Integer> composite_fragment_concurrency = newBuilder(
+                    "internal.dbms.composite.fragment_concurrency", INT, 1)
+            .addConstraint(min(1))
+            .build();
+
+    @Internal
+    @Description("The number of records every concurrently executed fragment of a composite query "
+            + "is allowed to buffer ahead of the consumer of its results.")
+    public static final Setting<Integer> composite_fragment_buffer_size = newBuilder(
+                    "internal.dbms.composite.fragment_buffer_size", INT, 1000)
+            .addConstraint(min(1))
+            .build();
+
     @Internal
     @Description("A feature toggle behind which composite queries are routed through the new query router stack")
     public static final Setting<Boolean> composite_queries_with_query_router = newBuilder(
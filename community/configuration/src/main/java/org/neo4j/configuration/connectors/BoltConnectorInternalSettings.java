@@ -91,6 +91,14 @@ public final class BoltConnectorInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> unsupported_thread_pool_queue_size =
             newBuilder("internal.server.bolt.thread_pool_queue_size", INT, 0).build();
 
+    @Internal
+    @Description("Execute the jobs of this connector on virtual threads when supported by the runtime. The number of "
+            + "concurrently executing jobs is limited to `server.bolt.thread_pool_max_size` with further jobs being "
+            + "queued according to `internal.server.bolt.thread_pool_queue_size`.")
+    public static final Setting<Boolean> thread_pool_virtual_threads = newBuilder(
+                    "internal.server.bolt.thread_pool_virtual_threads", BOOL, false)
+            .build();
+
     @Internal
     @Description("Enable TCP keep alive probes on this connector")
     public static final Setting<Boolean> tcp_keep_alive =
@@ -195,6 +203,28 @@ public final class BoltConnectorInternalSettings implements SettingsDeclaration
                     "internal.dbms.bolt.netty_message_merge_cumulator", BOOL, false)
             .build();
 
+    @Internal
+    @Description("Permit clients to negotiate Zstandard compression of the messages sent to them through the \"zstd\" "
+            + "protocol feature. Compression trades processing time on both peers for reduced network traffic.")
+    public static final Setting<Boolean> compression_enabled =
+            newBuilder("internal.server.bolt.compression_enabled", BOOL, false).build();
+
+    @Internal
+    @Description("The minimum number of bytes which need to be flushed to a client at once in order to be compressed. "
+            + "Smaller writes are transmitted uncompressed as they generally do not benefit from compression.")
+    public static final Setting<Long> compression_threshold = newBuilder(
+                    "internal.server.bolt.compression_threshold", BYTES, kibiBytes(1))
+            .addConstraint(min(0L))
+            .build();
+
+    @Internal
+    @Description("The Zstandard compression level applied to messages sent to clients which have negotiated "
+            + "compression. Higher levels reduce network traffic further at the cost of additional processing time.")
+    public static final Setting<Integer> compression_level = newBuilder(
+                    "internal.server.bolt.compression_level", INT, 3)
+            .addConstraint(range(1, 22))
+            .build();
+
     @Internal
     @Description("Enable/disable generation of response metrics")
     public static final Setting<Boolean> enable_response_metrics =
@@ -209,10 +239,21 @@ public final class BoltConnectorInternalSettings implements SettingsDeclaration
 
     @Internal
     @Description("Specifies the minimum number of bytes which need to be written in order to flush the local network"
-            + "pipelines thus making prior written records visible to clients.")
+            + "pipelines thus making prior written records visible to clients. When set to -1, records are flushed "
+            + "once they fill the send buffer of the connection's socket.")
     public static final Setting<Integer> streaming_flush_threshold = newBuilder(
                     "internal.dbms.bolt.streaming_flush_threshold", INT, 8192)
-            .addConstraint(any(is(0), min(128)))
+            .addConstraint(any(is(-1), is(0), min(128)))
+            .build();
+
+    @Internal
+    @Description("Specifies the maximum number of bytes worth of records which may be produced ahead of time for a "
+            + "statement while the client is still receiving the previous batch of results. Prefetching adapts to "
+            + "the rate at which the client consumes results and pauses while the connection is backed up. When set "
+            + "to 0, records are only produced while a PULL request is being processed.")
+    public static final Setting<Long> streaming_prefetch_size = newBuilder(
+                    "internal.dbms.bolt.streaming_prefetch_size", BYTES, 0L)
+            .addConstraint(min(0L))
             .build();
 
     @Internal
@@ -552,6 +552,7 @@ public class ConsistencyCheckService {
                         databaseLayout,
                         recoveryCleanupWorkCollector,
                         true,
+                        logProvider,
                         contextFactory,
                         pageCacheTracer,
                         openOptions);
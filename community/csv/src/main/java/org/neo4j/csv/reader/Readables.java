@@ -22,8 +22,10 @@ package org.neo4j.csv.reader;
 import static org.neo4j.csv.reader.BufferedCharSeeker.isEolChar;
 import static org.neo4j.csv.reader.CharReadable.EMPTY;
 
+import com.github.luben.zstd.ZstdInputStream;
 import java.io.BufferedInputStream;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -57,7 +59,10 @@ import org.neo4j.function.ThrowingFunction;
  * set by the tool that created the ZIP archive. Therefore only single-file-zip files are supported.
  * The single file in the given ZIP archive will be decompressed on the fly, while reading.</li>
  * <li>GZIP: is only a compression format and so will be decompressed on the fly, while reading.</li>
+ * <li>ZSTD: like GZIP, Zstandard is only a compression format and will be decompressed on the fly, while reading.</li>
  * </ol>
+ * GZIP and ZSTD compressed data is also decompressed on the fly when {@link #wrap(InputStream, String, Charset, long,
+ * boolean) wrapping an InputStream}, if asked to.
  */
 public class Readables {
     private Readables() {
@@ -81,6 +86,23 @@ public class Readables {
      */
     public static CharReadable wrap(final InputStream stream, final String sourceName, Charset charset, long length)
             throws IOException {
+        return wrap(stream, sourceName, charset, length, false);
+    }
+
+    /**
+     * Wraps a {@link InputStream} in a {@link CharReadable}.
+     *
+     * @param stream {@link Reader} to wrap.
+     * @param sourceName name or description of the source of the stream.
+     * @param charset {@link Charset} to use for reading.
+     * @param length total number of bytes provided by the reader.
+     * @param decompress whether GZIP and ZSTD compressed data should be decompressed on the fly.
+     * @return a {@link CharReadable} for the {@link Reader}.
+     * @throws IOException on I/O error.
+     */
+    public static CharReadable wrap(
+            final InputStream stream, final String sourceName, Charset charset, long length, boolean decompress)
+            throws IOException {
         byte[] bytes = new byte[Magic.longest()];
         PushbackInputStream pushbackStream = new PushbackInputStream(stream, bytes.length);
         Charset usedCharset = charset;
@@ -95,6 +117,12 @@ public class Readables {
                 usedCharset = magic.encoding();
             }
             pushbackStream.unread(bytes, read - excessiveBytes, excessiveBytes);
+            if (decompress && magic == Magic.GZIP) {
+                // The decompressed data may in turn start with a BOM
+                return wrap(new GZIPInputStream(pushbackStream), sourceName, charset, length, false);
+            } else if (decompress && magic == Magic.ZSTD) {
+                return wrap(Zstd.decompress(pushbackStream), sourceName, charset, length, false);
+            }
         }
         return wrap(
                 new InputStreamReader(pushbackStream, usedCharset) {
@@ -149,6 +177,8 @@ public class Readables {
                         : zipReadable(input, charset);
             } else if (input.magic() == Magic.GZIP) {
                 return gzipReadable(input, charset);
+            } else if (input.magic() == Magic.ZSTD) {
+                return zstdReadable(input, charset);
             } else {
                 return readableWithEncoding(input, charset);
             }
@@ -229,6 +259,68 @@ public class Readables {
         };
     }
 
+    private static CharReadable zstdReadable(MagicInputStream input, Charset charset) throws IOException {
+        final var path = input.path();
+        // Like GZIP, Zstandard is only a compression format and the decompressed size isn't known up front.
+        // The compression ratio is estimated from how much of the compressed file has been consumed so far.
+        CountingInputStream compressed = new CountingInputStream(input);
+        InputStreamReader reader = new InputStreamReader(Zstd.decompress(compressed), charset) {
+            @Override
+            public String toString() {
+                return path.toAbsolutePath().toString();
+            }
+        };
+        return new WrappedCharReadable(
+                Files.size(path), reader, path.toAbsolutePath().toString()) {
+            @Override
+            public float compressionRatio() {
+                return (float) ((double) compressed.count / position());
+            }
+        };
+    }
+
+    /**
+     * Keeps zstd-jni, which is an optional dependency, from being loaded before Zstandard input is actually seen.
+     */
+    private static final class Zstd {
+        static InputStream decompress(InputStream compressed) throws IOException {
+            return new ZstdInputStream(compressed);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read != -1) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
     private static CharReadable readableWithEncoding(MagicInputStream input, Charset defaultCharset)
             throws IOException {
         final var magic = input.magic();
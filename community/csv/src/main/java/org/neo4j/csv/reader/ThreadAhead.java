@@ -50,6 +50,8 @@ public abstract class ThreadAhead extends Thread implements Closeable {
     @Override
     public void close() throws IOException {
         closed = true;
+        // don't let the read-ahead thread park a full round before noticing
+        LockSupport.unpark(this);
         try {
             join();
         } catch (InterruptedException e) {
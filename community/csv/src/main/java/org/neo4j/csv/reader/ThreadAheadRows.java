@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Reads rows of values from a {@link CharSeeker} in jobs on an {@link Executor}, so when a consumer wants the
+ * {@link #next()} row it has already been parsed and extracted. Rows are read ahead in batches, one batch is consumed
+ * while a job fills the other, and the two batch arrays are reused for the whole input. A job is only scheduled when
+ * a batch has been handed over to the consumer, so no thread is kept waiting for the consumer.
+ * <p>
+ * Empty fields are returned as {@link Values#NO_VALUE}. A failure in a read-ahead job is thrown from
+ * {@link #next()} after all rows read before the failure have been returned.
+ */
+public class ThreadAheadRows implements Closeable {
+    private final CharSeeker seeker;
+    private final Extractor<Value> extractor;
+    private final int delimiter;
+    private final Executor executor;
+    private final Mark mark = new Mark();
+
+    private Value[][] batch;
+    private int batchLength;
+    private int cursor;
+    private boolean lastBatch;
+    private Exception batchFailure;
+    private CompletableFuture<Void> readAhead;
+    private volatile boolean closed;
+
+    // the variables below are changed in the read-ahead job and read by the caller,
+    // but don't have to be volatile since they piggy-back off of the completion of readAhead.
+    private Value[][] theOtherBatch;
+    private int theOtherBatchLength;
+    private boolean theOtherBatchIsLast;
+    private Exception failure;
+    private int previousWidth = 1;
+
+    private ThreadAheadRows(
+            CharSeeker seeker, Extractor<Value> extractor, int delimiter, int batchSize, Executor executor) {
+        this.seeker = seeker;
+        this.extractor = extractor;
+        this.delimiter = delimiter;
+        this.executor = executor;
+        this.batch = new Value[batchSize][];
+        this.theOtherBatch = new Value[batchSize][];
+    }
+
+    /**
+     * @return the next row, or {@code null} if there are no more rows.
+     * @throws IOException on I/O error in the read-ahead job.
+     */
+    public Value[] next() throws IOException {
+        if (cursor == batchLength) {
+            if (batchFailure != null) {
+                Exception e = batchFailure;
+                batchFailure = null;
+                if (e instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw (RuntimeException) e;
+            }
+            if (lastBatch) {
+                return null;
+            }
+            waitUntilReadAhead();
+
+            // flip the batches
+            Value[][] resultBatch = theOtherBatch;
+            theOtherBatch = batch;
+            batch = resultBatch;
+            batchLength = theOtherBatchLength;
+            lastBatch = theOtherBatchIsLast;
+            batchFailure = failure;
+            cursor = 0;
+
+            if (!lastBatch) {
+                scheduleReadAhead();
+            }
+            if (batchLength == 0) {
+                return next();
+            }
+        }
+        Value[] row = batch[cursor];
+        batch[cursor++] = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            // the seeker must not be closed while a job is still reading from it
+            waitUntilReadAhead();
+        } finally {
+            seeker.close();
+        }
+    }
+
+    private void scheduleReadAhead() {
+        readAhead = CompletableFuture.runAsync(this::readAhead, executor);
+    }
+
+    private void waitUntilReadAhead() throws IOException {
+        if (readAhead == null) {
+            return;
+        }
+        try {
+            readAhead.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rows to be read ahead");
+        } catch (ExecutionException e) {
+            // readAhead catches the failures of reading, so this is something unexpected
+            throw new IOException("Error occurred in read-ahead job", e.getCause());
+        } finally {
+            readAhead = null;
+        }
+    }
+
+    private void readAhead() {
+        int length = 0;
+        boolean last = false;
+        try {
+            while (length < theOtherBatch.length && !closed) {
+                Value[] row = readRow();
+                if (row == null) {
+                    last = true;
+                    break;
+                }
+                theOtherBatch[length++] = row;
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            last = true;
+        }
+        theOtherBatchLength = length;
+        theOtherBatchIsLast = last || closed;
+    }
+
+    private Value[] readRow() throws IOException {
+        // Rows are handed out to the consumer, so each row needs its own array. Most inputs have the same
+        // number of fields on every row, so the array is sized after the previous row to avoid growing it.
+        Value[] row = new Value[previousWidth];
+        int width = 0;
+        while (seeker.seek(mark, delimiter)) {
+            Value value = seeker.tryExtract(mark, extractor);
+            if (width == row.length) {
+                row = Arrays.copyOf(row, width * 2);
+            }
+            row[width++] = extractor.isEmpty(value) ? Values.NO_VALUE : value;
+            if (mark.isEndOfLine()) {
+                break;
+            }
+        }
+        if (width == 0) {
+            return null;
+        }
+        previousWidth = width;
+        return width == row.length ? row : Arrays.copyOf(row, width);
+    }
+
+    /**
+     * Starts reading rows ahead of the consumer.
+     *
+     * @param executor runs the jobs that read ahead, one job per batch.
+     */
+    public static ThreadAheadRows threadAhead(
+            CharSeeker seeker, Extractor<Value> extractor, char delimiter, int batchSize, Executor executor) {
+        ThreadAheadRows threadAheadRows = new ThreadAheadRows(seeker, extractor, delimiter, batchSize, executor);
+        threadAheadRows.scheduleReadAhead();
+        return threadAheadRows;
+    }
+}
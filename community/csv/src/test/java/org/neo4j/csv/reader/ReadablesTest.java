@@ -29,6 +29,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.github.luben.zstd.ZstdOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -91,6 +92,47 @@ class ReadablesTest {
         assertReadText(compressed, text, readMethod);
     }
 
+    @ParameterizedTest(name = "read method {index}")
+    @MethodSource("parameters")
+    void shouldReadTextCompressedInZstdFile(ReadMethod readMethod) throws Exception {
+        // GIVEN
+        String text = "abcdefghijlkmnopqrstuvxyz";
+
+        // WHEN
+        Path compressed = compressWithZstd(text);
+
+        // THEN
+        assertReadText(compressed, text, readMethod);
+    }
+
+    @ParameterizedTest(name = "read method {index}")
+    @MethodSource("parameters")
+    void shouldReadCompressedTextFromWrappedInputStream(ReadMethod readMethod) throws Exception {
+        // GIVEN
+        String text = "abcdefghijlkmnopqrstuvxyz";
+
+        // WHEN/THEN
+        assertReadTextAsInputStream(compressWithGZip(text), text, readMethod);
+        assertReadTextAsInputStream(compressWithZstd(text), text, readMethod);
+    }
+
+    @Test
+    void shouldNotDecompressWrappedInputStreamUnlessAskedTo() throws Exception {
+        // GIVEN
+        String text = "abcdefghijlkmnopqrstuvxyz";
+        Path compressed = compressWithGZip(text);
+
+        // WHEN
+        char[] readText = new char[text.length()];
+        try (InputStream stream = Files.newInputStream(compressed)) {
+            Readables.wrap(stream, compressed.toString(), Charset.defaultCharset(), Files.size(compressed))
+                    .read(readText, 0, readText.length);
+        }
+
+        // THEN
+        assertThat(readText).isNotEqualTo(text.toCharArray());
+    }
+
     @ParameterizedTest(name = "read method {index}")
     @MethodSource("parameters")
     void shouldReadPlainTextFile(ReadMethod readMethod) throws Exception {
@@ -353,6 +395,14 @@ class ReadablesTest {
         return file;
     }
 
+    private Path compressWithZstd(String text) throws IOException {
+        Path file = directory.file("compressed.zst");
+        try (ZstdOutputStream out = new ZstdOutputStream(Files.newOutputStream(file))) {
+            out.write(text.getBytes());
+        }
+        return file;
+    }
+
     private static void assertReadText(Path file, String text, ReadMethod readMethod) throws IOException {
         assertReadText(Readables.files(Charset.defaultCharset(), file), text, readMethod);
     }
@@ -360,7 +410,7 @@ class ReadablesTest {
     private static void assertReadTextAsInputStream(Path file, String text, ReadMethod readMethod) throws IOException {
         try (InputStream stream = Files.newInputStream(file)) {
             assertReadText(
-                    Readables.wrap(stream, file.toString(), Charset.defaultCharset(), Files.size(file)),
+                    Readables.wrap(stream, file.toString(), Charset.defaultCharset(), Files.size(file), true),
                     text,
                     readMethod);
         }
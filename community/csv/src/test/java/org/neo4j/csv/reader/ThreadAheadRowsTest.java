@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.csv.reader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.csv.reader.Readables.wrap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+class ThreadAheadRowsTest {
+    private static final Configuration CONFIG = Configuration.newBuilder()
+            .withBufferSize(100)
+            .withEmptyQuotedStringsAsNull(true)
+            .build();
+    private static final Extractor<Value> EXTRACTOR = new Extractors(',').textValue();
+    private static final Executor EXECUTOR = ForkJoinPool.commonPool();
+
+    @Test
+    void shouldReadAllRowsInBatches() throws Exception {
+        // GIVEN
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            data.append(i).append(",row").append(i).append('\n');
+        }
+
+        // WHEN
+        List<Value[]> rows = readAll(data.toString(), 3);
+
+        // THEN
+        assertThat(rows).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(rows.get(i)).containsExactly(Values.stringValue("" + i), Values.stringValue("row" + i));
+        }
+    }
+
+    @Test
+    void shouldReadRowsOfDifferentWidths() throws Exception {
+        // WHEN
+        List<Value[]> rows = readAll("a\nb,c,d\n,e\n", 2);
+
+        // THEN
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).containsExactly(Values.stringValue("a"));
+        assertThat(rows.get(1))
+                .containsExactly(Values.stringValue("b"), Values.stringValue("c"), Values.stringValue("d"));
+        assertThat(rows.get(2)).containsExactly(Values.NO_VALUE, Values.stringValue("e"));
+    }
+
+    @Test
+    void shouldHandleEmptyData() throws Exception {
+        assertThat(readAll("", 4)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnRowsBeforeFailure() throws Exception {
+        // GIVEN
+        CharSeeker seeker = CharSeekers.charSeeker(wrap("a\nb\n\"c\"d\n"), CONFIG, false);
+        try (ThreadAheadRows rows = ThreadAheadRows.threadAhead(seeker, EXTRACTOR, ',', 10, EXECUTOR)) {
+            // WHEN/THEN
+            assertThat(rows.next()).containsExactly(Values.stringValue("a"));
+            assertThat(rows.next()).containsExactly(Values.stringValue("b"));
+            assertThrows(DataAfterQuoteException.class, rows::next);
+        }
+    }
+
+    @Test
+    void shouldScheduleOneJobPerBatch() throws Exception {
+        // GIVEN
+        AtomicInteger jobs = new AtomicInteger();
+        Executor executor = job -> {
+            jobs.incrementAndGet();
+            EXECUTOR.execute(job);
+        };
+
+        // WHEN
+        List<Value[]> rows = readAll("a\nb\nc\nd\ne\n", 2, executor);
+
+        // THEN
+        assertThat(rows).hasSize(5);
+        assertThat(jobs.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStopReadingAheadWhenClosed() throws Exception {
+        // GIVEN
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            data.append(i).append('\n');
+        }
+        AtomicInteger jobs = new AtomicInteger();
+        CharSeeker seeker = CharSeekers.charSeeker(wrap(data.toString()), CONFIG, false);
+
+        // WHEN
+        try (ThreadAheadRows rows = ThreadAheadRows.threadAhead(seeker, EXTRACTOR, ',', 10, job -> {
+            jobs.incrementAndGet();
+            EXECUTOR.execute(job);
+        })) {
+            assertThat(rows.next()).containsExactly(Values.stringValue("0"));
+        }
+
+        // THEN
+        assertThat(jobs.get()).isEqualTo(2);
+    }
+
+    private static List<Value[]> readAll(String data, int batchSize) throws Exception {
+        return readAll(data, batchSize, EXECUTOR);
+    }
+
+    private static List<Value[]> readAll(String data, int batchSize, Executor executor) throws Exception {
+        CharSeeker seeker = CharSeekers.charSeeker(wrap(data), CONFIG, false);
+        List<Value[]> result = new ArrayList<>();
+        try (ThreadAheadRows rows = ThreadAheadRows.threadAhead(seeker, EXTRACTOR, ',', batchSize, executor)) {
+            Value[] row;
+            while ((row = rows.next()) != null) {
+                result.add(row);
+            }
+            // and it stays exhausted
+            assertThat(rows.next()).isNull();
+        }
+        return result;
+    }
+}
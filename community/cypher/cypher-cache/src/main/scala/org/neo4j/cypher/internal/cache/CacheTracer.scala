@@ -58,6 +58,12 @@ trait CacheTracer[KEY] {
   def cacheStale(key: KEY, secondsSinceCompute: Int, metaData: String, maybeReason: Option[String]): Unit =
     ()
 
+  /**
+   * A stale item was replaced with a value that was computed in the background, while the stale item was served.
+   * @param computeMillis how long the compute took.
+   */
+  def computeInBackground(key: KEY, computeMillis: Long, metaData: String): Unit = ()
+
   /**
    * The query cache was flushed.
    */
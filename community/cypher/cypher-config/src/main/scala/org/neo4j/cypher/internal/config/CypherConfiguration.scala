@@ -36,6 +36,8 @@ import org.neo4j.cypher.internal.options.LabelInferenceOption
 import org.neo4j.graphdb.config.Setting
 
 import java.io.File
+import java.nio.file.Path
+import java.time.Duration
 
 import scala.jdk.CollectionConverters.SetHasAsScala
 
@@ -72,6 +74,24 @@ class CypherConfiguration private (val config: Config) {
   val softQueryCacheEnabled: Boolean =
     config.get(GraphDatabaseInternalSettings.cypher_soft_cache_enabled).booleanValue()
 
+  val persistQueryCache: Boolean =
+    config.get(GraphDatabaseInternalSettings.cypher_persist_query_cache).booleanValue()
+
+  val persistQueryCacheDirectory: Path =
+    config.get(GraphDatabaseInternalSettings.cypher_persist_query_cache_directory)
+
+  val persistQueryCacheInterval: Duration =
+    config.get(GraphDatabaseInternalSettings.cypher_persist_query_cache_interval)
+
+  val replanInBackground: Boolean =
+    config.get(GraphDatabaseInternalSettings.cypher_replan_in_background).booleanValue()
+
+  val cardinalityFeedbackEnabled: Boolean =
+    config.get(GraphDatabaseInternalSettings.cypher_cardinality_feedback_enabled).booleanValue()
+
+  val cardinalityFeedbackThreshold: Double =
+    config.get(GraphDatabaseInternalSettings.cypher_cardinality_feedback_threshold).doubleValue()
+
   val queryCacheStrongSize: ObservableSetting[Integer] =
     new ObservableSetting[Integer](config, GraphDatabaseInternalSettings.query_cache_strong_size)
 
@@ -143,6 +163,9 @@ class CypherConfiguration private (val config: Config) {
   val planningIntersectionScansEnabled: Boolean =
     config.get(GraphDatabaseInternalSettings.planning_intersection_scans_enabled)
 
+  val planningValueHistogramsEnabled: Boolean =
+    config.get(GraphDatabaseInternalSettings.planning_value_histograms_enabled)
+
   val eagerAnalyzer: CypherEagerAnalyzerOption = CypherEagerAnalyzerOption.fromConfig(config)
 
   val varExpandRelationshipIdSetThreshold: Integer =
@@ -157,6 +180,18 @@ class CypherConfiguration private (val config: Config) {
   val freeMemoryOfUnusedColumns: Boolean =
     config.get(GraphDatabaseInternalSettings.cypher_free_memory_of_unused_columns)
 
+  val slottedPartitionedScanParallelism: Int =
+    config.get(GraphDatabaseInternalSettings.cypher_slotted_partitioned_scan_parallelism)
+
+  val slottedShortestPathParallelism: Int =
+    config.get(GraphDatabaseInternalSettings.cypher_slotted_shortest_path_parallelism)
+
+  val slottedBatchSize: Int =
+    config.get(GraphDatabaseInternalSettings.cypher_slotted_batch_size)
+
+  val slottedCompiledPredicatesEnabled: Boolean =
+    config.get(GraphDatabaseInternalSettings.cypher_slotted_compiled_predicates_enabled)
+
   val lpEagerFallbackEnabled: Boolean =
     config.get(GraphDatabaseInternalSettings.cypher_lp_eager_analysis_fallback_enabled)
 
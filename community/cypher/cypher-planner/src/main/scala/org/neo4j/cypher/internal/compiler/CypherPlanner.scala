@@ -275,5 +275,7 @@ class CypherPlannerConfiguration(
 
   val lpEagerFallbackEnabled: Boolean = config.lpEagerFallbackEnabled
 
+  val planningValueHistogramsEnabled: Boolean = config.planningValueHistogramsEnabled
+
   val propertyCachingMode: PropertyCachingMode = config.propertyCachingMode
 }
@@ -202,7 +202,8 @@ object PlannerContext {
     internalNotificationStats: InternalNotificationStats,
     internalSyntaxUsageStats: InternalSyntaxUsageStats,
     targetsComposite: Boolean,
-    sessionDatabaseName: String
+    sessionDatabaseName: String,
+    parameterValues: () => MapValue = () => MapValue.EMPTY
   ): PlannerContext = {
     val exceptionFactory = Neo4jCypherExceptionFactory(queryText, offset)
 
@@ -212,7 +213,8 @@ object PlannerContext {
       planContext,
       evaluator,
       executionModel,
-      labelInferenceStrategy
+      labelInferenceStrategy,
+      Option.when(config.planningValueHistogramsEnabled)(parameterValues)
     )
 
     new PlannerContext(
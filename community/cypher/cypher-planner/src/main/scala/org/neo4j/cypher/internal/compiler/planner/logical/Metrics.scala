@@ -55,6 +55,7 @@ import org.neo4j.cypher.internal.util.CypherException
 import org.neo4j.cypher.internal.util.Selectivity
 import org.neo4j.cypher.internal.util.helpers.MapSupport.PowerMap
 import org.neo4j.values.storable.NumberValue
+import org.neo4j.values.virtual.MapValue
 
 object Metrics {
 
@@ -275,16 +276,20 @@ trait MetricsFactory {
     labelInferenceStrategy: LabelInferenceStrategy
   ): QueryGraphCardinalityModel
 
-  def newSelectivityCalculator(planContext: PlanContext): SelectivityCalculator =
-    CompositeExpressionSelectivityCalculator(planContext)
+  def newSelectivityCalculator(
+    planContext: PlanContext,
+    parameterValues: Option[() => MapValue] = None
+  ): SelectivityCalculator =
+    CompositeExpressionSelectivityCalculator(planContext, parameterValues)
 
   def newMetrics(
     planContext: PlanContext,
     expressionEvaluator: ExpressionEvaluator,
     executionModel: ExecutionModel,
-    labelInferenceStrategy: LabelInferenceStrategy = LabelInferenceStrategy.NoInference
+    labelInferenceStrategy: LabelInferenceStrategy = LabelInferenceStrategy.NoInference,
+    parameterValues: Option[() => MapValue] = None
   ): Metrics = {
-    val selectivityCalculator = newSelectivityCalculator(planContext)
+    val selectivityCalculator = newSelectivityCalculator(planContext, parameterValues)
     val queryGraphCardinalityModel =
       newQueryGraphCardinalityModel(planContext, selectivityCalculator, labelInferenceStrategy)
     val cardinality = newCardinalityEstimator(queryGraphCardinalityModel, selectivityCalculator, expressionEvaluator)
@@ -67,6 +67,7 @@ import org.neo4j.cypher.internal.util.Foldable.FoldableAny
 import org.neo4j.cypher.internal.util.InputPosition
 import org.neo4j.cypher.internal.util.Selectivity
 import org.neo4j.internal.schema.constraints.SchemaValueType
+import org.neo4j.values.virtual.MapValue
 
 import scala.annotation.tailrec
 
@@ -87,13 +88,18 @@ import scala.annotation.tailrec
  *   -> uniqueValueSelectivity(propX) = uniqueValueSelectivity(index) &#94; (1 / index.properties.size)
  *
  * @see #selectivityForCompositeIndexPredicates(SelectivitiesForPredicates, SelectivityCombiner)
+ *
+ * @param parameterValues see [[ExpressionSelectivityCalculator]]
  */
-case class CompositeExpressionSelectivityCalculator(planContext: PlanContext) extends SelectivityCalculator {
+case class CompositeExpressionSelectivityCalculator(
+  planContext: PlanContext,
+  parameterValues: Option[() => MapValue] = None
+) extends SelectivityCalculator {
 
   private val combiner: SelectivityCombiner = IndependenceCombiner
 
   private val singleExpressionSelectivityCalculator: ExpressionSelectivityCalculator =
-    ExpressionSelectivityCalculator(planContext.statistics, combiner)
+    ExpressionSelectivityCalculator(planContext.statistics, combiner, parameterValues)
 
   private val nodeIndexMatchCache =
     CachedFunction[QueryGraph, SemanticTable, IndexCompatiblePredicatesProviderContext, Set[IndexMatch]] {
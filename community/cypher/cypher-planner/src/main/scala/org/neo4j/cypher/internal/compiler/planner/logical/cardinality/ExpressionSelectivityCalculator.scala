@@ -59,6 +59,7 @@ import org.neo4j.cypher.internal.compiler.planner.logical.steps.index.IndexCompa
 import org.neo4j.cypher.internal.expressions.AssertIsNode
 import org.neo4j.cypher.internal.expressions.Contains
 import org.neo4j.cypher.internal.expressions.DifferentRelationships
+import org.neo4j.cypher.internal.expressions.DoubleLiteral
 import org.neo4j.cypher.internal.expressions.ElementTypeName
 import org.neo4j.cypher.internal.expressions.EndsWith
 import org.neo4j.cypher.internal.expressions.Equals
@@ -67,10 +68,12 @@ import org.neo4j.cypher.internal.expressions.False
 import org.neo4j.cypher.internal.expressions.GreaterThan
 import org.neo4j.cypher.internal.expressions.GreaterThanOrEqual
 import org.neo4j.cypher.internal.expressions.HasLabels
+import org.neo4j.cypher.internal.expressions.IntegerLiteral
 import org.neo4j.cypher.internal.expressions.IsRepeatTrailUnique
 import org.neo4j.cypher.internal.expressions.LabelName
 import org.neo4j.cypher.internal.expressions.LessThan
 import org.neo4j.cypher.internal.expressions.LessThanOrEqual
+import org.neo4j.cypher.internal.expressions.ListLiteral
 import org.neo4j.cypher.internal.expressions.LogicalProperty
 import org.neo4j.cypher.internal.expressions.LogicalVariable
 import org.neo4j.cypher.internal.expressions.NoneOfRelationships
@@ -90,11 +93,16 @@ import org.neo4j.cypher.internal.expressions.VarLengthBound
 import org.neo4j.cypher.internal.expressions.Variable
 import org.neo4j.cypher.internal.ir.ast.ExistsIRExpression
 import org.neo4j.cypher.internal.ir.ast.ForAllRepetitions
+import org.neo4j.cypher.internal.logical.plans.ManySeekableArgs
 import org.neo4j.cypher.internal.logical.plans.PrefixRange
+import org.neo4j.cypher.internal.logical.plans.SeekableArgs
+import org.neo4j.cypher.internal.logical.plans.SingleSeekableArg
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.EntityType
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.IndexType
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution.Bound
 import org.neo4j.cypher.internal.planner.spi.PropertyTypeMapper
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
@@ -111,8 +119,25 @@ import org.neo4j.cypher.internal.util.symbols.PointType
 import org.neo4j.cypher.internal.util.symbols.StringType
 import org.neo4j.internal.helpers.MathUtil.Erf.erf
 import org.neo4j.internal.schema.constraints.SchemaValueType
-
-case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: SelectivityCombiner) {
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.ListValue
+import org.neo4j.values.virtual.MapValue
+
+import scala.jdk.CollectionConverters.IterableHasAsScala
+
+/**
+ * @param parameterValues the values of the parameters of the query, if selectivities should be estimated from the
+ *                        distribution of the values in indexes. The values of auto-extracted parameters are only known
+ *                        once the query has been normalized, which is why they are provided by a function.
+ */
+case class ExpressionSelectivityCalculator(
+  stats: GraphStatistics,
+  combiner: SelectivityCombiner,
+  parameterValues: Option[() => MapValue] = None
+) {
 
   /**
    * Index type priority to be used to calculate selectivities of exists predicates, given that a substring predicate is used.
@@ -177,7 +202,7 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
       calculateSelectivityForPropertyEquality(
         seekable.ident,
         seekable.propertyValueType(semanticTable),
-        seekable.args.sizeHint,
+        seekable.args,
         labelInfo,
         relTypeInfo,
         seekable.propertyKey,
@@ -434,30 +459,36 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     propertyKey: PropertyKeyName,
     indexTypesPriorityOrder: Seq[IndexType]
   )(implicit semanticTable: SemanticTable): Seq[(Selectivity, IndexType)] = {
-    val labels = labelInfo.getOrElse(variable, Set.empty)
-    val relTypes = relTypeInfo.get(variable)
+    entityTypeAndPropertyIds(variable, labelInfo, relTypeInfo, propertyKey).flatMap {
+      case (entityTypeId, propertyKeyId) =>
+        val selectivitiesInIndexPriorityOrder = for {
+          indexType <- indexTypesPriorityOrder
+          selectivity <- indexPropertyIsNotNullSelectivity(indexType, entityTypeId, propertyKeyId)
+        } yield (selectivity, indexType)
 
-    val entityTypeAndPropertyIds: Seq[(NameId, PropertyKeyId)] = {
-      labels.toIndexedSeq.flatMap { (labelName: LabelName) =>
-        for {
-          labelId <- semanticTable.id(labelName)
-          propId <- semanticTable.id(propertyKey)
-        } yield (labelId, propId)
-      } ++ relTypes.toIndexedSeq.flatMap { (relTypeName: RelTypeName) =>
-        for {
-          relTypeId <- semanticTable.id(relTypeName)
-          propId <- semanticTable.id(propertyKey)
-        } yield (relTypeId, propId)
-      }
+        selectivitiesInIndexPriorityOrder.headOption
     }
+  }
 
-    entityTypeAndPropertyIds.flatMap { case (entityTypeId, propertyKeyId) =>
-      val selectivitiesInIndexPriorityOrder = for {
-        indexType <- indexTypesPriorityOrder
-        selectivity <- indexPropertyIsNotNullSelectivity(indexType, entityTypeId, propertyKeyId)
-      } yield (selectivity, indexType)
+  private def entityTypeAndPropertyIds(
+    variable: LogicalVariable,
+    labelInfo: LabelInfo,
+    relTypeInfo: RelTypeInfo,
+    propertyKey: PropertyKeyName
+  )(implicit semanticTable: SemanticTable): Seq[(NameId, PropertyKeyId)] = {
+    val labels = labelInfo.getOrElse(variable, Set.empty)
+    val relTypes = relTypeInfo.get(variable)
 
-      selectivitiesInIndexPriorityOrder.headOption
+    labels.toIndexedSeq.flatMap { (labelName: LabelName) =>
+      for {
+        labelId <- semanticTable.id(labelName)
+        propId <- semanticTable.id(propertyKey)
+      } yield (labelId, propId)
+    } ++ relTypes.toIndexedSeq.flatMap { (relTypeName: RelTypeName) =>
+      for {
+        relTypeId <- semanticTable.id(relTypeName)
+        propId <- semanticTable.id(propertyKey)
+      } yield (relTypeId, propId)
     }
   }
 
@@ -482,7 +513,7 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
   private def calculateSelectivityForPropertyEquality(
     variable: LogicalVariable,
     cypherType: CypherType,
-    sizeHint: Option[Int],
+    args: SeekableArgs,
     labelInfo: LabelInfo,
     relTypeInfo: RelTypeInfo,
     propertyKey: PropertyKeyName,
@@ -501,7 +532,7 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
 
     def indexSelectivity: Selectivity = {
       val indexTypesToConsider = indexTypesForPropertyEquality(cypherType)
-      indexSelectivityWithSizeHint(sizeHint) { size =>
+      indexSelectivityWithSizeHint(args.sizeHint) { size =>
         val labels = labelInfo.getOrElse(variable, Set.empty)
         val relTypes = relTypeInfo.get(variable)
         val indexSelectivities = (labels ++ relTypes).toIndexedSeq.flatMap { name =>
@@ -516,7 +547,10 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
             case _ => Seq.empty
           }
 
-          descriptors.flatMap(indexSelectivityForPropertyEquality(_, size)).headOption
+          descriptors.flatMap { descriptor =>
+            equalitySelectivityFromValueDistribution(descriptor, args)
+              .orElse(indexSelectivityForPropertyEquality(descriptor, size))
+          }.headOption
         }
 
         combiner.orTogetherSelectivities(indexSelectivities)
@@ -539,6 +573,26 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
       combiner
     )
 
+  /**
+   * Estimates the selectivity of equality to known values from the distribution of the values in the index. Values
+   * that are not part of the distribution are assumed to be as common as the average value.
+   */
+  private def equalitySelectivityFromValueDistribution(
+    descriptor: IndexDescriptor,
+    args: SeekableArgs
+  ): Option[Selectivity] =
+    for {
+      distribution <- valueDistribution(descriptor)
+      values <- knownValues(args)
+      propExists <- stats.indexPropertyIsNotNullSelectivity(descriptor)
+      propEqualsSingleValue <- stats.uniqueValueSelectivity(descriptor)
+      valueSelectivities = values.distinct.map { value =>
+        distribution.equalitySelectivity(value).filter(_ > Selectivity.ZERO).getOrElse(propEqualsSingleValue)
+      }
+      propEqualsAnyValue <- combiner.orTogetherSelectivities(valueSelectivities)
+      combinedSelectivity <- combiner.andTogetherSelectivities(Seq(propExists, propEqualsAnyValue))
+    } yield combinedSelectivity
+
   private def calculateSelectivityForValueRangeSeekable(
     seekable: InequalityRangeSeekable,
     labelInfo: LabelInfo,
@@ -572,7 +626,9 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
           propertyExistsSelectivity <- stats.indexPropertyIsNotNullSelectivity(descriptor)
           propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
         } yield {
-          val pRangeBounded: Selectivity = getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity)
+          val pRangeBounded: Selectivity =
+            rangeSelectivityFromValueDistribution(seekable, descriptor, propEqValueSelectivity)
+              .getOrElse(getPropertyPredicateRangeSelectivity(seekable, propEqValueSelectivity))
           pRangeBounded * propertyExistsSelectivity
         }
         selectivities.headOption
@@ -583,6 +639,47 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
     combiner.orTogetherSelectivities(indexRangeSelectivities).getOrElse(default)
   }
 
+  /**
+   * Estimates the seekable predicate's selectivity from the distribution of the values in the index, assuming
+   * existence of the predicate's property. Only possible if the values of all bounds are known.
+   *
+   * @param propEqValueSelectivity selectivity for equality on that property, which is used as the lowest selectivity
+   */
+  private def rangeSelectivityFromValueDistribution(
+    seekable: InequalityRangeSeekable,
+    descriptor: IndexDescriptor,
+    propEqValueSelectivity: Selectivity
+  ): Option[Selectivity] = {
+    val inequalities = seekable.expr.inequalities.toIndexedSeq
+    for {
+      distribution <- valueDistribution(descriptor)
+      values <- knownValues(inequalities.map(_.rhs))
+      if values.map(_.valueGroup()).distinct.size == 1
+      (lowerBounds, upperBounds) = inequalities.zip(values).partitionMap {
+        case (_: GreaterThan, value)        => Left(Bound(value, inclusive = false))
+        case (_: GreaterThanOrEqual, value) => Left(Bound(value, inclusive = true))
+        case (_: LessThan, value)           => Right(Bound(value, inclusive = false))
+        case (_: LessThanOrEqual, value)    => Right(Bound(value, inclusive = true))
+      }
+      pRange <- distribution.rangeSelectivity(
+        tightestBound(lowerBounds, lower = true),
+        tightestBound(upperBounds, lower = false)
+      )
+    } yield Selectivity(math.max(propEqValueSelectivity.factor, pRange.factor))
+  }
+
+  private def tightestBound(bounds: Seq[Bound], lower: Boolean): Option[Bound] =
+    bounds.reduceOption { (a, b) =>
+      val comparison = Values.COMPARATOR.compare(a.value, b.value)
+      if (comparison == 0) {
+        if (a.inclusive) b else a
+      } else if ((comparison > 0) == lower) {
+        a
+      } else {
+        b
+      }
+    }
+
   private def calculateSelectivityForPointDistanceSeekable(
     seekable: PointDistanceSeekable,
     labelInfo: LabelInfo,
@@ -681,12 +778,84 @@ case class ExpressionSelectivityCalculator(stats: GraphStatistics, combiner: Sel
         indexTypesPriorityForSubstringSargable
       )
 
-    val indexSubstringSelectivities = indexPropertyExistsSelectivities.map { case (exists, indexType) =>
-      exists * indexSelectivityForSubstringSargable(stringLength, indexType)
-    }
+    val indexSubstringSelectivities =
+      Option.when(prefix)(prefixSelectivitiesFromValueDistributions(
+        variable,
+        labelInfo,
+        relTypeInfo,
+        propertyKey,
+        stringExpression
+      )).flatten.getOrElse {
+        indexPropertyExistsSelectivities.map { case (exists, indexType) =>
+          exists * indexSelectivityForSubstringSargable(stringLength, indexType)
+        }
+      }
     combiner.orTogetherSelectivities(indexSubstringSelectivities).getOrElse(default)
   }
 
+  /**
+   * Estimates the selectivity of STARTS WITH a known prefix from the distributions of the values in range indexes.
+   * Only possible if there is a distribution for every label or relationship type of the variable.
+   */
+  private def prefixSelectivitiesFromValueDistributions(
+    variable: LogicalVariable,
+    labelInfo: LabelInfo,
+    relTypeInfo: RelTypeInfo,
+    propertyKey: PropertyKeyName,
+    prefixExpression: Expression
+  )(implicit semanticTable: SemanticTable): Option[Seq[Selectivity]] = {
+    knownValue(prefixExpression).collect { case text: TextValue => text.stringValue() }.flatMap { prefix =>
+      val selectivities =
+        entityTypeAndPropertyIds(variable, labelInfo, relTypeInfo, propertyKey).map {
+          case (entityTypeId, propertyKeyId) =>
+            val descriptor = IndexDescriptor.forNameId(IndexType.Range, entityTypeId, Seq(propertyKeyId))
+            for {
+              distribution <- valueDistribution(descriptor)
+              propExists <- stats.indexPropertyIsNotNullSelectivity(descriptor)
+              propEqValueSelectivity <- stats.uniqueValueSelectivity(descriptor)
+            } yield {
+              val pPrefix = distribution.prefixSelectivity(prefix)
+              propExists * Selectivity(math.max(propEqValueSelectivity.factor, pPrefix.factor))
+            }
+        }
+      Option.when(selectivities.nonEmpty && selectivities.forall(_.isDefined))(selectivities.flatten)
+    }
+  }
+
+  private def valueDistribution(descriptor: IndexDescriptor): Option[IndexValueDistribution] =
+    if (parameterValues.isDefined) stats.indexValueDistribution(descriptor) else None
+
+  private def knownValues(args: SeekableArgs): Option[Seq[Value]] = args match {
+    case SingleSeekableArg(expr)                 => knownValue(expr).map(Seq(_))
+    case ManySeekableArgs(ListLiteral(elements)) => knownValues(elements)
+    case ManySeekableArgs(parameter: Parameter) =>
+      parameterValue(parameter).collect {
+        case list: ListValue if list.asScala.forall(_.isInstanceOf[Value]) =>
+          list.asScala.toSeq.map(_.asInstanceOf[Value])
+      }
+    case _ => None
+  }
+
+  private def knownValues(expressions: Seq[Expression]): Option[Seq[Value]] = {
+    val values = expressions.map(knownValue)
+    Option.when(values.forall(_.isDefined))(values.flatten)
+  }
+
+  /**
+   * The value of a literal or parameter, if it is a value that can be compared with the values in an index.
+   */
+  private def knownValue(expression: Expression): Option[Value] = expression match {
+    case literal: IntegerLiteral => Some(Values.longValue(literal.value))
+    case literal: DoubleLiteral  => Some(Values.doubleValue(literal.value))
+    case StringLiteral(value)    => Some(Values.stringValue(value))
+    case parameter: Parameter =>
+      parameterValue(parameter).collect { case value: Value if value ne Values.NO_VALUE => value }
+    case _ => None
+  }
+
+  private def parameterValue(parameter: Parameter): Option[AnyValue] =
+    parameterValues.map(_.apply().get(parameter.name))
+
   private def calculateSelectivityForIdSeekable(seekable: IdSeekable)(implicit
   semanticTable: SemanticTable): Selectivity = {
     val lookups = seekable.args.sizeHint.map(Cardinality(_)).getOrElse(DEFAULT_NUMBER_OF_ID_LOOKUPS)
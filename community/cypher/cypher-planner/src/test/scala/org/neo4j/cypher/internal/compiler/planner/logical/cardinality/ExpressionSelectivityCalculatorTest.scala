@@ -62,6 +62,8 @@ import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.EntityType.Node
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.EntityType.Relationship
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor.IndexType
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution.Bound
 import org.neo4j.cypher.internal.planner.spi.InstrumentedGraphStatistics
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_ALL_CARDINALITY
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics.MIN_NODES_WITH_LABEL_CARDINALITY
@@ -87,6 +89,10 @@ import org.neo4j.cypher.internal.util.symbols.CTString
 import org.neo4j.cypher.internal.util.symbols.CTStringNotNull
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.internal.schema.constraints.SchemaValueType
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.VirtualValues
 
 abstract class ExpressionSelectivityCalculatorTest extends CypherFunSuite with AstConstructionTestSupport {
 
@@ -2429,4 +2435,118 @@ class RangeExpressionSelectivityCalculatorTest extends ExpressionSelectivityCalc
   test("subqueryCardinalityToExistsSelectivity should not return 0") {
     subqueryCardinalityToExistsSelectivity(Cardinality(0d)).factor should be > 0d
   }
+
+  test("range selectivity should be estimated from the value distribution of the index") {
+    val inequality = nPredicate(nAnded(NonEmptyList(
+      greaterThan(nProp, literalInt(3)),
+      lessThan(nProp, parameter("upper", CTInteger))
+    )))
+
+    val calculator = setUpCalculatorWithValueDistribution(
+      VirtualValues.map(Array("upper"), Array(Values.longValue(7))),
+      new ValueDistribution(range = Selectivity(0.02))
+    )
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * 0.02 +- 0.00000001)
+  }
+
+  test("range selectivity from the value distribution should not be lower than equality selectivity") {
+    val inequality = nPredicate(nAnded(NonEmptyList(greaterThan(nProp, literalInt(3)))))
+
+    val calculator = setUpCalculatorWithValueDistribution(
+      MapValue.EMPTY,
+      new ValueDistribution(range = Selectivity.ZERO)
+    )
+
+    calculator(inequality.expr).factor should equal(personPropIsNotNullSel * indexPersonUniqueSel +- 0.00000001)
+  }
+
+  test("range selectivity should not use the value distribution if a bound is unknown") {
+    val inequality = nPredicate(nAnded(NonEmptyList(greaterThan(nProp, parameter("lower", CTInteger)))))
+
+    val calculator = setUpCalculatorWithValueDistribution(
+      MapValue.EMPTY,
+      new ValueDistribution(range = Selectivity(0.02))
+    )
+
+    calculator(inequality.expr).factor should equal(
+      personPropIsNotNullSel * (1 - indexPersonUniqueSel) * DEFAULT_RANGE_SEEK_FACTOR +- 0.00000001
+    )
+  }
+
+  test("equality selectivity should be estimated from the value distribution of the index") {
+    val predicate = equals(nProp, parameter("value", CTInteger))
+
+    val calculator = setUpCalculatorWithValueDistribution(
+      VirtualValues.map(Array("value"), Array(Values.longValue(42))),
+      new ValueDistribution(equality = Some(Selectivity(0.5)))
+    )
+
+    calculator(predicate).factor should equal(personPropIsNotNullSel * 0.5 +- 0.00000001)
+  }
+
+  test("equality selectivity should use unique value selectivity for values outside of the value distribution") {
+    val predicate = in(nProp, listOfInt(1, 2))
+
+    val calculator = setUpCalculatorWithValueDistribution(
+      MapValue.EMPTY,
+      new ValueDistribution(equality = Some(Selectivity.ZERO))
+    )
+
+    calculator(predicate).factor should equal(
+      personPropIsNotNullSel * (1 - math.pow(1 - indexPersonUniqueSel, 2)) +- 0.00000001
+    )
+  }
+
+  test("prefix selectivity should be estimated from the value distribution of the range index") {
+    val predicate = startsWith(nProp, literalString("ab"))
+
+    val calculator = setUpCalculatorWithValueDistribution(
+      MapValue.EMPTY,
+      new ValueDistribution(prefix = Selectivity(0.3))
+    )
+
+    calculator(predicate).factor should equal(personPropIsNotNullSel * 0.3 +- 0.00000001)
+  }
+
+  private class ValueDistribution(
+    range: Selectivity = Selectivity.ONE,
+    prefix: Selectivity = Selectivity.ONE,
+    equality: Option[Selectivity] = None
+  ) extends IndexValueDistribution {
+
+    override def rangeSelectivity(lower: Option[Bound], upper: Option[Bound]): Option[Selectivity] = Some(range)
+
+    override def prefixSelectivity(prefix: String): Selectivity = this.prefix
+
+    override def equalitySelectivity(value: Value): Option[Selectivity] = equality
+  }
+
+  private def setUpCalculatorWithValueDistribution(
+    parameterValues: MapValue,
+    distribution: IndexValueDistribution
+  ): Expression => Selectivity = {
+    implicit val semanticTable: SemanticTable = setupSemanticTable()
+      .addTypeInfo(parameter("upper", CTInteger), CTInteger)
+      .addTypeInfo(parameter("lower", CTInteger), CTInteger)
+      .addTypeInfo(parameter("value", CTInteger), CTInteger)
+      .addTypeInfo(literalString("ab"), CTString)
+    implicit val indexCPPC: IndexCompatiblePredicatesProviderContext = IndexCompatiblePredicatesProviderContext.default
+
+    val stats = new mockStats() {
+      override def indexValueDistribution(index: IndexDescriptor): Option[IndexValueDistribution] =
+        Option.when(index == indexPersonRange)(distribution)
+    }
+    val planContext = mockPlanContext(stats, Set.empty, Map.empty)
+    val calculator =
+      ExpressionSelectivityCalculator(planContext.statistics, IndependenceCombiner, Some(() => parameterValues))
+    val compositeCalculator = CompositeExpressionSelectivityCalculator(planContext)
+    implicit val cardinalityModel: CardinalityModel = SimpleMetricsFactory.newCardinalityEstimator(
+      SimpleMetricsFactory.newQueryGraphCardinalityModel(planContext, compositeCalculator),
+      compositeCalculator,
+      simpleExpressionEvaluator
+    )
+
+    (exp: Expression) => calculator(exp, nIsPersonLabelInfo, Map.empty, Set.empty, Map.empty)
+  }
 }
@@ -22,6 +22,7 @@ package org.neo4j.cypher.internal.javacompat;
 import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
 
 import java.time.Clock;
+import java.util.concurrent.Executor;
 import org.neo4j.collection.Dependencies;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
 import org.neo4j.configuration.GraphDatabaseSettings;
@@ -34,18 +35,21 @@ import org.neo4j.cypher.internal.cache.CaffeineCacheFactory;
 import org.neo4j.cypher.internal.cache.CombinedQueryCacheStatistics;
 import org.neo4j.cypher.internal.cache.CypherQueryCaches;
 import org.neo4j.cypher.internal.cache.ExecutorBasedCaffeineCacheFactory;
+import org.neo4j.cypher.internal.cache.QueryCacheWarmup;
 import org.neo4j.cypher.internal.compiler.CypherParsingConfig;
 import org.neo4j.cypher.internal.compiler.CypherPlannerConfiguration;
 import org.neo4j.cypher.internal.config.CypherConfiguration;
 import org.neo4j.cypher.internal.config.ObservableSetting;
 import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration;
 import org.neo4j.function.Observable;
+import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.query.Neo4jTransactionalContextFactory;
 import org.neo4j.kernel.impl.query.QueryCacheStatistics;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.scheduler.Group;
+import scala.Option;
 
 public class CommunityCypherEngineProvider extends QueryEngineProvider {
     @Override
@@ -100,6 +104,17 @@ public class CommunityCypherEngineProvider extends QueryEngineProvider {
         QueryCacheStatistics cacheStatistics = queryCaches.statistics();
         if (!isSystemDatabase) {
             deps.satisfyDependency(cacheStatistics);
+            if (cypherConfig.persistQueryCache()) {
+                spi.lifeSupport()
+                        .add(new QueryCacheWarmup(
+                                queryCaches.persistedQueries(),
+                                graphAPI,
+                                deps.resolveDependency(FileSystemAbstraction.class),
+                                spi.jobScheduler(),
+                                spi.logProvider(),
+                                cypherConfig.persistQueryCacheDirectory(),
+                                cypherConfig.persistQueryCacheInterval()));
+            }
         }
 
         if (isSystemDatabase) {
@@ -145,7 +160,13 @@ public class CommunityCypherEngineProvider extends QueryEngineProvider {
                 cacheFactory,
                 clock,
                 spi.monitors(),
-                spi.logProvider());
+                spi.logProvider(),
+                cypherConfig.replanInBackground() ? Option.apply(makeBackgroundReplanExecutor(spi)) : Option.empty());
+    }
+
+    private static Executor makeBackgroundReplanExecutor(SPI spi) {
+        var monitoredExecutor = spi.jobScheduler().monitoredJobExecutor(Group.CYPHER_CACHE);
+        return job -> monitoredExecutor.execute(systemJob("Background replanning of stale query"), job);
     }
 
     private static CaffeineCacheFactory makeNonUnifiedCacheFactory(SPI spi) {
@@ -38,6 +38,7 @@ import org.neo4j.cypher.internal.util.InternalNotification;
 import org.neo4j.exceptions.Neo4jException;
 import org.neo4j.graphdb.Result;
 import org.neo4j.kernel.GraphDatabaseQueryService;
+import org.neo4j.kernel.impl.query.CardinalityMisestimate;
 import org.neo4j.kernel.impl.query.FunctionInformation;
 import org.neo4j.kernel.impl.query.QueryExecution;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
@@ -204,6 +205,11 @@ public class ExecutionEngine implements QueryExecutionEngine {
         return cypherExecutionEngine.getCypherFunctions();
     }
 
+    @Override
+    public List<CardinalityMisestimate> getCardinalityMisestimates(int limit) {
+        return cypherExecutionEngine.getCardinalityMisestimates(limit);
+    }
+
     public void insertIntoCache(
             String queryText,
             PreParsedQuery preParsedQuery,
@@ -94,6 +94,8 @@ class ExecutableQueryCacheMetricsMonitor() extends CacheMetricsMonitor[CypherQue
 
   private val counter = new LongAdder
   private val waitTime = new LongAdder
+  private val backgroundCounter = new LongAdder
+  private val backgroundTime = new LongAdder
 
   override def cacheStale(
     queryKey: CacheKey[InputQuery.CacheKey],
@@ -106,7 +108,21 @@ class ExecutableQueryCacheMetricsMonitor() extends CacheMetricsMonitor[CypherQue
     waitTime.add(secondsSincePlan)
   }
 
+  override def computeInBackground(
+    queryKey: CacheKey[InputQuery.CacheKey],
+    computeMillis: Long,
+    metaData: String
+  ): Unit = {
+    super.computeInBackground(queryKey, computeMillis, metaData)
+    backgroundCounter.increment()
+    backgroundTime.add(computeMillis)
+  }
+
   def numberOfReplans: Long = counter.sum()
 
   def replanWaitTime: Long = waitTime.sum()
+
+  def numberOfBackgroundReplans: Long = backgroundCounter.sum()
+
+  def backgroundReplanTime: Long = backgroundTime.sum()
 }
@@ -42,10 +42,10 @@ case class CommunityRuntimeContext(
   log: InternalLog,
   config: CypherRuntimeConfiguration,
   anonymousVariableNameGenerator: AnonymousVariableNameGenerator,
-  assertOpen: AssertOpen
+  assertOpen: AssertOpen,
+  compileExpressions: Boolean = false
 ) extends RuntimeContext {
 
-  override def compileExpressions: Boolean = false
   override def materializedEntitiesMode: Boolean = false
   override def isCommunity: Boolean = true
 }
@@ -59,7 +59,7 @@ case class CommunityRuntimeContextManager(log: InternalLog, config: CypherRuntim
     procedures: Procedures,
     clock: Clock,
     debugOptions: CypherDebugOptions,
-    ignore: Boolean,
+    compileExpressions: Boolean,
     ignore2: Boolean,
     ignore3: CypherOperatorEngineOption,
     ignore4: CypherInterpretedPipesFallbackOption,
@@ -73,7 +73,9 @@ case class CommunityRuntimeContextManager(log: InternalLog, config: CypherRuntim
       log,
       config,
       anonymousVariableNameGenerator,
-      assertOpen
+      assertOpen,
+      // Compiled predicates are opt-in in community, even when the expression engine asks for compiled expressions
+      compileExpressions && config.slottedCompiledPredicatesEnabled
     )
 
   // As we rely completely on transaction bound resources in community,
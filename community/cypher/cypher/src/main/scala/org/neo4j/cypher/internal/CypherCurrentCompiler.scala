@@ -173,6 +173,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
       logicalPlanResult.reusability,
       logicalPlanResult.paramNames.toArray,
       logicalPlanResult.extractedParams,
+      logicalPlanResult.hasLiterals,
       buildCompilerInfo(logicalPlan, planState.plannerName, cachedExecutionPlan.executionPlan.runtimeName),
       planState.plannerName,
       queryType,
@@ -328,6 +329,7 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
     reusabilityState: ReusabilityState,
     override val paramNames: Array[String],
     override val extractedParams: MapValue,
+    override val hasLiterals: Boolean,
     override val compilerInfo: CompilerInfo,
     plannerName: PlannerName,
     internalQueryType: InternalQueryType,
@@ -344,6 +346,12 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
     private val resourceMonitor =
       if (enableMonitors) kernelMonitors.newMonitor(classOf[ResourceMonitor]) else ResourceMonitor.NOOP
 
+    // Only the rows of cached plans that produce results are compared with their estimates
+    private val feedbackReference: Option[PlanFingerprintReference] = (reusabilityState, logicalPlan) match {
+      case (MaybeReusable(reference), _: ProduceResult) if shouldBeCached => Some(reference)
+      case _                                                              => None
+    }
+
     private val planDescriptionBuilder =
       PlanDescriptionBuilder(
         executionPlan.rewrittenPlan.getOrElse(logicalPlan),
@@ -482,8 +490,19 @@ case class CypherCurrentCompiler[CONTEXT <: RuntimeContext](
           )
         } else {
 
+          val runtimeSubscriber = feedbackReference match {
+            case Some(reference) =>
+              queryCaches.cardinalityFeedback.track(
+                subscriber,
+                reference,
+                effectiveCardinalities.get(logicalPlan.id).amount,
+                () => queryObfuscator.obfuscateText(transactionalContext.executingQuery().rawQueryText())
+              )
+            case None => subscriber
+          }
+
           val runtimeResult: RuntimeResult =
-            executionPlan.run(queryContext, innerExecutionMode, params, prePopulateResults, input, subscriber)
+            executionPlan.run(queryContext, innerExecutionMode, params, prePopulateResults, input, runtimeSubscriber)
 
           val filteredRuntimeNotifications = runtimeResult.notifications().asScala
             .map(asKernelNotification(None))
@@ -77,6 +77,11 @@ class DefaultPlanStalenessCaller[EXECUTABLE_QUERY](
       // If we have resolved a procedure, we need to verify that it was resolved
       // with the same signatureVersion as the current transaction uses.
       Stale(secondsSincePlan, Some("Procedure or function signature have been modified"))
+    } else if (
+      ref.misestimate.isDefined && divergenceCalculator.shouldCheck(currentTimeMillis, f.lastCheckTimeMillis)
+    ) {
+      // An execution has shown that the estimates of the plan are far off, replan it using the current statistics.
+      Stale(secondsSincePlan, ref.misestimate.map(_.describe))
     } else if (
       divergenceCalculator.shouldCheck(currentTimeMillis, f.lastCheckTimeMillis) &&
       lastCommittedTxId != f.lastCommittedTxId
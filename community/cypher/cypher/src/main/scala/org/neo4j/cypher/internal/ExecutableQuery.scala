@@ -111,6 +111,11 @@ trait ExecutableQuery extends CacheabilityInfo {
    */
   val extractedParams: MapValue
 
+  /**
+   * Whether the statement of this query had string or number literals, including those that were auto-parametrized.
+   */
+  val hasLiterals: Boolean
+
   /**
    * Obfuscator to be used on this query's raw text and parameters before logging.
    */
@@ -34,12 +34,17 @@ import org.neo4j.cypher.internal.util.InternalNotificationLogger
 import org.neo4j.cypher.internal.util.RecordingNotificationLogger
 import org.neo4j.exceptions.ParameterNotFoundException
 import org.neo4j.internal.kernel.api.security.AccessMode
+import org.neo4j.internal.kernel.api.security.SecurityContext
 import org.neo4j.kernel.GraphDatabaseQueryService
+import org.neo4j.kernel.api.KernelTransaction
 import org.neo4j.kernel.api.exceptions.Status
 import org.neo4j.kernel.api.exceptions.Status.HasStatus
+import org.neo4j.kernel.impl.query.CardinalityMisestimate
 import org.neo4j.kernel.impl.query.FunctionInformation
 import org.neo4j.kernel.impl.query.FunctionInformation.InputInformation
+import org.neo4j.kernel.impl.query.Neo4jTransactionalContextFactory
 import org.neo4j.kernel.impl.query.QueryExecution
+import org.neo4j.kernel.impl.query.QueryExecutionConfiguration
 import org.neo4j.kernel.impl.query.QueryExecutionMonitor
 import org.neo4j.kernel.impl.query.QuerySubscriber
 import org.neo4j.kernel.impl.query.TransactionalContext
@@ -78,6 +83,8 @@ abstract class ExecutionEngine(
 
   private val schemaHelper = new SchemaHelper(queryCache, masterCompiler)
 
+  private lazy val transactionalContextFactory = Neo4jTransactionalContextFactory.create(queryService)
+
   // ACTUAL FUNCTIONALITY
 
   /**
@@ -237,6 +244,7 @@ abstract class ExecutionEngine(
           }
           throw up
       }
+    queryCaches.persistedQueries.executed(executableQuery)
     if (query.options.queryOptions.executionMode.name != "explain") {
       checkParameters(executableQuery.paramNames, params, executableQuery.extractedParams)
     }
@@ -293,12 +301,15 @@ abstract class ExecutionEngine(
 
     new CompilerWithExpressionCodeGenOption[ExecutableQuery] {
       override def compile(): ExecutableQuery = {
-        if (inputQuery.options.compileWhenHot && config.recompilationLimit == 0) {
-          // We have recompilationLimit == 0, go to compiled directly
-          compiledExpressionCompiler()
-        } else {
-          interpretedExpressionCompiler()
-        }
+        val executableQuery =
+          if (inputQuery.options.compileWhenHot && config.recompilationLimit == 0) {
+            // We have recompilationLimit == 0, go to compiled directly
+            compiledExpressionCompiler()
+          } else {
+            interpretedExpressionCompiler()
+          }
+        queryCaches.persistedQueries.record(inputQuery, params, executableQuery)
+        executableQuery
       }
 
       override def compileWithExpressionCodeGen(): ExecutableQuery = compiledExpressionCompiler()
@@ -314,6 +325,60 @@ abstract class ExecutionEngine(
           None
         }
       }
+
+      override def backgroundCompiler(): Option[CompilerWithExpressionCodeGenOption[ExecutableQuery]] = {
+        // Plans for transactions with changes are cached separately, and can only be planned in such a transaction
+        if (transactionalContext.kernelTransaction().dataRead().transactionStateHasChanges()) {
+          None
+        } else {
+          Some(backgroundCompilerWithExpressionCodeGenOption(inputQuery, params, transactionalContext.securityContext))
+        }
+      }
+    }
+  }
+
+  /*
+   * Return a CompilerWithExpressionCodeGenOption that compiles in a transaction of its own,
+   * with the security context of the query that found the cached plan stale.
+   */
+  private def backgroundCompilerWithExpressionCodeGenOption(
+    inputQuery: InputQuery,
+    params: MapValue,
+    securityContext: SecurityContext
+  ): CompilerWithExpressionCodeGenOption[ExecutableQuery] = {
+
+    def inNewTransaction(compile: CompilerWithExpressionCodeGenOption[ExecutableQuery] => ExecutableQuery)
+      : ExecutableQuery = {
+      val tx = queryService.beginTransaction(KernelTransaction.Type.IMPLICIT, securityContext)
+      try {
+        val tc = transactionalContextFactory.newContext(
+          tx,
+          inputQuery.description,
+          params,
+          QueryExecutionConfiguration.DEFAULT_CONFIG
+        )
+        val compilerAuthorization = tc.restrictCurrentTransaction(securityContext.withMode(AccessMode.Static.READ))
+        val queryTracer = CompilationTracer.NO_COMPILATION_TRACING.compileQuery(inputQuery.description)
+        try {
+          compile(
+            compilerWithExpressionCodeGenOption(inputQuery, queryTracer, tc, params, new RecordingNotificationLogger())
+          )
+        } finally {
+          queryTracer.close()
+          compilerAuthorization.close()
+          tc.close()
+        }
+      } finally {
+        tx.close()
+      }
+    }
+
+    new CompilerWithExpressionCodeGenOption[ExecutableQuery] {
+      override def compile(): ExecutableQuery = inNewTransaction(_.compile())
+
+      override def compileWithExpressionCodeGen(): ExecutableQuery = inNewTransaction(_.compileWithExpressionCodeGen())
+
+      override def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[ExecutableQuery] = None
     }
   }
 
@@ -384,6 +449,9 @@ abstract class ExecutionEngine(
   def clearCompilerCaches(): Long =
     masterCompiler.clearCaches()
 
+  def getCardinalityMisestimates(limit: Int): java.util.List[CardinalityMisestimate] =
+    queryCaches.cardinalityFeedback.misestimates(limit).asJava
+
   def insertIntoCache(
     queryText: String,
     preParsedQuery: PreParsedQuery,
@@ -29,6 +29,7 @@ import org.neo4j.cypher.internal.runtime.ProfileMode
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.QueryIndexRegistrator
 import org.neo4j.cypher.internal.runtime.SelectivityTrackerRegistrator
+import org.neo4j.cypher.internal.runtime.ThreadSafeResourceManager
 import org.neo4j.cypher.internal.runtime.expressionVariableAllocation
 import org.neo4j.cypher.internal.runtime.expressionVariableAllocation.Result
 import org.neo4j.cypher.internal.runtime.interpreted.ExecutionResultBuilderFactory
@@ -127,7 +128,8 @@ object InterpretedRuntime extends CypherRuntime[RuntimeContext] {
     readOnly: Boolean,
     startsTransactions: Boolean,
     override val metadata: Seq[Argument],
-    warnings: Set[InternalNotification]
+    warnings: Set[InternalNotification],
+    usesWorkerThreads: Boolean = false
   ) extends ExecutionPlan {
 
     override def run(
@@ -153,5 +155,8 @@ object InterpretedRuntime extends CypherRuntime[RuntimeContext] {
     }
 
     override def notifications: Set[InternalNotification] = warnings
+
+    override def threadSafeExecutionResources(): Option[ResourceManagerFactory] =
+      if (usesWorkerThreads) Some(monitor => new ThreadSafeResourceManager(monitor)) else None
   }
 }
@@ -69,4 +69,21 @@ object PlanFingerprint {
     )
 }
 
-class PlanFingerprintReference(var fingerprint: PlanFingerprint)
+class PlanFingerprintReference(var fingerprint: PlanFingerprint) {
+
+  /**
+   * Set when an execution of the plan produced so many more or fewer rows than estimated, that the plan should be
+   * replanned the next time it is checked for staleness.
+   */
+  @volatile var misestimate: Option[RowCountMisestimate] = None
+}
+
+/**
+ * @param estimatedRows the number of rows the plan was estimated to produce
+ * @param actualRows    the number of rows an execution of the plan produced
+ */
+case class RowCountMisestimate(estimatedRows: Long, actualRows: Long) {
+
+  def describe: String =
+    s"Estimated $estimatedRows rows but an execution produced $actualRows rows"
+}
@@ -39,7 +39,13 @@ import org.neo4j.notifications.MissingPropertyNameNotification
 import org.neo4j.notifications.MissingRelTypeNotification
 import org.neo4j.values.virtual.MapValue
 
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
 import scala.jdk.CollectionConverters.MapHasAsScala
+import scala.util.control.NonFatal
 
 /**
  * For tracing when the key is CacheKey[T]
@@ -73,6 +79,14 @@ trait CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY] {
    *         `None` otherwise.
    */
   def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[EXECUTABLE_QUERY]
+
+  /**
+   * A compiler for the same query that does not depend on the transaction of this compiler,
+   * and can therefore be used by a background job after that transaction has moved on.
+   *
+   * @return `None` if the query can only be compiled in the transaction of this compiler.
+   */
+  def backgroundCompiler(): Option[CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY]] = None
 }
 
 sealed trait Staleness
@@ -115,16 +129,21 @@ object ExecutingQueryTracer {
  * PlanStalenessCaller to verify that CEQs are reusable before returning a CEQ
  * which is detected in the cache, but is found to be stale.
  *
+ * If a background replan executor is given, a stale CEQ keeps being returned while a single
+ * job replans it in the background and replaces it in the cache.
+ *
  * @param maximumSize Maximum size of this cache
  * @param stalenessCaller Decided whether CachedExecutionPlans are stale
  * @param tracer Traces cache activity
+ * @param backgroundReplanExecutor Executor for replanning stale CEQs off the query path
  */
 class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
   val cacheFactory: CaffeineCacheFactory,
   val maximumSize: CacheSize,
   val stalenessCaller: PlanStalenessCaller[EXECUTABLE_QUERY],
   val tracer: CacheTracer[QUERY_KEY],
-  val executingQueryTracer: ExecutingQueryTracer
+  val executingQueryTracer: ExecutingQueryTracer,
+  val backgroundReplanExecutor: Option[Executor] = None
 ) {
 
   val removalListener: RemovalListener[QUERY_KEY, CachedValue] =
@@ -133,6 +152,9 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
   private val inner: Cache[QUERY_KEY, CachedValue] =
     createInner(cacheFactory, maximumSize, removalListener)
 
+  // Keys of the stale values that are being replanned in the background
+  private val replanning = ConcurrentHashMap.newKeySet[QUERY_KEY]()
+
   protected def createInner(
     innerFactory: CaffeineCacheFactory,
     size: CacheSize,
@@ -221,9 +243,13 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
                   } else {
                     recompileOrGet(executingQuery, cachedValue, compiler, queryKey, metaData)
                   }
+                case Stale(_, _) if replanning.contains(queryKey) =>
+                  hit(executingQuery, queryKey, cachedValue, metaData)
                 case Stale(secondsSincePlan, maybeReason) =>
                   tracer.cacheStale(queryKey, secondsSincePlan, metaData, maybeReason)
-                  if (cachedValue.recompiledWithExpressionCodeGen)
+                  if (replanInBackground(queryKey, cachedValue, compiler, metaData))
+                    hit(executingQuery, queryKey, cachedValue, metaData)
+                  else if (cachedValue.recompiledWithExpressionCodeGen)
                     compileWithExpressionCodeGenAndCache(executingQuery, queryKey, compiler, metaData, hitCache = true)
                   else compileAndCache(executingQuery, queryKey, compiler, metaData, hitCache = true)
               }
@@ -232,6 +258,68 @@ class QueryCache[QUERY_KEY <: AnyRef, EXECUTABLE_QUERY <: CacheabilityInfo](
     }
   }
 
+  /**
+   * Start replanning a stale value in the background, unless it is already being replanned.
+   *
+   * @return `true` if the stale value should be returned, `false` if it needs to be replanned on the query path.
+   */
+  private def replanInBackground(
+    queryKey: QUERY_KEY,
+    cachedValue: CachedValue,
+    compiler: CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY],
+    metaData: String
+  ): Boolean = backgroundReplanExecutor match {
+    case None => false
+    case Some(executor) =>
+      compiler.backgroundCompiler() match {
+        case None => false
+        case Some(backgroundCompiler) =>
+          if (replanning.add(queryKey)) {
+            try {
+              executor.execute(() => replan(queryKey, cachedValue, backgroundCompiler, metaData))
+            } catch {
+              case _: RejectedExecutionException =>
+                replanning.remove(queryKey)
+                return false
+            }
+          }
+          true
+      }
+  }
+
+  private def replan(
+    queryKey: QUERY_KEY,
+    staleValue: CachedValue,
+    compiler: CompilerWithExpressionCodeGenOption[EXECUTABLE_QUERY],
+    metaData: String
+  ): Unit = {
+    val startTime = System.nanoTime()
+    try {
+      val newExecutableQuery =
+        if (staleValue.recompiledWithExpressionCodeGen) compiler.compileWithExpressionCodeGen()
+        else compiler.compile()
+      // Only replace the value this job was started for, the key may have been replanned or invalidated meanwhile
+      if (newExecutableQuery.shouldBeCached) {
+        inner.asMap().replace(
+          queryKey,
+          staleValue,
+          new CachedValue(newExecutableQuery, recompiledWithExpressionCodeGen = false)
+        )
+      } else {
+        inner.asMap().remove(queryKey, staleValue)
+      }
+      if (staleValue.recompiledWithExpressionCodeGen) tracer.computeWithExpressionCodeGen(queryKey, metaData)
+      else tracer.compute(queryKey, metaData)
+      tracer.computeInBackground(queryKey, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), metaData)
+    } catch {
+      case NonFatal(_) =>
+        // The next query replans on the query path, and gets to see what went wrong
+        inner.asMap().remove(queryKey, staleValue)
+    } finally {
+      replanning.remove(queryKey)
+    }
+  }
+
   /**
    * Check if certain warnings are not valid anymore.
    */
@@ -37,6 +37,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeTreeBuilder
 import org.neo4j.cypher.internal.runtime.slotted.SlottedExecutionResultBuilderFactory
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipelineBreakingPolicy
+import org.neo4j.cypher.internal.runtime.slotted.expressions.CompiledSlottedExpressionConverter
 import org.neo4j.cypher.internal.runtime.slotted.expressions.MaterializedEntitiesExpressionConverter
 import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionConverters
 import org.neo4j.cypher.internal.util.CypherException
@@ -68,7 +69,7 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
     query: LogicalQuery,
     selectivityTrackerRegistrator: SelectivityTrackerRegistrator
   ): (Option[ExpressionConverter], List[ExpressionConverter], () => Seq[Argument], () => Set[InternalNotification]) = {
-    (None, baseConverters, NO_METADATA, NO_WARNINGS)
+    (Some(new CompiledSlottedExpressionConverter(baseConverters)), baseConverters, NO_METADATA, NO_WARNINGS)
   }
 
   @throws[CantCompileQueryException]
@@ -129,7 +130,10 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
         converters,
         physicalPlan,
         query.readOnly,
-        queryIndexRegistrator
+        queryIndexRegistrator,
+        context.config.slottedPartitionedScanParallelism,
+        context.config.slottedShortestPathParallelism,
+        context.config.slottedBatchSize
       )(query.semanticTable)
       val pipeTreeBuilder = PipeTreeBuilder(pipeBuilder)
       val logicalPlanWithConvertedNestedPlans = NestedPipeExpressions.build(
@@ -171,7 +175,8 @@ trait SlottedRuntime[-CONTEXT <: RuntimeContext] extends CypherRuntime[CONTEXT]
         query.readOnly,
         startsTransactions,
         metadataGen(),
-        warningsGen()
+        warningsGen(),
+        pipeBuilder.usesWorkerThreads
       )
     } catch {
       case e: CypherException =>
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import org.neo4j.cypher.internal.PlanFingerprintReference
+import org.neo4j.cypher.internal.RowCountMisestimate
+import org.neo4j.cypher.internal.cache.CardinalityFeedback.MaxReplans
+import org.neo4j.cypher.internal.cache.CardinalityFeedback.MaxTrackedQueries
+import org.neo4j.cypher.internal.cache.CardinalityFeedback.RowCountingSubscriber
+import org.neo4j.cypher.internal.cache.CardinalityFeedback.divergence
+import org.neo4j.graphdb.QueryStatistics
+import org.neo4j.kernel.impl.query.CardinalityMisestimate
+import org.neo4j.kernel.impl.query.DelegatingQuerySubscriber
+import org.neo4j.kernel.impl.query.QuerySubscriber
+import org.neo4j.values.ValueMapper
+
+import java.util.concurrent.ConcurrentHashMap
+
+import scala.jdk.CollectionConverters.CollectionHasAsScala
+
+/**
+ * Compares the number of rows that executions of cached queries produce with the number of rows their plans were
+ * estimated to produce.
+ *
+ * Only the rows produced by the root of a plan are counted, since that is the only count that is known for every
+ * execution without profiling it. When the counts of a fully consumed result differ by more than the threshold, the
+ * query is remembered so that it can be listed, and its plan is marked as misestimated, so that it is replanned with
+ * the current statistics and parameters the next time it is checked for staleness. A query is replanned because of
+ * feedback at most [[MaxReplans]] times, since replanning does not help if the estimates of the new plan are off too.
+ *
+ * @param enabled   whether executions should be tracked at all
+ * @param threshold the factor by which the actual and estimated number of rows must differ to count as a misestimate
+ */
+class CardinalityFeedback(enabled: Boolean, threshold: Double) {
+
+  private val misestimatedQueries = new ConcurrentHashMap[String, CardinalityMisestimate]()
+
+  /**
+   * Wrap the subscriber of an execution of a cached plan, so that the rows it receives are compared with the estimate
+   * once the result has been fully consumed.
+   *
+   * @param subscriber    the subscriber of the execution
+   * @param reference     the fingerprint reference of the executed plan
+   * @param estimatedRows the number of rows the plan was estimated to produce
+   * @param queryText     the obfuscated text of the query, only computed for misestimated executions
+   */
+  def track(
+    subscriber: QuerySubscriber,
+    reference: PlanFingerprintReference,
+    estimatedRows: Double,
+    queryText: () => String
+  ): QuerySubscriber =
+    if (enabled) {
+      new RowCountingSubscriber(subscriber, actualRows => record(reference, estimatedRows, actualRows, queryText()))
+    } else {
+      subscriber
+    }
+
+  /**
+   * Record a completed execution of a cached plan.
+   */
+  def record(
+    reference: PlanFingerprintReference,
+    estimatedRows: Double,
+    actualRows: Long,
+    queryText: => String
+  ): Unit = {
+    val executionDivergence = divergence(estimatedRows, actualRows)
+    if (executionDivergence > threshold) {
+      val estimated = math.round(estimatedRows)
+      misestimatedQueries.compute(
+        queryText,
+        (query, previous) => {
+          val previousReplans = if (previous == null) 0L else previous.replans()
+          val replans =
+            if (previousReplans < MaxReplans && reference.misestimate.isEmpty) {
+              reference.misestimate = Some(RowCountMisestimate(estimated, actualRows))
+              previousReplans + 1
+            } else {
+              previousReplans
+            }
+          val occurrences = if (previous == null) 1L else previous.occurrences() + 1
+          new CardinalityMisestimate(query, estimated, actualRows, executionDivergence, occurrences, replans)
+        }
+      )
+      if (misestimatedQueries.size() > MaxTrackedQueries) {
+        misestimatedQueries.values().asScala.minByOption(_.divergence()).foreach(least =>
+          misestimatedQueries.remove(least.query(), least)
+        )
+      }
+    }
+  }
+
+  /**
+   * @param limit the maximum number of queries to return
+   * @return the remembered queries, most diverging first
+   */
+  def misestimates(limit: Int): Seq[CardinalityMisestimate] =
+    misestimatedQueries.values().asScala.toSeq.sortBy(-_.divergence()).take(limit)
+}
+
+object CardinalityFeedback {
+
+  /**
+   * The maximum number of times a query is replanned because of feedback.
+   */
+  val MaxReplans = 1
+
+  /**
+   * The maximum number of misestimated queries to remember. When there are more, the least diverging are forgotten.
+   */
+  val MaxTrackedQueries = 1000
+
+  /**
+   * The factor by which the actual and estimated number of rows differ, which is at least 1.
+   */
+  def divergence(estimatedRows: Double, actualRows: Long): Double = {
+    val estimated = math.max(estimatedRows, 0.0)
+    (math.max(estimated, actualRows.toDouble) + 1) / (math.min(estimated, actualRows.toDouble) + 1)
+  }
+
+  private class RowCountingSubscriber(inner: QuerySubscriber, onCompleted: Long => Unit)
+      extends DelegatingQuerySubscriber(inner) {
+
+    private var rows = 0L
+    private var failed = false
+
+    override def onRecordCompleted(): Unit = {
+      rows += 1
+      super.onRecordCompleted()
+    }
+
+    override def onError(throwable: Throwable): Unit = {
+      failed = true
+      super.onError(throwable)
+    }
+
+    override def onResultCompleted(statistics: QueryStatistics): Unit = {
+      super.onResultCompleted(statistics)
+      if (!failed) {
+        onCompleted(rows)
+      }
+    }
+
+    override def onValueMapperCreated(valueMapper: ValueMapper[AnyRef]): Unit =
+      inner.onValueMapperCreated(valueMapper)
+  }
+}
@@ -44,6 +44,15 @@ class CombinedQueryCacheStatistics(a: QueryCacheStatistics, b: QueryCacheStatist
 
   override def replanWaitTime(): lang.Long = a.replanWaitTime() + b.replanWaitTime()
 
+  override def numberOfBackgroundReplans(): lang.Long =
+    a.numberOfBackgroundReplans() + b.numberOfBackgroundReplans()
+
+  override def backgroundReplanTime(): lang.Long = a.backgroundReplanTime() + b.backgroundReplanTime()
+
+  override def numberOfRestoredQueries(): lang.Long = a.numberOfRestoredQueries() + b.numberOfRestoredQueries()
+
+  override def numberOfDiscardedQueries(): lang.Long = a.numberOfDiscardedQueries() + b.numberOfDiscardedQueries()
+
   override def metricsPerCacheKind(): java.util.Map[String, CacheMetrics] = {
     val aMap = Map.from(a.metricsPerCacheKind().asScala)
     val bMap = Map.from(b.metricsPerCacheKind().asScala)
@@ -105,6 +114,11 @@ class CombinedCacheTracer[T](a: CacheTracer[T], b: CacheTracer[T]) extends Cache
     b.cacheStale(key, secondsSinceCompute, metaData, maybeReason)
   }
 
+  override def computeInBackground(key: T, computeMillis: Long, metaData: String): Unit = {
+    a.computeInBackground(key, computeMillis, metaData)
+    b.computeInBackground(key, computeMillis, metaData)
+  }
+
   override def cacheFlush(sizeOfCacheBeforeFlush: Long): Unit = {
     a.cacheFlush(sizeOfCacheBeforeFlush)
     b.cacheFlush(sizeOfCacheBeforeFlush)
@@ -76,6 +76,7 @@ import org.neo4j.values.virtual.MapValue
 import java.lang
 import java.time.Clock
 import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.Executor
 
 import scala.jdk.CollectionConverters.IterableHasAsScala
 import scala.jdk.CollectionConverters.MapHasAsJava
@@ -94,6 +95,9 @@ object CypherQueryCaches {
    * @param executionPlanCacheSize          Configures the execution plan cache
    * @param divergenceConfig                Configures the statistics divergence calculator used to compute logical plan staleness
    * @param enableExecutionPlanCacheTracing Enable tracing in the execution plan cache
+   * @param persistQueries                  Remember planned queries, so that the caches can be warmed up after a restart
+   * @param cardinalityFeedbackEnabled      Compare the rows produced by cached queries with their estimates
+   * @param cardinalityFeedbackThreshold    Factor by which produced and estimated rows must differ to replan a query
    */
   case class Config(
     cacheSize: CacheSize,
@@ -101,7 +105,10 @@ object CypherQueryCaches {
     divergenceConfig: StatsDivergenceCalculatorConfig,
     enableExecutionPlanCacheTracing: Boolean,
     enableDebugMonitors: Boolean,
-    softCacheSize: SoftCacheSize
+    softCacheSize: SoftCacheSize,
+    persistQueries: Boolean,
+    cardinalityFeedbackEnabled: Boolean,
+    cardinalityFeedbackThreshold: Double
   ) {
 
     // Java helper
@@ -118,7 +125,10 @@ object CypherQueryCaches {
         )
       } else {
         SoftCacheSize.Disabled
-      }
+      },
+      cypherConfig.persistQueryCache,
+      cypherConfig.cardinalityFeedbackEnabled,
+      cypherConfig.cardinalityFeedbackThreshold
     )
   }
 
@@ -343,13 +353,15 @@ object CypherQueryCaches {
       cacheFactory: CacheFactory,
       maximumSize: CacheSize,
       stalenessCaller: PlanStalenessCaller[Value],
-      tracer: CacheTracer[Key]
+      tracer: CacheTracer[Key],
+      backgroundReplanExecutor: Option[Executor]
     ) extends QueryCache[Key, Value](
           cacheFactory.resolveCacheKind(kind),
           maximumSize,
           stalenessCaller,
           tracer,
-          ExecutableQueryCacheQueryTracer
+          ExecutableQueryCacheQueryTracer,
+          backgroundReplanExecutor
         ) with CacheCommon {
       def companion: CacheCompanion = ExecutableQueryCache
     }
@@ -359,8 +371,9 @@ object CypherQueryCaches {
       strongSize: CacheSize,
       softSize: CacheSize,
       stalenessCaller: PlanStalenessCaller[Value],
-      tracer: CacheTracer[Key]
-    ) extends Cache(cacheFactory, strongSize, stalenessCaller, tracer) {
+      tracer: CacheTracer[Key],
+      backgroundReplanExecutor: Option[Executor]
+    ) extends Cache(cacheFactory, strongSize, stalenessCaller, tracer, backgroundReplanExecutor) {
 
       override protected def createInner(
         innerFactory: CaffeineCacheFactory,
@@ -427,6 +440,8 @@ object CypherQueryCaches {
  * @param clock                     Clock used to compute logical plan staleness
  * @param kernelMonitors            Monitors to publish events to
  * @param logProvider               Provides logs for logging eviction events etc.
+ * @param backgroundReplanExecutor  Executor used to replan stale queries in the background, if they should not be
+ *                                  replanned on the query path
  */
 class CypherQueryCaches(
   config: CypherQueryCaches.Config,
@@ -434,7 +449,8 @@ class CypherQueryCaches(
   cacheFactory: CacheFactory,
   clock: Clock,
   kernelMonitors: Monitors,
-  logProvider: InternalLogProvider
+  logProvider: InternalLogProvider,
+  backgroundReplanExecutor: Option[Executor] = None
 ) {
 
   private val log = logProvider.getLog(getClass)
@@ -577,7 +593,8 @@ class CypherQueryCaches(
             maximumSize = config.cacheSize,
             stalenessCaller = stalenessCaller,
             tracer =
-              withDebugMonitor(config, cacheTracers.executablePlan, ExecutableQueryCache.newMonitor(kernelMonitors))
+              withDebugMonitor(config, cacheTracers.executablePlan, ExecutableQueryCache.newMonitor(kernelMonitors)),
+            backgroundReplanExecutor = backgroundReplanExecutor
           )
         case SoftCacheSize.Sized(strongSize, softSize) => new ExecutableQueryCache.SoftCache(
             cacheFactory = cacheFactory,
@@ -585,12 +602,24 @@ class CypherQueryCaches(
             softSize = softSize,
             stalenessCaller = stalenessCaller,
             tracer =
-              withDebugMonitor(config, cacheTracers.executablePlan, ExecutableQueryCache.newMonitor(kernelMonitors))
+              withDebugMonitor(config, cacheTracers.executablePlan, ExecutableQueryCache.newMonitor(kernelMonitors)),
+            backgroundReplanExecutor = backgroundReplanExecutor
           )
       }
     )
   }
 
+  /**
+   * Remembers planned queries, so that the caches can be warmed up after a restart
+   */
+  val persistedQueries: PersistedQueries = new PersistedQueries(config.persistQueries, config.cacheSize)
+
+  /**
+   * Compares the rows produced by executions of cached queries with their estimates
+   */
+  val cardinalityFeedback: CardinalityFeedback =
+    new CardinalityFeedback(config.cardinalityFeedbackEnabled, config.cardinalityFeedbackThreshold)
+
   private def registerCache[T <: CacheCommon](cache: T): T = {
     allCaches.add(cache)
     cache
@@ -623,6 +652,18 @@ class CypherQueryCaches(
     override def replanWaitTime(): lang.Long =
       cacheTracers.executablePlan.replanWaitTime
 
+    override def numberOfBackgroundReplans(): lang.Long =
+      cacheTracers.executablePlan.numberOfBackgroundReplans
+
+    override def backgroundReplanTime(): lang.Long =
+      cacheTracers.executablePlan.backgroundReplanTime
+
+    override def numberOfRestoredQueries(): lang.Long =
+      persistedQueries.numberOfRestoredQueries
+
+    override def numberOfDiscardedQueries(): lang.Long =
+      persistedQueries.numberOfDiscardedQueries
+
     override def metricsPerCacheKind(): java.util.Map[String, CacheMetrics] = {
       (cacheTracers.perCacheKind: Map[String, CacheMetrics]).asJava
     }
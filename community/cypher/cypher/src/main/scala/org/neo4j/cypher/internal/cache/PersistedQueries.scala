@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import org.neo4j.cypher.internal.ExecutableQuery
+import org.neo4j.cypher.internal.InputQuery
+import org.neo4j.cypher.internal.PreParsedQuery
+import org.neo4j.cypher.internal.ast.Statement
+import org.neo4j.cypher.internal.cache.PersistedQueries.PersistedQuery
+import org.neo4j.cypher.internal.compiler.helpers.ParameterValueTypeHelper
+import org.neo4j.cypher.internal.expressions.AutoExtractedParameter
+import org.neo4j.cypher.internal.expressions.Expression
+import org.neo4j.cypher.internal.expressions.NumberLiteral
+import org.neo4j.cypher.internal.expressions.SensitiveStringLiteral
+import org.neo4j.cypher.internal.expressions.StringLiteral
+import org.neo4j.cypher.internal.options.CypherExecutionMode
+import org.neo4j.cypher.internal.util.symbols.CTBoolean
+import org.neo4j.cypher.internal.util.symbols.CTDate
+import org.neo4j.cypher.internal.util.symbols.CTDateTime
+import org.neo4j.cypher.internal.util.symbols.CTDuration
+import org.neo4j.cypher.internal.util.symbols.CTInteger
+import org.neo4j.cypher.internal.util.symbols.CTLocalDateTime
+import org.neo4j.cypher.internal.util.symbols.CTLocalTime
+import org.neo4j.cypher.internal.util.symbols.CTMap
+import org.neo4j.cypher.internal.util.symbols.CTPoint
+import org.neo4j.cypher.internal.util.symbols.CTString
+import org.neo4j.cypher.internal.util.symbols.CTTime
+import org.neo4j.cypher.internal.util.symbols.ListType
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.CoordinateReferenceSystem
+import org.neo4j.values.storable.DateTimeValue
+import org.neo4j.values.storable.DateValue
+import org.neo4j.values.storable.DurationValue
+import org.neo4j.values.storable.LocalDateTimeValue
+import org.neo4j.values.storable.LocalTimeValue
+import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.TimeValue
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.VirtualValues
+
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.charset.StandardCharsets
+import java.time.ZoneOffset
+import java.util
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+
+import scala.jdk.CollectionConverters.CollectionHasAsScala
+import scala.jdk.CollectionConverters.SetHasAsScala
+
+/**
+ * Remembers the queries that have been planned for the executable query cache, so that the cache can be warmed up
+ * again when the database restarts.
+ *
+ * Plans refer to the schema, statistics and token ids of the database that created them, so they are never written
+ * to disk. Instead the statement and the types of the parameters of every planned query are remembered. To warm up
+ * the cache, each statement is planned again in EXPLAIN mode, with placeholder parameters of the remembered types.
+ * That creates the same cache keys as the original queries, with plans that are valid for the current schema and
+ * statistics.
+ *
+ * Only statements without string or number literals are remembered. Their text is exactly what the clients sent, so
+ * warm-up hits the same cache entries, and it cannot contain any data. Queries with inline literals are not
+ * remembered at all, since their text may contain data, and each distinct literal would get a cache entry of its own
+ * anyway.
+ *
+ * Queries are remembered by the executable query that was planned for them, and are forgotten again when that plan
+ * is no longer referenced by the query cache. When there are more than `maximumSize` of them, the least frequently
+ * executed queries are forgotten first.
+ *
+ * @param enabled     whether queries should be remembered at all
+ * @param maximumSize the maximum number of queries to remember
+ */
+class PersistedQueries(val enabled: Boolean, maximumSize: CacheSize) {
+
+  // Weak keys are compared by identity, so every plan counts the executions of its own query
+  private val queries: Cache[ExecutableQuery, PersistedQuery] =
+    maximumSize.withSize[ExecutableQuery, PersistedQuery, Cache[ExecutableQuery, PersistedQuery]](size =>
+      Caffeine.newBuilder().weakKeys().maximumSize(size).build[ExecutableQuery, PersistedQuery]()
+    )
+
+  // Queries persisted before a restart that have not been planned again yet
+  private val pendingQueries = ConcurrentHashMap.newKeySet[PersistedQuery]()
+  private val restoredQueries = new LongAdder
+  private val discardedQueries = new LongAdder
+
+  /**
+   * Remember a query that has just been planned.
+   */
+  def record(query: InputQuery, params: MapValue, executableQuery: ExecutableQuery): Unit = query match {
+    case preParsed: PreParsedQuery if enabled && !executableQuery.hasLiterals =>
+      val persisted = preParsed.options.queryOptions.executionMode match {
+        case CypherExecutionMode.profile => None
+        case CypherExecutionMode.explain =>
+          Some(PersistedQuery(preParsed.rawStatement, PersistedQueries.parameterTypes(params)))
+        case _ =>
+          Some(PersistedQuery(s"EXPLAIN ${preParsed.rawStatement}", PersistedQueries.parameterTypes(params)))
+      }
+      persisted.foreach { persistedQuery =>
+        pendingQueries.remove(persistedQuery)
+        queries.put(executableQuery, persistedQuery)
+      }
+    case _ =>
+  }
+
+  /**
+   * Count an execution of a query that may have been recorded.
+   */
+  def executed(executableQuery: ExecutableQuery): Unit =
+    if (enabled) {
+      queries.getIfPresent(executableQuery)
+    }
+
+  /**
+   * Remember queries that were persisted before a restart, until they have been planned again.
+   */
+  def recordPersisted(persisted: Seq[PersistedQuery]): Unit =
+    persisted.iterator.take(maximumSize.currentValue).foreach(pendingQueries.add)
+
+  def recorded: Seq[PersistedQuery] = {
+    queries.cleanUp()
+    (queries.asMap().values().asScala ++ pendingQueries.asScala).toSeq.distinct
+  }
+
+  def restored(): Unit = restoredQueries.increment()
+
+  def discarded(query: PersistedQuery): Unit = {
+    pendingQueries.remove(query)
+    discardedQueries.increment()
+  }
+
+  /**
+   * The number of remembered queries that have been planned again after a restart.
+   */
+  def numberOfRestoredQueries: Long = restoredQueries.sum()
+
+  /**
+   * The number of remembered queries that could not be planned again after a restart, and were forgotten.
+   */
+  def numberOfDiscardedQueries: Long = discardedQueries.sum()
+}
+
+object PersistedQueries {
+
+  private val FORMAT_VERSION = 2
+
+  // Backs the placeholders of string parameters, which are views of a prefix of it
+  @volatile private var placeholderBytes = new Array[Byte](0)
+
+  /**
+   * A remembered query.
+   *
+   * @param statement      the statement to plan to warm up the cache, always in EXPLAIN mode
+   * @param parameterTypes the type of each parameter, as described by [[parameterType]]
+   */
+  case class PersistedQuery(statement: String, parameterTypes: Map[String, String]) {
+
+    /**
+     * Parameters of the remembered types, which give the same parameter type map as the original parameters.
+     */
+    def placeholderParameters: util.Map[String, AnyRef] = {
+      val parameters = new util.HashMap[String, AnyRef]()
+      parameterTypes.foreach {
+        case (name, typ) => parameters.put(name, placeholder(typ))
+      }
+      parameters
+    }
+  }
+
+  def parameterTypes(params: MapValue): Map[String, String] = {
+    val builder = Map.newBuilder[String, String]
+    params.foreach((name, value) => builder += (name -> parameterType(value)))
+    builder.result()
+  }
+
+  /**
+   * Describes the type of a parameter value as [[ParameterValueTypeHelper]] derives it for the cache keys, including
+   * the size buckets of strings and lists. The value itself is not part of the description.
+   */
+  def parameterType(value: AnyValue): String = {
+    val typeInfo = ParameterValueTypeHelper.deriveCypherType(value, useSizeHint = true)
+    val name = typeInfo.typ match {
+      case CTString              => "string"
+      case CTBoolean             => "boolean"
+      case CTInteger             => "integer"
+      case CTPoint               => "point"
+      case CTDateTime            => "datetime"
+      case CTLocalDateTime       => "localdatetime"
+      case CTTime                => "time"
+      case CTLocalTime           => "localtime"
+      case CTDate                => "date"
+      case CTDuration            => "duration"
+      case CTMap                 => "map"
+      case ListType(CTString, _) => "stringlist"
+      case ListType(_, _)        => "list"
+      case _                     => "any"
+    }
+    typeInfo.sizeHint.toOption.fold(name)(size => s"$name:$size")
+  }
+
+  private def placeholder(parameterType: String): AnyValue = parameterType.split(':') match {
+    case Array("string", bucket) => placeholderString(shortestInBucket(bucket.toInt))
+    case Array("boolean")        => Values.FALSE
+    case Array("integer")        => Values.longValue(0)
+    case Array("point")          => Values.pointValue(CoordinateReferenceSystem.CARTESIAN, 0, 0)
+    case Array("datetime")       => DateTimeValue.datetime(0, 0, ZoneOffset.UTC)
+    case Array("localdatetime")  => LocalDateTimeValue.localDateTime(0, 0)
+    case Array("time")           => TimeValue.time(0, ZoneOffset.UTC)
+    case Array("localtime")      => LocalTimeValue.localTime(0)
+    case Array("date")           => DateValue.epochDate(0)
+    case Array("duration")       => DurationValue.ZERO
+    case Array("map")            => VirtualValues.EMPTY_MAP
+    case Array("stringlist", bucket) =>
+      VirtualValues.list(Array.fill[AnyValue](shortestInBucket(bucket.toInt))(Values.EMPTY_STRING): _*)
+    case Array("list", bucket) =>
+      // A range is not backed by an array of its elements
+      VirtualValues.range(1, shortestInBucket(bucket.toInt), 1)
+    // Floats are typed like any other value without a more specific type, and unlike null they are a value
+    case _ => Values.doubleValue(0)
+  }
+
+  /**
+   * The buckets of sizes are powers of ten, apart from the exact sizes 0 and 1, so any size just above the previous
+   * power of ten falls in the same bucket as the original size.
+   */
+  private def shortestInBucket(bucket: Int): Int = if (bucket <= 1) bucket else bucket / 10 + 1
+
+  private def placeholderString(length: Int): TextValue = {
+    var bytes = placeholderBytes
+    if (bytes.length < length) {
+      bytes = Array.fill[Byte](length)(' ')
+      placeholderBytes = bytes
+    }
+    Values.utf8Value(bytes, 0, length)
+  }
+
+  /**
+   * Whether a parsed statement had string or number literals, that is whether its text may contain data. Literals
+   * that were auto-parametrized are no longer part of the statement, but of the extracted parameters.
+   */
+  def hasLiterals(statement: Statement, extractedParams: Option[Map[AutoExtractedParameter, Expression]]): Boolean =
+    extractedParams.exists(_.nonEmpty) || statement.folder.treeExists {
+      case _: StringLiteral | _: SensitiveStringLiteral | _: NumberLiteral => true
+    }
+
+  def write(queries: Seq[PersistedQuery], out: OutputStream): Unit = {
+    val data = new DataOutputStream(out)
+    data.writeInt(FORMAT_VERSION)
+    data.writeInt(queries.size)
+    queries.foreach { query =>
+      writeString(data, query.statement)
+      data.writeInt(query.parameterTypes.size)
+      query.parameterTypes.foreach {
+        case (name, typ) =>
+          writeString(data, name)
+          writeString(data, typ)
+      }
+    }
+    data.flush()
+  }
+
+  def read(in: InputStream): Seq[PersistedQuery] = {
+    val data = new DataInputStream(in)
+    val version = data.readInt()
+    if (version != FORMAT_VERSION) {
+      throw new IOException(s"Unsupported format version $version of persisted queries, expected $FORMAT_VERSION")
+    }
+    Seq.fill(data.readInt()) {
+      val statement = readString(data)
+      val parameterTypes = Seq.fill(data.readInt())(readString(data) -> readString(data)).toMap
+      PersistedQuery(statement, parameterTypes)
+    }
+  }
+
+  // DataOutput.writeUTF is limited to 64kB, which is not enough for all statements
+  private def writeString(data: DataOutputStream, string: String): Unit = {
+    val bytes = string.getBytes(StandardCharsets.UTF_8)
+    data.writeInt(bytes.length)
+    data.write(bytes)
+  }
+
+  private def readString(data: DataInputStream): String = {
+    val bytes = new Array[Byte](data.readInt())
+    data.readFully(bytes)
+    new String(bytes, StandardCharsets.UTF_8)
+  }
+}
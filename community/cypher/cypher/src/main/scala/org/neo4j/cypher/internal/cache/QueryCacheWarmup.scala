@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import org.neo4j.cypher.internal.cache.PersistedQueries.PersistedQuery
+import org.neo4j.cypher.internal.cache.QueryCacheWarmup.AVAILABILITY_TIMEOUT_MILLIS
+import org.neo4j.cypher.internal.cache.QueryCacheWarmup.FILE_SUFFIX
+import org.neo4j.internal.kernel.api.security.LoginContext
+import org.neo4j.io.fs.FileSystemAbstraction
+import org.neo4j.kernel.api.KernelTransaction
+import org.neo4j.kernel.internal.GraphDatabaseAPI
+import org.neo4j.kernel.lifecycle.LifecycleAdapter
+import org.neo4j.logging.InternalLogProvider
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobHandle
+import org.neo4j.scheduler.JobMonitoringParams.systemJob
+import org.neo4j.scheduler.JobScheduler
+
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption.ATOMIC_MOVE
+import java.nio.file.StandardCopyOption.REPLACE_EXISTING
+import java.time.Duration
+import java.util.concurrent.TimeUnit.MILLISECONDS
+
+import scala.util.Using
+import scala.util.control.NonFatal
+
+/**
+ * Writes the queries remembered by [[PersistedQueries]] to a file of the database in the given directory, periodically
+ * and when the database stops, and plans them again in the background when it starts. The directory is outside the
+ * database directories, so the file is not part of the store, and is not copied along with it.
+ *
+ * Every query is planned in its own transaction, in EXPLAIN mode, so nothing is executed. Queries that no longer plan,
+ * for instance because they use a procedure that is gone, are discarded. Queries that do plan are put in the query
+ * caches exactly like any other query, and become stale by the usual rules.
+ */
+class QueryCacheWarmup(
+  queries: PersistedQueries,
+  db: GraphDatabaseAPI,
+  fs: FileSystemAbstraction,
+  jobScheduler: JobScheduler,
+  logProvider: InternalLogProvider,
+  directory: Path,
+  writeInterval: Duration
+) extends LifecycleAdapter {
+
+  private val log = logProvider.getLog(getClass)
+  private val file = directory.resolve(db.databaseName() + FILE_SUFFIX)
+
+  @volatile private var stopped = false
+  private var job: JobHandle[_] = _
+  private var writeJob: JobHandle[_] = _
+
+  override def start(): Unit = {
+    stopped = false
+    val toRestore = read()
+    // Queries that have not been planned again when the database stops are persisted again
+    queries.recordPersisted(toRestore)
+    if (toRestore.nonEmpty) {
+      job = jobScheduler.schedule(
+        Group.CYPHER_CACHE,
+        systemJob(db.databaseName(), "Query cache warmup"),
+        new Runnable {
+          override def run(): Unit = warmUp(toRestore)
+        }
+      )
+    }
+    writeJob = jobScheduler.scheduleRecurring(
+      Group.CYPHER_CACHE,
+      systemJob(db.databaseName(), "Query cache persistence"),
+      new Runnable {
+        override def run(): Unit = write()
+      },
+      writeInterval.toMillis,
+      writeInterval.toMillis,
+      MILLISECONDS
+    )
+  }
+
+  override def stop(): Unit = {
+    stopped = true
+    if (job != null) {
+      job.cancel()
+      job = null
+    }
+    if (writeJob != null) {
+      writeJob.cancel()
+      writeJob = null
+    }
+    write()
+  }
+
+  private def warmUp(toRestore: Seq[PersistedQuery]): Unit = {
+    while (!db.isAvailable(AVAILABILITY_TIMEOUT_MILLIS)) {
+      if (stopped) return
+    }
+    val startTime = System.nanoTime()
+    var restored = 0
+    val iterator = toRestore.iterator
+    while (!stopped && iterator.hasNext) {
+      val query = iterator.next()
+      try {
+        Using.resource(db.beginTransaction(KernelTransaction.Type.IMPLICIT, LoginContext.AUTH_DISABLED)) { tx =>
+          tx.execute(query.statement, query.placeholderParameters).close()
+          tx.commit()
+        }
+        queries.restored()
+        restored += 1
+      } catch {
+        case NonFatal(e) =>
+          queries.discarded(query)
+          log.debug(s"Discarded persisted query that could not be planned: ${e.getMessage}")
+      }
+    }
+    log.info(
+      s"Warmed up the query cache with $restored of ${toRestore.size} persisted queries " +
+        s"in ${(System.nanoTime() - startTime) / 1000000} ms."
+    )
+  }
+
+  private def read(): Seq[PersistedQuery] = {
+    if (!fs.fileExists(file)) {
+      Seq.empty
+    } else {
+      try {
+        Using.resource(fs.openAsInputStream(file))(PersistedQueries.read)
+      } catch {
+        case NonFatal(e) =>
+          log.warn(s"Could not read persisted queries from $file, the query cache will not be warmed up.", e)
+          Seq.empty
+      }
+    }
+  }
+
+  // Periodic writes and the write on stop use the same temporary file
+  private def write(): Unit = synchronized {
+    val temporaryFile = file.resolveSibling(s"${file.getFileName}.tmp")
+    try {
+      fs.mkdirs(directory)
+      Using.resource(fs.openAsOutputStream(temporaryFile, false))(PersistedQueries.write(queries.recorded, _))
+      fs.renameFile(temporaryFile, file, ATOMIC_MOVE, REPLACE_EXISTING)
+    } catch {
+      case NonFatal(e) =>
+        log.warn(s"Could not persist the queries of the query cache to $file.", e)
+    }
+  }
+}
+
+object QueryCacheWarmup {
+  val FILE_SUFFIX = ".query-cache"
+
+  private val AVAILABILITY_TIMEOUT_MILLIS = 1000L
+}
@@ -38,6 +38,7 @@ import org.neo4j.cypher.internal.cache.CypherQueryCaches.AstCache
 import org.neo4j.cypher.internal.cache.CypherQueryCaches.AstCache.AstCacheValue
 import org.neo4j.cypher.internal.cache.CypherQueryCaches.LogicalPlanCache
 import org.neo4j.cypher.internal.cache.CypherQueryCaches.LogicalPlanCache.CacheableLogicalPlan
+import org.neo4j.cypher.internal.cache.PersistedQueries
 import org.neo4j.cypher.internal.compiler
 import org.neo4j.cypher.internal.compiler.CypherParsingConfig
 import org.neo4j.cypher.internal.compiler.CypherPlannerConfiguration
@@ -368,6 +369,10 @@ case class CypherPlanner(
       case _                          => None
     }
 
+    // Values of the parameters, used to estimate selectivities from the distribution of the values in indexes.
+    // The auto-extracted parameters are added once the query has been normalized, before anything is planned.
+    var parameterValues = params
+
     // Context used to create logical plans
     val plannerContext = PlannerContext(
       tracer,
@@ -403,7 +408,8 @@ case class CypherPlanner(
       internalNotificationStats,
       internalSyntaxUsageStats,
       targetsComposite = false,
-      null
+      null,
+      () => parameterValues
     )
 
     // Prepare query for caching
@@ -413,6 +419,7 @@ case class CypherPlanner(
       parameterNamesAndValues(preparedQuery.statement(), preparedQuery.maybeExtractedParams) match {
         case (qpn: ArrayBuffer[String], aep: MapValue) => (qpn.toSeq, aep)
       }
+    parameterValues = params.updatedWith(autoExtractParams)
 
     // Get obfuscator out ASAP to make query text available for `dbms.listQueries`, etc
     val obfuscator = CypherQueryObfuscator(preparedQuery.obfuscationMetadata())
@@ -475,6 +482,7 @@ case class CypherPlanner(
       cacheableLogicalPlan.logicalPlanState,
       queryParamNames,
       autoExtractParams,
+      PersistedQueries.hasLiterals(syntacticQuery.statement(), syntacticQuery.maybeExtractedParams),
       cacheableLogicalPlan.reusability,
       plannerContext,
       (notificationLogger.notifications ++ cacheableLogicalPlan.notifications).toIndexedSeq,
@@ -620,6 +628,7 @@ case class LogicalPlanResult(
   logicalPlanState: CachableLogicalPlanState,
   paramNames: Seq[String],
   extractedParams: MapValue,
+  hasLiterals: Boolean,
   reusability: ReusabilityState,
   plannerContext: PlannerContext,
   notifications: IndexedSeq[InternalNotification],
@@ -21,6 +21,8 @@ package org.neo4j.cypher.internal.spi
 
 import org.neo4j.cypher.internal.planner.spi.GraphStatistics
 import org.neo4j.cypher.internal.planner.spi.IndexDescriptor
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution.Bound
 import org.neo4j.cypher.internal.planner.spi.MinimumGraphStatistics
 import org.neo4j.cypher.internal.util.Cardinality
 import org.neo4j.cypher.internal.util.LabelId
@@ -31,8 +33,10 @@ import org.neo4j.internal.kernel.api.SchemaRead
 import org.neo4j.internal.kernel.api.TokenRead
 import org.neo4j.internal.kernel.api.exceptions.schema.IndexNotFoundKernelException
 import org.neo4j.internal.schema
+import org.neo4j.kernel.api.index.IndexValueHistogram
 import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.logging.InternalLog
+import org.neo4j.values.storable.Value
 
 import java.lang.Math.min
 
@@ -111,6 +115,17 @@ object TransactionBoundGraphStatistics {
           None
       }
 
+    override def indexValueDistribution(index: IndexDescriptor): Option[IndexValueDistribution] =
+      try {
+        maybeKernelIndexDescriptor(index)
+          .flatMap(indexDescriptor => Option(schemaRead.indexSample(indexDescriptor).histogram()))
+          .map(new HistogramValueDistribution(_))
+      } catch {
+        case e: IndexNotFoundKernelException =>
+          log.debug("Index not found for indexValueDistribution", e)
+          None
+      }
+
     override def nodesAllCardinality(): Cardinality =
       Cardinality(read.estimateCountsForNode(TokenRead.ANY_LABEL))
 
@@ -135,4 +150,26 @@ object TransactionBoundGraphStatistics {
         .filter(_ != schema.IndexDescriptor.NO_INDEX)
     }
   }
+
+  private class HistogramValueDistribution(histogram: IndexValueHistogram) extends IndexValueDistribution {
+
+    override def rangeSelectivity(lower: Option[Bound], upper: Option[Bound]): Option[Selectivity] = {
+      val bound = lower.orElse(upper).map(_.value)
+      val sameType = (lower ++ upper).forall(b => b.value.valueGroup() == bound.get.valueGroup())
+      Option.when(bound.exists(IndexValueHistogram.describes) && sameType) {
+        Selectivity(histogram.fractionInRange(
+          lower.map(_.value).orNull,
+          lower.forall(_.inclusive),
+          upper.map(_.value).orNull,
+          upper.forall(_.inclusive)
+        ))
+      }
+    }
+
+    override def prefixSelectivity(prefix: String): Selectivity =
+      Selectivity(histogram.fractionStartingWith(prefix))
+
+    override def equalitySelectivity(value: Value): Option[Selectivity] =
+      Option.when(IndexValueHistogram.describes(value))(Selectivity(histogram.fractionEqualTo(value)))
+  }
 }
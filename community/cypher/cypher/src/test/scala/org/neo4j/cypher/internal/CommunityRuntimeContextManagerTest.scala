@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal
+
+import org.neo4j.configuration.Config
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.cypher.internal.config.CypherConfiguration
+import org.neo4j.cypher.internal.options.CypherDebugOptions
+import org.neo4j.cypher.internal.options.CypherInterpretedPipesFallbackOption
+import org.neo4j.cypher.internal.options.CypherOperatorEngineOption
+import org.neo4j.cypher.internal.planner.spi.ReadTokenContext
+import org.neo4j.cypher.internal.runtime.CypherRuntimeConfiguration
+import org.neo4j.cypher.internal.util.AnonymousVariableNameGenerator
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.internal.kernel.api.Procedures
+import org.neo4j.internal.kernel.api.SchemaRead
+import org.neo4j.kernel.api.AssertOpen
+import org.neo4j.logging.InternalLog
+
+import java.time.Clock
+
+class CommunityRuntimeContextManagerTest extends CypherFunSuite {
+
+  test("should not compile expressions by default") {
+    val context = createContext(Config.defaults(), compileExpressions = true)
+
+    context.compileExpressions shouldBe false
+  }
+
+  test("should compile expressions when compiled predicates are enabled") {
+    val config =
+      Config.defaults(GraphDatabaseInternalSettings.cypher_slotted_compiled_predicates_enabled, java.lang.Boolean.TRUE)
+
+    createContext(config, compileExpressions = true).compileExpressions shouldBe true
+    createContext(config, compileExpressions = false).compileExpressions shouldBe false
+  }
+
+  private def createContext(config: Config, compileExpressions: Boolean): CommunityRuntimeContext = {
+    val runtimeConfig = CypherRuntimeConfiguration.fromCypherConfiguration(CypherConfiguration.fromConfig(config))
+    CommunityRuntimeContextManager(mock[InternalLog], runtimeConfig).create(
+      mock[ReadTokenContext],
+      mock[SchemaRead],
+      mock[Procedures],
+      Clock.systemUTC(),
+      CypherDebugOptions.default,
+      compileExpressions,
+      false,
+      CypherOperatorEngineOption.default,
+      CypherInterpretedPipesFallbackOption.default,
+      new AnonymousVariableNameGenerator(),
+      mock[AssertOpen]
+    )
+  }
+}
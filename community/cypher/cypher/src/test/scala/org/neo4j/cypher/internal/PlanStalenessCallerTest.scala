@@ -266,6 +266,29 @@ class PlanStalenessCallerTest extends CypherFunSuite {
     }
   }
 
+  test("should be stale if an execution was misestimated, even if txId and statistics didn't change") {
+    testAll { (algorithm, clock) =>
+      val snapshot = GraphStatisticsSnapshot(Map(NodesWithLabelCardinality(label(21)) -> 5.0))
+      val fingerprintRef = new PlanFingerprintReference(PlanFingerprint(clock.millis(), 17, snapshot, None))
+      val divergenceCalculator = StatsDivergenceCalculator.divergenceCalculatorFor(algorithm, 0.5, 0.1, 1000, 100000)
+
+      val stats: GraphStatistics = nodesWithLabelCardinality(21, 5.0)
+      val planStalenessCaller =
+        new DefaultPlanStalenessCaller(clock, divergenceCalculator, TransactionIdSupplier(17), not_used, null)
+
+      fingerprintRef.misestimate = Some(RowCountMisestimate(10, 100000))
+
+      clock.forward(500, MILLISECONDS)
+      planStalenessCaller.staleness(fingerprintRef, stats, -1) shouldBe NotStale
+
+      clock.forward(500, MILLISECONDS)
+      planStalenessCaller.staleness(fingerprintRef, stats, -1) shouldBe Stale(
+        1,
+        Some("Estimated 10 rows but an execution produced 100000 rows")
+      )
+    }
+  }
+
   def testAll(f: (CypherReplanAlgorithm, FakeClock) => Unit): Unit = {
     for (algorithm <- divergenceCalculators)
       withClue(s"For divergence calculator '$algorithm': ") { f(algorithm, Clocks.fakeClock()) }
@@ -21,6 +21,7 @@ package org.neo4j.cypher.internal
 
 import com.github.benmanes.caffeine.cache.Cache
 import com.github.benmanes.caffeine.cache.RemovalListener
+import org.mockito.ArgumentMatchers
 import org.mockito.Mockito
 import org.mockito.Mockito.times
 import org.mockito.Mockito.verifyNoMoreInteractions
@@ -28,9 +29,11 @@ import org.neo4j.cypher.internal.QueryCache.CacheKey
 import org.neo4j.cypher.internal.QueryCache.ParameterTypeMap
 import org.neo4j.cypher.internal.QueryCacheTest.MyValue
 import org.neo4j.cypher.internal.QueryCacheTest.QueryCacheUsageQueue
+import org.neo4j.cypher.internal.QueryCacheTest.QueuingExecutor
 import org.neo4j.cypher.internal.QueryCacheTest.TC
 import org.neo4j.cypher.internal.QueryCacheTest.Tracer
 import org.neo4j.cypher.internal.QueryCacheTest.alwaysStale
+import org.neo4j.cypher.internal.QueryCacheTest.backgroundCompilerOption
 import org.neo4j.cypher.internal.QueryCacheTest.compiled
 import org.neo4j.cypher.internal.QueryCacheTest.compilerWithExpressionCodeGenOption
 import org.neo4j.cypher.internal.QueryCacheTest.neverStale
@@ -51,6 +54,8 @@ import org.neo4j.values.storable.Values
 import org.neo4j.values.virtual.VirtualValues
 import org.scalatestplus.mockito.MockitoSugar
 
+import java.util.concurrent.Executor
+
 import scala.collection.mutable
 
 class QueryCacheTest extends CypherFunSuite {
@@ -252,6 +257,114 @@ class QueryCacheTest extends CypherFunSuite {
     queryTracer.queueIsEmmpty shouldBe true
   }
 
+  test("if item is stale and replanned in the background we should hit the cache until it is replanned") {
+    // Given
+    val tracer = newTracer()
+    val secondsSinceReplan = 17
+    val queryTracer = new QueryCacheUsageQueue()
+    val executor = new QueuingExecutor
+    val cache = QueryCacheTest.newCache(
+      tracer,
+      alwaysStale(secondsSinceReplan),
+      queryTracer = queryTracer,
+      backgroundReplanExecutor = Some(executor)
+    )
+    val key = newKey("foo")
+    val replanned = MyValue("bar")(compiledWithExpressionCodeGen = false)
+    cache.computeIfAbsentOrStale(key, TC, backgroundCompilerOption(key, () => replanned), CypherReplanOption.default)
+    queryTracer.dequeueCacheUsage() shouldEqual QueryCacheUsage.MISS
+
+    // When
+    val first =
+      cache.computeIfAbsentOrStale(key, TC, backgroundCompilerOption(key, () => replanned), CypherReplanOption.default)
+    val second =
+      cache.computeIfAbsentOrStale(key, TC, backgroundCompilerOption(key, () => replanned), CypherReplanOption.default)
+
+    // Then
+    first should equal(compiled(key))
+    second should equal(compiled(key))
+    executor.jobs.size shouldBe 1
+    queryTracer.dequeueAllCacheUsage() shouldEqual Seq(QueryCacheUsage.HIT, QueryCacheUsage.HIT)
+    Mockito.verify(tracer, times(1)).cacheStale(key, secondsSinceReplan, "", None)
+
+    // When
+    executor.runAll()
+
+    // Then
+    cache.computeIfAbsentOrStale(
+      key,
+      TC,
+      backgroundCompilerOption(key, () => replanned),
+      CypherReplanOption.skip
+    ) should equal(replanned)
+    Mockito.verify(tracer, times(2)).compute(key, "")
+    Mockito.verify(tracer).computeInBackground(
+      ArgumentMatchers.eq(key),
+      ArgumentMatchers.anyLong(),
+      ArgumentMatchers.eq("")
+    )
+  }
+
+  test("if item fails to replan in the background the next access should replan it") {
+    // Given
+    val tracer = newTracer()
+    val queryTracer = new QueryCacheUsageQueue()
+    val executor = new QueuingExecutor
+    val cache = QueryCacheTest.newCache(
+      tracer,
+      alwaysStale(17),
+      queryTracer = queryTracer,
+      backgroundReplanExecutor = Some(executor)
+    )
+    val key = newKey("foo")
+    val failing = backgroundCompilerOption(key, () => throw new IllegalStateException("Schema changed"))
+    cache.computeIfAbsentOrStale(key, TC, failing, CypherReplanOption.default)
+    cache.computeIfAbsentOrStale(key, TC, failing, CypherReplanOption.default)
+
+    // When
+    executor.runAll()
+    cache.computeIfAbsentOrStale(key, TC, failing, CypherReplanOption.default)
+
+    // Then
+    queryTracer.dequeueAllCacheUsage() shouldEqual Seq(QueryCacheUsage.MISS, QueryCacheUsage.HIT, QueryCacheUsage.MISS)
+    Mockito.verify(tracer, Mockito.never()).computeInBackground(
+      ArgumentMatchers.eq(key),
+      ArgumentMatchers.anyLong(),
+      ArgumentMatchers.eq("")
+    )
+  }
+
+  test("if item is cleared while it is replanned in the background the replanned item should not be cached") {
+    // Given
+    val tracer = newTracer()
+    val queryTracer = new QueryCacheUsageQueue()
+    val executor = new QueuingExecutor
+    val cache = QueryCacheTest.newCache(
+      tracer,
+      alwaysStale(17),
+      queryTracer = queryTracer,
+      backgroundReplanExecutor = Some(executor)
+    )
+    val key = newKey("foo")
+    val replanned = MyValue("bar")(compiledWithExpressionCodeGen = false)
+    cache.computeIfAbsentOrStale(key, TC, backgroundCompilerOption(key, () => replanned), CypherReplanOption.default)
+    cache.computeIfAbsentOrStale(key, TC, backgroundCompilerOption(key, () => replanned), CypherReplanOption.default)
+
+    // When
+    cache.clear()
+    executor.runAll()
+
+    // Then
+    cache.estimatedSize() shouldBe 0
+    cache.computeIfAbsentOrStale(
+      key,
+      TC,
+      backgroundCompilerOption(key, () => replanned),
+      CypherReplanOption.skip
+    ) should equal(compiled(key))
+    queryTracer.dequeueAllCacheUsage() shouldEqual Seq(QueryCacheUsage.MISS, QueryCacheUsage.HIT, QueryCacheUsage.MISS)
+  }
+
   test("accessing the cache with replan=skip if item is stale we should hit the cache") {
     // Given
     val tracer = newTracer()
@@ -549,20 +662,54 @@ object QueryCacheTest extends MockitoSugar {
         else None
     }
 
+  /**
+   * A compiler for which the background compiler compiles with the given function.
+   */
+  def backgroundCompilerOption(
+    key: Key,
+    compileInBackground: () => MyValue
+  ): CompilerWithExpressionCodeGenOption[MyValue] =
+    new CompilerWithExpressionCodeGenOption[MyValue] {
+      override def compile(): MyValue = compiled(key)
+
+      override def compileWithExpressionCodeGen(): MyValue = compiledWithExpressionCodeGen(key)
+
+      override def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[MyValue] = None
+
+      override def backgroundCompiler(): Option[CompilerWithExpressionCodeGenOption[MyValue]] =
+        Some(new CompilerWithExpressionCodeGenOption[MyValue] {
+          override def compile(): MyValue = compileInBackground()
+
+          override def compileWithExpressionCodeGen(): MyValue = compileInBackground()
+
+          override def maybeCompileWithExpressionCodeGen(hitCount: Int): Option[MyValue] = None
+        })
+    }
+
+  class QueuingExecutor extends Executor {
+    val jobs = new mutable.Queue[Runnable]()
+
+    override def execute(command: Runnable): Unit = jobs.enqueue(command)
+
+    def runAll(): Unit = jobs.dequeueAll(_ => true).foreach(_.run())
+  }
+
   def newKey(string: String): Key = CacheKey(string, ParameterTypeMap.empty, txStateHasChanges = false)
 
   def newCache(
     tracer: Tracer = newTracer(),
     stalenessCaller: PlanStalenessCaller[MyValue] = neverStale(),
     size: Int = 10,
-    queryTracer: ExecutingQueryTracer = ExecutingQueryTracer.NoOp
+    queryTracer: ExecutingQueryTracer = ExecutingQueryTracer.NoOp,
+    backgroundReplanExecutor: Option[Executor] = None
   ): QueryCache[CacheKey[String], MyValue] = {
     new QueryCache[CacheKey[String], MyValue](
       cacheFactory,
       CacheSize.Static(size),
       stalenessCaller,
       tracer,
-      queryTracer
+      queryTracer,
+      backgroundReplanExecutor
     )
   }
 
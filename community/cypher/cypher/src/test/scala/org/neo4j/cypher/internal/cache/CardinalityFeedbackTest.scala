@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import org.neo4j.cypher.internal.PlanFingerprint
+import org.neo4j.cypher.internal.PlanFingerprintReference
+import org.neo4j.cypher.internal.RowCountMisestimate
+import org.neo4j.cypher.internal.planner.spi.GraphStatisticsSnapshot
+import org.neo4j.cypher.internal.planner.spi.NodesWithLabelCardinality
+import org.neo4j.cypher.internal.util.LabelId
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.graphdb.QueryStatistics
+import org.neo4j.kernel.impl.query.QuerySubscriber
+import org.neo4j.kernel.impl.query.QuerySubscriberAdapter
+
+class CardinalityFeedbackTest extends CypherFunSuite {
+
+  test("should ignore executions within the threshold") {
+    val feedback = new CardinalityFeedback(enabled = true, threshold = 100)
+    val reference = newReference()
+
+    feedback.record(reference, estimatedRows = 10, actualRows = 900, "MATCH (n) RETURN n")
+    feedback.record(reference, estimatedRows = 1000, actualRows = 11, "MATCH (n) RETURN n")
+
+    reference.misestimate shouldBe None
+    feedback.misestimates(10) shouldBe empty
+  }
+
+  test("should mark misestimated plans for replanning once per query") {
+    val feedback = new CardinalityFeedback(enabled = true, threshold = 100)
+    val reference = newReference()
+    val replannedReference = newReference()
+
+    feedback.record(reference, estimatedRows = 10, actualRows = 100000, "MATCH (n) RETURN n")
+    feedback.record(reference, estimatedRows = 10, actualRows = 200000, "MATCH (n) RETURN n")
+    feedback.record(replannedReference, estimatedRows = 20, actualRows = 300000, "MATCH (n) RETURN n")
+
+    reference.misestimate shouldBe Some(RowCountMisestimate(10, 100000))
+    replannedReference.misestimate shouldBe None
+    val Seq(misestimate) = feedback.misestimates(10)
+    misestimate.query() shouldBe "MATCH (n) RETURN n"
+    misestimate.estimatedRows() shouldBe 20
+    misestimate.actualRows() shouldBe 300000
+    misestimate.occurrences() shouldBe 3
+    misestimate.replans() shouldBe 1
+  }
+
+  test("should list the most diverging queries first") {
+    val feedback = new CardinalityFeedback(enabled = true, threshold = 10)
+
+    feedback.record(newReference(), estimatedRows = 1, actualRows = 1000, "a")
+    feedback.record(newReference(), estimatedRows = 100000, actualRows = 0, "b")
+    feedback.record(newReference(), estimatedRows = 1, actualRows = 100, "c")
+
+    feedback.misestimates(10).map(_.query()) shouldBe Seq("b", "a", "c")
+    feedback.misestimates(2).map(_.query()) shouldBe Seq("b", "a")
+  }
+
+  test("should count the rows of fully consumed results") {
+    val feedback = new CardinalityFeedback(enabled = true, threshold = 100)
+    val reference = newReference()
+    val subscriber = feedback.track(new QuerySubscriberAdapter {}, reference, estimatedRows = 1, () => "q")
+
+    produce(subscriber, rows = 500)
+    reference.misestimate shouldBe None
+
+    subscriber.onResultCompleted(QueryStatistics.EMPTY)
+    reference.misestimate shouldBe Some(RowCountMisestimate(1, 500))
+  }
+
+  test("should not count the rows of failed results") {
+    val feedback = new CardinalityFeedback(enabled = true, threshold = 100)
+    val reference = newReference()
+    val subscriber = feedback.track(new QuerySubscriberAdapter {}, reference, estimatedRows = 1, () => "q")
+
+    produce(subscriber, rows = 500)
+    subscriber.onError(new RuntimeException("failed"))
+    subscriber.onResultCompleted(QueryStatistics.EMPTY)
+
+    reference.misestimate shouldBe None
+    feedback.misestimates(10) shouldBe empty
+  }
+
+  test("should not wrap subscribers when disabled") {
+    val feedback = new CardinalityFeedback(enabled = false, threshold = 100)
+    val subscriber = new QuerySubscriberAdapter {}
+
+    feedback.track(subscriber, newReference(), estimatedRows = 1, () => "q") should be theSameInstanceAs subscriber
+  }
+
+  private def produce(subscriber: QuerySubscriber, rows: Int): Unit = {
+    subscriber.onResult(1)
+    for (_ <- 0 until rows) {
+      subscriber.onRecord()
+      subscriber.onRecordCompleted()
+    }
+  }
+
+  private def newReference(): PlanFingerprintReference = {
+    val snapshot = GraphStatisticsSnapshot(Map(NodesWithLabelCardinality(Some(LabelId(0))) -> 5.0))
+    new PlanFingerprintReference(PlanFingerprint(0, 17, snapshot, None))
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.cache
+
+import org.mockito.Mockito.when
+import org.neo4j.cypher.internal.ExecutableQuery
+import org.neo4j.cypher.internal.PreParsedQuery
+import org.neo4j.cypher.internal.QueryCache
+import org.neo4j.cypher.internal.QueryOptions
+import org.neo4j.cypher.internal.ast.factory.neo4j.JavaCCParser
+import org.neo4j.cypher.internal.cache.PersistedQueries.PersistedQuery
+import org.neo4j.cypher.internal.expressions.AutoExtractedParameter
+import org.neo4j.cypher.internal.expressions.Expression
+import org.neo4j.cypher.internal.expressions.SignedDecimalIntegerLiteral
+import org.neo4j.cypher.internal.options.CypherExecutionMode
+import org.neo4j.cypher.internal.util.InputPosition
+import org.neo4j.cypher.internal.util.Neo4jCypherExceptionFactory
+import org.neo4j.cypher.internal.util.symbols.CTInteger
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.DateValue
+import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.Values
+import org.neo4j.values.virtual.ListValue
+import org.neo4j.values.virtual.MapValue
+import org.neo4j.values.virtual.MapValueBuilder
+import org.neo4j.values.virtual.VirtualValues
+
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+
+class PersistedQueriesTest extends CypherFunSuite {
+
+  private val params = map(
+    "name" -> Values.stringValue("Alice"),
+    "age" -> Values.longValue(42),
+    "score" -> Values.doubleValue(0.5),
+    "born" -> DateValue.date(1990, 1, 1),
+    "tags" -> VirtualValues.list(Values.stringValue("a"), Values.stringValue("b")),
+    "props" -> map("x" -> Values.TRUE),
+    "missing" -> Values.NO_VALUE,
+    "long" -> Values.stringValue("x" * 12345),
+    "ids" -> VirtualValues.list((1 to 42).map(i => Values.longValue(i)): _*)
+  )
+
+  test("should remember queries in EXPLAIN mode") {
+    val queries = new PersistedQueries(enabled = true, CacheSize.Static(10))
+
+    queries.record(query("MATCH (n) RETURN n"), MapValue.EMPTY, plan())
+    queries.record(query("EXPLAIN MATCH (m) RETURN m", CypherExecutionMode.explain), MapValue.EMPTY, plan())
+    queries.record(query("PROFILE MATCH (o) RETURN o", CypherExecutionMode.profile), MapValue.EMPTY, plan())
+
+    queries.recorded.map(_.statement) should contain theSameElementsAs Seq(
+      "EXPLAIN MATCH (n) RETURN n",
+      "EXPLAIN MATCH (m) RETURN m"
+    )
+  }
+
+  test("should not remember queries when disabled") {
+    val disabled = new PersistedQueries(enabled = false, CacheSize.Static(10))
+    disabled.record(query("RETURN $x"), MapValue.EMPTY, plan())
+    disabled.recorded shouldBe empty
+  }
+
+  test("should forget the least frequently executed queries when full") {
+    val queries = new PersistedQueries(enabled = true, CacheSize.Static(10))
+    val hotPlans = (0 until 5).map { i =>
+      val hotPlan = plan()
+      queries.record(query(s"RETURN $$hot$i"), MapValue.EMPTY, hotPlan)
+      hotPlan
+    }
+
+    val oneOffPlans = (0 until 100).map { i =>
+      val oneOffPlan = plan()
+      queries.record(query(s"RETURN $$oneOff$i"), MapValue.EMPTY, oneOffPlan)
+      queries.executed(oneOffPlan)
+      hotPlans.foreach(queries.executed)
+      // executions are recorded through a lossy buffer, drain it every round
+      queries.recorded
+      oneOffPlan
+    }
+
+    val recorded = queries.recorded.map(_.statement)
+    recorded.size should be <= 10
+    recorded should contain allElementsOf (0 until 5).map(i => s"EXPLAIN RETURN $$hot$i")
+    // keep the one-off plans reachable, they are weak keys
+    oneOffPlans should have size 100
+  }
+
+  test("should only remember queries of plans without literals") {
+    val queries = new PersistedQueries(enabled = true, CacheSize.Static(10))
+
+    queries.record(query("MATCH (n:User {name: 'Alice'}) RETURN n"), MapValue.EMPTY, plan(hasLiterals = true))
+    queries.record(query("MATCH (n:User {name: $name}) RETURN n"), MapValue.EMPTY, plan())
+
+    queries.recorded.map(_.statement) shouldBe Seq("EXPLAIN MATCH (n:User {name: $name}) RETURN n")
+  }
+
+  test("should find string and number literals in statements") {
+    PersistedQueries.hasLiterals(parse("MATCH (n:User {name: 'Alice'}) RETURN n"), None) shouldBe true
+    PersistedQueries.hasLiterals(parse("MATCH (n:User) WHERE n.age > 42 RETURN n"), None) shouldBe true
+    PersistedQueries.hasLiterals(parse("MATCH (n:User) RETURN n LIMIT 10"), None) shouldBe true
+    PersistedQueries.hasLiterals(
+      parse("MATCH (n:User {name: $name}) WHERE n.active = true RETURN n"),
+      None
+    ) shouldBe false
+    PersistedQueries.hasLiterals(parse("MATCH (n:`User 1`) RETURN n.`prop'2`"), None) shouldBe false
+  }
+
+  test("should treat auto-parametrized literals as literals") {
+    val statement = parse("MATCH (n:User) WHERE n.age > $age RETURN n")
+    val autoParameter = AutoExtractedParameter("  AUTOINT0", CTInteger)(InputPosition.NONE)
+    val extracted =
+      Map[AutoExtractedParameter, Expression](autoParameter -> SignedDecimalIntegerLiteral("42")(InputPosition.NONE))
+
+    PersistedQueries.hasLiterals(statement, Some(Map.empty)) shouldBe false
+    PersistedQueries.hasLiterals(statement, Some(extracted)) shouldBe true
+  }
+
+  test("should create placeholder parameters with the same parameter types") {
+    val persisted = PersistedQuery("EXPLAIN RETURN 1", PersistedQueries.parameterTypes(params))
+
+    val placeholders = new MapValueBuilder()
+    persisted.placeholderParameters.forEach((name, value) => placeholders.add(name, value.asInstanceOf[AnyValue]))
+
+    QueryCache.extractParameterTypeMap(placeholders.build(), useSizeHint = true) shouldEqual
+      QueryCache.extractParameterTypeMap(params, useSizeHint = true)
+    QueryCache.extractParameterTypeMap(placeholders.build(), useSizeHint = false) shouldEqual
+      QueryCache.extractParameterTypeMap(params, useSizeHint = false)
+  }
+
+  test("should create placeholder parameters that are values, and smaller than the original values") {
+    val persisted = PersistedQuery("EXPLAIN RETURN 1", PersistedQueries.parameterTypes(params))
+    val placeholders = persisted.placeholderParameters
+
+    placeholders.get("missing") should not be Values.NO_VALUE
+    placeholders.get("long").asInstanceOf[TextValue].length() should be < 12345
+    placeholders.get("ids").asInstanceOf[ListValue].size() should be < 42
+  }
+
+  test("should not persist parameter values") {
+    PersistedQueries.parameterTypes(params).values.mkString should not include "Alice"
+    PersistedQueries.parameterTypes(params).values.mkString should not include "12345"
+  }
+
+  test("should write and read persisted queries") {
+    val persisted = Seq(
+      PersistedQuery("EXPLAIN MATCH (n {name: $name}) RETURN n", PersistedQueries.parameterTypes(params)),
+      PersistedQuery("EXPLAIN RETURN $ünïcödé", Map.empty)
+    )
+
+    val out = new ByteArrayOutputStream()
+    PersistedQueries.write(persisted, out)
+
+    PersistedQueries.read(new ByteArrayInputStream(out.toByteArray)) shouldEqual persisted
+  }
+
+  test("should discard queries that could not be restored") {
+    val queries = new PersistedQueries(enabled = true, CacheSize.Static(10))
+    val kept = PersistedQuery("EXPLAIN RETURN 1", Map.empty)
+    val broken = PersistedQuery("EXPLAIN CALL gone()", Map.empty)
+    queries.recordPersisted(Seq(kept, broken))
+
+    queries.restored()
+    queries.discarded(broken)
+
+    queries.recorded shouldBe Seq(kept)
+    queries.numberOfRestoredQueries shouldBe 1
+    queries.numberOfDiscardedQueries shouldBe 1
+  }
+
+  private def query(
+    statement: String,
+    executionMode: CypherExecutionMode = CypherExecutionMode.default
+  ): PreParsedQuery = {
+    val options = QueryOptions.default
+    PreParsedQuery(
+      statement.stripPrefix("EXPLAIN ").stripPrefix("PROFILE "),
+      statement,
+      options.copy(queryOptions = options.queryOptions.copy(executionMode = executionMode))
+    )
+  }
+
+  private def plan(hasLiterals: Boolean = false): ExecutableQuery = {
+    val executableQuery = mock[ExecutableQuery]
+    when(executableQuery.hasLiterals).thenReturn(hasLiterals)
+    executableQuery
+  }
+
+  private def parse(statement: String) = JavaCCParser.parse(statement, Neo4jCypherExceptionFactory(statement, None))
+
+  private def map(entries: (String, AnyValue)*): MapValue = {
+    val builder = new MapValueBuilder()
+    entries.foreach { case (key, value) => builder.add(key, value) }
+    builder.build()
+  }
+}
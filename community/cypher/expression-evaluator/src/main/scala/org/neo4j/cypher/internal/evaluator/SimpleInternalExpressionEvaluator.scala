@@ -139,6 +139,8 @@ object SimpleInternalExpressionEvaluator {
 
     override def get(trackerIndex: Int, predicatesCount: Int): SelectivityTracker =
       new SelectivityTracker(predicatesCount)
+
+    override def emptyCopy(): SelectivityTrackerStorage = this
   }
 
   private val CONVERTERS =
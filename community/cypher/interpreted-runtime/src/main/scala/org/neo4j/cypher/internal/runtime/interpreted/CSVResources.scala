@@ -19,11 +19,15 @@
  */
 package org.neo4j.cypher.internal.runtime.interpreted
 
+import org.neo4j.configuration.GraphDatabaseInternalSettings
 import org.neo4j.csv.reader.BufferOverflowException
+import org.neo4j.csv.reader.CharSeeker
 import org.neo4j.csv.reader.CharSeekers
 import org.neo4j.csv.reader.Configuration
+import org.neo4j.csv.reader.Extractor
 import org.neo4j.csv.reader.Extractors
 import org.neo4j.csv.reader.Mark
+import org.neo4j.csv.reader.ThreadAheadRows
 import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.ExternalCSVResource
@@ -34,6 +38,7 @@ import org.neo4j.graphdb.security.AuthorizationViolationException
 import org.neo4j.graphdb.security.URLAccessValidationError
 import org.neo4j.internal.kernel.api.AutoCloseablePlus
 import org.neo4j.internal.kernel.api.DefaultCloseListenable
+import org.neo4j.scheduler.Group
 import org.neo4j.values.storable.Value
 import org.neo4j.values.storable.Values
 
@@ -42,6 +47,7 @@ import java.net.CookieManager
 import java.net.CookiePolicy
 import java.net.URI
 import java.net.URISyntaxException
+import java.util.concurrent.Executor
 
 import scala.collection.mutable.ArrayBuffer
 import scala.util.Failure
@@ -53,6 +59,11 @@ object CSVResources {
   val DEFAULT_BUFFER_SIZE: Int = 2 * 1024 * 1024
   val DEFAULT_QUOTE_CHAR: Char = '"'
 
+  /**
+   * The number of rows in each batch parsed ahead of the query, when [[GraphDatabaseInternalSettings.load_csv_read_ahead]] is enabled.
+   */
+  val READ_AHEAD_BATCH_SIZE: Int = 1024
+
   private def config(legacyCsvQuoteEscaping: Boolean, csvBufferSize: Int) = Configuration.newBuilder()
     .withQuotationCharacter(DEFAULT_QUOTE_CHAR)
     .withBufferSize(csvBufferSize)
@@ -103,8 +114,19 @@ class CSVResources(resourceManager: ResourceManager) extends ExternalCSVResource
         throw new LoadExternalResourceException(s"Cannot load from URL '$urlString': ${error.getMessage}", error)
     }
     val delimiter: Char = fieldTerminator.map(_.charAt(0)).getOrElse(CSVResources.DEFAULT_FIELD_TERMINATOR)
+    val readAhead: Boolean = query.getConfig.get(GraphDatabaseInternalSettings.load_csv_read_ahead)
+    // When reading ahead, the input is read in the same jobs that parse it
     val seeker = CharSeekers.charSeeker(reader, CSVResources.config(legacyCsvQuoteEscaping, bufferSize), false)
     val extractor = new Extractors(delimiter).textValue()
+    if (readAhead) {
+      return threadAheadCsvIterator(
+        uri,
+        seeker,
+        extractor,
+        delimiter,
+        query.transactionalContext.jobScheduler.executor(Group.CYPHER_LOAD_CSV)
+      )
+    }
     val intDelimiter = delimiter.toInt
     val mark = new Mark
 
@@ -127,12 +149,7 @@ class CSVResources(resourceManager: ResourceManager) extends ExternalCSVResource
             if (mark.isEndOfLine) return if (buffer.isEmpty) null else buffer.toArray
           }
         } catch {
-          case e: BufferOverflowException => throw new CypherExecutionException(
-              """Tried to read a field larger than the current buffer size.
-                | Make sure that the field doesn't have an unterminated quote,
-                | if it doesn't you can try increasing the buffer size via `dbms.import.csv.buffer_size`.""".stripMargin,
-              e
-            )
+          case e: BufferOverflowException => throw bufferOverflow(e)
         }
 
         if (buffer.isEmpty) {
@@ -156,6 +173,57 @@ class CSVResources(resourceManager: ResourceManager) extends ExternalCSVResource
       }
     }
   }
+
+  /**
+   * Reads the rows with [[ThreadAheadRows]], so that reading, decompressing and parsing the input runs in jobs on the
+   * given executor while the query consumes the rows read so far.
+   */
+  private def threadAheadCsvIterator(
+    uri: URI,
+    seeker: CharSeeker,
+    extractor: Extractor[Value],
+    delimiter: Char,
+    executor: Executor
+  ): LoadCsvIterator = {
+    val rows = ThreadAheadRows.threadAhead(seeker, extractor, delimiter, CSVResources.READ_AHEAD_BATCH_SIZE, executor)
+
+    val resource = CSVResource(uri, rows)
+    resourceManager.trace(resource)
+
+    new LoadCsvIterator {
+      var lastProcessed = 0L
+      var readAll = false
+
+      override protected[this] def closeMore(): Unit = resource.close()
+
+      private def readNextRow: Array[Value] =
+        try {
+          rows.next()
+        } catch {
+          case e: BufferOverflowException => throw bufferOverflow(e)
+        }
+
+      var nextRow: Array[Value] = readNextRow
+
+      override def innerHasNext: Boolean = nextRow != null
+
+      override def next(): Array[Value] = {
+        if (!hasNext) Iterator.empty.next()
+        val row = nextRow
+        nextRow = readNextRow
+        lastProcessed += 1
+        readAll = !hasNext
+        row
+      }
+    }
+  }
+
+  private def bufferOverflow(e: BufferOverflowException) = new CypherExecutionException(
+    """Tried to read a field larger than the current buffer size.
+      | Make sure that the field doesn't have an unterminated quote,
+      | if it doesn't you can try increasing the buffer size via `dbms.import.csv.buffer_size`.""".stripMargin,
+    e
+  )
 }
 
 object TheCookieManager {
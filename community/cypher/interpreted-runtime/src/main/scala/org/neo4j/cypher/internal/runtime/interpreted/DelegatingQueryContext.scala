@@ -93,6 +93,7 @@ import org.neo4j.kernel.impl.query.FunctionInformation
 import org.neo4j.kernel.impl.query.statistic.StatisticProvider
 import org.neo4j.logging.InternalLogProvider
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.AnyValue
 import org.neo4j.values.ElementIdMapper
 import org.neo4j.values.ValueMapper
@@ -837,4 +838,6 @@ class DelegatingQueryTransactionalContext(val inner: QueryTransactionalContext)
   override def createValueMapper: ValueMapper[AnyRef] = inner.createValueMapper
 
   override def constituentTransactionFactory: ConstituentTransactionFactory = inner.constituentTransactionFactory
+
+  override def jobScheduler: JobScheduler = inner.jobScheduler
 }
@@ -333,6 +333,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.TopNPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TrailPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionApplyPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionForeachPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TriadicSelectionPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.UndirectedAllRelationshipsScanPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.UndirectedRelationshipByIdSeekPipe
@@ -1926,6 +1927,7 @@ case class InterpretedPipeMapper(
           lhs,
           rhs,
           buildExpression(batchSize),
+          TransactionPipeWrapper.concurrencyExpression(concurrency, buildExpression),
           onErrorBehaviour,
           maybeReportAs.map(_.name)
         )(id = id)
@@ -1935,6 +1937,7 @@ case class InterpretedPipeMapper(
           lhs,
           rhs,
           buildExpression(batchSize),
+          TransactionPipeWrapper.concurrencyExpression(concurrency, buildExpression),
           onErrorBehaviour,
           rhsPlan.availableSymbols.map(_.name) -- lhsPlan.availableSymbols.map(_.name),
           maybeReportAs.map(_.name)
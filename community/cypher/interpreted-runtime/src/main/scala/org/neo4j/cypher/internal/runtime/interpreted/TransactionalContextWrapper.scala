@@ -53,6 +53,7 @@ import org.neo4j.kernel.impl.query.TransactionalContext
 import org.neo4j.kernel.impl.query.statistic.StatisticProvider
 import org.neo4j.kernel.impl.util.DefaultValueMapper
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.ElementIdMapper
 import org.neo4j.values.ValueMapper
 
@@ -191,6 +192,10 @@ class SingleThreadedTransactionalContextWrapper(tc: TransactionalContext)
     tc.graph().getDependencyResolver.resolveDependency(classOf[Config])
   }
 
+  override def jobScheduler: JobScheduler = {
+    tc.graph().getDependencyResolver.resolveDependency(classOf[JobScheduler])
+  }
+
   override def kernelExecutingQuery: org.neo4j.kernel.api.query.ExecutingQuery = {
     tc.executingQuery()
   }
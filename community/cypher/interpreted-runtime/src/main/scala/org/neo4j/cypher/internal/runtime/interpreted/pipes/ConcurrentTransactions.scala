@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.interpreted.pipes
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings
+import org.neo4j.cypher.internal.RecoverableCypherError
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorBreak
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorContinue
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorFail
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.QueryStatistics
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.ConcurrentTransactions.Batch
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.CypherRowEntityTransformer
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.assertTransactionStateIsEmpty
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.logError
+import org.neo4j.kernel.api.exceptions.Status
+import org.neo4j.kernel.impl.util.collection.EagerBuffer
+import org.neo4j.kernel.impl.util.collection.EagerBuffer.createEagerBuffer
+import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.Group
+
+import java.util
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.LinkedBlockingQueue
+
+import scala.util.Try
+import scala.util.control.NonFatal
+
+/**
+ * Executes the inner pipe of `CALL { ... } IN CONCURRENT TRANSACTIONS` for batches of outer rows, with up to
+ * `concurrency` batches executing at the same time. Every batch executes in its own transaction on a worker thread,
+ * while the query thread begins the transactions and hands over the results of finished batches.
+ *
+ * Returns each batch of outer rows together with the result of its transaction. The batches are returned in input
+ * order if `preserveOrder` is set, and in the order their transactions finish otherwise.
+ *
+ * The error behaviour is the same as for serial transactions: with `ON ERROR FAIL` the first failed transaction fails
+ * the query, and with `ON ERROR BREAK` no more transactions are started after the first failed transaction. Batches
+ * that were already executing when a transaction failed run to completion and report their own status.
+ *
+ * Closing before all batches have been returned, e.g. when the query fails or is cancelled, terminates the
+ * transactions of the batches that are still executing, and skips the batches that have not started yet.
+ *
+ * @param collectResults whether the inner rows should be returned, otherwise they are discarded
+ * @param memoryTracker  memory tracker for the returned inner rows
+ */
+class ConcurrentTransactions(
+  inner: Pipe,
+  onErrorBehaviour: InTransactionsOnErrorBehaviour,
+  batches: ClosingIterator[EagerBuffer[CypherRow]],
+  state: QueryState,
+  concurrency: Long,
+  collectResults: Boolean,
+  memoryTracker: MemoryTracker
+) extends ClosingIterator[(EagerBuffer[CypherRow], TransactionResult)] {
+
+  private[this] val executor: Executor =
+    state.query.transactionalContext.jobScheduler.executor(Group.CYPHER_TRANSACTIONS)
+
+  private[this] val preserveOrder: Boolean =
+    state.query.getConfig.get(GraphDatabaseInternalSettings.cypher_concurrent_transactions_preserve_order)
+
+  // Batches that have been started and not yet returned, in input order
+  private[this] val inFlight = new util.ArrayDeque[Batch]()
+  // Batches that have finished, in the order they finished. Only used if the input order is not preserved.
+  private[this] val finished = new LinkedBlockingQueue[Batch]()
+  private[this] var break = false
+
+  override protected[this] def innerHasNext: Boolean = !inFlight.isEmpty || batches.hasNext
+
+  override def next(): (EagerBuffer[CypherRow], TransactionResult) = {
+    startBatches()
+    if (inFlight.isEmpty) {
+      (batches.next(), TransactionResult(NotRun, None))
+    } else {
+      val batch =
+        if (preserveOrder) {
+          val head = inFlight.poll()
+          head.awaitFinished()
+          head
+        } else {
+          val first = finished.take()
+          inFlight.remove(first)
+          first
+        }
+      complete(batch)
+    }
+  }
+
+  override protected[this] def closeMore(): Unit = {
+    var failure: Throwable = null
+    inFlight.forEach { batch =>
+      try {
+        batch.terminate()
+      } catch {
+        case NonFatal(e) =>
+          if (failure == null) failure = e else failure.addSuppressed(e)
+      }
+    }
+    while (!inFlight.isEmpty) {
+      val batch = inFlight.poll()
+      try {
+        batch.awaitFinished()
+        batch.outerRows.close()
+        batch.close()
+      } catch {
+        case NonFatal(e) =>
+          if (failure == null) failure = e else failure.addSuppressed(e)
+      }
+    }
+    batches.close()
+    if (failure != null) {
+      throw failure
+    }
+  }
+
+  private def startBatches(): Unit = {
+    while (!break && inFlight.size() < concurrency && batches.hasNext) {
+      val outerRows = batches.next()
+
+      // Ensure that no write happens before a 'CALL { ... } IN TRANSACTIONS'
+      assertTransactionStateIsEmpty(state)
+
+      // beginTx()
+      val stateWithNewTransaction =
+        try {
+          state.withNewConcurrentTransaction()
+        } catch {
+          case e: Throwable =>
+            outerRows.close()
+            throw e
+        }
+      state.query.addStatistics(QueryStatistics(transactionsStarted = 1))
+
+      val batch = new Batch(inner, outerRows, stateWithNewTransaction, collectResults, finished, preserveOrder)
+      try {
+        executor.execute(batch)
+      } catch {
+        case e: Throwable =>
+          Try(batch.close()).failed.foreach(e.addSuppressed)
+          outerRows.close()
+          throw e
+      }
+      inFlight.add(batch)
+    }
+  }
+
+  private def complete(batch: Batch): (EagerBuffer[CypherRow], TransactionResult) = {
+    try {
+      if (batch.fatalFailure != null) {
+        throw batch.fatalFailure
+      }
+
+      val result = batch.status match {
+        case commit: Commit =>
+          state.query.addStatistics(batch.statistics)
+          state.query.addStatistics(QueryStatistics(transactionsCommitted = 1))
+          TransactionResult(commit, if (collectResults) Some(bufferInnerRows(batch)) else None)
+
+        case rollback @ Rollback(transactionId, failure) =>
+          logError(state, transactionId, failure)
+          state.query.addStatistics(QueryStatistics(transactionsRolledBack = 1))
+          onErrorBehaviour match {
+            case OnErrorFail     => throw failure
+            case OnErrorBreak    => break = true
+            case OnErrorContinue =>
+          }
+          TransactionResult(rollback, None)
+
+        case NotRun => throw new IllegalStateException("A started transaction cannot have the status NotRun")
+      }
+      (batch.outerRows, result)
+    } catch {
+      case e: Throwable =>
+        batch.outerRows.close()
+        throw e
+    } finally {
+      batch.close()
+    }
+  }
+
+  private def bufferInnerRows(batch: Batch): EagerBuffer[CypherRow] = {
+    val entityTransformer = new CypherRowEntityTransformer(state.query.entityTransformer)
+    val innerRows = batch.innerRows
+    val buffer = createEagerBuffer[CypherRow](memoryTracker, math.max(math.min(innerRows.size(), 1024), 1))
+    var i = 0
+    while (i < innerRows.size()) {
+      buffer.add(entityTransformer.copyWithEntityWrappingValuesRebound(innerRows.get(i)))
+      i += 1
+    }
+    buffer
+  }
+}
+
+object ConcurrentTransactions {
+
+  /**
+   * One batch of outer rows and the inner transaction it executes in.
+   *
+   * Created and closed by the query thread, and run by a worker thread in between. Everything that the worker thread
+   * writes is published to the query thread by [[awaitFinished]] or by the queue of finished batches.
+   */
+  private class Batch(
+    inner: Pipe,
+    val outerRows: EagerBuffer[CypherRow],
+    stateWithNewTransaction: QueryState,
+    collectResults: Boolean,
+    finished: LinkedBlockingQueue[Batch],
+    preserveOrder: Boolean
+  ) extends Runnable with AutoCloseable {
+
+    private[this] val innerTxContext = stateWithNewTransaction.query.transactionalContext
+    private[this] val transactionId = innerTxContext.userTransactionId
+    private[this] val done = new CountDownLatch(1)
+    @volatile private[this] var terminated = false
+
+    // The inner rows are only tracked by the inner transaction until they are copied by the query thread
+    val innerRows = new util.ArrayList[CypherRow]()
+    var statistics: QueryStatistics = _
+    var status: TransactionStatus = _
+    var fatalFailure: Throwable = _
+
+    override def run(): Unit = {
+      try {
+        if (!terminated) {
+          executeInNewTransaction()
+        }
+      } catch {
+        case e: Throwable => fatalFailure = e
+      } finally {
+        done.countDown()
+        if (!preserveOrder) {
+          finished.add(this)
+        }
+      }
+    }
+
+    def awaitFinished(): Unit = done.await()
+
+    /**
+     * Stop executing this batch. Called by the query thread, while a worker thread may be executing the batch.
+     */
+    def terminate(): Unit = {
+      terminated = true
+      if (done.getCount > 0) {
+        innerTxContext.markForTermination(Status.Transaction.Terminated)
+      }
+    }
+
+    override def close(): Unit = {
+      try {
+        innerTxContext.close()
+      } finally {
+        stateWithNewTransaction.close()
+      }
+    }
+
+    private def executeInNewTransaction(): Unit = {
+      val entityTransformer = new CypherRowEntityTransformer(stateWithNewTransaction.query.entityTransformer)
+      var innerIterator: ClosingIterator[CypherRow] = null
+      try {
+        val batchIterator = outerRows.iterator()
+        while (batchIterator.hasNext) {
+          val outerRow = batchIterator.next()
+
+          outerRow.invalidateCachedProperties()
+
+          val reboundRow = entityTransformer.copyWithEntityWrappingValuesRebound(outerRow)
+          val innerState = stateWithNewTransaction.withInitialContext(reboundRow)
+
+          innerIterator = inner.createResults(innerState)
+          // Consume result before commit
+          while (innerIterator.hasNext) {
+            val innerRow = innerIterator.next()
+            if (collectResults) {
+              // Row based caching relies on the transaction state to avoid stale reads (see AbstractCachedProperty.apply).
+              // Since we do not share the transaction state we must clear the cached properties.
+              innerRow.invalidateCachedProperties()
+              innerRows.add(innerRow)
+            }
+          }
+        }
+
+        statistics = stateWithNewTransaction.getStatistics
+        innerTxContext.commitTransaction()
+        status = Commit(transactionId)
+      } catch {
+        case RecoverableCypherError(e) =>
+          innerRows.clear()
+
+          Try(Option(innerIterator).foreach(_.close()))
+            .failed
+            .foreach(e.addSuppressed)
+
+          try {
+            innerTxContext.rollback()
+          } catch {
+            case NonFatal(rollbackException) =>
+              e.addSuppressed(rollbackException)
+              throw e
+          }
+          status = Rollback(transactionId, e)
+      }
+    }
+  }
+}
@@ -27,7 +27,8 @@ import org.neo4j.internal.kernel.api.TokenWrite
 
 class LazyLabel(val name: String) {
 
-  private var id: Int = LazyLabel.UNKNOWN
+  // Volatile, since the pipes of 'CALL { ... } IN CONCURRENT TRANSACTIONS' are shared by several threads
+  @volatile private var id: Int = LazyLabel.UNKNOWN
 
   def getId(context: ReadTokenContext): Int = {
     if (id == LazyLabel.UNKNOWN) {
@@ -25,7 +25,8 @@ import org.neo4j.cypher.internal.planner.spi.ReadTokenContext
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyPropertyKey.UNKNOWN
 
 case class LazyPropertyKey(name: String) {
-  private var id: Int = UNKNOWN
+  // Volatile, since the pipes of 'CALL { ... } IN CONCURRENT TRANSACTIONS' are shared by several threads
+  @volatile private var id: Int = UNKNOWN
 
   def id(context: ReadTokenContext): Int = {
     if (id == UNKNOWN) {
@@ -27,7 +27,8 @@ import org.neo4j.internal.kernel.api.TokenWrite
 
 case class LazyType(name: String) {
 
-  private var id = LazyType.UNKNOWN
+  // Volatile, since the pipes of 'CALL { ... } IN CONCURRENT TRANSACTIONS' are shared by several threads
+  @volatile private var id = LazyType.UNKNOWN
 
   def getOrCreateType(context: WriteQueryContext): Int = {
     if (id == LazyType.UNKNOWN) {
@@ -33,7 +33,9 @@ import org.neo4j.cypher.internal.runtime.SelectivityTrackerStorage
 import org.neo4j.cypher.internal.runtime.interpreted.CSVResources
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState.createDefaultInCache
 import org.neo4j.cypher.internal.runtime.memory.MemoryTrackerForOperatorProvider
+import org.neo4j.cypher.internal.runtime.memory.NoOpQueryMemoryTracker
 import org.neo4j.cypher.internal.runtime.memory.QueryMemoryTracker
+import org.neo4j.cypher.internal.runtime.memory.TrackingQueryMemoryTracker
 import org.neo4j.graphdb.TransactionFailureException
 import org.neo4j.internal.kernel
 import org.neo4j.internal.kernel.api.IndexReadSession
@@ -175,7 +177,19 @@ class QueryState(
       input
     )
 
-  def withNewTransaction(): QueryState = {
+  def withNewTransaction(): QueryState = withNewTransaction(concurrent = false)
+
+  /**
+   * Create a state with a new transaction, like [[withNewTransaction]], for a worker thread executing
+   * 'CALL { ... } IN CONCURRENT TRANSACTIONS'.
+   *
+   * The new state must be created and closed by the thread owning this state, but may be used by a single other thread in between.
+   * Everything that is mutated while executing the inner query (expression variables, the IN cache, the selectivity trackers
+   * and the query memory tracker) is private to the new state. The new state is not profiled.
+   */
+  def withNewConcurrentTransaction(): QueryState = withNewTransaction(concurrent = true)
+
+  private def withNewTransaction(concurrent: Boolean): QueryState = {
     if (query.getTransactionType != KernelTransaction.Type.IMPLICIT) {
       throw new TransactionFailureException(
         "A query with 'CALL { ... } IN TRANSACTIONS' can only be executed in an implicit transaction, " + "but tried to execute in an explicit transaction.",
@@ -202,13 +216,24 @@ class QueryState(
     val newRelTypeTokenReadSession =
       relTypeTokenReadSession.map(t => newQuery.transactionalContext.dataRead.tokenReadSession(t.reference()))
 
-    // Reusing the expressionVariables should work as long as we do not implement parallelism
-    val newExpressionVariables = expressionVariables
+    // Reusing the expressionVariables should work as long as the new transaction executes on this thread
+    val newExpressionVariables = if (concurrent) expressionVariables.clone() else expressionVariables
+
+    val newDecorator = if (concurrent) NullPipeDecorator else decorator
 
-    val newDecorator = decorator
+    // Reusing the IN cache should work as long as the new transaction executes on this thread
+    val newCachedIn = if (concurrent) createDefaultInCache() else cachedIn
 
-    // Reusing the IN cache should work as long as we do not implement parallelism
-    val newCachedIn = cachedIn
+    // Selectivity trackers are updated on every evaluation of their predicates
+    val newSelectivityTrackerStorage =
+      if (concurrent) selectivityTrackerStorage.emptyCopy() else selectivityTrackerStorage
+
+    // TrackingQueryMemoryTracker is not thread safe, the memory is still tracked by the new transaction
+    val newQueryMemoryTracker = queryMemoryTracker match {
+      case tracker if !concurrent => tracker
+      case NoOpQueryMemoryTracker => NoOpQueryMemoryTracker
+      case _                      => new TrackingQueryMemoryTracker
+    }
 
     QueryState(
       newQuery,
@@ -216,12 +241,12 @@ class QueryState(
       params,
       newCursors,
       newQueryIndexes,
-      selectivityTrackerStorage,
+      newSelectivityTrackerStorage,
       newNodeLabelTokenReadSession,
       newRelTypeTokenReadSession,
       newExpressionVariables,
       subscriber,
-      queryMemoryTracker,
+      newQueryMemoryTracker,
       newDecorator,
       initialContext,
       newCachedIn,
@@ -231,6 +256,49 @@ class QueryState(
     )
   }
 
+  /**
+   * Create a state for a worker thread that reads from the same transaction as this state.
+   *
+   * The new state must be created and closed by the thread owning this state, but may be used by a single other thread in between.
+   * Everything that is mutated during expression evaluation (cursors, expression variables, the IN cache, the selectivity
+   * trackers and the query memory tracker) is private to the new state, the rest is shared with this state.
+   */
+  def withParallelQueryContext(): QueryState = {
+    val newQuery = query.createParallelQueryContext()
+    val newCursors = newQuery.createExpressionCursors()
+    val newQueryIndexes = queryIndexes.map(i => newQuery.transactionalContext.dataRead.indexReadSession(i.reference()))
+    val newNodeLabelTokenReadSession =
+      nodeLabelTokenReadSession.map(t => newQuery.transactionalContext.dataRead.tokenReadSession(t.reference()))
+    val newRelTypeTokenReadSession =
+      relTypeTokenReadSession.map(t => newQuery.transactionalContext.dataRead.tokenReadSession(t.reference()))
+
+    // TrackingQueryMemoryTracker is not thread safe, the memory is still tracked by the new execution context
+    val newQueryMemoryTracker = queryMemoryTracker match {
+      case NoOpQueryMemoryTracker => NoOpQueryMemoryTracker
+      case _                      => new TrackingQueryMemoryTracker
+    }
+
+    QueryState(
+      newQuery,
+      resources,
+      params,
+      newCursors,
+      newQueryIndexes,
+      selectivityTrackerStorage.emptyCopy(),
+      newNodeLabelTokenReadSession,
+      newRelTypeTokenReadSession,
+      expressionVariables.clone(),
+      subscriber,
+      newQueryMemoryTracker,
+      NullPipeDecorator,
+      initialContext,
+      createDefaultInCache(),
+      lenientCreateRelationship,
+      prePopulateResults,
+      input
+    )
+  }
+
   def setExecutionContextFactory(rowFactory: CypherRowFactory): Unit = {
     _rowFactory = rowFactory
   }
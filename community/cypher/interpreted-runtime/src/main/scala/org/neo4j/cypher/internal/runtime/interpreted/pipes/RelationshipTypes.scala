@@ -31,7 +31,7 @@ final class EagerTypes(tokens: Array[Int]) extends RelationshipTypes {
   override def types(context: ReadTokenContext): Array[Int] = tokens
 }
 
-final class LazyTypes(names: Array[String], private var ids: Array[Int]) extends RelationshipTypes {
+final class LazyTypes(names: Array[String], @volatile private var ids: Array[Int]) extends RelationshipTypes {
 
   override def types(context: ReadTokenContext): Array[Int] = {
     if (ids.length != names.length) {
@@ -26,6 +26,7 @@ import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionForeachPipe.toStatusMap
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.evaluateBatchSize
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.evaluateConcurrency
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
 import org.neo4j.values.AnyValue
@@ -35,6 +36,7 @@ abstract class AbstractTransactionApplyPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour
 ) extends PipeWithSource(source) {
 
@@ -45,15 +47,29 @@ abstract class AbstractTransactionApplyPipe(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val innerPipeInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
     val batchSizeLong = evaluateBatchSize(batchSize, state)
+    val concurrencyLong = evaluateConcurrency(concurrency, state)
     val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val batches = input.eagerGrouped(batchSizeLong, memoryTracker)
 
-    input
-      .eagerGrouped(batchSizeLong, memoryTracker)
-      .flatMap { batch =>
-        val innerResult = innerPipeInTx.createResults(state, batch, memoryTracker)
+    val results =
+      if (concurrencyLong > 1) {
+        new ConcurrentTransactions(
+          inner,
+          onErrorBehaviour,
+          batches,
+          state,
+          concurrencyLong,
+          collectResults = true,
+          memoryTracker
+        )
+      } else {
+        val innerPipeInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
+        batches.map(batch => (batch, innerPipeInTx.createResults(state, batch, memoryTracker)))
+      }
 
+    results.flatMap {
+      case (batch, innerResult) =>
         val output = innerResult.committedResults match {
           case Some(result) =>
             batch.close()
@@ -62,7 +78,7 @@ abstract class AbstractTransactionApplyPipe(
         }
 
         withStatus(output, innerResult.status)
-      }
+    }
   }
 }
 
@@ -70,10 +86,12 @@ case class TransactionApplyPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour,
   nullableVariables: Set[String],
   statusVariableOpt: Option[String]
-)(val id: Id = Id.INVALID_ID) extends AbstractTransactionApplyPipe(source, inner, batchSize, onErrorBehaviour) {
+)(val id: Id = Id.INVALID_ID)
+    extends AbstractTransactionApplyPipe(source, inner, batchSize, concurrency, onErrorBehaviour) {
 
   private lazy val nullEntries: Seq[(String, AnyValue)] = {
     nullableVariables.toIndexedSeq.map(name => name -> Values.NO_VALUE)
@@ -26,6 +26,7 @@ import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionForeachPipe.toStatusMap
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.evaluateBatchSize
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.evaluateConcurrency
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.NoValue.NO_VALUE
@@ -38,6 +39,7 @@ abstract class AbstractTransactionForeachPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour
 ) extends PipeWithSource(source) {
 
@@ -47,17 +49,31 @@ abstract class AbstractTransactionForeachPipe(
     input: ClosingIterator[CypherRow],
     state: QueryState
   ): ClosingIterator[CypherRow] = {
-    val innerInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
     val batchSizeLong = evaluateBatchSize(batchSize, state)
+    val concurrencyLong = evaluateConcurrency(concurrency, state)
     val memoryTracker = state.memoryTrackerForOperatorProvider.memoryTrackerForOperator(id.x)
+    val batches = input.eagerGrouped(batchSizeLong, memoryTracker)
 
-    input
-      .eagerGrouped(batchSizeLong, memoryTracker)
-      .flatMap { batch =>
+    if (concurrencyLong > 1) {
+      new ConcurrentTransactions(
+        inner,
+        onErrorBehaviour,
+        batches,
+        state,
+        concurrencyLong,
+        collectResults = false,
+        memoryTracker
+      ).flatMap {
+        case (batch, result) => withStatus(batch.autoClosingIterator().asClosingIterator, result.status)
+      }
+    } else {
+      val innerInTx = TransactionPipeWrapper(onErrorBehaviour, inner)
+      batches.flatMap { batch =>
         val status = innerInTx.consume(state, batch)
         val output = batch.autoClosingIterator().asClosingIterator
         withStatus(output, status)
       }
+    }
   }
 }
 
@@ -65,11 +81,12 @@ case class TransactionForeachPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour,
   statusVariableOpt: Option[String]
 )(
   val id: Id = Id.INVALID_ID
-) extends AbstractTransactionForeachPipe(source, inner, batchSize, onErrorBehaviour) {
+) extends AbstractTransactionForeachPipe(source, inner, batchSize, concurrency, onErrorBehaviour) {
 
   override protected def withStatus(
     output: ClosingIterator[CypherRow],
@@ -24,12 +24,15 @@ import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour
 import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorBreak
 import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorContinue
 import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorFail
+import org.neo4j.cypher.internal.expressions
+import org.neo4j.cypher.internal.logical.plans.TransactionConcurrency
 import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
 import org.neo4j.cypher.internal.runtime.EntityTransformer
 import org.neo4j.cypher.internal.runtime.QueryStatistics
 import org.neo4j.cypher.internal.runtime.QueryTransactionalContext
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.CypherRowEntityTransformer
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.assertTransactionStateIsEmpty
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper.commitTransactionWithStatistics
@@ -38,6 +41,7 @@ import org.neo4j.exceptions.InternalException
 import org.neo4j.kernel.impl.util.collection.EagerBuffer
 import org.neo4j.kernel.impl.util.collection.EagerBuffer.createEagerBuffer
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.values.storable.Values
 
 import scala.util.Try
 import scala.util.control.NonFatal
@@ -246,6 +250,37 @@ object TransactionPipeWrapper {
     PipeHelper.evaluateStaticLongOrThrow(batchSize, _ > 0, state, "OF ... ROWS", " Must be a positive integer.")
   }
 
+  /**
+   * The expression for the number of batches to execute at the same time, or None if the batches should execute serially.
+   * Without an explicit concurrency, as many batches as there are available processors execute at the same time.
+   */
+  def concurrencyExpression(
+    concurrency: TransactionConcurrency,
+    convert: expressions.Expression => Expression
+  ): Option[Expression] = concurrency match {
+    case TransactionConcurrency.Serial                   => None
+    case TransactionConcurrency.Concurrent(Some(number)) => Some(convert(number))
+    case TransactionConcurrency.Concurrent(None) =>
+      Some(Literal(Values.longValue(Runtime.getRuntime.availableProcessors())))
+  }
+
+  /**
+   * The number of batches to execute at the same time, or 1 if the batches should execute serially.
+   *
+   * Concurrent transactions are not profiled, so batches execute serially when profiling.
+   */
+  def evaluateConcurrency(concurrency: Option[Expression], state: QueryState): Long = concurrency match {
+    case Some(expression) if state.decorator eq NullPipeDecorator =>
+      PipeHelper.evaluateStaticLongOrThrow(
+        expression,
+        _ > 0,
+        state,
+        "IN ... CONCURRENT TRANSACTIONS",
+        " Must be a positive integer."
+      )
+    case _ => 1L
+  }
+
   def assertTransactionStateIsEmpty(state: QueryState): Unit = {
     if (state.query.transactionalContext.dataRead.transactionStateHasChanges)
       throw new InternalException("Expected transaction state to be empty when calling transactional subquery.")
@@ -261,7 +296,7 @@ object TransactionPipeWrapper {
     outerQueryState.query.addStatistics(executionStatistics)
   }
 
-  private def logError(state: QueryState, innerTxId: String, t: Throwable): Unit = {
+  private[pipes] def logError(state: QueryState, innerTxId: String, t: Throwable): Unit = {
     val outerTxId = state.query.transactionalContext.userTransactionId
     val log = state.query.logProvider.getLog(getClass)
     log.info(s"Recover error in inner transaction $innerTxId (outer transaction $outerTxId)", t)
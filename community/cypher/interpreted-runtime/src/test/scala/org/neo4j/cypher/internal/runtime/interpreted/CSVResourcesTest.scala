@@ -21,24 +21,35 @@ package org.neo4j.cypher.internal.runtime.interpreted
 
 import org.apache.commons.lang3.SystemUtils
 import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito.never
 import org.mockito.Mockito.verify
 import org.mockito.Mockito.when
 import org.mockito.invocation.InvocationOnMock
 import org.neo4j.configuration.Config
+import org.neo4j.configuration.GraphDatabaseInternalSettings
 import org.neo4j.configuration.GraphDatabaseSettings
 import org.neo4j.csv.reader.Readables
 import org.neo4j.cypher.internal.runtime.CreateTempFileTestSupport
 import org.neo4j.cypher.internal.runtime.QueryContext
+import org.neo4j.cypher.internal.runtime.QueryTransactionalContext
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.CSVResources.DEFAULT_BUFFER_SIZE
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.internal.kernel.api.AutoCloseablePlus
 import org.neo4j.io.fs.FileUtils
+import org.neo4j.scheduler.CallableExecutor
+import org.neo4j.scheduler.Group
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.Values
 
 import java.net.URI
 import java.nio.charset.StandardCharsets
 import java.nio.file.Paths
+import java.util.concurrent.Callable
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.Future
+import java.util.concurrent.atomic.AtomicInteger
 
 class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
 
@@ -46,6 +57,8 @@ class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
   var cleaner: ResourceManager = _
   var queryContext: QueryContext = _
   var config: Config = _
+  var jobScheduler: JobScheduler = _
+  val readAheadJobs = new AtomicInteger()
 
   override def beforeEach(): Unit = {
     cleaner = mock[ResourceManager]
@@ -55,6 +68,21 @@ class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
     resources = new CSVResources(cleaner)
     when(queryContext.getConfig).thenReturn(config)
     when(config.get(GraphDatabaseSettings.allow_file_urls)).thenReturn(true)
+    when(config.get(GraphDatabaseInternalSettings.load_csv_read_ahead)).thenReturn(true)
+    jobScheduler = mock[JobScheduler]
+    readAheadJobs.set(0)
+    val executor = new CallableExecutor {
+      override def execute(job: Runnable): Unit = {
+        readAheadJobs.incrementAndGet()
+        ForkJoinPool.commonPool().execute(job)
+      }
+
+      override def submit[T](callable: Callable[T]): Future[T] = ForkJoinPool.commonPool().submit(callable)
+    }
+    when(jobScheduler.executor(Group.CYPHER_LOAD_CSV)).thenReturn(executor)
+    val transactionalContext = mock[QueryTransactionalContext]
+    when(transactionalContext.jobScheduler).thenReturn(jobScheduler)
+    when(queryContext.transactionalContext).thenReturn(transactionalContext)
   }
 
   test("should handle strings") {
@@ -90,6 +118,86 @@ class CSVResourcesTest extends CypherFunSuite with CreateTempFileTestSupport {
     }
   }
 
+  test("should handle strings without reading ahead") {
+    // given
+    when(config.get(GraphDatabaseInternalSettings.load_csv_read_ahead)).thenReturn(false)
+    val url = createCSVTempFileURL {
+      writer =>
+        writer.println("1,a")
+        writer.println("2")
+        writer.println(",b")
+    }
+    when(queryContext.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
+      Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
+    )
+
+    // when
+    val result = resources.getCsvIterator(
+      url,
+      queryContext,
+      None,
+      legacyCsvQuoteEscaping = false,
+      DEFAULT_BUFFER_SIZE
+    ).toList
+
+    // then
+    result.map(_.toList) should equal(List(
+      List(Values.stringValue("1"), Values.stringValue("a")),
+      List(Values.stringValue("2")),
+      List(Values.NO_VALUE, Values.stringValue("b"))
+    ))
+    verify(jobScheduler, never()).executor(any[Group])
+  }
+
+  test("should read ahead in jobs on the job scheduler") {
+    // given
+    val url = createCSVTempFileURL {
+      writer =>
+        (1 to 3 * CSVResources.READ_AHEAD_BATCH_SIZE).foreach(i => writer.println(s"$i,a"))
+    }
+    when(queryContext.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
+      Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
+    )
+
+    // when
+    val result = resources.getCsvIterator(
+      url,
+      queryContext,
+      None,
+      legacyCsvQuoteEscaping = false,
+      DEFAULT_BUFFER_SIZE
+    ).toList
+
+    // then
+    result should have size 3 * CSVResources.READ_AHEAD_BATCH_SIZE
+    verify(jobScheduler).executor(Group.CYPHER_LOAD_CSV)
+    // one job per batch, and one to find the end of the input
+    readAheadJobs.get() shouldBe 4
+  }
+
+  test("should handle compressed files") {
+    // given
+    val url = createGzipCSVTempFileURL {
+      writer =>
+        (1 to 5000).foreach(i => writer.println(s"$i,row$i"))
+    }
+    when(queryContext.getImportDataConnection(any[URI])).thenAnswer((invocation: InvocationOnMock) =>
+      Readables.files(StandardCharsets.UTF_8, Paths.get(invocation.getArgument[URI](0)))
+    )
+
+    // when
+    val result: List[Array[String]] = resources.getCsvIterator(
+      url,
+      queryContext,
+      None,
+      legacyCsvQuoteEscaping = false,
+      DEFAULT_BUFFER_SIZE
+    ).map(_.map(_.asInstanceOf[TextValue].stringValue)).toList
+
+    // then
+    result.map(_.toList) should equal((1 to 5000).map(i => List(s"$i", s"row$i")).toList)
+  }
+
   test("should handle with headers") {
     // given
     val url = createCSVTempFileURL {
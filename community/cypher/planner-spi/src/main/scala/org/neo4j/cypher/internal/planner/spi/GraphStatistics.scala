@@ -70,6 +70,11 @@ trait GraphStatistics {
    * indexPropertyExistsSelectivity(:X, prop) = s => |MATCH (a:X)| * s = |MATCH (a:X) WHERE x.prop IS NOT NULL|
    */
   def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity]
+
+  /**
+   * The distribution of the values in the index, if the index keeps track of it.
+   */
+  def indexValueDistribution(index: IndexDescriptor): Option[IndexValueDistribution] = None
 }
 
 class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatistics {
@@ -90,6 +95,9 @@ class DelegatingGraphStatistics(delegate: GraphStatistics) extends GraphStatisti
   override def indexPropertyIsNotNullSelectivity(index: IndexDescriptor): Option[Selectivity] =
     delegate.indexPropertyIsNotNullSelectivity(index)
 
+  override def indexValueDistribution(index: IndexDescriptor): Option[IndexValueDistribution] =
+    delegate.indexValueDistribution(index)
+
   override def nodesAllCardinality(): Cardinality = delegate.nodesAllCardinality()
 
   override def mostCommonLabelGivenRelationshipType(typ: Int): Seq[Int] =
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.planner.spi
+
+import org.neo4j.cypher.internal.planner.spi.IndexValueDistribution.Bound
+import org.neo4j.cypher.internal.util.Selectivity
+import org.neo4j.values.storable.Value
+
+/**
+ * The distribution of the values in a single property index, as seen when the index was last sampled.
+ *
+ * All selectivities are fractions of the entries in the index, i.e. they assume that the property IS NOT NULL.
+ */
+trait IndexValueDistribution {
+
+  /**
+   * Selectivity of the values in a range, with at least one bound. None if the distribution of values of the type of
+   * the bounds is not known.
+   */
+  def rangeSelectivity(lower: Option[Bound], upper: Option[Bound]): Option[Selectivity]
+
+  /**
+   * Selectivity of the string values that start with the given prefix.
+   */
+  def prefixSelectivity(prefix: String): Selectivity
+
+  /**
+   * Selectivity of a single value. None if the distribution of values of the type of the value is not known.
+   */
+  def equalitySelectivity(value: Value): Option[Selectivity]
+}
+
+object IndexValueDistribution {
+  case class Bound(value: Value, inclusive: Boolean)
+}
@@ -123,4 +123,11 @@ case class InstrumentedGraphStatistics(inner: GraphStatistics, snapshot: Mutable
   override def mostCommonLabelGivenRelationshipType(typ: Int): Seq[Int] = {
     inner.mostCommonLabelGivenRelationshipType(typ)
   }
+
+  /**
+   * The return value of this method is not recorded in the snapshot. The distribution only refines estimates that are based on the
+   * recorded index selectivities, and it is replaced whenever the index is sampled again.
+   */
+  override def indexValueDistribution(index: IndexDescriptor): Option[IndexValueDistribution] =
+    inner.indexValueDistribution(index)
 }
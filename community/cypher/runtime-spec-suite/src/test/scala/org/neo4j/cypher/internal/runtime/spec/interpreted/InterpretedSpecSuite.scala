@@ -38,6 +38,7 @@ import org.neo4j.cypher.internal.runtime.spec.tests.CachePropertiesTestBase
 import org.neo4j.cypher.internal.runtime.spec.tests.CachePropertiesTxStateTestBase
 import org.neo4j.cypher.internal.runtime.spec.tests.CartesianProductProvidedOrderTestBase
 import org.neo4j.cypher.internal.runtime.spec.tests.CartesianProductTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ConcurrentTransactionApplyTestBase
 import org.neo4j.cypher.internal.runtime.spec.tests.ConditionalApplyTestBase
 import org.neo4j.cypher.internal.runtime.spec.tests.CreateTestBase
 import org.neo4j.cypher.internal.runtime.spec.tests.DeleteDetachExpressionTestBase
@@ -475,6 +476,12 @@ class InterpretedTransactionForeachTest
 class InterpretedTransactionApplyTest
     extends TransactionApplyTestBase(COMMUNITY.EDITION, InterpretedRuntime, SIZE_HINT)
 
+class InterpretedConcurrentTransactionApplyTest
+    extends ConcurrentTransactionApplyTestBase(COMMUNITY.EDITION, InterpretedRuntime, preserveOrder = true)
+
+class InterpretedUnorderedConcurrentTransactionApplyTest
+    extends ConcurrentTransactionApplyTestBase(COMMUNITY.EDITION, InterpretedRuntime, preserveOrder = false)
+
 class InterpretedSetRelationshipPropertyTest
     extends SetRelationshipPropertyTestBase(COMMUNITY.EDITION, InterpretedRuntime, SIZE_HINT)
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.slotted
+
+import org.neo4j.cypher.internal.CommunitySlottedRuntime
+import org.neo4j.cypher.internal.runtime.spec.COMMUNITY
+import org.neo4j.cypher.internal.runtime.spec.slotted.SlottedSpecSuite.SIZE_HINT
+import org.neo4j.cypher.internal.runtime.spec.tests.BatchedPipelineBenchmarkTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.BatchedPipelineTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ConcurrentTransactionApplyTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.ParallelShortestPathTestBase
+import org.neo4j.cypher.internal.runtime.spec.tests.PartitionedNodeCountTestBase
+
+object SlottedSpecSuite {
+  val SIZE_HINT = 1000
+}
+
+class SlottedPartitionedNodeCountTest
+    extends PartitionedNodeCountTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime, SIZE_HINT)
+
+class SlottedParallelShortestPathTest
+    extends ParallelShortestPathTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime)
+
+class SlottedBatchedPipelineTest
+    extends BatchedPipelineTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime, SIZE_HINT)
+
+class SlottedRowPipelineBenchmark
+    extends BatchedPipelineBenchmarkTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime, 0)
+
+class SlottedBatchedPipelineBenchmark
+    extends BatchedPipelineBenchmarkTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime, 1024)
+
+class SlottedConcurrentTransactionApplyTest
+    extends ConcurrentTransactionApplyTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime, preserveOrder = true)
+
+class SlottedUnorderedConcurrentTransactionApplyTest
+    extends ConcurrentTransactionApplyTestBase(COMMUNITY.EDITION, CommunitySlottedRuntime, preserveOrder = false)
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.tests
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_slotted_batch_size
+import org.neo4j.cypher.internal.CypherRuntime
+import org.neo4j.cypher.internal.LogicalQuery
+import org.neo4j.cypher.internal.RuntimeContext
+import org.neo4j.cypher.internal.runtime.spec.Edition
+import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSuite
+
+/**
+ * Times scan, expand and filter pipelines with the given batch size, so that row-at-a-time execution (a batch size of
+ * zero) can be compared with batched execution. Only runs when the system property
+ * `cypher.slotted.benchmark` is set, and prints the median time of each query.
+ */
+abstract class BatchedPipelineBenchmarkTestBase[CONTEXT <: RuntimeContext](
+  edition: Edition[CONTEXT],
+  runtime: CypherRuntime[CONTEXT],
+  batchSize: Int
+) extends RuntimeTestSuite[CONTEXT](
+      edition.copyWith(cypher_slotted_batch_size -> Integer.valueOf(batchSize)),
+      runtime
+    ) {
+
+  private val nNodes = 400
+  private val warmups = 20
+  private val iterations = 30
+
+  test("benchmark count over expand and filter") {
+    assume(System.getProperty("cypher.slotted.benchmark") != null)
+    givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R", bProperties = { case i => Map("prop" -> i) })
+    }
+
+    benchmark(
+      "count over expand and filter",
+      new LogicalQueryBuilder(this)
+        .produceResults("c")
+        .aggregation(Seq.empty, Seq("count(*) AS c"))
+        .filter("y.prop % 3 = 0")
+        .expandAll("(x)-[r]->(y)")
+        .nodeByLabelScan("x", "A")
+        .build()
+    )
+  }
+
+  test("benchmark rows of expand") {
+    assume(System.getProperty("cypher.slotted.benchmark") != null)
+    givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R")
+    }
+
+    benchmark(
+      "rows of expand",
+      new LogicalQueryBuilder(this)
+        .produceResults("x", "y")
+        .expandAll("(x)-[r]->(y)")
+        .nodeByLabelScan("x", "A")
+        .build()
+    )
+  }
+
+  private def benchmark(name: String, logicalQuery: LogicalQuery): Unit = {
+    val plan = buildPlan(logicalQuery, runtime)
+    (0 until warmups).foreach(_ => consume(execute(plan)))
+    val times = (0 until iterations).map { _ =>
+      val start = System.nanoTime()
+      consume(execute(plan))
+      System.nanoTime() - start
+    }.sorted
+    println(f"$name, batch size $batchSize: ${times(iterations / 2) / 1E6}%.2f ms (median of $iterations)")
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.tests
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_slotted_batch_size
+import org.neo4j.cypher.internal.CypherRuntime
+import org.neo4j.cypher.internal.RuntimeContext
+import org.neo4j.cypher.internal.runtime.spec.Edition
+import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSuite
+
+/**
+ * Node scans followed by expands, filters and projections, which are executed a batch of rows at a time when the
+ * batch size is above zero. The batch size is smaller than the number of relationships of a node, so that the
+ * expansion of one node spans several batches.
+ */
+abstract class BatchedPipelineTestBase[CONTEXT <: RuntimeContext](
+  edition: Edition[CONTEXT],
+  runtime: CypherRuntime[CONTEXT],
+  val sizeHint: Int
+) extends RuntimeTestSuite[CONTEXT](
+      edition.copyWith(cypher_slotted_batch_size -> Integer.valueOf(7)),
+      runtime
+    ) {
+
+  private val nNodes = 20
+
+  private val props: PartialFunction[Int, Map[String, Any]] = {
+    case i => Map("prop" -> i)
+  }
+
+  test("should expand, filter and project an all nodes scan") {
+    // given
+    val (aNodes, bNodes) = givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R", props, props)
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("x", "y", "p")
+      .projection("y.prop AS p")
+      .filter("y.prop % 3 = 0")
+      .expandAll("(x)-[r]->(y)")
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    val expected = for {
+      a <- aNodes
+      (b, i) <- bNodes.zipWithIndex if i % 3 == 0
+    } yield Array[Any](a, b, i)
+    runtimeResult should beColumns("x", "y", "p").withRows(expected)
+  }
+
+  test("should expand a label scan into more relationships than fit into a batch") {
+    // given
+    val (aNodes, bNodes) = givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R")
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("x", "y")
+      .expandAll("(y)<-[r]-(x)")
+      .nodeByLabelScan("y", "B")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    val expected = for { a <- aNodes; b <- bNodes } yield Array[Any](a, b)
+    runtimeResult should beColumns("x", "y").withRows(expected)
+  }
+
+  test("should aggregate a batched pipeline") {
+    // given
+    givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R", props, props)
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("c", "s")
+      .aggregation(Seq.empty, Seq("count(*) AS c", "sum(y.prop) AS s"))
+      .filter("x.prop < 5")
+      .expandAll("(x)-[r]->(y)")
+      .nodeByLabelScan("x", "A")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeResult should beColumns("c", "s").withSingleRow(5 * nNodes, 5 * (0 until nNodes).sum)
+  }
+
+  test("should keep rows of a batched pipeline that outlive their batch") {
+    // given
+    val (_, bNodes) = givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R", props, props)
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("y", "p")
+      .sort("p DESC")
+      .projection("y.prop AS p")
+      .expandAll("(x)-[r]->(y)")
+      .nodeByLabelScan("x", "A")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    val expected = for {
+      (b, i) <- bNodes.zipWithIndex.reverse
+      _ <- 0 until nNodes
+    } yield Array[Any](b, i)
+    runtimeResult should beColumns("y", "p").withRows(inOrder(expected))
+  }
+
+  test("should limit a batched pipeline") {
+    // given
+    givenGraph {
+      nodeGraph(sizeHint)
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("x")
+      .limit(10)
+      .allNodeScan("x")
+      .build()
+
+    val runtimeResult = execute(logicalQuery, runtime)
+
+    // then
+    runtimeResult should beColumns("x").withRows(rowCount(10))
+  }
+
+  test("should profile the rows of every operator of a batched pipeline") {
+    // given
+    givenGraph {
+      bipartiteGraph(nNodes, "A", "B", "R", props, props)
+    }
+
+    // when
+    val logicalQuery = new LogicalQueryBuilder(this)
+      .produceResults("y")
+      .filter("y.prop < 5")
+      .expandAll("(x)-[r]->(y)")
+      .nodeByLabelScan("x", "A")
+      .build()
+
+    val runtimeResult = profile(logicalQuery, runtime)
+    consume(runtimeResult)
+
+    // then
+    val queryProfile = runtimeResult.runtimeResult.queryProfile()
+    queryProfile.operatorProfile(0).rows() shouldBe 5 * nNodes // produce results
+    queryProfile.operatorProfile(1).rows() shouldBe 5 * nNodes // filter
+    queryProfile.operatorProfile(2).rows() shouldBe nNodes * nNodes // expand all
+    queryProfile.operatorProfile(3).rows() shouldBe nNodes // node by label scan
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.tests
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_concurrent_transactions_preserve_order
+import org.neo4j.cypher.internal.CypherRuntime
+import org.neo4j.cypher.internal.LogicalQuery
+import org.neo4j.cypher.internal.RuntimeContext
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorBreak
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorContinue
+import org.neo4j.cypher.internal.ast.SubqueryCall.InTransactionsOnErrorBehaviour.OnErrorFail
+import org.neo4j.cypher.internal.logical.builder.AbstractLogicalPlanBuilder.createNodeWithProperties
+import org.neo4j.cypher.internal.logical.plans.TransactionConcurrency
+import org.neo4j.cypher.internal.runtime.ExtendedQueryStatistics
+import org.neo4j.cypher.internal.runtime.spec.Edition
+import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
+import org.neo4j.cypher.internal.runtime.spec.RecordingRuntimeResult
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSuite
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSupport
+import org.neo4j.cypher.internal.runtime.spec.rewriters.TestPlanCombinationRewriter.NoRewrites
+import org.neo4j.graphdb.GraphDatabaseService
+import org.neo4j.graphdb.Label
+import org.neo4j.kernel.api.KernelTransaction.Type
+import org.neo4j.kernel.api.exceptions.schema.UniquePropertyValueValidationException
+import org.neo4j.logging.InternalLogProvider
+import org.neo4j.values.storable.BooleanValue
+import org.neo4j.values.storable.LongValue
+
+/**
+ * Error behaviours and emission order of `CALL { ... } IN CONCURRENT TRANSACTIONS`.
+ *
+ * Every test creates one node per input row, in batches of two rows. The node created for the row with
+ * [[FailingRow]] violates a uniqueness constraint, which rolls back the transaction of its batch.
+ */
+abstract class ConcurrentTransactionApplyTestBase[CONTEXT <: RuntimeContext](
+  edition: Edition[CONTEXT],
+  runtime: CypherRuntime[CONTEXT],
+  preserveOrder: Boolean
+) extends RuntimeTestSuite[CONTEXT](
+      edition.copyWith(cypher_concurrent_transactions_preserve_order -> java.lang.Boolean.valueOf(preserveOrder)),
+      runtime,
+      testPlanCombinationRewriterHints = Set(NoRewrites)
+    ) {
+
+  private val Rows = 20
+  private val BatchSize = 2
+  private val Batches = Rows / BatchSize
+  private val Concurrency = 4
+  private val FailingRow = 5
+  private val FailingBatch = batchOf(FailingRow)
+
+  override protected def createRuntimeTestSupport(
+    graphDb: GraphDatabaseService,
+    edition: Edition[CONTEXT],
+    runtime: CypherRuntime[CONTEXT],
+    workloadMode: Boolean,
+    logProvider: InternalLogProvider
+  ): RuntimeTestSupport[CONTEXT] = {
+    new RuntimeTestSupport[CONTEXT](
+      graphDb,
+      edition,
+      runtime,
+      workloadMode,
+      logProvider,
+      debugOptions,
+      defaultTransactionType = Type.IMPLICIT
+    )
+  }
+
+  test("should emit the rows of each batch together") {
+    val runtimeResult = execute(createNodes(OnErrorContinue), runtime)
+
+    val batches = rows(runtimeResult).map { case (x, _, _) => batchOf(x) }
+    batches.distinct.size shouldBe Batches
+    batches.grouped(BatchSize).foreach(batch => batch.distinct.size shouldBe 1)
+    if (preserveOrder) {
+      batches shouldBe (0 until Batches).flatMap(batch => Seq.fill(BatchSize)(batch))
+    }
+  }
+
+  test("should continue after a failed transaction with ON ERROR CONTINUE") {
+    val runtimeResult = execute(createNodes(OnErrorContinue), runtime)
+
+    val expected = (1 to Rows).map { x =>
+      val committed = batchOf(x) != FailingBatch
+      Array[Any](x, true, committed)
+    }
+    runtimeResult should beColumns("x", "started", "committed")
+      .withRows(if (preserveOrder) inOrder(expected) else inAnyOrder(expected))
+      .withStatistics(
+        nodesCreated = Rows - BatchSize,
+        labelsAdded = Rows - BatchSize,
+        propertiesSet = Rows - BatchSize,
+        transactionsStarted = Batches + 1,
+        transactionsCommitted = Batches,
+        transactionsRolledBack = 1
+      )
+  }
+
+  test("should not start more transactions after a failed transaction with ON ERROR BREAK") {
+    val runtimeResult = execute(createNodes(OnErrorBreak), runtime)
+
+    val statusByBatch = rows(runtimeResult)
+      .groupBy { case (x, _, _) => batchOf(x) }
+      .map { case (batch, batchRows) =>
+        batch -> batchRows.map { case (_, started, committed) => (started, committed) }.distinct
+      }
+
+    statusByBatch.size shouldBe Batches
+    statusByBatch.values.foreach(status => status.size shouldBe 1)
+    statusByBatch(FailingBatch).head shouldBe (true, false)
+    val committedBatches = statusByBatch.count { case (_, status) => status.head == (true, true) }
+    val notStartedBatches = statusByBatch.count { case (_, status) => status.head == (false, false) }
+    committedBatches + notStartedBatches shouldBe Batches - 1
+    if (preserveOrder) {
+      (0 until FailingBatch).foreach(batch => statusByBatch(batch).head shouldBe (true, true))
+      // Batches that were already running when the failure was reported finish, but no batch starts after that
+      notStartedBatches should be > 0
+    }
+
+    val statistics = runtimeResult.runtimeResult.queryStatistics()
+    statistics.getNodesCreated shouldBe committedBatches * BatchSize
+    statistics match {
+      case inner: ExtendedQueryStatistics =>
+        inner.getTransactionsStarted shouldBe committedBatches + 1
+        inner.getTransactionsCommitted shouldBe committedBatches
+        inner.getTransactionsRolledBack shouldBe 1
+      case other => fail(s"Expected transaction statistics, but got $other")
+    }
+  }
+
+  test("should fail the query on a failed transaction with ON ERROR FAIL") {
+    val exception = intercept[UniquePropertyValueValidationException] {
+      consume(execute(createNodes(OnErrorFail), runtime))
+    }
+    exception.getMessage should include("already exists")
+  }
+
+  test("should stop executing batches when the query is closed early") {
+    val manyRows = 100 * Rows
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("x")
+      .limit(1)
+      .transactionApply(
+        BatchSize,
+        TransactionConcurrency.Concurrent(Some(literalInt(Concurrency))),
+        OnErrorFail
+      )
+      .|.create(createNodeWithProperties("n", Seq("M"), "{p: x}"))
+      .|.argument("x")
+      .unwind(s"range(1, $manyRows) AS x")
+      .argument()
+      .build(readOnly = false)
+
+    val runtimeResult = execute(query, runtime)
+
+    runtimeResult.awaitAll() should have size 1
+    runtimeResult.runtimeResult.queryStatistics() match {
+      case statistics: ExtendedQueryStatistics =>
+        // at most the batches that were executing when the limit was reached have been started
+        statistics.getTransactionsStarted should be <= Concurrency + 1
+        statistics.getTransactionsCommitted should be <= statistics.getTransactionsStarted
+      case other => fail(s"Expected transaction statistics, but got $other")
+    }
+  }
+
+  private def createNodes(onErrorBehaviour: InTransactionsOnErrorBehaviour): LogicalQuery = {
+    givenGraph {
+      uniqueNodeIndex("N", "p")
+      runtimeTestSupport.tx.createNode(Label.label("N")).setProperty("p", FailingRow)
+    }
+
+    val builder = new LogicalQueryBuilder(this)
+    val withStatus = onErrorBehaviour != OnErrorFail
+    if (withStatus) {
+      builder
+        .produceResults("x", "started", "committed")
+        .projection("status.started AS started", "status.committed AS committed")
+    } else {
+      builder.produceResults("x")
+    }
+    builder
+      .transactionApply(
+        BatchSize,
+        TransactionConcurrency.Concurrent(Some(literalInt(Concurrency))),
+        onErrorBehaviour,
+        maybeReportAs = if (withStatus) Some("status") else None
+      )
+      .|.create(createNodeWithProperties("n", Seq("N"), "{p: x}"))
+      .|.argument("x")
+      .unwind(s"range(1, $Rows) AS x")
+      .argument()
+      .build(readOnly = false)
+  }
+
+  private def rows(runtimeResult: RecordingRuntimeResult): Seq[(Int, Boolean, Boolean)] =
+    runtimeResult.awaitAll().map { row =>
+      (
+        row(0).asInstanceOf[LongValue].longValue().toInt,
+        row(1).asInstanceOf[BooleanValue].booleanValue(),
+        row(2).asInstanceOf[BooleanValue].booleanValue()
+      )
+    }
+
+  private def batchOf(x: Int): Int = (x - 1) / BatchSize
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.tests
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_slotted_shortest_path_parallelism
+import org.neo4j.cypher.internal.CypherRuntime
+import org.neo4j.cypher.internal.LogicalQuery
+import org.neo4j.cypher.internal.RuntimeContext
+import org.neo4j.cypher.internal.runtime.spec.Edition
+import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSuite
+import org.neo4j.graphdb.Label
+import org.neo4j.graphdb.Node
+import org.neo4j.graphdb.RelationshipType
+import org.neo4j.internal.kernel.api.helpers.traversal.ParallelFrontierExpander
+
+/**
+ * Shortest paths through levels that are large enough to be expanded on worker threads, when the shortest path
+ * parallelism is above one. Every result is compared with the result of the same query when profiled, since
+ * profiled queries always expand serially.
+ */
+abstract class ParallelShortestPathTestBase[CONTEXT <: RuntimeContext](
+  edition: Edition[CONTEXT],
+  runtime: CypherRuntime[CONTEXT]
+) extends RuntimeTestSuite[CONTEXT](
+      edition.copyWith(cypher_slotted_shortest_path_parallelism -> Integer.valueOf(4)),
+      runtime
+    ) {
+
+  // Both searches reach a level of this size before they meet
+  private val LevelSize = 2 * ParallelFrontierExpander.DEFAULT_MIN_FRONTIER_SIZE
+
+  test("should find all shortest paths like the serial search") {
+    givenGraph {
+      wideGraph(sources = 1, targets = 1)
+    }
+
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("path")
+      .shortestPath("(x)-[r*]-(y)", pathName = Some("path"), all = true)
+      .cartesianProduct()
+      .|.nodeByLabelScan("y", "T")
+      .nodeByLabelScan("x", "S")
+      .build()
+
+    val paths = assertPathsLikeSerial(query)
+    paths should have size LevelSize * 2
+  }
+
+  test("should find a shortest path like the serial search") {
+    givenGraph {
+      wideGraph(sources = 1, targets = 1)
+    }
+
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("path")
+      .shortestPath("(x)-[r*]-(y)", pathName = Some("path"))
+      .cartesianProduct()
+      .|.nodeByLabelScan("y", "T")
+      .nodeByLabelScan("x", "S")
+      .build()
+
+    assertPathsLikeSerial(query) should have size 1
+  }
+
+  test("should find all shortest paths for many rows like the serial search") {
+    givenGraph {
+      wideGraph(sources = 3, targets = 2)
+    }
+
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("path")
+      .shortestPath("(x)-[r*..4]-(y)", pathName = Some("path"), all = true)
+      .cartesianProduct()
+      .|.nodeByLabelScan("y", "T")
+      .nodeByLabelScan("x", "S")
+      .build()
+
+    assertPathsLikeSerial(query) should not be empty
+  }
+
+  private def assertPathsLikeSerial(query: LogicalQuery): Seq[Seq[AnyRef]] = {
+    val parallel = execute(query, runtime).awaitAll().map(_.toSeq)
+    val serial = profile(query, runtime).awaitAll().map(_.toSeq)
+    parallel shouldEqual serial
+    parallel
+  }
+
+  /**
+   * Every source is connected to all nodes of a layer of size [[LevelSize]], and every target to all nodes of
+   * another layer of the same size. Each node of the first layer is connected to two nodes of the second layer.
+   */
+  private def wideGraph(sources: Int, targets: Int): Unit = {
+    val rel = RelationshipType.withName("R")
+    val sourceNodes = (0 until sources).map(_ => tx.createNode(Label.label("S")))
+    val targetNodes = (0 until targets).map(_ => tx.createNode(Label.label("T")))
+    def layer(ends: Seq[Node]): IndexedSeq[Node] = (0 until LevelSize).map { _ =>
+      val node = tx.createNode()
+      ends.foreach(_.createRelationshipTo(node, rel))
+      node
+    }
+    val sourceLayer = layer(sourceNodes)
+    val targetLayer = layer(targetNodes)
+    sourceLayer.indices.foreach { i =>
+      sourceLayer(i).createRelationshipTo(targetLayer(i), rel)
+      sourceLayer(i).createRelationshipTo(targetLayer((i * 7 + 1) % LevelSize), rel)
+    }
+  }
+}
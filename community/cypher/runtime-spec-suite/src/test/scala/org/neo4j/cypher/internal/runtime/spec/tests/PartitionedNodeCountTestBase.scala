@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.spec.tests
+
+import org.neo4j.configuration.GraphDatabaseInternalSettings.cypher_slotted_partitioned_scan_parallelism
+import org.neo4j.cypher.internal.CypherRuntime
+import org.neo4j.cypher.internal.RuntimeContext
+import org.neo4j.cypher.internal.logical.builder.AbstractLogicalPlanBuilder.andsReorderable
+import org.neo4j.cypher.internal.runtime.spec.Edition
+import org.neo4j.cypher.internal.runtime.spec.LogicalQueryBuilder
+import org.neo4j.cypher.internal.runtime.spec.RuntimeTestSuite
+import org.neo4j.graphdb.Label.label
+import org.neo4j.values.storable.Values
+
+/**
+ * Counts over node scans, which are counted partition by partition on worker threads when the scan parallelism is
+ * above one. Every count is compared with the number of rows the same scan and filter produce without aggregation.
+ */
+abstract class PartitionedNodeCountTestBase[CONTEXT <: RuntimeContext](
+  edition: Edition[CONTEXT],
+  runtime: CypherRuntime[CONTEXT],
+  val sizeHint: Int
+) extends RuntimeTestSuite[CONTEXT](
+      edition.copyWith(cypher_slotted_partitioned_scan_parallelism -> Integer.valueOf(4)),
+      runtime
+    ) {
+
+  test("should count filtered label scan like the serial scan") {
+    // given
+    givenGraph {
+      nodePropertyGraph(sizeHint, propertiesWithSomeMissing, "A")
+      nodeGraph(sizeHint / 2, "B")
+    }
+
+    // then
+    assertCountsLikeSerial(_
+      .filterExpression(andsReorderable("x.prop % 2 = 0", "x.prop > 10", "x.prop < " + (sizeHint - 10)))
+      .nodeByLabelScan("x", "A"))
+  }
+
+  test("should count filtered all nodes scan like the serial scan") {
+    // given
+    givenGraph {
+      nodePropertyGraph(sizeHint, propertiesWithSomeMissing, "A")
+      nodeGraph(sizeHint / 2, "B")
+    }
+
+    // then
+    assertCountsLikeSerial(_
+      .filterExpression(andsReorderable("x.prop % 5 <> 0", "x.prop > 10"))
+      .allNodeScan("x"))
+  }
+
+  test("should count nodes in the transaction state like the serial scan") {
+    // given
+    givenGraph {
+      nodePropertyGraph(sizeHint, { case i => Map("prop" -> i, "other" -> i) }, "A")
+    }
+    // partitioned scans don't see the transaction state, so these have to be counted serially
+    val created = (0 until 10).map(i => {
+      val node = tx.createNode(label("A"))
+      node.setProperty("prop", sizeHint + i)
+      node
+    })
+    created.head.delete()
+
+    // then
+    val count = assertCountsLikeSerial(_
+      .filterExpression(andsReorderable("x.prop % 2 = 0", "x.prop > 10"))
+      .nodeByLabelScan("x", "A"))
+    count shouldBe (0 until sizeHint + created.size).count(i => i != sizeHint && i % 2 == 0 && i > 10)
+  }
+
+  test("should count label scan of missing label like the serial scan") {
+    // given
+    givenGraph {
+      nodeGraph(sizeHint, "A")
+    }
+
+    // then
+    val count = assertCountsLikeSerial(_
+      .nodeByLabelScan("x", "Missing"))
+    count shouldBe 0
+  }
+
+  // Only every third node has the property counted by count(x.other)
+  private val propertiesWithSomeMissing: PartialFunction[Int, Map[String, Any]] = {
+    case i if i % 3 == 0 => Map("prop" -> i, "other" -> i)
+    case i               => Map("prop" -> i)
+  }
+
+  /**
+   * Counts the rows of `scan` with `count(*)` and `count(x.other)`, and compares both with the rows it
+   * produces without aggregation.
+   *
+   * @return the number of rows of `scan`.
+   */
+  private def assertCountsLikeSerial(scan: LogicalQueryBuilder => LogicalQueryBuilder): Long = {
+    val rowsQuery = scan(new LogicalQueryBuilder(this)
+      .produceResults("x", "other")
+      .projection("x.other AS other")).build()
+    val rows = execute(rowsQuery, runtime).awaitAll()
+    val expectedCount = rows.length.toLong
+    val expectedOther = rows.count(row => !(row(1) eq Values.NO_VALUE)).toLong
+
+    val countQuery = scan(new LogicalQueryBuilder(this)
+      .produceResults("c", "o")
+      .aggregation(Seq.empty, Seq("count(*) AS c", "count(x.other) AS o"))).build()
+    execute(countQuery, runtime) should beColumns("c", "o").withSingleRow(expectedCount, expectedOther)
+    expectedCount
+  }
+}
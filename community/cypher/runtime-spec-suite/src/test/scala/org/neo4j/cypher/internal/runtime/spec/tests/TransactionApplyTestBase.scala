@@ -613,6 +613,30 @@ abstract class TransactionApplyTestBase[CONTEXT <: RuntimeContext](
       )
   }
 
+  test("statistics should report data creation from subqueries in concurrent transactions") {
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("prop")
+      .projection("n.prop AS prop")
+      .transactionApply(3, TransactionConcurrency.Concurrent(Some(literalInt(4))), randomErrorBehaviour())
+      .|.create(createNodeWithProperties("n", Seq("N"), "{prop: x}"))
+      .|.argument()
+      .unwind("range(1, 10) AS x")
+      .argument()
+      .build(readOnly = false)
+
+    // then
+    val runtimeResult: RecordingRuntimeResult = execute(query, runtime)
+    runtimeResult should beColumns("prop")
+      .withRows(singleColumn(1 to 10))
+      .withStatistics(
+        nodesCreated = 10,
+        labelsAdded = 10,
+        propertiesSet = 10,
+        transactionsStarted = 5,
+        transactionsCommitted = 5
+      )
+  }
+
   test("statistics should report data creation from subqueries while profiling") {
     val query = new LogicalQueryBuilder(this)
       .produceResults("prop")
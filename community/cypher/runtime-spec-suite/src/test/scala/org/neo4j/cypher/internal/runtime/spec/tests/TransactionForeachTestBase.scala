@@ -33,6 +33,7 @@ import org.neo4j.cypher.internal.logical.builder.AbstractLogicalPlanBuilder.crea
 import org.neo4j.cypher.internal.logical.builder.AbstractLogicalPlanBuilder.createRelationship
 import org.neo4j.cypher.internal.logical.plans.Prober
 import org.neo4j.cypher.internal.logical.plans.Prober.Probe
+import org.neo4j.cypher.internal.logical.plans.TransactionConcurrency
 import org.neo4j.cypher.internal.runtime.InputValues
 import org.neo4j.cypher.internal.runtime.IteratorInputStream
 import org.neo4j.cypher.internal.runtime.spec.Edition
@@ -648,6 +649,32 @@ abstract class TransactionForeachTestBase[CONTEXT <: RuntimeContext](
       )
   }
 
+  test("statistics should report data creation from subqueries in concurrent transactions") {
+    val batchSize = 3
+    val rangeSize = 10
+    val query = new LogicalQueryBuilder(this)
+      .produceResults("x")
+      .transactionForeach(batchSize, TransactionConcurrency.Concurrent(Some(literalInt(4))), randomErrorBehavior())
+      .|.emptyResult()
+      .|.create(createNode("n", "N"))
+      .|.argument()
+      .unwind(s"range(1, $rangeSize) AS x")
+      .argument()
+      .build(readOnly = false)
+
+    // then
+    val runtimeResult: RecordingRuntimeResult = execute(query, runtime)
+    val expectedTransactionCount = Math.ceil(rangeSize / batchSize.toDouble).toInt
+    runtimeResult should beColumns("x")
+      .withRows(singleColumn(1 to rangeSize))
+      .withStatistics(
+        nodesCreated = rangeSize,
+        labelsAdded = rangeSize,
+        transactionsCommitted = expectedTransactionCount + 1,
+        transactionsStarted = expectedTransactionCount + 1
+      )
+  }
+
   test("statistics should report data creation from subqueries while profiling") {
     val query = new LogicalQueryBuilder(this)
       .produceResults("x")
@@ -30,6 +30,7 @@ import java.util.function.Predicate;
 import org.eclipse.collections.api.iterator.LongIterator;
 import org.neo4j.collection.trackable.HeapTrackingArrayDeque;
 import org.neo4j.collection.trackable.HeapTrackingCollections;
+import org.neo4j.collection.trackable.HeapTrackingLongBitmap;
 import org.neo4j.collection.trackable.HeapTrackingLongHashSet;
 import org.neo4j.collection.trackable.HeapTrackingLongLongHashMap;
 import org.neo4j.internal.kernel.api.Cursor;
@@ -265,7 +266,7 @@ public abstract class BFSPruningVarExpandCursor extends DefaultCloseListenable i
     private abstract static class DirectedBFSPruningVarExpandCursor extends BFSPruningVarExpandCursor {
         private int currentDepth;
         private final long startNode;
-        private final HeapTrackingLongHashSet seen;
+        private final HeapTrackingLongBitmap seen;
         private final HeapTrackingArrayDeque<NodeState> queue;
         private EmitState state;
 
@@ -284,7 +285,7 @@ public abstract class BFSPruningVarExpandCursor extends DefaultCloseListenable i
             super(types, maxDepth, read, nodeCursor, relCursor, nodeFilter, relFilter, endNode);
             this.startNode = startNode;
             queue = HeapTrackingCollections.newArrayDeque(memoryTracker);
-            seen = HeapTrackingCollections.newLongSet(memoryTracker);
+            seen = HeapTrackingCollections.newLongBitmap(memoryTracker);
             if (currentDepth < maxDepth) {
                 queue.offer(new NodeState(startNode, currentDepth));
             }
@@ -659,7 +660,7 @@ public abstract class BFSPruningVarExpandCursor extends DefaultCloseListenable i
         private int lastSuccessfulDepth;
         private HeapTrackingLongHashSet prevFrontier;
         private HeapTrackingLongHashSet currFrontier;
-        private final HeapTrackingLongHashSet seen;
+        private final HeapTrackingLongBitmap seen;
         private LongIterator currentExpand;
         private final long startNode;
         private EmitState state = EmitState.SHOULD_EMIT;
@@ -679,7 +680,7 @@ public abstract class BFSPruningVarExpandCursor extends DefaultCloseListenable i
             this.startNode = startNode;
             this.prevFrontier = HeapTrackingCollections.newLongSet(memoryTracker);
             this.currFrontier = HeapTrackingCollections.newLongSet(memoryTracker);
-            this.seen = HeapTrackingCollections.newLongSet(memoryTracker);
+            this.seen = HeapTrackingCollections.newLongBitmap(memoryTracker);
             this.currentDepth = 0;
             this.lastSuccessfulDepth = -1;
         }
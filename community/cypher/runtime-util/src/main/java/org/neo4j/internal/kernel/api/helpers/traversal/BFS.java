@@ -68,6 +68,8 @@ abstract class BFS<STEPS> implements AutoCloseable {
     final RelationshipTraversalCursorRetriever retriever;
     boolean closed = false;
     final boolean needOnlyOnePath;
+    // Expands large levels on several threads when set, see ParallelFrontierExpander
+    ParallelFrontierExpander parallelExpander;
 
     @FunctionalInterface
     interface RelationshipTraversalCursorRetriever {
@@ -144,6 +146,26 @@ abstract class BFS<STEPS> implements AutoCloseable {
         this.other = other;
     }
 
+    void setParallelExpander(ParallelFrontierExpander parallelExpander) {
+        this.parallelExpander = parallelExpander;
+    }
+
+    boolean shouldExpandCurrentLevelInParallel() {
+        return parallelExpander != null && parallelExpander.shouldExpand(currentLevel.size());
+    }
+
+    void expandCurrentLevelInParallel(ParallelFrontierExpander.StepConsumer consumer) {
+        parallelExpander.expand(
+                currentLevelItr,
+                currentLevel.size(),
+                types,
+                retriever,
+                this::hasSeenNode,
+                relFilter,
+                memoryTracker,
+                consumer);
+    }
+
     @Override
     public void close() {
         assert (!closed);
@@ -236,18 +258,29 @@ abstract class BFS<STEPS> implements AutoCloseable {
             };
         }
 
-        private boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode) {
+        private boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode, long relationshipId) {
             if (hasSeenNode(foundNode) || !nodeFilter.test(foundNode)) {
                 return false;
             }
 
             nextLevel.add(foundNode);
 
-            pathTraceData.put(foundNode, new PathTraceStep(selectionCursor.reference(), currentNode));
+            pathTraceData.put(foundNode, new PathTraceStep(relationshipId, currentNode));
             return true;
         }
 
         private void populateNextLevelOrStopWhenFoundFirstIntersectionNode() {
+            if (shouldExpandCurrentLevelInParallel()) {
+                expandCurrentLevelInParallel((foundNode, relationshipId, currentNode) -> {
+                    if (addNodeToNextLevelIfQualifies(currentNode, foundNode, relationshipId)
+                            && other.currentLevel.contains(foundNode)) {
+                        this.foundIntersectionNode = foundNode;
+                        return false;
+                    }
+                    return true;
+                });
+                return;
+            }
             while (currentLevelItr.hasNext()) {
                 long currentNode = currentLevelItr.next();
                 read.singleNode(currentNode, nodeCursor);
@@ -258,7 +291,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode)
+                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference())
                                 && other.currentLevel.contains(foundNode)) {
                             this.foundIntersectionNode = foundNode;
                             return;
@@ -316,7 +349,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                     HeapTrackingCollections.newArrayList(PATH_TRACE_DATA_INIT_CAPACITY, memoryTracker);
         }
 
-        boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode) {
+        boolean addNodeToNextLevelIfQualifies(long currentNode, long foundNode, long relationshipId) {
             if (!hasSeenNode(foundNode) && nodeFilter.test(foundNode)) {
                 nextLevel.add(foundNode);
                 HeapTrackingArrayList<PathTraceStep> pathsToHere;
@@ -329,14 +362,14 @@ abstract class BFS<STEPS> implements AutoCloseable {
                     pathsToHere = HeapTrackingCollections.newArrayList(PATHS_TO_NODE_INIT_SIZE, memoryTracker);
                     availableArrayLists.add(pathsToHere);
                 }
-                pathsToHere.add(new PathTraceStep(selectionCursor.reference(), currentNode));
+                pathsToHere.add(new PathTraceStep(relationshipId, currentNode));
                 pathTraceData.put(foundNode, pathsToHere);
                 return true;
 
             } else if (!needOnlyOnePath && nextLevel.contains(foundNode)) {
                 // foundNode has already been seen, but it was seen at this level with a different currentNode, so we
                 // have multiple shortest paths to foundNode from startNode.
-                pathTraceData.get(foundNode).add(new PathTraceStep(selectionCursor.reference(), currentNode));
+                pathTraceData.get(foundNode).add(new PathTraceStep(relationshipId, currentNode));
                 return true;
             }
             return false;
@@ -385,6 +418,13 @@ abstract class BFS<STEPS> implements AutoCloseable {
         }
 
         private void fullyPopulateNextLevel() {
+            if (shouldExpandCurrentLevelInParallel()) {
+                expandCurrentLevelInParallel((foundNode, relationshipId, currentNode) -> {
+                    addNodeToNextLevelIfQualifies(currentNode, foundNode, relationshipId);
+                    return true;
+                });
+                return;
+            }
             while (currentLevelItr.hasNext()) {
                 long currentNode = currentLevelItr.next();
                 read.singleNode(currentNode, nodeCursor);
@@ -395,7 +435,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        addNodeToNextLevelIfQualifies(currentNode, foundNode);
+                        addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference());
                     }
                 }
             }
@@ -474,7 +514,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode)
+                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference())
                                 && other.currentLevel.contains(foundNode)) {
                             this.foundIntersectionNode = foundNode;
                             return;
@@ -521,7 +561,7 @@ abstract class BFS<STEPS> implements AutoCloseable {
                 while (selectionCursor.next()) {
                     if (relFilter.test(selectionCursor)) {
                         long foundNode = selectionCursor.otherNodeReference();
-                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode)
+                        if (addNodeToNextLevelIfQualifies(currentNode, foundNode, selectionCursor.reference())
                                 && other.currentLevel.contains(foundNode)) {
                             this.foundIntersectionNode = foundNode;
                             return State.FOUND_INTERSECTION;
@@ -279,6 +279,15 @@ public class BiDirectionalBFS implements AutoCloseable {
         inner.resetForNewRow(sourceNodeId, targetNodeId, nodeCursor, relCursor, nodeFilter, relFilter);
     }
 
+    /**
+     * Expand large BFS levels on the workers of the given expander, which will never be closed by BiDirectionalBFS.
+     * The relationship filters of all rows must then be safe to call from several threads. Finding paths lazily, as
+     * {@code shortestPath} with path predicates does, is not parallelized.
+     */
+    public void enableParallelExpansion(ParallelFrontierExpander parallelExpander) {
+        inner.setParallelExpander(parallelExpander);
+    }
+
     public Iterator<PathReference> shortestPathIterator() {
         return inner.shortestPathIterator();
     }
@@ -210,6 +210,11 @@ abstract class BiDirectionalBFSImpl<STEPS> implements AutoCloseable {
         targetBFS.close();
     }
 
+    void setParallelExpander(ParallelFrontierExpander parallelExpander) {
+        sourceBFS.setParallelExpander(parallelExpander);
+        targetBFS.setParallelExpander(parallelExpander);
+    }
+
     void setTracer(KernelReadTracer tracer) {
         sourceBFS.setTracer(tracer);
         targetBFS.setTracer(tracer);
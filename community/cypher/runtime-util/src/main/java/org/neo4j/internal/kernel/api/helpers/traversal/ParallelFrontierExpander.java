@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api.helpers.traversal;
+
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.eclipse.collections.api.iterator.LongIterator;
+import org.neo4j.collection.trackable.HeapTrackingLongArrayList;
+import org.neo4j.exceptions.EntityNotFoundException;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.Read;
+import org.neo4j.internal.kernel.api.RelationshipTraversalCursor;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.CallableExecutor;
+
+/**
+ * Expands the frontier of a {@link BiDirectionalBFS} level on several threads.
+ * <p>
+ * The frontier is split into contiguous chunks, one per worker, and every worker reads the relationships of its
+ * chunk through its own {@link Read} and cursors. Workers only record what they find: once all of them are done,
+ * the discovered relationships are handed to the BFS on the calling thread, chunk by chunk, in the order a serial
+ * expansion of the frontier would have found them. The paths that are found, and the order they are returned in,
+ * are therefore the same as with a serial expansion.
+ * <p>
+ * Workers drop relationships leading to nodes that the BFS had already seen before the level started, which is
+ * where most relationships of a large frontier end up. They also evaluate the relationship filter, which must
+ * therefore be safe to call from several threads.
+ * <p>
+ * The executor and the workers are only created once the first frontier is large enough to be expanded in parallel,
+ * so that searches that never reach a large level don't pay for them.
+ */
+public final class ParallelFrontierExpander implements AutoCloseable {
+    /**
+     * Frontiers smaller than this are not worth handing over to other threads.
+     */
+    public static final int DEFAULT_MIN_FRONTIER_SIZE = 1024;
+
+    /**
+     * The kernel access of one worker. All of it is owned by the caller, which must not use it while a BFS using
+     * this expander is searching.
+     */
+    public record Worker(
+            Read read, NodeCursor nodeCursor, RelationshipTraversalCursor relCursor, MemoryTracker memoryTracker) {}
+
+    /**
+     * Creates the workers, on the thread that uses the expander. The caller owns the created workers.
+     */
+    @FunctionalInterface
+    public interface WorkerFactory {
+        Worker create(int worker);
+    }
+
+    @FunctionalInterface
+    interface StepConsumer {
+        /**
+         * @return {@code false} if no more steps should be consumed for this level.
+         */
+        boolean accept(long foundNode, long relationshipId, long previousNode);
+    }
+
+    private final Supplier<CallableExecutor> executorSupplier;
+    private final int parallelism;
+    private final WorkerFactory workerFactory;
+    private final int minFrontierSize;
+
+    // Created on the first parallel expansion
+    private CallableExecutor executor;
+    private Worker[] workers;
+    // (foundNode, relationshipId, previousNode) triples found by each worker, reused between levels
+    private HeapTrackingLongArrayList[] steps;
+
+    public ParallelFrontierExpander(
+            Supplier<CallableExecutor> executor, int parallelism, WorkerFactory workerFactory, int minFrontierSize) {
+        this.executorSupplier = executor;
+        this.parallelism = parallelism;
+        this.workerFactory = workerFactory;
+        this.minFrontierSize = Math.max(minFrontierSize, 1);
+    }
+
+    boolean shouldExpand(int frontierSize) {
+        return parallelism > 1 && frontierSize >= minFrontierSize;
+    }
+
+    private void createWorkers() {
+        executor = executorSupplier.get();
+        Worker[] newWorkers = new Worker[parallelism];
+        HeapTrackingLongArrayList[] newSteps = new HeapTrackingLongArrayList[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            newWorkers[i] = workerFactory.create(i);
+            newSteps[i] = HeapTrackingLongArrayList.newLongArrayList(newWorkers[i].memoryTracker());
+        }
+        workers = newWorkers;
+        steps = newSteps;
+    }
+
+    /**
+     * Expands all nodes of a frontier and passes the steps to nodes not yet seen to {@code consumer}, in the order a
+     * serial expansion of the frontier iterator would have found them.
+     *
+     * @param frontier      iterator over the nodes of the frontier, will be exhausted.
+     * @param frontierSize  the number of nodes left in {@code frontier}.
+     * @param hasSeenNode   nodes seen by the BFS before this level. Only read while the workers are running.
+     * @param memoryTracker memory tracker of the calling thread.
+     */
+    void expand(
+            LongIterator frontier,
+            int frontierSize,
+            int[] types,
+            BFS.RelationshipTraversalCursorRetriever retriever,
+            LongPredicate hasSeenNode,
+            Predicate<RelationshipTraversalCursor> relFilter,
+            MemoryTracker memoryTracker,
+            StepConsumer consumer) {
+        if (workers == null) {
+            createWorkers();
+        }
+        long frontierHeapSize = sizeOfLongArray(frontierSize);
+        memoryTracker.allocateHeap(frontierHeapSize);
+        try {
+            long[] nodes = new long[frontierSize];
+            int size = 0;
+            while (frontier.hasNext()) {
+                nodes[size++] = frontier.next();
+            }
+
+            int chunks = Math.min(workers.length, size);
+            int chunkSize = (size + chunks - 1) / chunks;
+            Future<?>[] futures = new Future<?>[chunks];
+            for (int i = 0; i < chunks; i++) {
+                int chunk = i;
+                int from = chunk * chunkSize;
+                int to = Math.min(from + chunkSize, size);
+                futures[chunk] = executor.submit(() -> {
+                    expandChunk(
+                            nodes, from, to, workers[chunk], steps[chunk], types, retriever, hasSeenNode, relFilter);
+                    return null;
+                });
+            }
+            awaitAll(futures);
+
+            // Every worker is done, so the BFS is free to update what it has seen
+            for (int i = 0; i < chunks; i++) {
+                HeapTrackingLongArrayList chunkSteps = steps[i];
+                for (int j = 0; j < chunkSteps.size(); j += 3) {
+                    if (!consumer.accept(chunkSteps.get(j), chunkSteps.get(j + 1), chunkSteps.get(j + 2))) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            memoryTracker.releaseHeap(frontierHeapSize);
+        }
+    }
+
+    private static void expandChunk(
+            long[] nodes,
+            int from,
+            int to,
+            Worker worker,
+            HeapTrackingLongArrayList chunkSteps,
+            int[] types,
+            BFS.RelationshipTraversalCursorRetriever retriever,
+            LongPredicate hasSeenNode,
+            Predicate<RelationshipTraversalCursor> relFilter) {
+        chunkSteps.clear();
+        NodeCursor nodeCursor = worker.nodeCursor();
+        for (int i = from; i < to; i++) {
+            long currentNode = nodes[i];
+            worker.read().singleNode(currentNode, nodeCursor);
+            if (!nodeCursor.next()) {
+                throw new EntityNotFoundException("Node " + currentNode + " was unexpectedly deleted");
+            }
+            RelationshipTraversalCursor selectionCursor =
+                    retriever.selectionCursor(worker.relCursor(), nodeCursor, types);
+            while (selectionCursor.next()) {
+                long foundNode = selectionCursor.otherNodeReference();
+                if (!hasSeenNode.test(foundNode) && relFilter.test(selectionCursor)) {
+                    chunkSteps.add(foundNode);
+                    chunkSteps.add(selectionCursor.reference());
+                    chunkSteps.add(currentNode);
+                }
+            }
+        }
+    }
+
+    private static void awaitAll(Future<?>[] futures) {
+        // Workers are using cursors owned by the caller, so we must not return before all of them are done
+        Throwable failure = null;
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        } else if (failure instanceof Error e) {
+            throw e;
+        } else if (failure != null) {
+            throw new RuntimeException(failure);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (steps != null) {
+            for (HeapTrackingLongArrayList chunkSteps : steps) {
+                chunkSteps.close();
+            }
+        }
+    }
+}
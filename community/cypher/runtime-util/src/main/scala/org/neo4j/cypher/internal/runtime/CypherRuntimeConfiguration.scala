@@ -44,7 +44,11 @@ object CypherRuntimeConfiguration {
       compiledExpressionMethodLimit = config.compiledExpressionMethodLimit,
       operatorFusingMethodLimit = config.operatorFusingMethodLimit,
       freeMemoryOfUnusedColumns = config.freeMemoryOfUnusedColumns,
-      expressionEngineOption = config.expressionEngineOption
+      expressionEngineOption = config.expressionEngineOption,
+      slottedPartitionedScanParallelism = config.slottedPartitionedScanParallelism,
+      slottedShortestPathParallelism = config.slottedShortestPathParallelism,
+      slottedBatchSize = config.slottedBatchSize,
+      slottedCompiledPredicatesEnabled = config.slottedCompiledPredicatesEnabled
     )
   }
 
@@ -66,7 +70,11 @@ case class CypherRuntimeConfiguration(
   compiledExpressionMethodLimit: Int,
   operatorFusingMethodLimit: Int,
   freeMemoryOfUnusedColumns: Boolean,
-  expressionEngineOption: CypherExpressionEngineOption
+  expressionEngineOption: CypherExpressionEngineOption,
+  slottedPartitionedScanParallelism: Int,
+  slottedShortestPathParallelism: Int,
+  slottedBatchSize: Int,
+  slottedCompiledPredicatesEnabled: Boolean
 ) {
 
   Preconditions.checkArgument(
@@ -79,6 +79,7 @@ import org.neo4j.kernel.impl.query.FunctionInformation
 import org.neo4j.kernel.impl.query.statistic.StatisticProvider
 import org.neo4j.logging.InternalLogProvider
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.scheduler.JobScheduler
 import org.neo4j.storageengine.api.PropertySelection
 import org.neo4j.storageengine.api.Reference
 import org.neo4j.util.VisibleForTesting
@@ -812,6 +813,8 @@ trait QueryTransactionalContext extends CloseableResource {
 
   def config: Config
 
+  def jobScheduler: JobScheduler
+
   def kernelExecutingQuery: org.neo4j.kernel.api.query.ExecutingQuery
 
   def createValueMapper: ValueMapper[AnyRef]
@@ -51,4 +51,10 @@ class SelectivityTrackerStorage(trackersCount: Int) {
     }
     t
   }
+
+  /**
+   * Storage for the same trackers, that starts out empty and is not shared with this storage. The trackers are not
+   * thread safe, so every thread evaluating the predicates needs a storage of its own.
+   */
+  def emptyCopy(): SelectivityTrackerStorage = new SelectivityTrackerStorage(trackersCount)
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.kernel.api.helpers.traversal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.exceptions.EntityNotFoundException;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.helpers.StubNodeCursor;
+import org.neo4j.internal.kernel.api.helpers.StubRead;
+import org.neo4j.internal.kernel.api.helpers.StubRelationshipCursor;
+import org.neo4j.internal.kernel.api.helpers.TestRelationshipChain;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.scheduler.CallableExecutor;
+import org.neo4j.scheduler.CallableExecutorService;
+import org.neo4j.values.virtual.PathReference;
+
+class ParallelFrontierExpanderTest {
+    private static final int NODES = 1000;
+    private static final int WORKERS = 4;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(WORKERS);
+    private final CallableExecutor executor = new CallableExecutorService(executorService);
+    private final MemoryTracker memoryTracker = new LocalMemoryTracker();
+    private final AtomicLong workerReads = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldFindSamePathsInSameOrderAsSerialExpansion(boolean needOnlyOnePath) {
+        List<TestRelationshipChain> graph = graph();
+        List<ParallelFrontierExpander.Worker> workers = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            workers.add(worker(graph, NODES));
+        }
+
+        try (BiDirectionalBFS serial = bfs(graph, needOnlyOnePath);
+                BiDirectionalBFS parallel = bfs(graph, needOnlyOnePath);
+                ParallelFrontierExpander expander = expander(workers, 1)) {
+            parallel.enableParallelExpansion(expander);
+
+            for (long source = 0; source < NODES; source += 97) {
+                long target = (source * 13 + 500) % NODES;
+                List<PathReference> expected = shortestPaths(serial, source, target);
+                List<PathReference> actual = shortestPaths(parallel, source, target);
+
+                assertThat(expected).isNotEmpty();
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+
+        assertThat(workerReads.get()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldPropagateFailureOfWorker() {
+        List<TestRelationshipChain> graph = graph();
+        List<ParallelFrontierExpander.Worker> workers = new ArrayList<>();
+        for (int i = 0; i < WORKERS - 1; i++) {
+            workers.add(worker(graph, NODES));
+        }
+        // This worker does not see any nodes
+        workers.add(worker(graph, 0));
+
+        try (BiDirectionalBFS bfs = bfs(graph, false);
+                ParallelFrontierExpander expander = expander(workers, 1)) {
+            bfs.enableParallelExpansion(expander);
+
+            assertThrows(EntityNotFoundException.class, () -> shortestPaths(bfs, 0, NODES / 2));
+        }
+    }
+
+    @Test
+    void shouldOnlyExpandLargeFrontiersInParallel() {
+        List<ParallelFrontierExpander.Worker> workers = List.of(worker(graph(), NODES), worker(graph(), NODES));
+
+        try (ParallelFrontierExpander expander = expander(workers, 100);
+                ParallelFrontierExpander singleWorker = expander(workers.subList(0, 1), 100)) {
+            assertThat(expander.shouldExpand(99)).isFalse();
+            assertThat(expander.shouldExpand(100)).isTrue();
+            assertThat(singleWorker.shouldExpand(100)).isFalse();
+        }
+    }
+
+    @Test
+    void shouldCreateWorkersOnFirstLargeFrontier() {
+        List<TestRelationshipChain> graph = graph();
+        AtomicInteger createdWorkers = new AtomicInteger();
+        AtomicInteger executorLookups = new AtomicInteger();
+        ParallelFrontierExpander.WorkerFactory workerFactory = worker -> {
+            createdWorkers.incrementAndGet();
+            return worker(graph, NODES);
+        };
+
+        try (BiDirectionalBFS bfs = bfs(graph, false);
+                ParallelFrontierExpander expander = new ParallelFrontierExpander(
+                        () -> {
+                            executorLookups.incrementAndGet();
+                            return executor;
+                        },
+                        WORKERS,
+                        workerFactory,
+                        NODES)) {
+            bfs.enableParallelExpansion(expander);
+
+            // WHEN no level is large enough
+            shortestPaths(bfs, 0, NODES / 2);
+
+            // THEN
+            assertThat(createdWorkers.get()).isZero();
+            assertThat(executorLookups.get()).isZero();
+        }
+
+        try (BiDirectionalBFS bfs = bfs(graph, false);
+                ParallelFrontierExpander expander = new ParallelFrontierExpander(
+                        () -> {
+                            executorLookups.incrementAndGet();
+                            return executor;
+                        },
+                        WORKERS,
+                        workerFactory,
+                        1)) {
+            bfs.enableParallelExpansion(expander);
+
+            // WHEN searching several times
+            shortestPaths(bfs, 0, NODES / 2);
+            shortestPaths(bfs, 1, NODES / 3);
+
+            // THEN the workers are created once
+            assertThat(createdWorkers.get()).isEqualTo(WORKERS);
+            assertThat(executorLookups.get()).isEqualTo(1);
+        }
+    }
+
+    private ParallelFrontierExpander expander(List<ParallelFrontierExpander.Worker> workers, int minFrontierSize) {
+        return new ParallelFrontierExpander(() -> executor, workers.size(), workers::get, minFrontierSize);
+    }
+
+    private BiDirectionalBFS bfs(List<TestRelationshipChain> graph, boolean needOnlyOnePath) {
+        return BiDirectionalBFS.newEmptyBiDirectionalBFS(
+                null,
+                Direction.BOTH,
+                Integer.MAX_VALUE,
+                false,
+                new StubRead(),
+                nodeCursor(NODES),
+                new StubRelationshipCursor(graph),
+                memoryTracker,
+                needOnlyOnePath,
+                false);
+    }
+
+    private ParallelFrontierExpander.Worker worker(List<TestRelationshipChain> graph, int nodes) {
+        StubRead read = new StubRead() {
+            @Override
+            public void singleNode(long reference, NodeCursor cursor) {
+                workerReads.incrementAndGet();
+                super.singleNode(reference, cursor);
+            }
+        };
+        return new ParallelFrontierExpander.Worker(
+                read, nodeCursor(nodes), new StubRelationshipCursor(graph), new LocalMemoryTracker());
+    }
+
+    private static List<PathReference> shortestPaths(BiDirectionalBFS bfs, long source, long target) {
+        bfs.resetForNewRow(source, target, node -> true, relationship -> true);
+        List<PathReference> paths = new ArrayList<>();
+        Iterator<PathReference> iterator = bfs.shortestPathIterator();
+        iterator.forEachRemaining(paths::add);
+        return paths;
+    }
+
+    private static StubNodeCursor nodeCursor(int nodes) {
+        StubNodeCursor cursor = new StubNodeCursor();
+        for (int node = 0; node < nodes; node++) {
+            cursor.withNode(node);
+        }
+        return cursor;
+    }
+
+    // Every node has relationships to a few scattered nodes, so that levels quickly grow large
+    private static List<TestRelationshipChain> graph() {
+        List<TestRelationshipChain> chains = new ArrayList<>(NODES);
+        for (int node = 0; node < NODES; node++) {
+            chains.add(new TestRelationshipChain(node));
+        }
+        long relationship = 0;
+        for (int node = 0; node < NODES; node++) {
+            for (int target : new int[] {(node + 1) % NODES, (node * 7 + 3) % NODES, (node * 31 + 11) % NODES}) {
+                if (target != node) {
+                    chains.get(node).outgoing(relationship, target, 0);
+                    chains.get(target).incoming(relationship, node, 0);
+                    relationship++;
+                }
+            }
+        }
+        return chains;
+    }
+}
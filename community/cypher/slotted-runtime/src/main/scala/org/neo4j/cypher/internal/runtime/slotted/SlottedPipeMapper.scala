@@ -192,12 +192,18 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands
 import org.neo4j.cypher.internal.runtime.interpreted.commands.CommandNFA
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.AggregationExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Count
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.CountStar
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.DeleteOperation
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.FunctionInvocation
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.NestedPipeExpression
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.SideEffect
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTableFactory
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerAggregationPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.EmptyResultPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.FilterPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.IndexSeekModeFactory
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyPropertyKey
@@ -219,6 +225,7 @@ import org.neo4j.cypher.internal.runtime.interpreted.pipes.SetPropertyOperation
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Top1Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Top1WithTiesPipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.TopNPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.TransactionPipeWrapper
 import org.neo4j.cypher.internal.runtime.slotted
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper.DistinctAllPrimitive
 import org.neo4j.cypher.internal.runtime.slotted.SlottedPipeMapper.DistinctWithReferences
@@ -236,6 +243,7 @@ import org.neo4j.cypher.internal.runtime.slotted.aggregation.SlottedOrderedNonGr
 import org.neo4j.cypher.internal.runtime.slotted.aggregation.SlottedPrimitiveGroupingAggTable
 import org.neo4j.cypher.internal.runtime.slotted.expressions.CreateSlottedNode
 import org.neo4j.cypher.internal.runtime.slotted.expressions.CreateSlottedRelationship
+import org.neo4j.cypher.internal.runtime.slotted.expressions.NestedPipeSlottedExpression
 import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedRemoveLabelsOperation
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AllNodesScanSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AllOrderedDistinctSlottedPipe
@@ -245,6 +253,10 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.ApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ArgumentSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AssertSameRelationshipSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.BFSPruningVarLengthExpandSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedExpandAll
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedFilter
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedProjection
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CartesianProductSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ConditionalApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CreateNodeSlottedCommand
@@ -286,6 +298,9 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedPip
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedPrimitivePipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedDistinctSlottedSinglePrimitivePipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OrderedUnionSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe.AllNodes
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe.NodesByLabel
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ProduceResultSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.RollUpApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SelectOrSemiApplySlottedPipe
@@ -336,10 +351,21 @@ class SlottedPipeMapper(
   expressionConverters: ExpressionConverters,
   physicalPlan: PhysicalPlan,
   readOnly: Boolean,
-  indexRegistrator: QueryIndexRegistrator
+  indexRegistrator: QueryIndexRegistrator,
+  partitionedScanParallelism: Int = 1,
+  shortestPathParallelism: Int = 1,
+  batchSize: Int = 0
 )(implicit semanticTable: SemanticTable)
     extends PipeMapper {
 
+  private var _usesWorkerThreads = false
+
+  /**
+   * True if any of the mapped pipes executes parts of the query on worker threads,
+   * which requires thread-safe execution resources.
+   */
+  def usesWorkerThreads: Boolean = _usesWorkerThreads
+
   override def onLeaf(plan: LogicalPlan): Pipe = {
 
     val id = plan.id
@@ -939,7 +965,11 @@ class SlottedPipeMapper(
         fallback.onLeaf(plan)
     }
     pipe.rowFactory = SlottedCypherRowFactory(slots, argumentSize)
-    pipe
+    if (batchSize > 0 && readOnly && argumentSize == SlotConfiguration.Size.zero && BatchedSlottedPipe.canBatch(pipe)) {
+      BatchedSlottedPipe(pipe, batchSize)
+    } else {
+      pipe
+    }
   }
 
   override def onOneChildPlan(plan: LogicalPlan, source: Pipe): Pipe = {
@@ -1288,6 +1318,14 @@ class SlottedPipeMapper(
         val pathCommandPredicates =
           pathPredicates.map(expressionConverters.toCommandExpression(id, _)).map(_.rewriteAsPredicate(identity))
 
+        // Predicates are evaluated on the query state, which must not be shared with other threads
+        val parallelism =
+          if (readOnly && perStepNodePredicates.isEmpty && perStepRelPredicates.isEmpty) shortestPathParallelism
+          else 1
+        if (parallelism > 1) {
+          _usesWorkerThreads = true
+        }
+
         ShortestPathSlottedPipe(
           source,
           sourceSlot,
@@ -1304,6 +1342,7 @@ class SlottedPipeMapper(
           allowZeroLength = allowZeroLength,
           maxDepth = maxDepth,
           needOnlyOnePath = single && !withFallBack,
+          parallelism = parallelism,
           slots = slots
         )(id)
 
@@ -1600,7 +1639,9 @@ class SlottedPipeMapper(
             )
           }
 
-        EagerAggregationPipe(source, tableFactory)(id)
+        val partitionedCount =
+          if (groupingExpressions.isEmpty) partitionedNodeCount(source, tableFactory, aggregation, slots, id) else None
+        partitionedCount.getOrElse(EagerAggregationPipe(source, tableFactory)(id))
 
       case OrderedAggregation(_, groupingExpressions, aggregationExpression, orderToLeverage) =>
         val aggregation = aggregationExpression.map {
@@ -1736,7 +1777,30 @@ class SlottedPipeMapper(
         fallback.onOneChildPlan(plan, source)
     }
     pipe.rowFactory = SlottedCypherRowFactory(slots, argumentSize)
-    pipe
+    batched(pipe)
+  }
+
+  /**
+   * Continues a batched pipeline with `pipe`, if it is an operator that can be executed a batch at a time, or lets
+   * `pipe` consume the batch rows directly, if it does not hold on to its input rows.
+   */
+  private def batched(pipe: Pipe): Pipe = pipe match {
+    case ExpandAllSlottedPipe(source: BatchedSlottedPipe, fromSlot, relOffset, toOffset, dir, types, slots) =>
+      source.append(BatchedExpandAll(fromSlot, relOffset, toOffset, dir, types, slots), pipe, slots)
+    case FilterPipe(source: BatchedSlottedPipe, predicate) =>
+      source.append(BatchedFilter(predicate), pipe, source.slots)
+    case ProjectionPipe(source: BatchedSlottedPipe, projection) =>
+      source.append(BatchedProjection(projection), pipe, source.slots)
+    case EagerAggregationPipe(source: BatchedSlottedPipe, tableFactory) =>
+      val aggregation = EagerAggregationPipe(source.withReusedRows, tableFactory)(pipe.id)
+      aggregation.rowFactory = pipe.rowFactory
+      aggregation
+    case ProduceResultSlottedPipe(source: BatchedSlottedPipe, columns) =>
+      val produceResult = ProduceResultSlottedPipe(source.withReusedRows, columns)(pipe.id)
+      produceResult.rowFactory = pipe.rowFactory
+      produceResult
+    case _ =>
+      pipe
   }
 
   override def onTwoChildPlan(plan: LogicalPlan, lhs: Pipe, rhs: Pipe): Pipe = {
@@ -1843,6 +1907,7 @@ class SlottedPipeMapper(
           lhs,
           rhs,
           expressionConverters.toCommandExpression(id, batchSize),
+          TransactionPipeWrapper.concurrencyExpression(concurrency, expressionConverters.toCommandExpression(id, _)),
           onErrorBehaviour,
           maybeReportAs.map(slots.apply)
         )(id = id)
@@ -1852,6 +1917,7 @@ class SlottedPipeMapper(
           lhs,
           rhs,
           expressionConverters.toCommandExpression(id, batchSize),
+          TransactionPipeWrapper.concurrencyExpression(concurrency, expressionConverters.toCommandExpression(id, _)),
           onErrorBehaviour,
           (rhsPlan.availableSymbols.map(_.name) -- lhsPlan.availableSymbols.map(_.name)).map(slots.apply),
           maybeReportAs.map(slots.apply)
@@ -1945,6 +2011,63 @@ class SlottedPipeMapper(
     pipe
   }
 
+  /**
+   * A count over a (filtered) node scan in a read-only query can be computed by counting partitions of the scan in parallel.
+   */
+  private def partitionedNodeCount(
+    source: Pipe,
+    tableFactory: AggregationTableFactory,
+    aggregation: Map[Int, AggregationExpression],
+    slots: SlotConfiguration,
+    id: Id
+  ): Option[Pipe] = {
+    if (partitionedScanParallelism <= 1 || !readOnly) {
+      return None
+    }
+
+    val counts = aggregation.toArray.map {
+      case (offset, CountStar())       => Some(offset -> None)
+      case (offset, Count(expression)) => Some(offset -> Some(expression))
+      case _                           => None
+    }
+    val (scanPipe, predicate) = rowPipe(source) match {
+      case FilterPipe(filterSource, filterPredicate) => (rowPipe(filterSource), Some(filterPredicate))
+      case unfiltered                                => (unfiltered, None)
+    }
+    val scan = scanPipe match {
+      case AllNodesScanSlottedPipe(ident, scanSlots)               => Some((AllNodes(ident), scanSlots))
+      case NodesByLabelScanSlottedPipe(ident, label, scanSlots, _) => Some((NodesByLabel(ident, label), scanSlots))
+      case _                                                       => None
+    }
+    // User-defined functions and nested pipes are not known to be safe to evaluate from other threads
+    val expressions = predicate ++ counts.flatMap(_.flatMap(_._2))
+    val threadSafeExpressions = expressions.forall(!_.exists {
+      case _: FunctionInvocation | _: NestedPipeExpression | _: NestedPipeSlottedExpression => true
+      case _                                                                                => false
+    })
+
+    (scan, counts.forall(_.isDefined) && threadSafeExpressions) match {
+      case (Some((partitionedScan, scanSlots)), true) =>
+        _usesWorkerThreads = true
+        Some(PartitionedNodeCountSlottedPipe(
+          source,
+          tableFactory,
+          partitionedScan,
+          scanSlots,
+          predicate,
+          counts.flatten,
+          partitionedScanParallelism,
+          slots
+        )(id))
+      case _ => None
+    }
+  }
+
+  private def rowPipe(pipe: Pipe): Pipe = pipe match {
+    case batched: BatchedSlottedPipe => batched.rowPipe
+    case _                           => pipe
+  }
+
   private def chooseDistinctPipe(
     groupingExpressions: Map[LogicalVariable, internal.expressions.Expression],
     orderToLeverage: Seq[internal.expressions.Expression],
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.AstNode
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsMatchResult
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.TextValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.storable.Values
+
+/**
+ * A predicate evaluated by a class generated by [[SlottedExpressionCompiler]].
+ *
+ * @param source the interpreted predicate that was compiled, kept for plan descriptions and tree traversals
+ */
+case class CompiledPredicate(source: Predicate, evaluator: CompiledPredicateEvaluator) extends Predicate {
+
+  override def isMatch(ctx: ReadableRow, state: QueryState): IsMatchResult =
+    IsMatchResult(evaluator.evaluate(ctx, state))
+
+  override def toString: String = source.toString
+
+  /**
+   * Rewrites the source predicate, and compiles the rewritten predicate again if it changed, since the generated
+   * evaluator only knows the source it was compiled from.
+   */
+  override def rewrite(f: Expression => Expression): Expression = {
+    val rewritten = source.rewrite(f)
+    if (rewritten == source) f(this) else f(SlottedExpressionCompiler.compile(rewritten))
+  }
+
+  override def arguments: Seq[Expression] = Seq(source)
+
+  override def children: Seq[AstNode[_]] = Seq(source)
+}
+
+/**
+ * Base class of the classes generated by [[SlottedExpressionCompiler]].
+ *
+ * A generated `evaluate` is a single method that chains calls to the helpers of this class and to
+ * [[org.neo4j.values.utils.ValueBooleanLogic]], so there is no tree of interpreted expressions to walk per row.
+ * The helpers read the same way as the interpreted slotted expressions they replace.
+ */
+abstract class CompiledPredicateEvaluator {
+
+  private var literals: Array[AnyValue] = Array.empty
+
+  def evaluate(row: ReadableRow, state: QueryState): Value
+
+  def setLiterals(literals: Array[AnyValue]): Unit = {
+    this.literals = literals
+  }
+
+  final def literal(index: Int): AnyValue = literals(index)
+
+  final def parameter(state: QueryState, offset: Int): AnyValue = state.params(offset)
+
+  final def reference(row: ReadableRow, offset: Int): AnyValue = row.getRefAt(offset)
+
+  final def nodeProperty(row: ReadableRow, state: QueryState, offset: Int, token: Int): AnyValue =
+    state.query.nodeReadOps.getProperty(
+      row.getLongAt(offset),
+      token,
+      state.cursors.nodeCursor,
+      state.cursors.propertyCursor,
+      throwOnDeleted = true
+    )
+
+  final def relationshipProperty(row: ReadableRow, state: QueryState, offset: Int, token: Int): AnyValue =
+    state.query.relationshipReadOps.getProperty(
+      row.getLongAt(offset),
+      token,
+      state.cursors.relationshipScanCursor,
+      state.cursors.propertyCursor,
+      throwOnDeleted = true
+    )
+
+  final def isNull(value: AnyValue): Value = Values.booleanValue(value eq Values.NO_VALUE)
+
+  final def startsWith(lhs: AnyValue, rhs: AnyValue): Value = (lhs, rhs) match {
+    case (l: TextValue, r: TextValue) => Values.booleanValue(l.startsWith(r))
+    case _                            => Values.NO_VALUE
+  }
+
+  final def endsWith(lhs: AnyValue, rhs: AnyValue): Value = (lhs, rhs) match {
+    case (l: TextValue, r: TextValue) => Values.booleanValue(l.endsWith(r))
+    case _                            => Values.NO_VALUE
+  }
+
+  final def contains(lhs: AnyValue, rhs: AnyValue): Value = (lhs, rhs) match {
+    case (l: TextValue, r: TextValue) => Values.booleanValue(l.contains(r))
+    case _                            => Values.NO_VALUE
+  }
+}
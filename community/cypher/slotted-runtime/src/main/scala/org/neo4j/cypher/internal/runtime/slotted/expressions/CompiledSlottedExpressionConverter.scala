@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.cypher.internal.expressions
+import org.neo4j.cypher.internal.expressions.LogicalVariable
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.GroupingExpression
+import org.neo4j.cypher.internal.runtime.interpreted.commands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverter
+import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.ExpressionConverters
+import org.neo4j.cypher.internal.util.attribution.Id
+
+/**
+ * Main converter used when expressions should be compiled in the slotted runtime.
+ *
+ * Expressions are converted with the given interpreting converters, after which [[SlottedExpressionCompiler]]
+ * compiles the parts of the converted tree that it supports.
+ */
+class CompiledSlottedExpressionConverter(converters: Seq[ExpressionConverter]) extends ExpressionConverter {
+
+  private val interpreted = new ExpressionConverters(None, converters: _*)
+
+  override def toCommandExpression(
+    id: Id,
+    expression: expressions.Expression,
+    self: ExpressionConverters
+  ): Option[commands.expressions.Expression] =
+    Some(SlottedExpressionCompiler.compile(interpreted.toCommandExpression(id, expression)))
+
+  override def toCommandProjection(
+    id: Id,
+    projections: Map[LogicalVariable, expressions.Expression],
+    self: ExpressionConverters
+  ): Option[CommandProjection] = None
+
+  override def toGroupingExpression(
+    id: Id,
+    groupings: Map[LogicalVariable, expressions.Expression],
+    orderToLeverage: collection.Seq[expressions.Expression],
+    self: ExpressionConverters
+  ): Option[GroupingExpression] = None
+}
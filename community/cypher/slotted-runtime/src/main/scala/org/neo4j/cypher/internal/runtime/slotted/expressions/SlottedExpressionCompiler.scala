@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.codegen
+import org.neo4j.codegen.CodeBlock
+import org.neo4j.codegen.CodeGenerationNotSupportedException
+import org.neo4j.codegen.CodeGenerator.generateCode
+import org.neo4j.codegen.CompilationFailureException
+import org.neo4j.codegen.Expression.constant
+import org.neo4j.codegen.Expression.invoke
+import org.neo4j.codegen.MethodDeclaration.method
+import org.neo4j.codegen.MethodReference
+import org.neo4j.codegen.MethodReference.methodReference
+import org.neo4j.codegen.Parameter.param
+import org.neo4j.codegen.bytecode.ByteCode.BYTECODE
+import org.neo4j.cypher.internal.runtime.ReadableRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.ParameterFromSlot
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.AndsWithSelectivityTracking
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Contains
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.EndsWith
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Equals
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsNull
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.LessThanOrEqual
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ors
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.StartsWith
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.values.AnyValue
+import org.neo4j.values.storable.Value
+import org.neo4j.values.utils.ValueBooleanLogic
+
+import java.util.concurrent.atomic.AtomicLong
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Compiles the predicates of slotted expression trees to bytecode.
+ *
+ * Comparisons, string predicates, null checks and their negations are compiled whenever all their operands are
+ * literals, parameters or reads of slots and entity properties. Conjunctions and disjunctions stay interpreted, since
+ * they need to defer errors of their operands, but their operands are compiled one by one. Everything else, and
+ * everything that fails to compile, is left as it is and interpreted.
+ */
+object SlottedExpressionCompiler {
+
+  private val PACKAGE = "org.neo4j.cypher.internal.runtime.slotted.generated"
+  private val classCounter = new AtomicLong()
+
+  private val EVALUATE =
+    method(classOf[Value], "evaluate", param(classOf[ReadableRow], "row"), param(classOf[QueryState], "state"))
+
+  private val LITERAL = helper(classOf[AnyValue], "literal", classOf[Int])
+  private val PARAMETER = helper(classOf[AnyValue], "parameter", classOf[QueryState], classOf[Int])
+  private val REFERENCE = helper(classOf[AnyValue], "reference", classOf[ReadableRow], classOf[Int])
+
+  private val NODE_PROPERTY =
+    helper(classOf[AnyValue], "nodeProperty", classOf[ReadableRow], classOf[QueryState], classOf[Int], classOf[Int])
+
+  private val RELATIONSHIP_PROPERTY = helper(
+    classOf[AnyValue],
+    "relationshipProperty",
+    classOf[ReadableRow],
+    classOf[QueryState],
+    classOf[Int],
+    classOf[Int]
+  )
+  private val IS_NULL = helper(classOf[Value], "isNull", classOf[AnyValue])
+  private val STARTS_WITH = helper(classOf[Value], "startsWith", classOf[AnyValue], classOf[AnyValue])
+  private val ENDS_WITH = helper(classOf[Value], "endsWith", classOf[AnyValue], classOf[AnyValue])
+  private val CONTAINS = helper(classOf[Value], "contains", classOf[AnyValue], classOf[AnyValue])
+
+  private val EQUALS = booleanLogic("equals", classOf[AnyValue], classOf[AnyValue])
+  private val LESS_THAN = booleanLogic("lessThan", classOf[AnyValue], classOf[AnyValue])
+  private val LESS_THAN_OR_EQUAL = booleanLogic("lessThanOrEqual", classOf[AnyValue], classOf[AnyValue])
+  private val GREATER_THAN = booleanLogic("greaterThan", classOf[AnyValue], classOf[AnyValue])
+  private val GREATER_THAN_OR_EQUAL = booleanLogic("greaterThanOrEqual", classOf[AnyValue], classOf[AnyValue])
+  private val NOT = booleanLogic("not", classOf[AnyValue])
+
+  /**
+   * Replace the compilable predicates of the given expression with compiled ones.
+   */
+  def compile(expression: Expression): Expression = expression match {
+    case predicate: Predicate => compilePredicate(predicate)
+    case _                    => expression
+  }
+
+  private def compilePredicate(predicate: Predicate): Predicate = predicate match {
+    case Ands(predicates) => Ands(predicates.map(compilePredicate))
+    case Ors(predicates)  => Ors(predicates.map(compilePredicate))
+    case AndsWithSelectivityTracking(predicates, tracker) =>
+      AndsWithSelectivityTracking(predicates.map(compilePredicate), tracker)
+    case _ if isCompilable(predicate) => generate(predicate).getOrElse(predicate)
+    case _                            => predicate
+  }
+
+  private def isCompilable(predicate: Predicate): Boolean = predicate match {
+    case Equals(lhs, rhs)             => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case LessThan(lhs, rhs)           => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case LessThanOrEqual(lhs, rhs)    => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case GreaterThan(lhs, rhs)        => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case GreaterThanOrEqual(lhs, rhs) => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case StartsWith(lhs, rhs)         => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case EndsWith(lhs, rhs)           => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case Contains(lhs, rhs)           => isCompilableValue(lhs) && isCompilableValue(rhs)
+    case IsNull(inner)                => isCompilableValue(inner)
+    case Not(inner)                   => isCompilable(inner)
+    case _                            => false
+  }
+
+  private def isCompilableValue(expression: Expression): Boolean = expression match {
+    case _: Literal | _: ParameterFromSlot | _: ReferenceFromSlot | _: NodeProperty | _: RelationshipProperty => true
+    case _                                                                                                    => false
+  }
+
+  private def generate(predicate: Predicate): Option[Predicate] = {
+    val literals = ArrayBuffer.empty[AnyValue]
+    try {
+      val generator = generateCode(classOf[CompiledPredicateEvaluator].getClassLoader, BYTECODE)
+      val clazz = generator.generateClass(
+        classOf[CompiledPredicateEvaluator],
+        PACKAGE,
+        s"GeneratedPredicate${classCounter.incrementAndGet()}"
+      )
+      val handle =
+        try {
+          val body = clazz.generate(EVALUATE)
+          try {
+            body.returns(predicateCode(predicate, body, literals))
+          } finally {
+            body.close()
+          }
+          clazz.handle()
+        } finally {
+          clazz.close()
+        }
+      val evaluator = handle.newInstance().asInstanceOf[CompiledPredicateEvaluator]
+      evaluator.setLiterals(literals.toArray)
+      Some(CompiledPredicate(predicate, evaluator))
+    } catch {
+      case _: CodeGenerationNotSupportedException | _: CompilationFailureException => None
+    }
+  }
+
+  private def predicateCode(
+    predicate: Predicate,
+    body: CodeBlock,
+    literals: ArrayBuffer[AnyValue]
+  ): codegen.Expression = {
+    def value(expression: Expression): codegen.Expression = valueCode(expression, body, literals)
+
+    predicate match {
+      case Equals(lhs, rhs)             => invoke(EQUALS, value(lhs), value(rhs))
+      case LessThan(lhs, rhs)           => invoke(LESS_THAN, value(lhs), value(rhs))
+      case LessThanOrEqual(lhs, rhs)    => invoke(LESS_THAN_OR_EQUAL, value(lhs), value(rhs))
+      case GreaterThan(lhs, rhs)        => invoke(GREATER_THAN, value(lhs), value(rhs))
+      case GreaterThanOrEqual(lhs, rhs) => invoke(GREATER_THAN_OR_EQUAL, value(lhs), value(rhs))
+      case StartsWith(lhs, rhs)         => invoke(body.self(), STARTS_WITH, value(lhs), value(rhs))
+      case EndsWith(lhs, rhs)           => invoke(body.self(), ENDS_WITH, value(lhs), value(rhs))
+      case Contains(lhs, rhs)           => invoke(body.self(), CONTAINS, value(lhs), value(rhs))
+      case IsNull(inner)                => invoke(body.self(), IS_NULL, value(inner))
+      case Not(inner)                   => invoke(NOT, predicateCode(inner, body, literals))
+      case _                            => throw new IllegalStateException(s"Unexpected predicate $predicate")
+    }
+  }
+
+  private def valueCode(
+    expression: Expression,
+    body: CodeBlock,
+    literals: ArrayBuffer[AnyValue]
+  ): codegen.Expression = expression match {
+    case Literal(value) =>
+      literals += value
+      invoke(body.self(), LITERAL, constant(Int.box(literals.size - 1)))
+    case ParameterFromSlot(offset, _) =>
+      invoke(body.self(), PARAMETER, body.load("state"), constant(Int.box(offset)))
+    case ReferenceFromSlot(offset) =>
+      invoke(body.self(), REFERENCE, body.load("row"), constant(Int.box(offset)))
+    case NodeProperty(offset, token) =>
+      invoke(
+        body.self(),
+        NODE_PROPERTY,
+        body.load("row"),
+        body.load("state"),
+        constant(Int.box(offset)),
+        constant(Int.box(token))
+      )
+    case RelationshipProperty(offset, token) =>
+      invoke(
+        body.self(),
+        RELATIONSHIP_PROPERTY,
+        body.load("row"),
+        body.load("state"),
+        constant(Int.box(offset)),
+        constant(Int.box(token))
+      )
+    case _ => throw new IllegalStateException(s"Unexpected expression $expression")
+  }
+
+  private def helper(returns: Class[_], name: String, parameters: Class[_]*): MethodReference =
+    methodReference(classOf[CompiledPredicateEvaluator], returns, name, parameters: _*)
+
+  private def booleanLogic(name: String, parameters: Class[_]*): MethodReference =
+    methodReference(classOf[ValueBooleanLogic], classOf[Value], name, parameters: _*)
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.expressions.SemanticDirection
+import org.neo4j.cypher.internal.expressions.SemanticDirection.BOTH
+import org.neo4j.cypher.internal.expressions.SemanticDirection.INCOMING
+import org.neo4j.cypher.internal.expressions.SemanticDirection.OUTGOING
+import org.neo4j.cypher.internal.logical.plans.IndexOrderNone
+import org.neo4j.cypher.internal.physicalplanning.Slot
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.physicalplanning.SlotConfigurationUtils.makeGetPrimitiveNodeFromSlotFunctionFor
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.ClosingLongIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.interpreted.CommandProjection
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedOperator
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedScan
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.RowBatches
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.internal.kernel.api.helpers.RelationshipSelections
+import org.neo4j.values.storable.Values
+
+/**
+ * A node scan followed by expands, filters and projections, executed a batch of rows at a time.
+ *
+ * Every operator of the pipeline owns a [[SlottedRowBatch]] that is allocated once per execution and refilled for
+ * each batch, so rows are only allocated when they leave the pipeline, and not at all when they are consumed by a
+ * parent that does not hold on to them (see [[withReusedRows]]). Filters compact their input batch and projections
+ * write into it, in place.
+ *
+ * `rowPipe` is the equivalent pipe tree that passes one row at a time, which is used instead whenever the query is
+ * profiled, since the profiler expects rows to flow through every operator.
+ */
+case class BatchedSlottedPipe(
+  scan: BatchedScan,
+  operators: Seq[BatchedOperator],
+  rowPipe: Pipe,
+  slots: SlotConfiguration,
+  batchSize: Int,
+  reuseRows: Boolean
+)(val id: Id = Id.INVALID_ID) extends Pipe {
+
+  override def createResults(state: QueryState): ClosingIterator[CypherRow] =
+    if (state.decorator eq NullPipeDecorator) super.createResults(state) else rowPipe.createResults(state)
+
+  protected def internalCreateResults(state: QueryState): ClosingIterator[CypherRow] = {
+    val batches = operators.foldLeft(scan.open(state, batchSize))((input, operator) => operator.open(input, state))
+    new BatchRowIterator(batches)
+  }
+
+  /**
+   * Adds `operator` to the end of the pipeline, where `pipe` is the equivalent operator over the rows of this pipe.
+   */
+  def append(operator: BatchedOperator, pipe: Pipe, outputSlots: SlotConfiguration): BatchedSlottedPipe = {
+    val batched = copy(operators = operators :+ operator, rowPipe = pipe, slots = outputSlots)(pipe.id)
+    batched.rowFactory = pipe.rowFactory
+    batched
+  }
+
+  /**
+   * The same pipeline, handing out its batch rows directly. Only for parents that are done with a row by the time
+   * they ask for the next one.
+   */
+  def withReusedRows: BatchedSlottedPipe = {
+    val batched = copy(reuseRows = true)(id)
+    batched.rowFactory = rowFactory
+    batched
+  }
+
+  private class BatchRowIterator(batches: RowBatches) extends ClosingIterator[CypherRow] {
+    private var batch: SlottedRowBatch = _
+    private var index = 0
+    private var exhausted = false
+
+    override protected[this] def innerHasNext: Boolean = {
+      while (!exhausted && (batch == null || index >= batch.size)) {
+        batch = batches.nextBatch()
+        index = 0
+        exhausted = batch == null
+      }
+      !exhausted
+    }
+
+    override def next(): CypherRow = {
+      if (!hasNext) {
+        Iterator.empty.next()
+      }
+      val row = batch.rows(index)
+      index += 1
+      if (reuseRows) {
+        row
+      } else {
+        val outputRow = SlottedRow(slots)
+        outputRow.copyAllFrom(row)
+        outputRow
+      }
+    }
+
+    override protected[this] def closeMore(): Unit = batches.close()
+  }
+}
+
+object BatchedSlottedPipe {
+
+  /**
+   * Whether a scan may start a batched pipeline. Batched scans do not write any arguments into their rows.
+   */
+  def canBatch(scanPipe: Pipe): Boolean = scanPipe match {
+    case _: AllNodesScanSlottedPipe                       => true
+    case NodesByLabelScanSlottedPipe(_, _, _, indexOrder) => indexOrder == IndexOrderNone
+    case _                                                => false
+  }
+
+  def apply(scanPipe: Pipe, batchSize: Int): BatchedSlottedPipe = {
+    val (scan, slots) = scanPipe match {
+      case AllNodesScanSlottedPipe(ident, slots) => (BatchedAllNodesScan(slots.getLongOffsetFor(ident), slots), slots)
+      case NodesByLabelScanSlottedPipe(ident, label, slots, _) =>
+        (BatchedNodesByLabelScan(slots.getLongOffsetFor(ident), label, slots), slots)
+      case _ => throw new IllegalArgumentException(s"Cannot batch $scanPipe")
+    }
+    val batched = BatchedSlottedPipe(scan, Seq.empty, scanPipe, slots, batchSize, reuseRows = false)(scanPipe.id)
+    batched.rowFactory = scanPipe.rowFactory
+    batched
+  }
+
+  /**
+   * A stream of batches. A batch is only valid until the next call to `nextBatch`, which returns `null` once the
+   * stream is exhausted.
+   */
+  trait RowBatches {
+    def capacity: Int
+    def nextBatch(): SlottedRowBatch
+    def close(): Unit
+  }
+
+  sealed trait BatchedScan {
+    def open(state: QueryState, batchSize: Int): RowBatches
+  }
+
+  sealed trait BatchedOperator {
+    def open(input: RowBatches, state: QueryState): RowBatches
+  }
+
+  case class BatchedAllNodesScan(offset: Int, slots: SlotConfiguration) extends BatchedScan {
+
+    override def open(state: QueryState, batchSize: Int): RowBatches =
+      new ScanBatches(state.query.nodeReadOps.all, offset, slots, batchSize)
+  }
+
+  case class BatchedNodesByLabelScan(offset: Int, label: LazyLabel, slots: SlotConfiguration) extends BatchedScan {
+
+    override def open(state: QueryState, batchSize: Int): RowBatches = {
+      val labelId = label.getId(state.query)
+      val nodes =
+        if (labelId == LazyLabel.UNKNOWN) ClosingLongIterator.empty
+        else state.query.getNodesByLabel(state.nodeLabelTokenReadSession.get, labelId, IndexOrderNone)
+      new ScanBatches(nodes, offset, slots, batchSize)
+    }
+  }
+
+  case class BatchedExpandAll(
+    fromSlot: Slot,
+    relOffset: Int,
+    toOffset: Int,
+    dir: SemanticDirection,
+    types: RelationshipTypes,
+    slots: SlotConfiguration
+  ) extends BatchedOperator {
+    private val getFromNodeFunction = makeGetPrimitiveNodeFromSlotFunctionFor(fromSlot)
+
+    override def open(input: RowBatches, state: QueryState): RowBatches = new RowBatches {
+      private val output = new SlottedRowBatch(slots, input.capacity)
+      private val read = state.query.transactionalContext.dataRead
+      private val nodeCursor = state.query.nodeCursor()
+      private val relCursor = state.query.traversalCursor()
+      state.query.resources.trace(relCursor)
+
+      private var inputBatch: SlottedRowBatch = _
+      private var inputIndex = 0
+      private var inputRow: CypherRow = _
+      private var hasMore = false
+      private var exhausted = false
+
+      // An input row may expand into more relationships than fit into one output batch, so expansion picks up where
+      // the previous batch stopped
+      override def nextBatch(): SlottedRowBatch = {
+        output.size = 0
+        while (output.size < output.capacity && advance()) {
+          val outputRow = output.rows(output.size)
+          outputRow.copyAllFrom(inputRow)
+          outputRow.setLongAt(relOffset, relCursor.relationshipReference())
+          outputRow.setLongAt(toOffset, relCursor.otherNodeReference())
+          output.size += 1
+          hasMore = relCursor.next()
+        }
+        if (output.size == 0) null else output
+      }
+
+      override def close(): Unit = {
+        nodeCursor.close()
+        relCursor.close()
+        input.close()
+      }
+
+      private def advance(): Boolean = {
+        while (!hasMore && !exhausted) {
+          if (inputBatch != null && inputIndex < inputBatch.size) {
+            inputRow = inputBatch.rows(inputIndex)
+            inputIndex += 1
+            hasMore = expand(inputRow)
+          } else {
+            inputBatch = input.nextBatch()
+            inputIndex = 0
+            exhausted = inputBatch == null
+          }
+        }
+        hasMore
+      }
+
+      private def expand(row: CypherRow): Boolean = {
+        val fromNode = getFromNodeFunction.applyAsLong(row)
+        if (NullChecker.entityIsNull(fromNode)) {
+          false
+        } else {
+          read.singleNode(fromNode, nodeCursor)
+          if (!nodeCursor.next()) {
+            false
+          } else {
+            val selectionCursor = dir match {
+              case OUTGOING => RelationshipSelections.outgoingCursor(relCursor, nodeCursor, types.types(state.query))
+              case INCOMING => RelationshipSelections.incomingCursor(relCursor, nodeCursor, types.types(state.query))
+              case BOTH     => RelationshipSelections.allCursor(relCursor, nodeCursor, types.types(state.query))
+            }
+            selectionCursor.next()
+          }
+        }
+      }
+
+      override def capacity: Int = output.capacity
+    }
+  }
+
+  case class BatchedFilter(predicate: Expression) extends BatchedOperator {
+
+    override def open(input: RowBatches, state: QueryState): RowBatches = new RowBatches {
+
+      override def nextBatch(): SlottedRowBatch = {
+        var batch = input.nextBatch()
+        while (batch != null) {
+          batch.retain(row => predicate(row, state) eq Values.TRUE)
+          if (batch.size > 0) {
+            return batch
+          }
+          batch = input.nextBatch()
+        }
+        null
+      }
+
+      override def close(): Unit = input.close()
+
+      override def capacity: Int = input.capacity
+    }
+  }
+
+  case class BatchedProjection(projection: CommandProjection) extends BatchedOperator {
+
+    override def open(input: RowBatches, state: QueryState): RowBatches = new RowBatches {
+
+      override def nextBatch(): SlottedRowBatch = {
+        val batch = input.nextBatch()
+        if (batch != null) {
+          var i = 0
+          while (i < batch.size) {
+            projection.project(batch.rows(i), state)
+            i += 1
+          }
+        }
+        batch
+      }
+
+      override def close(): Unit = input.close()
+
+      override def capacity: Int = input.capacity
+    }
+  }
+
+  private class ScanBatches(nodes: ClosingLongIterator, offset: Int, slots: SlotConfiguration, batchSize: Int)
+      extends RowBatches {
+    private val batch = new SlottedRowBatch(slots, batchSize)
+
+    override def nextBatch(): SlottedRowBatch = {
+      batch.size = 0
+      while (batch.size < batch.capacity && nodes.hasNext) {
+        batch.rows(batch.size).setLongAt(offset, nodes.next())
+        batch.size += 1
+      }
+      if (batch.size == 0) null else batch
+    }
+
+    override def close(): Unit = nodes.close()
+
+    override def capacity: Int = batch.capacity
+  }
+}
+
+/**
+ * The rows of one operator of a [[BatchedSlottedPipe]]. Only the first `size` rows are valid.
+ */
+final class SlottedRowBatch(slots: SlotConfiguration, val capacity: Int) {
+  val rows: Array[SlottedRow] = Array.fill(capacity)(SlottedRow(slots))
+  var size = 0
+
+  /**
+   * Keeps the rows that satisfy `predicate`, in order, by moving them to the front of the batch. The rows that are
+   * dropped are moved behind them, so that they can be refilled.
+   */
+  def retain(predicate: CypherRow => Boolean): Unit = {
+    var kept = 0
+    var i = 0
+    while (i < size) {
+      val row = rows(i)
+      if (predicate(row)) {
+        rows(i) = rows(kept)
+        rows(kept) = row
+        kept += 1
+      }
+      i += 1
+    }
+    size = kept
+  }
+}
@@ -60,42 +60,66 @@ case class ExpandAllSlottedPipe(
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
-  ): ClosingIterator[CypherRow] = {
-    input.flatMap {
-      (inputRow: CypherRow) =>
-        val fromNode = getFromNodeFunction.applyAsLong(inputRow)
+  ): ClosingIterator[CypherRow] = new ExpandAllIterator(input, state)
 
-        if (NullChecker.entityIsNull(fromNode)) {
-          ClosingIterator.empty
+  /**
+   * Expands every input row through the same node and traversal cursor, which are repositioned per input row
+   * rather than allocated, traced and closed for each of them.
+   */
+  private class ExpandAllIterator(input: ClosingIterator[CypherRow], state: QueryState)
+      extends ClosingIterator[CypherRow] {
+    private val read = state.query.transactionalContext.dataRead
+    // The node cursor is only used to position the traversal cursor, and is closed together with this iterator
+    private val nodeCursor = state.query.nodeCursor()
+    private val relCursor = state.query.traversalCursor()
+    state.query.resources.trace(relCursor)
+
+    private var inputRow: CypherRow = _
+    private var hasMore = false
+
+    override protected[this] def innerHasNext: Boolean = {
+      while (!hasMore && input.hasNext) {
+        inputRow = input.next()
+        hasMore = expand(inputRow)
+      }
+      hasMore
+    }
+
+    override def next(): CypherRow = {
+      if (!hasNext) {
+        Iterator.empty.next()
+      }
+      val outputRow = SlottedRow(slots)
+      outputRow.copyAllFrom(inputRow)
+      outputRow.setLongAt(relOffset, relCursor.relationshipReference())
+      outputRow.setLongAt(toOffset, relCursor.otherNodeReference())
+      hasMore = relCursor.next()
+      outputRow
+    }
+
+    override protected[this] def closeMore(): Unit = {
+      nodeCursor.close()
+      relCursor.close()
+      input.close()
+    }
+
+    private def expand(row: CypherRow): Boolean = {
+      val fromNode = getFromNodeFunction.applyAsLong(row)
+      if (NullChecker.entityIsNull(fromNode)) {
+        false
+      } else {
+        read.singleNode(fromNode, nodeCursor)
+        if (!nodeCursor.next()) {
+          false
         } else {
-          val nodeCursor = state.query.nodeCursor()
-          val relCursor = state.query.traversalCursor()
-          try {
-            val read = state.query.transactionalContext.dataRead
-            read.singleNode(fromNode, nodeCursor)
-            if (!nodeCursor.next()) {
-              ClosingIterator.empty
-            } else {
-              val selectionCursor = dir match {
-                case OUTGOING => RelationshipSelections.outgoingCursor(relCursor, nodeCursor, types.types(state.query))
-                case INCOMING => RelationshipSelections.incomingCursor(relCursor, nodeCursor, types.types(state.query))
-                case BOTH     => RelationshipSelections.allCursor(relCursor, nodeCursor, types.types(state.query))
-              }
-              new ExpandIterator(selectionCursor, state.query) {
-                override protected def createOutputRow(relationship: Long, otherNode: Long): SlottedRow = {
-                  val outputRow = SlottedRow(slots)
-                  outputRow.copyAllFrom(inputRow)
-                  outputRow.setLongAt(relOffset, relationship)
-                  outputRow.setLongAt(toOffset, otherNode)
-                  outputRow
-
-                }
-              }
-            }
-          } finally {
-            nodeCursor.close()
+          val selectionCursor = dir match {
+            case OUTGOING => RelationshipSelections.outgoingCursor(relCursor, nodeCursor, types.types(state.query))
+            case INCOMING => RelationshipSelections.incomingCursor(relCursor, nodeCursor, types.types(state.query))
+            case BOTH     => RelationshipSelections.allCursor(relCursor, nodeCursor, types.types(state.query))
           }
+          selectionCursor.next()
         }
+      }
     }
   }
 }
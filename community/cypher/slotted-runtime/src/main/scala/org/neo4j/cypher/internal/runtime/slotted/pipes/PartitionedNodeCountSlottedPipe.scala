@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.ClosingIterator
+import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.AggregationPipe.AggregationTableFactory
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.LazyLabel
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe.AllNodes
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe.NodesByLabel
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe.PartitionedNodeScan
+import org.neo4j.cypher.internal.util.attribution.Id
+import org.neo4j.internal.kernel.api.NodeCursor
+import org.neo4j.internal.kernel.api.NodeLabelIndexCursor
+import org.neo4j.internal.kernel.api.PartitionedScan
+import org.neo4j.internal.kernel.api.TokenPredicate
+import org.neo4j.scheduler.Group
+import org.neo4j.values.storable.Values
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Future
+
+/**
+ * Non-grouping aggregation of `count(*)` and `count(expression)` over an optionally filtered node scan.
+ *
+ * The scan is split into partitions that are counted by worker threads, each reading through its own
+ * execution context of the transaction, and the partial counts are summed on the query thread.
+ *
+ * Whenever a partitioned scan would give a different answer, or the query is profiled, the rows of `source`
+ * are aggregated on the query thread exactly like [[org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerAggregationPipe]].
+ */
+case class PartitionedNodeCountSlottedPipe(
+  source: Pipe,
+  tableFactory: AggregationTableFactory,
+  scan: PartitionedNodeScan,
+  scanSlots: SlotConfiguration,
+  predicate: Option[Expression],
+  counts: Array[(Int, Option[Expression])],
+  parallelism: Int,
+  slots: SlotConfiguration
+)(val id: Id = Id.INVALID_ID) extends AggregationPipe(source) {
+
+  private val nodeOffset = scanSlots.getLongOffsetFor(scan.ident)
+
+  override protected def computeDecoratedResult(
+    state: QueryState,
+    decoratedState: QueryState
+  ): ClosingIterator[CypherRow] = {
+    if (canScanPartitioned(decoratedState)) {
+      decorateResult(ClosingIterator.empty, decoratedState, ClosingIterator.single(countPartitioned(decoratedState)))
+    } else {
+      super.computeDecoratedResult(state, decoratedState)
+    }
+  }
+
+  protected def internalCreateResults(
+    input: ClosingIterator[CypherRow],
+    state: QueryState
+  ): ClosingIterator[CypherRow] = {
+    val table = tableFactory.table(state, rowFactory, id)
+    table.clear()
+    while (input.hasNext) {
+      table.processRow(input.next())
+    }
+    table.result()
+  }
+
+  // Partitioned scans do not see the transaction state, and the profiler expects rows to flow through every operator
+  private def canScanPartitioned(state: QueryState): Boolean =
+    (state.decorator eq NullPipeDecorator) &&
+      state.initialContext.isEmpty &&
+      !state.query.transactionalContext.dataRead.transactionStateHasChanges
+
+  private def countPartitioned(state: QueryState): CypherRow = {
+    val totals = new Array[Long](counts.length)
+    val partitions = partitionedScan(state)
+    if (partitions != null) {
+      // Worker states are created and closed here, on the thread that owns the transaction
+      val workerStates = Array.fill(partitions.getNumberOfPartitions)(state.withParallelQueryContext())
+      try {
+        val executor = state.query.transactionalContext.jobScheduler.executor(Group.CYPHER_WORKER)
+        val futures: Array[Future[Array[Long]]] = workerStates.map { workerState =>
+          executor.submit(new Callable[Array[Long]] {
+            override def call(): Array[Long] = countPartition(partitions, workerState)
+          })
+        }
+        var failure: Throwable = null
+        futures.foreach { future =>
+          try {
+            val partial = future.get()
+            var i = 0
+            while (i < totals.length) {
+              totals(i) += partial(i)
+              i += 1
+            }
+          } catch {
+            case e: ExecutionException =>
+              if (failure == null) failure = e.getCause else failure.addSuppressed(e.getCause)
+          }
+        }
+        if (failure != null) {
+          throw failure
+        }
+      } finally {
+        workerStates.foreach(_.close())
+      }
+    }
+
+    val row = SlottedRow(slots)
+    var i = 0
+    while (i < counts.length) {
+      row.setRefAt(counts(i)._1, Values.longValue(totals(i)))
+      i += 1
+    }
+    row
+  }
+
+  private def partitionedScan(state: QueryState): PartitionedScan[_] = {
+    val context = state.query.transactionalContext
+    scan match {
+      case AllNodes(_) =>
+        context.dataRead.allNodesScan(parallelism, context.cursorContext)
+      case NodesByLabel(_, label) =>
+        val labelId = label.getId(state.query)
+        if (labelId == LazyLabel.UNKNOWN) {
+          null
+        } else {
+          context.dataRead.nodeLabelScan(
+            state.nodeLabelTokenReadSession.get,
+            parallelism,
+            context.cursorContext,
+            new TokenPredicate(labelId)
+          )
+        }
+    }
+  }
+
+  private def countPartition(partitions: PartitionedScan[_], state: QueryState): Array[Long] = {
+    val context = state.query.transactionalContext
+    val partial = new Array[Long](counts.length)
+    context.assertTransactionOpen()
+    scan match {
+      case AllNodes(_) =>
+        val cursor = context.cursors.allocateNodeCursor(context.cursorContext, context.memoryTracker)
+        try {
+          if (
+            partitions.asInstanceOf[PartitionedScan[NodeCursor]].reservePartition(
+              cursor,
+              context.kernelExecutionContext
+            )
+          ) {
+            while (cursor.next()) {
+              countNode(cursor.nodeReference(), partial, state)
+            }
+          }
+        } finally {
+          cursor.close()
+        }
+      case NodesByLabel(_, _) =>
+        val cursor = context.cursors.allocateNodeLabelIndexCursor(context.cursorContext, context.memoryTracker)
+        try {
+          if (
+            partitions.asInstanceOf[PartitionedScan[NodeLabelIndexCursor]].reservePartition(
+              cursor,
+              context.kernelExecutionContext
+            )
+          ) {
+            while (cursor.next()) {
+              countNode(cursor.nodeReference(), partial, state)
+            }
+          }
+        } finally {
+          cursor.close()
+        }
+    }
+    partial
+  }
+
+  private def countNode(nodeId: Long, partial: Array[Long], state: QueryState): Unit = {
+    val row = SlottedRow(scanSlots)
+    row.setLongAt(nodeOffset, nodeId)
+    if (predicate.forall(p => p(row, state) eq Values.TRUE)) {
+      var i = 0
+      while (i < counts.length) {
+        counts(i)._2 match {
+          case None                                                             => partial(i) += 1
+          case Some(expression) if !(expression(row, state) eq Values.NO_VALUE) => partial(i) += 1
+          case _                                                                =>
+        }
+        i += 1
+      }
+    }
+  }
+}
+
+object PartitionedNodeCountSlottedPipe {
+
+  sealed trait PartitionedNodeScan {
+    def ident: String
+  }
+
+  case class AllNodes(ident: String) extends PartitionedNodeScan
+
+  case class NodesByLabel(ident: String, label: LazyLabel) extends PartitionedNodeScan
+}
@@ -19,18 +19,28 @@
  */
 package org.neo4j.cypher.internal.runtime.slotted.pipes
 
+import org.neo4j.common.TokenNameLookup
 import org.neo4j.cypher.internal.runtime.ClosingIterator
 import org.neo4j.cypher.internal.runtime.CypherRow
+import org.neo4j.cypher.internal.runtime.QueryContext
 import org.neo4j.cypher.internal.runtime.ValuePopulation.populate
 import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Expression
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
+import org.neo4j.cypher.internal.runtime.slotted.expressions.NodeFromSlot
+import org.neo4j.cypher.internal.runtime.slotted.expressions.NullCheck
+import org.neo4j.cypher.internal.runtime.slotted.expressions.RelationshipFromSlot
+import org.neo4j.cypher.internal.runtime.slotted.helpers.NullChecker.entityIsNull
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ProduceResultSlottedPipe.NO_SLOT
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ProduceResultSlottedPipe.tokenNames
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.internal.kernel.api.NodeCursor
 import org.neo4j.internal.kernel.api.PropertyCursor
 import org.neo4j.internal.kernel.api.RelationshipScanCursor
+import org.neo4j.kernel.impl.query.QuerySubscriber
 import org.neo4j.memory.MemoryTracker
+import org.neo4j.values.storable.Values
 
 case class ProduceResultSlottedPipe(source: Pipe, columns: Seq[(String, Expression)])(val id: Id = Id.INVALID_ID)
     extends PipeWithSource(source) with Pipe {
@@ -38,6 +48,20 @@ case class ProduceResultSlottedPipe(source: Pipe, columns: Seq[(String, Expressi
 
   private val columnExpressionArray = columns.map(_._2).toArray
 
+  // Offsets of the long slots holding the nodes and relationships returned as columns, which are written to the
+  // subscriber straight from the store cursors rather than being populated as values first
+  private val nodeSlotOffsets = columnExpressionArray.map {
+    case NodeFromSlot(offset)                                                => offset
+    case NullCheck(nullOffset, NodeFromSlot(offset)) if nullOffset == offset => offset
+    case _                                                                   => NO_SLOT
+  }
+
+  private val relationshipSlotOffsets = columnExpressionArray.map {
+    case RelationshipFromSlot(offset)                                                => offset
+    case NullCheck(nullOffset, RelationshipFromSlot(offset)) if nullOffset == offset => offset
+    case _                                                                           => NO_SLOT
+  }
+
   protected def internalCreateResults(
     input: ClosingIterator[CypherRow],
     state: QueryState
@@ -51,9 +75,10 @@ case class ProduceResultSlottedPipe(source: Pipe, columns: Seq[(String, Expressi
       val nodeCursor = cursors.nodeCursor
       val relCursor = cursors.relationshipScanCursor
       val propertyCursor = cursors.propertyCursor
+      val tokens = tokenNames(state.query)
       input.map {
         original =>
-          produceAndPopulate(original, state, nodeCursor, relCursor, propertyCursor, memoryTracker)
+          produceAndPopulate(original, state, nodeCursor, relCursor, propertyCursor, tokens, memoryTracker)
           original
       }
     } else {
@@ -71,19 +96,73 @@ case class ProduceResultSlottedPipe(source: Pipe, columns: Seq[(String, Expressi
     nodeCursor: NodeCursor,
     relCursor: RelationshipScanCursor,
     propertyCursor: PropertyCursor,
+    tokens: TokenNameLookup,
     memoryTracker: MemoryTracker
   ): Unit = {
     val subscriber = state.subscriber
     var i = 0
     subscriber.onRecord()
     while (i < columnExpressionArray.length) {
-      val value = columnExpressionArray(i)(original, state)
-      subscriber.onField(i, populate(value, state.query, nodeCursor, relCursor, propertyCursor, memoryTracker))
+      if (nodeSlotOffsets(i) != NO_SLOT) {
+        produceNode(i, original.getLongAt(nodeSlotOffsets(i)), subscriber, state, nodeCursor, propertyCursor, tokens)
+      } else if (relationshipSlotOffsets(i) != NO_SLOT) {
+        val id = original.getLongAt(relationshipSlotOffsets(i))
+        produceRelationship(i, id, subscriber, state, relCursor, propertyCursor, tokens)
+      } else {
+        val value = columnExpressionArray(i)(original, state)
+        subscriber.onField(i, populate(value, state.query, nodeCursor, relCursor, propertyCursor, memoryTracker))
+      }
       i += 1
     }
     subscriber.onRecordCompleted()
   }
 
+  private def produceNode(
+    offset: Int,
+    id: Long,
+    subscriber: QuerySubscriber,
+    state: QueryState,
+    nodeCursor: NodeCursor,
+    propertyCursor: PropertyCursor,
+    tokens: TokenNameLookup
+  ): Unit = {
+    if (entityIsNull(id)) {
+      subscriber.onField(offset, Values.NO_VALUE)
+    } else {
+      val query = state.query
+      query.singleNode(id, nodeCursor)
+      if (nodeCursor.next()) {
+        subscriber.onNodeField(offset, nodeCursor, propertyCursor, tokens, query.elementIdMapper())
+      } else {
+        // the node has probably been deleted, let population produce the bare node
+        subscriber.onField(offset, populate(query.nodeById(id), query, nodeCursor, propertyCursor))
+      }
+    }
+  }
+
+  private def produceRelationship(
+    offset: Int,
+    id: Long,
+    subscriber: QuerySubscriber,
+    state: QueryState,
+    relCursor: RelationshipScanCursor,
+    propertyCursor: PropertyCursor,
+    tokens: TokenNameLookup
+  ): Unit = {
+    if (entityIsNull(id)) {
+      subscriber.onField(offset, Values.NO_VALUE)
+    } else {
+      val query = state.query
+      query.singleRelationship(id, relCursor)
+      if (relCursor.next()) {
+        subscriber.onRelationshipField(offset, relCursor, propertyCursor, tokens, query.elementIdMapper())
+      } else {
+        // the relationship has probably been deleted, let population produce the bare relationship
+        subscriber.onField(offset, populate(query.relationshipById(id), query, relCursor, propertyCursor))
+      }
+    }
+  }
+
   private def produce(original: CypherRow, state: QueryState): Unit = {
     val subscriber = state.subscriber
     var i = 0
@@ -95,3 +174,16 @@ case class ProduceResultSlottedPipe(source: Pipe, columns: Seq[(String, Expressi
     subscriber.onRecordCompleted()
   }
 }
+
+object ProduceResultSlottedPipe {
+  private val NO_SLOT = -1
+
+  private def tokenNames(query: QueryContext): TokenNameLookup = new TokenNameLookup {
+    override def labelGetName(labelId: Int): String = query.nodeLabelName(labelId)
+
+    override def relationshipTypeGetName(relationshipTypeId: Int): String =
+      query.relationshipTypeName(relationshipTypeId)
+
+    override def propertyKeyGetName(propertyKeyId: Int): String = query.propertyKeyName(propertyKeyId)
+  }
+}
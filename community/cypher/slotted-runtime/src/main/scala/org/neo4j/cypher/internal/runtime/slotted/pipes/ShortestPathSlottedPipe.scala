@@ -30,18 +30,23 @@ import org.neo4j.cypher.internal.runtime.interpreted.commands
 import org.neo4j.cypher.internal.runtime.interpreted.commands.convert.DirectionConverter.toGraphDb
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Predicate
 import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.True
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.NullPipeDecorator
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.Pipe
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.PipeWithSource
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.RelationshipTypes
 import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.runtime.slotted.pipes.ShortestPathSlottedPipe.ParallelExpansion
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe.SlottedVariablePredicate
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe.predicateIsTrue
 import org.neo4j.cypher.internal.util.attribution.Id
 import org.neo4j.internal.kernel.api.helpers.traversal.BiDirectionalBFS
+import org.neo4j.internal.kernel.api.helpers.traversal.ParallelFrontierExpander
 import org.neo4j.kernel.api.StatementConstants
+import org.neo4j.scheduler.Group
 import org.neo4j.values.virtual.VirtualValues
 
+import scala.collection.mutable.ArrayBuffer
 import scala.jdk.CollectionConverters.IteratorHasAsScala
 
 case class ShortestPathSlottedPipe(
@@ -60,6 +65,7 @@ case class ShortestPathSlottedPipe(
   allowZeroLength: Boolean,
   maxDepth: Option[Int],
   needOnlyOnePath: Boolean,
+  parallelism: Int,
   slots: SlotConfiguration
 )(val id: Id = Id.INVALID_ID) extends PipeWithSource(source) with Pipe {
   self =>
@@ -91,6 +97,14 @@ case class ShortestPathSlottedPipe(
       needOnlyOnePath,
       allowZeroLength
     )
+    val parallelExpansion =
+      if (canExpandInParallel(state)) {
+        val expansion = new ParallelExpansion(state, parallelism)
+        biDirectionalBFS.enableParallelExpansion(expansion.expander)
+        Some(expansion)
+      } else {
+        None
+      }
     val pathPredicate = pathPredicates.foldLeft(True(): commands.predicates.Predicate)(_.andWith(_))
     val output = input.flatMap {
       row =>
@@ -160,5 +174,55 @@ case class ShortestPathSlottedPipe(
         }
     }
     output.closing(traversalCursor).closing(nodeCursor).closing(biDirectionalBFS)
+    parallelExpansion.foreach(output.closing)
+    output
+  }
+
+  // Workers read committed data only, and the profiler expects all reads to happen through the query context
+  private def canExpandInParallel(state: QueryState): Boolean =
+    parallelism > 1 &&
+      (state.decorator eq NullPipeDecorator) &&
+      !state.query.transactionalContext.dataRead.transactionStateHasChanges
+}
+
+object ShortestPathSlottedPipe {
+
+  /**
+   * Worker states and cursors for expanding BFS levels on [[Group.CYPHER_WORKER]] threads.
+   * Created by the expander on the first level that is large enough, and closed on the thread that owns the transaction.
+   */
+  private class ParallelExpansion(state: QueryState, parallelism: Int) extends AutoCloseable {
+    private[this] val workerStates = new ArrayBuffer[QueryState](parallelism)
+    private[this] val workers = new ArrayBuffer[ParallelFrontierExpander.Worker](parallelism)
+
+    val expander: ParallelFrontierExpander = new ParallelFrontierExpander(
+      () => state.query.transactionalContext.jobScheduler.executor(Group.CYPHER_WORKER),
+      parallelism,
+      _ => createWorker(),
+      ParallelFrontierExpander.DEFAULT_MIN_FRONTIER_SIZE
+    )
+
+    private def createWorker(): ParallelFrontierExpander.Worker = {
+      val workerState = state.withParallelQueryContext()
+      workerStates += workerState
+      val context = workerState.query.transactionalContext
+      val worker = new ParallelFrontierExpander.Worker(
+        context.dataRead,
+        context.cursors.allocateNodeCursor(context.cursorContext, context.memoryTracker),
+        context.cursors.allocateRelationshipTraversalCursor(context.cursorContext, context.memoryTracker),
+        context.memoryTracker
+      )
+      workers += worker
+      worker
+    }
+
+    override def close(): Unit = {
+      expander.close()
+      workers.foreach { worker =>
+        worker.nodeCursor.close()
+        worker.relCursor.close()
+      }
+      workerStates.foreach(_.close())
+    }
   }
 }
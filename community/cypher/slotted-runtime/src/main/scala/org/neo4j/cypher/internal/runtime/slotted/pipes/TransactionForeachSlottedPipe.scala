@@ -34,9 +34,11 @@ case class TransactionForeachSlottedPipe(
   source: Pipe,
   inner: Pipe,
   batchSize: Expression,
+  concurrency: Option[Expression],
   onErrorBehaviour: InTransactionsOnErrorBehaviour,
   statusSlot: Option[Slot]
-)(val id: Id = Id.INVALID_ID) extends AbstractTransactionForeachPipe(source, inner, batchSize, onErrorBehaviour) {
+)(val id: Id = Id.INVALID_ID)
+    extends AbstractTransactionForeachPipe(source, inner, batchSize, concurrency, onErrorBehaviour) {
   private[this] val statusOffsetOpt = statusSlot.map(_.offset)
 
   override protected def withStatus(
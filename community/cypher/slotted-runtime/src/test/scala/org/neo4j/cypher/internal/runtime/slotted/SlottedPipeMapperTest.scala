@@ -96,6 +96,10 @@ import org.neo4j.cypher.internal.runtime.slotted.expressions.SlottedExpressionCo
 import org.neo4j.cypher.internal.runtime.slotted.pipes.AllNodesScanSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ApplySlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.ArgumentSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedExpandAll
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedFilter
+import org.neo4j.cypher.internal.runtime.slotted.pipes.BatchedSlottedPipe.BatchedNodesByLabelScan
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CartesianProductSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CreateNodeSlottedCommand
 import org.neo4j.cypher.internal.runtime.slotted.pipes.CreateSlottedPipe
@@ -111,6 +115,8 @@ import org.neo4j.cypher.internal.runtime.slotted.pipes.NodesByLabelScanSlottedPi
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OptionalExpandAllSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OptionalExpandIntoSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.OptionalSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe
+import org.neo4j.cypher.internal.runtime.slotted.pipes.PartitionedNodeCountSlottedPipe.NodesByLabel
 import org.neo4j.cypher.internal.runtime.slotted.pipes.SortSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.UnwindSlottedPipe
 import org.neo4j.cypher.internal.runtime.slotted.pipes.VarLengthExpandSlottedPipe
@@ -131,7 +137,7 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
 
   implicit private val table: SemanticTable = SemanticTable()
 
-  private def build(beforeRewrite: LogicalPlan): Pipe = {
+  private def build(beforeRewrite: LogicalPlan, partitionedScanParallelism: Int = 1, batchSize: Int = 0): Pipe = {
     val tokenContext = mock[ReadTokenContext]
     when(tokenContext.getOptPropertyKeyId("propertyKey")).thenReturn(Some(0))
     val anonymousVariableNameGenerator = new AnonymousVariableNameGenerator()
@@ -164,7 +170,15 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
       ParameterMapping.empty
     )(table)
     val pipeBuilder =
-      new SlottedPipeMapper(fallback, converters, physicalPlan, true, mock[QueryIndexRegistrator])(table)
+      new SlottedPipeMapper(
+        fallback,
+        converters,
+        physicalPlan,
+        true,
+        mock[QueryIndexRegistrator],
+        partitionedScanParallelism,
+        batchSize = batchSize
+      )(table)
     PipeTreeBuilder(pipeBuilder).build(physicalPlan.logicalPlan)
   }
 
@@ -924,6 +938,79 @@ class SlottedPipeMapperTest extends CypherFunSuite with LogicalPlanningTestSuppo
     }
   }
 
+  test("count over filtered label scan should use partitioned scan when parallelism is configured") {
+    val leaf = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val filter = Selection(Seq(trueLiteral), leaf)
+    val plan = Aggregation(filter, Map.empty, Map[LogicalVariable, Expression](varFor("c") -> countStar()))
+
+    // when
+    val pipe = build(plan, partitionedScanParallelism = 4)
+
+    // then
+    val partitioned = pipe.asInstanceOf[PartitionedNodeCountSlottedPipe]
+    partitioned.scan should equal(NodesByLabel("x", LazyLabel(label)))
+    partitioned.predicate should equal(Some(predicates.True()))
+    partitioned.counts.map(_._2) should equal(Array(None))
+    partitioned.parallelism should equal(4)
+  }
+
+  test("count over label scan should not use partitioned scan by default") {
+    val leaf = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val plan = Aggregation(leaf, Map.empty, Map[LogicalVariable, Expression](varFor("c") -> countStar()))
+
+    // when
+    val pipe = build(plan)
+
+    // then
+    pipe shouldBe an[EagerAggregationPipe]
+  }
+
+  test("grouping count over label scan should not use partitioned scan") {
+    val leaf = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val plan = Aggregation(
+      leaf,
+      Map[LogicalVariable, Expression](varFor("y") -> varFor("x")),
+      Map[LogicalVariable, Expression](varFor("c") -> countStar())
+    )
+
+    // when
+    val pipe = build(plan, partitionedScanParallelism = 4)
+
+    // then
+    pipe shouldBe an[EagerAggregationPipe]
+  }
+
+  test("expand and filter over label scan should be batched when batch size is configured") {
+    val leaf = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val expand = Expand(leaf, varFor("x"), SemanticDirection.OUTGOING, Seq.empty, varFor("z"), varFor("r"))
+    val filter = Selection(Seq(trueLiteral), expand)
+    val plan = Aggregation(filter, Map.empty, Map[LogicalVariable, Expression](varFor("c") -> countStar()))
+
+    // when
+    val pipe = build(plan, batchSize = 64)
+
+    // then
+    val aggregation = pipe.asInstanceOf[EagerAggregationPipe]
+    val batched = aggregation.source.asInstanceOf[BatchedSlottedPipe]
+    batched.scan shouldBe a[BatchedNodesByLabelScan]
+    batched.operators.map(_.getClass) should equal(Seq(classOf[BatchedExpandAll], classOf[BatchedFilter]))
+    batched.batchSize should equal(64)
+    batched.reuseRows shouldBe true
+    batched.rowPipe shouldBe a[FilterPipe]
+  }
+
+  test("label scan should not be batched by default") {
+    val leaf = NodeByLabelScan(varFor("x"), label, Set.empty, IndexOrderNone)
+    val plan = Expand(leaf, varFor("x"), SemanticDirection.OUTGOING, Seq.empty, varFor("z"), varFor("r"))
+
+    // when
+    val pipe = build(plan)
+
+    // then
+    pipe shouldBe an[ExpandAllSlottedPipe]
+    pipe.asInstanceOf[ExpandAllSlottedPipe].source shouldBe a[NodesByLabelScanSlottedPipe]
+  }
+
   test("should have correct order for join on many nodes") {
     // given
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.runtime.slotted.expressions
+
+import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
+import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Literal
+import org.neo4j.cypher.internal.runtime.interpreted.commands.expressions.Variable
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Ands
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.GreaterThan
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsFalse
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsTrue
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.IsUnknown
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.Not
+import org.neo4j.cypher.internal.runtime.interpreted.commands.predicates.StartsWith
+import org.neo4j.cypher.internal.runtime.slotted.SlottedRow
+import org.neo4j.cypher.internal.util.NonEmptyList
+import org.neo4j.cypher.internal.util.symbols.CTAny
+import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
+import org.neo4j.values.storable.Values
+
+class SlottedExpressionCompilerTest extends CypherFunSuite {
+
+  private val slots = SlotConfiguration.empty.newReference("x", nullable = true, CTAny)
+
+  private def row(value: AnyRef) = {
+    val row = SlottedRow(slots)
+    row.setRefAt(0, Values.of(value))
+    row
+  }
+
+  test("should compile comparisons of slots and literals") {
+    val state = QueryStateHelper.empty
+    val compiled = SlottedExpressionCompiler.compile(GreaterThan(ReferenceFromSlot(0), Literal(Values.intValue(42))))
+
+    compiled shouldBe a[CompiledPredicate]
+    val predicate = compiled.asInstanceOf[CompiledPredicate]
+    predicate.isMatch(row(Int.box(43)), state) shouldBe IsTrue
+    predicate.isMatch(row(Int.box(41)), state) shouldBe IsFalse
+    predicate.isMatch(row(null), state) shouldBe IsUnknown
+  }
+
+  test("should compile negated string predicates") {
+    val state = QueryStateHelper.empty
+    val compiled =
+      SlottedExpressionCompiler.compile(Not(StartsWith(ReferenceFromSlot(0), Literal(Values.stringValue("A")))))
+
+    compiled shouldBe a[CompiledPredicate]
+    val predicate = compiled.asInstanceOf[CompiledPredicate]
+    predicate.isMatch(row("Bob"), state) shouldBe IsTrue
+    predicate.isMatch(row("Alice"), state) shouldBe IsFalse
+    predicate.isMatch(row(Int.box(1)), state) shouldBe IsUnknown
+  }
+
+  test("should compile the operands of conjunctions one by one") {
+    val supported = GreaterThan(ReferenceFromSlot(0), Literal(Values.intValue(42)))
+    val unsupported = GreaterThan(Variable("y"), Literal(Values.intValue(42)))
+
+    SlottedExpressionCompiler.compile(Ands(NonEmptyList(supported, unsupported))) match {
+      case Ands(NonEmptyList(first: CompiledPredicate, second)) =>
+        first.source shouldBe supported
+        second shouldBe unsupported
+      case other => fail(s"Unexpected $other")
+    }
+  }
+
+  test("should leave unsupported expressions interpreted") {
+    val unsupported = GreaterThan(Variable("y"), Literal(Values.intValue(42)))
+
+    SlottedExpressionCompiler.compile(unsupported) should be theSameInstanceAs unsupported
+  }
+
+  test("rewriting a compiled predicate should rewrite and recompile its source") {
+    val state = QueryStateHelper.empty
+    val compiled = SlottedExpressionCompiler.compile(GreaterThan(ReferenceFromSlot(0), Literal(Values.intValue(42))))
+
+    compiled.arguments shouldBe compiled.children
+    compiled.arguments shouldBe Seq(GreaterThan(ReferenceFromSlot(0), Literal(Values.intValue(42))))
+
+    val rewritten = compiled.rewrite {
+      case Literal(_) => Literal(Values.intValue(10))
+      case other      => other
+    }
+
+    rewritten shouldBe a[CompiledPredicate]
+    val predicate = rewritten.asInstanceOf[CompiledPredicate]
+    predicate.source shouldBe GreaterThan(ReferenceFromSlot(0), Literal(Values.intValue(10)))
+    predicate.isMatch(row(Int.box(11)), state) shouldBe IsTrue
+    predicate.isMatch(row(Int.box(9)), state) shouldBe IsFalse
+  }
+
+  test("rewriting a compiled predicate without changes should keep it") {
+    val compiled = SlottedExpressionCompiler.compile(GreaterThan(ReferenceFromSlot(0), Literal(Values.intValue(42))))
+
+    compiled.rewrite(identity) should be theSameInstanceAs compiled
+  }
+}
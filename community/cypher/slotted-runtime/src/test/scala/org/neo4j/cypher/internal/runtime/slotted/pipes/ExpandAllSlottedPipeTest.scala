@@ -20,19 +20,25 @@
 package org.neo4j.cypher.internal.runtime.slotted.pipes
 
 import org.mockito.Mockito
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
 import org.neo4j.cypher.internal.expressions.SemanticDirection
 import org.neo4j.cypher.internal.physicalplanning.SlotConfiguration
 import org.neo4j.cypher.internal.runtime.ResourceManager
 import org.neo4j.cypher.internal.runtime.interpreted.QueryStateHelper
 import org.neo4j.cypher.internal.runtime.interpreted.pipes.EagerTypes
+import org.neo4j.cypher.internal.runtime.interpreted.pipes.QueryState
 import org.neo4j.cypher.internal.util.symbols.CTNode
 import org.neo4j.cypher.internal.util.symbols.CTRelationship
 import org.neo4j.cypher.internal.util.test_helpers.CypherFunSuite
 import org.neo4j.internal.kernel.api.NodeCursor
 import org.neo4j.internal.kernel.api.helpers.StubNodeCursor
+import org.neo4j.internal.kernel.api.helpers.StubRead
 import org.neo4j.internal.kernel.api.helpers.StubRelationshipCursor
 import org.neo4j.internal.kernel.api.helpers.TestRelationshipChain
 
+import scala.jdk.CollectionConverters.SeqHasAsJava
+
 class ExpandAllSlottedPipeTest extends CypherFunSuite {
 
   test("exhaust should close cursor") {
@@ -82,4 +88,85 @@ class ExpandAllSlottedPipeTest extends CypherFunSuite {
     input.wasClosed shouldBe true
     monitor.closedResources.collect { case `relCursor` => relCursor } should have size (1)
   }
+
+  test("should expand many input rows through one pair of cursors") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val (state, nodeCursor, relCursor) = stateWithGraph(monitor, nodes = 100)
+
+    val input = FakeSlottedPipe((0 until 100).map(node => Map[Any, Any]("a" -> node)), nodeSlots(nullable = false))
+    val pipe = expand(input, nodeSlots(nullable = false))
+    val result = pipe.createResults(state).map(row => (row.getLongAt(0), row.getLongAt(1), row.getLongAt(2))).toList
+
+    result shouldBe (0 until 100).flatMap(node =>
+      Seq((node.toLong, node * 2L, (node + 1L) % 100), (node.toLong, node * 2L + 1, (node + 7L) % 100))
+    )
+    verify(state.query, times(1)).nodeCursor()
+    verify(state.query, times(1)).traversalCursor()
+    verify(nodeCursor, times(1)).close()
+    monitor.closedResources.collect { case `relCursor` => relCursor } should have size 1
+  }
+
+  test("should skip null and deleted start nodes") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val (state, _, _) = stateWithGraph(monitor, nodes = 10)
+
+    val slots = nodeSlots(nullable = true)
+    val input = FakeSlottedPipe(
+      Seq[Map[Any, Any]](Map("a" -> null), Map("a" -> 3), Map("a" -> 42), Map("a" -> null), Map("a" -> 5)),
+      slots
+    )
+    val result = expand(input, slots).createResults(state).map(row => (row.getLongAt(0), row.getLongAt(2))).toList
+
+    result shouldBe Seq((3L, 4L), (3L, 0L), (5L, 6L), (5L, 2L))
+  }
+
+  test("close before exhausting should release cursors once") {
+    val monitor = QueryStateHelper.trackClosedMonitor
+    val (state, nodeCursor, relCursor) = stateWithGraph(monitor, nodes = 100)
+
+    val input = FakeSlottedPipe((0 until 100).map(node => Map[Any, Any]("a" -> node)), nodeSlots(nullable = false))
+    val result = expand(input, nodeSlots(nullable = false)).createResults(state)
+    (1 to 3).foreach(_ => result.next())
+    result.close()
+
+    input.wasClosed shouldBe true
+    verify(nodeCursor, times(1)).close()
+    monitor.closedResources.collect { case `relCursor` => relCursor } should have size 1
+  }
+
+  private def nodeSlots(nullable: Boolean): SlotConfiguration =
+    SlotConfiguration.empty
+      .newLong("a", nullable, CTNode)
+      .newLong("r", nullable = false, CTRelationship)
+      .newLong("b", nullable = false, CTNode)
+
+  private def expand(input: FakeSlottedPipe, slots: SlotConfiguration): ExpandAllSlottedPipe =
+    ExpandAllSlottedPipe(input, slots("a"), 1, 2, SemanticDirection.OUTGOING, new EagerTypes(Array(0)), slots)()
+
+  // Every node n has outgoing relationships 2n and 2n+1, to the nodes n+1 and n+7, and the incoming counterparts
+  private def stateWithGraph(
+    monitor: QueryStateHelper.TrackClosedMonitor,
+    nodes: Int
+  ): (QueryState, StubNodeCursor, StubRelationshipCursor) = {
+    val chains = (0 until nodes).map(node => new TestRelationshipChain(node))
+    for (node <- 0 until nodes) {
+      val targets = Seq((node + 1) % nodes, (node + 7) % nodes)
+      targets.zipWithIndex.foreach { case (target, i) =>
+        val relationship = node * 2L + i
+        chains(node).outgoing(relationship, target, 0)
+        chains(target).incoming(relationship, node, 0)
+      }
+    }
+    val stubNodeCursor = new StubNodeCursor(false)
+    (0 until nodes).foreach(node => stubNodeCursor.withNode(node))
+    // The node cursor isn't traced by the resource manager, so its closing is verified on a spy
+    val nodeCursor = Mockito.spy(stubNodeCursor)
+    val relCursor = new StubRelationshipCursor(chains.asJava)
+
+    val state = QueryStateHelper.emptyWithResourceManager(new ResourceManager(monitor))
+    Mockito.when(state.query.transactionalContext.dataRead).thenReturn(new StubRead)
+    Mockito.when(state.query.nodeCursor()).thenReturn(nodeCursor)
+    Mockito.when(state.query.traversalCursor()).thenReturn(relCursor)
+    (state, nodeCursor, relCursor)
+  }
 }
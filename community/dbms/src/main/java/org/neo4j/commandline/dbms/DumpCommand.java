@@ -21,6 +21,7 @@ package org.neo4j.commandline.dbms;
 
 import static java.lang.String.format;
 import static org.neo4j.dbms.archive.Dumper.DUMP_EXTENSION;
+import static org.neo4j.dbms.archive.Dumper.MANIFEST_EXTENSION;
 import static org.neo4j.internal.helpers.Strings.joinAsLines;
 import static org.neo4j.kernel.recovery.Recovery.isRecoveryRequired;
 import static picocli.CommandLine.Command;
@@ -29,6 +30,7 @@ import static picocli.CommandLine.Option;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.file.FileAlreadyExistsException;
@@ -49,7 +51,9 @@ import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.configuration.helpers.DatabaseNamePattern;
 import org.neo4j.dbms.archive.DumpFormatSelector;
+import org.neo4j.dbms.archive.DumpManifest;
 import org.neo4j.dbms.archive.Dumper;
+import org.neo4j.dbms.archive.IncorrectFormat;
 import org.neo4j.internal.helpers.ArrayUtil;
 import org.neo4j.internal.helpers.Exceptions;
 import org.neo4j.io.fs.FileSystemAbstraction;
@@ -102,6 +106,33 @@ public class DumpCommand extends AbstractAdminCommand {
             description = "Overwrite any existing dump file in the destination folder.")
     private boolean overwriteDestination;
 
+    @Option(
+            names = "--threads",
+            paramLabel = "<num>",
+            showDefaultValue = ALWAYS,
+            description = "(advanced) Number of threads compressing the dump. More than one thread produces a "
+                    + "block compressed dump, which is also decompressed by several threads when loaded. "
+                    + "Such dumps can not be loaded by versions that do not support that format.")
+    private int threads = 1;
+
+    @Option(
+            names = "--write-manifest",
+            arity = "0..1",
+            paramLabel = "true|false",
+            fallbackValue = "true",
+            showDefaultValue = ALWAYS,
+            description = "(advanced) Also write a file called <database>.manifest next to the dump. A later dump "
+                    + "can be made differential against it with --differential-from.")
+    private boolean writeManifest;
+
+    @Option(
+            names = "--differential-from",
+            paramLabel = "<path>",
+            description = "(advanced) Folder containing the <database>.manifest written by an earlier dump with "
+                    + "--write-manifest. Only the pages that changed since that dump are dumped. The result is "
+                    + "loaded with load --differential on top of the database loaded from that dump.")
+    private String differentialFrom;
+
     public DumpCommand(ExecutionContext ctx) {
         super(ctx);
     }
@@ -135,6 +166,19 @@ public class DumpCommand extends AbstractAdminCommand {
                                 + "output. Specify a directory as destination or a single target database");
             }
 
+            if (writeManifest && dumpToStdOut) {
+                throw new CommandFailedException("--write-manifest can not be used in combination with standard "
+                        + "output. Specify a directory as destination");
+            }
+
+            Path manifestPath = null;
+            if (differentialFrom != null) {
+                manifestPath = fs.resolve(differentialFrom);
+                if (!fs.isDirectory(manifestPath)) {
+                    throw new CommandFailedException(differentialFrom + " is not an existing directory");
+                }
+            }
+
             if (storagePath == null && !dumpToStdOut) {
                 storagePath = createDefaultDumpsDir(fs, config);
             }
@@ -165,7 +209,7 @@ public class DumpCommand extends AbstractAdminCommand {
 
                     try (Closeable ignored = LockChecker.checkDatabaseLock(databaseLayout)) {
                         checkDbState(fs, databaseLayout, config, memoryTracker, databaseName, log);
-                        dump(dumper, databaseLayout, databaseName, storagePath);
+                        dump(fs, dumper, databaseLayout, databaseName, storagePath, manifestPath);
                     } catch (FileLockException e) {
                         throw new CommandFailedException(
                                 "The database is in use. Stop database '" + databaseName + "' and try again.", e);
@@ -233,21 +277,48 @@ public class DumpCommand extends AbstractAdminCommand {
         return dumper.openForDump(archive, overwriteDestination);
     }
 
-    private void dump(Dumper dumper, DatabaseLayout databaseLayout, String databaseName, Path storagePath) {
+    private void dump(
+            FileSystemAbstraction fs,
+            Dumper dumper,
+            DatabaseLayout databaseLayout,
+            String databaseName,
+            Path storagePath,
+            Path manifestPath) {
         Path databasePath = databaseLayout.databaseDirectory();
         try {
-            var format = DumpFormatSelector.selectFormat(ctx.err());
+            DumpManifest base = manifestPath != null ? readManifest(fs, manifestPath, databaseName) : null;
+            var format = DumpFormatSelector.selectFormat(ctx.err(), threads);
             var lockFile = databaseLayout.databaseLockFile().getFileName().toString();
             var quarantineMarkerFile =
                     databaseLayout.quarantineFile().getFileName().toString();
             // this is closed inside the dump call
             var out = openDumpStream(dumper, databaseName, storagePath);
-            dumper.dump(
-                    databasePath,
-                    databaseLayout.getTransactionLogsDirectory(),
-                    out,
-                    format,
-                    path -> oneOf(path, lockFile, quarantineMarkerFile));
+            DumpManifest manifest = null;
+            if (base != null) {
+                manifest = dumper.dumpDifferential(
+                        databasePath,
+                        databaseLayout.getTransactionLogsDirectory(),
+                        out,
+                        format,
+                        path -> oneOf(path, lockFile, quarantineMarkerFile),
+                        base);
+            } else {
+                dumper.dump(
+                        databasePath,
+                        databaseLayout.getTransactionLogsDirectory(),
+                        out,
+                        format,
+                        path -> oneOf(path, lockFile, quarantineMarkerFile));
+            }
+            if (writeManifest) {
+                if (manifest == null) {
+                    manifest = DumpManifest.fromArchive(fs, buildArchivePath(databaseName, storagePath));
+                }
+                try (OutputStream manifestOut =
+                        fs.openAsOutputStream(storagePath.resolve(databaseName + MANIFEST_EXTENSION), false)) {
+                    manifest.write(manifestOut);
+                }
+            }
         } catch (FileAlreadyExistsException e) {
             throw new CommandFailedException("Archive already exists: " + e.getMessage(), e);
         } catch (NoSuchFileException e) {
@@ -257,6 +328,20 @@ public class DumpCommand extends AbstractAdminCommand {
             wrapIOException(e);
         } catch (IOException e) {
             wrapIOException(e);
+        } catch (IncorrectFormat e) {
+            throw new CommandFailedException("Not a valid Neo4j archive: " + e.getMessage(), e);
+        }
+    }
+
+    private static DumpManifest readManifest(FileSystemAbstraction fs, Path manifestPath, String databaseName)
+            throws IOException {
+        Path manifestFile = manifestPath.resolve(databaseName + MANIFEST_EXTENSION);
+        if (!fs.fileExists(manifestFile)) {
+            throw new CommandFailedException("No manifest to base a differential dump of database '" + databaseName
+                    + "' on: " + manifestFile + " does not exist");
+        }
+        try (InputStream in = fs.openAsInputStream(manifestFile)) {
+            return DumpManifest.read(in);
         }
     }
 
@@ -110,6 +110,14 @@ public class LoadCommand extends AbstractAdminCommand {
                     "Print meta-data information about the archive file, instead of loading the contained database.")
     private boolean info;
 
+    @Option(
+            names = "--differential",
+            fallbackValue = "true",
+            description = "(advanced) Apply a differential dump, created by dump with --differential-from, on top of "
+                    + "the existing database instead of replacing it. The database must have been loaded from the "
+                    + "dump the differential dump is based on, followed by the differential dumps before it.")
+    private boolean differential;
+
     static final String SYSTEM_ERR_MESSAGE = "WARNING! You are loading a dump of Neo4j's internal system database.%n"
             + "This system database dump may contain unwanted metadata for the DBMS it was taken from;%n"
             + "Loading it should only be done after consulting the Neo4j Operations Manual.%n";
@@ -162,6 +170,10 @@ public class LoadCommand extends AbstractAdminCommand {
                 }
                 sourcePath = fs.resolve(defaultDumpsPath.toString());
             }
+            if (differential && (source.stdIn || force || info)) {
+                throw new CommandFailedException(
+                        "--differential can not be combined with --from-stdin, --overwrite-destination or --info.");
+            }
             if (info) {
                 inspectDump(fs, sourcePath);
             } else {
@@ -267,6 +279,10 @@ public class LoadCommand extends AbstractAdminCommand {
                         throw new CommandFailedException("Archive does not exist: " + dumpPath);
                     }
                 }
+                if (differential) {
+                    loadDumpExecutor.executeDifferential(dumpPath, dbName.dbName);
+                    continue;
+                }
                 var dumpInputDescription = dbName.stdIn ? "reading from stdin" : dumpPath.toString();
                 ThrowingSupplier<InputStream, IOException> dumpInputStreamSupplier =
                         dbName.stdIn ? ctx::in : streamSupplierFor(fs, dumpPath);
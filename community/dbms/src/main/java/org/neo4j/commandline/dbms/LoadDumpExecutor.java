@@ -30,6 +30,7 @@ import java.io.InputStream;
 import java.io.PrintStream;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
 import org.neo4j.cli.CommandFailedException;
 import org.neo4j.configuration.Config;
 import org.neo4j.dbms.archive.DecompressionSelector;
@@ -98,6 +99,30 @@ public class LoadDumpExecutor {
         }
     }
 
+    /**
+     * Applies a differential dump on top of an existing database. The database is left unchanged if the dump can not
+     * be applied.
+     */
+    public void executeDifferential(Path archive, String database) throws IOException {
+        DatabaseLayout databaseLayout = Neo4jLayout.of(config).databaseLayout(database);
+        if (!fs.fileExists(databaseLayout.databaseDirectory())) {
+            throw new CommandFailedException("Database does not exist: " + database
+                    + ". Load the dump the differential dump is based on first.");
+        }
+        try (Closeable ignore = LockChecker.checkDatabaseLock(databaseLayout)) {
+            loader.loadDifferential(archive, databaseLayout, decompressionSelector);
+        } catch (FileLockException e) {
+            throw new CommandFailedException(
+                    "The database is in use. Stop database '" + database + "' and try again.", e);
+        } catch (IncorrectFormat incorrectFormat) {
+            throw new CommandFailedException("Not a valid Neo4j differential dump: " + archive, incorrectFormat);
+        } catch (IOException e) {
+            wrapIOException(e);
+        } catch (CannotWriteException e) {
+            throw new CommandFailedException("You do not have permission to load the database '" + database + "'.", e);
+        }
+    }
+
     private void load(DumpInput dumpInput, DatabaseLayout databaseLayout) {
         try {
             loader.load(
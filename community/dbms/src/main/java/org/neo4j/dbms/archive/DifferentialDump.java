@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout of a differential dump. It is a regular archive whose first entry is a descriptor. The descriptor identifies
+ * the base dump by the {@link DumpManifest#digest() digest} of its manifest and the names of its files, so that the
+ * dump is only applied on top of a database with exactly those contents. It then lists every file of the dumped
+ * database with its size and the pages that changed since the base dump, followed by the files that were removed.
+ * Every file with changed pages then has an entry with just those pages, in order.
+ */
+final class DifferentialDump {
+    static final String DESCRIPTOR_ENTRY = "./.neo4j-differential-dump";
+    private static final int FORMAT_VERSION = 2;
+
+    private DifferentialDump() {}
+
+    record FileDelta(String name, long size, int[] changedPages) {
+        long changedBytes() {
+            long bytes = 0;
+            for (int page : changedPages) {
+                bytes += DumpManifest.pageLength(size, page);
+            }
+            return bytes;
+        }
+    }
+
+    record Descriptor(
+            byte[] baseDigest, List<String> baseFiles, Map<String, FileDelta> files, List<String> removedFiles) {}
+
+    static byte[] writeDescriptor(DumpManifest base, List<FileDelta> files, List<String> removedFiles)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(PAGE_SIZE);
+        byte[] baseDigest = base.digest();
+        data.writeInt(baseDigest.length);
+        data.write(baseDigest);
+        data.writeInt(base.fileNames().size());
+        for (String name : base.fileNames()) {
+            data.writeUTF(name);
+        }
+        data.writeInt(files.size());
+        for (FileDelta file : files) {
+            data.writeUTF(file.name());
+            data.writeLong(file.size());
+            data.writeInt(file.changedPages().length);
+            for (int page : file.changedPages()) {
+                data.writeInt(page);
+            }
+        }
+        data.writeInt(removedFiles.size());
+        for (String removed : removedFiles) {
+            data.writeUTF(removed);
+        }
+        data.flush();
+        return bytes.toByteArray();
+    }
+
+    static Descriptor readDescriptor(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int version = data.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported differential dump version: " + version + ".");
+        }
+        int pageSize = data.readInt();
+        if (pageSize != PAGE_SIZE) {
+            throw new IOException("Differential dump has page size " + pageSize + ", expected " + PAGE_SIZE + ".");
+        }
+        byte[] baseDigest = new byte[data.readInt()];
+        data.readFully(baseDigest);
+        int baseFileCount = data.readInt();
+        List<String> baseFiles = new ArrayList<>(baseFileCount);
+        for (int i = 0; i < baseFileCount; i++) {
+            baseFiles.add(data.readUTF());
+        }
+        int fileCount = data.readInt();
+        Map<String, FileDelta> files = new LinkedHashMap<>();
+        for (int i = 0; i < fileCount; i++) {
+            String name = data.readUTF();
+            long size = data.readLong();
+            int[] changedPages = new int[data.readInt()];
+            for (int page = 0; page < changedPages.length; page++) {
+                changedPages[page] = data.readInt();
+            }
+            files.put(name, new FileDelta(name, size, changedPages));
+        }
+        int removedCount = data.readInt();
+        List<String> removedFiles = new ArrayList<>(removedCount);
+        for (int i = 0; i < removedCount; i++) {
+            removedFiles.add(data.readUTF());
+        }
+        return new Descriptor(baseDigest, baseFiles, files, removedFiles);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Dump format where the archive is split into blocks that are compressed independently of each other, so that
+ * several threads can compress a dump and several threads can decompress it when it is loaded.
+ *
+ * @see ZstdBlockOutputStream for the layout of the blocks and their index.
+ */
+public class DumpBlockZstdFormatV1 implements CompressionFormat {
+    static final String MAGIC_HEADER = ArchiveFormat.DUMP_PREFIX + "BV1";
+    static final int DEFAULT_BLOCK_SIZE = 4 * 1024 * 1024;
+
+    private final int threads;
+    private final int blockSize;
+
+    public DumpBlockZstdFormatV1() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public DumpBlockZstdFormatV1(int threads) {
+        this(threads, DEFAULT_BLOCK_SIZE);
+    }
+
+    DumpBlockZstdFormatV1(int threads, int blockSize) {
+        this.threads = Math.max(1, threads);
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream stream) throws IOException {
+        stream.write(MAGIC_HEADER.getBytes());
+        return new ZstdBlockOutputStream(stream, blockSize, threads);
+    }
+
+    @Override
+    public InputStream decompress(InputStream stream) throws IOException {
+        return new ZstdBlockInputStream(stream, threads);
+    }
+
+    /**
+     * @return {@code true} if the given stream is <em>directly</em> a stream of this format.
+     */
+    static boolean isFormat(InputStream stream) {
+        return stream instanceof ZstdBlockInputStream;
+    }
+
+    static boolean isFormat(OutputStream stream) {
+        return stream instanceof ZstdBlockOutputStream;
+    }
+}
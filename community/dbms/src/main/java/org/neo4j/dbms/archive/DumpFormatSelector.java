@@ -94,6 +94,7 @@ public class DumpFormatSelector {
         return switch (new String(bytes)) {
             case DumpZstdFormatV1.MAGIC_HEADER -> new DumpZstdFormatV1();
             case DumpGzipFormatV1.MAGIC_HEADER -> new DumpGzipFormatV1();
+            case DumpBlockZstdFormatV1.MAGIC_HEADER -> new DumpBlockZstdFormatV1();
             default -> null;
         };
     }
@@ -103,8 +104,16 @@ public class DumpFormatSelector {
     }
 
     public static CompressionFormat selectFormat(PrintStream err) {
+        return selectFormat(err, 1);
+    }
+
+    /**
+     * @param threads number of threads to compress the dump with. More than one selects the block compressed format,
+     * which can also be decompressed by several threads, if ZSTD is available.
+     */
+    public static CompressionFormat selectFormat(PrintStream err, int threads) {
         if (StandardCompressionFormat.selectCompressionFormat(err) == ZSTD) {
-            return new DumpZstdFormatV1();
+            return threads > 1 ? new DumpBlockZstdFormatV1(threads) : new DumpZstdFormatV1();
         }
         return new DumpGzipFormatV1();
     }
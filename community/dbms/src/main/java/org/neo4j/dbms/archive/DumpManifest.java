@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.neo4j.io.fs.FileSystemAbstraction;
+
+/**
+ * Checksums of every page of every file in a dump, keyed by the name of the archive entry of the file. A differential
+ * dump only contains the pages whose checksums differ from the manifest of the dump it is based on.
+ * <p>
+ * Checksums are 64 bits, a CRC32C and a CRC32 of the page, to keep the chance of missing a changed page negligible
+ * even for very large stores.
+ */
+public class DumpManifest {
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, FileManifest> files;
+
+    DumpManifest(Map<String, FileManifest> files) {
+        this.files = Collections.unmodifiableMap(files);
+    }
+
+    public static DumpManifest empty() {
+        return new DumpManifest(Map.of());
+    }
+
+    /**
+     * Computes the manifest of a full dump, by reading through it.
+     */
+    public static DumpManifest fromArchive(FileSystemAbstraction fs, Path archive) throws IOException, IncorrectFormat {
+        Map<String, FileManifest> files = new LinkedHashMap<>();
+        try (InputStream decompressor = DumpFormatSelector.decompress(() -> fs.openAsInputStream(archive));
+                var stream = new TarArchiveInputStream(decompressor)) {
+            if (Loader.hasArchiveMetadata(decompressor)) {
+                // skip the archive size metadata
+                new Loader(fs).readArchiveSizeMetadata(decompressor);
+            }
+            ArchiveEntry entry;
+            while ((entry = nextEntry(stream, archive)) != null) {
+                if (DifferentialDump.DESCRIPTOR_ENTRY.equals(entry.getName())) {
+                    throw new IOException(
+                            "Can not compute a manifest of differential dump " + archive + ", use a full dump.");
+                }
+                if (!entry.isDirectory()) {
+                    files.put(entry.getName(), FileManifest.of(stream));
+                }
+            }
+        }
+        return new DumpManifest(files);
+    }
+
+    public static DumpManifest read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int version = data.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported dump manifest version: " + version + ".");
+        }
+        int pageSize = data.readInt();
+        if (pageSize != PAGE_SIZE) {
+            throw new IOException("Dump manifest has page size " + pageSize + ", expected " + PAGE_SIZE + ".");
+        }
+        int fileCount = data.readInt();
+        Map<String, FileManifest> files = new LinkedHashMap<>();
+        for (int i = 0; i < fileCount; i++) {
+            String name = data.readUTF();
+            long size = data.readLong();
+            long[] checksums = new long[pages(size)];
+            for (int page = 0; page < checksums.length; page++) {
+                checksums[page] = data.readLong();
+            }
+            files.put(name, new FileManifest(size, checksums));
+        }
+        return new DumpManifest(files);
+    }
+
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(PAGE_SIZE);
+        data.writeInt(files.size());
+        for (Map.Entry<String, FileManifest> file : files.entrySet()) {
+            data.writeUTF(file.getKey());
+            data.writeLong(file.getValue().size());
+            for (long checksum : file.getValue().pageChecksums()) {
+                data.writeLong(checksum);
+            }
+        }
+        data.flush();
+    }
+
+    public Set<String> fileNames() {
+        return files.keySet();
+    }
+
+    /**
+     * @return a SHA-256 digest of the names, sizes and page checksums of all files, independent of their order. Two
+     * manifests have the same digest only if they describe the same contents.
+     */
+    byte[] digest() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        DataOutputStream data = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+        for (Map.Entry<String, FileManifest> file : new TreeMap<>(files).entrySet()) {
+            data.writeUTF(file.getKey());
+            data.writeLong(file.getValue().size());
+            for (long checksum : file.getValue().pageChecksums()) {
+                data.writeLong(checksum);
+            }
+        }
+        data.flush();
+        return digest.digest();
+    }
+
+    FileManifest file(String name) {
+        return files.get(name);
+    }
+
+    /**
+     * @return the pages of {@code current} whose contents differ from the same file in this manifest, in order.
+     */
+    int[] changedPages(String name, FileManifest current) {
+        FileManifest base = files.get(name);
+        IntArrayList changed = new IntArrayList();
+        long[] checksums = current.pageChecksums();
+        for (int page = 0; page < checksums.length; page++) {
+            if (base == null
+                    || page >= base.pageChecksums().length
+                    || base.pageChecksums()[page] != checksums[page]
+                    || (page == checksums.length - 1 && base.size() != current.size())) {
+                changed.add(page);
+            }
+        }
+        return changed.toArray();
+    }
+
+    static int pages(long size) {
+        return Math.toIntExact((size + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    static int pageLength(long size, int page) {
+        return (int) Math.min(PAGE_SIZE, size - (long) page * PAGE_SIZE);
+    }
+
+    private static ArchiveEntry nextEntry(TarArchiveInputStream stream, Path archive) throws IncorrectFormat {
+        try {
+            return stream.getNextEntry();
+        } catch (IOException e) {
+            throw new IncorrectFormat(archive.toString(), e);
+        }
+    }
+
+    record FileManifest(long size, long[] pageChecksums) {
+        static FileManifest of(InputStream in) throws IOException {
+            byte[] page = new byte[PAGE_SIZE];
+            long size = 0;
+            LongArrayList checksums = new LongArrayList();
+            int length;
+            while ((length = in.readNBytes(page, 0, PAGE_SIZE)) > 0) {
+                checksums.add(checksum(page, length));
+                size += length;
+            }
+            return new FileManifest(size, checksums.toArray());
+        }
+    }
+
+    static long checksum(byte[] page, int length) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(page, 0, length);
+        CRC32 crc32 = new CRC32();
+        crc32.update(page, 0, length);
+        return (crc32c.getValue() << 32) | crc32.getValue();
+    }
+}
@@ -28,33 +28,44 @@ import static org.neo4j.io.fs.FileVisitors.onDirectory;
 import static org.neo4j.io.fs.FileVisitors.onFile;
 import static org.neo4j.io.fs.FileVisitors.onlyMatching;
 import static org.neo4j.io.fs.FileVisitors.throwExceptions;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.neo4j.commandline.Util;
+import org.neo4j.dbms.archive.DifferentialDump.FileDelta;
+import org.neo4j.dbms.archive.DumpManifest.FileManifest;
 import org.neo4j.dbms.archive.printer.OutputProgressPrinter;
 import org.neo4j.dbms.archive.printer.ProgressPrinters;
 import org.neo4j.function.Predicates;
 import org.neo4j.function.ThrowingConsumer;
 import org.neo4j.graphdb.Resource;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.logging.InternalLogProvider;
 
 public class Dumper {
     public static final String DUMP_EXTENSION = ".dump";
+    public static final String MANIFEST_EXTENSION = ".manifest";
     public static final String TAR_EXTENSION = ".tar";
 
     private final List<ArchiveOperation> operations = new ArrayList<>();
@@ -108,12 +119,7 @@ public class Dumper {
             CompressionFormat format,
             Predicate<Path> exclude)
             throws IOException {
-        operations.clear();
-
-        visitPath(dbPath, exclude);
-        if (!Util.isSameOrChildFile(dbPath, transactionalLogsPath)) {
-            visitPath(transactionalLogsPath, exclude);
-        }
+        collectOperations(dbPath, transactionalLogsPath, exclude);
 
         progressPrinter.reset();
         for (ArchiveOperation operation : operations) {
@@ -129,6 +135,105 @@ public class Dumper {
         }
     }
 
+    /**
+     * Dumps only the pages that changed since the dump described by {@code base}, into an archive that
+     * {@link Loader#loadDifferential(Path, DatabaseLayout, DecompressionSelector)} applies on top of that dump.
+     *
+     * @return the manifest of the dumped database, to base the next differential dump on.
+     */
+    public DumpManifest dumpDifferential(
+            Path dbPath,
+            Path transactionalLogsPath,
+            OutputStream out,
+            CompressionFormat format,
+            Predicate<Path> exclude,
+            DumpManifest base)
+            throws IOException {
+        collectOperations(dbPath, transactionalLogsPath, exclude);
+
+        Map<String, FileManifest> files = new LinkedHashMap<>();
+        List<FileDelta> deltas = new ArrayList<>();
+        for (ArchiveOperation operation : operations) {
+            if (operation.isFile) {
+                String name = operation.entryName();
+                FileManifest manifest;
+                try (var in = fs.openAsInputStream(operation.file)) {
+                    manifest = FileManifest.of(in);
+                }
+                files.put(name, manifest);
+                deltas.add(new FileDelta(name, manifest.size(), base.changedPages(name, manifest)));
+            }
+        }
+        List<String> removedFiles = new ArrayList<>();
+        for (String name : base.fileNames()) {
+            if (!files.containsKey(name)) {
+                removedFiles.add(name);
+            }
+        }
+
+        progressPrinter.reset();
+        for (FileDelta delta : deltas) {
+            if (delta.changedPages().length > 0) {
+                progressPrinter.maxBytes(progressPrinter.maxBytes() + delta.changedBytes());
+                progressPrinter.maxFiles(progressPrinter.maxFiles() + 1);
+            }
+        }
+
+        try (var stream = wrapArchiveOut(out, format);
+                Resource ignore = progressPrinter.startPrinting()) {
+            byte[] descriptor = DifferentialDump.writeDescriptor(base, deltas, removedFiles);
+            putEntry(stream, DifferentialDump.DESCRIPTOR_ENTRY, descriptor.length);
+            stream.write(descriptor);
+            stream.closeArchiveEntry();
+
+            Iterator<FileDelta> fileDeltas = deltas.iterator();
+            for (ArchiveOperation operation : operations) {
+                if (!operation.isFile) {
+                    operation.addToArchive(stream);
+                    continue;
+                }
+                FileDelta delta = fileDeltas.next();
+                if (delta.changedPages().length > 0) {
+                    putEntry(stream, delta.name(), delta.changedBytes());
+                    writePages(operation.file, delta, stream);
+                    stream.closeArchiveEntry();
+                }
+            }
+        }
+        return new DumpManifest(files);
+    }
+
+    private void collectOperations(Path dbPath, Path transactionalLogsPath, Predicate<Path> exclude)
+            throws IOException {
+        operations.clear();
+
+        visitPath(dbPath, exclude);
+        if (!Util.isSameOrChildFile(dbPath, transactionalLogsPath)) {
+            visitPath(transactionalLogsPath, exclude);
+        }
+    }
+
+    private static void putEntry(ArchiveOutputStream stream, String name, long size) throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(size);
+        stream.putArchiveEntry(entry);
+    }
+
+    private void writePages(Path file, FileDelta delta, ArchiveOutputStream stream) throws IOException {
+        progressPrinter.beginFile();
+        try (StoreChannel channel = fs.read(file)) {
+            byte[] page = new byte[PAGE_SIZE];
+            for (int pageId : delta.changedPages()) {
+                int length = DumpManifest.pageLength(delta.size(), pageId);
+                channel.position((long) pageId * PAGE_SIZE);
+                channel.readAll(ByteBuffer.wrap(page, 0, length));
+                stream.write(page, 0, length);
+                progressPrinter.addBytes(length);
+            }
+        }
+        progressPrinter.endFile();
+    }
+
     private void visitPath(Path transactionalLogsPath, Predicate<Path> exclude) throws IOException {
         Files.walkFileTree(
                 transactionalLogsPath,
@@ -143,7 +248,7 @@ public class Dumper {
         OutputStream compress = format.compress(out);
 
         // Add enough archive meta-data that the load command can print a meaningful progress indicator.
-        if (StandardCompressionFormat.ZSTD.isFormat(compress)) {
+        if (StandardCompressionFormat.ZSTD.isFormat(compress) || DumpBlockZstdFormatV1.isFormat(compress)) {
             writeArchiveMetadata(compress);
         }
 
@@ -199,14 +304,18 @@ public class Dumper {
         }
 
         void addToArchive(ArchiveOutputStream stream) throws IOException {
-            ArchiveEntry entry = createEntry(file, root, stream);
+            ArchiveEntry entry = createEntry(stream);
             stream.putArchiveEntry(entry);
             operation.accept(stream);
             stream.closeArchiveEntry();
         }
 
-        private static ArchiveEntry createEntry(Path file, Path root, ArchiveOutputStream archive) throws IOException {
-            return archive.createArchiveEntry(file.toFile(), "./" + root.relativize(file));
+        String entryName() {
+            return "./" + root.relativize(file);
+        }
+
+        private ArchiveEntry createEntry(ArchiveOutputStream archive) throws IOException {
+            return archive.createArchiveEntry(file.toFile(), entryName());
         }
     }
 }
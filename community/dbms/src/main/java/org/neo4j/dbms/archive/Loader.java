@@ -23,6 +23,7 @@ import static org.neo4j.dbms.archive.LoggingArchiveProgressPrinter.createProgres
 import static org.neo4j.dbms.archive.Utils.checkWritableDirectory;
 import static org.neo4j.dbms.archive.printer.ProgressPrinters.emptyPrinter;
 import static org.neo4j.dbms.archive.printer.ProgressPrinters.printStreamPrinter;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
 
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -30,21 +31,32 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileSystemException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.neo4j.commandline.dbms.StoreVersionLoader;
 import org.neo4j.configuration.Config;
+import org.neo4j.dbms.archive.DifferentialDump.FileDelta;
+import org.neo4j.dbms.archive.DumpManifest.FileManifest;
 import org.neo4j.dbms.archive.printer.OutputProgressPrinter;
 import org.neo4j.dbms.archive.printer.ProgressPrinters;
 import org.neo4j.function.ThrowingSupplier;
 import org.neo4j.graphdb.Resource;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.layout.DatabaseLayout;
 import org.neo4j.io.pagecache.context.CursorContextFactory;
 import org.neo4j.kernel.impl.transaction.log.files.TransactionLogFiles;
@@ -53,6 +65,9 @@ import org.neo4j.storageengine.api.StorageEngineFactory;
 import org.neo4j.util.VisibleForTesting;
 
 public class Loader {
+    private static final int PARALLEL_WRITERS = 4;
+    static final String DIFFERENTIAL_LOAD_DIRECTORY = "differential-load";
+
     private final FileSystemAbstraction filesystem;
     private final ArchiveProgressPrinter progressPrinter;
 
@@ -114,14 +129,142 @@ public class Loader {
 
         checkDatabasePresence(filesystem, databaseLayout);
 
-        try (var stream = openArchiveIn(selector, streamSupplier, inputName);
+        try (var decompressor = openDecompressor(selector, streamSupplier, inputName);
+                var stream = new TarArchiveInputStream(decompressor);
+                // block compressed dumps are decompressed by several threads, so let writing keep up with them
+                var writer = DumpBlockZstdFormatV1.isFormat(decompressor)
+                        ? new ParallelFileWriter(filesystem, PARALLEL_WRITERS)
+                        : null;
                 Resource ignore = progressPrinter.startPrinting()) {
             ArchiveEntry entry;
             while ((entry = nextEntry(stream, inputName)) != null) {
                 Path destination = determineEntryDestination(entry, databaseDestination, transactionLogsDirectory);
-                loadEntry(destination, stream, entry);
+                loadEntry(destination, stream, entry, writer);
+            }
+        }
+    }
+
+    /**
+     * Applies a differential dump created by
+     * {@link Dumper#dumpDifferential(Path, Path, OutputStream, CompressionFormat, Predicate, DumpManifest)} on top of
+     * the database that the dump it is based on was loaded into. The files of the base dump are compared with that
+     * database before anything is written, and the dump is refused if they differ.
+     * <p>
+     * Changed files are first written to a staging directory inside the database directory, and only moved in place
+     * once the whole dump has been read. A dump that turns out to be corrupted or truncated leaves the database as it
+     * was.
+     */
+    public void loadDifferential(Path archive, DatabaseLayout databaseLayout, DecompressionSelector selector)
+            throws IOException, IncorrectFormat {
+        Path databaseDestination = databaseLayout.databaseDirectory();
+        Path transactionLogsDirectory = databaseLayout.getTransactionLogsDirectory();
+        String inputName = archive.toString();
+        if (!filesystem.fileExists(databaseDestination)) {
+            throw new NoSuchFileException(
+                    databaseDestination.toString(), null, "Load the base dump before applying a differential dump");
+        }
+        createDestination(filesystem, transactionLogsDirectory);
+
+        Path staging = databaseDestination.resolve(DIFFERENTIAL_LOAD_DIRECTORY);
+        // left behind by a load that was killed before it could clean up
+        filesystem.deleteRecursively(staging);
+        try {
+            Map<Path, Path> stagedFiles = new LinkedHashMap<>();
+            List<Path> directories = new ArrayList<>();
+            List<Path> removedFiles = new ArrayList<>();
+            try (var decompressor = openDecompressor(selector, () -> filesystem.openAsInputStream(archive), inputName);
+                    var stream = new TarArchiveInputStream(decompressor);
+                    Resource ignore = progressPrinter.startPrinting()) {
+                ArchiveEntry entry = nextEntry(stream, inputName);
+                if (entry == null || !DifferentialDump.DESCRIPTOR_ENTRY.equals(entry.getName())) {
+                    throw new IncorrectFormat(inputName, new IOException("Not a differential dump"));
+                }
+                DifferentialDump.Descriptor descriptor = DifferentialDump.readDescriptor(stream);
+                verifyBase(descriptor, databaseDestination, transactionLogsDirectory, inputName);
+                while ((entry = nextEntry(stream, inputName)) != null) {
+                    Path destination = determineEntryDestination(entry, databaseDestination, transactionLogsDirectory);
+                    if (entry.isDirectory()) {
+                        directories.add(entryFile(destination, entry.getName()));
+                        continue;
+                    }
+                    FileDelta delta = descriptor.files().get(entry.getName());
+                    if (delta == null || stagedFiles.containsValue(entryFile(destination, entry.getName()))) {
+                        throw new InvalidDumpEntryException(entry.getName());
+                    }
+                    stagePages(staging, entryFile(destination, entry.getName()), stream, delta, stagedFiles);
+                }
+                // files without changed pages may still have been truncated, or created empty
+                for (FileDelta delta : descriptor.files().values()) {
+                    Path destination =
+                            determineEntryDestination(delta.name(), databaseDestination, transactionLogsDirectory);
+                    Path file = entryFile(destination, delta.name());
+                    if (!stagedFiles.containsValue(file)
+                            && (!filesystem.fileExists(file) || filesystem.getFileSize(file) != delta.size())) {
+                        stagePages(staging, file, stream, delta, stagedFiles);
+                    }
+                }
+                for (String removed : descriptor.removedFiles()) {
+                    Path destination =
+                            determineEntryDestination(removed, databaseDestination, transactionLogsDirectory);
+                    removedFiles.add(entryFile(destination, removed));
+                }
+            }
+
+            for (Path directory : directories) {
+                filesystem.mkdirs(directory);
+            }
+            for (Map.Entry<Path, Path> staged : stagedFiles.entrySet()) {
+                filesystem.mkdirs(staged.getValue().getParent());
+                filesystem.renameFile(staged.getKey(), staged.getValue(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            for (Path removed : removedFiles) {
+                filesystem.deleteFile(removed);
+            }
+        } finally {
+            filesystem.deleteRecursively(staging);
+        }
+    }
+
+    /**
+     * Writes the changed pages of a file to a copy of it in the staging directory, and records where the copy has to be
+     * moved once the whole dump has been read.
+     */
+    private void stagePages(Path staging, Path file, InputStream stream, FileDelta delta, Map<Path, Path> stagedFiles)
+            throws IOException {
+        Path staged = entryFile(staging, Integer.toString(stagedFiles.size()));
+        filesystem.mkdirs(staging);
+        if (filesystem.fileExists(file)) {
+            filesystem.copyFile(file, staged);
+        }
+        stagedFiles.put(staged, file);
+        applyPages(staged, stream, delta);
+    }
+
+    private void verifyBase(
+            DifferentialDump.Descriptor descriptor,
+            Path databaseDestination,
+            Path transactionLogsDirectory,
+            String inputName)
+            throws IOException {
+        Map<String, FileManifest> files = new LinkedHashMap<>();
+        for (String name : descriptor.baseFiles()) {
+            Path destination = determineEntryDestination(name, databaseDestination, transactionLogsDirectory);
+            Path file = entryFile(destination, name);
+            if (!filesystem.fileExists(file)) {
+                throw new IOException(baseMismatchMessage(inputName, databaseDestination, file + " is missing"));
+            }
+            try (InputStream in = filesystem.openAsInputStream(file)) {
+                files.put(name, FileManifest.of(in));
             }
         }
+        if (!Arrays.equals(new DumpManifest(files).digest(), descriptor.baseDigest())) {
+            throw new IOException(baseMismatchMessage(inputName, databaseDestination, "its contents differ"));
+        }
+    }
+
+    private static String baseMismatchMessage(String inputName, Path databaseDestination, String reason) {
+        return "Differential dump " + inputName + " is not based on the database at " + databaseDestination + ", "
+                + reason + ". Load the dump it is based on, and the differential dumps before it, first.";
     }
 
     public StoreVersionLoader.Result getStoreVersion(
@@ -143,12 +286,19 @@ public class Loader {
     }
 
     private DumpMetaData readDumpMetadata(InputStream decompressor) throws IOException {
-        if (StandardCompressionFormat.ZSTD.isFormat(decompressor)) {
+        if (hasArchiveMetadata(decompressor)) {
             return new DumpMetaData(true, readArchiveSizeMetadata(decompressor));
         }
         return new DumpMetaData(false, null);
     }
 
+    /**
+     * @see Dumper#writeArchiveMetadata(OutputStream)
+     */
+    static boolean hasArchiveMetadata(InputStream decompressor) {
+        return StandardCompressionFormat.ZSTD.isFormat(decompressor) || DumpBlockZstdFormatV1.isFormat(decompressor);
+    }
+
     private static void checkDatabasePresence(FileSystemAbstraction filesystem, DatabaseLayout databaseLayout)
             throws FileAlreadyExistsException {
         if (StorageEngineFactory.selectStorageEngine(filesystem, databaseLayout).isPresent()) {
@@ -173,7 +323,12 @@ public class Loader {
 
     private static Path determineEntryDestination(
             ArchiveEntry entry, Path databaseDestination, Path transactionLogsDirectory) {
-        Path entryName = Path.of(entry.getName()).getFileName();
+        return determineEntryDestination(entry.getName(), databaseDestination, transactionLogsDirectory);
+    }
+
+    private static Path determineEntryDestination(
+            String name, Path databaseDestination, Path transactionLogsDirectory) {
+        Path entryName = Path.of(name).getFileName();
         try {
             return TransactionLogFiles.DEFAULT_FILENAME_FILTER.accept(entryName)
                     ? transactionLogsDirectory
@@ -191,37 +346,72 @@ public class Loader {
         }
     }
 
-    private void loadEntry(Path destination, ArchiveInputStream<?> stream, ArchiveEntry entry) throws IOException {
-        Path file = destination.resolve(entry.getName().replace('\\', '/'));
-        var normalizedFile = file.normalize();
-        if (!normalizedFile.startsWith(destination)) {
-            throw new InvalidDumpEntryException(entry.getName());
-        }
+    private void loadEntry(
+            Path destination, ArchiveInputStream<?> stream, ArchiveEntry entry, ParallelFileWriter writer)
+            throws IOException {
+        var normalizedFile = entryFile(destination, entry.getName());
 
         if (entry.isDirectory()) {
             filesystem.mkdirs(normalizedFile);
         } else {
             filesystem.mkdirs(normalizedFile.getParent());
+            if (writer != null && entry.getSize() >= writer.chunkSize()) {
+                writer.write(stream, normalizedFile, entry.getSize(), progressPrinter);
+                return;
+            }
             try (OutputStream output = filesystem.openAsOutputStream(normalizedFile, false)) {
                 Utils.copy(stream, output, progressPrinter);
             }
         }
     }
 
-    private ArchiveInputStream<?> openArchiveIn(
+    private static Path entryFile(Path destination, String name) throws InvalidDumpEntryException {
+        Path file = destination.resolve(name.replace('\\', '/')).normalize();
+        if (!file.startsWith(destination)) {
+            throw new InvalidDumpEntryException(name);
+        }
+        return file;
+    }
+
+    private void applyPages(Path file, InputStream stream, FileDelta delta) throws IOException {
+        boolean hasPages = delta.changedPages().length > 0;
+        if (hasPages) {
+            progressPrinter.beginFile();
+        }
+        filesystem.mkdirs(file.getParent());
+        try (StoreChannel channel = filesystem.write(file)) {
+            byte[] page = new byte[PAGE_SIZE];
+            for (int pageId : delta.changedPages()) {
+                int length = DumpManifest.pageLength(delta.size(), pageId);
+                if (stream.readNBytes(page, 0, length) != length) {
+                    throw new IOException("Unexpected end of pages of " + delta.name() + ".");
+                }
+                channel.writeAll(ByteBuffer.wrap(page, 0, length), (long) pageId * PAGE_SIZE);
+                progressPrinter.addBytes(length);
+            }
+            if (channel.size() > delta.size()) {
+                channel.truncate(delta.size());
+            }
+        }
+        if (hasPages) {
+            progressPrinter.endFile();
+        }
+    }
+
+    private InputStream openDecompressor(
             DecompressionSelector selector, ThrowingSupplier<InputStream, IOException> streamSupplier, String inputName)
             throws IOException, IncorrectFormat {
         try {
             InputStream decompressor = selector.decompress(streamSupplier);
 
-            if (StandardCompressionFormat.ZSTD.isFormat(decompressor)) {
+            if (hasArchiveMetadata(decompressor)) {
                 // Important: Only the ZSTD compressed archives have any archive metadata.
                 SizeMeta fab = readArchiveSizeMetadata(decompressor);
                 progressPrinter.maxFiles(fab.files());
                 progressPrinter.maxBytes(fab.bytes());
             }
 
-            return new TarArchiveInputStream(decompressor);
+            return decompressor;
         } catch (NoSuchFileException ioe) {
             throw ioe;
         } catch (IOException e) {
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.neo4j.io.fs.FileSystemAbstraction.INVALID_FILE_DESCRIPTOR;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+
+/**
+ * Writes files of known size in chunks, where every chunk is written at its position in the file by a pool of
+ * threads, while the next chunks are read. Files are preallocated to their size up front, when supported.
+ */
+class ParallelFileWriter implements AutoCloseable {
+    static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final FileSystemAbstraction fs;
+    private final NativeAccess nativeAccess;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final ExecutorService writers;
+
+    ParallelFileWriter(FileSystemAbstraction fs, int threads) {
+        this(fs, threads, DEFAULT_CHUNK_SIZE);
+    }
+
+    ParallelFileWriter(FileSystemAbstraction fs, int threads, int chunkSize) {
+        this.fs = fs;
+        this.nativeAccess = NativeAccessProvider.getNativeAccess();
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = threads * 2;
+        this.writers = Executors.newFixedThreadPool(threads, new NamedThreadFactory("dump-file-writer", true));
+    }
+
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    void write(InputStream in, Path file, long size, ArchiveProgressPrinter progressPrinter) throws IOException {
+        progressPrinter.beginFile();
+        try (StoreChannel channel = fs.write(file)) {
+            channel.truncate(0);
+            preallocate(channel, file, size);
+            ArrayDeque<Future<Void>> pending = new ArrayDeque<>();
+            try {
+                long position = 0;
+                byte[] chunk;
+                while ((chunk = in.readNBytes(chunkSize)).length > 0) {
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                    long chunkPosition = position;
+                    pending.add(writers.submit(() -> {
+                        channel.writeAll(buffer, chunkPosition);
+                        return null;
+                    }));
+                    position += chunk.length;
+                    progressPrinter.addBytes(chunk.length);
+                    if (pending.size() > maxPendingChunks) {
+                        Utils.await(pending.poll());
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    Utils.await(pending.poll());
+                }
+                if (channel.size() > position) {
+                    channel.truncate(position);
+                }
+            } finally {
+                // the channel must outlive every write to it, also when one of them failed
+                awaitQuietly(pending);
+            }
+        }
+        progressPrinter.endFile();
+    }
+
+    @Override
+    public void close() {
+        writers.shutdownNow();
+    }
+
+    private void preallocate(StoreChannel channel, Path file, long size) throws IOException {
+        int descriptor = fs.getFileDescriptor(channel);
+        if (size <= 0 || !nativeAccess.isAvailable() || descriptor == INVALID_FILE_DESCRIPTOR) {
+            return;
+        }
+        var result = nativeAccess.tryPreallocateSpace(descriptor, size);
+        if (result.isError() && nativeAccess.errorTranslator().isOutOfDiskSpace(result)) {
+            throw new IOException("Not enough disk space to load " + file + " of " + size + " bytes: " + result);
+        }
+    }
+
+    private static void awaitQuietly(ArrayDeque<Future<Void>> pending) {
+        while (!pending.isEmpty()) {
+            try {
+                Utils.await(pending.poll());
+            } catch (IOException e) {
+                // the first failure has already been thrown
+            }
+        }
+    }
+}
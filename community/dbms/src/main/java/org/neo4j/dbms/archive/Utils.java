@@ -25,11 +25,15 @@ import static java.nio.file.Files.isWritable;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileSystemException;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.neo4j.internal.helpers.Exceptions;
 
 public class Utils {
     private Utils() {}
@@ -57,4 +61,19 @@ public class Utils {
         }
         progressPrinter.endFile();
     }
+
+    /**
+     * Waits for a task of a compression or writer pool, rethrowing its failure as an {@link IOException}.
+     */
+    static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for archive task");
+        } catch (ExecutionException e) {
+            Exceptions.throwIfInstanceOfOrUnchecked(e.getCause(), IOException.class, IOException::new);
+            throw new IOException(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.neo4j.dbms.archive.ZstdBlockOutputStream.BLOCK_HEADER_SIZE;
+import static org.neo4j.dbms.archive.ZstdBlockOutputStream.MAX_BLOCK_SIZE;
+
+import com.github.luben.zstd.Zstd;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+import org.neo4j.dbms.archive.ZstdBlockOutputStream.BlockInfo;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+
+/**
+ * Reads a stream written by {@link ZstdBlockOutputStream}. Blocks are read in order from the underlying stream and
+ * decompressed ahead of the reader on a pool of threads. The checksum of every block is verified, and so is the
+ * index at the end of the stream against the blocks that were read.
+ */
+class ZstdBlockInputStream extends InputStream {
+    private final DataInputStream in;
+    private final int blockSize;
+    private final long maxCompressedLength;
+    private final int maxPendingBlocks;
+    private final ExecutorService decompressors;
+    private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+    private final List<BlockInfo> blocks = new ArrayList<>();
+    private byte[] current = new byte[0];
+    private int currentPosition;
+    private long offset;
+    private boolean endOfBlocks;
+
+    ZstdBlockInputStream(InputStream in, int threads) throws IOException {
+        this.in = new DataInputStream(in);
+        this.blockSize = this.in.readInt();
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IOException("Not in block compressed format, block size: " + blockSize);
+        }
+        // no block written by the output stream compresses to more than this, so larger lengths are corruption and
+        // must not make us allocate a buffer for them
+        this.maxCompressedLength = Zstd.compressBound(blockSize);
+        this.maxPendingBlocks = threads * 2;
+        this.decompressors = Executors.newFixedThreadPool(threads, new NamedThreadFactory("dump-decompressor", true));
+        this.offset = Integer.BYTES;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return current[currentPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        int chunk = Math.min(len, current.length - currentPosition);
+        System.arraycopy(current, currentPosition, b, off, chunk);
+        currentPosition += chunk;
+        return chunk;
+    }
+
+    @Override
+    public int available() {
+        return current.length - currentPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        decompressors.shutdownNow();
+        in.close();
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        while (currentPosition == current.length) {
+            readAhead();
+            if (pending.isEmpty()) {
+                return false;
+            }
+            current = Utils.await(pending.poll());
+            currentPosition = 0;
+        }
+        return true;
+    }
+
+    private void readAhead() throws IOException {
+        while (!endOfBlocks && pending.size() < maxPendingBlocks) {
+            int rawLength = in.readInt();
+            if (rawLength == 0) {
+                endOfBlocks = true;
+                verifyIndex();
+                return;
+            }
+            int compressedLength = in.readInt();
+            int checksum = in.readInt();
+            if (rawLength < 0
+                    || rawLength > blockSize
+                    || compressedLength < 0
+                    || compressedLength > maxCompressedLength) {
+                throw new IOException("Corrupted block at offset " + offset + ", raw length: " + rawLength
+                        + ", compressed length: " + compressedLength + ".");
+            }
+            byte[] compressed = in.readNBytes(compressedLength);
+            if (compressed.length != compressedLength) {
+                throw new IOException("Unexpected end of stream in block at offset " + offset + ".");
+            }
+            long blockOffset = offset;
+            blocks.add(new BlockInfo(blockOffset, rawLength, compressedLength, checksum));
+            pending.add(decompressors.submit(() -> decompress(compressed, rawLength, checksum, blockOffset)));
+            offset += BLOCK_HEADER_SIZE + compressedLength;
+        }
+    }
+
+    private void verifyIndex() throws IOException {
+        int count = in.readInt();
+        if (count != blocks.size()) {
+            throw new IOException(
+                    "Block index lists " + count + " blocks, but " + blocks.size() + " blocks were read.");
+        }
+        long rawBytes = 0;
+        for (BlockInfo block : blocks) {
+            BlockInfo indexed = new BlockInfo(in.readLong(), in.readInt(), in.readInt(), in.readInt());
+            if (!indexed.equals(block)) {
+                throw new IOException("Block index entry " + indexed + " does not match block " + block + ".");
+            }
+            rawBytes += block.rawLength();
+        }
+        long indexedRawBytes = in.readLong();
+        if (indexedRawBytes != rawBytes) {
+            throw new IOException(
+                    "Block index lists " + indexedRawBytes + " bytes, but " + rawBytes + " bytes were read.");
+        }
+    }
+
+    private static byte[] decompress(byte[] compressed, int rawLength, int checksum, long offset) throws IOException {
+        byte[] data;
+        try {
+            data = Zstd.decompress(compressed, rawLength);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted block at offset " + offset + ".", e);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        if (data.length != rawLength || (int) crc.getValue() != checksum) {
+            throw new IOException("Checksum mismatch in block at offset " + offset + ".");
+        }
+        return data;
+    }
+}
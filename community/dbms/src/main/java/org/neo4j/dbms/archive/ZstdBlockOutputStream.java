@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import com.github.luben.zstd.Zstd;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+import org.neo4j.internal.helpers.NamedThreadFactory;
+
+/**
+ * Compresses everything written to it in fixed size blocks, on a pool of threads.
+ * <p>
+ * The stream starts with the block size. Every block is written as its raw length, its compressed length, the CRC32C
+ * checksum of its raw bytes and then the ZSTD compressed bytes. A raw length of zero ends the blocks and is followed
+ * by an index with the number of blocks, the offset, raw length, compressed length and checksum of every block, and
+ * finally the total number of raw bytes. Offsets are relative to the start of the stream.
+ */
+class ZstdBlockOutputStream extends OutputStream {
+    static final int COMPRESSION_LEVEL = 3;
+    static final int BLOCK_HEADER_SIZE = Integer.BYTES * 3;
+    static final int MAX_BLOCK_SIZE = 64 * 1024 * 1024;
+
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final int maxPendingBlocks;
+    private final ExecutorService compressors;
+    private final ArrayDeque<Future<Block>> pending = new ArrayDeque<>();
+    private final List<BlockInfo> index = new ArrayList<>();
+    private byte[] buffer;
+    private int bufferPosition;
+    private long offset;
+    private long rawBytes;
+    private boolean closed;
+
+    ZstdBlockOutputStream(OutputStream out, int blockSize, int threads) throws IOException {
+        if (blockSize <= 0 || blockSize > MAX_BLOCK_SIZE) {
+            throw new IllegalArgumentException(
+                    "Block size must be between 1 and " + MAX_BLOCK_SIZE + " bytes, but was " + blockSize + ".");
+        }
+        this.out = new DataOutputStream(out);
+        this.blockSize = blockSize;
+        this.maxPendingBlocks = threads * 2;
+        this.compressors = Executors.newFixedThreadPool(threads, new NamedThreadFactory("dump-compressor", true));
+        this.buffer = new byte[blockSize];
+        this.out.writeInt(blockSize);
+        this.offset = Integer.BYTES;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        buffer[bufferPosition++] = (byte) b;
+        if (bufferPosition == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            int chunk = Math.min(len, blockSize - bufferPosition);
+            System.arraycopy(b, off, buffer, bufferPosition, chunk);
+            bufferPosition += chunk;
+            off += chunk;
+            len -= chunk;
+            if (bufferPosition == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // Buffered bytes stay in the current block, only completed blocks are handed to the underlying stream
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (bufferPosition > 0) {
+                submitBlock();
+            }
+            while (!pending.isEmpty()) {
+                writeBlock(pending.poll());
+            }
+            out.writeInt(0);
+            out.writeInt(index.size());
+            for (BlockInfo block : index) {
+                out.writeLong(block.offset());
+                out.writeInt(block.rawLength());
+                out.writeInt(block.compressedLength());
+                out.writeInt(block.checksum());
+            }
+            out.writeLong(rawBytes);
+        } finally {
+            compressors.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = bufferPosition == blockSize ? buffer : Arrays.copyOf(buffer, bufferPosition);
+        buffer = new byte[blockSize];
+        bufferPosition = 0;
+        pending.add(compressors.submit(() -> compress(data)));
+        while (pending.size() > maxPendingBlocks) {
+            writeBlock(pending.poll());
+        }
+    }
+
+    private void writeBlock(Future<Block> future) throws IOException {
+        Block block = Utils.await(future);
+        out.writeInt(block.rawLength());
+        out.writeInt(block.compressed().length);
+        out.writeInt(block.checksum());
+        out.write(block.compressed());
+        index.add(new BlockInfo(offset, block.rawLength(), block.compressed().length, block.checksum()));
+        offset += BLOCK_HEADER_SIZE + block.compressed().length;
+        rawBytes += block.rawLength();
+    }
+
+    private static Block compress(byte[] data) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(data);
+        return new Block(data.length, (int) checksum.getValue(), Zstd.compress(data, COMPRESSION_LEVEL));
+    }
+
+    private record Block(int rawLength, int checksum, byte[] compressed) {}
+
+    record BlockInfo(long offset, int rawLength, int compressedLength, int checksum) {}
+}
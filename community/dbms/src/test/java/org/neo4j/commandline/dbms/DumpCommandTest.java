@@ -52,8 +52,9 @@ class DumpCommandTest {
                 USAGE
 
                 dump [-h] [--expand-commands] [--verbose] [--overwrite-destination
-                     [=true|false]] [--additional-config=<file>] [--to-path=<path> |
-                     --to-stdout] <database>
+                     [=true|false]] [--write-manifest[=true|false]]
+                     [--additional-config=<file>] [--differential-from=<path>]
+                     [--threads=<num>] [--to-path=<path> | --to-stdout] <database>
 
                 DESCRIPTION
 
@@ -75,15 +76,33 @@ class DumpCommandTest {
 
                       --additional-config=<file>
                                           Configuration file with additional configuration.
+                      --differential-from=<path>
+                                          (advanced) Folder containing the <database>.manifest
+                                            written by an earlier dump with --write-manifest.
+                                            Only the pages that changed since that dump are
+                                            dumped. The result is loaded with load
+                                            --differential on top of the database loaded from
+                                            that dump.
                       --expand-commands   Allow command expansion in config value evaluation.
                   -h, --help              Show this help message and exit.
                       --overwrite-destination[=true|false]
                                           Overwrite any existing dump file in the destination
                                             folder.
                                             Default: false
+                      --threads=<num>     (advanced) Number of threads compressing the dump.
+                                            More than one thread produces a block compressed
+                                            dump, which is also decompressed by several threads
+                                            when loaded. Such dumps can not be loaded by
+                                            versions that do not support that format.
+                                            Default: 1
                       --to-path=<path>    Destination folder of a database dump.
                       --to-stdout         Use standard output as the destination for the
                                             database dump.
-                      --verbose           Enable verbose output.""");
+                      --verbose           Enable verbose output.
+                      --write-manifest[=true|false]
+                                          (advanced) Also write a file called <database>.
+                                            manifest next to the dump. A later dump can be made
+                                            differential against it with --differential-from.
+                                            Default: false""");
     }
 }
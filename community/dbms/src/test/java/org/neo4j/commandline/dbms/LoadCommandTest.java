@@ -27,6 +27,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.configuration.GraphDatabaseSettings.SYSTEM_DATABASE_NAME;
 import static org.neo4j.configuration.GraphDatabaseSettings.initial_default_database;
@@ -106,9 +108,9 @@ class LoadCommandTest {
 
                 USAGE
 
-                load [-h] [--expand-commands] [--info] [--verbose] [--overwrite-destination
-                     [=true|false]] [--additional-config=<file>] [--from-path=<path> |
-                     --from-stdin] <database>
+                load [-h] [--differential] [--expand-commands] [--info] [--verbose]
+                     [--overwrite-destination[=true|false]] [--additional-config=<file>]
+                     [--from-path=<path> | --from-stdin] <database>
 
                 DESCRIPTION
 
@@ -134,6 +136,12 @@ class LoadCommandTest {
 
                       --additional-config=<file>
                                            Configuration file with additional configuration.
+                      --differential       (advanced) Apply a differential dump, created by
+                                             dump with --differential-from, on top of the
+                                             existing database instead of replacing it. The
+                                             database must have been loaded from the dump the
+                                             differential dump is based on, followed by the
+                                             differential dumps before it.
                       --expand-commands    Allow command expansion in config value evaluation.
                       --from-path=<path>   Path to directory containing archive(s).
                       --from-stdin         Read archive from standard input.
@@ -231,6 +239,38 @@ class LoadCommandTest {
         assertThat(output).contains("ZSTD", "42", "1337");
     }
 
+    @Test
+    void differentialShouldApplyDumpOnTopOfExistingDatabase() throws IOException, IncorrectFormat {
+        createDummyDump("foo", archive);
+        var command = buildCommand();
+        CommandLine.populateCommand(command, "--from-path=" + archive, "--differential", "foo");
+        command.execute();
+
+        verify(loader).loadDifferential(any(), any(), any());
+        verify(loader, never()).load(any(), anyBoolean(), anyBoolean(), any(), any(), any());
+    }
+
+    @Test
+    void differentialShouldRequireExistingDatabase() throws IOException {
+        createDummyDump("bar", archive);
+        CommandFailedException commandFailed = assertThrows(CommandFailedException.class, () -> {
+            var command = buildCommand();
+            CommandLine.populateCommand(command, "--from-path=" + archive, "--differential", "bar");
+            command.execute();
+        });
+        assertEquals("Load failed for databases: 'bar'", commandFailed.getMessage());
+        assertThat(commandFailed.getCause().getMessage()).contains("Database does not exist: bar");
+    }
+
+    @Test
+    void differentialShouldNotBeCombinedWithOverwriteDestination() {
+        var command = buildCommand();
+        CommandLine.populateCommand(
+                command, "--from-path=" + archive, "--differential", "--overwrite-destination", "foo");
+        CommandFailedException commandFailed = assertThrows(CommandFailedException.class, command::execute);
+        assertThat(commandFailed.getMessage()).contains("--differential can not be combined");
+    }
+
     @Test
     void shouldPrintWarningIfLoadingSystemDatabase() throws IOException {
         createDummyDump(SYSTEM_DATABASE_NAME, archive);
@@ -19,12 +19,17 @@
  */
 package org.neo4j.dbms.archive;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.neo4j.configuration.GraphDatabaseSettings.initial_default_database;
 import static org.neo4j.configuration.GraphDatabaseSettings.neo4j_home;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_logs_root_path;
 import static org.neo4j.function.Predicates.alwaysFalse;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
@@ -32,6 +37,8 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.configuration.Config;
@@ -215,6 +222,192 @@ class ArchiveTest {
                 describeRecursively(newDatabaseLayout.getTransactionLogsDirectory()));
     }
 
+    @Test
+    void shouldRoundTripBlockCompressedDumps() throws IOException, IncorrectFormat {
+        Path directory = testDirectory.directory("a-directory");
+        write(directory.resolve("a-file"), "text");
+        Path subdirectory = directory.resolve("subdirectory");
+        filesystem.mkdirs(subdirectory);
+        byte[] large = new byte[ParallelFileWriter.DEFAULT_CHUNK_SIZE * 2 + 17];
+        new Random(42).nextBytes(large);
+        try (var channel = filesystem.write(subdirectory.resolve("a-large-file"))) {
+            channel.writeAll(ByteBuffer.wrap(large));
+        }
+
+        assertRoundTrips(directory, new DumpBlockZstdFormatV1(4, 64 * 1024));
+    }
+
+    @Test
+    void shouldApplyDifferentialDumpsOnTopOfBaseDump() throws IOException, IncorrectFormat {
+        Path directory = testDirectory.directory("a-directory");
+        Path subdirectory = directory.resolve("subdirectory");
+        filesystem.mkdirs(subdirectory);
+        Random random = new Random(42);
+        writeBytes(directory.resolve("unchanged"), randomBytes(random, PAGE_SIZE * 3));
+        byte[] changed = randomBytes(random, PAGE_SIZE * 5 + 100);
+        writeBytes(subdirectory.resolve("changed"), changed);
+        writeBytes(directory.resolve("removed"), randomBytes(random, PAGE_SIZE));
+        writeBytes(directory.resolve("shrunk"), randomBytes(random, PAGE_SIZE * 2));
+
+        Path base = testDirectory.file("base.dump");
+        Dumper dumper = new Dumper(filesystem);
+        dumper.dump(directory, directory, dumper.openForDump(base), StandardCompressionFormat.ZSTD, alwaysFalse());
+        DumpManifest manifest = DumpManifest.fromArchive(filesystem, base);
+
+        changed[PAGE_SIZE * 2 + 7]++;
+        writeBytes(subdirectory.resolve("changed"), Arrays.copyOf(changed, changed.length + PAGE_SIZE / 2));
+        filesystem.deleteFile(directory.resolve("removed"));
+        filesystem.truncate(directory.resolve("shrunk"), PAGE_SIZE);
+        writeBytes(directory.resolve("added"), randomBytes(random, PAGE_SIZE + 1));
+        Path firstDifferential = testDirectory.file("first.dump");
+        manifest = dumper.dumpDifferential(
+                directory,
+                directory,
+                dumper.openForDump(firstDifferential),
+                StandardCompressionFormat.ZSTD,
+                alwaysFalse(),
+                manifest);
+
+        // the manifest can be kept between dumps
+        ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+        manifest.write(manifestBytes);
+        manifest = DumpManifest.read(new ByteArrayInputStream(manifestBytes.toByteArray()));
+        writeBytes(directory.resolve("unchanged"), randomBytes(random, PAGE_SIZE * 3));
+        Path secondDifferential = testDirectory.file("second.dump");
+        dumper.dumpDifferential(
+                directory,
+                directory,
+                dumper.openForDump(secondDifferential),
+                StandardCompressionFormat.GZIP,
+                alwaysFalse(),
+                manifest);
+
+        Path newDirectory = testDirectory.file("the-new-directory");
+        DatabaseLayout databaseLayout = DatabaseLayout.ofFlat(newDirectory);
+        Loader loader = new Loader(filesystem);
+        loader.load(databaseLayout, base);
+        loader.loadDifferential(firstDifferential, databaseLayout, DumpFormatSelector::decompress);
+        loader.loadDifferential(secondDifferential, databaseLayout, DumpFormatSelector::decompress);
+
+        assertEquals(describeRecursively(directory), describeRecursively(newDirectory));
+        assertThat(filesystem.getFileSize(firstDifferential)).isLessThan(filesystem.getFileSize(base));
+    }
+
+    @Test
+    void shouldNotApplyDifferentialDumpOnTopOfOtherDatabase() throws IOException, IncorrectFormat {
+        Path directory = testDirectory.directory("a-directory");
+        Random random = new Random(42);
+        byte[] data = randomBytes(random, PAGE_SIZE * 3);
+        writeBytes(directory.resolve("a-file"), data);
+
+        Path base = testDirectory.file("base.dump");
+        Dumper dumper = new Dumper(filesystem);
+        dumper.dump(directory, directory, dumper.openForDump(base), StandardCompressionFormat.ZSTD, alwaysFalse());
+        DumpManifest manifest = DumpManifest.fromArchive(filesystem, base);
+
+        data[PAGE_SIZE + 1]++;
+        writeBytes(directory.resolve("a-file"), data);
+        Path differential = testDirectory.file("differential.dump");
+        dumper.dumpDifferential(
+                directory,
+                directory,
+                dumper.openForDump(differential),
+                StandardCompressionFormat.ZSTD,
+                alwaysFalse(),
+                manifest);
+
+        Path newDirectory = testDirectory.file("the-new-directory");
+        DatabaseLayout databaseLayout = DatabaseLayout.ofFlat(newDirectory);
+        Loader loader = new Loader(filesystem);
+        loader.load(databaseLayout, base);
+        byte[] other = randomBytes(random, PAGE_SIZE * 3);
+        writeBytes(newDirectory.resolve("a-file"), other);
+
+        IOException e = assertThrows(
+                IOException.class,
+                () -> loader.loadDifferential(differential, databaseLayout, DumpFormatSelector::decompress));
+        assertThat(e.getMessage()).contains("is not based on the database");
+        try (var in = filesystem.openAsInputStream(newDirectory.resolve("a-file"))) {
+            assertThat(in.readAllBytes()).isEqualTo(other);
+        }
+
+        filesystem.deleteFile(newDirectory.resolve("a-file"));
+        e = assertThrows(
+                IOException.class,
+                () -> loader.loadDifferential(differential, databaseLayout, DumpFormatSelector::decompress));
+        assertThat(e.getMessage()).contains("is missing");
+    }
+
+    @Test
+    void shouldLeaveDatabaseUnchangedWhenDifferentialDumpIsTruncated() throws IOException, IncorrectFormat {
+        Path directory = testDirectory.directory("a-directory");
+        Random random = new Random(42);
+        writeBytes(directory.resolve("a-file"), randomBytes(random, PAGE_SIZE * 64));
+        writeBytes(directory.resolve("removed"), randomBytes(random, PAGE_SIZE));
+
+        Path base = testDirectory.file("base.dump");
+        Dumper dumper = new Dumper(filesystem);
+        dumper.dump(directory, directory, dumper.openForDump(base), StandardCompressionFormat.ZSTD, alwaysFalse());
+        DumpManifest manifest = DumpManifest.fromArchive(filesystem, base);
+
+        writeBytes(directory.resolve("a-file"), randomBytes(random, PAGE_SIZE * 64));
+        filesystem.deleteFile(directory.resolve("removed"));
+        Path differential = testDirectory.file("differential.dump");
+        dumper.dumpDifferential(
+                directory,
+                directory,
+                dumper.openForDump(differential),
+                StandardCompressionFormat.ZSTD,
+                alwaysFalse(),
+                manifest);
+        byte[] archive;
+        try (var in = filesystem.openAsInputStream(differential)) {
+            archive = in.readAllBytes();
+        }
+        Path truncated = testDirectory.file("truncated.dump");
+        writeBytes(truncated, Arrays.copyOf(archive, archive.length / 2));
+
+        Path newDirectory = testDirectory.file("the-new-directory");
+        DatabaseLayout databaseLayout = DatabaseLayout.ofFlat(newDirectory);
+        Loader loader = new Loader(filesystem);
+        loader.load(databaseLayout, base);
+        Map<Path, Description> loadedBase = describeRecursively(newDirectory);
+
+        assertThrows(
+                Exception.class,
+                () -> loader.loadDifferential(truncated, databaseLayout, DumpFormatSelector::decompress));
+        assertEquals(loadedBase, describeRecursively(newDirectory));
+
+        loader.loadDifferential(differential, databaseLayout, DumpFormatSelector::decompress);
+        assertEquals(describeRecursively(directory), describeRecursively(newDirectory));
+    }
+
+    @Test
+    void shouldNotLoadFullDumpAsDifferentialDump() throws IOException {
+        Path directory = testDirectory.directory("a-directory");
+        write(directory.resolve("a-file"), "text");
+        Path archive = testDirectory.file("the-archive.dump");
+        Dumper dumper = new Dumper(filesystem);
+        dumper.dump(directory, directory, dumper.openForDump(archive), StandardCompressionFormat.ZSTD, alwaysFalse());
+
+        DatabaseLayout databaseLayout = DatabaseLayout.ofFlat(testDirectory.directory("the-new-directory"));
+        assertThrows(IncorrectFormat.class, () -> new Loader(filesystem)
+                .loadDifferential(archive, databaseLayout, DumpFormatSelector::decompress));
+    }
+
+    private void writeBytes(Path file, byte[] data) throws IOException {
+        try (var channel = filesystem.write(file)) {
+            channel.truncate(0);
+            channel.writeAll(ByteBuffer.wrap(data));
+        }
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] data = new byte[size];
+        random.nextBytes(data);
+        return data;
+    }
+
     private void write(Path file, String data) throws IOException {
         try (var outputStream = filesystem.openAsOutputStream(file, false)) {
             outputStream.write(data.getBytes());
@@ -236,7 +429,7 @@ class ArchiveTest {
         return DatabaseLayout.of(config);
     }
 
-    private void assertRoundTrips(Path oldDirectory, StandardCompressionFormat compressionFormat)
+    private void assertRoundTrips(Path oldDirectory, CompressionFormat compressionFormat)
             throws IOException, IncorrectFormat {
         Path archive = testDirectory.file("the-archive.dump");
         Dumper dumper = new Dumper(filesystem);
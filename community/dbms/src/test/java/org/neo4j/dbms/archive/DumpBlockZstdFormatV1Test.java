@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.dbms.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class DumpBlockZstdFormatV1Test {
+    private static final int BLOCK_SIZE = 1024;
+
+    private final DumpBlockZstdFormatV1 format = new DumpBlockZstdFormatV1(4, BLOCK_SIZE);
+
+    @Test
+    void shouldRoundTripDataSpanningManyBlocks() throws IOException {
+        byte[] data = randomData(BLOCK_SIZE * 37 + 5);
+
+        byte[] compressed = compress(data);
+
+        assertThat(decompress(compressed)).isEqualTo(data);
+    }
+
+    @Test
+    void shouldRoundTripEmptyData() throws IOException {
+        assertThat(decompress(compress(new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void shouldBeSelectedByItsMagicHeader() throws IOException {
+        byte[] data = randomData(BLOCK_SIZE * 3);
+        byte[] compressed = compress(data);
+
+        try (InputStream in = DumpFormatSelector.decompress(() -> new ByteArrayInputStream(compressed))) {
+            assertThat(DumpBlockZstdFormatV1.isFormat(in)).isTrue();
+            assertThat(in.readAllBytes()).isEqualTo(data);
+        }
+    }
+
+    @Test
+    void shouldDetectCorruptedBlock() throws IOException {
+        byte[] compressed = compress(randomData(BLOCK_SIZE * 4));
+        // the last byte of the first block, which starts after the magic header, block size and block header
+        int firstBlockLength = readInt(compressed, headerLength() + Integer.BYTES);
+        compressed[headerLength() + Integer.BYTES * 3 + firstBlockLength - 1] ^= 0x55;
+
+        assertThatThrownBy(() -> decompress(compressed)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldRejectBlockLongerThanItsCompressBound() throws IOException {
+        byte[] compressed = compress(randomData(BLOCK_SIZE * 4));
+        writeInt(compressed, headerLength() + Integer.BYTES, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> decompress(compressed))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("compressed length: " + Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldRejectBlockSizeAboveMaximum() throws IOException {
+        byte[] compressed = compress(randomData(BLOCK_SIZE));
+        writeInt(compressed, DumpBlockZstdFormatV1.MAGIC_HEADER.length(), ZstdBlockOutputStream.MAX_BLOCK_SIZE + 1);
+
+        assertThatThrownBy(() -> decompress(compressed))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("block size");
+    }
+
+    @Test
+    void shouldDetectTruncatedIndex() throws IOException {
+        byte[] compressed = compress(randomData(BLOCK_SIZE * 4));
+
+        assertThatThrownBy(() -> decompress(Arrays.copyOf(compressed, compressed.length - 4)))
+                .isInstanceOf(IOException.class);
+    }
+
+    private byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = format.compress(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] decompress(byte[] compressed) throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(compressed);
+        in.skipNBytes(DumpBlockZstdFormatV1.MAGIC_HEADER.length());
+        try (InputStream decompressed = format.decompress(in)) {
+            return decompressed.readAllBytes();
+        }
+    }
+
+    private static int headerLength() {
+        return DumpBlockZstdFormatV1.MAGIC_HEADER.length() + Integer.BYTES;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24)
+                | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static byte[] randomData(int size) {
+        byte[] data = new byte[size];
+        Random random = new Random(size);
+        // half random and half repeated, so that blocks actually compress
+        for (int i = 0; i < size; i++) {
+            data[i] = i % 2 == 0 ? (byte) random.nextInt() : (byte) (i % 7);
+        }
+        return data;
+    }
+}
@@ -170,7 +170,8 @@ public abstract class FabricServicesBootstrap extends CommonQueryRouterBootstrap
                 statementLifecycles,
                 fabricWorkerExecutor,
                 monitors,
-                internalSyntaxUsageStats);
+                internalSyntaxUsageStats,
+                transactionMonitor);
         register(fabricExecutor, FabricExecutor.class);
         return createBoltDatabaseManagementServiceProvider();
     }
@@ -61,7 +61,13 @@ public class FabricConfig {
     public static FabricConfig from(Config config) {
         var syncBatchSize = FabricConstants.BATCH_SIZE;
         // the rest of the settings are not used for any type of queries supported in CE
-        var dataStream = new DataStream(0, 0, syncBatchSize, 0);
+        var dataStream = new DataStream(
+                0,
+                0,
+                syncBatchSize,
+                0,
+                config.get(GraphDatabaseInternalSettings.composite_fragment_concurrency),
+                config.get(GraphDatabaseInternalSettings.composite_fragment_buffer_size));
         return new FabricConfig(
                 () -> config.get(GraphDatabaseSettings.transaction_timeout),
                 dataStream,
@@ -74,8 +80,20 @@ public class FabricConfig {
         private final int bufferSize;
         private final int batchSize;
         private final int concurrency;
+        private final int fragmentConcurrency;
+        private final int fragmentBufferSize;
 
         public DataStream(int bufferLowWatermark, int bufferSize, int batchSize, int concurrency) {
+            this(bufferLowWatermark, bufferSize, batchSize, concurrency, 1, Math.max(1, bufferSize));
+        }
+
+        public DataStream(
+                int bufferLowWatermark,
+                int bufferSize,
+                int batchSize,
+                int concurrency,
+                int fragmentConcurrency,
+                int fragmentBufferSize) {
             if (bufferLowWatermark > bufferSize) {
                 this.bufferLowWatermark = bufferSize;
             } else {
@@ -85,6 +103,8 @@ public class FabricConfig {
             this.bufferSize = bufferSize;
             this.batchSize = batchSize;
             this.concurrency = concurrency;
+            this.fragmentConcurrency = fragmentConcurrency;
+            this.fragmentBufferSize = fragmentBufferSize;
         }
 
         public int getBufferLowWatermark() {
@@ -102,5 +122,13 @@ public class FabricConfig {
         public int getConcurrency() {
             return concurrency;
         }
+
+        public int getFragmentConcurrency() {
+            return fragmentConcurrency;
+        }
+
+        public int getFragmentBufferSize() {
+            return fragmentBufferSize;
+        }
     }
 }
@@ -22,8 +22,11 @@ package org.neo4j.fabric.executor;
 import static org.neo4j.fabric.stream.StatementResults.withErrorMapping;
 import static scala.jdk.javaapi.CollectionConverters.asJava;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
@@ -53,6 +56,7 @@ import org.neo4j.fabric.stream.summary.MergedQueryStatistics;
 import org.neo4j.fabric.stream.summary.MergedSummary;
 import org.neo4j.fabric.stream.summary.Summary;
 import org.neo4j.fabric.transaction.FabricTransaction;
+import org.neo4j.fabric.transaction.FabricTransactionMonitor;
 import org.neo4j.graphdb.Notification;
 import org.neo4j.graphdb.QueryExecutionType;
 import org.neo4j.kernel.database.NormalizedDatabaseName;
@@ -65,6 +69,8 @@ import org.neo4j.values.virtual.MapValue;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 public class FabricExecutor {
     public static final String WRITING_IN_READ_NOT_ALLOWED_MSG = "Writing in read access mode not allowed";
@@ -76,6 +82,8 @@ public class FabricExecutor {
     private final Executor fabricWorkerExecutor;
     private final QueryRoutingMonitor queryRoutingMonitor;
     private final InternalSyntaxUsageStats internalSyntaxUsageStats;
+    private final FabricTransactionMonitor transactionMonitor;
+    private final Scheduler fabricWorkerScheduler;
 
     public FabricExecutor(
             FabricConfig config,
@@ -85,7 +93,8 @@ public class FabricExecutor {
             QueryStatementLifecycles statementLifecycles,
             Executor fabricWorkerExecutor,
             Monitors monitors,
-            InternalSyntaxUsageStats internalSyntaxUsageStats) {
+            InternalSyntaxUsageStats internalSyntaxUsageStats,
+            FabricTransactionMonitor transactionMonitor) {
         this.dataStreamConfig = config.getDataStream();
         this.planner = planner;
         this.useEvaluation = useEvaluation;
@@ -94,6 +103,8 @@ public class FabricExecutor {
         this.fabricWorkerExecutor = fabricWorkerExecutor;
         this.queryRoutingMonitor = monitors.newMonitor(QueryRoutingMonitor.class);
         this.internalSyntaxUsageStats = internalSyntaxUsageStats;
+        this.transactionMonitor = transactionMonitor;
+        this.fabricWorkerScheduler = Schedulers.fromExecutor(fabricWorkerExecutor);
     }
 
     public StatementResult run(FabricTransaction fabricTransaction, String statement, MapValue parameters) {
@@ -313,7 +324,20 @@ public class FabricExecutor {
         }
 
         FragmentResult runUnion(Fragment.Union union, Record argument) {
-            FragmentResult lhs = run(union.lhs(), argument);
+            if (union == plan.query() && dataStreamConfig.getFragmentConcurrency() > 1) {
+                List<Fragment> branches = new ArrayList<>();
+                collectUnionBranches(union, branches);
+                if (canRunConcurrently(branches)) {
+                    return runUnionConcurrently(union, branches, argument);
+                }
+            }
+            return runUnionSequentially(union, argument);
+        }
+
+        private FragmentResult runUnionSequentially(Fragment.Union union, Record argument) {
+            FragmentResult lhs = union.lhs() instanceof Fragment.Union lhsUnion
+                    ? runUnionSequentially(lhsUnion, argument)
+                    : run(union.lhs(), argument);
             FragmentResult rhs = run(union.rhs(), argument);
             Flux<Record> merged = Flux.merge(lhs.records(), rhs.records());
             Mono<QueryExecutionType> executionType = mergeExecutionType(lhs.executionType(), rhs.executionType());
@@ -324,6 +348,76 @@ public class FabricExecutor {
             }
         }
 
+        /**
+         * The branches of a UNION are executed concurrently, every one on a fabric worker thread and with a
+         * prefetch buffer of its own, and their records are merged as they arrive. The branches of a nested UNION
+         * are not executed concurrently, since they might share a transaction with other fragments of the query.
+         */
+        private FragmentResult runUnionConcurrently(Fragment.Union union, List<Fragment> branches, Record argument) {
+            List<Mono<QueryExecutionType>> executionTypes = new ArrayList<>();
+            List<Flux<Record>> branchRecords = new ArrayList<>();
+            for (Fragment branch : branches) {
+                FragmentResult branchResult = run(branch, argument);
+                executionTypes.add(branchResult.executionType());
+                branchRecords.add(Flux.defer(() ->
+                        prefetcher.addFragmentPrefetch(branchResult.records().subscribeOn(fabricWorkerScheduler))));
+            }
+
+            Flux<Record> merged = Flux.fromIterable(branchRecords)
+                    .flatMap(Function.identity(), dataStreamConfig.getFragmentConcurrency(), 1);
+            Mono<QueryExecutionType> executionType = executionTypes.get(0);
+            for (int i = 1; i < executionTypes.size(); i++) {
+                executionType = mergeExecutionType(executionType, executionTypes.get(i));
+            }
+            if (union.distinct()) {
+                return new FragmentResult(merged.distinct(), Mono.empty(), executionType);
+            } else {
+                return new FragmentResult(merged, Mono.empty(), executionType);
+            }
+        }
+
+        private void collectUnionBranches(Fragment fragment, List<Fragment> branches) {
+            if (fragment instanceof Fragment.Union union) {
+                collectUnionBranches(union.lhs(), branches);
+                collectUnionBranches(union.rhs(), branches);
+            } else {
+                branches.add(fragment);
+            }
+        }
+
+        /**
+         * Branches can be executed concurrently if the query only reads, and if no two of them access the same graph.
+         * Fragments accessing the same graph share its transaction, which must not be used by several threads at once.
+         */
+        private boolean canRunConcurrently(List<Fragment> branches) {
+            if (!plan.queryType().isRead() || plan.executionType() != FabricPlan.EXECUTE()) {
+                return false;
+            }
+
+            var sessionDatabase = ctx.getSessionDatabaseReference();
+            Set<Long> accessedGraphs = new HashSet<>();
+            for (Fragment branch : branches) {
+                Set<Long> branchGraphs = new HashSet<>();
+                for (Fragment fragment : asJava(branch.flatten())) {
+                    if (fragment instanceof Fragment.Chain chain) {
+                        var graphSelection = chain.use().graphSelection();
+                        if (!UseEvaluation.isStatic(graphSelection)) {
+                            return false;
+                        }
+                        branchGraphs.add(useEvaluator
+                                .evaluate(graphSelection, queryParams, Map.of(), sessionDatabase)
+                                .id());
+                    }
+                }
+                for (Long graph : branchGraphs) {
+                    if (!accessedGraphs.add(graph)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
         FragmentResult runExec(Fragment.Exec fragment, Record argument) {
             return new StandardQueryExecutor(
                             fragment,
@@ -373,17 +467,25 @@ public class FabricExecutor {
                 @Override
                 public SingleQueryFragmentExecutor.RecordTracer remoteQueryStart(
                         Location.Remote location, String queryString) {
-                    return fragmentResult -> fragmentResult;
+                    return FabricStatementExecution.this::timeRecords;
                 }
 
                 @Override
                 public SingleQueryFragmentExecutor.RecordTracer localQueryStart(
                         Location.Local location, FullyParsedQuery query) {
-                    return fragmentResult -> fragmentResult;
+                    return FabricStatementExecution.this::timeRecords;
                 }
             };
         }
 
+        FragmentResult timeRecords(FragmentResult fragmentResult) {
+            Flux<Record> records = Flux.defer(() -> {
+                long startTime = transactionMonitor.fragmentStarted();
+                return fragmentResult.records().doFinally(signal -> transactionMonitor.fragmentExecuted(startTime));
+            });
+            return new FragmentResult(records, fragmentResult.planDescription(), fragmentResult.executionType());
+        }
+
         private Mono<QueryExecutionType> mergeExecutionType(
                 Mono<QueryExecutionType> lhs, Mono<QueryExecutionType> rhs) {
             return Mono.zip(lhs, rhs)
@@ -439,7 +541,7 @@ public class FabricExecutor {
                     String id = executionId();
                     trace(id, "remote " + nameString(location), compact(queryString));
 
-                    return fragmentResult -> doTraceRecords(id, fragmentResult);
+                    return fragmentResult -> doTraceRecords(id, timeRecords(fragmentResult));
                 }
 
                 @Override
@@ -448,7 +550,7 @@ public class FabricExecutor {
                     String id = executionId();
                     trace(id, "local " + nameString(location), compact(query.description()));
 
-                    return fragmentResult -> doTraceRecords(id, fragmentResult);
+                    return fragmentResult -> doTraceRecords(id, timeRecords(fragmentResult));
                 }
             };
         }
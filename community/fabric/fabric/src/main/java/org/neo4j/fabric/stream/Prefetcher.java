@@ -51,11 +51,23 @@ public class Prefetcher {
         var newLowWatermark = computeLowWatermark(operatorsCount);
         var newHighWatermark = computeHighWatermark(operatorsCount);
         updateWatermarks(newLowWatermark, newHighWatermark);
-        var prefetchOperator = new PrefetchOperator(recordStream, newLowWatermark, newHighWatermark);
+        var prefetchOperator = new PrefetchOperator(
+                recordStream, newLowWatermark, newHighWatermark, streamConfig.getBufferSize() + 1, true);
         prefetchOperators.add(prefetchOperator);
         return prefetchOperator;
     }
 
+    /**
+     * Adds a prefetch buffer of its own to the records of a fragment that is executed concurrently with other
+     * fragments. Unlike the buffers added by {@link #addPrefetch(Flux)}, it does not share the configured buffer size
+     * with other operators, and it starts requesting records from the fragment right away, so that the fragment makes
+     * progress before its records are consumed.
+     */
+    public Flux<Record> addFragmentPrefetch(Flux<Record> recordStream) {
+        var bufferSize = streamConfig.getFragmentBufferSize();
+        return new PrefetchOperator(recordStream, bufferSize / 2, bufferSize, bufferSize + 1, false);
+    }
+
     private int computeHighWatermark(int operatorsCount) {
         return Math.max(1, streamConfig.getBufferSize() / operatorsCount);
     }
@@ -89,14 +101,21 @@ public class Prefetcher {
         private final AtomicLong pendingRequested = new AtomicLong(0);
         private volatile int bufferLowWatermark;
         private volatile int bufferHighWatermark;
+        private final boolean shared;
         private volatile boolean finished;
         private volatile Subscriber<Record> downstreamSubscriber;
 
-        PrefetchOperator(Flux<Record> recordStream, int bufferLowWatermark, int bufferHighWatermark) {
+        PrefetchOperator(
+                Flux<Record> recordStream,
+                int bufferLowWatermark,
+                int bufferHighWatermark,
+                int bufferCapacity,
+                boolean shared) {
             super(recordStream);
             this.bufferHighWatermark = bufferHighWatermark;
             this.bufferLowWatermark = bufferLowWatermark;
-            buffer = new ArrayBlockingQueue<>(streamConfig.getBufferSize() + 1);
+            this.shared = shared;
+            buffer = new ArrayBlockingQueue<>(bufferCapacity);
             this.upstreamSubscriber = new RecordSubscriber();
             recordStream.subscribeWith(upstreamSubscriber);
         }
@@ -172,7 +191,9 @@ public class Prefetcher {
 
         private void finish() {
             finished = true;
-            removeOperator(this);
+            if (shared) {
+                removeOperator(this);
+            }
         }
 
         private class RecordSubscriber implements Subscriber<Record> {
@@ -27,6 +27,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import org.neo4j.configuration.Config;
 import org.neo4j.fabric.config.FabricConfig;
 import org.neo4j.internal.kernel.api.security.AuthSubject;
@@ -42,6 +44,9 @@ public class FabricTransactionMonitor extends TransactionMonitor<FabricTransacti
     private final Map<FabricTransactionImpl, FabricMonitoredTransaction> transactions = new ConcurrentHashMap<>();
     private final SystemNanoClock clock;
     private final FabricConfig fabricConfig;
+    private final LongAdder fragmentsExecuted = new LongAdder();
+    private final LongAdder fragmentExecutionTimeNanos = new LongAdder();
+    private final LongAccumulator maxFragmentExecutionTimeNanos = new LongAccumulator(Math::max, 0);
 
     public FabricTransactionMonitor(
             Config config, SystemNanoClock clock, LogService logService, FabricConfig fabricConfig) {
@@ -67,6 +72,36 @@ public class FabricTransactionMonitor extends TransactionMonitor<FabricTransacti
         transactions.remove(transaction);
     }
 
+    /**
+     * @return the start time of a fragment, to be passed to {@link #fragmentExecuted(long)} once it is done.
+     */
+    public long fragmentStarted() {
+        return clock.nanos();
+    }
+
+    /**
+     * Records the latency of a query fragment, from the moment its execution was started until all of its records
+     * were produced, or until it failed or was cancelled.
+     */
+    public void fragmentExecuted(long startTimeNanos) {
+        long executionTimeNanos = clock.nanos() - startTimeNanos;
+        fragmentsExecuted.increment();
+        fragmentExecutionTimeNanos.add(executionTimeNanos);
+        maxFragmentExecutionTimeNanos.accumulate(executionTimeNanos);
+    }
+
+    public long getFragmentsExecuted() {
+        return fragmentsExecuted.sum();
+    }
+
+    public long getFragmentExecutionTimeNanos() {
+        return fragmentExecutionTimeNanos.sum();
+    }
+
+    public long getMaxFragmentExecutionTimeNanos() {
+        return maxFragmentExecutionTimeNanos.get();
+    }
+
     @Override
     protected Set<FabricMonitoredTransaction> getActiveTransactions() {
         return new HashSet<>(transactions.values());
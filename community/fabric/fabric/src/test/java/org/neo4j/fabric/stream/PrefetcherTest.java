@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.fabric.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.neo4j.fabric.config.FabricConfig;
+import org.neo4j.values.AnyValue;
+import org.neo4j.values.storable.Values;
+import reactor.core.publisher.Flux;
+
+class PrefetcherTest {
+
+    @Test
+    void shouldPrefetchFragmentRecordsUpToItsBufferSizeBeforeBeingConsumed() {
+        var prefetcher = new Prefetcher(new FabricConfig.DataStream(0, 0, 10, 1, 2, 10));
+        var produced = new AtomicLong();
+
+        var records = prefetcher.addFragmentPrefetch(records(100).doOnNext(record -> produced.incrementAndGet()));
+
+        assertThat(produced).hasValue(10);
+        assertThat(records.take(5).collectList().block()).hasSize(5);
+    }
+
+    @Test
+    void shouldNotShareFragmentBufferWithOtherOperators() {
+        var prefetcher = new Prefetcher(new FabricConfig.DataStream(0, 4, 10, 1, 2, 10));
+        var producedByFragment = new AtomicLong();
+
+        prefetcher.addPrefetch(records(100));
+        prefetcher.addPrefetch(records(100));
+        var fragmentRecords =
+                prefetcher.addFragmentPrefetch(records(100).doOnNext(record -> producedByFragment.incrementAndGet()));
+
+        assertThat(producedByFragment).hasValue(10);
+        List<Record> all = fragmentRecords.collectList().block();
+        assertThat(all).hasSize(100);
+    }
+
+    private static Flux<Record> records(int count) {
+        return Flux.fromStream(
+                IntStream.range(0, count).mapToObj(i -> Records.of(new AnyValue[] {Values.intValue(i)})));
+    }
+}
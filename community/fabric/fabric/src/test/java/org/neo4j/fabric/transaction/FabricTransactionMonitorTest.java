@@ -157,6 +157,23 @@ class FabricTransactionMonitorTest {
         assertThat(transactionMonitor.getActiveTransactions()).size().isEqualTo(0);
     }
 
+    @Test
+    void shouldRecordFragmentLatencies() {
+        long first = transactionMonitor.fragmentStarted();
+        clock.forward(Duration.ofMillis(30));
+        long second = transactionMonitor.fragmentStarted();
+        clock.forward(Duration.ofMillis(10));
+
+        transactionMonitor.fragmentExecuted(second);
+        transactionMonitor.fragmentExecuted(first);
+
+        assertThat(transactionMonitor.getFragmentsExecuted()).isEqualTo(2);
+        assertThat(transactionMonitor.getFragmentExecutionTimeNanos())
+                .isEqualTo(Duration.ofMillis(50).toNanos());
+        assertThat(transactionMonitor.getMaxFragmentExecutionTimeNanos())
+                .isEqualTo(Duration.ofMillis(40).toNanos());
+    }
+
     private static FabricTransactionInfo createTransactionInfo(Duration timeout) {
         var databaseName = new NormalizedDatabaseName("a");
         var databaseId = DatabaseIdFactory.from(databaseName.name(), UUID.randomUUID());
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.NO_DECORATOR;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.neo4j.internal.batchimport.InputIterable;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.Group;
+import org.neo4j.internal.batchimport.input.Groups;
+import org.neo4j.internal.batchimport.input.HeaderException;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputEntity;
+import org.neo4j.internal.batchimport.input.Inputs;
+import org.neo4j.internal.batchimport.input.PropertySizeCalculator;
+import org.neo4j.internal.batchimport.input.ReadableGroups;
+import org.neo4j.internal.batchimport.input.csv.CsvInput;
+import org.neo4j.internal.batchimport.input.csv.Decorator;
+import org.neo4j.internal.batchimport.input.csv.Type;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Provides {@link Input} from Arrow IPC files. Values are read from the typed column vectors of the files as they
+ * are, so no text parsing is involved, and every record batch of a file is an {@link InputIterator#next(
+ * org.neo4j.internal.batchimport.input.InputChunk) input chunk} of its own, which the importer will decode and
+ * process in parallel.
+ * <p>
+ * The meaning of a column is given by its field name, which follows the CSV header format: {@code <name>:<TYPE>(<group>)}.
+ * Node files may have {@code :ID} and {@code :LABEL} columns, relationship files must have {@code :START_ID} and
+ * {@code :END_ID} columns and may have a {@code :TYPE} column. Columns of type {@code :IGNORE} are skipped and any
+ * other column is a property named by the part of the name before any {@code :}, with the type of the column.
+ */
+public class ArrowInput implements Input {
+    /**
+     * One group of Arrow files together with the {@link Decorator} to apply to the entities read from them.
+     */
+    public record Data(Decorator decorator, Path... files) {}
+
+    /**
+     * A column of an Arrow file which the importer reads.
+     *
+     * @param fieldIndex index of the column in the schema of the file.
+     * @param name property name of the column, {@code null} if the column has no name.
+     * @param type what the values of the column are.
+     * @param group id group for id columns, otherwise {@code null}.
+     */
+    record Column(int fieldIndex, String name, Type type, Group group) {
+        @Override
+        public String toString() {
+            return (name != null ? name : "") + ":" + type + (group != null ? "(" + group.name() + ")" : "");
+        }
+    }
+
+    /**
+     * An Arrow file with its columns and record batches.
+     */
+    record Source(Path file, Decorator decorator, Column[] columns, int recordBatches, long[] batchBodyLengths) {}
+
+    private static final EnumSet<Type> NODE_TYPES = EnumSet.of(Type.ID, Type.LABEL, Type.PROPERTY);
+    private static final EnumSet<Type> RELATIONSHIP_TYPES =
+            EnumSet.of(Type.START_ID, Type.END_ID, Type.TYPE, Type.PROPERTY);
+
+    private final FileSystemAbstraction fs;
+    private final IdType idType;
+    private final boolean normalizeTypes;
+    private final Groups groups;
+    private final CsvInput.Monitor monitor;
+    private final MemoryTracker memoryTracker;
+    private final BufferAllocator allocator;
+    private final List<Source> nodeSources;
+    private final List<Source> relationshipSources;
+
+    /**
+     * @param fs file system to read the Arrow files from.
+     * @param nodeData groups of Arrow files containing nodes.
+     * @param relationshipData groups of Arrow files containing relationships.
+     * @param idType {@link IdType} to expect in id columns of node and relationship input.
+     * @param normalizeTypes whether to widen integral and floating point property values to {@code long} and
+     * {@code double}.
+     * @param monitor {@link CsvInput.Monitor} for reporting input files lacking labels or types.
+     */
+    public ArrowInput(
+            FileSystemAbstraction fs,
+            Iterable<Data> nodeData,
+            Iterable<Data> relationshipData,
+            IdType idType,
+            boolean normalizeTypes,
+            CsvInput.Monitor monitor,
+            MemoryTracker memoryTracker) {
+        this.fs = fs;
+        this.idType = idType;
+        this.normalizeTypes = normalizeTypes;
+        this.groups = new Groups();
+        this.monitor = monitor;
+        this.memoryTracker = memoryTracker;
+        this.allocator = new RootAllocator();
+        try {
+            // Nodes first, since they define the groups which relationships refer to
+            Set<Path> seenFiles = new HashSet<>();
+            this.nodeSources = sources(nodeData, true, seenFiles);
+            this.relationshipSources = sources(relationshipData, false, seenFiles);
+        } catch (IOException e) {
+            allocator.close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            allocator.close();
+            throw e;
+        }
+    }
+
+    private List<Source> sources(Iterable<Data> data, boolean nodes, Set<Path> seenFiles) throws IOException {
+        List<Source> sources = new ArrayList<>();
+        for (Data group : data) {
+            for (Path file : group.files()) {
+                if (!seenFiles.add(file)) {
+                    monitor.duplicateSourceFile(file.toString());
+                }
+                try (ArrowFileReader reader = new ArrowFileReader(fs.read(file), allocator)) {
+                    VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                    Column[] columns = columns(file, root, nodes);
+                    List<ArrowBlock> blocks = reader.getRecordBlocks();
+                    long[] bodyLengths =
+                            blocks.stream().mapToLong(ArrowBlock::getBodyLength).toArray();
+                    sources.add(new Source(file, group.decorator(), columns, blocks.size(), bodyLengths));
+
+                    if (group.decorator() == NO_DECORATOR) {
+                        if (nodes && !hasColumn(columns, Type.LABEL)) {
+                            monitor.noNodeLabelsSpecified(file.toString());
+                        } else if (!nodes && !hasColumn(columns, Type.TYPE)) {
+                            monitor.noRelationshipTypeSpecified(file.toString());
+                        }
+                    }
+                }
+            }
+        }
+        return sources;
+    }
+
+    private Column[] columns(Path file, VectorSchemaRoot root, boolean nodes) {
+        List<Field> fields = root.getSchema().getFields();
+        List<Column> columns = new ArrayList<>();
+        EnumSet<Type> seenTypes = EnumSet.noneOf(Type.class);
+        for (int i = 0; i < fields.size(); i++) {
+            Column column = column(file, i, fields.get(i).getName(), nodes);
+            if (column.type() == Type.IGNORE) {
+                continue;
+            }
+            if (column.type() != Type.PROPERTY && column.type() != Type.LABEL && !seenTypes.add(column.type())) {
+                throw new HeaderException(
+                        "Multiple " + column.type() + " columns in " + file + ", among columns " + fields);
+            }
+            // Verifies that the type of the column can be imported
+            ArrowValues.reader(root.getVector(i), normalizeTypes);
+            columns.add(column);
+        }
+        if (!nodes) {
+            for (Type mandatory : List.of(Type.START_ID, Type.END_ID)) {
+                if (!seenTypes.contains(mandatory)) {
+                    throw new HeaderException(
+                            "Missing column of type " + mandatory + " in " + file + ", among columns " + fields);
+                }
+            }
+        }
+        return columns.toArray(new Column[0]);
+    }
+
+    private Column column(Path file, int fieldIndex, String rawName, boolean nodes) {
+        // Field name specification: <name><:type>(<group>), as in CSV headers
+        String name = rawName;
+        String groupName = null;
+        int groupStart = name.indexOf('(');
+        if (groupStart != -1) {
+            int groupEnd = name.lastIndexOf(')');
+            if (groupEnd < groupStart) {
+                throw new HeaderException("Expected a closing ')' in column '" + rawName + "' in " + file);
+            }
+            groupName = name.substring(groupStart + 1, groupEnd);
+            name = name.substring(0, groupStart) + name.substring(groupEnd + 1);
+        }
+        Type type = Type.PROPERTY;
+        int typeIndex = name.lastIndexOf(':');
+        if (typeIndex != -1) {
+            String typeSpec = name.substring(typeIndex + 1);
+            name = name.substring(0, typeIndex);
+            // Any other type specification is a property type, which for Arrow columns is given by the column itself
+            type = Arrays.stream(Type.values())
+                    .filter(candidate -> candidate.name().equalsIgnoreCase(typeSpec))
+                    .findFirst()
+                    .orElse(Type.PROPERTY);
+        }
+        if (name.isEmpty()) {
+            name = null;
+        }
+        if (type != Type.IGNORE && !(nodes ? NODE_TYPES : RELATIONSHIP_TYPES).contains(type)) {
+            throw new HeaderException("Unexpected " + (nodes ? "node" : "relationship") + " column type '"
+                    + type.name().toLowerCase(Locale.ROOT) + "' in column '" + rawName + "' in " + file);
+        }
+        if (type == Type.PROPERTY && name == null) {
+            throw new HeaderException("Missing property name in column '" + rawName + "' in " + file);
+        }
+        Group group = null;
+        if (type == Type.ID) {
+            group = groups.getOrCreate(groupName);
+        } else if (type == Type.START_ID || type == Type.END_ID) {
+            group = groups.get(groupName);
+        }
+        return new Column(fieldIndex, name, type, group);
+    }
+
+    private static boolean hasColumn(Column[] columns, Type type) {
+        return Arrays.stream(columns).anyMatch(column -> column.type() == type);
+    }
+
+    @Override
+    public InputIterable nodes(Collector badCollector) {
+        return () -> stream(nodeSources);
+    }
+
+    @Override
+    public InputIterable relationships(Collector badCollector) {
+        return () -> stream(relationshipSources);
+    }
+
+    private InputIterator stream(List<Source> sources) {
+        return new ArrowInputIterator(fs, allocator, sources, idType, normalizeTypes);
+    }
+
+    @Override
+    public IdType idType() {
+        return idType;
+    }
+
+    @Override
+    public ReadableGroups groups() {
+        return groups;
+    }
+
+    @Override
+    public Estimates calculateEstimates(PropertySizeCalculator valueSizeCalculator) throws IOException {
+        long[] nodeSample = sample(nodeSources, valueSizeCalculator, node -> node.labels().length);
+        long[] relationshipSample = sample(relationshipSources, valueSizeCalculator, entity -> 0);
+        return Input.knownEstimates(
+                nodeSample[0],
+                relationshipSample[0],
+                nodeSample[1],
+                relationshipSample[1],
+                nodeSample[2],
+                relationshipSample[2],
+                nodeSample[3]);
+    }
+
+    private long[] sample(
+            List<Source> sources,
+            PropertySizeCalculator valueSizeCalculator,
+            ToIntFunction<InputEntity> additionalCalculator)
+            throws IOException {
+        long[] estimates = new long[4]; // [entity count, property count, property size, labels (for nodes only)]
+        for (Source source : sources) {
+            if (source.recordBatches() == 0) {
+                continue;
+            }
+            // Read the first record batch of each file and extrapolate by the size of the other batches
+            try (ArrowInputChunk chunk = new ArrowInputChunk(fs, allocator, idType, normalizeTypes);
+                    InputEntity entity = new InputEntity()) {
+                chunk.load(source, 0);
+                int entities = 0;
+                long properties = 0;
+                long propertySize = 0;
+                long additional = 0;
+                for (; chunk.next(entity); entities++) {
+                    properties += entity.propertyCount();
+                    propertySize +=
+                            Inputs.calculatePropertySize(entity, valueSizeCalculator, NULL_CONTEXT, memoryTracker);
+                    additional += additionalCalculator.applyAsInt(entity);
+                }
+                if (entities > 0) {
+                    long sampledBytes = Math.max(source.batchBodyLengths()[0], 1);
+                    long totalBytes = Arrays.stream(source.batchBodyLengths()).sum();
+                    double factor = (double) totalBytes / sampledBytes;
+                    estimates[0] += (long) (entities * factor);
+                    estimates[1] += (long) (properties * factor);
+                    estimates[2] += (long) (propertySize * factor);
+                    estimates[3] += (long) (additional * factor);
+                }
+            }
+        }
+        return estimates;
+    }
+
+    @Override
+    public void close() {
+        allocator.close();
+    }
+}
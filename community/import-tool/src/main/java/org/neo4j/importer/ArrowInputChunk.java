@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.message.ArrowBlock;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntityVisitor;
+import org.neo4j.internal.batchimport.input.InputException;
+import org.neo4j.io.fs.FileSystemAbstraction;
+
+/**
+ * {@link InputChunk} of one record batch of an Arrow file. Keeps its file open between batches, so that a worker
+ * which is handed consecutive batches of the same file only reads the footer of the file once.
+ */
+class ArrowInputChunk implements InputChunk {
+    private final FileSystemAbstraction fs;
+    private final BufferAllocator allocator;
+    private final IdType idType;
+    private final boolean normalizeTypes;
+
+    // Set in #load
+    private ArrowInput.Source source;
+    private ArrowFileReader reader;
+    private List<ArrowBlock> blocks;
+    private ArrowValues.ValueReader[] values;
+    private int batch;
+    private int rowCount;
+    private int row;
+
+    // Set as #next is called
+    private InputEntityVisitor previousVisitor;
+    private InputEntityVisitor visitor;
+
+    ArrowInputChunk(FileSystemAbstraction fs, BufferAllocator allocator, IdType idType, boolean normalizeTypes) {
+        this.fs = fs;
+        this.allocator = allocator.newChildAllocator("ArrowInputChunk", 0, allocator.getLimit());
+        this.idType = idType;
+        this.normalizeTypes = normalizeTypes;
+    }
+
+    void load(ArrowInput.Source source, int batch) throws IOException {
+        if (source != this.source) {
+            closeReader();
+            reader = new ArrowFileReader(fs.read(source.file()), allocator);
+            blocks = reader.getRecordBlocks();
+            this.source = source;
+            this.visitor = null;
+        }
+        if (!reader.loadRecordBatch(blocks.get(batch))) {
+            throw new IOException("Unable to load record batch " + batch + " of " + source.file());
+        }
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        ArrowInput.Column[] columns = source.columns();
+        values = new ArrowValues.ValueReader[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = ArrowValues.reader(root.getVector(columns[i].fieldIndex()), normalizeTypes);
+        }
+        this.batch = batch;
+        this.rowCount = root.getRowCount();
+        this.row = 0;
+    }
+
+    @Override
+    public boolean next(InputEntityVisitor nakedVisitor) throws IOException {
+        if (row >= rowCount) {
+            return false;
+        }
+        if (visitor == null || nakedVisitor != previousVisitor) {
+            visitor = source.decorator().apply(nakedVisitor);
+            previousVisitor = nakedVisitor;
+        }
+
+        ArrowInput.Column[] columns = source.columns();
+        int i = 0;
+        try {
+            boolean doContinue = true;
+            for (; i < columns.length && doContinue; i++) {
+                ArrowInput.Column column = columns[i];
+                Object value = values[i].value(row);
+                if (value == null || (value.getClass().isArray() && Array.getLength(value) == 0)) {
+                    continue;
+                }
+
+                doContinue = switch (column.type()) {
+                    case ID -> switch (idType) {
+                        case STRING, INTEGER -> {
+                            Object id = id(value);
+                            yield visitor.id(id, column.group())
+                                    && (column.name() == null || visitor.property(column.name(), id));
+                        }
+                        case ACTUAL -> visitor.id(actualId(value));
+                    };
+                    case START_ID -> switch (idType) {
+                        case STRING, INTEGER -> visitor.startId(id(value), column.group());
+                        case ACTUAL -> visitor.startId(actualId(value));
+                    };
+                    case END_ID -> switch (idType) {
+                        case STRING, INTEGER -> visitor.endId(id(value), column.group());
+                        case ACTUAL -> visitor.endId(actualId(value));
+                    };
+                    case TYPE -> visitor.type(value.toString());
+                    case LABEL -> value instanceof String[] labels
+                            ? visitor.labels(labels)
+                            : visitor.labels(new String[] {value.toString()});
+                    case PROPERTY -> visitor.property(column.name(), value);
+                    default -> throw new IllegalArgumentException(column.type().toString());};
+            }
+            visitor.endOfEntity();
+            row++;
+            return true;
+        } catch (RuntimeException e) {
+            String message = format(
+                    "ERROR in input" + "%n  data source: %s"
+                            + "%n  record batch: %d, row: %d"
+                            + "%n  in column: %s"
+                            + "%n  original error: %s",
+                    source.file(), batch, row, i < columns.length ? columns[i] : "??", e.getMessage());
+            row++;
+            throw new InputException(message, e);
+        }
+    }
+
+    private Object id(Object value) {
+        if (idType == IdType.STRING) {
+            return value instanceof String ? value : value.toString();
+        }
+        return actualId(value);
+    }
+
+    private static long actualId(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        throw new IllegalArgumentException("Expected an integer id, but was " + value);
+    }
+
+    private void closeReader() throws IOException {
+        if (reader != null) {
+            // Also closes the channel it reads from
+            reader.close();
+            reader = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeReader();
+        allocator.close();
+    }
+}
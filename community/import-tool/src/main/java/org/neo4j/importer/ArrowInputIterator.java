@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.io.fs.FileSystemAbstraction;
+
+/**
+ * Hands out the record batches of a list of Arrow files, one batch per chunk. Only the assignment of batches is
+ * synchronized, reading and decoding a batch happens in the chunk, on the thread that asked for it.
+ */
+class ArrowInputIterator implements InputIterator {
+    private final FileSystemAbstraction fs;
+    private final BufferAllocator allocator;
+    private final List<ArrowInput.Source> sources;
+    private final IdType idType;
+    private final boolean normalizeTypes;
+    private int sourceIndex;
+    private int batch;
+
+    ArrowInputIterator(
+            FileSystemAbstraction fs,
+            BufferAllocator allocator,
+            List<ArrowInput.Source> sources,
+            IdType idType,
+            boolean normalizeTypes) {
+        this.fs = fs;
+        this.allocator = allocator;
+        this.sources = sources;
+        this.idType = idType;
+        this.normalizeTypes = normalizeTypes;
+    }
+
+    @Override
+    public ArrowInputChunk newChunk() {
+        return new ArrowInputChunk(fs, allocator, idType, normalizeTypes);
+    }
+
+    @Override
+    public boolean next(InputChunk chunk) throws IOException {
+        ArrowInput.Source source;
+        int nextBatch;
+        synchronized (this) {
+            while (sourceIndex < sources.size()
+                    && batch >= sources.get(sourceIndex).recordBatches()) {
+                sourceIndex++;
+                batch = 0;
+            }
+            if (sourceIndex == sources.size()) {
+                return false;
+            }
+            source = sources.get(sourceIndex);
+            nextBatch = batch++;
+        }
+        ((ArrowInputChunk) chunk).load(source, nextBatch);
+        return true;
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DateMilliVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.LargeVarCharVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeMicroVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeNanoVector;
+import org.apache.arrow.vector.TimeSecVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.neo4j.internal.batchimport.input.HeaderException;
+
+/**
+ * Reads the values of typed Arrow vectors as the objects the importer expects for property values, without going
+ * through any text representation. Integral and floating point values are normalized to {@code long} and
+ * {@code double} when asked to, just like the CSV input does for its non-array values.
+ */
+final class ArrowValues {
+    private ArrowValues() {}
+
+    /**
+     * Reads the value of one row of the vector it was created for.
+     */
+    @FunctionalInterface
+    interface ValueReader {
+        /**
+         * @return the value of {@code row}, or {@code null} if the value is missing.
+         */
+        Object value(int row);
+    }
+
+    /**
+     * @param vector vector to read values from.
+     * @param normalizeTypes whether to widen integral and floating point values to {@code long} and {@code double}.
+     * @return {@link ValueReader} reading values from {@code vector}.
+     * @throws HeaderException if values of the type of the vector cannot be imported.
+     */
+    static ValueReader reader(ValueVector vector, boolean normalizeTypes) {
+        ValueReader reader = scalarReader(vector, normalizeTypes);
+        if (reader == null && vector instanceof ListVector list) {
+            reader = arrayReader(list);
+        }
+        if (reader == null) {
+            throw new HeaderException(
+                    "Unsupported Arrow type " + vector.getField().getType() + " for column '" + vector.getName() + "'");
+        }
+        return reader;
+    }
+
+    private static ValueReader scalarReader(ValueVector vector, boolean normalizeTypes) {
+        IntFunction<Object> value;
+        if (vector instanceof BigIntVector v) {
+            value = v::get;
+        } else if (vector instanceof IntVector v) {
+            value = normalizeTypes ? row -> (long) v.get(row) : v::get;
+        } else if (vector instanceof SmallIntVector v) {
+            value = normalizeTypes ? row -> (long) v.get(row) : v::get;
+        } else if (vector instanceof TinyIntVector v) {
+            value = normalizeTypes ? row -> (long) v.get(row) : v::get;
+        } else if (vector instanceof Float8Vector v) {
+            value = v::get;
+        } else if (vector instanceof Float4Vector v) {
+            value = normalizeTypes ? row -> (double) v.get(row) : v::get;
+        } else if (vector instanceof BitVector v) {
+            value = row -> v.get(row) != 0;
+        } else if (vector instanceof VarCharVector v) {
+            value = row -> new String(v.get(row), UTF_8);
+        } else if (vector instanceof LargeVarCharVector v) {
+            value = row -> new String(v.get(row), UTF_8);
+        } else if (vector instanceof DateDayVector v) {
+            value = row -> LocalDate.ofEpochDay(v.get(row));
+        } else if (vector instanceof DateMilliVector v) {
+            value = row -> LocalDate.ofEpochDay(Math.floorDiv(v.get(row), TimeUnit.DAYS.toMillis(1)));
+        } else if (vector instanceof TimeSecVector v) {
+            value = row -> LocalTime.ofSecondOfDay(v.get(row));
+        } else if (vector instanceof TimeMilliVector v) {
+            value = row -> LocalTime.ofNanoOfDay(TimeUnit.MILLISECONDS.toNanos(v.get(row)));
+        } else if (vector instanceof TimeMicroVector v) {
+            value = row -> LocalTime.ofNanoOfDay(TimeUnit.MICROSECONDS.toNanos(v.get(row)));
+        } else if (vector instanceof TimeNanoVector v) {
+            value = row -> LocalTime.ofNanoOfDay(v.get(row));
+        } else if (vector instanceof TimeStampVector v) {
+            value = timestamp(v);
+        } else {
+            return null;
+        }
+        return row -> vector.isNull(row) ? null : value.apply(row);
+    }
+
+    private static IntFunction<Object> timestamp(TimeStampVector vector) {
+        ArrowType.Timestamp type = (ArrowType.Timestamp) vector.getField().getType();
+        TimeUnit unit =
+                switch (type.getUnit()) {
+                    case SECOND -> TimeUnit.SECONDS;
+                    case MILLISECOND -> TimeUnit.MILLISECONDS;
+                    case MICROSECOND -> TimeUnit.MICROSECONDS;
+                    case NANOSECOND -> TimeUnit.NANOSECONDS;
+                };
+        long unitsPerSecond = unit.convert(1, TimeUnit.SECONDS);
+        IntFunction<Instant> instant = row -> {
+            long value = vector.get(row);
+            return Instant.ofEpochSecond(
+                    Math.floorDiv(value, unitsPerSecond), unit.toNanos(Math.floorMod(value, unitsPerSecond)));
+        };
+        if (type.getTimezone() == null) {
+            // Timestamps without a time zone are local date times, expressed as if they were in UTC
+            return row -> LocalDateTime.ofInstant(instant.apply(row), ZoneOffset.UTC);
+        }
+        ZoneId zone = ZoneId.of(type.getTimezone());
+        return row -> instant.apply(row).atZone(zone);
+    }
+
+    private static ValueReader arrayReader(ListVector list) {
+        ValueVector elements = list.getDataVector();
+        ArrayBuilder builder;
+        if (elements instanceof BigIntVector v) {
+            builder = (from, to) -> {
+                long[] array = new long[to - from];
+                for (int i = from; i < to; i++) {
+                    array[i - from] = v.get(checkNotNull(v, i));
+                }
+                return array;
+            };
+        } else if (elements instanceof IntVector v) {
+            builder = (from, to) -> {
+                int[] array = new int[to - from];
+                for (int i = from; i < to; i++) {
+                    array[i - from] = v.get(checkNotNull(v, i));
+                }
+                return array;
+            };
+        } else if (elements instanceof Float8Vector v) {
+            builder = (from, to) -> {
+                double[] array = new double[to - from];
+                for (int i = from; i < to; i++) {
+                    array[i - from] = v.get(checkNotNull(v, i));
+                }
+                return array;
+            };
+        } else if (elements instanceof Float4Vector v) {
+            builder = (from, to) -> {
+                float[] array = new float[to - from];
+                for (int i = from; i < to; i++) {
+                    array[i - from] = v.get(checkNotNull(v, i));
+                }
+                return array;
+            };
+        } else if (elements instanceof BitVector v) {
+            builder = (from, to) -> {
+                boolean[] array = new boolean[to - from];
+                for (int i = from; i < to; i++) {
+                    array[i - from] = v.get(checkNotNull(v, i)) != 0;
+                }
+                return array;
+            };
+        } else if (elements instanceof VarCharVector v) {
+            builder = (from, to) -> {
+                String[] array = new String[to - from];
+                for (int i = from; i < to; i++) {
+                    array[i - from] = new String(v.get(checkNotNull(v, i)), UTF_8);
+                }
+                return array;
+            };
+        } else {
+            return null;
+        }
+        return row ->
+                list.isNull(row) ? null : builder.build(list.getElementStartIndex(row), list.getElementEndIndex(row));
+    }
+
+    private static int checkNotNull(ValueVector elements, int index) {
+        if (elements.isNull(index)) {
+            throw new IllegalArgumentException("Arrays may not contain null values");
+        }
+        return index;
+    }
+
+    @FunctionalInterface
+    private interface ArrayBuilder {
+        Object build(int from, int to);
+    }
+}
@@ -37,6 +37,7 @@ import static org.neo4j.kernel.impl.scheduler.JobSchedulerFactory.createInitiali
 import static org.neo4j.logging.log4j.LogConfig.createLoggerFromXmlConfig;
 import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_ID;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -44,12 +45,18 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Supplier;
 import org.neo4j.configuration.Config;
 import org.neo4j.csv.reader.IllegalMultilineFieldException;
@@ -109,6 +116,7 @@ class CsvImporter implements Importer {
     private final boolean normalizeTypes;
     private final boolean verbose;
     private final boolean autoSkipHeaders;
+    private final InputType inputType;
     private final Map<Set<String>, List<Path[]>> nodeFiles;
     private final Map<String, List<Path[]>> relationshipFiles;
     private final FileSystemAbstraction fileSystem;
@@ -138,6 +146,7 @@ class CsvImporter implements Importer {
         this.normalizeTypes = b.normalizeTypes;
         this.verbose = b.verbose;
         this.autoSkipHeaders = b.autoSkipHeaders;
+        this.inputType = requireNonNull(b.inputType);
         this.nodeFiles = requireNonNull(b.nodeFiles);
         this.relationshipFiles = requireNonNull(b.relationshipFiles);
         this.fileSystem = requireNonNull(b.fileSystem);
@@ -166,25 +175,99 @@ class CsvImporter implements Importer {
             ZoneId dbTimeZone = databaseConfig.get(db_temporal_timezone);
             Supplier<ZoneId> defaultTimeZone = () -> dbTimeZone;
 
-            final var nodeData = nodeData();
-            final var relationshipsData = relationshipData();
+            Configuration config = withInputFingerprint(importConfig, inputFingerprint());
+            try (Input input = createInput(defaultTimeZone)) {
+                doImport(input, config, badCollector);
+            }
+        }
+    }
 
-            try (CsvInput input = new CsvInput(
-                    nodeData,
+    private Input createInput(Supplier<ZoneId> defaultTimeZone) {
+        return switch (inputType) {
+            case csv -> new CsvInput(
+                    nodeData(),
                     defaultFormatNodeFileHeader(defaultTimeZone, normalizeTypes),
-                    relationshipsData,
+                    relationshipData(),
                     defaultFormatRelationshipFileHeader(defaultTimeZone, normalizeTypes),
                     idType,
                     csvConfig,
                     autoSkipHeaders,
                     new CsvInput.PrintingMonitor(stdOut),
-                    memoryTracker)) {
-                doImport(input, badCollector);
+                    memoryTracker);
+            case arrow -> new ArrowInput(
+                    fileSystem,
+                    arrowNodeData(),
+                    arrowRelationshipData(),
+                    idType,
+                    normalizeTypes,
+                    new CsvInput.PrintingMonitor(stdOut),
+                    memoryTracker);
+        };
+    }
+
+    private static Configuration withInputFingerprint(Configuration config, String inputFingerprint) {
+        return new Configuration.Overridden(config) {
+            @Override
+            public String inputFingerprint() {
+                return inputFingerprint;
+            }
+        };
+    }
+
+    /**
+     * @return a SHA-256 digest of the settings affecting how the input is read and of the names, sizes and
+     * modification times of the input files, so that resuming an import with other input can be detected.
+     */
+    private String inputFingerprint() throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        DataOutputStream data = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+        data.writeUTF(inputType.name());
+        data.writeUTF(idType.name());
+        data.writeUTF(inputEncoding.name());
+        data.writeUTF(databaseConfig.get(db_temporal_timezone).getId());
+        data.writeBoolean(normalizeTypes);
+        data.writeBoolean(autoSkipHeaders);
+        data.writeBoolean(ignoreExtraColumns);
+        data.writeBoolean(skipBadRelationships);
+        data.writeBoolean(skipDuplicateNodes);
+        data.writeChar(csvConfig.delimiter());
+        data.writeChar(csvConfig.arrayDelimiter());
+        data.writeChar(csvConfig.quotationCharacter());
+        data.writeBoolean(csvConfig.multilineFields());
+        data.writeBoolean(csvConfig.trimStrings());
+        data.writeBoolean(csvConfig.emptyQuotedStringsAsNull());
+        data.writeBoolean(csvConfig.legacyStyleQuoting());
+        // The groups are kept in hash maps, so are sorted to not depend on their iteration order
+        Map<String, List<Path[]>> sortedNodeFiles = new TreeMap<>();
+        nodeFiles.forEach((labels, files) -> sortedNodeFiles.put(new TreeSet<>(labels).toString(), files));
+        writeInputFiles(data, sortedNodeFiles);
+        writeInputFiles(data, new TreeMap<>(relationshipFiles));
+        data.flush();
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private void writeInputFiles(DataOutputStream data, Map<String, List<Path[]>> inputFiles) throws IOException {
+        data.writeInt(inputFiles.size());
+        for (Map.Entry<String, List<Path[]>> group : inputFiles.entrySet()) {
+            data.writeUTF(group.getKey());
+            data.writeInt(group.getValue().size());
+            for (Path[] files : group.getValue()) {
+                data.writeInt(files.length);
+                for (Path file : files) {
+                    data.writeUTF(file.toAbsolutePath().toString());
+                    data.writeLong(fileSystem.getFileSize(file));
+                    data.writeLong(fileSystem.lastModifiedTime(file));
+                }
             }
         }
     }
 
-    private void doImport(Input input, Collector badCollector) {
+    private void doImport(Input input, Configuration config, Collector badCollector) {
         boolean success = false;
 
         printOverview();
@@ -212,7 +295,7 @@ class CsvImporter implements Importer {
                             databaseLayout,
                             fileSystem,
                             pageCacheTracer,
-                            importConfig,
+                            config,
                             logService,
                             stdOut,
                             verbose,
@@ -241,7 +324,7 @@ class CsvImporter implements Importer {
                         databaseLayout,
                         fileSystem,
                         pageCacheTracer,
-                        importConfig,
+                        config,
                         logService,
                         stdOut,
                         verbose,
@@ -420,6 +503,28 @@ class CsvImporter implements Importer {
         return result;
     }
 
+    private Iterable<ArrowInput.Data> arrowRelationshipData() {
+        final var result = new ArrayList<ArrowInput.Data>();
+        relationshipFiles.forEach((defaultTypeName, fileSets) -> {
+            final var decorator = defaultRelationshipType(defaultTypeName);
+            for (Path[] files : fileSets) {
+                result.add(new ArrowInput.Data(decorator, files));
+            }
+        });
+        return result;
+    }
+
+    private Iterable<ArrowInput.Data> arrowNodeData() {
+        final var result = new ArrayList<ArrowInput.Data>();
+        nodeFiles.forEach((labels, fileSets) -> {
+            final var decorator = labels.isEmpty() ? NO_DECORATOR : additiveLabels(labels.toArray(new String[0]));
+            for (Path[] files : fileSets) {
+                result.add(new ArrowInput.Data(decorator, files));
+            }
+        });
+        return result;
+    }
+
     private Collector getBadCollector(boolean skipBadEntriesLogging, OutputStream badOutput) {
         return badCollector(
                 badOutput,
@@ -456,6 +561,7 @@ class CsvImporter implements Importer {
         private boolean normalizeTypes;
         private boolean verbose;
         private boolean autoSkipHeaders;
+        private InputType inputType = InputType.csv;
         private final Map<Set<String>, List<Path[]>> nodeFiles = new HashMap<>();
         private final Map<String, List<Path[]>> relationshipFiles = new HashMap<>();
         private FileSystemAbstraction fileSystem = new DefaultFileSystemAbstraction();
@@ -545,6 +651,11 @@ class CsvImporter implements Importer {
             return this;
         }
 
+        Builder withInputType(InputType inputType) {
+            this.inputType = inputType;
+            return this;
+        }
+
         Builder addNodeFiles(Set<String> labels, Path[] files) {
             final var list = nodeFiles.computeIfAbsent(labels, unused -> new ArrayList<>());
             list.add(files);
@@ -612,10 +723,24 @@ class CsvImporter implements Importer {
                     !(force && incremental),
                     "--overwrite-destination doesn't work with incremental import",
                     incrementalStage);
+            Preconditions.checkState(
+                    !(force && importConfig.resumeImport()),
+                    "--overwrite-destination doesn't work with --resume, since it deletes what would be resumed");
             return new CsvImporter(this);
         }
     }
 
+    enum InputType {
+        /**
+         * Text files with a header line, parsed according to the csv configuration.
+         */
+        csv,
+        /**
+         * Arrow IPC files, read column by column without any parsing, see {@link ArrowInput}.
+         */
+        arrow
+    }
+
     enum IncrementalStage {
         /**
          * Prepares an incremental import. This requires target database to be offline.
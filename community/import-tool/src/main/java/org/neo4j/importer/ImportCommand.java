@@ -342,6 +342,18 @@ public class ImportCommand {
                         + "For example, all integer values will be converted to 64-bit long integers.")
         private boolean normalizeTypes = true;
 
+        @Option(
+                names = "--input-type",
+                showDefaultValue = ALWAYS,
+                paramLabel = "csv|arrow",
+                defaultValue = "csv",
+                converter = InputTypeConverter.class,
+                description = "Format of the input files. Possible values are:%n"
+                        + "  csv: text files, where the first line of each file group is the header,%n"
+                        + "  arrow: Arrow IPC files, where the header is given by the column names and values are "
+                        + "read with the type of their column. Options specific to parsing text are ignored.")
+        CsvImporter.InputType inputType = CsvImporter.InputType.csv;
+
         @Option(
                 names = "--nodes",
                 required = true,
@@ -395,6 +407,7 @@ public class ImportCommand {
                 CsvImporter.IncrementalStage mode,
                 String format,
                 boolean overwriteDestination,
+                boolean resume,
                 Base.MaybeLocker maybeLockChecker) {
             try {
                 final var databaseConfig = loadNeo4jConfig(format);
@@ -404,7 +417,7 @@ public class ImportCommand {
                         var logProvider = CsvImporter.createLogProvider(ctx.fs(), databaseConfig);
                         var fileSystem = new SchemeFileSystemAbstraction(ctx.fs(), databaseConfig, logProvider)) {
                     final var csvConfig = csvConfiguration();
-                    final var importConfig = importConfiguration();
+                    final var importConfig = importConfiguration(resume);
 
                     final var importerBuilder = CsvImporter.builder()
                             .withDatabaseLayout(databaseLayout)
@@ -426,6 +439,7 @@ public class ImportCommand {
                             .withNormalizeTypes(normalizeTypes)
                             .withVerbose(verbose)
                             .withAutoSkipHeaders(autoSkipHeaders)
+                            .withInputType(inputType)
                             .withForce(overwriteDestination)
                             .withIncremental(incremental)
                             .withLogProvider(logProvider);
@@ -506,7 +520,7 @@ public class ImportCommand {
                     .build();
         }
 
-        private org.neo4j.internal.batchimport.Configuration importConfiguration() {
+        private org.neo4j.internal.batchimport.Configuration importConfiguration(boolean resume) {
             return new Configuration.Overridden(Configuration.defaultConfiguration()) {
                 @Override
                 public int maxNumberOfWorkerThreads() {
@@ -533,6 +547,11 @@ public class ImportCommand {
                 public boolean strictNodeCheck() {
                     return strict;
                 }
+
+                @Override
+                public boolean resumeImport() {
+                    return resume;
+                }
             };
         }
 
@@ -566,6 +585,17 @@ public class ImportCommand {
             }
         }
 
+        static class InputTypeConverter implements CommandLine.ITypeConverter<CsvImporter.InputType> {
+            @Override
+            public CsvImporter.InputType convert(String in) {
+                try {
+                    return CsvImporter.InputType.valueOf(in.toLowerCase(Locale.ROOT));
+                } catch (Exception e) {
+                    throw new CommandLine.TypeConversionException(format("Invalid input type: %s (%s)", in, e));
+                }
+            }
+        }
+
         static class IdTypeConverter implements CommandLine.ITypeConverter<IdType> {
             @Override
             public IdType convert(String in) {
@@ -601,13 +631,24 @@ public class ImportCommand {
                 description = "Delete any existing database files prior to the import.")
         private boolean overwriteDestination;
 
+        @Option(
+                names = "--resume",
+                arity = "0..1",
+                showDefaultValue = ALWAYS,
+                paramLabel = "true|false",
+                fallbackValue = "true",
+                description = "Resume a previously failed import into the same database from the last stage it "
+                        + "completed, using the same input. An import which failed before all relationships "
+                        + "were imported is started from the beginning.")
+        private boolean resume;
+
         public Full(ExecutionContext ctx) {
             super(ctx);
         }
 
         @Override
         public void execute() throws Exception {
-            doExecute(false, null, format, overwriteDestination, databaseLayout -> {
+            doExecute(false, null, format, overwriteDestination, resume, databaseLayout -> {
                 // Create the db folder if it doesn't exist, to be able to create and lock the lockfile.
                 ctx.fs().mkdirs(databaseLayout.databaseDirectory());
                 return LockChecker.checkDatabaseLock(databaseLayout);
@@ -642,7 +683,8 @@ public class ImportCommand {
                         "ERROR: Incremental import needs to be used with care. Please confirm by specifying --force.");
                 throw new IllegalArgumentException("Missing force");
             }
-            doExecute(true, stage, null, false, (layout) -> () -> {} /* locking handled in the specific steps */);
+            doExecute(
+                    true, stage, null, false, false, (layout) -> () -> {} /* locking handled in the specific steps */);
         }
 
         static class StageConverter implements CommandLine.ITypeConverter<CsvImporter.IncrementalStage> {
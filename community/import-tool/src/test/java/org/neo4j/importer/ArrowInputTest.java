@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.importer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.neo4j.internal.batchimport.input.Collector.EMPTY;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.NO_DECORATOR;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.additiveLabels;
+import static org.neo4j.internal.batchimport.input.InputEntityDecorators.defaultRelationshipType;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.junit.jupiter.api.Test;
+import org.neo4j.internal.batchimport.InputIterator;
+import org.neo4j.internal.batchimport.input.HeaderException;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputChunk;
+import org.neo4j.internal.batchimport.input.InputEntity;
+import org.neo4j.internal.batchimport.input.csv.CsvInput;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.TestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+@TestDirectoryExtension
+class ArrowInputTest {
+    private static final int BATCHES = 3;
+    private static final int ROWS_PER_BATCH = 10;
+
+    @Inject
+    private TestDirectory directory;
+
+    @Test
+    void shouldReadTypedColumnsOfAllRecordBatches() throws Exception {
+        // given
+        Path nodes = writeNodes("nodes.arrow");
+
+        // when
+        List<InputEntity> entities;
+        try (Input input = input(List.of(new ArrowInput.Data(additiveLabels("Imported"), nodes)), List.of(), true)) {
+            entities = readAll(input.nodes(EMPTY).iterator());
+        }
+
+        // then
+        assertThat(entities).hasSize(BATCHES * ROWS_PER_BATCH);
+        for (int i = 0; i < entities.size(); i++) {
+            InputEntity entity = entities.get(i);
+            assertThat(entity.id()).isEqualTo("n" + i);
+            assertThat(entity.labels())
+                    .containsExactlyInAnyOrder(
+                            i % 2 == 0
+                                    ? new String[] {"Person", "Even", "Imported"}
+                                    : new String[] {"Person", "Imported"});
+            Map<String, Object> properties = entity.propertiesAsMap();
+            assertThat(properties).containsEntry("id", "n" + i);
+            assertThat(properties).containsEntry("age", (long) i);
+            assertThat(properties).containsEntry("born", LocalDate.ofEpochDay(i));
+            assertThat(properties).doesNotContainKey("skip");
+            if (i % 3 == 0) {
+                assertThat(properties).doesNotContainKey("score");
+            } else {
+                assertThat(properties).containsEntry("score", i * 0.5);
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepTypesOfColumnsWhenNotNormalizing() throws Exception {
+        // given
+        Path nodes = writeNodes("nodes.arrow");
+
+        // when
+        List<InputEntity> entities;
+        try (Input input = input(List.of(new ArrowInput.Data(NO_DECORATOR, nodes)), List.of(), false)) {
+            entities = readAll(input.nodes(EMPTY).iterator());
+        }
+
+        // then
+        assertThat(entities.get(7).propertiesAsMap()).containsEntry("age", 7);
+    }
+
+    @Test
+    void shouldReadRelationshipsWithArrayPropertiesAndDefaultType() throws Exception {
+        // given
+        Path nodes = writeNodes("nodes.arrow");
+        Path relationships = writeRelationships("relationships.arrow");
+
+        // when
+        List<InputEntity> entities;
+        try (Input input = input(
+                List.of(new ArrowInput.Data(NO_DECORATOR, nodes)),
+                List.of(new ArrowInput.Data(defaultRelationshipType("DEFAULT"), relationships)),
+                true)) {
+            entities = readAll(input.relationships(EMPTY).iterator());
+        }
+
+        // then
+        assertThat(entities).hasSize(BATCHES * ROWS_PER_BATCH);
+        for (int i = 0; i < entities.size(); i++) {
+            InputEntity entity = entities.get(i);
+            assertThat(entity.startId()).isEqualTo("n" + i);
+            assertThat(entity.endId()).isEqualTo("n" + (i + 1) % entities.size());
+            assertThat(entity.stringType).isEqualTo(i % 2 == 0 ? "KNOWS" : "DEFAULT");
+            assertThat((long[]) entity.propertiesAsMap().get("weights")).containsExactly(i, i * 2L);
+        }
+    }
+
+    @Test
+    void shouldReadRecordBatchesInParallel() throws Exception {
+        // given
+        Path nodes = writeNodes("nodes.arrow");
+        Set<Object> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(BATCHES);
+
+        // when
+        try (Input input = input(List.of(new ArrowInput.Data(NO_DECORATOR, nodes)), List.of(), true);
+                InputIterator iterator = input.nodes(EMPTY).iterator()) {
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int i = 0; i < BATCHES; i++) {
+                workers.add(executor.submit(() -> {
+                    int chunks = 0;
+                    try (InputChunk chunk = iterator.newChunk();
+                            InputEntity entity = new InputEntity()) {
+                        while (iterator.next(chunk)) {
+                            chunks++;
+                            while (chunk.next(entity)) {
+                                assertThat(ids.add(entity.id())).isTrue();
+                            }
+                        }
+                    }
+                    return chunks;
+                }));
+            }
+            int chunks = 0;
+            for (Future<Integer> worker : workers) {
+                chunks += worker.get();
+            }
+
+            // then
+            assertThat(chunks).isEqualTo(BATCHES);
+            assertThat(ids).hasSize(BATCHES * ROWS_PER_BATCH);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldEstimateFromFirstRecordBatch() throws Exception {
+        // given
+        Path nodes = writeNodes("nodes.arrow");
+
+        // when
+        Input.Estimates estimates;
+        try (Input input = input(List.of(new ArrowInput.Data(NO_DECORATOR, nodes)), List.of(), true)) {
+            estimates = input.calculateEstimates((values, cursorContext, memoryTracker) -> values.length);
+        }
+
+        // then
+        assertThat((double) estimates.numberOfNodes()).isCloseTo(BATCHES * ROWS_PER_BATCH, within(10D));
+        assertThat(estimates.numberOfNodeProperties()).isGreaterThan(estimates.numberOfNodes());
+        assertThat(estimates.numberOfRelationships()).isZero();
+    }
+
+    @Test
+    void shouldFailOnRelationshipFileWithoutEndIdColumn() throws Exception {
+        // given
+        Path nodes = writeNodes("nodes.arrow");
+        Schema schema = new Schema(List.of(Field.nullable(":START_ID", ArrowType.Utf8.INSTANCE)));
+        Path relationships = writeFile("relationships.arrow", schema, (root, row) -> ((VarCharVector) root.getVector(0))
+                .setSafe(row % ROWS_PER_BATCH, ("n" + row).getBytes(UTF_8)));
+
+        // when/then
+        assertThatThrownBy(() -> input(
+                                List.of(new ArrowInput.Data(NO_DECORATOR, nodes)),
+                                List.of(new ArrowInput.Data(NO_DECORATOR, relationships)),
+                                true)
+                        .close())
+                .isInstanceOf(HeaderException.class)
+                .hasMessageContaining("END_ID");
+    }
+
+    @Test
+    void shouldFailOnColumnOfUnsupportedType() throws Exception {
+        // given
+        Schema schema = new Schema(List.of(Field.nullable("price", new ArrowType.Decimal(10, 2, 128))));
+        Path nodes = writeFile("nodes.arrow", schema, (root, row) -> ((DecimalVector) root.getVector(0))
+                .setSafe(row % ROWS_PER_BATCH, row));
+
+        // when/then
+        assertThatThrownBy(() -> input(List.of(new ArrowInput.Data(NO_DECORATOR, nodes)), List.of(), true)
+                        .close())
+                .isInstanceOf(HeaderException.class)
+                .hasMessageContaining("price");
+    }
+
+    private ArrowInput input(List<ArrowInput.Data> nodes, List<ArrowInput.Data> relationships, boolean normalize) {
+        return new ArrowInput(
+                directory.getFileSystem(),
+                nodes,
+                relationships,
+                IdType.STRING,
+                normalize,
+                CsvInput.NO_MONITOR,
+                EmptyMemoryTracker.INSTANCE);
+    }
+
+    private static List<InputEntity> readAll(InputIterator iterator) throws IOException {
+        List<InputEntity> entities = new ArrayList<>();
+        try (iterator;
+                InputChunk chunk = iterator.newChunk()) {
+            while (iterator.next(chunk)) {
+                InputEntity entity = new InputEntity();
+                while (chunk.next(entity)) {
+                    entities.add(entity);
+                    entity = new InputEntity();
+                }
+            }
+        }
+        return entities;
+    }
+
+    private Path writeNodes(String name) throws IOException {
+        Schema schema = new Schema(List.of(
+                Field.nullable("id:ID", ArrowType.Utf8.INSTANCE),
+                listField(":LABEL", ArrowType.Utf8.INSTANCE),
+                Field.nullable("age:int", new ArrowType.Int(32, true)),
+                Field.nullable(
+                        "score",
+                        new ArrowType.FloatingPoint(org.apache.arrow.vector.types.FloatingPointPrecision.DOUBLE)),
+                Field.nullable("born", new ArrowType.Date(DateUnit.DAY)),
+                Field.nullable("skip:IGNORE", new ArrowType.Int(64, true))));
+        return writeFile(name, schema, (root, row) -> {
+            ((VarCharVector) root.getVector(0)).setSafe(row % ROWS_PER_BATCH, ("n" + row).getBytes(UTF_8));
+            ListVector labels = (ListVector) root.getVector(1);
+            VarCharVector labelValues = (VarCharVector) labels.getDataVector();
+            int offset = labels.startNewValue(row % ROWS_PER_BATCH);
+            labelValues.setSafe(offset, "Person".getBytes(UTF_8));
+            if (row % 2 == 0) {
+                labelValues.setSafe(offset + 1, "Even".getBytes(UTF_8));
+            }
+            labels.endValue(row % ROWS_PER_BATCH, row % 2 == 0 ? 2 : 1);
+            ((IntVector) root.getVector(2)).setSafe(row % ROWS_PER_BATCH, row);
+            if (row % 3 == 0) {
+                ((Float8Vector) root.getVector(3)).setNull(row % ROWS_PER_BATCH);
+            } else {
+                ((Float8Vector) root.getVector(3)).setSafe(row % ROWS_PER_BATCH, row * 0.5);
+            }
+            ((DateDayVector) root.getVector(4)).setSafe(row % ROWS_PER_BATCH, row);
+            ((BigIntVector) root.getVector(5)).setSafe(row % ROWS_PER_BATCH, row);
+        });
+    }
+
+    private Path writeRelationships(String name) throws IOException {
+        int nodes = BATCHES * ROWS_PER_BATCH;
+        Schema schema = new Schema(List.of(
+                Field.nullable(":START_ID", ArrowType.Utf8.INSTANCE),
+                Field.nullable(":END_ID", ArrowType.Utf8.INSTANCE),
+                Field.nullable(":TYPE", ArrowType.Utf8.INSTANCE),
+                listField("weights", new ArrowType.Int(64, true))));
+        return writeFile(name, schema, (root, row) -> {
+            int index = row % ROWS_PER_BATCH;
+            ((VarCharVector) root.getVector(0)).setSafe(index, ("n" + row).getBytes(UTF_8));
+            ((VarCharVector) root.getVector(1)).setSafe(index, ("n" + (row + 1) % nodes).getBytes(UTF_8));
+            if (row % 2 == 0) {
+                ((VarCharVector) root.getVector(2)).setSafe(index, "KNOWS".getBytes(UTF_8));
+            } else {
+                ((VarCharVector) root.getVector(2)).setNull(index);
+            }
+            ListVector weights = (ListVector) root.getVector(3);
+            BigIntVector weightValues = (BigIntVector) weights.getDataVector();
+            int offset = weights.startNewValue(index);
+            weightValues.setSafe(offset, row);
+            weightValues.setSafe(offset + 1, row * 2L);
+            weights.endValue(index, 2);
+        });
+    }
+
+    private static Field listField(String name, ArrowType elementType) {
+        return new Field(
+                name, FieldType.nullable(ArrowType.List.INSTANCE), List.of(Field.nullable("item", elementType)));
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        /**
+         * @param row global row index, the row index within the batch is {@code row % ROWS_PER_BATCH}.
+         */
+        void write(VectorSchemaRoot root, int row);
+    }
+
+    private Path writeFile(String name, Schema schema, RowWriter rowWriter) throws IOException {
+        Path file = directory.file(name);
+        try (BufferAllocator allocator = new RootAllocator();
+                VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator);
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                ArrowFileWriter writer = new ArrowFileWriter(root, null, channel)) {
+            writer.start();
+            for (int batch = 0; batch < BATCHES; batch++) {
+                root.allocateNew();
+                for (int row = 0; row < ROWS_PER_BATCH; row++) {
+                    rowWriter.write(root, batch * ROWS_PER_BATCH + row);
+                }
+                root.setRowCount(ROWS_PER_BATCH);
+                writer.writeBatch();
+            }
+            writer.end();
+        }
+        return file;
+    }
+}
@@ -91,6 +91,7 @@ class ImportCommandTest {
         "--skip-duplicate-nodes",
         "--strict",
         "--normalize-types",
+        "--input-type",
         "--nodes",
         "--relationships",
         "--auto-skip-subsequent-headers"
@@ -104,7 +105,7 @@ class ImportCommandTest {
         final var help = getUsageHelp(command);
         final var options = getOptions(help);
         var expectedOptions = new ArrayList<>(List.of(sharedOptions));
-        expectedOptions.addAll(List.of("--overwrite-destination", "--format"));
+        expectedOptions.addAll(List.of("--overwrite-destination", "--format", "--resume"));
         final var positionals = getPositionals(help);
         final var expectedPositionals = List.of(sharedPositionals);
 
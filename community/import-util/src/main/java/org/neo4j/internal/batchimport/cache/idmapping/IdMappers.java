@@ -123,6 +123,26 @@ public class IdMappers {
             boolean strictNodeCheck,
             MemoryTracker memoryTracker,
             long estimatedNumberOfNodes) {
+        return strings(cacheFactory, groups, strictNodeCheck, memoryTracker, estimatedNumberOfNodes, false);
+    }
+
+    /**
+     * An {@link IdMapper} capable of mapping {@link String strings} to long ids.
+     *
+     * @param cacheFactory {@link NumberArrayFactory} for allocating memory for the cache used by this index.
+     * @param groups {@link Groups} containing all id groups.
+     * @param memoryTracker underlying buffers allocation memory tracker
+     * @param externalMemory whether or not to sort in runs and look up sorted values sequentially,
+     * for caches which don't fit in memory.
+     * @return {@link IdMapper} for when input ids are strings.
+     */
+    public static IdMapper strings(
+            NumberArrayFactory cacheFactory,
+            ReadableGroups groups,
+            boolean strictNodeCheck,
+            MemoryTracker memoryTracker,
+            long estimatedNumberOfNodes,
+            boolean externalMemory) {
         return new EncodingIdMapper(
                 cacheFactory,
                 new StringEncoder(),
@@ -135,7 +155,8 @@ public class IdMappers {
                 goodChunkSize(estimatedNumberOfNodes),
                 EncodingIdMapper.defaultNumberOfSortWorkers(),
                 ParallelSort.DEFAULT,
-                memoryTracker);
+                memoryTracker,
+                sortRunSize(externalMemory));
     }
 
     /**
@@ -151,6 +172,25 @@ public class IdMappers {
             ReadableGroups groups,
             MemoryTracker memoryTracker,
             long estimatedNumberOfNodes) {
+        return longs(cacheFactory, groups, memoryTracker, estimatedNumberOfNodes, false);
+    }
+
+    /**
+     * An {@link IdMapper} capable of mapping {@link Long arbitrary longs} to long ids.
+     *
+     * @param cacheFactory {@link NumberArrayFactory} for allocating memory for the cache used by this index.
+     * @param groups {@link Groups} containing all id groups.
+     * @param memoryTracker underlying buffers allocation memory tracker
+     * @param externalMemory whether or not to sort in runs and look up sorted values sequentially,
+     * for caches which don't fit in memory.
+     * @return {@link IdMapper} for when input ids are numbers.
+     */
+    public static IdMapper longs(
+            NumberArrayFactory cacheFactory,
+            ReadableGroups groups,
+            MemoryTracker memoryTracker,
+            long estimatedNumberOfNodes,
+            boolean externalMemory) {
         return new EncodingIdMapper(
                 cacheFactory,
                 new LongEncoder(),
@@ -163,7 +203,12 @@ public class IdMappers {
                 goodChunkSize(estimatedNumberOfNodes),
                 EncodingIdMapper.defaultNumberOfSortWorkers(),
                 ParallelSort.DEFAULT,
-                memoryTracker);
+                memoryTracker,
+                sortRunSize(externalMemory));
+    }
+
+    private static int sortRunSize(boolean externalMemory) {
+        return externalMemory ? EncodingIdMapper.DEFAULT_SORT_RUN_SIZE : EncodingIdMapper.IN_MEMORY_SORT;
     }
 
     private static int goodChunkSize(long estimatedNumberOfNodes) {
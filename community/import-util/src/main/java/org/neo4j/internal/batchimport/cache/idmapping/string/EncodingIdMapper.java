@@ -24,6 +24,7 @@ import static java.lang.Math.min;
 import static java.lang.Math.toIntExact;
 import static java.lang.String.format;
 import static org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples.pair;
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -97,6 +98,11 @@ import org.neo4j.util.concurrent.IdSpaceParallelExecution.Partition;
  * - collision:
  *       Since eId has potentially fewer bits than an input id there's a chance multiple different (or equal)
  *       input ids will be encoded into the same eId. These are called collisions.
+ * - sorted values:
+ *       Only used when sorting with a sort run size, i.e. when the caches are too big to fit in memory.
+ *       The eIds in the same order as the tracker cache, so that lookups binary search sequential values
+ *       instead of doing random reads into the data cache. An in-memory fence of every
+ *       {@code 2^}{@link #FENCE_SHIFT}th sorted value narrows down each binary search further. See {@link ExternalSort}.
  */
 public class EncodingIdMapper implements IdMapper {
     public interface Monitor {
@@ -129,6 +135,10 @@ public class EncodingIdMapper implements IdMapper {
     // because the current set of Encoder implementations will always set some amount of bits higher up in
     // the long value representing the length of the id.
     static final long GAP_VALUE = 0;
+    // Sort run size which makes prepare sort the tracker cache in place, using random access into the data cache
+    public static final int IN_MEMORY_SORT = 0;
+    public static final int DEFAULT_SORT_RUN_SIZE = 1 << 20; // 32MB of buffers per sort worker
+    private static final int FENCE_SHIFT = 10;
 
     private final Factory<Radix> radixFactory;
     private final NumberArrayFactory cacheFactory;
@@ -152,6 +162,9 @@ public class EncodingIdMapper implements IdMapper {
     private final int processorsForParallelWork;
     private final MemoryTracker memoryTracker;
     private final Comparator comparator;
+    private final int sortRunSize;
+    private LongArray sortedValues;
+    private long[] fences;
 
     // Indicates if get on an input id should double check that the hashed input id matches the value
     // on the node. This is to detect cases where relationships refer to none existant nodes by input
@@ -187,12 +200,49 @@ public class EncodingIdMapper implements IdMapper {
             int processorsForParallelWork,
             Comparator comparator,
             MemoryTracker memoryTracker) {
+        this(
+                cacheFactory,
+                encoder,
+                strictNodeCheck,
+                radixFactory,
+                monitor,
+                trackerFactory,
+                groups,
+                collisionValuesFactory,
+                chunkSize,
+                processorsForParallelWork,
+                comparator,
+                memoryTracker,
+                IN_MEMORY_SORT);
+    }
+
+    /**
+     * @param sortRunSize {@link #IN_MEMORY_SORT} for sorting with {@link ParallelSort}, otherwise the number of
+     * node ids per sorted run of {@link ExternalSort}. The latter also makes lookups binary search sorted values
+     * instead of random data cache reads, which is what an import with caches much bigger than memory needs.
+     * Values are then always sorted in unsigned order, regardless of {@code comparator}.
+     */
+    public EncodingIdMapper(
+            NumberArrayFactory cacheFactory,
+            Encoder encoder,
+            boolean strictNodeCheck,
+            Factory<Radix> radixFactory,
+            Monitor monitor,
+            TrackerFactory trackerFactory,
+            ReadableGroups groups,
+            LongFunction<CollisionValues> collisionValuesFactory,
+            int chunkSize,
+            int processorsForParallelWork,
+            Comparator comparator,
+            MemoryTracker memoryTracker,
+            int sortRunSize) {
         this.radixFactory = radixFactory;
         this.monitor = monitor;
         this.cacheFactory = cacheFactory;
         this.trackerFactory = trackerFactory;
         this.collisionValuesFactory = collisionValuesFactory;
         this.comparator = comparator;
+        this.sortRunSize = sortRunSize;
         this.processorsForParallelWork = max(processorsForParallelWork, 1);
         this.strictNodeCheck = strictNodeCheck;
         this.memoryTracker = memoryTracker;
@@ -272,16 +322,32 @@ public class EncodingIdMapper implements IdMapper {
 
         var numNodes = highestSetIndex + 1;
         try (var progress = progressMonitorFactory.singlePart("Prepare ID mapper", numNodes * 3)) {
-            sortBuckets = new ParallelSort(
-                            radix,
-                            dataCache,
-                            highestSetIndex,
-                            highestSetTrackerIndex,
-                            trackerCache,
-                            processorsForParallelWork,
-                            progress,
-                            comparator)
-                    .run();
+            if (sortRunSize == IN_MEMORY_SORT) {
+                sortBuckets = new ParallelSort(
+                                radix,
+                                dataCache,
+                                highestSetIndex,
+                                highestSetTrackerIndex,
+                                trackerCache,
+                                processorsForParallelWork,
+                                progress,
+                                comparator)
+                        .run();
+            } else {
+                sortedValues = cacheFactory.newLongArray(max(highestSetTrackerIndex + 1, 1), GAP_VALUE, memoryTracker);
+                sortBuckets = new ExternalSort(
+                                dataCache,
+                                highestSetIndex,
+                                trackerCache,
+                                sortedValues,
+                                cacheFactory,
+                                sortRunSize,
+                                processorsForParallelWork,
+                                progress,
+                                memoryTracker)
+                        .run();
+                buildFences();
+            }
 
             long pessimisticNumberOfCollisions = detectAndMarkCollisions(progress, sortBuckets);
             if (pessimisticNumberOfCollisions > 0) {
@@ -306,6 +372,16 @@ public class EncodingIdMapper implements IdMapper {
         });
     }
 
+    private void buildFences() {
+        int numberOfFences = toIntExact(((highestSetTrackerIndex + 1) >>> FENCE_SHIFT)
+                + ((highestSetTrackerIndex + 1) % (1 << FENCE_SHIFT) == 0 ? 0 : 1));
+        memoryTracker.allocateHeap(sizeOfLongArray(numberOfFences));
+        fences = new long[numberOfFences];
+        for (int i = 0; i < numberOfFences; i++) {
+            fences[i] = sortedValues.get((long) i << FENCE_SHIFT);
+        }
+    }
+
     private int radixOf(long value) {
         return radix.calculator().radixOf(value);
     }
@@ -314,6 +390,9 @@ public class EncodingIdMapper implements IdMapper {
         long low = 0;
         long high = highestSetTrackerIndex;
         long x = encode(inputId);
+        if (sortedValues != null) {
+            return strictCheck(binarySearchSorted(x, inputId, groupId), inputId, lookup);
+        }
         int rIndex = radixOf(x);
         for (int k = 0; k < sortBuckets.length; k++) {
             if (rIndex <= sortBuckets[k].highRadixRange) // bucketRange[k] > rIndex )
@@ -330,7 +409,10 @@ public class EncodingIdMapper implements IdMapper {
             high = highestSetTrackerIndex;
             nodeId = binarySearch(x, inputId, low, high, groupId);
         }
-        // Strict check needed?
+        return strictCheck(nodeId, inputId, lookup);
+    }
+
+    private long strictCheck(long nodeId, Object inputId, PropertyValueLookup.Lookup lookup) {
         if (nodeId != ID_NOT_FOUND && strictNodeCheck) {
             var referenceInputId = lookup.lookupProperty(nodeId);
             if (!inputId.equals(referenceInputId)) {
@@ -391,8 +473,8 @@ public class EncodingIdMapper implements IdMapper {
                 return;
             }
 
-            long eIdA = clearCollision(dataCache.get(dataIndexA));
-            long eIdB = clearCollision(dataCache.get(dataIndexB));
+            long eIdA = sortedValues != null ? sortedValues.get(i) : clearCollision(dataCache.get(dataIndexA));
+            long eIdB = sortedValues != null ? sortedValues.get(i + 1) : clearCollision(dataCache.get(dataIndexB));
             if (eIdA == GAP_VALUE || eIdB == GAP_VALUE) {
                 sameGroupDetector.reset();
                 return;
@@ -822,8 +904,53 @@ public class EncodingIdMapper implements IdMapper {
         return ID_NOT_FOUND;
     }
 
+    /**
+     * Binary search over {@link #sortedValues}, with the range first narrowed down to the fences surrounding
+     * {@code x}. Only matching values are dereferenced through the tracker cache and data cache.
+     */
+    private long binarySearchSorted(long x, Object inputId, int groupId) {
+        int firstFenceNotBelow = firstFenceAbove(x, true);
+        int firstFenceAbove = firstFenceAbove(x, false);
+        long low = firstFenceNotBelow == 0 ? 0 : (long) (firstFenceNotBelow - 1) << FENCE_SHIFT;
+        long high = min(((long) firstFenceAbove << FENCE_SHIFT) - 1, highestSetTrackerIndex);
+        while (low <= high) {
+            long mid = low + (high - low) / 2;
+            long midValue = sortedValues.get(mid);
+            switch (Utils.unsignedDifference(midValue, x)) {
+                case EQ:
+                    return findFromEIdRange(mid, mid, midValue, inputId, x, groupId);
+                case LT:
+                    low = mid + 1;
+                    break;
+                default:
+                    high = mid - 1;
+                    break;
+            }
+        }
+        return ID_NOT_FOUND;
+    }
+
+    /**
+     * @return index of the first fence which is greater than, or if {@code orEqual} greater than or equal to,
+     * {@code x}, or the number of fences if there's no such fence.
+     */
+    private int firstFenceAbove(long x, boolean orEqual) {
+        int low = 0;
+        int high = fences.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(fences[mid], x);
+            if (comparison > 0 || (orEqual && comparison == 0)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
     private long dataValue(long index) {
-        return clearCollision(dataCache.get(trackerCache.get(index)));
+        return sortedValues != null ? sortedValues.get(index) : clearCollision(dataCache.get(trackerCache.get(index)));
     }
 
     private long findCollisionIndex(long value) {
@@ -902,6 +1029,10 @@ public class EncodingIdMapper implements IdMapper {
     public void acceptMemoryStatsVisitor(MemoryStatsVisitor visitor) {
         nullSafeAcceptMemoryStatsVisitor(visitor, dataCache);
         nullSafeAcceptMemoryStatsVisitor(visitor, trackerCache);
+        nullSafeAcceptMemoryStatsVisitor(visitor, sortedValues);
+        if (fences != null) {
+            visitor.heapUsage(sizeOfLongArray(fences.length));
+        }
         nullSafeAcceptMemoryStatsVisitor(visitor, collisionTrackerCache);
         nullSafeAcceptMemoryStatsVisitor(visitor, collisionNodeIdCache);
         nullSafeAcceptMemoryStatsVisitor(visitor, collisionValues);
@@ -925,6 +1056,13 @@ public class EncodingIdMapper implements IdMapper {
         if (trackerCache != null) {
             trackerCache.close();
         }
+        if (sortedValues != null) {
+            sortedValues.close();
+        }
+        if (fences != null) {
+            memoryTracker.releaseHeap(sizeOfLongArray(fences.length));
+            fences = null;
+        }
         if (collisionNodeIdCache != null) {
             collisionNodeIdCache.close();
         }
@@ -935,7 +1073,13 @@ public class EncodingIdMapper implements IdMapper {
 
     @Override
     public MemoryStatsVisitor.Visitable memoryEstimation(long numberOfNodes) {
-        return visitor -> visitor.offHeapUsage(estimateMemory(numberOfNodes, groups.size()));
+        if (sortRunSize == IN_MEMORY_SORT) {
+            return visitor -> visitor.offHeapUsage(estimateMemory(numberOfNodes, groups.size()));
+        }
+        return visitor -> {
+            visitor.offHeapUsage(estimateExternalMemory(numberOfNodes, groups.size()));
+            visitor.heapUsage(estimateExternalHeapMemory(numberOfNodes, sortRunSize, processorsForParallelWork));
+        };
     }
 
     public static long estimateMemory(long numberOfNodes, int numberOfGroups) {
@@ -944,6 +1088,24 @@ public class EncodingIdMapper implements IdMapper {
         return numberOfNodes * (Long.BYTES /*data*/ + groupSize /*group*/ + trackerSize /*tracker*/);
     }
 
+    /**
+     * Size of the caches of a mapper sorting in runs, most of which is expected to live on disk.
+     * On top of {@link #estimateMemory(long, int)} there are the sorted values and, while sorting,
+     * the sorted runs with the data index of each value.
+     */
+    public static long estimateExternalMemory(long numberOfNodes, int numberOfGroups) {
+        return estimateMemory(numberOfNodes, numberOfGroups) + numberOfNodes * Long.BYTES * 3;
+    }
+
+    /**
+     * Heap needed by a mapper sorting in runs: the run buffers of the sort workers and the fences.
+     */
+    public static long estimateExternalHeapMemory(long numberOfNodes, int sortRunSize, int sortWorkers) {
+        int runSize = (int) min(numberOfNodes, sortRunSize);
+        int numberOfFences = toIntExact((numberOfNodes >>> FENCE_SHIFT) + 1);
+        return max(sortWorkers, 1) * sizeOfLongArray(runSize) * 4 + sizeOfLongArray(numberOfFences);
+    }
+
     @Override
     public LongIterator leftOverDuplicateNodesIds() {
         if (numberOfCollisions == 0) {
@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport.cache.idmapping.string;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static org.neo4j.internal.batchimport.cache.idmapping.string.EncodingIdMapper.GAP_VALUE;
+import static org.neo4j.memory.HeapEstimator.sizeOfLongArray;
+
+import java.util.Arrays;
+import org.neo4j.internal.batchimport.cache.LongArray;
+import org.neo4j.internal.batchimport.cache.NumberArrayFactory;
+import org.neo4j.internal.batchimport.cache.idmapping.string.ParallelSort.SortBucket;
+import org.neo4j.internal.helpers.progress.ProgressListener;
+import org.neo4j.memory.MemoryTracker;
+
+/**
+ * Sorts input data that is too big to be sorted in place with random access, like {@link ParallelSort} does.
+ * Instead of sorting the tracker cache as a proxy to the data cache this sort reads the data cache sequentially,
+ * a run of {@code runSize} values at a time. Each run is sorted on heap and written, together with the data
+ * indexes of its values, to temporary arrays. All runs are then merged in parallel into the tracker cache,
+ * and into a copy of the data values in sorted order, so that later lookups can binary search sorted values
+ * without first dereferencing the tracker cache into the data cache.
+ *
+ * Equal values end up ordered by data index. Values are compared unsigned, like {@link ParallelSort#DEFAULT}.
+ *
+ * The arrays written to are expected to come from a {@link NumberArrayFactory} which can keep them off heap,
+ * or on disk, since all access to them is sequential, apart from the binary searches for the merge partitions.
+ */
+class ExternalSort {
+    private static final int SAMPLES_PER_RUN = 64;
+    private static final int RADIX_BITS = Byte.SIZE;
+    private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+
+    private final LongArray dataCache;
+    private final long highestSetIndex;
+    private final Tracker tracker;
+    private final LongArray sortedValues;
+    private final NumberArrayFactory cacheFactory;
+    private final int runSize;
+    private final int threads;
+    private final ProgressListener progress;
+    private final MemoryTracker memoryTracker;
+
+    ExternalSort(
+            LongArray dataCache,
+            long highestSetIndex,
+            Tracker tracker,
+            LongArray sortedValues,
+            NumberArrayFactory cacheFactory,
+            int runSize,
+            int threads,
+            ProgressListener progress,
+            MemoryTracker memoryTracker) {
+        this.dataCache = dataCache;
+        this.highestSetIndex = highestSetIndex;
+        this.tracker = tracker;
+        this.sortedValues = sortedValues;
+        this.cacheFactory = cacheFactory;
+        this.runSize = runSize;
+        this.threads = threads;
+        this.progress = progress;
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * @return the merge partitions, where no value is present in more than one partition.
+     * {@link SortBucket#highRadixRange} isn't used by this sort.
+     */
+    synchronized SortBucket[] run() throws InterruptedException {
+        long length = highestSetIndex + 1;
+        int numberOfRuns = toIntExact((length + runSize - 1) / runSize);
+        try (LongArray runValues = cacheFactory.newLongArray(max(length, 1), GAP_VALUE, memoryTracker);
+                LongArray runDataIndexes = cacheFactory.newLongArray(max(length, 1), -1, memoryTracker)) {
+            long[] runCounts = new long[numberOfRuns];
+            long[][] runSamples = new long[numberOfRuns][];
+            Workers<RunWorker> runWorkers = new Workers<>("SortRun");
+            for (int i = 0; i < min(threads, numberOfRuns); i++) {
+                runWorkers.start(new RunWorker(i, runValues, runDataIndexes, runCounts, runSamples));
+            }
+            runWorkers.awaitAndThrowOnError();
+
+            long[] splitters = splitters(runSamples);
+            int partitions = splitters.length + 1;
+            long[][] runOffsets = new long[numberOfRuns][];
+            for (int run = 0; run < numberOfRuns; run++) {
+                runOffsets[run] = partitionOffsets(runValues, run, runCounts[run], splitters);
+            }
+
+            SortBucket[] sortBuckets = new SortBucket[partitions];
+            long baseIndex = 0;
+            for (int partition = 0; partition < partitions; partition++) {
+                SortBucket sortBucket = new SortBucket();
+                sortBucket.baseIndex = baseIndex;
+                for (long[] offsets : runOffsets) {
+                    sortBucket.count += offsets[partition + 1] - offsets[partition];
+                }
+                baseIndex += sortBucket.count;
+                sortBuckets[partition] = sortBucket;
+            }
+
+            Workers<MergeWorker> mergeWorkers = new Workers<>("MergeRuns");
+            for (int partition = 0; partition < partitions; partition++) {
+                if (sortBuckets[partition].count > 0) {
+                    mergeWorkers.start(
+                            new MergeWorker(partition, sortBuckets[partition], runValues, runDataIndexes, runOffsets));
+                }
+            }
+            mergeWorkers.awaitAndThrowOnError();
+            return sortBuckets;
+        }
+    }
+
+    /**
+     * Picks values which divide all values into {@link #threads} partitions of roughly equal size, from samples taken
+     * evenly over each sorted run.
+     */
+    private long[] splitters(long[][] runSamples) {
+        int numberOfSamples = 0;
+        for (long[] samples : runSamples) {
+            numberOfSamples += samples.length;
+        }
+        if (numberOfSamples == 0) {
+            return new long[0];
+        }
+
+        // Flipping the sign bit makes the signed sort order the unsigned order of the values
+        long[] allSamples = new long[numberOfSamples];
+        int cursor = 0;
+        for (long[] samples : runSamples) {
+            for (long sample : samples) {
+                allSamples[cursor++] = sample ^ Long.MIN_VALUE;
+            }
+        }
+        Arrays.sort(allSamples);
+
+        int partitions = min(threads, numberOfSamples);
+        long[] splitters = new long[partitions - 1];
+        for (int i = 1; i < partitions; i++) {
+            splitters[i - 1] = allSamples[(int) ((long) i * numberOfSamples / partitions)] ^ Long.MIN_VALUE;
+        }
+        return splitters;
+    }
+
+    /**
+     * @return for each partition the offset into the run where it starts, with the run count as last item.
+     * Equal values always end up in the same partition.
+     */
+    private long[] partitionOffsets(LongArray runValues, int run, long count, long[] splitters) {
+        long runBase = (long) run * runSize;
+        long[] offsets = new long[splitters.length + 2];
+        for (int i = 0; i < splitters.length; i++) {
+            long low = offsets[i];
+            long high = count;
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                if (Long.compareUnsigned(runValues.get(runBase + mid), splitters[i]) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            offsets[i + 1] = low;
+        }
+        offsets[splitters.length + 1] = count;
+        return offsets;
+    }
+
+    /**
+     * Sorts every {@link #threads}th run, starting at the run with the same index as this worker.
+     */
+    private class RunWorker implements Runnable {
+        private final int firstRun;
+        private final LongArray runValues;
+        private final LongArray runDataIndexes;
+        private final long[] runCounts;
+        private final long[][] runSamples;
+
+        RunWorker(int firstRun, LongArray runValues, LongArray runDataIndexes, long[] runCounts, long[][] runSamples) {
+            this.firstRun = firstRun;
+            this.runValues = runValues;
+            this.runDataIndexes = runDataIndexes;
+            this.runCounts = runCounts;
+            this.runSamples = runSamples;
+        }
+
+        @Override
+        public void run() {
+            int bufferSize = (int) min(runSize, highestSetIndex + 1);
+            long heapSize = sizeOfLongArray(bufferSize) * 4;
+            memoryTracker.allocateHeap(heapSize);
+            try (var localProgress = progress.threadLocalReporter()) {
+                long[] values = new long[bufferSize];
+                long[] dataIndexes = new long[bufferSize];
+                long[] scratchValues = new long[bufferSize];
+                long[] scratchDataIndexes = new long[bufferSize];
+                for (int run = firstRun; run < runCounts.length; run += threads) {
+                    long runBase = (long) run * runSize;
+                    long runEnd = min(runBase + runSize, highestSetIndex + 1);
+                    int count = 0;
+                    for (long dataIndex = runBase; dataIndex < runEnd; dataIndex++) {
+                        long value = dataCache.get(dataIndex);
+                        if (value != GAP_VALUE) {
+                            values[count] = value;
+                            dataIndexes[count] = dataIndex;
+                            count++;
+                        }
+                    }
+                    localProgress.add(runEnd - runBase);
+
+                    if (radixSort(values, dataIndexes, scratchValues, scratchDataIndexes, count)) {
+                        long[] swap = values;
+                        values = scratchValues;
+                        scratchValues = swap;
+                        swap = dataIndexes;
+                        dataIndexes = scratchDataIndexes;
+                        scratchDataIndexes = swap;
+                    }
+                    for (int i = 0; i < count; i++) {
+                        runValues.set(runBase + i, values[i]);
+                        runDataIndexes.set(runBase + i, dataIndexes[i]);
+                    }
+
+                    int numberOfSamples = min(count, SAMPLES_PER_RUN);
+                    long[] samples = new long[numberOfSamples];
+                    for (int i = 0; i < numberOfSamples; i++) {
+                        samples[i] = values[(int) ((long) i * count / numberOfSamples)];
+                    }
+                    runCounts[run] = count;
+                    runSamples[run] = samples;
+                }
+            } finally {
+                memoryTracker.releaseHeap(heapSize);
+            }
+        }
+    }
+
+    /**
+     * Stable least significant digit radix sort of the first {@code count} values, unsigned, carrying the data
+     * indexes along. Passes where all values have the same digit, like the length byte of many string encodings,
+     * are skipped.
+     *
+     * @return {@code true} if the sorted result ended up in the scratch arrays, otherwise it's in the source arrays.
+     */
+    static boolean radixSort(
+            long[] values, long[] dataIndexes, long[] scratchValues, long[] scratchDataIndexes, int count) {
+        int[] offsets = new int[RADIX_MASK + 1];
+        boolean inScratch = false;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            long[] fromValues = inScratch ? scratchValues : values;
+            long[] fromDataIndexes = inScratch ? scratchDataIndexes : dataIndexes;
+            long[] toValues = inScratch ? values : scratchValues;
+            long[] toDataIndexes = inScratch ? dataIndexes : scratchDataIndexes;
+
+            Arrays.fill(offsets, 0);
+            for (int i = 0; i < count; i++) {
+                offsets[(int) (fromValues[i] >>> shift) & RADIX_MASK]++;
+            }
+            if (count == 0 || offsets[(int) (fromValues[0] >>> shift) & RADIX_MASK] == count) {
+                continue;
+            }
+            int offset = 0;
+            for (int digit = 0; digit < offsets.length; digit++) {
+                int digitCount = offsets[digit];
+                offsets[digit] = offset;
+                offset += digitCount;
+            }
+            for (int i = 0; i < count; i++) {
+                int target = offsets[(int) (fromValues[i] >>> shift) & RADIX_MASK]++;
+                toValues[target] = fromValues[i];
+                toDataIndexes[target] = fromDataIndexes[i];
+            }
+            inScratch = !inScratch;
+        }
+        return inScratch;
+    }
+
+    /**
+     * Merges one partition of all runs into its range of the tracker cache and sorted values.
+     * On equal values the run with the lowest index wins, which keeps equal values ordered by data index.
+     */
+    private class MergeWorker implements Runnable {
+        private final int partition;
+        private final SortBucket sortBucket;
+        private final LongArray runValues;
+        private final LongArray runDataIndexes;
+        private final long[][] runOffsets;
+
+        MergeWorker(
+                int partition,
+                SortBucket sortBucket,
+                LongArray runValues,
+                LongArray runDataIndexes,
+                long[][] runOffsets) {
+            this.partition = partition;
+            this.sortBucket = sortBucket;
+            this.runValues = runValues;
+            this.runDataIndexes = runDataIndexes;
+            this.runOffsets = runOffsets;
+        }
+
+        @Override
+        public void run() {
+            int numberOfRuns = runOffsets.length;
+            // A binary min-heap of runs, ordered by their current value
+            int[] heap = new int[numberOfRuns];
+            long[] heads = new long[numberOfRuns];
+            long[] positions = new long[numberOfRuns];
+            long[] ends = new long[numberOfRuns];
+            int size = 0;
+            for (int run = 0; run < numberOfRuns; run++) {
+                long runBase = (long) run * runSize;
+                positions[run] = runBase + runOffsets[run][partition];
+                ends[run] = runBase + runOffsets[run][partition + 1];
+                if (positions[run] < ends[run]) {
+                    heads[run] = runValues.get(positions[run]);
+                    heap[size] = run;
+                    siftUp(heap, heads, size++);
+                }
+            }
+
+            try (var localProgress = progress.threadLocalReporter()) {
+                long trackerIndex = sortBucket.baseIndex;
+                while (size > 0) {
+                    int run = heap[0];
+                    long position = positions[run]++;
+                    tracker.set(trackerIndex, runDataIndexes.get(position));
+                    sortedValues.set(trackerIndex, heads[run]);
+                    trackerIndex++;
+                    localProgress.add(1);
+
+                    if (positions[run] < ends[run]) {
+                        heads[run] = runValues.get(positions[run]);
+                    } else {
+                        heap[0] = heap[--size];
+                    }
+                    siftDown(heap, heads, size);
+                }
+                assert trackerIndex == sortBucket.baseIndex + sortBucket.count;
+            }
+        }
+
+        private static void siftUp(int[] heap, long[] heads, int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!before(heap[index], heap[parent], heads)) {
+                    return;
+                }
+                swap(heap, index, parent);
+                index = parent;
+            }
+        }
+
+        private static void siftDown(int[] heap, long[] heads, int size) {
+            int index = 0;
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && before(heap[left], heap[smallest], heads)) {
+                    smallest = left;
+                }
+                if (right < size && before(heap[right], heap[smallest], heads)) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(heap, index, smallest);
+                index = smallest;
+            }
+        }
+
+        private static boolean before(int runA, int runB, long[] heads) {
+            int comparison = Long.compareUnsigned(heads[runA], heads[runB]);
+            return comparison < 0 || (comparison == 0 && runA < runB);
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int tmp = heap[a];
+            heap[a] = heap[b];
+            heap[b] = tmp;
+        }
+    }
+}
@@ -799,7 +799,8 @@ public class EncodingIdMapperTest {
                 10_000,
                 processors,
                 ParallelSort.DEFAULT,
-                INSTANCE);
+                INSTANCE,
+                sortRunSize());
     }
 
     private EncodingIdMapper mapper(
@@ -821,7 +822,12 @@ public class EncodingIdMapperTest {
                 1_000,
                 processors,
                 comparator,
-                INSTANCE);
+                INSTANCE,
+                sortRunSize());
+    }
+
+    protected int sortRunSize() {
+        return EncodingIdMapper.IN_MEMORY_SORT;
     }
 
     private static LongFunction<CollisionValues> autoDetect(Encoder encoder) {
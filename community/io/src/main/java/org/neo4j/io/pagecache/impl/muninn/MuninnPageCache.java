@@ -37,6 +37,7 @@ import java.lang.invoke.VarHandle;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -160,6 +161,9 @@ public class MuninnPageCache implements PageCache {
     // tryGetNumberOfAvailablePages.
     private static final int UNKNOWN_PAGES_TO_EVICT = -1;
 
+    // How often the background flusher, if enabled, looks for dirty pages to write back.
+    private static final long BACKGROUND_FLUSH_INTERVAL_MILLIS = 1000;
+
     private final int pageCacheId;
     private final PageSwapperFactory swapperFactory;
     private final int cachePageSize;
@@ -172,6 +176,9 @@ public class MuninnPageCache implements PageCache {
     private final boolean enableEvictionThread;
     private final MemoryAllocator memoryAllocator;
     private final boolean closeAllocatorOnShutdown;
+    private final double backgroundFlushDirtyRatio;
+    // null if dirty pages are only written back by eviction and explicit flushes
+    private final Duration backgroundFlushTargetDuration;
     final PageList pages;
     // All PageCursors are initialised with their pointers pointing to the victim page. This way, we don't have to throw
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
@@ -202,6 +209,12 @@ public class MuninnPageCache implements PageCache {
     private volatile boolean evictorParked;
     private volatile IOException evictorException;
 
+    // The thread that writes back dirty pages in the background, if background flushing is enabled.
+    private volatile Thread flusherThread;
+
+    // Only accessed by the flusher thread, to report the first background flush failure without flooding the output
+    private boolean printedBackgroundFlushFailure;
+
     // Flag for when page cache is closed - writes guarded by synchronized(this), reads can be unsynchronized
     private volatile boolean closed;
 
@@ -241,6 +254,8 @@ public class MuninnPageCache implements PageCache {
         private final boolean preallocateStoreFiles;
         private final int reservedPageSize;
         private final boolean closeAllocatorOnShutdown;
+        private final double backgroundFlushDirtyRatio;
+        private final Duration backgroundFlushTargetDuration;
 
         private Configuration(
                 MemoryAllocator memoryAllocator,
@@ -253,7 +268,9 @@ public class MuninnPageCache implements PageCache {
                 boolean enableEvictionThread,
                 boolean preallocateStoreFiles,
                 int reservedPageSize,
-                boolean closeAllocatorOnShutdown) {
+                boolean closeAllocatorOnShutdown,
+                double backgroundFlushDirtyRatio,
+                Duration backgroundFlushTargetDuration) {
             this.memoryAllocator = memoryAllocator;
             this.clock = clock;
             this.memoryTracker = memoryTracker;
@@ -265,6 +282,8 @@ public class MuninnPageCache implements PageCache {
             this.enableEvictionThread = enableEvictionThread;
             this.preallocateStoreFiles = preallocateStoreFiles;
             this.closeAllocatorOnShutdown = closeAllocatorOnShutdown;
+            this.backgroundFlushDirtyRatio = backgroundFlushDirtyRatio;
+            this.backgroundFlushTargetDuration = backgroundFlushTargetDuration;
         }
 
         /**
@@ -282,7 +301,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -300,7 +321,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -318,7 +341,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -336,7 +361,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -354,7 +381,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -372,7 +401,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -390,7 +421,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageBytes,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -408,7 +441,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -426,7 +461,9 @@ public class MuninnPageCache implements PageCache {
                     false,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -444,7 +481,9 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
         }
 
         /**
@@ -463,7 +502,34 @@ public class MuninnPageCache implements PageCache {
                     enableEvictionThread,
                     preallocateStoreFiles,
                     reservedPageSize,
-                    closeAllocatorOnShutdown);
+                    closeAllocatorOnShutdown,
+                    backgroundFlushDirtyRatio,
+                    backgroundFlushTargetDuration);
+        }
+
+        /**
+         * Continuously write back dirty pages in the background, so that flushes of whole files, like those of
+         * checkpoints, find most pages already clean.
+         *
+         * @param dirtyRatio ratio of dirty pages to all pages in the cache above which pages are written back.
+         * @param targetDuration time in which the dirty pages observed by the background flusher should be written
+         * back.
+         */
+        public Configuration backgroundFlushing(double dirtyRatio, Duration targetDuration) {
+            return new Configuration(
+                    memoryAllocator,
+                    clock,
+                    memoryTracker,
+                    pageCacheTracer,
+                    pageSize,
+                    bufferFactory,
+                    faultLockStriping,
+                    enableEvictionThread,
+                    preallocateStoreFiles,
+                    reservedPageSize,
+                    closeAllocatorOnShutdown,
+                    dirtyRatio,
+                    requireNonNull(targetDuration));
         }
     }
 
@@ -491,7 +557,9 @@ public class MuninnPageCache implements PageCache {
                 true,
                 true,
                 RESERVED_BYTES,
-                false);
+                false,
+                0,
+                null);
     }
 
     /**
@@ -529,6 +597,8 @@ public class MuninnPageCache implements PageCache {
         this.preallocateStoreFiles = configuration.preallocateStoreFiles;
         this.memoryAllocator = configuration.memoryAllocator;
         this.closeAllocatorOnShutdown = configuration.closeAllocatorOnShutdown;
+        this.backgroundFlushDirtyRatio = configuration.backgroundFlushDirtyRatio;
+        this.backgroundFlushTargetDuration = configuration.backgroundFlushTargetDuration;
         setFreelistHead(new AtomicInteger());
 
         // Expose the total number of pages
@@ -729,6 +799,10 @@ public class MuninnPageCache implements PageCache {
                 var monitoringParams = systemJob("Eviction of pages from the page cache");
                 scheduler.schedule(Group.PAGE_CACHE_EVICTION, monitoringParams, new EvictionTask(this));
             }
+            if (backgroundFlushTargetDuration != null) {
+                var monitoringParams = systemJob("Background flushing of dirty pages in the page cache");
+                scheduler.schedule(Group.PAGE_CACHE_FLUSHER, monitoringParams, new FlushTask(this));
+            }
         } catch (Exception e) {
             IOException exception = new IOException(e);
             try {
@@ -846,6 +920,8 @@ public class MuninnPageCache implements PageCache {
 
         interrupt(evictionThread);
         evictionThread = null;
+        interrupt(flusherThread);
+        flusherThread = null;
         if (closeAllocatorOnShutdown) {
             memoryAllocator.close();
         }
@@ -1129,6 +1205,93 @@ public class MuninnPageCache implements PageCache {
         return clockArm;
     }
 
+    /**
+     * Continuously writes back dirty pages while the ratio of dirty pages in the cache is above the configured
+     * threshold, at a rate that would write back all of them within the configured target duration. Mapped files are
+     * visited in turn and the pages of each file in file offset order, so that runs of adjacent dirty pages are
+     * written back with a single vectored write. Pages written back this way are clean by the time a checkpoint
+     * flushes the files.
+     */
+    void continuouslyFlushPages() {
+        flusherThread = Thread.currentThread();
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(BACKGROUND_FLUSH_INTERVAL_MILLIS);
+        double roundsPerTarget =
+                Math.max(backgroundFlushTargetDuration.toNanos(), intervalNanos) / (double) intervalNanos;
+        int fileIndex = 0;
+
+        while (!closed) {
+            LockSupport.parkNanos(this, intervalNanos);
+            if (Thread.interrupted() || closed) {
+                break;
+            }
+
+            long dirtyPages = pages.getModifiedPageCount();
+            pageCacheTracer.dirtyPages(dirtyPages);
+            if (dirtyPages == 0 || dirtyPages <= pages.getPageCount() * backgroundFlushDirtyRatio) {
+                continue;
+            }
+            long pagesToFlush = (long) Math.ceil(dirtyPages / roundsPerTarget);
+            try {
+                fileIndex = backgroundFlush(pagesToFlush, fileIndex);
+            } catch (Throwable th) {
+                // Background flushing is only an optimisation, so the flusher must survive anything that goes wrong
+                // in a round; checkpoints and file closing will still flush the pages
+                reportBackgroundFlushFailure(th);
+            }
+        }
+    }
+
+    private int backgroundFlush(long pagesToFlush, int fileIndex) {
+        List<MuninnPagedFile> files = new ArrayList<>(mappedFiles.values());
+        long pagesFlushed = 0;
+        try (var buffer = bufferFactory.createBuffer()) {
+            for (int visited = 0; visited < files.size() && pagesToFlush > 0 && !closed; visited++) {
+                fileIndex %= files.size();
+                MuninnPagedFile file = files.get(fileIndex);
+                long flushed = 0;
+                if (isMapped(file)) {
+                    try {
+                        flushed = file.backgroundFlush(pagesToFlush, buffer);
+                    } catch (IOException | IllegalStateException e) {
+                        // The file can be unmapped and closed while we flush it, in which case closing has already
+                        // written back its pages. Otherwise the pages stay dirty, and the next explicit flush of the
+                        // file will report the problem.
+                        if (isMapped(file)) {
+                            reportBackgroundFlushFailure(e);
+                        }
+                    }
+                }
+                pagesFlushed += flushed;
+                pagesToFlush -= flushed;
+                if (pagesToFlush > 0) {
+                    // reached the end of this file
+                    fileIndex++;
+                }
+            }
+        }
+        pageCacheTracer.backgroundFlushes(pagesFlushed);
+        return fileIndex;
+    }
+
+    /**
+     * The flusher deliberately does not take a reference to the files it flushes, because that would make closing the
+     * page cache fail while a file is being flushed. Files that have been unmapped since the round started are skipped
+     * instead.
+     */
+    private boolean isMapped(MuninnPagedFile file) {
+        return !closed && file.getRefCount() > 0 && mappedFiles.get(file.path().toString()) == file;
+    }
+
+    private void reportBackgroundFlushFailure(Throwable failure) {
+        if (printExceptionsOnClose && !printedBackgroundFlushFailure) {
+            printedBackgroundFlushFailure = true;
+            try {
+                failure.printStackTrace();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
     @VisibleForTesting
     String describePages() {
         var result = new StringBuilder();
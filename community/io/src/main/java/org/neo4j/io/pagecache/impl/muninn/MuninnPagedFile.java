@@ -108,6 +108,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
     // Used to trace the causes of any exceptions from getLastPageId.
     private volatile Exception closeStackTrace;
 
+    // File page id the background flusher continues from, only accessed by that flusher
+    private long backgroundFlushPosition;
+
     // max modifier transaction id among evicted pages for this file
     @SuppressWarnings("unused") // accessed with VarHandle
     private volatile long highestEvictedTransactionId;
@@ -439,7 +442,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                         if (isBoundTo(pageRef, swapperId, filePageId)) {
                             // The page is still bound to the expected file and file page id after we locked it,
                             // so we didn't race with eviction and faulting, and the page maybe dirty.
-                            explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef);
+                            explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef, modifiedPages());
                             unlockExclusive(pageRef);
                             continue chunkLoop;
                         }
@@ -484,7 +487,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                         if (isBoundTo(pageRef, swapperId, filePageId)) {
                             // The page is still bound to the expected file and file page id after we locked it,
                             // so we didn't race with eviction and faulting, and the page is dirty.
-                            explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef);
+                            explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef, modifiedPages());
                             // here we are doing a shortcut and add truncated pages directly to free list
                             // by doing mass targeted evictions of affected pages that we know are affected
                             // and page in a free list. Page should be locked exclusively in the free list.
@@ -530,6 +533,38 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             FileFlushEvent flushes, boolean forClosing, IOController limiter, NativeIOBuffer ioBuffer)
             throws IOException {
         // TODO it'd be awesome if, on Linux, we'd call sync_file_range(2) instead of fsync
+        flushPages(flushes, forClosing, limiter, ioBuffer, 0, Long.MAX_VALUE);
+        swapper.force();
+    }
+
+    /**
+     * Write back up to {@code maxPagesToFlush} dirty pages, continuing in file offset order from where the previous
+     * call stopped, without forcing them to the device. Called by the background flusher of the page cache.
+     *
+     * @return the number of pages written back. Fewer than {@code maxPagesToFlush} if the end of the file was
+     * reached, in which case the next call starts over from the beginning of the file.
+     */
+    long backgroundFlush(long maxPagesToFlush, NativeIOBuffer ioBuffer) throws IOException {
+        long pagesFlushed;
+        try (FileFlushEvent flushEvent = pageCacheTracer.beginFileFlush(swapper)) {
+            pagesFlushed = flushPages(
+                    flushEvent, false, IOController.DISABLED, ioBuffer, backgroundFlushPosition, maxPagesToFlush);
+        }
+        if (pagesFlushed < maxPagesToFlush) {
+            backgroundFlushPosition = 0;
+        }
+        return pagesFlushed;
+    }
+
+    private long flushPages(
+            FileFlushEvent flushes,
+            boolean forClosing,
+            IOController limiter,
+            NativeIOBuffer ioBuffer,
+            long fromFilePageId,
+            long maxPagesToFlush)
+            throws IOException {
+        long pagesFlushed = 0;
         long[] pages = new long[TRANSLATION_TABLE_CHUNK_SIZE];
         long[] flushStamps = forClosing ? null : new long[TRANSLATION_TABLE_CHUNK_SIZE];
         long[] bufferAddresses = new long[TRANSLATION_TABLE_CHUNK_SIZE];
@@ -541,6 +576,10 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
         flushes.startFlush(tt);
         Stopwatch stopwatch = Stopwatch.start();
         for (int[] chunk : tt) {
+            if (filePageId + chunk.length < fromFilePageId) {
+                filePageId += chunk.length;
+                continue;
+            }
             var chunkEvent = flushes.startChunk(chunk);
             long notModifiedPages = 0;
             long flushPerChunk = 0;
@@ -567,6 +606,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
             chunkLoop:
             for (int i = 0; i < chunk.length; i++) {
                 filePageId++;
+                if (filePageId < fromFilePageId) {
+                    continue;
+                }
                 int chunkIndex = computeChunkIndex(filePageId);
 
                 // We might race with eviction, but we also mustn't miss a dirty page, so we loop until we succeed
@@ -640,7 +682,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                             if (forClosing) {
                                 unlockExclusive(pageRef);
                             } else {
-                                unlockFlush(pageRef, flushStamp, false);
+                                unlockFlush(pageRef, flushStamp, false, modifiedPages());
                             }
                             if (useTemporaryBuffer && pagesGrabbed > 0) {
                                 // flush previous grabbed region
@@ -663,6 +705,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                             forClosing);
                     flushes.reportIO(numberOfBuffers);
                     limiter.maybeLimitIO(numberOfBuffers, flushes);
+                    pagesFlushed += pagesGrabbed;
+                    if (pagesFlushed >= maxPagesToFlush) {
+                        chunkEvent.chunkFlushed(notModifiedPages, flushPerChunk + 1, buffersPerChunk, mergesPerChunk);
+                        backgroundFlushPosition = filePageId + 1;
+                        return pagesFlushed;
+                    }
                     pagesGrabbed = 0;
                     nextSequentialAddress = -1;
                     numberOfBuffers = 0;
@@ -687,11 +735,15 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                 flushes.reportIO(numberOfBuffers);
                 limiter.maybeLimitIO(numberOfBuffers, flushes);
                 flushPerChunk++;
+                pagesFlushed += pagesGrabbed;
             }
             chunkEvent.chunkFlushed(notModifiedPages, flushPerChunk, buffersPerChunk, mergesPerChunk);
+            if (pagesFlushed >= maxPagesToFlush) {
+                backgroundFlushPosition = filePageId + 1;
+                return pagesFlushed;
+            }
         }
-
-        swapper.force();
+        return pagesFlushed;
     }
 
     private void vectoredFlush(
@@ -730,13 +782,13 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable {
                     for (int i = 0; i < pagesToFlush; i++) {
                         long pageRef = pages[i];
                         if (successful) {
-                            explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef);
+                            explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef, modifiedPages());
                         }
                         unlockExclusive(pageRef);
                     }
                 } else {
                     for (int i = 0; i < pagesToFlush; i++) {
-                        unlockFlush(pages[i], flushStamps[i], successful);
+                        unlockFlush(pages[i], flushStamps[i], successful, modifiedPages());
                     }
                 }
             }
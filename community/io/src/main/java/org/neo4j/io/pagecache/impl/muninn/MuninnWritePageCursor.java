@@ -23,6 +23,7 @@ import static org.neo4j.io.pagecache.impl.muninn.VersionStorage.NEXT_REFERENCE_O
 import static org.neo4j.util.FeatureToggles.flag;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.collections.api.map.primitive.MutableLongLongMap;
 import org.eclipse.collections.impl.factory.primitive.LongLongMaps;
 import org.neo4j.io.pagecache.PageSwapper;
@@ -39,9 +40,12 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
             ? LongLongMaps.mutable.empty().asSynchronized()
             : null;
 
+    private final LongAdder modifiedPages;
+
     MuninnWritePageCursor(
             MuninnPagedFile pagedFile, int pf_flags, long victimPage, CursorContext cursorContext, long pageId) {
         super(pagedFile, pf_flags, victimPage, cursorContext, pageId);
+        this.modifiedPages = pagedFile.modifiedPages();
     }
 
     @Override
@@ -86,7 +90,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
             try {
                 success = pagedFile.flushLockedPage(pageRef, loadPlainCurrentPageId());
             } finally {
-                PageList.unlockFlush(pageRef, flushStamp, success);
+                PageList.unlockFlush(pageRef, flushStamp, success, modifiedPages);
             }
         }
     }
@@ -133,13 +137,13 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
                                     + threadId + " already holds write lock on page " + pageRef);
                 }
             }
-            var writeLock = PageList.tryWriteLock(pageRef, true);
+            var writeLock = PageList.tryWriteLock(pageRef, true, modifiedPages);
             if (LOCKED_PAGES != null && writeLock) {
                 LOCKED_PAGES.put(pageRef, Thread.currentThread().getId());
             }
             return writeLock;
         }
-        return PageList.tryWriteLock(pageRef, false);
+        return PageList.tryWriteLock(pageRef, false, modifiedPages);
     }
 
     private boolean isPinnedByLinkedFriends(long pageRef) {
@@ -219,7 +223,7 @@ final class MuninnWritePageCursor extends MuninnPageCursor {
 
     @Override
     protected void convertPageFaultLock(long pageRef) {
-        PageList.unlockExclusiveAndTakeWriteLock(pageRef);
+        PageList.unlockExclusiveAndTakeWriteLock(pageRef, modifiedPages);
         if (LOCKED_PAGES != null && multiVersioned) {
             LOCKED_PAGES.put(pageRef, Thread.currentThread().getId());
         }
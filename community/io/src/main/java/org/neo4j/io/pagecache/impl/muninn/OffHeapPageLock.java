@@ -19,6 +19,7 @@
  */
 package org.neo4j.io.pagecache.impl.muninn;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 
 /**
@@ -173,6 +174,14 @@ public final class OffHeapPageLock {
      * @return {@code true} if the write lock was taken, {@code false} otherwise.
      */
     public static boolean tryWriteLock(long address, boolean multiVersioned) {
+        return tryWriteLock(address, multiVersioned, null);
+    }
+
+    /**
+     * Same as {@link #tryWriteLock(long, boolean)}, but also increments the given counter of modified pages, if it is
+     * not {@code null} and taking the write lock raised the <em>modified</em> bit.
+     */
+    public static boolean tryWriteLock(long address, boolean multiVersioned, LongAdder modifiedPages) {
         long s;
         long n;
         final long cntMask = multiVersioned ? MULTI_VERSIONED_CNT_MASK : CNT_MASK;
@@ -187,6 +196,9 @@ public final class OffHeapPageLock {
 
             n = s + CNT_UNIT | MOD_MASK;
             if (compareAndSetState(address, s, n)) {
+                if (modifiedPages != null && (s & MOD_MASK) == 0) {
+                    modifiedPages.increment();
+                }
                 return true;
             }
         }
@@ -281,9 +293,20 @@ public final class OffHeapPageLock {
      * Atomically unlock the currently held exclusive lock, and take a write lock.
      */
     public static void unlockExclusiveAndTakeWriteLock(long address) {
+        unlockExclusiveAndTakeWriteLock(address, null);
+    }
+
+    /**
+     * Same as {@link #unlockExclusiveAndTakeWriteLock(long)}, but also increments the given counter of modified pages,
+     * if it is not {@code null} and taking the write lock raised the <em>modified</em> bit.
+     */
+    public static void unlockExclusiveAndTakeWriteLock(long address, LongAdder modifiedPages) {
         long s = initiateExclusiveLockRelease(address);
         long n = (nextSeq(s) - EXL_MASK + CNT_UNIT) | MOD_MASK;
         unconditionallySetState(address, n);
+        if (modifiedPages != null && (s & MOD_MASK) == 0) {
+            modifiedPages.increment();
+        }
     }
 
     private static long initiateExclusiveLockRelease(long address) {
@@ -307,12 +330,22 @@ public final class OffHeapPageLock {
      * @throws IllegalStateException if the lock at the given address is not in the exclusively locked state.
      */
     public static void explicitlyMarkPageUnmodifiedUnderExclusiveLock(long address) {
+        explicitlyMarkPageUnmodifiedUnderExclusiveLock(address, null);
+    }
+
+    /**
+     * Same as {@link #explicitlyMarkPageUnmodifiedUnderExclusiveLock(long)}, but also decrements the given counter of
+     * modified pages, if it is not {@code null} and the <em>modified</em> flag was raised.
+     */
+    public static void explicitlyMarkPageUnmodifiedUnderExclusiveLock(long address, LongAdder modifiedPages) {
         long s = getState(address);
         if ((s & EXL_MASK) != EXL_MASK) {
             throw new IllegalStateException("Page must be exclusively locked to explicitly lower modified bit");
         }
-        s = s & (~MOD_MASK);
-        unconditionallySetState(address, s);
+        unconditionallySetState(address, s & (~MOD_MASK));
+        if (modifiedPages != null && (s & MOD_MASK) == MOD_MASK) {
+            modifiedPages.decrement();
+        }
     }
 
     /**
@@ -342,6 +375,14 @@ public final class OffHeapPageLock {
      * Unlock the currently held flush lock.
      */
     public static void unlockFlush(long address, long stamp, boolean success) {
+        unlockFlush(address, stamp, success, null);
+    }
+
+    /**
+     * Same as {@link #unlockFlush(long, long, boolean)}, but also decrements the given counter of modified pages, if it
+     * is not {@code null} and releasing the flush lock lowered the <em>modified</em> flag.
+     */
+    public static void unlockFlush(long address, long stamp, boolean success, LongAdder modifiedPages) {
         long s;
         long n;
         do {
@@ -356,6 +397,9 @@ public final class OffHeapPageLock {
                 n = n & (~MOD_MASK);
             }
         } while (!compareAndSetState(address, s, n));
+        if (modifiedPages != null && (s & MOD_MASK) != (n & MOD_MASK)) {
+            modifiedPages.decrement();
+        }
     }
 
     private static void throwUnmatchedUnlockFlush(long s) {
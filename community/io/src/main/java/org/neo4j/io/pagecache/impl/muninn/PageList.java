@@ -24,6 +24,7 @@ import static org.neo4j.util.FeatureToggles.flag;
 
 import java.io.IOException;
 import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.mem.MemoryAllocator;
 import org.neo4j.io.pagecache.PageCursor;
@@ -88,6 +89,7 @@ class PageList implements PageReferenceTranslator {
     private final long victimPageAddress;
     private final long baseAddress;
     private final long bufferAlignment;
+    private final LongAdder modifiedPages;
 
     PageList(
             int pageCount,
@@ -104,6 +106,7 @@ class PageList implements PageReferenceTranslator {
         long bytes = ((long) pageCount) * META_DATA_BYTES_PER_PAGE;
         this.baseAddress = memoryAllocator.allocateAligned(bytes, Long.BYTES);
         this.bufferAlignment = bufferAlignment;
+        this.modifiedPages = new LongAdder();
         clearMemory(baseAddress, pageCount);
     }
 
@@ -123,6 +126,7 @@ class PageList implements PageReferenceTranslator {
         this.victimPageAddress = pageList.victimPageAddress;
         this.baseAddress = pageList.baseAddress;
         this.bufferAlignment = pageList.bufferAlignment;
+        this.modifiedPages = pageList.modifiedPages;
     }
 
     private static void clearMemory(long baseAddress, long pageCount) {
@@ -223,6 +227,21 @@ class PageList implements PageReferenceTranslator {
         return OffHeapPageLock.validateReadLock(offLock(pageRef), stamp);
     }
 
+    /**
+     * The counter of pages that currently have their <em>modified</em> bit raised. It is only kept up to date by the
+     * lock operations that are given this counter.
+     */
+    LongAdder modifiedPages() {
+        return modifiedPages;
+    }
+
+    /**
+     * @return the number of pages in this page list that are currently modified.
+     */
+    long getModifiedPageCount() {
+        return Math.max(0, modifiedPages.sum());
+    }
+
     static boolean isModified(long pageRef) {
         return OffHeapPageLock.isModified(offLock(pageRef));
     }
@@ -239,6 +258,10 @@ class PageList implements PageReferenceTranslator {
         return OffHeapPageLock.tryWriteLock(offLock(pageRef), multiVersioned);
     }
 
+    static boolean tryWriteLock(long pageRef, boolean multiVersioned, LongAdder modifiedPages) {
+        return OffHeapPageLock.tryWriteLock(offLock(pageRef), multiVersioned, modifiedPages);
+    }
+
     static void unlockWrite(long pageRef) {
         OffHeapPageLock.unlockWrite(offLock(pageRef));
     }
@@ -259,6 +282,10 @@ class PageList implements PageReferenceTranslator {
         OffHeapPageLock.unlockExclusiveAndTakeWriteLock(offLock(pageRef));
     }
 
+    static void unlockExclusiveAndTakeWriteLock(long pageRef, LongAdder modifiedPages) {
+        OffHeapPageLock.unlockExclusiveAndTakeWriteLock(offLock(pageRef), modifiedPages);
+    }
+
     static long tryFlushLock(long pageRef) {
         return OffHeapPageLock.tryFlushLock(offLock(pageRef));
     }
@@ -267,10 +294,18 @@ class PageList implements PageReferenceTranslator {
         OffHeapPageLock.unlockFlush(offLock(pageRef), stamp, success);
     }
 
+    static void unlockFlush(long pageRef, long stamp, boolean success, LongAdder modifiedPages) {
+        OffHeapPageLock.unlockFlush(offLock(pageRef), stamp, success, modifiedPages);
+    }
+
     static void explicitlyMarkPageUnmodifiedUnderExclusiveLock(long pageRef) {
         OffHeapPageLock.explicitlyMarkPageUnmodifiedUnderExclusiveLock(offLock(pageRef));
     }
 
+    static void explicitlyMarkPageUnmodifiedUnderExclusiveLock(long pageRef, LongAdder modifiedPages) {
+        OffHeapPageLock.explicitlyMarkPageUnmodifiedUnderExclusiveLock(offLock(pageRef), modifiedPages);
+    }
+
     int getCachePageSize() {
         return cachePageSize;
     }
@@ -468,7 +503,7 @@ class PageList implements PageReferenceTranslator {
                     if (swapper.isPageFlushable(pageRef)) {
                         flushModifiedPage(pageRef, evictionEvent, filePageId, swapper, this);
                     } else {
-                        explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef);
+                        explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef, modifiedPages);
                     }
                 }
                 swapper.evicted(filePageId);
@@ -488,7 +523,7 @@ class PageList implements PageReferenceTranslator {
             try {
                 long address = getAddress(pageRef);
                 long bytesWritten = swapper.write(filePageId, address);
-                explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef);
+                explicitlyMarkPageUnmodifiedUnderExclusiveLock(pageRef, pageReferenceTranslator.modifiedPages);
                 flushEvent.addBytesWritten(bytesWritten);
                 flushEvent.addEvictionFlushedPages(1);
             } catch (IOException e) {
@@ -166,6 +166,17 @@ public interface PageCacheCounters {
      */
     long ioLimitedMillis();
 
+    /**
+     * @return The ratio of dirty pages to the total number of pages last observed by the background flusher, or
+     * {@code 0} if background flushing is disabled.
+     */
+    double dirtyRatio();
+
+    /**
+     * @return The number of pages written back by the background flusher thus far.
+     */
+    long backgroundFlushes();
+
     /**
      * @return Total number of opened page cache cursors.
      */
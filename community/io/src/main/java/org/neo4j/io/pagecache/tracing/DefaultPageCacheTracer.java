@@ -64,6 +64,8 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
     protected final LongAdder copiedPages = new LongAdder();
     protected final LongAdder snapshotsLoaded = new LongAdder();
     protected final AtomicLong maxPages = new AtomicLong();
+    protected final AtomicLong dirtyPages = new AtomicLong();
+    protected final LongAdder backgroundFlushes = new LongAdder();
 
     private final boolean tracePageFileIndividually;
 
@@ -268,6 +270,20 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         return globalLimitedMillis.sum();
     }
 
+    @Override
+    public double dirtyRatio() {
+        long pages = maxPages();
+        if (pages == 0) {
+            return 0;
+        }
+        return dirtyPages.get() / (double) pages;
+    }
+
+    @Override
+    public long backgroundFlushes() {
+        return backgroundFlushes.sum();
+    }
+
     @Override
     public long openedCursors() {
         return openedCursors.sum();
@@ -422,6 +438,16 @@ public class DefaultPageCacheTracer implements PageCacheTracer {
         this.maxPages.set(maxPages);
     }
 
+    @Override
+    public void dirtyPages(long dirtyPages) {
+        this.dirtyPages.set(dirtyPages);
+    }
+
+    @Override
+    public void backgroundFlushes(long pagesFlushed) {
+        this.backgroundFlushes.add(pagesFlushed);
+    }
+
     private class PageCacheFlushEvent implements FlushEvent {
         private PageFileSwapperTracer swapperTracer;
         private long pagesFlushed;
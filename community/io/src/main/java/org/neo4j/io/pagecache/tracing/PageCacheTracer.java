@@ -215,6 +215,16 @@ public interface PageCacheTracer extends PageCacheCounters {
             return 0;
         }
 
+        @Override
+        public double dirtyRatio() {
+            return 0d;
+        }
+
+        @Override
+        public long backgroundFlushes() {
+            return 0;
+        }
+
         @Override
         public long openedCursors() {
             return 0;
@@ -292,6 +302,12 @@ public interface PageCacheTracer extends PageCacheCounters {
         @Override
         public void maxPages(long maxPages, long pageSize) {}
 
+        @Override
+        public void dirtyPages(long dirtyPages) {}
+
+        @Override
+        public void backgroundFlushes(long pagesFlushed) {}
+
         @Override
         public void iopq(long iopq) {}
 
@@ -484,6 +500,18 @@ public interface PageCacheTracer extends PageCacheCounters {
      */
     void maxPages(long maxPages, long pageSize);
 
+    /**
+     * Report the number of dirty pages observed by the background flusher.
+     * @param dirtyPages the number of pages in the cache that are modified and not yet written back.
+     */
+    void dirtyPages(long dirtyPages);
+
+    /**
+     * Report pages written back by the background flusher.
+     * @param pagesFlushed number of pages written back.
+     */
+    void backgroundFlushes(long pagesFlushed);
+
     /**
      * Report number of performed iopq.
      * @param iopq number of performed io operations per quantum of time.
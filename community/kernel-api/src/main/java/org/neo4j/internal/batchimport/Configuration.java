@@ -160,6 +160,22 @@ public interface Configuration {
         return null;
     }
 
+    /**
+     * @return whether to resume a previously failed import into the same database from the last stage it completed,
+     * instead of requiring an empty database to import into.
+     */
+    default boolean resumeImport() {
+        return false;
+    }
+
+    /**
+     * @return a fingerprint of the input and the settings it's read with, e.g. the names, sizes and modification
+     * times of the input files. An import is only resumed if it was started with the same fingerprint.
+     */
+    default String inputFingerprint() {
+        return "";
+    }
+
     Configuration DEFAULT = new Configuration() {};
 
     /**
@@ -250,6 +266,16 @@ public interface Configuration {
         public IndexConfig indexConfig() {
             return defaults.indexConfig();
         }
+
+        @Override
+        public boolean resumeImport() {
+            return defaults.resumeImport();
+        }
+
+        @Override
+        public String inputFingerprint() {
+            return defaults.inputFingerprint();
+        }
     }
 
     static Configuration withBatchSize(Configuration config, int batchSize) {
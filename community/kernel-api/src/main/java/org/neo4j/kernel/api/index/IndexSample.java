@@ -19,7 +19,12 @@
  */
 package org.neo4j.kernel.api.index;
 
-public record IndexSample(long indexSize, long uniqueValues, long sampleSize, long updates) {
+/**
+ * @param histogram the distribution of the values in the index, or {@code null} if the sampler of the index does not
+ * build histograms.
+ */
+public record IndexSample(
+        long indexSize, long uniqueValues, long sampleSize, long updates, IndexValueHistogram histogram) {
 
     public IndexSample() {
         this(0, 0, 0);
@@ -29,6 +34,10 @@ public record IndexSample(long indexSize, long uniqueValues, long sampleSize, lo
         this(indexSize, uniqueValues, sampleSize, 0);
     }
 
+    public IndexSample(long indexSize, long uniqueValues, long sampleSize, long updates) {
+        this(indexSize, uniqueValues, sampleSize, updates, null);
+    }
+
     @Override
     public String toString() {
         return "IndexSample{" + "indexSize="
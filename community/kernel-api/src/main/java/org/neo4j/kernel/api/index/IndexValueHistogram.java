@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Describes the distribution of the values in a single property index, as an equi-depth histogram and a list of the
+ * most common values. Only numbers and strings are described by buckets, but the {@link #totalCount() total count}
+ * includes all values in the index, so that all fractions returned from here are fractions of all index entries.
+ *
+ * Every bucket covers an inclusive range of values of one value group, and holds roughly the same number of entries.
+ * Entries of the same value are never split over two buckets.
+ *
+ * Histograms are built by a {@link Builder} from the values of an index in index order, which makes it possible to
+ * build them while scanning the index for an {@link IndexSample}.
+ */
+public final class IndexValueHistogram {
+    public static final int DEFAULT_MAX_BUCKETS = 64;
+    public static final int DEFAULT_MAX_COMMON_VALUES = 16;
+
+    // Strings in bucket bounds are truncated to this many bytes when serialized
+    static final int MAX_STRING_BYTES = 32;
+    // Never merge buckets below this number to make the serialized histogram fit
+    private static final int MIN_BUCKETS = 8;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final byte KIND_NUMBER = 0;
+    private static final byte KIND_TEXT = 1;
+
+    private final long totalCount;
+    private final Bucket[] buckets;
+    private final CommonValue[] commonValues;
+
+    record Bucket(Value lower, Value upper, long count, long distinctValues) {}
+
+    record CommonValue(Value value, long count) {}
+
+    private IndexValueHistogram(long totalCount, Bucket[] buckets, CommonValue[] commonValues) {
+        this.totalCount = totalCount;
+        this.buckets = buckets;
+        this.commonValues = commonValues;
+    }
+
+    public static Builder builder() {
+        return new Builder(DEFAULT_MAX_BUCKETS, DEFAULT_MAX_COMMON_VALUES);
+    }
+
+    /**
+     * @return the number of index entries that this histogram describes.
+     */
+    public long totalCount() {
+        return totalCount;
+    }
+
+    public int numberOfBuckets() {
+        return buckets.length;
+    }
+
+    /**
+     * @return whether the value group of the given value is described by this histogram. Fractions of values of other
+     * value groups can not be estimated from this histogram.
+     */
+    public static boolean describes(Value value) {
+        return value != null && isDescribedGroup(value.valueGroup());
+    }
+
+    /**
+     * Estimates the fraction of all index entries that lie in the given range. At least one of the bounds must be
+     * given, and the bounds must be of the same, {@link #describes(Value) described}, value group.
+     *
+     * @param from the lower bound, or {@code null} if the range has no lower bound.
+     * @param fromInclusive whether the lower bound is included in the range.
+     * @param to the upper bound, or {@code null} if the range has no upper bound.
+     * @param toInclusive whether the upper bound is included in the range.
+     * @return the estimated fraction of index entries in the range, between 0 and 1.
+     */
+    public double fractionInRange(Value from, boolean fromInclusive, Value to, boolean toInclusive) {
+        Value bound = from != null ? from : to;
+        if (bound == null || !describes(bound) || (to != null && to.valueGroup() != bound.valueGroup())) {
+            throw new IllegalArgumentException("Can not estimate range from " + from + " to " + to);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        ValueGroup group = bound.valueGroup();
+        double count = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.lower.valueGroup() != group) {
+                continue;
+            }
+            if (compare(bucket.lower, bucket.upper) == 0) {
+                if (isAbove(bucket.lower, from, fromInclusive) && isBelow(bucket.lower, to, toInclusive)) {
+                    count += bucket.count;
+                }
+                continue;
+            }
+            double perValue = 1.0 / bucket.distinctValues;
+            double low = from == null ? 0 : position(bucket, from);
+            if (from != null && !fromInclusive && compare(from, bucket.lower) == 0) {
+                low = perValue;
+            }
+            double high = to == null ? 1 : position(bucket, to);
+            if (to != null && !toInclusive && compare(to, bucket.upper) == 0) {
+                high = 1 - perValue;
+            }
+            if (high > low) {
+                count += bucket.count * (high - low);
+            }
+        }
+        return clamp(count / totalCount);
+    }
+
+    /**
+     * Estimates the fraction of all index entries that are strings starting with the given prefix.
+     */
+    public double fractionStartingWith(String prefix) {
+        if (prefix.isEmpty()) {
+            double count = 0;
+            for (Bucket bucket : buckets) {
+                if (bucket.lower.valueGroup() == ValueGroup.TEXT) {
+                    count += bucket.count;
+                }
+            }
+            return totalCount == 0 ? 0 : clamp(count / totalCount);
+        }
+        String next = nextPrefix(prefix);
+        return fractionInRange(Values.stringValue(prefix), true, next == null ? null : Values.stringValue(next), false);
+    }
+
+    /**
+     * Estimates the fraction of all index entries that are equal to the given, {@link #describes(Value) described},
+     * value. Exact for the most common values, and the average of the bucket of the value for all other values.
+     */
+    public double fractionEqualTo(Value value) {
+        if (!describes(value)) {
+            throw new IllegalArgumentException("Can not estimate equality to " + value);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        for (CommonValue common : commonValues) {
+            if (compare(common.value, value) == 0) {
+                return clamp((double) common.count / totalCount);
+            }
+        }
+        for (Bucket bucket : buckets) {
+            if (bucket.lower.valueGroup() == value.valueGroup()
+                    && compare(bucket.lower, value) <= 0
+                    && compare(value, bucket.upper) <= 0) {
+                // The most common values are accounted for separately
+                long count = bucket.count;
+                long distinctValues = bucket.distinctValues;
+                for (CommonValue common : commonValues) {
+                    if (common.value.valueGroup() == value.valueGroup()
+                            && compare(bucket.lower, common.value) <= 0
+                            && compare(common.value, bucket.upper) <= 0) {
+                        count -= common.count;
+                        distinctValues--;
+                    }
+                }
+                return count <= 0 || distinctValues <= 0 ? 0 : clamp((double) count / distinctValues / totalCount);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Serializes this histogram into at most {@code maxBytes} bytes. Buckets are merged and common values dropped
+     * until the histogram fits.
+     *
+     * @return the serialized histogram, or {@code null} if it does not fit.
+     */
+    public byte[] serialize(int maxBytes) {
+        Bucket[] currentBuckets = buckets;
+        CommonValue[] currentCommonValues = commonValues;
+        while (true) {
+            byte[] bytes = encode(currentBuckets, currentCommonValues);
+            if (bytes.length <= maxBytes) {
+                return bytes;
+            }
+            if (currentBuckets.length > MIN_BUCKETS) {
+                currentBuckets = merge(Arrays.asList(currentBuckets), Math.max(MIN_BUCKETS, currentBuckets.length / 2))
+                        .toArray(new Bucket[0]);
+            } else if (currentCommonValues.length > 0) {
+                currentCommonValues = Arrays.copyOf(currentCommonValues, currentCommonValues.length / 2);
+            } else {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Reads a histogram that was written by {@link #serialize(int)}.
+     *
+     * @throws IllegalArgumentException if the bytes do not contain a histogram.
+     */
+    public static IndexValueHistogram deserialize(byte[] bytes) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            byte version = buffer.get();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unknown histogram format version " + version);
+            }
+            long totalCount = buffer.getLong();
+            Bucket[] buckets = new Bucket[buffer.getShort()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket(readValue(buffer), readValue(buffer), buffer.getLong(), buffer.getLong());
+            }
+            CommonValue[] commonValues = new CommonValue[buffer.getShort()];
+            for (int i = 0; i < commonValues.length; i++) {
+                commonValues[i] = new CommonValue(readValue(buffer), buffer.getLong());
+            }
+            return new IndexValueHistogram(totalCount, buckets, commonValues);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Truncated histogram", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        IndexValueHistogram that = (IndexValueHistogram) o;
+        return totalCount == that.totalCount
+                && Arrays.equals(buckets, that.buckets)
+                && Arrays.equals(commonValues, that.commonValues);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(totalCount) + Arrays.hashCode(buckets)) + Arrays.hashCode(commonValues);
+    }
+
+    @Override
+    public String toString() {
+        return "IndexValueHistogram{totalCount=" + totalCount + ", buckets=" + buckets.length + ", commonValues="
+                + commonValues.length + '}';
+    }
+
+    private static boolean isDescribedGroup(ValueGroup group) {
+        return group == ValueGroup.NUMBER || group == ValueGroup.TEXT;
+    }
+
+    private static int compare(Value a, Value b) {
+        return Values.COMPARATOR.compare(a, b);
+    }
+
+    private static boolean isAbove(Value value, Value from, boolean inclusive) {
+        if (from == null) {
+            return true;
+        }
+        int comparison = compare(value, from);
+        return comparison > 0 || (inclusive && comparison == 0);
+    }
+
+    private static boolean isBelow(Value value, Value to, boolean inclusive) {
+        if (to == null) {
+            return true;
+        }
+        int comparison = compare(value, to);
+        return comparison < 0 || (inclusive && comparison == 0);
+    }
+
+    private static double clamp(double fraction) {
+        return Math.max(0, Math.min(1, fraction));
+    }
+
+    /**
+     * The position of a value in a bucket, from 0 at the lower bound to 1 at the upper bound, assuming that the values
+     * in the bucket are evenly spread.
+     */
+    private static double position(Bucket bucket, Value value) {
+        if (compare(value, bucket.lower) <= 0) {
+            return 0;
+        }
+        if (compare(value, bucket.upper) >= 0) {
+            return 1;
+        }
+        if (value.valueGroup() == ValueGroup.NUMBER) {
+            double lower = ((NumberValue) bucket.lower).doubleValue();
+            double upper = ((NumberValue) bucket.upper).doubleValue();
+            return interpolate(lower, upper, ((NumberValue) value).doubleValue());
+        }
+        String lower = ((TextValue) bucket.lower).stringValue();
+        String upper = ((TextValue) bucket.upper).stringValue();
+        int commonPrefix = 0;
+        while (commonPrefix < lower.length()
+                && commonPrefix < upper.length()
+                && lower.charAt(commonPrefix) == upper.charAt(commonPrefix)) {
+            commonPrefix++;
+        }
+        return interpolate(
+                textOrdinal(lower, commonPrefix),
+                textOrdinal(upper, commonPrefix),
+                textOrdinal(((TextValue) value).stringValue(), commonPrefix));
+    }
+
+    private static double interpolate(double lower, double upper, double value) {
+        if (!(upper > lower) || Double.isNaN(value)) {
+            return 0.5;
+        }
+        return clamp((value - lower) / (upper - lower));
+    }
+
+    /**
+     * Maps the first characters after a common prefix to a number, so that strings can be interpolated.
+     */
+    private static double textOrdinal(String string, int offset) {
+        double ordinal = 0;
+        double scale = 1;
+        for (int i = offset; i < Math.min(string.length(), offset + 4); i++) {
+            scale /= 0x10000;
+            ordinal += string.charAt(i) * scale;
+        }
+        return ordinal;
+    }
+
+    /**
+     * @return the smallest string that is larger than all strings starting with the given prefix, or {@code null} if
+     * there is no such string.
+     */
+    private static String nextPrefix(String prefix) {
+        char[] chars = prefix.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            if (chars[i] != Character.MAX_VALUE) {
+                chars[i]++;
+                return new String(chars, 0, i + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Merges adjacent buckets of the same value group into at most {@code maxBuckets} buckets of roughly the same
+     * number of entries. Buckets that already hold more entries than that are kept as they are.
+     */
+    private static List<Bucket> merge(List<Bucket> buckets, int maxBuckets) {
+        long totalInBuckets = 0;
+        for (Bucket bucket : buckets) {
+            totalInBuckets += bucket.count;
+        }
+        long depth = Math.max(1, 2 * totalInBuckets / maxBuckets);
+        List<Bucket> merged = mergeToDepth(buckets, depth);
+        while (merged.size() > maxBuckets) {
+            depth *= 2;
+            merged = mergeToDepth(buckets, depth);
+        }
+        return merged;
+    }
+
+    private static List<Bucket> mergeToDepth(List<Bucket> buckets, long depth) {
+        List<Bucket> merged = new ArrayList<>();
+        Bucket current = null;
+        for (Bucket bucket : buckets) {
+            if (current != null
+                    && current.lower.valueGroup() == bucket.lower.valueGroup()
+                    && current.count + bucket.count <= depth) {
+                current = new Bucket(
+                        current.lower,
+                        bucket.upper,
+                        current.count + bucket.count,
+                        current.distinctValues + bucket.distinctValues);
+            } else {
+                if (current != null) {
+                    merged.add(current);
+                }
+                current = bucket;
+            }
+        }
+        if (current != null) {
+            merged.add(current);
+        }
+        return merged;
+    }
+
+    private byte[] encode(Bucket[] buckets, CommonValue[] commonValues) {
+        List<byte[]> encodedValues = new ArrayList<>();
+        int size = Byte.BYTES + Long.BYTES + Short.BYTES + Short.BYTES;
+        for (Bucket bucket : buckets) {
+            size += addEncoded(encodedValues, bucket.lower) + addEncoded(encodedValues, bucket.upper) + 2 * Long.BYTES;
+        }
+        for (CommonValue common : commonValues) {
+            size += addEncoded(encodedValues, common.value) + Long.BYTES;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        int value = 0;
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(totalCount);
+        buffer.putShort((short) buckets.length);
+        for (Bucket bucket : buckets) {
+            buffer.put(encodedValues.get(value++));
+            buffer.put(encodedValues.get(value++));
+            buffer.putLong(bucket.count);
+            buffer.putLong(bucket.distinctValues);
+        }
+        buffer.putShort((short) commonValues.length);
+        for (CommonValue common : commonValues) {
+            buffer.put(encodedValues.get(value++));
+            buffer.putLong(common.count);
+        }
+        return buffer.array();
+    }
+
+    private static int addEncoded(List<byte[]> encodedValues, Value value) {
+        byte[] encoded;
+        if (value.valueGroup() == ValueGroup.NUMBER) {
+            encoded = ByteBuffer.allocate(Byte.BYTES + Double.BYTES)
+                    .put(KIND_NUMBER)
+                    .putDouble(((NumberValue) value).doubleValue())
+                    .array();
+        } else {
+            byte[] utf8 = truncatedUtf8(((TextValue) value).stringValue());
+            encoded = ByteBuffer.allocate(Byte.BYTES + Byte.BYTES + utf8.length)
+                    .put(KIND_TEXT)
+                    .put((byte) utf8.length)
+                    .put(utf8)
+                    .array();
+        }
+        encodedValues.add(encoded);
+        return encoded.length;
+    }
+
+    private static Value readValue(ByteBuffer buffer) {
+        byte kind = buffer.get();
+        return switch (kind) {
+            case KIND_NUMBER -> Values.doubleValue(buffer.getDouble());
+            case KIND_TEXT -> {
+                byte[] utf8 = new byte[buffer.get()];
+                buffer.get(utf8);
+                yield Values.utf8Value(utf8);
+            }
+            default -> throw new IllegalArgumentException("Unknown value kind " + kind);
+        };
+    }
+
+    private static byte[] truncatedUtf8(String string) {
+        byte[] utf8 = string.getBytes(UTF_8);
+        if (utf8.length <= MAX_STRING_BYTES) {
+            return utf8;
+        }
+        // Don't cut a multi-byte character in half
+        int length = MAX_STRING_BYTES;
+        while (length > 0 && (utf8[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(utf8, length);
+    }
+
+    private static boolean fitsUntruncated(Value value) {
+        return value.valueGroup() != ValueGroup.TEXT
+                || ((TextValue) value).stringValue().getBytes(UTF_8).length <= MAX_STRING_BYTES;
+    }
+
+    /**
+     * Builds a histogram from all distinct values of an index, which must be added in index order.
+     */
+    public static final class Builder {
+        private final int maxBuckets;
+        private final int maxCommonValues;
+        private final List<Bucket> buckets = new ArrayList<>();
+        private final PriorityQueue<CommonValue> commonValues =
+                new PriorityQueue<>(Comparator.comparingLong(CommonValue::count));
+        private long totalCount;
+        private long bucketedCount;
+        // Buckets are closed when they hold this many entries, which grows whenever the buckets are merged
+        private long bucketDepth = 1;
+
+        private Value lower;
+        private Value upper;
+        private long count;
+        private long distinctValues;
+
+        Builder(int maxBuckets, int maxCommonValues) {
+            this.maxBuckets = maxBuckets;
+            this.maxCommonValues = maxCommonValues;
+        }
+
+        /**
+         * Adds a distinct value of the index.
+         *
+         * @param value the value, not equal to any value added before, and larger than all of them in index order.
+         * @param entries the number of index entries with the value.
+         */
+        public void add(Value value, long entries) {
+            totalCount += entries;
+            ValueGroup group = value.valueGroup();
+            if (!isDescribedGroup(group)) {
+                return;
+            }
+            if (lower != null && (lower.valueGroup() != group || count >= bucketDepth)) {
+                closeBucket();
+            }
+            if (lower == null) {
+                lower = value;
+            }
+            upper = value;
+            count += entries;
+            bucketedCount += entries;
+            distinctValues++;
+
+            if (entries > 1 && maxCommonValues > 0) {
+                if (commonValues.size() < maxCommonValues) {
+                    if (fitsUntruncated(value)) {
+                        commonValues.add(new CommonValue(value, entries));
+                    }
+                } else if (entries > commonValues.peek().count && fitsUntruncated(value)) {
+                    commonValues.poll();
+                    commonValues.add(new CommonValue(value, entries));
+                }
+            }
+        }
+
+        public IndexValueHistogram build() {
+            if (lower != null) {
+                closeBucket();
+            }
+            List<Bucket> result = buckets.size() > maxBuckets ? merge(buckets, maxBuckets) : buckets;
+            CommonValue[] mostCommonFirst = commonValues.toArray(new CommonValue[0]);
+            Arrays.sort(
+                    mostCommonFirst,
+                    Comparator.comparingLong(CommonValue::count).reversed());
+            return new IndexValueHistogram(totalCount, result.toArray(new Bucket[0]), mostCommonFirst);
+        }
+
+        private void closeBucket() {
+            buckets.add(new Bucket(lower, upper, count, distinctValues));
+            lower = null;
+            upper = null;
+            count = 0;
+            distinctValues = 0;
+            if (buckets.size() >= 2 * maxBuckets) {
+                List<Bucket> merged = merge(buckets, maxBuckets);
+                buckets.clear();
+                buckets.addAll(merged);
+                bucketDepth = Math.max(bucketDepth, bucketedCount / maxBuckets);
+            }
+        }
+    }
+}
@@ -130,6 +130,18 @@ public interface StorageEngine extends ReadableStorageEngine, Lifecycle {
             CommandStream commands, LockService lockService, LockGroup lockGroup, TransactionApplicationMode mode)
             throws IOException;
 
+    /**
+     * Loads the store pages that some commands will touch into the page cache, ahead of recovery applying them.
+     * Note: only used when {@code internal.dbms.recovery.read_ahead_batches} is positive
+     *
+     * @param commands command streams about to be applied by recovery.
+     * @param cursorContext underlying page cursor context.
+     */
+    default void prefetchRecoveryCommands(Collection<? extends CommandStream> commands, CursorContext cursorContext)
+            throws IOException {
+        // storage engines are not required to prefetch anything
+    }
+
     /**
      * Apply a batch of groups of commands to this storage.
      *
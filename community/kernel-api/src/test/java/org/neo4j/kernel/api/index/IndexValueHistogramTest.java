@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.neo4j.values.storable.Values;
+
+class IndexValueHistogramTest {
+    @Test
+    void shouldEstimateRangeOfUniformlyDistributedNumbers() {
+        IndexValueHistogram histogram = numbers(0, 10_000);
+
+        assertThat(histogram.totalCount()).isEqualTo(10_000);
+        assertThat(histogram.numberOfBuckets()).isLessThanOrEqualTo(IndexValueHistogram.DEFAULT_MAX_BUCKETS);
+        assertThat(histogram.fractionInRange(Values.intValue(0), true, Values.intValue(1000), false))
+                .isCloseTo(0.1, within(0.01));
+        assertThat(histogram.fractionInRange(Values.intValue(9000), true, null, false))
+                .isCloseTo(0.1, within(0.01));
+        assertThat(histogram.fractionInRange(null, false, Values.intValue(-1), true))
+                .isEqualTo(0);
+        assertThat(histogram.fractionInRange(Values.intValue(20_000), true, null, false))
+                .isEqualTo(0);
+    }
+
+    @Test
+    void shouldEstimateRangeOfSkewedNumbers() {
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        // 9000 entries below 10, 1000 entries spread between 10 and 10000
+        for (int i = 0; i < 10; i++) {
+            builder.add(Values.intValue(i), 900);
+        }
+        for (int i = 10; i < 10_000; i += 10) {
+            builder.add(Values.intValue(i), 1);
+        }
+        IndexValueHistogram histogram = builder.build();
+
+        assertThat(histogram.fractionInRange(null, false, Values.intValue(10), false))
+                .isCloseTo(0.9, within(0.01));
+        assertThat(histogram.fractionInRange(Values.intValue(5000), true, null, false))
+                .isCloseTo(0.05, within(0.01));
+    }
+
+    @Test
+    void shouldEstimateEqualityFromCommonValuesAndBuckets() {
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add(Values.intValue(i), i == 500 ? 1000 : 1);
+        }
+        IndexValueHistogram histogram = builder.build();
+
+        assertThat(histogram.fractionEqualTo(Values.intValue(500))).isCloseTo(1000 / 1999.0, within(0.0001));
+        assertThat(histogram.fractionEqualTo(Values.intValue(10))).isCloseTo(1 / 1999.0, within(0.0001));
+        assertThat(histogram.fractionEqualTo(Values.intValue(5000))).isEqualTo(0);
+    }
+
+    @Test
+    void shouldEstimateStringPrefixes() {
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        for (char first = 'a'; first <= 'z'; first++) {
+            for (char second = 'a'; second <= 'z'; second++) {
+                builder.add(Values.stringValue("" + first + second), first == 'x' ? 100 : 1);
+            }
+        }
+        IndexValueHistogram histogram = builder.build();
+        double total = 25 * 26 + 26 * 100;
+
+        assertThat(histogram.fractionStartingWith("x")).isCloseTo(26 * 100 / total, within(0.05));
+        assertThat(histogram.fractionStartingWith("b")).isCloseTo(26 / total, within(0.02));
+        assertThat(histogram.fractionStartingWith("")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldOnlyDescribeNumbersAndStrings() {
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        builder.add(Values.booleanValue(false), 10);
+        builder.add(Values.intValue(1), 10);
+        IndexValueHistogram histogram = builder.build();
+
+        assertThat(histogram.totalCount()).isEqualTo(20);
+        assertThat(histogram.fractionInRange(Values.intValue(0), true, Values.intValue(2), true))
+                .isEqualTo(0.5);
+        assertThat(IndexValueHistogram.describes(Values.booleanValue(true))).isFalse();
+        assertThrows(IllegalArgumentException.class, () -> histogram.fractionEqualTo(Values.booleanValue(true)));
+    }
+
+    @Test
+    void shouldSerializeAndDeserialize() {
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add(Values.doubleValue(i), i % 100 == 0 ? 50 : 1);
+        }
+        for (int i = 0; i < 1000; i++) {
+            builder.add(Values.stringValue(String.format("value-%04d", i)), 1);
+        }
+        IndexValueHistogram histogram = builder.build();
+
+        byte[] bytes = histogram.serialize(Integer.MAX_VALUE);
+
+        assertEquals(histogram, IndexValueHistogram.deserialize(bytes));
+    }
+
+    @Test
+    void shouldMergeBucketsToFitSerializedSize() {
+        IndexValueHistogram histogram = numbers(0, 100_000);
+        int fullSize = histogram.serialize(Integer.MAX_VALUE).length;
+
+        byte[] bytes = histogram.serialize(fullSize / 2);
+
+        assertThat(bytes.length).isLessThanOrEqualTo(fullSize / 2);
+        IndexValueHistogram deserialized = IndexValueHistogram.deserialize(bytes);
+        assertThat(deserialized.numberOfBuckets()).isLessThan(histogram.numberOfBuckets());
+        assertThat(deserialized.fractionInRange(Values.intValue(0), true, Values.intValue(50_000), false))
+                .isCloseTo(0.5, within(0.01));
+        assertNull(histogram.serialize(10));
+    }
+
+    @Test
+    void shouldTruncateLongStrings() {
+        char[] chars = new char[100];
+        Arrays.fill(chars, 'ö');
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        builder.add(Values.stringValue(new String(chars)), 1);
+        IndexValueHistogram histogram = builder.build();
+
+        IndexValueHistogram deserialized = IndexValueHistogram.deserialize(histogram.serialize(Integer.MAX_VALUE));
+
+        assertThat(deserialized.totalCount()).isEqualTo(1);
+        assertThat(deserialized.fractionStartingWith("ö")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailOnTruncatedBytes() {
+        byte[] bytes = numbers(0, 100).serialize(Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> IndexValueHistogram.deserialize(Arrays.copyOf(bytes, 20)));
+    }
+
+    private static IndexValueHistogram numbers(int from, int to) {
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        for (int i = from; i < to; i++) {
+            builder.add(Values.intValue(i), 1);
+        }
+        return builder.build();
+    }
+}
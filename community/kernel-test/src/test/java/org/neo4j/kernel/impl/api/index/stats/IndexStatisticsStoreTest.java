@@ -25,12 +25,15 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.annotations.documented.ReporterFactories.noopReporterFactory;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
 import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
 import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
+import static org.neo4j.logging.LogAssertions.assertThat;
 import static org.neo4j.test.Race.throwing;
 
 import java.io.IOException;
 import java.nio.file.OpenOption;
+import java.nio.file.Path;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerArray;
@@ -42,6 +45,9 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.MetadataMismatchException;
+import org.neo4j.index.internal.gbptree.MultiRootGBPTree;
 import org.neo4j.index.internal.gbptree.TreeFileNotFoundException;
 import org.neo4j.internal.helpers.Exceptions;
 import org.neo4j.io.fs.FileSystemAbstraction;
@@ -54,12 +60,16 @@ import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUsageStats;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.logging.AssertableLogProvider;
+import org.neo4j.logging.NullLogProvider;
 import org.neo4j.test.Race;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.RandomExtension;
 import org.neo4j.test.extension.pagecache.EphemeralPageCacheExtension;
 import org.neo4j.test.utils.TestDirectory;
+import org.neo4j.values.storable.Values;
 
 @EphemeralPageCacheExtension
 @ExtendWith(RandomExtension.class)
@@ -77,6 +87,7 @@ class IndexStatisticsStoreTest {
 
     private IndexStatisticsStore store;
     private final PageCacheTracer pageCacheTracer = new DefaultPageCacheTracer();
+    private final AssertableLogProvider logProvider = new AssertableLogProvider();
     private CursorContextFactory contextFactory;
 
     @BeforeEach
@@ -99,6 +110,7 @@ class IndexStatisticsStoreTest {
                 immediate(),
                 false,
                 DEFAULT_DATABASE_NAME,
+                logProvider,
                 contextFactory,
                 pageCacheTracer,
                 getOpenOptions());
@@ -209,6 +221,38 @@ class IndexStatisticsStoreTest {
         assertEquals(sample2, store.indexSample(indexId2));
     }
 
+    @Test
+    void shouldStoreHistogramOnCheckpoint() throws IOException {
+        // given
+        long indexId1 = 1;
+        long indexId2 = 2;
+        IndexValueHistogram.Builder builder = IndexValueHistogram.builder();
+        for (int i = 0; i < 10_000; i++) {
+            builder.add(Values.stringValue("a fairly long string value number " + i), 1 + i % 7);
+        }
+        IndexValueHistogram histogram = builder.build();
+        IndexSample sample1 = new IndexSample(500, 100, 200, 25, histogram);
+        IndexSample sample2 = new IndexSample(501, 101, 201, 26);
+        store.setSampleStats(indexId1, sample1);
+        store.setSampleStats(indexId2, sample2);
+        IndexValueHistogram cached = store.indexSample(indexId1).histogram();
+        assertThat(cached.numberOfBuckets()).isGreaterThan(0);
+
+        // when
+        restartStore();
+
+        // then
+        assertEquals(cached, store.indexSample(indexId1).histogram());
+        assertEquals(sample2, store.indexSample(indexId2));
+
+        // and when
+        store.setSampleStats(indexId1, new IndexSample(10, 10, 10));
+        restartStore();
+
+        // then
+        assertEquals(new IndexSample(10, 10, 10), store.indexSample(indexId1));
+    }
+
     private void restartStore() throws IOException {
         store.checkpoint(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
         lifeSupport.shutdown();
@@ -217,6 +261,91 @@ class IndexStatisticsStoreTest {
         lifeSupport.start();
     }
 
+    @Test
+    void shouldIgnoreHistogramThatCannotBeRead() throws IOException {
+        // given
+        var sample = new IndexStatisticsValue();
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_UNIQUE_VALUES, 100);
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_SIZE, 200);
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_UPDATES_COUNT, 25);
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_INDEX_SIZE, 500);
+        // The first chunk claims more bytes than there are chunks
+        var histogramChunk = new IndexStatisticsValue();
+        histogramChunk.set(0, 1_000L << Integer.SIZE);
+        try (var tree = openTree("corrupt", new IndexStatisticsLayout())) {
+            try (var writer = tree.writer(W_BATCHED_SINGLE_THREADED, CursorContext.NULL_CONTEXT)) {
+                writer.put(new IndexStatisticsKey(1, IndexStatisticsKey.TYPE_SAMPLE), sample);
+                writer.put(new IndexStatisticsKey(1, IndexStatisticsKey.TYPE_HISTOGRAM), histogramChunk);
+            }
+            tree.checkpoint(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+        }
+
+        // when
+        var corruptStore = openStore("corrupt");
+
+        // then
+        assertEquals(new IndexSample(500, 100, 200, 25), corruptStore.indexSample(1));
+        assertThat(logProvider).containsMessages("Ignoring the value histogram of index 1");
+    }
+
+    @Test
+    void shouldMigrateStoreWrittenWithoutHistograms() throws IOException {
+        // given
+        var sample = new IndexStatisticsValue();
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_UNIQUE_VALUES, 100);
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_SIZE, 200);
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_UPDATES_COUNT, 25);
+        sample.set(IndexStatisticsValue.INDEX_SAMPLE_INDEX_SIZE, 500);
+        var usage = new IndexStatisticsValue();
+        usage.set(IndexStatisticsValue.INDEX_USAGE_LAST_READ, 3);
+        usage.set(IndexStatisticsValue.INDEX_USAGE_READ_COUNT, 7);
+        usage.set(IndexStatisticsValue.INDEX_USAGE_TRACKED_SINCE, 1);
+        try (var tree = openTree("previous", IndexStatisticsLayout.withoutHistograms())) {
+            try (var writer = tree.writer(W_BATCHED_SINGLE_THREADED, CursorContext.NULL_CONTEXT)) {
+                writer.put(new IndexStatisticsKey(1, IndexStatisticsKey.TYPE_SAMPLE), sample);
+                writer.put(new IndexStatisticsKey(1, IndexStatisticsKey.TYPE_USAGE), usage);
+            }
+            tree.checkpoint(FileFlushEvent.NULL, CursorContext.NULL_CONTEXT);
+        }
+
+        // when
+        var migratedStore = openStore("previous");
+
+        // then
+        assertEquals(new IndexSample(500, 100, 200, 25), migratedStore.indexSample(1));
+        assertEquals(new IndexUsageStats(3, 7, 1), migratedStore.usageStats(1));
+        assertThat(logProvider).containsMessages("Migrating index statistics store");
+
+        // and when
+        lifeSupport.shutdown();
+
+        // then versions without histograms refuse to open the migrated store
+        assertThrows(
+                MetadataMismatchException.class, () -> openTree("previous", IndexStatisticsLayout.withoutHistograms())
+                        .close());
+        lifeSupport = new LifeSupport();
+        lifeSupport.start();
+        assertEquals(new IndexSample(500, 100, 200, 25), openStore("previous").indexSample(1));
+    }
+
+    private GBPTree<IndexStatisticsKey, IndexStatisticsValue> openTree(String fileName, IndexStatisticsLayout layout) {
+        Path file = testDirectory.file(fileName);
+        return new GBPTree<>(
+                pageCache,
+                fileSystem,
+                file,
+                layout,
+                MultiRootGBPTree.NO_MONITOR,
+                MultiRootGBPTree.NO_HEADER_READER,
+                immediate(),
+                false,
+                getOpenOptions(),
+                DEFAULT_DATABASE_NAME,
+                "Statistics store",
+                contextFactory,
+                pageCacheTracer);
+    }
+
     @Test
     void shouldAllowMultipleThreadsIncrementIndexUpdates() throws Throwable {
         // given
@@ -285,6 +414,7 @@ class IndexStatisticsStoreTest {
                         immediate(),
                         true,
                         DEFAULT_DATABASE_NAME,
+                        NullLogProvider.getInstance(),
                         contextFactory,
                         pageCacheTracer,
                         getOpenOptions()));
@@ -33,6 +33,7 @@ import static org.neo4j.values.storable.RandomValues.typesOfGroup;
 import static org.neo4j.values.storable.ValueGroup.NUMBER;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,10 +46,12 @@ import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.values.storable.NumberValue;
 import org.neo4j.values.storable.RandomValues;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.ValueType;
+import org.neo4j.values.storable.Values;
 
 public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, NullValue, RangeLayout> {
     private static final IndexDescriptor index =
@@ -82,6 +85,27 @@ public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, N
         assertEquals(values.length, sample.indexSize());
     }
 
+    @Test
+    void shouldBuildHistogramOfAllValuesInTree() throws Exception {
+        // GIVEN
+        Value[] values = generateNumberValues();
+        buildTree(values);
+
+        // WHEN
+        IndexSample sample;
+        try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
+            FullScanNonUniqueIndexSampler<RangeKey> sampler = new FullScanNonUniqueIndexSampler<>(gbpTree, layout);
+            sample = sampler.sample(NULL_CONTEXT, new AtomicBoolean());
+        }
+
+        // THEN
+        IndexValueHistogram histogram = sample.histogram();
+        assertThat(histogram).isNotNull();
+        assertEquals(values.length, histogram.totalCount());
+        assertThat(histogram.fractionInRange(min(values), true, max(values), true))
+                .isEqualTo(1.0);
+    }
+
     @Test
     void shouldStopIfFlagged() throws Exception {
         // GIVEN
@@ -140,6 +164,14 @@ public class FullScanNonUniqueIndexSamplerTest extends IndexTestUtil<RangeKey, N
         return result;
     }
 
+    private static Value min(Value[] values) {
+        return Arrays.stream(values).min(Values.COMPARATOR).orElseThrow();
+    }
+
+    private static Value max(Value[] values) {
+        return Arrays.stream(values).max(Values.COMPARATOR).orElseThrow();
+    }
+
     private void buildTree(Value[] values) throws IOException {
         try (GBPTree<RangeKey, NullValue> gbpTree = getTree()) {
             try (Writer<RangeKey, NullValue> writer = gbpTree.writer(W_BATCHED_SINGLE_THREADED, NULL_CONTEXT)) {
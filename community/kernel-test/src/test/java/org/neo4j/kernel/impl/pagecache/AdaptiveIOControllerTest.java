@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.kernel.impl.pagecache.AdaptiveIOController.ADDITIVE_INCREASE;
+import static org.neo4j.kernel.impl.pagecache.AdaptiveIOController.MIN_IOS_PER_SECOND;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.time.FakeClock;
+
+class AdaptiveIOControllerTest {
+    private final FakeClock clock = new FakeClock();
+    private final FileFlushEvent flushEvent = mock(FileFlushEvent.class);
+    private long pausedMillis;
+
+    @Test
+    void shouldPauseFlushesAboveLimit() {
+        var controller = controller(Duration.ofMinutes(5));
+
+        controller.maybeLimitIO(10, flushEvent);
+
+        // 10 IOs at 100 IOs per second should take 100 millis
+        assertThat(pausedMillis).isEqualTo(100);
+        verify(flushEvent).throttle(10, 100);
+    }
+
+    @Test
+    void shouldRaiseLimitWithoutForegroundIO() {
+        var controller = controller(Duration.ofMinutes(5));
+
+        flush(controller, 100, 10, false);
+
+        assertThat(controller.configuredLimit()).isGreaterThan(MIN_IOS_PER_SECOND * 100);
+    }
+
+    @Test
+    void shouldLowerLimitWhenFlushLatencyGrowsUnderForegroundIO() {
+        var controller = controller(Duration.ofMinutes(5));
+        flush(controller, 50, 10, false);
+        long uncontendedLimit = controller.configuredLimit();
+
+        flush(controller, 50, 100, true);
+
+        assertThat(controller.configuredLimit()).isLessThan(uncontendedLimit);
+    }
+
+    @Test
+    void shouldRaiseLimitAdditivelyWhenLatencyIsStableUnderForegroundIO() {
+        var controller = controller(Duration.ofMinutes(5));
+        flush(controller, 1, 10, true);
+        long limit = controller.configuredLimit();
+
+        flush(controller, 20, 10, true);
+
+        // one step per quantum, rather than doubling
+        assertThat(controller.configuredLimit())
+                .isGreaterThan(limit)
+                .isLessThanOrEqualTo(limit + 21 * ADDITIVE_INCREASE);
+    }
+
+    @Test
+    void shouldNotLowerLimitBelowWhatPreviousCheckpointNeededForTargetDuration() {
+        var controller = controller(Duration.ofSeconds(10));
+        flush(controller, 50, 10, false);
+        flush(controller, 50, 100, true);
+        // checkpoints are told apart by the flushes going idle
+        clock.forward(1, TimeUnit.MINUTES);
+
+        flush(controller, 200, 1000, true);
+
+        assertThat(controller.configuredLimit()).isGreaterThan(MIN_IOS_PER_SECOND);
+    }
+
+    @Test
+    void shouldOnlyBeCreatedWhenEnabled() {
+        var service = new CommunityIOControllerService();
+
+        assertThat(service.createIOController(Config.defaults(), clock)).isSameAs(IOController.DISABLED);
+        IOController enabled = service.createIOController(
+                Config.defaults(GraphDatabaseInternalSettings.checkpoint_adaptive_io_enabled, true), clock);
+        assertThat(enabled).isInstanceOf(AdaptiveIOController.class);
+        assertThat(enabled.isEnabled()).isTrue();
+    }
+
+    private AdaptiveIOController controller(Duration targetDuration) {
+        return new AdaptiveIOController(clock, targetDuration, millis -> {
+            pausedMillis += millis;
+            clock.forward(millis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    // flushes for the given number of quanta, in batches of 10 IOs that take the given time each
+    private void flush(AdaptiveIOController controller, int quanta, long microsPerIO, boolean foreground) {
+        long end = clock.nanos() + TimeUnit.MILLISECONDS.toNanos(quanta * AdaptiveIOController.QUANTUM_MILLIS);
+        while (clock.nanos() < end) {
+            if (foreground) {
+                controller.reportIO(1);
+            }
+            controller.maybeLimitIO(10, flushEvent);
+            clock.forward(10 * microsPerIO, TimeUnit.MICROSECONDS);
+        }
+    }
+}
@@ -19,17 +19,24 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.page_cache_background_flush_dirty_ratio;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.page_cache_background_flush_enabled;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.page_cache_background_flush_target_duration;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.configuration.GraphDatabaseSettings.preallocate_store_files;
 import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.test.assertion.Assert.assertEventually;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.time.Duration;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,6 +44,8 @@ import org.neo4j.configuration.Config;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.logging.AssertableLogProvider;
 import org.neo4j.logging.LogAssertions;
@@ -116,6 +125,38 @@ class ConfiguringPageCacheFactoryTest {
         }
     }
 
+    @Test
+    void shouldWriteBackDirtyPagesInTheBackgroundWhenEnabled() throws IOException {
+        Config config = Config.newBuilder()
+                .set(page_cache_background_flush_enabled, true)
+                .set(page_cache_background_flush_dirty_ratio, 0.0)
+                .set(page_cache_background_flush_target_duration, Duration.ofSeconds(1))
+                .build();
+        var tracer = new DefaultPageCacheTracer();
+
+        ConfiguringPageCacheFactory factory = new ConfiguringPageCacheFactory(
+                fs, config, tracer, NullLog.getInstance(), jobScheduler, Clocks.nanoClock(), new MemoryPools());
+
+        Path testFile = testDirectory.createFile("a");
+        int pages = 10;
+        try (var cache = factory.getOrCreatePageCache();
+                var file = cache.map(testFile, PAGE_SIZE, "foo")) {
+            try (var io = file.io(0, PF_SHARED_WRITE_LOCK, NULL_CONTEXT)) {
+                for (int i = 0; i < pages; i++) {
+                    assertTrue(io.next());
+                    io.putLong(i);
+                }
+            }
+
+            assertEventually(tracer::backgroundFlushes, flushed -> flushed == pages, 1, MINUTES);
+            assertEventually(tracer::dirtyRatio, ratio -> ratio == 0, 1, MINUTES);
+            // nothing is left for an explicit flush to write
+            long flushes = tracer.flushes();
+            file.flushAndForce(FileFlushEvent.NULL);
+            assertThat(tracer.flushes()).isEqualTo(flushes);
+        }
+    }
+
     @Test
     void shouldDumpConfigurationWithUnspecifiedPageCacheMemorySetting() {
         // givben
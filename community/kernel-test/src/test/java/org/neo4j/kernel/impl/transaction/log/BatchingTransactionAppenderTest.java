@@ -66,6 +66,7 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -134,6 +135,7 @@ class BatchingTransactionAppenderTest {
     void setUp() {
         path = testDirectory.file("transactions");
         when(logFiles.getLogFile()).thenReturn(logFile);
+        when(logFile.rotationLock()).thenReturn(new ReentrantLock());
         when(transactionIdStore.getLastCommittedTransaction())
                 .thenReturn(new TransactionId(
                         BASE_TX_ID, BASE_APPEND_INDEX, DEFAULT_BOOTSTRAP_VERSION, BASE_TX_CHECKSUM, 1, 2));
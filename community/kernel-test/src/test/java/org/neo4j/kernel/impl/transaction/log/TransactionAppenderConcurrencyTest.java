@@ -41,6 +41,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -127,6 +128,7 @@ public class TransactionAppenderConcurrencyTest {
     @BeforeEach
     void setUp() {
         when(logFiles.getLogFile()).thenReturn(logFile);
+        when(logFile.rotationLock()).thenReturn(new ReentrantLock());
         jobScheduler = new ThreadPoolJobScheduler();
     }
 
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.io.pagecache.context.CursorContextFactory.NULL_CONTEXT_FACTORY;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.kernel.impl.transaction.CommittedCommandBatch;
+import org.neo4j.kernel.impl.transaction.log.CommandBatchCursor;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.storageengine.api.CommandBatch;
+import org.neo4j.storageengine.api.CommandStream;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+class ReadAheadCommandBatchCursorTest {
+    private final StorageEngine storageEngine = mock(StorageEngine.class);
+    private final ThreadPoolJobScheduler scheduler = new ThreadPoolJobScheduler();
+    private final List<CommandStream> prefetched = new CopyOnWriteArrayList<>();
+    private final AtomicLong reportedBatches = new AtomicLong(-1);
+    private final RecoveryMonitor monitor = new RecoveryMonitor() {
+        @Override
+        public void recoveryReadAheadCompleted(long batches, long decodeNanos, long prefetchNanos, long waitNanos) {
+            reportedBatches.set(batches);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldReturnBatchesAndPositionsInOrder() throws IOException {
+        recordPrefetches();
+        List<CommittedCommandBatch> batches = batches(100);
+        StubCursor source = new StubCursor(batches, null);
+
+        try (CommandBatchCursor cursor = readAhead(source, 8)) {
+            assertThat(cursor.position()).isEqualTo(position(0));
+            for (int i = 0; i < batches.size(); i++) {
+                assertThat(cursor.next()).isTrue();
+                assertThat(cursor.get()).isSameAs(batches.get(i));
+                assertThat(cursor.position()).isEqualTo(position(i + 1));
+            }
+            assertThat(cursor.next()).isFalse();
+            assertThat(cursor.next()).isFalse();
+            assertThat(cursor.position()).isEqualTo(position(batches.size()));
+        }
+
+        assertThat(source.closed).isTrue();
+        assertThat(reportedBatches.get()).isEqualTo(batches.size());
+    }
+
+    @Test
+    void shouldPrefetchEveryBatchBeforeHandingItOver() throws IOException {
+        recordPrefetches();
+        List<CommittedCommandBatch> batches = batches(10);
+
+        try (CommandBatchCursor cursor = readAhead(new StubCursor(batches, null), 4)) {
+            while (cursor.next()) {
+                assertThat(prefetched).contains(cursor.get().commandBatch());
+            }
+        }
+
+        assertThat(prefetched).hasSize(batches.size());
+    }
+
+    @Test
+    void shouldRecoverBatchesReadBeforeFailure() throws IOException {
+        recordPrefetches();
+        List<CommittedCommandBatch> batches = batches(5);
+        IOException failure = new IOException("Corrupted log");
+
+        try (CommandBatchCursor cursor = readAhead(new StubCursor(batches, failure), 4)) {
+            for (int i = 0; i < batches.size(); i++) {
+                assertThat(cursor.next()).isTrue();
+            }
+            assertThatThrownBy(cursor::next).isSameAs(failure);
+            assertThat(cursor.position()).isEqualTo(position(batches.size()));
+        }
+    }
+
+    @Test
+    void shouldIgnorePrefetchFailures() throws IOException {
+        doThrow(new IOException("Prefetch failed")).when(storageEngine).prefetchRecoveryCommands(any(), any());
+        List<CommittedCommandBatch> batches = batches(10);
+
+        try (CommandBatchCursor cursor = readAhead(new StubCursor(batches, null), 2)) {
+            int count = 0;
+            while (cursor.next()) {
+                count++;
+            }
+            assertThat(count).isEqualTo(batches.size());
+        }
+    }
+
+    @Test
+    void shouldStopReadingAheadWhenClosedEarly() throws IOException {
+        recordPrefetches();
+        StubCursor source = new StubCursor(batches(1000), null);
+
+        try (CommandBatchCursor cursor = readAhead(source, 2)) {
+            assertThat(cursor.next()).isTrue();
+        }
+
+        assertThat(source.closed).isTrue();
+        assertThat(source.read).isLessThan(1000);
+        assertThat(reportedBatches.get()).isEqualTo(1);
+    }
+
+    private ReadAheadCommandBatchCursor readAhead(CommandBatchCursor source, int readAheadBatches) {
+        return new ReadAheadCommandBatchCursor(
+                source, storageEngine, NULL_CONTEXT_FACTORY, monitor, scheduler, readAheadBatches);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordPrefetches() throws IOException {
+        doAnswer(invocation -> {
+                    prefetched.addAll((Collection<? extends CommandStream>) invocation.getArgument(0));
+                    return null;
+                })
+                .when(storageEngine)
+                .prefetchRecoveryCommands(any(), any());
+    }
+
+    private static List<CommittedCommandBatch> batches(int count) {
+        List<CommittedCommandBatch> batches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CommittedCommandBatch batch = mock(CommittedCommandBatch.class);
+            when(batch.commandBatch()).thenReturn(mock(CommandBatch.class));
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static LogPosition position(int batch) {
+        return new LogPosition(0, 64 + batch * 100L);
+    }
+
+    private static class StubCursor implements CommandBatchCursor {
+        private final List<CommittedCommandBatch> batches;
+        private final IOException failure;
+        private volatile int read;
+        private volatile boolean closed;
+
+        StubCursor(List<CommittedCommandBatch> batches, IOException failure) {
+            this.batches = batches;
+            this.failure = failure;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (read < batches.size()) {
+                read++;
+                return true;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+
+        @Override
+        public CommittedCommandBatch get() {
+            return batches.get(read - 1);
+        }
+
+        @Override
+        public LogPosition position() {
+            return ReadAheadCommandBatchCursorTest.position(read);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -101,6 +101,7 @@ import org.neo4j.kernel.lifecycle.Lifecycle;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.monitoring.Monitors;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.AppendIndexProvider;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.StorageEngine;
@@ -232,9 +233,11 @@ class TransactionLogsRecoveryTest {
                             mock(InternalLog.class),
                             Clocks.systemClock(),
                             false,
+                            0,
                             LatestVersions.BINARY_VERSIONS,
                             contextFactory,
-                            new SimpleMetaDataProvider()) {
+                            new SimpleMetaDataProvider(),
+                            mock(JobScheduler.class)) {
                         private int nr;
 
                         @Override
@@ -352,9 +355,11 @@ class TransactionLogsRecoveryTest {
                             mock(InternalLog.class),
                             Clocks.systemClock(),
                             false,
+                            0,
                             LatestVersions.BINARY_VERSIONS,
                             contextFactory,
-                            new SimpleMetaDataProvider()),
+                            new SimpleMetaDataProvider(),
+                            mock(JobScheduler.class)),
                     logPruner,
                     schemaLife,
                     monitor,
@@ -657,9 +662,11 @@ class TransactionLogsRecoveryTest {
                             mock(InternalLog.class),
                             Clocks.systemClock(),
                             false,
+                            0,
                             LatestVersions.BINARY_VERSIONS,
                             contextFactory,
-                            new SimpleMetaDataProvider()),
+                            new SimpleMetaDataProvider(),
+                            mock(JobScheduler.class)),
                     logPruner,
                     schemaLife,
                     monitor,
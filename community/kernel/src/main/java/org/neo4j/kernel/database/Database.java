@@ -519,6 +519,7 @@ public class Database extends AbstractDatabase {
                 databaseLayout,
                 recoveryCleanupWorkCollector,
                 false,
+                internalLogProvider,
                 cursorContextFactory,
                 tracers.getPageCacheTracer(),
                 storageEngine.getOpenOptions());
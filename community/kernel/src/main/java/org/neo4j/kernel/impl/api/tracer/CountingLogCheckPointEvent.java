@@ -103,6 +103,15 @@ class CountingLogCheckPointEvent implements LogCheckPointEvent {
         return lastCheckpointInfo.ioLimit();
     }
 
+    @Override
+    public long getIOsPerSecond() {
+        LastCheckpointInfo info = lastCheckpointInfo;
+        if (info.timeMillis() == 0) {
+            return info.performedIO();
+        }
+        return info.performedIO() * 1000 / info.timeMillis();
+    }
+
     @Override
     public double flushRatio() {
         if (maxPages == 0) {
@@ -160,6 +160,11 @@ public class DefaultTracer implements DatabaseTracer {
         return logCheckPointEvent.getMillisPaused();
     }
 
+    @Override
+    public long lastCheckpointIOsPerSecond() {
+        return logCheckPointEvent.getIOsPerSecond();
+    }
+
     @Override
     public long flushedBytes() {
         return logCheckPointEvent.flushedBytes();
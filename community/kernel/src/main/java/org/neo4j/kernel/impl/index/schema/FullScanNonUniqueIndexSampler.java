@@ -26,10 +26,13 @@ import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Seeker;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.api.index.IndexSample;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.api.index.NonUniqueIndexSampler;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link NonUniqueIndexSampler#sample(CursorContext, AtomicBoolean)}.
+ * Since the scan visits the values in order, the sample of a single property index also gets an
+ * {@link IndexValueHistogram} of its values.
  *
  * @param <KEY> type of keys in tree.
  */
@@ -54,12 +57,16 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
         try (Seeker<KEY, NullValue> seek = gbpTree.seek(lowest, highest, cursorContext)) {
             long sampledValues = 0;
             long uniqueValues = 0;
+            IndexValueHistogram.Builder histogram =
+                    lowest.numberOfStateSlots() == 1 ? IndexValueHistogram.builder() : null;
+            long entriesWithPrevValue = 0;
 
             // Get the first one so that prev gets initialized
             if (seek.next()) {
                 prev = layout.copyKey(seek.key(), prev);
                 sampledValues++;
                 uniqueValues++;
+                entriesWithPrevValue++;
 
                 // Then do the rest
                 while (seek.next()) {
@@ -68,14 +75,23 @@ class FullScanNonUniqueIndexSampler<KEY extends NativeIndexKey<KEY>> extends Non
                     }
 
                     if (layout.compareValue(prev, seek.key()) != 0) {
+                        if (histogram != null) {
+                            histogram.add(prev.asValues()[0], entriesWithPrevValue);
+                        }
+                        entriesWithPrevValue = 0;
                         uniqueValues++;
                         layout.copyKey(seek.key(), prev);
                     }
                     // else this is a duplicate of the previous one
                     sampledValues++;
+                    entriesWithPrevValue++;
+                }
+                if (histogram != null) {
+                    histogram.add(prev.asValues()[0], entriesWithPrevValue);
                 }
             }
-            return new IndexSample(sampledValues, uniqueValues, sampledValues);
+            return new IndexSample(
+                    sampledValues, uniqueValues, sampledValues, 0, histogram == null ? null : histogram.build());
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
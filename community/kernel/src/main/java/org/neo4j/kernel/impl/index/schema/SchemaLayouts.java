@@ -39,7 +39,7 @@ public class SchemaLayouts implements LayoutBootstrapper {
         allSchemaLayout = Arrays.asList(
                 idRangeLayout(),
                 meta -> new Layouts(new TokenScanLayout(), singleRoot()),
-                meta -> new Layouts(new IndexStatisticsLayout(), singleRoot()),
+                indexStatisticsLayout(),
                 rangeLayout(),
                 meta -> new Layouts(
                         new PointLayout(IndexSpecificSpaceFillingCurveSettings.fromConfig(Config.defaults())),
@@ -76,6 +76,20 @@ public class SchemaLayouts implements LayoutBootstrapper {
         }
     }
 
+    private static LayoutBootstrapper indexStatisticsLayout() {
+        return meta -> {
+            for (var layout :
+                    new IndexStatisticsLayout[] {new IndexStatisticsLayout(), IndexStatisticsLayout.withoutHistograms()
+                    }) {
+                var layouts = new Layouts(layout, singleRoot());
+                if (matchingLayout(meta, layouts)) {
+                    return layouts;
+                }
+            }
+            return null;
+        };
+    }
+
     private static LayoutBootstrapper rangeLayout() {
         return meta -> {
             int maxNumberOfSlots = 10;
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.tracing.FileFlushEvent;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * IO controller that paces checkpoint flushes without a configured IO limit.
+ * <p>
+ * Flushing is measured in quanta of {@link #QUANTUM_MILLIS}. At the end of each quantum the time spent per flushed
+ * IO, not counting pauses, is compared to a baseline that follows the lowest time per IO observed. When it has grown beyond
+ * {@link #LATENCY_THRESHOLD} times that baseline while other page cache IO was reported in the same quantum, the
+ * checkpoint is competing with the foreground for the device and its IO limit is halved. Otherwise the limit is
+ * raised again: additively while there is foreground IO, and doubled when there is none.
+ * <p>
+ * The limit is never lowered below what is needed to flush as many IOs as the previous checkpoint did within the
+ * target checkpoint duration, so that checkpoints do not fall behind under constant load. Checkpoints are told apart
+ * by the flushes going idle for {@link #IDLE_NANOS}.
+ */
+public class AdaptiveIOController implements IOController {
+    static final long QUANTUM_MILLIS = 100;
+    static final int LATENCY_THRESHOLD = 2;
+    static final long MIN_IOS_PER_SECOND = 100;
+    static final long MAX_IOS_PER_SECOND = 1_000_000;
+    private static final long QUANTUM_NANOS = MILLISECONDS.toNanos(QUANTUM_MILLIS);
+    private static final long IDLE_NANOS = SECONDS.toNanos(10);
+    static final long ADDITIVE_INCREASE = 100;
+    private static final long BASELINE_DRIFT = 16;
+
+    private final SystemNanoClock clock;
+    private final long targetDurationMillis;
+    private final LongConsumer pause;
+    private final LongAdder foregroundIOs = new LongAdder();
+
+    private volatile long limit = MIN_IOS_PER_SECOND;
+    private boolean flushing;
+    private long lastFlushNanos;
+    private long quantumStartNanos;
+    private long quantumIOs;
+    private long quantumPausedNanos;
+    private long quantumForegroundIOs;
+    private long baselineNanosPerIO = Long.MAX_VALUE;
+    private long checkpointIOs;
+    private long previousCheckpointIOs;
+
+    public AdaptiveIOController(SystemNanoClock clock, Duration targetDuration) {
+        this(clock, targetDuration, AdaptiveIOController::sleep);
+    }
+
+    AdaptiveIOController(SystemNanoClock clock, Duration targetDuration, LongConsumer pause) {
+        this.clock = clock;
+        this.targetDurationMillis = Math.max(targetDuration.toMillis(), 1);
+        this.pause = pause;
+    }
+
+    @Override
+    public void maybeLimitIO(int recentlyCompletedIOs, FileFlushEvent flushEvent) {
+        long pauseMillis;
+        synchronized (this) {
+            long now = clock.nanos();
+            if (!flushing || now - lastFlushNanos > IDLE_NANOS) {
+                startCheckpoint(now);
+            }
+            checkpointIOs += recentlyCompletedIOs;
+            quantumIOs += recentlyCompletedIOs;
+
+            long elapsedNanos = now - quantumStartNanos;
+            if (elapsedNanos >= QUANTUM_NANOS) {
+                adjustLimit(elapsedNanos);
+                startQuantum(now);
+                pauseMillis = 0;
+            } else {
+                // time the IOs of this quantum should have taken at the current limit
+                long budgetNanos = SECONDS.toNanos(quantumIOs) / limit;
+                pauseMillis = NANOSECONDS.toMillis(Math.min(budgetNanos, QUANTUM_NANOS) - elapsedNanos);
+            }
+            lastFlushNanos = now;
+        }
+
+        if (pauseMillis > 0) {
+            pause.accept(pauseMillis);
+            flushEvent.throttle(recentlyCompletedIOs, pauseMillis);
+            synchronized (this) {
+                quantumPausedNanos += MILLISECONDS.toNanos(pauseMillis);
+                lastFlushNanos = clock.nanos();
+            }
+        }
+    }
+
+    @Override
+    public void reportIO(int completedIOs) {
+        foregroundIOs.add(completedIOs);
+    }
+
+    @Override
+    public long configuredLimit() {
+        return limit;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    private void startCheckpoint(long now) {
+        if (flushing) {
+            previousCheckpointIOs = checkpointIOs;
+        }
+        flushing = true;
+        checkpointIOs = 0;
+        limit = Math.max(limit, minimumLimit());
+        startQuantum(now);
+    }
+
+    private void startQuantum(long now) {
+        quantumStartNanos = now;
+        quantumIOs = 0;
+        quantumPausedNanos = 0;
+        quantumForegroundIOs = foregroundIOs.sum();
+    }
+
+    private void adjustLimit(long elapsedNanos) {
+        if (quantumIOs == 0) {
+            return;
+        }
+        long nanosPerIO = Math.max(elapsedNanos - quantumPausedNanos, 0) / quantumIOs;
+        // let the baseline drift upwards, so that a device that became slower for good is not mistaken for contention
+        baselineNanosPerIO = baselineNanosPerIO == Long.MAX_VALUE
+                ? Math.max(nanosPerIO, 1)
+                : Math.min(baselineNanosPerIO + baselineNanosPerIO / BASELINE_DRIFT, Math.max(nanosPerIO, 1));
+        boolean foregroundActive = foregroundIOs.sum() > quantumForegroundIOs;
+        long newLimit;
+        if (!foregroundActive) {
+            newLimit = limit * 2;
+        } else if (nanosPerIO > baselineNanosPerIO * LATENCY_THRESHOLD) {
+            newLimit = limit / 2;
+        } else {
+            newLimit = limit + ADDITIVE_INCREASE;
+        }
+        limit = Math.min(Math.max(newLimit, minimumLimit()), MAX_IOS_PER_SECOND);
+    }
+
+    private long minimumLimit() {
+        return Math.max(MIN_IOS_PER_SECOND, previousCheckpointIOs * 1000 / targetDurationMillis);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
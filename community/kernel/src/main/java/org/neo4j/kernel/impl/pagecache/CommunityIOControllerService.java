@@ -19,6 +19,9 @@
  */
 package org.neo4j.kernel.impl.pagecache;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.checkpoint_adaptive_io_enabled;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.checkpoint_adaptive_io_target_duration;
+
 import org.neo4j.configuration.Config;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.time.SystemNanoClock;
@@ -26,6 +29,9 @@ import org.neo4j.time.SystemNanoClock;
 public class CommunityIOControllerService implements IOControllerService {
     @Override
     public IOController createIOController(Config config, SystemNanoClock clock) {
+        if (config.get(checkpoint_adaptive_io_enabled)) {
+            return new AdaptiveIOController(clock, config.get(checkpoint_adaptive_io_target_duration));
+        }
         return IOController.DISABLED;
     }
 }
@@ -124,6 +124,11 @@ public class ConfiguringPageCacheFactory {
                 .clock(clock)
                 .pageCacheTracer(pageCacheTracer)
                 .closeAllocatorOnShutdown(config.get(GraphDatabaseInternalSettings.close_allocator_on_shutdown));
+        if (config.get(GraphDatabaseInternalSettings.page_cache_background_flush_enabled)) {
+            configuration = configuration.backgroundFlushing(
+                    config.get(GraphDatabaseInternalSettings.page_cache_background_flush_dirty_ratio),
+                    config.get(GraphDatabaseInternalSettings.page_cache_background_flush_target_duration));
+        }
         configuration = pageCacheConfigurator.apply(configuration);
         return new MuninnPageCache(swapperFactory, scheduler, configuration);
     }
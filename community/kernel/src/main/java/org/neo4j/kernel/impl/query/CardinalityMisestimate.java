@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.query;
+
+/**
+ * A cached query whose last execution produced a number of rows that differs a lot from the number of rows its plan
+ * was estimated to produce.
+ *
+ * @param query the obfuscated text of the query.
+ * @param estimatedRows the number of rows the plan was estimated to produce.
+ * @param actualRows the number of rows the last misestimated execution produced.
+ * @param divergence the factor by which the actual and the estimated number of rows differ.
+ * @param occurrences the number of misestimated executions of the query.
+ * @param replans the number of times the query was replanned because of a misestimate.
+ */
+public record CardinalityMisestimate(
+        String query, long estimatedRows, long actualRows, double divergence, long occurrences, long replans) {}
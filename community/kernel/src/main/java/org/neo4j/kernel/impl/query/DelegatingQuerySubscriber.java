@@ -19,8 +19,13 @@
  */
 package org.neo4j.kernel.impl.query;
 
+import org.neo4j.common.TokenNameLookup;
 import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 
 public class DelegatingQuerySubscriber implements QuerySubscriber {
     private final QuerySubscriber querySubscriber;
@@ -44,6 +49,28 @@ public class DelegatingQuerySubscriber implements QuerySubscriber {
         querySubscriber.onField(offset, value);
     }
 
+    @Override
+    public void onNodeField(
+            int offset,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper)
+            throws Exception {
+        querySubscriber.onNodeField(offset, nodeCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
+    @Override
+    public void onRelationshipField(
+            int offset,
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper)
+            throws Exception {
+        querySubscriber.onRelationshipField(offset, relCursor, propertyCursor, tokens, elementIdMapper);
+    }
+
     @Override
     public void onRecordCompleted() throws Exception {
         querySubscriber.onRecordCompleted();
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.query;
+
+import org.neo4j.common.TokenNameLookup;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
+import org.neo4j.internal.kernel.api.TokenSet;
+import org.neo4j.values.ElementIdMapper;
+import org.neo4j.values.storable.TextArray;
+import org.neo4j.values.storable.Values;
+import org.neo4j.values.virtual.MapValue;
+import org.neo4j.values.virtual.MapValueBuilder;
+import org.neo4j.values.virtual.NodeValue;
+import org.neo4j.values.virtual.RelationshipValue;
+import org.neo4j.values.virtual.VirtualValues;
+
+/**
+ * Materializes the nodes and relationships passed to {@link QuerySubscriber#onNodeField} and
+ * {@link QuerySubscriber#onRelationshipField} for consumers which only understand values.
+ */
+public final class EntityFieldValues {
+    private EntityFieldValues() {
+        throw new UnsupportedOperationException("Do not instantiate");
+    }
+
+    /**
+     * @param nodeCursor     a cursor positioned on an existing node.
+     * @param propertyCursor a cursor used to read the properties of the node.
+     * @return the fully populated node.
+     */
+    public static NodeValue nodeValue(
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        var id = nodeCursor.nodeReference();
+        var labels = labels(nodeCursor.labels(), tokens);
+        nodeCursor.properties(propertyCursor);
+        return VirtualValues.nodeValue(
+                id, elementIdMapper.nodeElementId(id), labels, properties(propertyCursor, tokens));
+    }
+
+    /**
+     * @param relCursor      a cursor positioned on an existing relationship.
+     * @param propertyCursor a cursor used to read the properties of the relationship.
+     * @return the populated relationship, referencing its start and end node by id only.
+     */
+    public static RelationshipValue relationshipValue(
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper) {
+        var id = relCursor.relationshipReference();
+        var start = VirtualValues.node(relCursor.sourceNodeReference(), elementIdMapper);
+        var end = VirtualValues.node(relCursor.targetNodeReference(), elementIdMapper);
+        var type = Values.stringValue(tokens.relationshipTypeGetName(relCursor.type()));
+        relCursor.properties(propertyCursor);
+        return VirtualValues.relationshipValue(
+                id, elementIdMapper.relationshipElementId(id), start, end, type, properties(propertyCursor, tokens));
+    }
+
+    private static TextArray labels(TokenSet labelTokens, TokenNameLookup tokens) {
+        var labels = new String[labelTokens.numberOfTokens()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = tokens.labelGetName(labelTokens.token(i));
+        }
+        return Values.stringArray(labels);
+    }
+
+    private static MapValue properties(PropertyCursor propertyCursor, TokenNameLookup tokens) {
+        var builder = new MapValueBuilder();
+        while (propertyCursor.next()) {
+            builder.add(tokens.propertyKeyGetName(propertyCursor.propertyKey()), propertyCursor.propertyValue());
+        }
+        return builder.build();
+    }
+}
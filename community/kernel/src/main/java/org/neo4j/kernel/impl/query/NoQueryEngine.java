@@ -77,6 +77,11 @@ enum NoQueryEngine implements QueryExecutionEngine {
         throw noQueryEngine();
     }
 
+    @Override
+    public List<CardinalityMisestimate> getCardinalityMisestimates(int limit) {
+        throw noQueryEngine();
+    }
+
     private static RuntimeException noQueryEngine() {
         return new UnsupportedOperationException("No query engine installed.");
     }
@@ -36,6 +36,14 @@ public interface QueryCacheStatistics {
 
     Long replanWaitTime();
 
+    Long numberOfBackgroundReplans();
+
+    Long backgroundReplanTime();
+
+    Long numberOfRestoredQueries();
+
+    Long numberOfDiscardedQueries();
+
     Map<String, CacheMetrics> metricsPerCacheKind();
 
     QueryCacheStatistics EMPTY = new QueryCacheStatistics() {
@@ -74,6 +82,26 @@ public interface QueryCacheStatistics {
             return 0L;
         }
 
+        @Override
+        public Long numberOfBackgroundReplans() {
+            return 0L;
+        }
+
+        @Override
+        public Long backgroundReplanTime() {
+            return 0L;
+        }
+
+        @Override
+        public Long numberOfRestoredQueries() {
+            return 0L;
+        }
+
+        @Override
+        public Long numberOfDiscardedQueries() {
+            return 0L;
+        }
+
         @Override
         public Map<String, CacheMetrics> metricsPerCacheKind() {
             return Map.of();
@@ -53,4 +53,10 @@ public interface QueryExecutionEngine {
     long clearCompilerCache();
 
     List<FunctionInformation> getProvidedLanguageFunctions();
+
+    /**
+     * @param limit the maximum number of queries to return.
+     * @return the cached queries whose executions diverged the most from the estimated number of rows, most diverging first.
+     */
+    List<CardinalityMisestimate> getCardinalityMisestimates(int limit);
 }
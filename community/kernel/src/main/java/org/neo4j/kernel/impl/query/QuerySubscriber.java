@@ -19,8 +19,13 @@
  */
 package org.neo4j.kernel.impl.query;
 
+import org.neo4j.common.TokenNameLookup;
 import org.neo4j.graphdb.QueryStatistics;
+import org.neo4j.internal.kernel.api.NodeCursor;
+import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.values.AnyValue;
+import org.neo4j.values.ElementIdMapper;
 import org.neo4j.values.ValueMapper;
 
 /**
@@ -71,6 +76,48 @@ public interface QuerySubscriber {
      */
     void onField(int offset, AnyValue value) throws Exception;
 
+    /**
+     * Writes a field holding a node which is read straight from the store, in place of a call to
+     * {@link #onField(int, AnyValue)} with the populated node.
+     * <p>
+     * Subscribers which serialize records may override this in order to write the node without materializing it as a
+     * value first. The cursors are owned by the caller and are only valid for the duration of this call.
+     *
+     * @param nodeCursor      a cursor positioned on an existing node.
+     * @param propertyCursor  a cursor which may be used to read the properties of the node.
+     * @param tokens          resolves the names of labels and property keys.
+     * @param elementIdMapper maps ids of the node to element ids.
+     */
+    default void onNodeField(
+            int offset,
+            NodeCursor nodeCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper)
+            throws Exception {
+        onField(offset, EntityFieldValues.nodeValue(nodeCursor, propertyCursor, tokens, elementIdMapper));
+    }
+
+    /**
+     * Writes a field holding a relationship which is read straight from the store, in place of a call to
+     * {@link #onField(int, AnyValue)} with the populated relationship.
+     *
+     * @param relCursor       a cursor positioned on an existing relationship.
+     * @param propertyCursor  a cursor which may be used to read the properties of the relationship.
+     * @param tokens          resolves the names of relationship types and property keys.
+     * @param elementIdMapper maps ids of the relationship and its nodes to element ids.
+     * @see #onNodeField(int, NodeCursor, PropertyCursor, TokenNameLookup, ElementIdMapper)
+     */
+    default void onRelationshipField(
+            int offset,
+            RelationshipScanCursor relCursor,
+            PropertyCursor propertyCursor,
+            TokenNameLookup tokens,
+            ElementIdMapper elementIdMapper)
+            throws Exception {
+        onField(offset, EntityFieldValues.relationshipValue(relCursor, propertyCursor, tokens, elementIdMapper));
+    }
+
     /**
      * The current record has been completed
      */
@@ -213,7 +213,11 @@ public class WebURLAccessRule implements AccessRule<URL> {
         try {
             InputStream stream = openStream(url, securityAuthorizationHandler, securityContext);
             return Readables.wrap(
-                    stream, url.toString(), StandardCharsets.UTF_8, 0); /*length doesn't matter in this context*/
+                    stream,
+                    url.toString(),
+                    StandardCharsets.UTF_8,
+                    0, /*length doesn't matter in this context*/
+                    config.get(GraphDatabaseInternalSettings.load_csv_read_ahead));
         } catch (IOException | URISyntaxException e) {
             throw new LoadExternalResourceException(
                     String.format("Couldn't load the external resource at: %s", url), e);
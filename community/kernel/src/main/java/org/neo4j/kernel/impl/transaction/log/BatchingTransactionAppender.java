@@ -68,12 +68,14 @@ class BatchingTransactionAppender extends LifecycleAdapter implements Transactio
     public long append(CommandBatchToApply batch, LogAppendEvent logAppendEvent) throws IOException {
         // Assigned base tx id just to make compiler happy
         long lastTransactionId = TransactionIdStore.BASE_TX_ID;
-        // Synchronized with logFile to get absolute control over concurrent rotations happening
-        synchronized (logFile) {
+        // Hold the log file rotation lock to get absolute control over concurrent rotations happening
+        var rotationLock = logFile.rotationLock();
+        rotationLock.lock();
+        try {
             // Assert that kernel is healthy before making any changes
             databasePanic.assertNoPanic(IOException.class);
             try (AppendTransactionEvent appendEvent = logAppendEvent.beginAppendTransaction(1)) {
-                // Append all transactions in this batch to the log under the same logFile monitor
+                // Append all transactions in this batch to the log under the same rotation lock
                 CommandBatchToApply commands = batch;
                 while (commands != null) {
                     long transactionId = commands.transactionId();
@@ -82,6 +84,8 @@ class BatchingTransactionAppender extends LifecycleAdapter implements Transactio
                     lastTransactionId = transactionId;
                 }
             }
+        } finally {
+            rotationLock.unlock();
         }
 
         // At this point we've appended all transactions in this batch, but we can't mark any of them
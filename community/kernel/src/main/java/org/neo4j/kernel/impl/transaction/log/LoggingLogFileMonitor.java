@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import static java.lang.String.format;
 import static java.time.Instant.ofEpochMilli;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.neo4j.internal.helpers.Format.date;
 import static org.neo4j.internal.helpers.Format.duration;
 
@@ -66,6 +67,19 @@ public class LoggingLogFileMonitor
                 duration(recoveryTimeInMilliseconds)));
     }
 
+    @Override
+    public void recoveryReadAheadCompleted(long batches, long decodeNanos, long prefetchNanos, long waitNanos) {
+        log.info(format(
+                "Recovery read ahead %d command batches. Decoding: %s (%d batches/s), "
+                        + "page prefetching: %s (%d batches/s), waiting for read ahead: %s.",
+                batches,
+                duration(NANOSECONDS.toMillis(decodeNanos)),
+                perSecond(batches, decodeNanos),
+                duration(NANOSECONDS.toMillis(prefetchNanos)),
+                perSecond(batches, prefetchNanos),
+                duration(NANOSECONDS.toMillis(waitNanos))));
+    }
+
     @Override
     public void failToRecoverTransactionsAfterCommit(
             Throwable t, CommittedCommandBatch.BatchInformation commandBatch, LogPosition recoveryToPosition) {
@@ -159,6 +173,10 @@ public class LoggingLogFileMonitor
         log.info(sb.append('.').toString());
     }
 
+    private static long perSecond(long batches, long nanos) {
+        return nanos == 0 ? 0 : batches * 1_000_000_000L / nanos;
+    }
+
     private void trackTxId(long txId) {
         minObservedTransaction = Math.min(minObservedTransaction, txId);
         maxObservedTransaction = Math.max(maxObservedTransaction, txId);
@@ -49,7 +49,7 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer {
     private static final String CHECKPOINT_TAG = "checkpoint";
     private static final long NO_TRANSACTION_ID = -1;
     private static final String IO_DETAILS_TEMPLATE =
-            "Checkpoint flushed %d pages (%d%% of total available pages), in %d IOs. Checkpoint performed with IO limit: %s, paused in total %d times( %d millis).";
+            "Checkpoint flushed %d pages (%d%% of total available pages), in %d IOs. Checkpoint performed with IO limit: %s, paused in total %d times( %d millis). Achieved %d IOs per second.";
     private static final String UNLIMITED_IO_CONTROLLER_LIMIT = "unlimited";
 
     private final CheckpointAppender checkpointAppender;
@@ -267,7 +267,8 @@ public class CheckPointerImpl extends LifecycleAdapter implements CheckPointer {
                 checkpointEvent.getIOsPerformed(),
                 ioLimitDescription(ioLimit),
                 checkpointEvent.getTimesPaused(),
-                checkpointEvent.getMillisPaused());
+                checkpointEvent.getMillisPaused(),
+                checkpointEvent.getIOsPerSecond());
         return checkpointReason + " checkpoint completed in " + duration(durationMillis) + ". " + ioDetails;
     }
 
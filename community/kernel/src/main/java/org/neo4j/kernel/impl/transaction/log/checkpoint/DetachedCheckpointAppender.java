@@ -188,7 +188,9 @@ public class DetachedCheckpointAppender extends LifecycleAdapter implements Chec
             log.warn("Checkpoint was attempted while appender is not started. No checkpoint record will be appended.");
             return;
         }
-        synchronized (checkpointFile) {
+        var rotationLock = checkpointFile.rotationLock();
+        rotationLock.lock();
+        try {
             try {
                 databasePanic.assertNoPanic(IOException.class);
                 writer.resetAppendedBytesCounter();
@@ -212,6 +214,8 @@ public class DetachedCheckpointAppender extends LifecycleAdapter implements Chec
                 databasePanic.panic(cause);
                 throw cause;
             }
+        } finally {
+            rotationLock.unlock();
         }
     }
 
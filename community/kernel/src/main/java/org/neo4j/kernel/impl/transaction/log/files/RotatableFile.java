@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log.files;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.locks.Lock;
 
 public interface RotatableFile {
     /**
@@ -36,4 +37,11 @@ public interface RotatableFile {
     Path rotate() throws IOException;
 
     long rotationSize();
+
+    /**
+     * @return the lock that serializes rotation of this file with writes to it. An explicit lock rather than the
+     * object monitor is used since writes and rotations do IO while holding it, which would otherwise pin
+     * virtual threads to their carrier.
+     */
+    Lock rotationLock();
 }
@@ -85,6 +85,7 @@ import org.neo4j.util.VisibleForTesting;
 public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     private final AtomicReference<ThreadLink> threadLinkHead = new AtomicReference<>(ThreadLink.END);
     private final Lock forceLock = new ReentrantLock();
+    private final Lock rotationLock = new ReentrantLock();
     private final AtomicLong rotateAtSize;
     private final TransactionLogFilesHelper fileHelper;
     private final TransactionLogFilesContext context;
@@ -230,73 +231,83 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     }
 
     @Override
-    public synchronized void truncate(LogPosition targetPosition) throws IOException {
-        long currentVersion = writer.getCurrentLogPosition().getLogVersion();
-        long targetVersion = targetPosition.getLogVersion();
-        if (currentVersion < targetVersion) {
-            throw new IllegalArgumentException(
-                    "Log position requested for restore points to the log file that is higher than "
-                            + "existing available highest log file. Requested restore position: "
-                            + targetPosition + ", " + "current log file version: "
-                            + currentVersion + ".");
-        }
+    public void truncate(LogPosition targetPosition) throws IOException {
+        rotationLock.lock();
+        try {
+            long currentVersion = writer.getCurrentLogPosition().getLogVersion();
+            long targetVersion = targetPosition.getLogVersion();
+            if (currentVersion < targetVersion) {
+                throw new IllegalArgumentException(
+                        "Log position requested for restore points to the log file that is higher than "
+                                + "existing available highest log file. Requested restore position: "
+                                + targetPosition + ", " + "current log file version: "
+                                + currentVersion + ".");
+            }
 
-        LogPosition lastClosed =
-                context.getLastClosedTransactionPositionProvider().lastClosedPosition(logFiles);
-        if (isCoveredByCommittedTransaction(targetPosition, targetVersion, lastClosed)) {
-            throw new IllegalArgumentException(
-                    "Log position requested to be used for restore belongs to the log file that "
-                            + "was already appended by transaction and cannot be restored. "
-                            + "Last closed position: "
-                            + lastClosed + ", requested restore: " + targetPosition);
-        }
+            LogPosition lastClosed =
+                    context.getLastClosedTransactionPositionProvider().lastClosedPosition(logFiles);
+            if (isCoveredByCommittedTransaction(targetPosition, targetVersion, lastClosed)) {
+                throw new IllegalArgumentException(
+                        "Log position requested to be used for restore belongs to the log file that "
+                                + "was already appended by transaction and cannot be restored. "
+                                + "Last closed position: "
+                                + lastClosed + ", requested restore: " + targetPosition);
+            }
 
-        writer.prepareForFlush().flush();
-        if (currentVersion != targetVersion) {
-            var oldChannel = channel;
-            // TODO: BASE_TX_CHECKSUM is only used when creating a new file, which should never happen during a
-            // TODO: truncation. We should make this dependency more clear.
-            channel = createLogChannelForVersion(
-                    targetVersion,
-                    context::committingTransactionId,
-                    context::appendIndex,
-                    context.getKernelVersionProvider(),
-                    BASE_TX_CHECKSUM);
-
-            writer.setChannel(channel, channelAllocator.readLogHeaderForVersion(targetVersion));
-            oldChannel.close();
-
-            // delete newer files
-            for (long i = currentVersion; i > targetVersion; i--) {
-                delete(i);
+            writer.prepareForFlush().flush();
+            if (currentVersion != targetVersion) {
+                var oldChannel = channel;
+                // TODO: BASE_TX_CHECKSUM is only used when creating a new file, which should never happen during a
+                // TODO: truncation. We should make this dependency more clear.
+                channel = createLogChannelForVersion(
+                        targetVersion,
+                        context::committingTransactionId,
+                        context::appendIndex,
+                        context.getKernelVersionProvider(),
+                        BASE_TX_CHECKSUM);
+
+                writer.setChannel(channel, channelAllocator.readLogHeaderForVersion(targetVersion));
+                oldChannel.close();
+
+                // delete newer files
+                for (long i = currentVersion; i > targetVersion; i--) {
+                    delete(i);
+                }
             }
-        }
 
-        // truncate current file
-        channel.truncate(targetPosition.getByteOffset());
-        channel.position(channel.size());
+            // truncate current file
+            channel.truncate(targetPosition.getByteOffset());
+            channel.position(channel.size());
+        } finally {
+            rotationLock.unlock();
+        }
     }
 
     @Override
-    public synchronized LogPosition append(ByteBuffer byteBuffer, OptionalLong transactionId) throws IOException {
-        checkArgument(byteBuffer.isDirect(), "It is required for byte buffer to be direct.");
-        var transactionLogWriter = getTransactionLogWriter();
+    public LogPosition append(ByteBuffer byteBuffer, OptionalLong transactionId) throws IOException {
+        rotationLock.lock();
+        try {
+            checkArgument(byteBuffer.isDirect(), "It is required for byte buffer to be direct.");
+            var transactionLogWriter = getTransactionLogWriter();
 
-        try (var logAppendEvent =
-                context.getDatabaseTracers().getDatabaseTracer().logAppend()) {
-            if (transactionId.isPresent()) {
-                logRotation.batchedRotateLogIfNeeded(logAppendEvent, transactionId.getAsLong() - 1);
-            }
+            try (var logAppendEvent =
+                    context.getDatabaseTracers().getDatabaseTracer().logAppend()) {
+                if (transactionId.isPresent()) {
+                    logRotation.batchedRotateLogIfNeeded(logAppendEvent, transactionId.getAsLong() - 1);
+                }
 
-            var logPositionBefore = transactionLogWriter.getCurrentPosition();
-            long totalAppended = transactionLogWriter.append(byteBuffer);
-            logAppendEvent.appendedBytes(totalAppended);
-            return logPositionBefore;
+                var logPositionBefore = transactionLogWriter.getCurrentPosition();
+                long totalAppended = transactionLogWriter.append(byteBuffer);
+                logAppendEvent.appendedBytes(totalAppended);
+                return logPositionBefore;
+            }
+        } finally {
+            rotationLock.unlock();
         }
     }
 
     @Override
-    public synchronized Path rotate() throws IOException {
+    public Path rotate() throws IOException {
         return rotate(context::committingTransactionId);
     }
 
@@ -305,10 +316,15 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
         return rotateAtSize.get();
     }
 
-    public synchronized Path rotate(long lastTransactionId) throws IOException {
+    public Path rotate(long lastTransactionId) throws IOException {
         return rotate(() -> lastTransactionId);
     }
 
+    @Override
+    public Lock rotationLock() {
+        return rotationLock;
+    }
+
     @Override
     public LogRotation getLogRotation() {
         return logRotation;
@@ -587,17 +603,22 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
         return externalFileReaders;
     }
 
-    private synchronized Path rotate(LongSupplier committedTransactIdSupplier) throws IOException {
-        channel = rotate(channel, committedTransactIdSupplier);
-        writer.setChannel(channel, channelAllocator.readLogHeaderForVersion(channel.getLogVersion()));
-        return channel.getPath();
+    private Path rotate(LongSupplier committedTransactIdSupplier) throws IOException {
+        rotationLock.lock();
+        try {
+            channel = rotate(channel, committedTransactIdSupplier);
+            writer.setChannel(channel, channelAllocator.readLogHeaderForVersion(channel.getLogVersion()));
+            return channel.getPath();
+        } finally {
+            rotationLock.unlock();
+        }
     }
 
     /**
      * Rotates the current log file, continuing into next (version) log file.
      * This method must be recovery safe, which means a crash at any point should be recoverable.
      * Concurrent readers must also be able to parry for concurrent rotation.
-     * Concurrent writes will not be an issue since rotation and writing contends on the same monitor.
+     * Concurrent writes will not be an issue since rotation and writing contends on the same rotation lock.
      * <br>
      * Steps during rotation are:
      * <ol>
@@ -788,14 +809,15 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile {
     }
 
     private void force() throws IOException {
-        // Empty buffer into writer. We want to synchronize with appenders somehow so that they
-        // don't append while we're doing that. The way rotation is coordinated we can't synchronize
-        // on logFile because it would cause deadlocks. Synchronizing on writer assumes that appenders
-        // also synchronize on writer.
+        // Empty buffer into writer. We want to exclude appenders so that they don't append while
+        // we're doing that, so take the same rotation lock that appenders hold.
         Flushable flushable;
-        synchronized (this) {
+        rotationLock.lock();
+        try {
             databaseHealth.assertNoPanic(IOException.class);
             flushable = writer.prepareForFlush();
+        } finally {
+            rotationLock.unlock();
         }
         // Force the writer outside of the lock.
         // This allows other threads access to the buffer while the writer is being forced.
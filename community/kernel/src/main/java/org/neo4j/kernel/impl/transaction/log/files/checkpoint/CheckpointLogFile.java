@@ -36,6 +36,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
@@ -80,6 +82,7 @@ public class CheckpointLogFile extends LifecycleAdapter implements CheckpointFil
     private final long rotationsSize;
     private final LogTailScannerMonitor monitor;
     private final BinarySupportedKernelVersions binarySupportedKernelVersions;
+    private final Lock rotationLock = new ReentrantLock();
     private LogVersionRepository logVersionRepository;
     private volatile boolean started;
 
@@ -364,8 +367,18 @@ public class CheckpointLogFile extends LifecycleAdapter implements CheckpointFil
     }
 
     @Override
-    public synchronized Path rotate() throws IOException {
-        return checkpointAppender.rotate();
+    public Path rotate() throws IOException {
+        rotationLock.lock();
+        try {
+            return checkpointAppender.rotate();
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    @Override
+    public Lock rotationLock() {
+        return rotationLock;
     }
 
     @Override
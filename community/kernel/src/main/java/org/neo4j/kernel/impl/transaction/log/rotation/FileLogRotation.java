@@ -90,13 +90,17 @@ public class FileLogRotation implements LogRotation {
 
     @Override
     public boolean rotateLogIfNeeded(LogRotateEvents logRotateEvents) throws IOException {
-        /* We synchronize on the writer because we want to have a monitor that another thread
+        /* We take the rotation lock of the file because we want to exclude another thread
          * doing force (think batching of writes), such that it can't see a bad state of the writer
          * even when rotating underlying channels.
          */
         if (rotatableFile.rotationNeeded()) {
-            synchronized (rotatableFile) {
+            var rotationLock = rotatableFile.rotationLock();
+            rotationLock.lock();
+            try {
                 return locklessRotateLogIfNeeded(logRotateEvents);
+            } finally {
+                rotationLock.unlock();
             }
         }
         return false;
@@ -106,7 +110,9 @@ public class FileLogRotation implements LogRotation {
     public boolean batchedRotateLogIfNeeded(LogRotateEvents logRotateEvents, long lastTransactionId)
             throws IOException {
         if (rotatableFile.rotationNeeded()) {
-            synchronized (rotatableFile) {
+            var rotationLock = rotatableFile.rotationLock();
+            rotationLock.lock();
+            try {
                 if (rotatableFile.rotationNeeded()) {
                     TransactionLogFile logFile = (TransactionLogFile) rotatableFile;
                     long version = logFile.getHighestLogVersion();
@@ -115,6 +121,8 @@ public class FileLogRotation implements LogRotation {
                     return true;
                 }
                 return false;
+            } finally {
+                rotationLock.unlock();
             }
         }
         return false;
@@ -136,12 +144,16 @@ public class FileLogRotation implements LogRotation {
     @VisibleForTesting
     @Override
     public void rotateLogFile(LogRotateEvents logRotateEvents) throws IOException {
-        synchronized (rotatableFile) {
+        var rotationLock = rotatableFile.rotationLock();
+        rotationLock.lock();
+        try {
             doRotate(
                     logRotateEvents,
                     lastTransactionIdSupplier.getAsLong(),
                     currentFileVersionSupplier,
                     rotatableFile::rotate);
+        } finally {
+            rotationLock.unlock();
         }
     }
 
@@ -66,6 +66,11 @@ public interface CheckpointCounters {
      */
     long lastCheckpointIOLimitedMillis();
 
+    /**
+     * Number of IOs per second achieved by the last checkpoint
+     */
+    long lastCheckpointIOsPerSecond();
+
     /**
      * Total number of bytes flushed as result of doing checkpoints.
      * Please note that this is a metric for all checkpoints, including ongoing and not for the last one only.
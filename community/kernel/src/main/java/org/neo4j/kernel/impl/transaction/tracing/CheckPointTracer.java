@@ -68,6 +68,11 @@ public interface CheckPointTracer extends CheckpointCounters {
             return 0;
         }
 
+        @Override
+        public long lastCheckpointIOsPerSecond() {
+            return 0;
+        }
+
         @Override
         public long flushedBytes() {
             return 0;
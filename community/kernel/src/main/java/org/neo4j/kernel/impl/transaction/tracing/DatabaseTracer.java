@@ -64,6 +64,11 @@ public interface DatabaseTracer extends TransactionTracer, CheckPointTracer {
             return 0;
         }
 
+        @Override
+        public long lastCheckpointIOsPerSecond() {
+            return 0;
+        }
+
         @Override
         public long flushedBytes() {
             return 0;
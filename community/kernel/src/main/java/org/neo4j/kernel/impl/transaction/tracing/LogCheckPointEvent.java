@@ -80,6 +80,11 @@ public interface LogCheckPointEvent extends LogForceEvents, LogRotateEvents, Aut
             return 0;
         }
 
+        @Override
+        public long getIOsPerSecond() {
+            return 0;
+        }
+
         @Override
         public double flushRatio() {
             return 0;
@@ -134,6 +139,11 @@ public interface LogCheckPointEvent extends LogForceEvents, LogRotateEvents, Aut
      */
     long getConfiguredIOLimit();
 
+    /**
+     * Number of IOs per second achieved by the last checkpoint event. 0 if no checkpoints were performed yet.
+     */
+    long getIOsPerSecond();
+
     /**
      * Ratio of flushed pages to total available pages in page cache
      */
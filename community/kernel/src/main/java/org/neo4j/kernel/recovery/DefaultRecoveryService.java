@@ -48,6 +48,7 @@ import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.CheckpointFile;
 import org.neo4j.logging.InternalLog;
 import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.AppendIndexProvider;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.storageengine.api.MetadataProvider;
@@ -66,9 +67,11 @@ public class DefaultRecoveryService implements RecoveryService {
     private final InternalLog log;
     private final Clock clock;
     private final boolean doParallelRecovery;
+    private final int readAheadBatches;
     private final BinarySupportedKernelVersions binarySupportedKernelVersions;
     private final CursorContextFactory contextFactory;
     private final MetadataProvider metadataProvider;
+    private final JobScheduler scheduler;
 
     DefaultRecoveryService(
             StorageEngine storageEngine,
@@ -81,9 +84,11 @@ public class DefaultRecoveryService implements RecoveryService {
             InternalLog log,
             Clock clock,
             boolean doParallelRecovery,
+            int readAheadBatches,
             BinarySupportedKernelVersions binarySupportedKernelVersions,
             CursorContextFactory contextFactory,
-            MetadataProvider metadataProvider) {
+            MetadataProvider metadataProvider,
+            JobScheduler scheduler) {
         this.storageEngine = storageEngine;
         this.transactionIdStore = transactionIdStore;
         this.logicalTransactionStore = logicalTransactionStore;
@@ -93,9 +98,11 @@ public class DefaultRecoveryService implements RecoveryService {
         this.log = log;
         this.clock = clock;
         this.doParallelRecovery = doParallelRecovery;
+        this.readAheadBatches = readAheadBatches;
         this.binarySupportedKernelVersions = binarySupportedKernelVersions;
         this.contextFactory = contextFactory;
         this.metadataProvider = metadataProvider;
+        this.scheduler = scheduler;
         this.recoveryStartInformationProvider = new RecoveryStartInformationProvider(logFiles, monitor);
     }
 
@@ -165,6 +172,17 @@ public class DefaultRecoveryService implements RecoveryService {
         return logicalTransactionStore.getCommandBatches(position);
     }
 
+    @Override
+    public CommandBatchCursor getRecoveryCommandBatches(LogPosition position, RecoveryMonitor monitor)
+            throws IOException {
+        CommandBatchCursor commandBatches = getCommandBatches(position);
+        if (readAheadBatches <= 0) {
+            return commandBatches;
+        }
+        return new ReadAheadCommandBatchCursor(
+                commandBatches, storageEngine, contextFactory, monitor, scheduler, readAheadBatches);
+    }
+
     @Override
     public CommandBatchCursor getCommandBatchesInReverseOrder(LogPosition position) throws IOException {
         return logicalTransactionStore.getCommandBatchesInReverseOrder(position);
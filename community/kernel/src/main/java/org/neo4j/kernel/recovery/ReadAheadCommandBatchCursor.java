@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.recovery;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.kernel.impl.transaction.CommittedCommandBatch;
+import org.neo4j.kernel.impl.transaction.log.CommandBatchCursor;
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.CommandBatch;
+import org.neo4j.storageengine.api.StorageEngine;
+
+/**
+ * A {@link CommandBatchCursor} that reads and decodes command batches in a {@link Group#RECOVERY_READ_AHEAD} job,
+ * ahead of recovery applying them.
+ * <p>
+ * Decoded batches are collected into windows of half the read-ahead size. Before a window is handed over, the
+ * {@link StorageEngine} is asked to {@link StorageEngine#prefetchRecoveryCommands(java.util.Collection, CursorContext)
+ * prefetch} the pages its commands will touch, so that appliers find them in the page cache. Batches, positions and
+ * failures are seen by the caller in exactly the order the wrapped cursor produced them.
+ */
+final class ReadAheadCommandBatchCursor implements CommandBatchCursor {
+    private static final String READ_AHEAD_TAG = "recoveryReadAhead";
+    private static final long OFFER_TIMEOUT_MILLIS = 10;
+
+    private final CommandBatchCursor source;
+    private final StorageEngine storageEngine;
+    private final CursorContextFactory contextFactory;
+    private final RecoveryMonitor monitor;
+    private final int windowSize;
+    private final BlockingQueue<Entry> queue;
+    private final JobHandle<?> reader;
+    private volatile boolean closed;
+
+    // written by the reader job, read after it has terminated
+    private long decodeNanos;
+    private long prefetchNanos;
+
+    private CommittedCommandBatch current;
+    private LogPosition position;
+    private boolean exhausted;
+    private long batches;
+    private long waitNanos;
+
+    ReadAheadCommandBatchCursor(
+            CommandBatchCursor source,
+            StorageEngine storageEngine,
+            CursorContextFactory contextFactory,
+            RecoveryMonitor monitor,
+            JobScheduler scheduler,
+            int readAheadBatches) {
+        this.source = source;
+        this.storageEngine = storageEngine;
+        this.contextFactory = contextFactory;
+        this.monitor = monitor;
+        this.windowSize = Math.max(1, readAheadBatches / 2);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, readAheadBatches));
+        this.position = source.position();
+        this.reader = scheduler.schedule(
+                Group.RECOVERY_READ_AHEAD,
+                JobMonitoringParams.systemJob("Reading transaction logs ahead of recovery"),
+                this::readAhead);
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (exhausted) {
+            return false;
+        }
+        Entry entry = take();
+        if (entry.failure() != null) {
+            exhausted = true;
+            current = null;
+            Exceptions.throwIfInstanceOfOrUnchecked(entry.failure(), IOException.class, IOException::new);
+        }
+        position = entry.position();
+        current = entry.batch();
+        if (current == null) {
+            exhausted = true;
+            return false;
+        }
+        batches++;
+        return true;
+    }
+
+    @Override
+    public CommittedCommandBatch get() {
+        return current;
+    }
+
+    @Override
+    public LogPosition position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.clear();
+        boolean interrupted = false;
+        boolean terminated = false;
+        while (!terminated) {
+            try {
+                reader.waitTermination();
+                terminated = true;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException | CancellationException e) {
+                // the reader job reports its failures through the queue
+                terminated = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        source.close();
+        monitor.recoveryReadAheadCompleted(batches, decodeNanos, prefetchNanos, waitNanos);
+    }
+
+    private Entry take() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for recovery read-ahead");
+        } finally {
+            waitNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void readAhead() {
+        List<Entry> window = new ArrayList<>(windowSize);
+        try {
+            while (!closed) {
+                long start = System.nanoTime();
+                boolean hasNext = source.next();
+                decodeNanos += System.nanoTime() - start;
+                if (!hasNext) {
+                    publish(window);
+                    put(new Entry(null, source.position(), null));
+                    return;
+                }
+                window.add(new Entry(source.get(), source.position(), null));
+                if (window.size() >= windowSize) {
+                    publish(window);
+                }
+            }
+        } catch (Throwable t) {
+            // batches decoded before the failure are still recovered, the failure surfaces right after them
+            publish(window);
+            put(new Entry(null, null, t));
+        }
+    }
+
+    private void publish(List<Entry> window) {
+        if (window.isEmpty()) {
+            return;
+        }
+        prefetch(window);
+        for (Entry entry : window) {
+            put(entry);
+        }
+        window.clear();
+    }
+
+    private void prefetch(List<Entry> window) {
+        long start = System.nanoTime();
+        List<CommandBatch> commandBatches = new ArrayList<>(window.size());
+        for (Entry entry : window) {
+            commandBatches.add(entry.batch().commandBatch());
+        }
+        try (CursorContext cursorContext = contextFactory.create(READ_AHEAD_TAG)) {
+            storageEngine.prefetchRecoveryCommands(commandBatches, cursorContext);
+        } catch (Exception e) {
+            // Prefetching is only an optimisation, appliers will read whatever pages they need themselves
+        } finally {
+            prefetchNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void put(Entry entry) {
+        boolean interrupted = false;
+        try {
+            while (!closed) {
+                try {
+                    if (queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    // the consumer relies on every entry being handed over, so keep trying until closed
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record Entry(CommittedCommandBatch batch, LogPosition position, Throwable failure) {}
+}
@@ -615,6 +615,7 @@ public final class Recovery {
                 databaseLayout,
                 recoveryCleanupCollector,
                 false,
+                logProvider,
                 cursorContextFactory,
                 tracers.getPageCacheTracer(),
                 storageEngine.getOpenOptions());
@@ -686,6 +687,7 @@ public final class Recovery {
         schemaLife.add(indexingService);
 
         var doParallelRecovery = config.get(GraphDatabaseInternalSettings.do_parallel_recovery);
+        var readAheadBatches = config.get(GraphDatabaseInternalSettings.recovery_read_ahead_batches);
         TransactionLogsRecovery transactionLogsRecovery = transactionLogRecovery(
                 fs,
                 metadataProvider,
@@ -704,11 +706,13 @@ public final class Recovery {
                 memoryTracker,
                 clock,
                 doParallelRecovery,
+                readAheadBatches,
                 recoveryPredicate,
                 cursorContextFactory,
                 mode,
                 new BinarySupportedKernelVersions(config),
-                metadataProvider);
+                metadataProvider,
+                scheduler);
 
         CheckPointerImpl.ForceOperation forceOperation =
                 new DefaultForceOperation(indexingService, storageEngine, databasePageCache);
@@ -840,11 +844,13 @@ public final class Recovery {
             MemoryTracker memoryTracker,
             Clock clock,
             boolean doParallelRecovery,
+            int readAheadBatches,
             RecoveryPredicate recoveryPredicate,
             CursorContextFactory contextFactory,
             RecoveryMode mode,
             BinarySupportedKernelVersions binarySupportedKernelVersions,
-            MetadataProvider metadataProvider) {
+            MetadataProvider metadataProvider,
+            JobScheduler scheduler) {
         RecoveryService recoveryService = new DefaultRecoveryService(
                 storageEngine,
                 transactionIdStore,
@@ -856,9 +862,11 @@ public final class Recovery {
                 log,
                 clock,
                 doParallelRecovery,
+                readAheadBatches,
                 binarySupportedKernelVersions,
                 contextFactory,
-                metadataProvider);
+                metadataProvider,
+                scheduler);
         CorruptedLogsTruncator logsTruncator = new CorruptedLogsTruncator(
                 databaseLayout.databaseDirectory(), logFiles, fileSystemAbstraction, memoryTracker);
         var loggerPrintWriterAdaptor = new LoggerPrintWriterAdaptor(log, Level.INFO);
@@ -35,6 +35,18 @@ public interface RecoveryMonitor {
         // noop
     }
 
+    /**
+     * Called when recovery is done with command batches that were read ahead of the appliers.
+     *
+     * @param batches number of command batches handed to recovery.
+     * @param decodeNanos time spent reading and decoding command batches.
+     * @param prefetchNanos time spent loading the pages touched by the command batches.
+     * @param waitNanos time recovery spent waiting for the next command batch.
+     */
+    default void recoveryReadAheadCompleted(long batches, long decodeNanos, long prefetchNanos, long waitNanos) {
+        // noop
+    }
+
     default void reverseStoreRecoveryCompleted(long lowestRecoveredTxId) {
         // noop
     }
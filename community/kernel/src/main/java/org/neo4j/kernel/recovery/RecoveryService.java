@@ -33,6 +33,15 @@ public interface RecoveryService {
 
     CommandBatchCursor getCommandBatches(LogPosition recoveryFromPosition) throws IOException;
 
+    /**
+     * Command batches to apply when recovering forward from {@code recoveryFromPosition}. Implementations may read and
+     * decode them ahead of the caller.
+     */
+    default CommandBatchCursor getRecoveryCommandBatches(LogPosition recoveryFromPosition, RecoveryMonitor monitor)
+            throws IOException {
+        return getCommandBatches(recoveryFromPosition);
+    }
+
     CommandBatchCursor getCommandBatchesInReverseOrder(LogPosition recoveryFromPosition) throws IOException;
 
     RecoveryStartInformation getRecoveryStartInformation() throws IOException;
@@ -122,7 +122,7 @@ public class TransactionLogsRecovery extends LifecycleAdapter {
 
                 boolean fullRecovery = true;
                 try (CommandBatchCursor transactionsToRecover =
-                                recoveryService.getCommandBatches(recoveryStartPosition);
+                                recoveryService.getRecoveryCommandBatches(recoveryStartPosition, monitor);
                         var recoveryVisitor =
                                 recoveryService.getRecoveryApplier(RECOVERY, contextFactory, RECOVERY_TAG)) {
                     while (fullRecovery && transactionsToRecover.next()) {
@@ -198,6 +198,7 @@ public class DatabaseManagementServiceFactory {
 
         globalLife.add(boltServer);
         globalDependencies.satisfyDependency(boltServer);
+        globalDependencies.satisfyDependency(boltServer.getWorkerStats());
         var webServer = createWebServer(
                 edition,
                 managementService,
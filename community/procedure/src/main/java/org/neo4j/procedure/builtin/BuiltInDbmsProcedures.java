@@ -252,6 +252,22 @@ public class BuiltInDbmsProcedures {
         return Stream.of(new StringResult(result));
     }
 
+    @Admin
+    @Internal
+    @SystemProcedure
+    @Description(
+            "List the cached queries whose executions produced the most rows more or fewer than estimated. "
+                    + "Executions are only compared with their estimates if internal.cypher.cardinality_feedback_enabled is set.")
+    @Procedure(name = "db.listCardinalityMisestimates", mode = DBMS)
+    public Stream<CardinalityMisestimateResult> listCardinalityMisestimates(
+            @Name(value = "limit", defaultValue = "10") long limit) {
+        QueryExecutionEngine queryExecutionEngine =
+                graph.getDependencyResolver().resolveDependency(QueryExecutionEngine.class);
+
+        return queryExecutionEngine.getCardinalityMisestimates((int) Math.min(limit, Integer.MAX_VALUE)).stream()
+                .map(CardinalityMisestimateResult::new);
+    }
+
     @Deprecated(since = "5.9.0")
     @Admin
     @SystemProcedure
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.procedure.builtin;
+
+import org.neo4j.kernel.impl.query.CardinalityMisestimate;
+
+public class CardinalityMisestimateResult {
+    public final String query;
+    public final long estimatedRows;
+    public final long actualRows;
+    public final double divergence;
+    public final long occurrences;
+    public final long replans;
+
+    public CardinalityMisestimateResult(CardinalityMisestimate misestimate) {
+        this.query = misestimate.query();
+        this.estimatedRows = misestimate.estimatedRows();
+        this.actualRows = misestimate.actualRows();
+        this.divergence = misestimate.divergence();
+        this.occurrences = misestimate.occurrences();
+        this.replans = misestimate.replans();
+    }
+}
@@ -52,10 +52,12 @@ import org.neo4j.internal.batchimport.cache.NodeRelationshipCache;
 import org.neo4j.internal.batchimport.cache.NodeType;
 import org.neo4j.internal.batchimport.cache.NumberArrayFactory;
 import org.neo4j.internal.batchimport.cache.PageCacheArrayFactoryMonitor;
+import org.neo4j.internal.batchimport.cache.PageCachedNumberArrayFactory;
 import org.neo4j.internal.batchimport.cache.idmapping.IdMapper;
 import org.neo4j.internal.batchimport.cache.idmapping.IdMappers;
 import org.neo4j.internal.batchimport.input.Collector;
 import org.neo4j.internal.batchimport.input.EstimationSanityChecker;
+import org.neo4j.internal.batchimport.input.IdType;
 import org.neo4j.internal.batchimport.input.Input;
 import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
 import org.neo4j.internal.batchimport.staging.ExecutionSupervisors;
@@ -211,10 +213,27 @@ public class ImportLogic implements Closeable {
 
     protected IdMapper instantiateIdMapper(Input input, Input.Estimates inputEstimates) {
         var estimatedNumNodes = inputEstimates.numberOfNodes();
+        var externalMemory = input.idType() != IdType.ACTUAL
+                && ImportMemoryCalculator.idMapperNeedsExternalMemory(
+                        inputEstimates, input.groups().size(), maxMemory);
+        var idMapperArrayFactory = numberArrayFactory;
+        if (externalMemory) {
+            log.info(
+                    "ID mapper caches for %d nodes won't fit in %s, sorting and looking up ids on disk",
+                    estimatedNumNodes, bytesToString(maxMemory));
+            idMapperArrayFactory = new PageCachedNumberArrayFactory(
+                    neoStore.getPageCache(), contextFactory, databaseDirectory, log, databaseName);
+        }
         return switch (input.idType()) {
             case STRING -> IdMappers.strings(
-                    numberArrayFactory, input.groups(), config.strictNodeCheck(), memoryTracker, estimatedNumNodes);
-            case INTEGER -> IdMappers.longs(numberArrayFactory, input.groups(), memoryTracker, estimatedNumNodes);
+                    idMapperArrayFactory,
+                    input.groups(),
+                    config.strictNodeCheck(),
+                    memoryTracker,
+                    estimatedNumNodes,
+                    externalMemory);
+            case INTEGER -> IdMappers.longs(
+                    idMapperArrayFactory, input.groups(), memoryTracker, estimatedNumNodes, externalMemory);
             case ACTUAL -> IdMappers.actual();
         };
     }
@@ -24,6 +24,7 @@ import static org.neo4j.kernel.impl.store.NoStoreHeader.NO_STORE_HEADER;
 
 import org.neo4j.internal.batchimport.cache.GatheringMemoryStatsVisitor;
 import org.neo4j.internal.batchimport.cache.MemoryStatsVisitor;
+import org.neo4j.internal.batchimport.cache.idmapping.string.EncodingIdMapper;
 import org.neo4j.internal.batchimport.input.Input;
 import org.neo4j.kernel.impl.store.format.RecordFormats;
 
@@ -77,6 +78,20 @@ public class ImportMemoryCalculator {
                 estimatedStoreSize / 2_000;
     }
 
+    /**
+     * Decides whether or not the {@link EncodingIdMapper} should sort in runs and keep its caches on disk, which is
+     * the case when its caches for all the estimated nodes wouldn't fit in the memory available to the import.
+     *
+     * @param estimates input estimates.
+     * @param numberOfGroups number of id groups in the input.
+     * @param maxMemory memory available for the caches of the import.
+     * @return {@code true} if the id mapper should sort and look up ids in external memory.
+     */
+    public static boolean idMapperNeedsExternalMemory(Input.Estimates estimates, int numberOfGroups, long maxMemory) {
+        return defensivelyPadMemoryEstimate(EncodingIdMapper.estimateMemory(estimates.numberOfNodes(), numberOfGroups))
+                > maxMemory;
+    }
+
     public static long defensivelyPadMemoryEstimate(long bytes) {
         return (long) (bytes * 1.1);
     }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.neo4j.internal.batchimport.DataStatistics.RelationshipTypeCount;
+import org.neo4j.internal.batchimport.cache.idmapping.IdMapper;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+
+/**
+ * Remembers the last stage a {@link ParallelBatchImporter} completed, so that an import which fails, or is killed,
+ * can be resumed from there instead of from the beginning. The state is a small file in the database directory,
+ * written after the stores have been flushed at the end of each stage and deleted when the import completes.
+ * <p>
+ * Only stages after the relationship import are recorded. Up until that point the {@link IdMapper} is required,
+ * which is too large to be worth persisting, so an import failing before that has to start over.
+ * <p>
+ * The state also records the {@link Configuration#inputFingerprint() fingerprint} of the input the import was
+ * started with, so that resuming with other input, which would mix data from both into the store, can be refused.
+ */
+class ImportState {
+    static final String FILE_NAME = "import-state";
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Stages which an import can be resumed after, in the order they complete.
+     */
+    enum Stage {
+        RELATIONSHIPS_IMPORTED,
+        RELATIONSHIPS_LINKED,
+        RELATIONSHIP_GROUPS_DEFRAGMENTED;
+
+        boolean isCompletedBy(Stage lastCompletedStage) {
+            return lastCompletedStage != null && lastCompletedStage.ordinal() >= ordinal();
+        }
+    }
+
+    /**
+     * @param stage the last stage which was completed.
+     * @param dataStatistics statistics gathered by the import up until that stage.
+     * @param inputFingerprint fingerprint of the input the import was started with.
+     */
+    record Checkpoint(Stage stage, DataStatistics dataStatistics, String inputFingerprint) {}
+
+    private final FileSystemAbstraction fs;
+    private final Path file;
+    private final Path tempFile;
+
+    ImportState(FileSystemAbstraction fs, Path databaseDirectory) {
+        this.fs = fs;
+        this.file = databaseDirectory.resolve(FILE_NAME);
+        this.tempFile = databaseDirectory.resolve(FILE_NAME + ".tmp");
+    }
+
+    /**
+     * @return the {@link Checkpoint} last written, or {@code null} if there's none.
+     */
+    Checkpoint read() throws IOException {
+        if (!fs.fileExists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(fs.openAsInputStream(file))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported import state format version " + version + " in " + file);
+            }
+            String inputFingerprint = in.readUTF();
+            Stage stage = Stage.values()[in.readInt()];
+            long nodeCount = in.readLong();
+            long propertyCount = in.readLong();
+            RelationshipTypeCount[] types = new RelationshipTypeCount[in.readInt()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = new RelationshipTypeCount(in.readInt(), in.readLong());
+            }
+            return new Checkpoint(stage, new DataStatistics(nodeCount, propertyCount, types), inputFingerprint);
+        }
+    }
+
+    /**
+     * Records that {@code stage} is completed. The write is atomic, i.e. a failure while writing leaves the
+     * previous checkpoint in place, and durable, i.e. the new checkpoint is forced to disk before it replaces
+     * the previous one.
+     */
+    void write(Stage stage, DataStatistics dataStatistics, String inputFingerprint) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(inputFingerprint);
+            out.writeInt(stage.ordinal());
+            out.writeLong(dataStatistics.getNodeCount());
+            out.writeLong(dataStatistics.getPropertyCount());
+            out.writeInt(dataStatistics.getNumberOfRelationshipTypes());
+            for (RelationshipTypeCount type : dataStatistics) {
+                out.writeInt(type.getTypeId());
+                out.writeLong(type.getCount());
+            }
+        }
+        try (StoreChannel channel = fs.write(tempFile)) {
+            channel.truncate(0);
+            channel.writeAll(ByteBuffer.wrap(bytes.toByteArray()));
+            channel.force(false);
+        }
+        fs.renameFile(tempFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    void clear() throws IOException {
+        fs.deleteFileOrThrow(file);
+    }
+}
@@ -19,6 +19,11 @@
  */
 package org.neo4j.internal.batchimport;
 
+import static org.neo4j.internal.batchimport.ImportState.Stage.RELATIONSHIPS_IMPORTED;
+import static org.neo4j.internal.batchimport.ImportState.Stage.RELATIONSHIPS_LINKED;
+import static org.neo4j.internal.batchimport.ImportState.Stage.RELATIONSHIP_GROUPS_DEFRAGMENTED;
+import static org.neo4j.kernel.impl.store.StoreType.RELATIONSHIP_GROUP;
+
 import java.io.IOException;
 import org.neo4j.configuration.Config;
 import org.neo4j.internal.batchimport.input.Collector;
@@ -46,9 +51,13 @@ import org.neo4j.storageengine.api.LogFilesInitializer;
  * I/O is only allowed to be read to and written from sequentially, any random access drastically reduces performance.
  * Goes through multiple stages where each stage has one or more steps executing in parallel, passing
  * batches between these steps through each stage, i.e. passing batches downstream.
+ * <p>
+ * Progress is recorded in an {@link ImportState} at the end of the later, longer running stages, so that an import
+ * which fails can be resumed with {@link Configuration#resumeImport()}.
  */
 public class ParallelBatchImporter implements BatchImporter {
     private static final String BATCH_IMPORTER_CHECKPOINT = "Batch importer checkpoint.";
+    private static final String BATCH_IMPORTER_STAGE_CHECKPOINT_TAG = "batchImporterStageCheckpoint";
     private final RecordDatabaseLayout databaseLayout;
     private final FileSystemAbstraction fileSystem;
     private final PageCacheTracer pageCacheTracer;
@@ -128,14 +137,36 @@ public class ParallelBatchImporter implements BatchImporter {
                         indexImporterFactory,
                         pageCacheTracer,
                         memoryTracker)) {
-            store.createNew();
+            ImportState state = new ImportState(fileSystem, databaseLayout.databaseDirectory());
+            ImportState.Checkpoint checkpoint = config.resumeImport() ? state.read() : null;
+            if (checkpoint != null && !checkpoint.inputFingerprint().equals(config.inputFingerprint())) {
+                throw new IllegalStateException("Cannot resume the import into " + databaseLayout.databaseDirectory()
+                        + " since its input files or import settings have changed since it was started");
+            }
+            ImportState.Stage completed = checkpoint != null ? checkpoint.stage() : null;
+            if (completed == null) {
+                store.createNew();
+            } else {
+                openStoreToResume(store, completed);
+            }
             logic.initialize(input);
-            logic.importNodes();
-            logic.prepareIdMapper();
-            logic.importRelationships();
-            logic.calculateNodeDegrees();
-            logic.linkRelationshipsOfAllTypes();
-            logic.defragmentRelationshipGroups();
+            if (!RELATIONSHIPS_IMPORTED.isCompletedBy(completed)) {
+                logic.importNodes();
+                logic.prepareIdMapper();
+                logic.importRelationships();
+                checkpoint(store, logic, state, RELATIONSHIPS_IMPORTED);
+            } else {
+                logic.putState(checkpoint.dataStatistics());
+            }
+            if (!RELATIONSHIPS_LINKED.isCompletedBy(completed)) {
+                logic.calculateNodeDegrees();
+                logic.linkRelationshipsOfAllTypes();
+                checkpoint(store, logic, state, RELATIONSHIPS_LINKED);
+            }
+            if (!RELATIONSHIP_GROUPS_DEFRAGMENTED.isCompletedBy(completed)) {
+                logic.defragmentRelationshipGroups();
+                checkpoint(store, logic, state, RELATIONSHIP_GROUPS_DEFRAGMENTED);
+            }
             logFilesInitializer.initializeLogFiles(
                     databaseLayout,
                     store.getNeoStores().getMetaDataStore(),
@@ -143,7 +174,35 @@ public class ParallelBatchImporter implements BatchImporter {
                     fileSystem,
                     BATCH_IMPORTER_CHECKPOINT);
             logic.buildAuxiliaryStores();
+            state.clear();
             logic.success();
         }
     }
+
+    /**
+     * Opens the stores of a previous import which completed {@code completed}, but not the stages after it.
+     * Stages which didn't complete may have left partial data behind in the stores they write to, so those stores
+     * are deleted and written again when the stage runs. Stores that an incomplete stage only updates records in
+     * are kept, since running the stage again will overwrite those records with the same data.
+     */
+    private static void openStoreToResume(BatchingNeoStores store, ImportState.Stage completed) throws IOException {
+        switch (completed) {
+                // Relationship groups are written to the temporary store when linking and then
+                // copied over to the main store when defragmenting
+            case RELATIONSHIPS_IMPORTED -> store.openExistingStoreToResume(
+                    type -> type != RELATIONSHIP_GROUP, type -> false);
+            case RELATIONSHIPS_LINKED -> store.openExistingStoreToResume(
+                    type -> type != RELATIONSHIP_GROUP, type -> type == RELATIONSHIP_GROUP);
+            case RELATIONSHIP_GROUPS_DEFRAGMENTED -> store.openExistingStoreToResume(type -> true, type -> false);
+        }
+    }
+
+    private void checkpoint(BatchingNeoStores store, ImportLogic logic, ImportState state, ImportState.Stage completed)
+            throws IOException {
+        store.markHighIds();
+        try (var cursorContext = contextFactory.create(BATCH_IMPORTER_STAGE_CHECKPOINT_TAG)) {
+            store.flushAndForce(cursorContext);
+        }
+        state.write(completed, logic.getState(DataStatistics.class), config.inputFingerprint());
+    }
 }
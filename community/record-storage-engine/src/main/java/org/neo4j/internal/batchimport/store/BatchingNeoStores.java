@@ -282,6 +282,41 @@ public class BatchingNeoStores implements AutoCloseable, MemoryStatsVisitor.Visi
         instantiateStores();
     }
 
+    /**
+     * Called when resuming an import which previously failed after having completed some of its stages. Store files
+     * are kept or deleted as in {@link #pruneAndOpenExistingStore(Predicate, Predicate)}, but anything built by the
+     * very last stages of an import, i.e. counts store, token indexes and transaction logs, is always deleted
+     * since they will be built again.
+     *
+     * @param mainStoresToKeep {@link Predicate} controlling which files to keep, i.e. {@code true} means keep, {@code false} means delete.
+     * @param tempStoresToKeep {@link Predicate} controlling which files to keep, i.e. {@code true} means keep, {@code false} means delete.
+     */
+    public void openExistingStoreToResume(Predicate<StoreType> mainStoresToKeep, Predicate<StoreType> tempStoresToKeep)
+            throws IOException {
+        deleteIndexes();
+        deleteCountsStore();
+        if (fileSystem.fileExists(databaseLayout.relationshipGroupDegreesStore())) {
+            fileSystem.deleteFile(databaseLayout.relationshipGroupDegreesStore());
+        }
+        deleteTransactionLogs();
+        pruneAndOpenExistingStore(mainStoresToKeep, tempStoresToKeep);
+    }
+
+    private void deleteTransactionLogs() throws IOException {
+        Path logsDirectory = databaseLayout.getTransactionLogsDirectory();
+        if (!fileSystem.fileExists(logsDirectory)) {
+            return;
+        }
+        for (TransactionLogFilesHelper helper : new TransactionLogFilesHelper[] {
+            new TransactionLogFilesHelper(fileSystem, logsDirectory),
+            new TransactionLogFilesHelper(fileSystem, logsDirectory, CHECKPOINT_FILE_PREFIX)
+        }) {
+            for (Path file : helper.getMatchedFiles()) {
+                fileSystem.deleteFile(file);
+            }
+        }
+    }
+
     private void deleteStoreFiles(DatabaseLayout databaseLayout, Predicate<StoreType> storesToKeep) {
         for (StoreType type : StoreType.STORE_TYPES) {
             if (!storesToKeep.test(type)) {
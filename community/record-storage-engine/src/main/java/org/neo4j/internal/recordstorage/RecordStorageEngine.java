@@ -37,6 +37,7 @@ import java.util.Map;
 import java.util.stream.Stream;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.primitive.LongSet;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
 import org.neo4j.collection.diffset.LongDiffSets;
 import org.neo4j.collection.trackable.HeapTrackingCollections;
 import org.neo4j.configuration.Config;
@@ -505,6 +506,32 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle {
         }
     }
 
+    @Override
+    public void prefetchRecoveryCommands(Collection<? extends CommandStream> commands, CursorContext cursorContext)
+            throws IOException {
+        LongArrayList nodes = new LongArrayList();
+        LongArrayList relationships = new LongArrayList();
+        LongArrayList groups = new LongArrayList();
+        LongArrayList properties = new LongArrayList();
+        for (CommandStream stream : commands) {
+            for (StorageCommand command : stream) {
+                if (command instanceof Command.NodeCommand nodeCommand) {
+                    nodes.add(nodeCommand.getKey());
+                } else if (command instanceof Command.RelationshipCommand relationshipCommand) {
+                    relationships.add(relationshipCommand.getKey());
+                } else if (command instanceof Command.RelationshipGroupCommand groupCommand) {
+                    groups.add(groupCommand.getKey());
+                } else if (command instanceof Command.PropertyCommand propertyCommand) {
+                    properties.add(propertyCommand.getKey());
+                }
+            }
+        }
+        neoStores.getNodeStore().prefetchRecords(nodes.toArray(), cursorContext);
+        neoStores.getRelationshipStore().prefetchRecords(relationships.toArray(), cursorContext);
+        neoStores.getRelationshipGroupStore().prefetchRecords(groups.toArray(), cursorContext);
+        neoStores.getPropertyStore().prefetchRecords(properties.toArray(), cursorContext);
+    }
+
     @Override
     public void apply(CommandBatchToApply batch, TransactionApplicationMode mode) throws Exception {
         TransactionApplierFactoryChain batchApplier = applierChain(mode);
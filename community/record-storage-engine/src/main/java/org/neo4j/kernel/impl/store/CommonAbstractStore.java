@@ -39,6 +39,7 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.LongPredicate;
 import org.eclipse.collections.api.set.ImmutableSet;
@@ -342,6 +343,37 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord, HEA
         return pagedFile.getLastPageId();
     }
 
+    /**
+     * Loads the pages holding some records into the page cache. Pages are loaded in file order, with runs of
+     * adjacent pages loaded together. Pages beyond the end of the file are ignored.
+     *
+     * @param ids ids of the records, will be sorted.
+     * @param cursorContext underlying page cursor context.
+     */
+    public void prefetchRecords(long[] ids, CursorContext cursorContext) throws IOException {
+        Arrays.sort(ids);
+        long runStart = -1;
+        int runLength = 0;
+        for (long id : ids) {
+            if (id < 0) {
+                continue;
+            }
+            long pageId = pageIdForRecord(id);
+            if (runLength > 0 && pageId <= runStart + runLength) {
+                runLength = (int) (pageId - runStart + 1);
+                continue;
+            }
+            if (runLength > 0 && pagedFile.touch(runStart, runLength, cursorContext) < runLength) {
+                return;
+            }
+            runStart = pageId;
+            runLength = 1;
+        }
+        if (runLength > 0) {
+            pagedFile.touch(runStart, runLength, cursorContext);
+        }
+    }
+
     /**
      * Read raw record data. Should <strong>ONLY</strong> be used in tests or tools.
      */
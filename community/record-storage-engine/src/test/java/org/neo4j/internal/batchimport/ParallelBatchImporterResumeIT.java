@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.batchimport;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.immediate;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL_CONTEXT;
+import static org.neo4j.io.pagecache.context.FixedVersionContextSupplier.EMPTY_CONTEXT_SUPPLIER;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+import static org.neo4j.storageengine.api.RelationshipSelection.ALL_RELATIONSHIPS;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseSettings;
+import org.neo4j.csv.reader.Readables;
+import org.neo4j.internal.batchimport.input.Collector;
+import org.neo4j.internal.batchimport.input.IdType;
+import org.neo4j.internal.batchimport.input.Input;
+import org.neo4j.internal.batchimport.input.InputEntityDecorators;
+import org.neo4j.internal.batchimport.input.csv.CsvInput;
+import org.neo4j.internal.batchimport.input.csv.DataFactories;
+import org.neo4j.internal.batchimport.staging.ExecutionMonitor;
+import org.neo4j.internal.batchimport.staging.StageExecution;
+import org.neo4j.internal.id.DefaultIdGeneratorFactory;
+import org.neo4j.internal.recordstorage.RecordNodeCursor;
+import org.neo4j.internal.recordstorage.RecordStorageReader;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.layout.recordstorage.RecordDatabaseLayout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.context.CursorContextFactory;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.StoreFactory;
+import org.neo4j.kernel.impl.store.cursor.CachedStoreCursors;
+import org.neo4j.kernel.impl.store.format.FormatFamily;
+import org.neo4j.kernel.impl.transaction.log.EmptyLogTailMetadata;
+import org.neo4j.kernel.impl.transaction.log.LogTailLogVersionsMetadata;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.logging.internal.NullLogService;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.LogFilesInitializer;
+import org.neo4j.storageengine.api.StorageRelationshipTraversalCursor;
+import org.neo4j.test.RandomSupport;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.Neo4jLayoutExtension;
+import org.neo4j.test.extension.RandomExtension;
+import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+
+@PageCacheExtension
+@Neo4jLayoutExtension
+@ExtendWith(RandomExtension.class)
+class ParallelBatchImporterResumeIT {
+    private static final int NODES = 200;
+    private static final int RELATIONSHIPS = 1_000;
+    private static final int TYPES = 4;
+    private static final CursorContextFactory CONTEXT_FACTORY =
+            new CursorContextFactory(PageCacheTracer.NULL, EMPTY_CONTEXT_SUPPLIER);
+
+    @Inject
+    private FileSystemAbstraction fileSystem;
+
+    @Inject
+    private PageCache pageCache;
+
+    @Inject
+    private RandomSupport random;
+
+    @Inject
+    private RecordDatabaseLayout databaseLayout;
+
+    private final Config config = Config.newBuilder()
+            .set(GraphDatabaseSettings.db_format, FormatFamily.STANDARD.name())
+            .set(GraphDatabaseSettings.dense_node_threshold, 5)
+            .build();
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                RelationshipLinkforwardStage.NAME,
+                RelationshipLinkbackStage.NAME,
+                NodeFirstGroupStage.NAME,
+                NodeCountsAndLabelIndexBuildStage.NAME
+            })
+    void shouldResumeImportFailingInStage(String failingStage) throws Exception {
+        // given
+        List<long[]> relationships = randomRelationships();
+        var failure = new RuntimeException("Failing in " + failingStage);
+        assertThrows(
+                RuntimeException.class,
+                () -> doImport(
+                        relationships, Configuration.DEFAULT, new FailingExecutionMonitor(failingStage, failure)));
+
+        // when
+        doImport(relationships, resumingConfiguration(), ExecutionMonitor.INVISIBLE);
+
+        // then
+        assertThat(fileSystem.fileExists(databaseLayout.databaseDirectory().resolve(ImportState.FILE_NAME)))
+                .isFalse();
+        assertThat(relationshipsPerNode()).isEqualTo(expectedRelationshipsPerNode(relationships));
+    }
+
+    @Test
+    void shouldNotResumeImportWithOtherInput() throws Exception {
+        // given
+        List<long[]> relationships = randomRelationships();
+        var failure = new RuntimeException("Failing in " + NodeFirstGroupStage.NAME);
+        assertThrows(
+                RuntimeException.class,
+                () -> doImport(
+                        relationships,
+                        configuration(false, "input"),
+                        new FailingExecutionMonitor(NodeFirstGroupStage.NAME, failure)));
+
+        // when
+        var e = assertThrows(
+                IllegalStateException.class,
+                () -> doImport(relationships, configuration(true, "other input"), ExecutionMonitor.INVISIBLE));
+
+        // then
+        assertThat(e.getMessage()).contains("input files or import settings have changed");
+        assertThat(fileSystem.fileExists(databaseLayout.databaseDirectory().resolve(ImportState.FILE_NAME)))
+                .isTrue();
+        doImport(relationships, configuration(true, "input"), ExecutionMonitor.INVISIBLE);
+        assertThat(relationshipsPerNode()).isEqualTo(expectedRelationshipsPerNode(relationships));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldImportNormallyWhenNothingToResume(boolean resume) throws Exception {
+        // given
+        List<long[]> relationships = randomRelationships();
+
+        // when
+        doImport(relationships, resume ? resumingConfiguration() : Configuration.DEFAULT, ExecutionMonitor.INVISIBLE);
+
+        // then
+        assertThat(fileSystem.fileExists(databaseLayout.databaseDirectory().resolve(ImportState.FILE_NAME)))
+                .isFalse();
+        assertThat(relationshipsPerNode()).isEqualTo(expectedRelationshipsPerNode(relationships));
+    }
+
+    private void doImport(List<long[]> relationships, Configuration configuration, ExecutionMonitor executionMonitor)
+            throws IOException {
+        try (JobScheduler jobScheduler = new ThreadPoolJobScheduler()) {
+            BatchImporter importer = new ParallelBatchImporter(
+                    databaseLayout,
+                    fileSystem,
+                    PageCacheTracer.NULL,
+                    configuration,
+                    NullLogService.getInstance(),
+                    executionMonitor,
+                    AdditionalInitialIds.EMPTY,
+                    new EmptyLogTailMetadata(config),
+                    config,
+                    Monitor.NO_MONITOR,
+                    jobScheduler,
+                    Collector.EMPTY,
+                    LogFilesInitializer.NULL,
+                    IndexImporterFactory.EMPTY,
+                    INSTANCE,
+                    CONTEXT_FACTORY);
+            importer.doImport(input(relationships));
+        }
+    }
+
+    private static Input input(List<long[]> relationships) {
+        StringBuilder nodes = new StringBuilder(":ID").append(System.lineSeparator());
+        for (int node = 0; node < NODES; node++) {
+            nodes.append(node).append(System.lineSeparator());
+        }
+        StringBuilder rels = new StringBuilder(":START_ID,:END_ID,:TYPE").append(System.lineSeparator());
+        for (long[] relationship : relationships) {
+            rels.append(relationship[0])
+                    .append(',')
+                    .append(relationship[1])
+                    .append(",TYPE_")
+                    .append(relationship[2])
+                    .append(System.lineSeparator());
+        }
+        return new CsvInput(
+                DataFactories.datas(
+                        DataFactories.data(InputEntityDecorators.NO_DECORATOR, () -> Readables.wrap(nodes.toString()))),
+                DataFactories.defaultFormatNodeFileHeader(),
+                DataFactories.datas(
+                        DataFactories.data(InputEntityDecorators.NO_DECORATOR, () -> Readables.wrap(rels.toString()))),
+                DataFactories.defaultFormatRelationshipFileHeader(),
+                IdType.ACTUAL,
+                org.neo4j.csv.reader.Configuration.COMMAS,
+                false,
+                CsvInput.NO_MONITOR,
+                INSTANCE);
+    }
+
+    private static Configuration resumingConfiguration() {
+        return configuration(true, Configuration.DEFAULT.inputFingerprint());
+    }
+
+    private static Configuration configuration(boolean resume, String inputFingerprint) {
+        return new Configuration.Overridden(Configuration.DEFAULT) {
+            @Override
+            public boolean resumeImport() {
+                return resume;
+            }
+
+            @Override
+            public String inputFingerprint() {
+                return inputFingerprint;
+            }
+        };
+    }
+
+    private List<long[]> randomRelationships() {
+        List<long[]> relationships = new ArrayList<>();
+        for (int i = 0; i < RELATIONSHIPS; i++) {
+            relationships.add(new long[] {random.nextInt(NODES), random.nextInt(NODES), random.nextInt(TYPES)});
+        }
+        return relationships;
+    }
+
+    private static Map<Long, Map<String, Integer>> expectedRelationshipsPerNode(List<long[]> relationships) {
+        Map<Long, Map<String, Integer>> expected = new HashMap<>();
+        for (long[] relationship : relationships) {
+            String key = key("TYPE_" + relationship[2], relationship[0], relationship[1]);
+            expected.computeIfAbsent(relationship[0], node -> new HashMap<>()).merge(key, 1, Integer::sum);
+            if (relationship[0] != relationship[1]) {
+                expected.computeIfAbsent(relationship[1], node -> new HashMap<>())
+                        .merge(key, 1, Integer::sum);
+            }
+        }
+        return expected;
+    }
+
+    private Map<Long, Map<String, Integer>> relationshipsPerNode() {
+        Map<Long, Map<String, Integer>> actual = new HashMap<>();
+        var idGeneratorFactory = new DefaultIdGeneratorFactory(
+                fileSystem, immediate(), false, PageCacheTracer.NULL, databaseLayout.getDatabaseName(), true, true);
+        try (NeoStores neoStores = new StoreFactory(
+                                databaseLayout,
+                                config,
+                                idGeneratorFactory,
+                                pageCache,
+                                PageCacheTracer.NULL,
+                                fileSystem,
+                                NullLogProvider.getInstance(),
+                                CONTEXT_FACTORY,
+                                true,
+                                LogTailLogVersionsMetadata.EMPTY_LOG_TAIL)
+                        .openAllNeoStores();
+                var storeCursors = new CachedStoreCursors(neoStores, NULL_CONTEXT)) {
+            var tokens = neoStores.getRelationshipTypeTokenStore();
+            RecordStorageReader reader = new RecordStorageReader(neoStores);
+            try (RecordNodeCursor nodeCursor = reader.allocateNodeCursor(NULL_CONTEXT, storeCursors);
+                    StorageRelationshipTraversalCursor relationshipCursor =
+                            reader.allocateRelationshipTraversalCursor(NULL_CONTEXT, storeCursors)) {
+                for (long node = 0; node < NODES; node++) {
+                    nodeCursor.single(node);
+                    assertThat(nodeCursor.next()).isTrue();
+                    nodeCursor.relationships(relationshipCursor, ALL_RELATIONSHIPS);
+                    while (relationshipCursor.next()) {
+                        String type = tokens.getToken(relationshipCursor.type(), storeCursors)
+                                .name();
+                        String key = key(
+                                type,
+                                relationshipCursor.sourceNodeReference(),
+                                relationshipCursor.targetNodeReference());
+                        actual.computeIfAbsent(node, n -> new HashMap<>()).merge(key, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return actual;
+    }
+
+    private static String key(String type, long startNode, long endNode) {
+        return "(" + startNode + ")-[:" + type + "]->(" + endNode + ")";
+    }
+
+    private static class FailingExecutionMonitor extends ExecutionMonitor.Adapter {
+        private final String failingStage;
+        private final RuntimeException failure;
+
+        FailingExecutionMonitor(String failingStage, RuntimeException failure) {
+            super(1, SECONDS);
+            this.failingStage = failingStage;
+            this.failure = failure;
+        }
+
+        @Override
+        public void end(StageExecution execution, long totalTimeMillis) {
+            if (execution.getStageName().equals(failingStage)) {
+                throw failure;
+            }
+        }
+
+        @Override
+        public void check(StageExecution execution) {}
+    }
+}
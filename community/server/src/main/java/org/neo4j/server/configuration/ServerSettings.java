@@ -20,6 +20,7 @@
 package org.neo4j.server.configuration;
 
 import static java.util.Collections.emptyList;
+import static org.neo4j.configuration.SettingConstraints.min;
 import static org.neo4j.configuration.SettingConstraints.range;
 import static org.neo4j.configuration.SettingImpl.newBuilder;
 import static org.neo4j.configuration.SettingValueParsers.BOOL;
@@ -59,6 +60,30 @@ public class ServerSettings implements SettingsDeclaration {
                     "internal.dbms.max_http_response_header_size", INT, 20480)
             .build();
 
+    @Description("Compress HTTP responses with gzip for clients that accept it.")
+    @Internal
+    public static final Setting<Boolean> http_response_compression_enabled = newBuilder(
+                    "internal.dbms.http_response_compression_enabled", BOOL, false)
+            .build();
+
+    @Description("Minimum size in bytes of an HTTP response for it to be compressed.")
+    @Internal
+    public static final Setting<Integer> http_response_compression_min_size = newBuilder(
+                    "internal.dbms.http_response_compression_min_size", INT, 1024)
+            .addConstraint(min(0))
+            .build();
+
+    @Description("Minimum interval between flushes of the records streamed by the transactional HTTP endpoint. "
+            + "With the default of zero every record is flushed to the client as soon as it has been written. "
+            + "A positive interval lets records accumulate in the response buffers in between flushes, which "
+            + "reduces the number of writes and response chunks of large results, but may hold back the latest "
+            + "records of a slow query until the next record or the end of the result is produced.")
+    @Internal
+    public static final Setting<Duration> http_record_flush_interval = newBuilder(
+                    "internal.dbms.http_record_flush_interval", DURATION, Duration.ZERO)
+            .addConstraint(min(Duration.ZERO))
+            .build();
+
     @Description(
             "Number of Neo4j worker threads. This setting is only valid for REST, and does not influence bolt-server. "
                     + "It sets the amount of worker threads for the Jetty server used by neo4j-server. "
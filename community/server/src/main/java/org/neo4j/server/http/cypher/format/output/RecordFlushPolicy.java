@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.http.cypher.format.output;
+
+import java.time.Duration;
+import org.neo4j.configuration.Config;
+import org.neo4j.server.configuration.ServerSettings;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Decides when a serializer streaming records should flush them to the client.
+ * <p>
+ * By default every record is flushed as soon as it has been written, so that clients see each record without delay.
+ * Flushing after every record does however turn every record into a write of its own on the connection, and into a
+ * chunk of its own in a chunked response. With a positive flush interval, configured through
+ * {@link ServerSettings#http_record_flush_interval}, records are instead left to accumulate in the buffers of the
+ * generator and the container, and are only flushed explicitly when the interval has passed since the last flush.
+ * The first record of a response is always flushed, so that clients of slow queries still see results as soon as
+ * they are available.
+ */
+public final class RecordFlushPolicy {
+    private final SystemNanoClock clock;
+    private final long flushIntervalNanos;
+    private boolean flushed;
+    private long lastFlushNanos;
+
+    public RecordFlushPolicy() {
+        this(Duration.ZERO);
+    }
+
+    public RecordFlushPolicy(Duration flushInterval) {
+        this(Clocks.nanoClock(), flushInterval);
+    }
+
+    public RecordFlushPolicy(SystemNanoClock clock, Duration flushInterval) {
+        this.clock = clock;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    /**
+     * @param config the server configuration, or {@code null} if none is available in which case every record is
+     *               flushed.
+     * @return a policy flushing records at the interval configured for the server.
+     */
+    public static RecordFlushPolicy fromConfig(Config config) {
+        if (config == null) {
+            return new RecordFlushPolicy();
+        }
+        return new RecordFlushPolicy(config.get(ServerSettings.http_record_flush_interval));
+    }
+
+    /**
+     * @return {@code true} if the record that was just written should be flushed to the client.
+     */
+    public boolean shouldFlushRecord() {
+        if (flushIntervalNanos == 0) {
+            return true;
+        }
+        long now = clock.nanos();
+        if (!flushed || now - lastFlushNanos >= flushIntervalNanos) {
+            flushed = true;
+            lastFlushNanos = now;
+            return true;
+        }
+        return false;
+    }
+}
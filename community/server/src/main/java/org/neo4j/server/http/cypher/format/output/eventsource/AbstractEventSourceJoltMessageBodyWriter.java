@@ -26,15 +26,21 @@ import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.function.Predicate;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyWriter;
+import org.neo4j.configuration.Config;
 import org.neo4j.server.http.cypher.format.DefaultJsonFactory;
 import org.neo4j.server.http.cypher.format.api.OutputEventSource;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 public abstract class AbstractEventSourceJoltMessageBodyWriter implements MessageBodyWriter<OutputEventSource> {
 
+    @Context
+    private Config config;
+
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return OutputEventSource.class.isAssignableFrom(type);
@@ -54,7 +60,8 @@ public abstract class AbstractEventSourceJoltMessageBodyWriter implements Messag
         var joltStrictModeEnabled = isJoltStrictModeEnabled(httpHeaders);
 
         var jsonFactory = DefaultJsonFactory.INSTANCE.get();
-        var serializer = this.createSerializer(output, jsonFactory, parameters, joltStrictModeEnabled);
+        var serializer = this.createSerializer(
+                output, jsonFactory, parameters, joltStrictModeEnabled, RecordFlushPolicy.fromConfig(config));
 
         outputEventSource.produceEvents(serializer::handleEvent);
     }
@@ -72,5 +79,9 @@ public abstract class AbstractEventSourceJoltMessageBodyWriter implements Messag
     protected abstract MediaType getMediaType();
 
     protected abstract EventSourceSerializer createSerializer(
-            OutputStream outputStream, JsonFactory jsonFactory, Map<String, Object> parameters, boolean strict);
+            OutputStream outputStream,
+            JsonFactory jsonFactory,
+            Map<String, Object> parameters,
+            boolean strict,
+            RecordFlushPolicy flushPolicy);
 }
@@ -26,6 +26,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.Provider;
 import org.neo4j.server.http.cypher.format.jolt.v1.JoltV1Codec;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 @Provider
 @Produces({
@@ -47,13 +48,18 @@ public class LineDelimitedEventSourceJoltMessageBodyWriter extends AbstractEvent
 
     @Override
     protected LineDelimitedEventSourceJoltSerializer createSerializer(
-            OutputStream outputStream, JsonFactory jsonFactory, Map<String, Object> parameters, boolean strict) {
+            OutputStream outputStream,
+            JsonFactory jsonFactory,
+            Map<String, Object> parameters,
+            boolean strict,
+            RecordFlushPolicy flushPolicy) {
         return new LineDelimitedEventSourceJoltSerializer(
                 parameters,
                 JoltV1Codec.class,
                 strict,
                 jsonFactory,
                 outputStream,
-                getMediaType().getType());
+                getMediaType().getType(),
+                flushPolicy);
     }
 }
@@ -30,6 +30,7 @@ import com.fasterxml.jackson.core.ObjectCodec;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -50,12 +51,15 @@ import org.neo4j.server.http.cypher.format.api.StatementStartEvent;
 import org.neo4j.server.http.cypher.format.api.TransactionInfoEvent;
 import org.neo4j.server.http.cypher.format.input.json.InputStatement;
 import org.neo4j.server.http.cypher.format.input.json.JsonMessageBodyReader;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 /**
  * A serializer that serializes {@link OutputEvent OutputEvents} from a {@link OutputEventSource} into a stream of
  * newline separated JSON documents.
  */
 class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
     protected final JsonGenerator jsonGenerator;
     protected final List<Notification> notifications = new ArrayList<>();
     protected final List<FailureEvent> errors = new ArrayList<>();
@@ -68,6 +72,7 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
     private final Map<String, Object> parameters;
 
     private final EventSourceWriter writer;
+    private final RecordFlushPolicy flushPolicy;
     private InputStatement inputStatement;
 
     LineDelimitedEventSourceJoltSerializer(
@@ -77,9 +82,21 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
             JsonFactory jsonFactory,
             OutputStream output,
             String deprecatedFormat) {
+        this(parameters, classOfCodec, isStrictMode, jsonFactory, output, deprecatedFormat, new RecordFlushPolicy());
+    }
+
+    LineDelimitedEventSourceJoltSerializer(
+            Map<String, Object> parameters,
+            Class<? extends ObjectCodec> classOfCodec,
+            boolean isStrictMode,
+            JsonFactory jsonFactory,
+            OutputStream output,
+            String deprecatedFormat,
+            RecordFlushPolicy flushPolicy) {
         this.parameters = parameters;
         this.output = output;
         this.writer = new EventSourceWriter();
+        this.flushPolicy = flushPolicy;
         this.deprecatedFormat = deprecatedFormat;
 
         ObjectCodec codec = instantiateCodec(isStrictMode, classOfCodec);
@@ -131,7 +148,13 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
     private static JsonGenerator createGenerator(JsonFactory jsonFactory, ObjectCodec codec, OutputStream output) {
         try {
             // we set the RootValueSeparator here to empty string to avoid extra spaces between root objects
-            return jsonFactory.copy().setRootValueSeparator("").setCodec(codec).createGenerator(output);
+            // and flush the output stream ourselves, so that records are not flushed to the client one by one
+            return jsonFactory
+                    .copy()
+                    .setRootValueSeparator("")
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setCodec(codec)
+                    .createGenerator(output);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to create JSON generator", e);
         }
@@ -164,7 +187,10 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
                 writer.write(jsonGenerator, recordEvent);
             } finally {
                 jsonGenerator.writeEndObject();
-                flush();
+                endDocument();
+                if (flushPolicy.shouldFlushRecord()) {
+                    output.flush();
+                }
             }
         } catch (JsonGenerationException e) {
             throw new IllegalStateException(e);
@@ -423,9 +449,13 @@ class LineDelimitedEventSourceJoltSerializer implements EventSourceSerializer {
     }
 
     private void flush() throws IOException {
-        jsonGenerator.flush();
+        endDocument();
         output.flush();
-        output.write("\n".getBytes());
+    }
+
+    private void endDocument() throws IOException {
+        jsonGenerator.flush();
+        output.write(NEW_LINE);
     }
 
     protected Notification deprecationWarning() {
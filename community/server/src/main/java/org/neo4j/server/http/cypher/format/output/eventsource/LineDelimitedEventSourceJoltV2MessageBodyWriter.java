@@ -26,6 +26,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.Provider;
 import org.neo4j.server.http.cypher.format.jolt.v2.JoltV2Codec;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 @Provider
 @Produces({LineDelimitedEventSourceJoltV2MessageBodyWriter.JSON_JOLT_MIME_TYPE_VALUE_WITH_QUALITY_V2})
@@ -42,8 +43,12 @@ public class LineDelimitedEventSourceJoltV2MessageBodyWriter extends AbstractEve
 
     @Override
     protected LineDelimitedEventSourceJoltSerializer createSerializer(
-            OutputStream outputStream, JsonFactory jsonFactory, Map<String, Object> parameters, boolean strict) {
+            OutputStream outputStream,
+            JsonFactory jsonFactory,
+            Map<String, Object> parameters,
+            boolean strict,
+            RecordFlushPolicy flushPolicy) {
         return new LineDelimitedEventSourceJoltSerializer(
-                parameters, JoltV2Codec.class, strict, jsonFactory, outputStream, null);
+                parameters, JoltV2Codec.class, strict, jsonFactory, outputStream, null, flushPolicy);
     }
 }
@@ -26,6 +26,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.Provider;
 import org.neo4j.server.http.cypher.format.jolt.v1.JoltV1Codec;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 @Provider
 @Produces({
@@ -46,13 +47,18 @@ public class SequentialEventSourceJoltMessageBodyWriter extends AbstractEventSou
 
     @Override
     protected EventSourceSerializer createSerializer(
-            OutputStream outputStream, JsonFactory jsonFactory, Map<String, Object> parameters, boolean strict) {
+            OutputStream outputStream,
+            JsonFactory jsonFactory,
+            Map<String, Object> parameters,
+            boolean strict,
+            RecordFlushPolicy flushPolicy) {
         return new SequentialEventSourceJoltSerializer(
                 parameters,
                 JoltV1Codec.class,
                 strict,
                 jsonFactory,
                 outputStream,
-                getMediaType().getType());
+                getMediaType().getType(),
+                flushPolicy);
     }
 }
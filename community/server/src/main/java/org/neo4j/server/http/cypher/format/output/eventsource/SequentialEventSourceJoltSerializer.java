@@ -33,6 +33,7 @@ import org.neo4j.server.http.cypher.format.api.StatementEndEvent;
 import org.neo4j.server.http.cypher.format.api.StatementStartEvent;
 import org.neo4j.server.http.cypher.format.api.TransactionInfoEvent;
 import org.neo4j.server.http.cypher.format.input.json.InputStatement;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 /**
  * A serializer that serializes {@link OutputEvent OutputEvents} from a {@link OutputEventSource} into a stream of JSON documents in accordance with RFC 7464.
@@ -51,6 +52,17 @@ public class SequentialEventSourceJoltSerializer extends LineDelimitedEventSourc
         super(parameters, classOfCodec, isStrictMode, jsonFactory, output, deprecatedFormat);
     }
 
+    public SequentialEventSourceJoltSerializer(
+            Map<String, Object> parameters,
+            Class<? extends ObjectCodec> classOfCodec,
+            boolean isStrictMode,
+            JsonFactory jsonFactory,
+            OutputStream output,
+            String deprecatedFormat,
+            RecordFlushPolicy flushPolicy) {
+        super(parameters, classOfCodec, isStrictMode, jsonFactory, output, deprecatedFormat, flushPolicy);
+    }
+
     private void writeRecordSeparator() {
         try {
             this.output.write(RECORD_SEPARATOR);
@@ -26,6 +26,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.Provider;
 import org.neo4j.server.http.cypher.format.jolt.v2.JoltV2Codec;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 @Provider
 @Produces({SequentialEventSourceJoltV2MessageBodyWriter.JSON_JOLT_MIME_TYPE_VALUE_WITH_QUALITY_V2})
@@ -41,8 +42,12 @@ public class SequentialEventSourceJoltV2MessageBodyWriter extends AbstractEventS
 
     @Override
     protected EventSourceSerializer createSerializer(
-            OutputStream outputStream, JsonFactory jsonFactory, Map<String, Object> parameters, boolean strict) {
+            OutputStream outputStream,
+            JsonFactory jsonFactory,
+            Map<String, Object> parameters,
+            boolean strict,
+            RecordFlushPolicy flushPolicy) {
         return new SequentialEventSourceJoltSerializer(
-                parameters, JoltV2Codec.class, strict, jsonFactory, outputStream, null);
+                parameters, JoltV2Codec.class, strict, jsonFactory, outputStream, null, flushPolicy);
     }
 }
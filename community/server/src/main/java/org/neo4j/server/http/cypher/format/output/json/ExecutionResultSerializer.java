@@ -51,6 +51,7 @@ import org.neo4j.server.http.cypher.format.api.StatementStartEvent;
 import org.neo4j.server.http.cypher.format.api.TransactionInfoEvent;
 import org.neo4j.server.http.cypher.format.input.json.InputStatement;
 import org.neo4j.server.http.cypher.format.input.json.JsonMessageBodyReader;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 /**
  * A stateful serializer that serializes event stream produced  by {@link OutputEventSource} into JSON. The serialization methods are expected to be invoked in
@@ -70,6 +71,7 @@ class ExecutionResultSerializer {
      */
     private final Map<String, Object> parameters;
 
+    private final RecordFlushPolicy flushPolicy;
     private ResultDataContentWriter writer;
     private InputStatement inputStatement;
 
@@ -84,9 +86,20 @@ class ExecutionResultSerializer {
             Class<? extends ObjectCodec> classOfCodec,
             JsonFactory jsonFactory,
             OutputStream output) {
+        this(parameters, baseUri, classOfCodec, jsonFactory, output, new RecordFlushPolicy());
+    }
+
+    ExecutionResultSerializer(
+            Map<String, Object> parameters,
+            URI baseUri,
+            Class<? extends ObjectCodec> classOfCodec,
+            JsonFactory jsonFactory,
+            OutputStream output,
+            RecordFlushPolicy flushPolicy) {
         this.parameters = parameters;
         this.baseUri = baseUri;
         this.output = output;
+        this.flushPolicy = flushPolicy;
 
         ObjectCodec codec = instantiateCodec(classOfCodec);
         this.jsonGenerator = createGenerator(jsonFactory, codec, output);
@@ -165,7 +178,9 @@ class ExecutionResultSerializer {
             } finally {
                 jsonGenerator.writeEndObject();
             }
-            flush();
+            if (flushPolicy.shouldFlushRecord()) {
+                flush();
+            }
         } catch (JsonGenerationException e) {
             throw new IllegalStateException(e);
         } catch (IOException e) {
@@ -24,11 +24,8 @@ import static org.neo4j.server.http.cypher.entity.Predicates.isFullNode;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Supplier;
 import org.neo4j.graphdb.Entity;
 import org.neo4j.graphdb.Label;
@@ -38,24 +35,43 @@ import org.neo4j.graphdb.Relationship;
 import org.neo4j.internal.helpers.collection.IterableWrapper;
 import org.neo4j.server.http.cypher.format.api.RecordEvent;
 
+/**
+ * Writes the nodes and relationships found in a record as a graph.
+ * <p>
+ * Entities are de-duplicated per record. The maps used to do so are reused for all records written by this writer,
+ * unless a record was large enough for them to grow beyond {@link #MAX_RETAINED_ENTITIES}, so that a single large
+ * record does not hold on to memory for the rest of the result.
+ */
 class GraphExtractionWriter implements ResultDataContentWriter {
-    @Override
-    public void write(JsonGenerator out, RecordEvent recordEvent) throws IOException {
-        var nodesMap = new HashMap<Long, Node>();
-        var relationshipList = new ArrayList<Relationship>();
+    static final int MAX_RETAINED_ENTITIES = 1024;
 
-        extract(nodesMap, relationshipList, map(recordEvent));
+    private Map<Long, Node> nodes = new HashMap<>();
+    private Map<Long, Relationship> relationships = new HashMap<>();
 
-        Set<Node> nodes = new HashSet<>(nodesMap.values());
-        Set<Relationship> relationships = new HashSet<>(relationshipList);
-
-        out.writeObjectFieldStart("graph");
+    @Override
+    public void write(JsonGenerator out, RecordEvent recordEvent) throws IOException {
         try {
-            writeNodes(out, nodes);
-            writeRelationships(out, relationships);
+            extract(nodes, relationships, map(recordEvent));
+
+            out.writeObjectFieldStart("graph");
+            try {
+                writeNodes(out, nodes.values());
+                writeRelationships(out, relationships.values());
+            } finally {
+                out.writeEndObject();
+            }
         } finally {
-            out.writeEndObject();
+            nodes = reset(nodes);
+            relationships = reset(relationships);
+        }
+    }
+
+    private static <T> Map<Long, T> reset(Map<Long, T> entities) {
+        if (entities.size() > MAX_RETAINED_ENTITIES) {
+            return new HashMap<>();
         }
+        entities.clear();
+        return entities;
     }
 
     private static void writeNodes(JsonGenerator out, Iterable<Node> nodes) throws IOException {
@@ -136,13 +152,13 @@ class GraphExtractionWriter implements ResultDataContentWriter {
         }
     }
 
-    private static void extract(Map<Long, Node> nodes, ArrayList<Relationship> relationships, Iterable<?> source)
+    private static void extract(Map<Long, Node> nodes, Map<Long, Relationship> relationships, Iterable<?> source)
             throws IOException {
         for (Object item : source) {
             if (item instanceof Node node) {
                 addNode(nodes, node.getId(), () -> node);
             } else if (item instanceof Relationship relationship) {
-                relationships.add(relationship);
+                relationships.putIfAbsent(relationship.getId(), relationship);
                 addNode(nodes, relationship.getStartNodeId(), relationship::getStartNode);
                 addNode(nodes, relationship.getEndNodeId(), relationship::getEndNode);
             }
@@ -151,7 +167,7 @@ class GraphExtractionWriter implements ResultDataContentWriter {
                     addNode(nodes, node.getId(), () -> node);
                 }
                 for (Relationship relationship : path.relationships()) {
-                    relationships.add(relationship);
+                    relationships.putIfAbsent(relationship.getId(), relationship);
                 }
             } else if (item instanceof Map<?, ?>) {
                 extract(nodes, relationships, ((Map<?, ?>) item).values());
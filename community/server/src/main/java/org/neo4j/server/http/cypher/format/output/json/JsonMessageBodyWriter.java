@@ -24,13 +24,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import javax.ws.rs.Produces;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import org.neo4j.configuration.Config;
 import org.neo4j.server.http.cypher.format.DefaultJsonFactory;
 import org.neo4j.server.http.cypher.format.api.OutputEventSource;
 import org.neo4j.server.http.cypher.format.common.Neo4jJsonCodec;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 
 @Provider
 @Produces(JsonMessageBodyWriter.JSON_MIME_TYPE_WITH_QUALITY)
@@ -38,6 +41,9 @@ public class JsonMessageBodyWriter implements MessageBodyWriter<OutputEventSourc
     // ensures this MessageBodyWriter is the default when no accept header is provided by giving it a higher qs score
     public static final String JSON_MIME_TYPE_WITH_QUALITY = MediaType.APPLICATION_JSON + ";qs=0.9";
 
+    @Context
+    private Config config;
+
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
         return OutputEventSource.class.isAssignableFrom(type);
@@ -58,7 +64,12 @@ public class JsonMessageBodyWriter implements MessageBodyWriter<OutputEventSourc
 
         var jsonFactory = DefaultJsonFactory.INSTANCE.get();
         var serializer = new ExecutionResultSerializer(
-                parameters, uriInfo.dbUri(), Neo4jJsonCodec.class, jsonFactory, entityStream);
+                parameters,
+                uriInfo.dbUri(),
+                Neo4jJsonCodec.class,
+                jsonFactory,
+                entityStream,
+                RecordFlushPolicy.fromConfig(config));
 
         outputEventSource.produceEvents(serializer::handleEvent);
     }
@@ -38,6 +38,7 @@ import java.util.TreeSet;
 import java.util.concurrent.BlockingQueue;
 import javax.servlet.DispatcherType;
 import javax.servlet.Filter;
+import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.io.ByteBufferPool;
 import org.eclipse.jetty.server.RequestLog;
 import org.eclipse.jetty.server.Server;
@@ -46,6 +47,7 @@ import org.eclipse.jetty.server.handler.HandlerCollection;
 import org.eclipse.jetty.server.handler.HandlerList;
 import org.eclipse.jetty.server.handler.MovedContextHandler;
 import org.eclipse.jetty.server.handler.RequestLogHandler;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.server.session.SessionHandler;
 import org.eclipse.jetty.servlet.FilterHolder;
 import org.eclipse.jetty.servlet.ServletContextHandler;
@@ -93,6 +95,8 @@ public class JettyWebServer implements WebServer, WebContainerThreadInfo {
     private SslPolicy sslPolicy;
     private final boolean ocspStaplingEnabled;
     private final String contentSecurityPolicyHeader;
+    private final boolean responseCompressionEnabled;
+    private final int responseCompressionMinSize;
     private final SslSocketConnectorFactory sslSocketFactory;
     private final HttpConnectorFactory connectorFactory;
     private final InternalLog log;
@@ -105,6 +109,8 @@ public class JettyWebServer implements WebServer, WebContainerThreadInfo {
         this.log = logProvider.getLog(getClass());
         this.ocspStaplingEnabled = config.get(CommonConnectorConfig.ocsp_stapling_enabled);
         this.contentSecurityPolicyHeader = config.get(ServerSettings.http_static_content_security_policy);
+        this.responseCompressionEnabled = config.get(ServerSettings.http_response_compression_enabled);
+        this.responseCompressionMinSize = config.get(ServerSettings.http_response_compression_min_size);
         sslSocketFactory = new SslSocketConnectorFactory(connectionTracker, config, byteBufferPool);
         connectorFactory = new HttpConnectorFactory(connectionTracker, config, byteBufferPool);
     }
@@ -143,6 +149,10 @@ public class JettyWebServer implements WebServer, WebContainerThreadInfo {
 
         loadAllMounts();
 
+        if (responseCompressionEnabled) {
+            loadResponseCompression();
+        }
+
         if (requestLog != null) {
             loadRequestLogging();
         }
@@ -317,6 +327,19 @@ public class JettyWebServer implements WebServer, WebContainerThreadInfo {
         }
     }
 
+    private void loadResponseCompression() {
+        // This makes the gzip handler decorate whatever other handlers are already set up
+        final GzipHandler gzipHandler = new GzipHandler();
+        gzipHandler.setMinGzipSize(responseCompressionMinSize);
+        // Results of the transactional endpoint are requested with POST, which is not compressed by default
+        gzipHandler.setIncludedMethods(HttpMethod.GET.asString(), HttpMethod.POST.asString());
+        // Streamed results must reach the client whenever the serializer flushes them
+        gzipHandler.setSyncFlush(true);
+        gzipHandler.setServer(jetty);
+        gzipHandler.setHandler(jetty.getHandler());
+        jetty.setHandler(gzipHandler);
+    }
+
     private void loadRequestLogging() {
         // This makes the request log handler decorate whatever other handlers are already set up
         final RequestLogHandler requestLogHandler = new HttpChannelOptionalRequestLogHandler();
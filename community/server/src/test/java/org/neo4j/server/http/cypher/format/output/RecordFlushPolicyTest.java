@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [https://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.neo4j.server.http.cypher.format.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.neo4j.configuration.Config;
+import org.neo4j.server.configuration.ServerSettings;
+import org.neo4j.time.FakeClock;
+
+class RecordFlushPolicyTest {
+    private final FakeClock clock = new FakeClock();
+    private final RecordFlushPolicy policy = new RecordFlushPolicy(clock, Duration.ofMillis(50));
+
+    @Test
+    void shouldFlushFirstRecord() {
+        assertThat(policy.shouldFlushRecord()).isTrue();
+    }
+
+    @Test
+    void shouldFlushRecordsOncePerFlushInterval() {
+        assertThat(policy.shouldFlushRecord()).isTrue();
+        assertThat(policy.shouldFlushRecord()).isFalse();
+
+        clock.forward(Duration.ofMillis(49));
+        assertThat(policy.shouldFlushRecord()).isFalse();
+
+        clock.forward(Duration.ofMillis(1));
+        assertThat(policy.shouldFlushRecord()).isTrue();
+        assertThat(policy.shouldFlushRecord()).isFalse();
+    }
+
+    @Test
+    void shouldFlushEveryRecordByDefault() {
+        var defaultPolicy = new RecordFlushPolicy(clock, Duration.ZERO);
+
+        assertThat(defaultPolicy.shouldFlushRecord()).isTrue();
+        assertThat(defaultPolicy.shouldFlushRecord()).isTrue();
+        assertThat(defaultPolicy.shouldFlushRecord()).isTrue();
+    }
+
+    @Test
+    void shouldOnlyBatchRecordsWhenConfigured() {
+        var defaultPolicy = RecordFlushPolicy.fromConfig(Config.defaults());
+        assertThat(defaultPolicy.shouldFlushRecord()).isTrue();
+        assertThat(defaultPolicy.shouldFlushRecord()).isTrue();
+
+        var batchingPolicy = RecordFlushPolicy.fromConfig(
+                Config.defaults(ServerSettings.http_record_flush_interval, Duration.ofMinutes(1)));
+        assertThat(batchingPolicy.shouldFlushRecord()).isTrue();
+        assertThat(batchingPolicy.shouldFlushRecord()).isFalse();
+    }
+}
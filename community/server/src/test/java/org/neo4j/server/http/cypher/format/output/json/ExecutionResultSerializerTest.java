@@ -69,6 +69,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -99,10 +100,12 @@ import org.neo4j.server.http.cypher.format.api.TransactionInfoEvent;
 import org.neo4j.server.http.cypher.format.api.TransactionNotificationState;
 import org.neo4j.server.http.cypher.format.common.Neo4jJsonCodec;
 import org.neo4j.server.http.cypher.format.input.json.InputStatement;
+import org.neo4j.server.http.cypher.format.output.RecordFlushPolicy;
 import org.neo4j.server.rest.domain.JsonParseException;
 import org.neo4j.test.mockito.mock.GraphMock;
 import org.neo4j.test.mockito.mock.Link;
 import org.neo4j.test.mockito.mock.SpatialMocks;
+import org.neo4j.time.FakeClock;
 
 class ExecutionResultSerializerTest {
     private static final Map<String, Object> NO_ARGS = Collections.emptyMap();
@@ -318,6 +321,55 @@ class ExecutionResultSerializerTest {
                 result);
     }
 
+    @Test
+    void shouldNotFlushEveryRecordToTheClient() {
+        // given
+        var clock = new FakeClock();
+        var flushes = new AtomicInteger();
+        var flushCountingOutput = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        var serializer = new ExecutionResultSerializer(
+                NO_ARGS,
+                null,
+                Neo4jJsonCodec.class,
+                JSON_FACTORY,
+                flushCountingOutput,
+                new RecordFlushPolicy(clock, Duration.ofMillis(50)));
+
+        // when
+        writeStatementStart(serializer, "column");
+        writeRecord(serializer, Map.of("column", 1), "column");
+        writeRecord(serializer, Map.of("column", 2), "column");
+        writeRecord(serializer, Map.of("column", 3), "column");
+
+        // then the first record is flushed right away, the others wait for the flush interval to pass
+        assertThat(flushes).hasValue(1);
+
+        // when
+        clock.forward(Duration.ofMillis(50));
+        writeRecord(serializer, Map.of("column", 4), "column");
+
+        // then
+        assertThat(flushes).hasValue(2);
+
+        // when
+        writeStatementEnd(serializer);
+        writeTransactionInfo(serializer);
+
+        // then
+        assertThat(flushes).hasValue(3);
+        assertEquals(
+                "{\"results\":[{\"columns\":[\"column\"],"
+                        + "\"data\":[{\"row\":[1],\"meta\":[null]},{\"row\":[2],\"meta\":[null]},"
+                        + "{\"row\":[3],\"meta\":[null]},{\"row\":[4],\"meta\":[null]}]}],"
+                        + "\"errors\":[]}",
+                flushCountingOutput.toString(UTF_8));
+    }
+
     @Test
     void shouldSerializeResponseWithMultipleResults() {
         // given
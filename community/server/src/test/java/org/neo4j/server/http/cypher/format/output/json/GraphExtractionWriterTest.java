@@ -183,15 +183,59 @@ class GraphExtractionWriterTest {
         assertRelationships(result);
     }
 
+    @Test
+    void shouldWriteEveryEntityOnceWhenReferencedSeveralTimes() throws Exception {
+        // given
+        Map<String, Object> row = new HashMap<>();
+        row.put("r1", r1);
+        row.put("p", path(n2, link(r1, n1), link(r2, n3)));
+        row.put("list", List.of(r1, r2, n1));
+
+        // when
+        JsonNode result = write(row);
+
+        // then
+        assertNodes(result);
+        assertRelationships(result);
+    }
+
+    @Test
+    void shouldOnlyWriteEntitiesOfEachRecordWhenWritingSeveralRecords() throws Exception {
+        // given
+        GraphExtractionWriter writer = new GraphExtractionWriter();
+        Map<String, Object> firstRow = new HashMap<>();
+        firstRow.put("r1", r1);
+        firstRow.put("r2", r2);
+        Map<String, Object> secondRow = new HashMap<>();
+        secondRow.put("n2", n2);
+
+        // when
+        JsonNode first = write(writer, firstRow);
+        JsonNode second = write(writer, secondRow);
+
+        // then
+        assertNodes(first);
+        assertRelationships(first);
+        JsonNode nodes = second.get("graph").get("nodes");
+        assertEquals(1, nodes.size(), "there should be 1 node");
+        assertNode("666", "666", nodes, Arrays.asList(), property("name", "n2"));
+        assertEquals(0, second.get("graph").get("relationships").size(), "there should be no relationships");
+    }
+
     // The code under test
 
     private JsonNode write(Map<String, Object> row) throws IOException, JsonParseException {
+        return write(new GraphExtractionWriter(), row);
+    }
+
+    private JsonNode write(GraphExtractionWriter writer, Map<String, Object> row)
+            throws IOException, JsonParseException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         JsonGenerator json = jsonFactory.createGenerator(out);
         json.writeStartObject();
         try {
             RecordEvent recordEvent = new RecordEvent(new ArrayList<>(row.keySet()), row::get);
-            new GraphExtractionWriter().write(json, recordEvent);
+            writer.write(json, recordEvent);
         } finally {
             json.writeEndObject();
             json.flush();
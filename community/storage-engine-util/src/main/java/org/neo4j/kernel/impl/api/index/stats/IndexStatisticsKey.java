@@ -40,12 +40,16 @@ import org.neo4j.io.pagecache.PageCursor;
  *      {@link IndexStatisticsValue#INDEX_USAGE_LAST_READ},
  *      {@link IndexStatisticsValue#INDEX_USAGE_READ_COUNT}
  *      {@link IndexStatisticsValue#INDEX_USAGE_TRACKED_SINCE}
+ * - {@link #TYPE_HISTOGRAM} to {@link #TYPE_HISTOGRAM_LAST}: Values contain consecutive chunks of a serialized
+ *      {@link org.neo4j.kernel.api.index.IndexValueHistogram}, where the first chunk starts with the number of bytes
  */
 @SuppressWarnings({"NonFinalFieldReferenceInEquals", "NonFinalFieldReferencedInHashCode"})
 class IndexStatisticsKey implements Comparable<IndexStatisticsKey> {
     static final int SIZE = Long.SIZE;
     static final byte TYPE_SAMPLE = 0;
     static final byte TYPE_USAGE = 1;
+    static final byte TYPE_HISTOGRAM = 2;
+    static final byte TYPE_HISTOGRAM_LAST = Byte.MAX_VALUE;
 
     private static final int NUM_TYPE_BITS = Byte.SIZE;
     private static final int NUM_INDEX_ID_BITS = SIZE - NUM_TYPE_BITS;
@@ -68,6 +72,10 @@ class IndexStatisticsKey implements Comparable<IndexStatisticsKey> {
         return key & MASK_INDEX_ID;
     }
 
+    boolean isHistogram() {
+        return getType() >= TYPE_HISTOGRAM;
+    }
+
     byte getType() {
         return (byte) ((key >>> SHIFT_TYPE_BITS) & MASK_TYPE);
     }
@@ -113,7 +121,7 @@ class IndexStatisticsKey implements Comparable<IndexStatisticsKey> {
     }
 
     void initializeAsHighest() {
-        set(IndexStatisticsKey.MAX_INDEX_ID, IndexStatisticsKey.TYPE_USAGE);
+        set(IndexStatisticsKey.MAX_INDEX_ID, IndexStatisticsKey.TYPE_HISTOGRAM_LAST);
     }
 
     void write(PageCursor cursor) {
@@ -27,8 +27,25 @@ import org.neo4j.io.pagecache.PageCursor;
  * {@link GBPTree} layout in {@link IndexStatisticsStore}, using {@link IndexStatisticsKey} and {@link IndexStatisticsValue}.
  */
 public class IndexStatisticsLayout extends Layout.Adapter<IndexStatisticsKey, IndexStatisticsValue> {
+    private static final long IDENTIFIER = 556_677;
+    private static final int MAJOR_VERSION = 0;
+    // Version 3 added the histogram key types, which versions before it fail to read
+    private static final int MINOR_VERSION = 3;
+    private static final int MINOR_VERSION_WITHOUT_HISTOGRAMS = 2;
+
     public IndexStatisticsLayout() {
-        super(true, 556_677, 0, 2);
+        this(MINOR_VERSION);
+    }
+
+    private IndexStatisticsLayout(int minorVersion) {
+        super(true, IDENTIFIER, MAJOR_VERSION, minorVersion);
+    }
+
+    /**
+     * @return the layout of stores written before value histograms were stored, which only contain samples and usage.
+     */
+    public static IndexStatisticsLayout withoutHistograms() {
+        return new IndexStatisticsLayout(MINOR_VERSION_WITHOUT_HISTOGRAMS);
     }
 
     @Override
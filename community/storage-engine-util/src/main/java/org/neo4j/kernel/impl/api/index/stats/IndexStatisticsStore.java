@@ -20,26 +20,33 @@
 package org.neo4j.kernel.impl.api.index.stats;
 
 import static org.neo4j.index.internal.gbptree.DataTree.W_BATCHED_SINGLE_THREADED;
+import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_HISTOGRAM;
+import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_HISTOGRAM_LAST;
 import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_SAMPLE;
 import static org.neo4j.kernel.impl.api.index.stats.IndexStatisticsKey.TYPE_USAGE;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import org.eclipse.collections.api.set.ImmutableSet;
 import org.neo4j.annotations.documented.ReporterFactory;
 import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.MetadataMismatchException;
 import org.neo4j.index.internal.gbptree.MultiRootGBPTree;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.index.internal.gbptree.TreeFileNotFoundException;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.internal.helpers.progress.ProgressMonitorFactory;
+import org.neo4j.io.IOUtils;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.layout.CommonDatabaseStores;
 import org.neo4j.io.layout.DatabaseLayout;
@@ -51,19 +58,29 @@ import org.neo4j.io.pagecache.tracing.FileFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.kernel.api.index.IndexSample;
 import org.neo4j.kernel.api.index.IndexUsageStats;
+import org.neo4j.kernel.api.index.IndexValueHistogram;
 import org.neo4j.kernel.impl.index.schema.ConsistencyCheckable;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.InternalLog;
+import org.neo4j.logging.InternalLogProvider;
 
 /**
  * A simple store for keeping index statistics counts, like number of updates, index size, number of unique values a.s.o.
  * These values aren't updated transactionally and so the data is just kept in memory and flushed to a {@link GBPTree} on every checkpoint.
  * Neither reads, writes nor checkpoints block each other.
  *
+ * The {@link IndexValueHistogram} of an index sample is serialized into the values of several consecutive keys, and is
+ * always written and read as a whole. Stores written before histograms were stored are migrated when opened, so that
+ * versions that don't know the histogram keys refuse to open the store instead of failing to read it.
+ *
  * The store is accessible after {@link #init()} has been called.
  */
 public class IndexStatisticsStore extends LifecycleAdapter
         implements IndexStatisticsVisitor.Visitable, ConsistencyCheckable, IndexUsageStatsConsumer {
     private static final IndexStatisticsValue EMPTY_STATISTICS = new IndexStatisticsValue();
+    private static final int HISTOGRAM_CHUNK_SIZE = IndexStatisticsValue.NUM_LONGS * Long.BYTES;
+    private static final int MAX_HISTOGRAM_SIZE =
+            (TYPE_HISTOGRAM_LAST - TYPE_HISTOGRAM + 1) * HISTOGRAM_CHUNK_SIZE - Integer.BYTES;
 
     private final PageCache pageCache;
     private final FileSystemAbstraction fileSystem;
@@ -73,10 +90,13 @@ public class IndexStatisticsStore extends LifecycleAdapter
     private final PageCacheTracer pageCacheTracer;
     private final IndexStatisticsLayout layout;
     private final boolean readOnly;
+    private final InternalLog log;
     private GBPTree<IndexStatisticsKey, IndexStatisticsValue> tree;
     // Let IndexStatisticsValue be immutable in this map so that checkpoint doesn't have to coordinate with concurrent
     // writers. It's assumed that the data in this map will be so small that everything can just be in it always.
     private final ConcurrentHashMap<IndexStatisticsKey, IndexStatisticsValue> cache = new ConcurrentHashMap<>();
+    // Histograms span several keys, so they are kept apart to let checkpoints write each of them as a whole
+    private final ConcurrentHashMap<Long, StoredHistogram> histograms = new ConcurrentHashMap<>();
 
     public IndexStatisticsStore(
             PageCache pageCache,
@@ -84,6 +104,7 @@ public class IndexStatisticsStore extends LifecycleAdapter
             DatabaseLayout databaseLayout,
             RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
             boolean readOnly,
+            InternalLogProvider logProvider,
             CursorContextFactory contextFactory,
             PageCacheTracer pageCacheTracer,
             ImmutableSet<OpenOption> openOptions)
@@ -95,6 +116,7 @@ public class IndexStatisticsStore extends LifecycleAdapter
                 recoveryCleanupWorkCollector,
                 readOnly,
                 databaseLayout.getDatabaseName(),
+                logProvider,
                 contextFactory,
                 pageCacheTracer,
                 openOptions);
@@ -107,6 +129,7 @@ public class IndexStatisticsStore extends LifecycleAdapter
             RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
             boolean readOnly,
             String databaseName,
+            InternalLogProvider logProvider,
             CursorContextFactory contextFactory,
             PageCacheTracer pageCacheTracer,
             ImmutableSet<OpenOption> openOptions)
@@ -119,28 +142,33 @@ public class IndexStatisticsStore extends LifecycleAdapter
         this.pageCacheTracer = pageCacheTracer;
         this.layout = new IndexStatisticsLayout();
         this.readOnly = readOnly;
+        this.log = logProvider.getLog(IndexStatisticsStore.class);
         initTree(contextFactory, openOptions);
     }
 
     private void initTree(CursorContextFactory contextFactory, ImmutableSet<OpenOption> openOptions)
             throws IOException {
         try {
-            tree = new GBPTree<>(
-                    pageCache,
-                    fileSystem,
-                    path,
-                    layout,
-                    MultiRootGBPTree.NO_MONITOR,
-                    MultiRootGBPTree.NO_HEADER_READER,
-                    recoveryCleanupWorkCollector,
-                    readOnly,
-                    openOptions.newWithout(PageCacheOpenOptions.MULTI_VERSIONED),
-                    databaseName,
-                    "Statistics store",
-                    contextFactory,
-                    pageCacheTracer);
+            try {
+                tree = openTree(layout, recoveryCleanupWorkCollector, readOnly, contextFactory, openOptions);
+            } catch (MetadataMismatchException e) {
+                tree = openTreeWithoutHistograms(e, contextFactory, openOptions);
+            }
             try (var cursorContext = contextFactory.create("indexStatisticScan")) {
-                scanTree(cache::put, cursorContext);
+                Map<Long, List<IndexStatisticsValue>> histogramChunks = new HashMap<>();
+                scanTree(
+                        (key, value) -> {
+                            if (key.isHistogram()) {
+                                // Keys are ordered by type first, so the chunks of each histogram come in order
+                                histogramChunks
+                                        .computeIfAbsent(key.getIndexId(), id -> new ArrayList<>())
+                                        .add(value);
+                            } else {
+                                cache.put(key, value);
+                            }
+                        },
+                        cursorContext);
+                histogramChunks.forEach(this::loadHistogram);
             }
         } catch (TreeFileNotFoundException e) {
             throw new IllegalStateException(
@@ -150,6 +178,75 @@ public class IndexStatisticsStore extends LifecycleAdapter
         }
     }
 
+    private GBPTree<IndexStatisticsKey, IndexStatisticsValue> openTree(
+            IndexStatisticsLayout treeLayout,
+            RecoveryCleanupWorkCollector cleanupWorkCollector,
+            boolean readOnlyTree,
+            CursorContextFactory contextFactory,
+            ImmutableSet<OpenOption> openOptions) {
+        return new GBPTree<>(
+                pageCache,
+                fileSystem,
+                path,
+                treeLayout,
+                MultiRootGBPTree.NO_MONITOR,
+                MultiRootGBPTree.NO_HEADER_READER,
+                cleanupWorkCollector,
+                readOnlyTree,
+                openOptions.newWithout(PageCacheOpenOptions.MULTI_VERSIONED),
+                databaseName,
+                "Statistics store",
+                contextFactory,
+                pageCacheTracer);
+    }
+
+    /**
+     * Opens a store that was written before histograms were stored. A read only store is read as it is, since it will
+     * never be written. Otherwise the samples and usage statistics are moved to a store of the current layout.
+     */
+    private GBPTree<IndexStatisticsKey, IndexStatisticsValue> openTreeWithoutHistograms(
+            MetadataMismatchException mismatch,
+            CursorContextFactory contextFactory,
+            ImmutableSet<OpenOption> openOptions)
+            throws IOException {
+        GBPTree<IndexStatisticsKey, IndexStatisticsValue> previousTree;
+        try {
+            previousTree = openTree(
+                    IndexStatisticsLayout.withoutHistograms(),
+                    readOnly ? recoveryCleanupWorkCollector : RecoveryCleanupWorkCollector.ignore(),
+                    true,
+                    contextFactory,
+                    openOptions);
+        } catch (MetadataMismatchException e) {
+            mismatch.addSuppressed(e);
+            throw mismatch;
+        }
+        if (readOnly) {
+            return previousTree;
+        }
+
+        log.info("Migrating index statistics store " + path + " to the format with value histograms");
+        Map<IndexStatisticsKey, IndexStatisticsValue> entries = new HashMap<>();
+        try (var cursorContext = contextFactory.create("indexStatisticMigration")) {
+            try (previousTree) {
+                scanTree(previousTree, entries::put, cursorContext);
+            }
+            fileSystem.deleteFileOrThrow(path);
+            var migratedTree = openTree(layout, recoveryCleanupWorkCollector, false, contextFactory, openOptions);
+            try {
+                try (Writer<IndexStatisticsKey, IndexStatisticsValue> writer =
+                        migratedTree.writer(W_BATCHED_SINGLE_THREADED, cursorContext)) {
+                    entries.forEach(writer::put);
+                }
+                migratedTree.checkpoint(FileFlushEvent.NULL, cursorContext);
+            } catch (IOException | RuntimeException e) {
+                IOUtils.closeAllSilently(migratedTree);
+                throw e;
+            }
+            return migratedTree;
+        }
+    }
+
     /**
      * Incrementally add usage stats. If no previous usage statistics for given index exist, the added stats will be used
      * as is. If there is a current value, the added stats will be added to it like this:
@@ -205,6 +302,7 @@ public class IndexStatisticsStore extends LifecycleAdapter
     }
 
     public IndexSample indexSample(long indexId) {
+        var histogram = histograms.get(indexId);
         return get(
                 indexId,
                 TYPE_SAMPLE,
@@ -212,7 +310,8 @@ public class IndexStatisticsStore extends LifecycleAdapter
                         stats.get(IndexStatisticsValue.INDEX_SAMPLE_INDEX_SIZE),
                         stats.get(IndexStatisticsValue.INDEX_SAMPLE_UNIQUE_VALUES),
                         stats.get(IndexStatisticsValue.INDEX_SAMPLE_SIZE),
-                        stats.get(IndexStatisticsValue.INDEX_SAMPLE_UPDATES_COUNT)));
+                        stats.get(IndexStatisticsValue.INDEX_SAMPLE_UPDATES_COUNT),
+                        histogram == null ? null : histogram.histogram()));
     }
 
     private <T> T get(long indexId, byte type, Function<IndexStatisticsValue, T> converter) {
@@ -227,11 +326,50 @@ public class IndexStatisticsStore extends LifecycleAdapter
         value.set(IndexStatisticsValue.INDEX_SAMPLE_UPDATES_COUNT, sample.updates());
         value.set(IndexStatisticsValue.INDEX_SAMPLE_INDEX_SIZE, sample.indexSize());
         cache.put(new IndexStatisticsKey(indexId, TYPE_SAMPLE), value);
+        setHistogram(indexId, sample.histogram());
     }
 
     public void removeIndex(long indexId) {
         cache.remove(new IndexStatisticsKey(indexId, TYPE_SAMPLE));
         cache.remove(new IndexStatisticsKey(indexId, TYPE_USAGE));
+        histograms.remove(indexId);
+    }
+
+    private void setHistogram(long indexId, IndexValueHistogram histogram) {
+        byte[] bytes =
+                histogram == null || histogram.numberOfBuckets() == 0 ? null : histogram.serialize(MAX_HISTOGRAM_SIZE);
+        if (bytes == null) {
+            histograms.remove(indexId);
+        } else {
+            // Keep the histogram as it will be read after a restart
+            histograms.put(indexId, new StoredHistogram(IndexValueHistogram.deserialize(bytes), bytes));
+        }
+    }
+
+    private void loadHistogram(long indexId, List<IndexStatisticsValue> chunks) {
+        var buffer = ByteBuffer.allocate(chunks.size() * HISTOGRAM_CHUNK_SIZE);
+        for (IndexStatisticsValue chunk : chunks) {
+            for (long data : chunk.data) {
+                buffer.putLong(data);
+            }
+        }
+        buffer.flip();
+        try {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalStateException(
+                        "Histogram of " + length + " bytes does not fit in " + chunks.size() + " chunks");
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            histograms.put(indexId, new StoredHistogram(IndexValueHistogram.deserialize(bytes), bytes));
+        } catch (RuntimeException e) {
+            // A histogram that can't be read is just missing until the index is sampled again
+            log.warn(
+                    "Ignoring the value histogram of index " + indexId + " in " + path
+                            + ", since it could not be read. It will be replaced when the index is sampled again.",
+                    e);
+        }
     }
 
     public void incrementIndexUpdates(long indexId, long delta) {
@@ -261,7 +399,11 @@ public class IndexStatisticsStore extends LifecycleAdapter
                                     value.get(IndexStatisticsValue.INDEX_USAGE_LAST_READ),
                                     value.get(IndexStatisticsValue.INDEX_USAGE_READ_COUNT),
                                     value.get(IndexStatisticsValue.INDEX_USAGE_TRACKED_SINCE));
-                            default -> throw new IllegalArgumentException("Unknown key type for " + key);
+                            default -> {
+                                if (!key.isHistogram()) {
+                                    throw new IllegalArgumentException("Unknown key type for " + key);
+                                }
+                            }
                         }
                     },
                     cursorContext);
@@ -288,11 +430,19 @@ public class IndexStatisticsStore extends LifecycleAdapter
 
     private void scanTree(BiConsumer<IndexStatisticsKey, IndexStatisticsValue> consumer, CursorContext cursorContext)
             throws IOException {
+        scanTree(tree, consumer, cursorContext);
+    }
+
+    private void scanTree(
+            GBPTree<IndexStatisticsKey, IndexStatisticsValue> source,
+            BiConsumer<IndexStatisticsKey, IndexStatisticsValue> consumer,
+            CursorContext cursorContext)
+            throws IOException {
         var high = layout.newKey();
         var low = layout.newKey();
         layout.initializeAsHighest(high);
         layout.initializeAsLowest(low);
-        try (var seek = tree.seek(low, high, cursorContext)) {
+        try (var seek = source.seek(low, high, cursorContext)) {
             while (seek.next()) {
                 var key = layout.copyKey(seek.key(), new IndexStatisticsKey());
                 var value = seek.value().copy();
@@ -322,6 +472,23 @@ public class IndexStatisticsStore extends LifecycleAdapter
             for (var entry : cache.entrySet()) {
                 writer.put(entry.getKey(), entry.getValue());
             }
+            for (var entry : histograms.entrySet()) {
+                writeHistogram(writer, entry.getKey(), entry.getValue().bytes());
+            }
+        }
+    }
+
+    private static void writeHistogram(
+            Writer<IndexStatisticsKey, IndexStatisticsValue> writer, long indexId, byte[] bytes) {
+        int chunks = (Integer.BYTES + bytes.length + HISTOGRAM_CHUNK_SIZE - 1) / HISTOGRAM_CHUNK_SIZE;
+        var buffer = ByteBuffer.allocate(chunks * HISTOGRAM_CHUNK_SIZE);
+        buffer.putInt(bytes.length).put(bytes).rewind();
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            var value = new IndexStatisticsValue();
+            for (int i = 0; i < IndexStatisticsValue.NUM_LONGS; i++) {
+                value.set(i, buffer.getLong());
+            }
+            writer.put(new IndexStatisticsKey(indexId, (byte) (TYPE_HISTOGRAM + chunk)), value);
         }
     }
 
@@ -335,4 +502,6 @@ public class IndexStatisticsStore extends LifecycleAdapter
             tree.close();
         }
     }
+
+    private record StoredHistogram(IndexValueHistogram histogram, byte[] bytes) {}
 }